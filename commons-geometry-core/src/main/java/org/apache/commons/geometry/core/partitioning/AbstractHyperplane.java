@@ -38,13 +38,7 @@ public abstract class AbstractHyperplane<P extends Point<P>> implements Hyperpla
     public HyperplaneLocation classify(final P point) {
         final double offsetValue = offset(point);
 
-        final int cmp = precision.sign(offsetValue);
-        if (cmp > 0) {
-            return HyperplaneLocation.PLUS;
-        } else if (cmp < 0) {
-            return HyperplaneLocation.MINUS;
-        }
-        return HyperplaneLocation.ON;
+        return locationFromSign(precision.sign(offsetValue));
     }
 
     /** {@inheritDoc} */
@@ -61,4 +55,18 @@ public abstract class AbstractHyperplane<P extends Point<P>> implements Hyperpla
     public DoublePrecisionContext getPrecision() {
         return precision;
     }
+
+    /** Get the hyperplane location corresponding to the sign of an offset value.
+     * @param sign the sign of the offset value, as returned by {@link DoublePrecisionContext#sign(double)}
+     * @return {@link HyperplaneLocation#PLUS} if {@code sign} is positive, {@link HyperplaneLocation#MINUS}
+     *      if it is negative, and {@link HyperplaneLocation#ON} if it is zero
+     */
+    protected static HyperplaneLocation locationFromSign(final int sign) {
+        if (sign > 0) {
+            return HyperplaneLocation.PLUS;
+        } else if (sign < 0) {
+            return HyperplaneLocation.MINUS;
+        }
+        return HyperplaneLocation.ON;
+    }
 }
@@ -16,10 +16,9 @@
  */
 package org.apache.commons.geometry.core.partitioning.bsp;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Deque;
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.NoSuchElementException;
 
 import org.apache.commons.geometry.core.Point;
 import org.apache.commons.geometry.core.Transform;
@@ -46,6 +45,11 @@ import org.apache.commons.geometry.core.partitioning.SplitLocation;
  *      cached. The tree version number is incremented with the {@link #invalidate() invalidate} method. Properties
  *      can be cached directly on nodes using the {@link AbstractBSPTree.AbstractNode#checkValid() checkValid}
  *      and {@link AbstractBSPTree.AbstractNode#nodeInvalidated() nodeInvalidated} methods.</li>
+ *      <li>Properties that depend only on the contents of a subtree, such as values aggregated from all
+ *      nodes in the subtree, can instead be cached with {@link #getSubtreeProperty(AbstractNode, SubtreeProperty)
+ *      getSubtreeProperty}. These values are not affected by the tree version. Instead, when a node is modified,
+ *      {@link AbstractBSPTree.AbstractNode#subtreeInvalidated() subtreeInvalidated} is called on the node and
+ *      each of its ancestors, so that cached values of unmodified subtrees are reused after an edit.</li>
  *      <li>Since the methods used to construct and modify trees can vary by use case, no public API is provided
  *      for manipulating the tree. Subclasses are expected to use the protected methods of this class to
  *      create their own. For tree construction, subclasses are expected to pass their own {@link SubtreeInitializer}
@@ -53,7 +57,18 @@ import org.apache.commons.geometry.core.partitioning.SplitLocation;
  *      {@link #cutNode(AbstractNode, Hyperplane, SubtreeInitializer) cutNode} in order to set the correct properties on
  *      tree nodes. To support tree copying, subclasses must also override
  *      {@link #copyNodeProperties(AbstractNode, AbstractNode) copyNodeProperties}.</li>
- *      <li>This class is not thread safe.</li>
+ *      <li>This class is not thread safe by default. Read-only access from multiple threads is supported
+ *      when the tree is placed in {@link #setConcurrentReadMode(boolean) concurrent read mode}. In this mode,
+ *      lazily computed properties are calculated at most once while holding an internal lock and are safely
+ *      published to all reading threads. Subclasses that cache their own properties should compute them with
+ *      {@link #updateCache(Runnable) updateCache} in order to participate. Tree mutation always requires
+ *      exclusive access.</li>
+ *      <li>Trees that are too large to keep all of their cached values in memory can be placed in
+ *      {@link #setCompactMode(boolean) compact mode}. In this mode, values that can be derived from the
+ *      tree structure are only retained for the root node and are otherwise recomputed when needed.</li>
+ *      <li>The operations performed on a tree can be monitored by installing a {@link BSPTreeListener} with
+ *      {@link #setListener(BSPTreeListener) setListener}. Metrics are only recorded while a listener is
+ *      installed.</li>
  * </ul>
  *
  * @param <P> Point implementation type
@@ -77,6 +92,41 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
         void initSubtree(N root);
     }
 
+    /** Interface for properties of subtrees that are computed by combining the property values of the
+     * child subtrees with the contribution of the subtree root node. Values are stored directly on the
+     * nodes by the implementation and are reused until the subtree is modified. Implementations must
+     * clear the stored value when {@link AbstractNode#subtreeInvalidated()} is called on a node and
+     * should store values in {@code volatile} fields in order to support
+     * {@link #setConcurrentReadMode(boolean) concurrent read mode}.
+     * @param <N> BSP tree node implementation type
+     * @param <T> Property value type
+     * @see #getSubtreeProperty(AbstractNode, SubtreeProperty)
+     */
+    protected interface SubtreeProperty<N extends AbstractBSPTree.AbstractNode<?, ?>, T> {
+
+        /** Get the property value stored on the given node or null if no value is stored.
+         * @param node node to get the value for
+         * @return the stored property value or null if not available
+         */
+        T getStoredValue(N node);
+
+        /** Store the property value for the subtree rooted at the given node.
+         * @param node the subtree root node
+         * @param value the property value to store
+         */
+        void storeValue(N node, T value);
+
+        /** Compute the property value for the subtree rooted at the given node.
+         * @param node the subtree root node
+         * @param minusValue the property value of the minus child subtree; null if {@code node}
+         *      is a leaf node
+         * @param plusValue the property value of the plus child subtree; null if {@code node}
+         *      is a leaf node
+         * @return the property value for the subtree
+         */
+        T computeValue(N node, T minusValue, T plusValue);
+    }
+
     /** The default number of levels to print when creating a string representation of the tree. */
     private static final int DEFAULT_TREE_STRING_MAX_DEPTH = 8;
 
@@ -84,7 +134,7 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
     private static final int UNKNOWN_VALUE = -1;
 
     /** The root node for the tree. */
-    private N root;
+    private volatile N root;
 
     /** The current modification version for the tree structure. This is incremented each time
      * a structural change occurs in the tree and is used to determine when cached values
@@ -92,11 +142,38 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
      */
     private int version;
 
+    /** Flag indicating whether or not the tree is in concurrent read mode. */
+    private volatile boolean concurrentReadMode;
+
+    /** Flag indicating whether or not the tree is in compact mode. */
+    private volatile boolean compactMode;
+
+    /** Lock held while computing cached values in concurrent read mode. */
+    private final Object cacheLock = new Object();
+
+    /** Counter incremented each time a value is cached with {@link #updateCache(Runnable)}. This is used
+     * to determine whether or not cached values may have been stored on the ancestors of a node since the
+     * node was last modified.
+     */
+    private volatile int cacheGeneration;
+
+    /** Listener notified of the operations performed on the tree; null if no listener is installed. */
+    private BSPTreeListener listener;
+
+    /** Object recording the metrics of the operation currently in progress; null if no operation
+     * is being recorded.
+     */
+    private OperationRecorder recorder;
+
     /** {@inheritDoc} */
     @Override
     public N getRoot() {
         if (root == null) {
-            setRoot(createNode());
+            updateCache(() -> {
+                if (root == null) {
+                    setRoot(createNode());
+                }
+            });
         }
         return root;
     }
@@ -140,13 +217,22 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
     /** {@inheritDoc} */
     @Override
     public Iterable<N> nodes() {
-        return () -> new NodeIterator<>(getRoot());
+        return () -> new BSPTreeCursor<>(getRoot());
     }
 
-    /** {@inheritDoc} */
+    /** {@inheritDoc}
+     *
+     * <p>The copy is eager: every node of {@code src} is copied into this tree before the method
+     * returns, so the operation takes time and memory proportional to the size of {@code src}. The two
+     * trees do not share any nodes afterwards and either one can be modified without affecting the
+     * other. The root node of this tree is reused, so node references obtained from this tree before
+     * the call remain attached to it, although nodes other than the root may no longer be reachable.</p>
+     */
     @Override
     public void copy(final BSPTree<P, N> src) {
         copySubtree(src.getRoot(), getRoot());
+
+        invalidate();
     }
 
     /** {@inheritDoc} */
@@ -166,7 +252,7 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
     @Override
     public void transform(final Transform<P> transform) {
         final boolean swapChildren = swapsInsideOutside(transform);
-        transformRecursive(getRoot(), transform, swapChildren);
+        transformSubtree(getRoot(), transform, swapChildren);
 
         invalidate();
     }
@@ -232,10 +318,11 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
         return copy;
     }
 
-    /** Recursively copy a subtree. The returned node is not attached to the current tree.
+    /** Copy a subtree. The returned node is not attached to the current tree.
      * Structural <em>and</em> non-structural properties are copied from the source subtree
      * to the destination subtree. This method does nothing if {@code src} and {@code dst}
-     * reference the same node.
+     * reference the same node. The subtree is traversed using an explicit stack so that the
+     * maximum depth of the tree is not limited by the size of the thread stack.
      * @param src the node representing the source subtree; does not need to belong to the
      *      current tree
      * @param dst the node representing the destination subtree
@@ -244,23 +331,38 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
     protected N copySubtree(final N src, final N dst) {
         // only copy if we're actually switching nodes
         if (src != dst) {
-            // copy non-structural properties
-            copyNodeProperties(src, dst);
+            final AbstractBSPTree<P, N> dstTree = dst.getTree();
 
-            // copy the subtree structure
-            HyperplaneConvexSubset<P> cut = null;
-            N minus = null;
-            N plus = null;
+            // stack of source and destination node pairs; the destination node is pushed first
+            final Deque<N> stack = new ArrayDeque<>();
+            stack.push(dst);
+            stack.push(src);
 
-            if (!src.isLeaf()) {
-                final AbstractBSPTree<P, N> dstTree = dst.getTree();
+            N srcNode;
+            N dstNode;
+            while (!stack.isEmpty()) {
+                srcNode = stack.pop();
+                dstNode = stack.pop();
 
-                cut = src.getCut();
-                minus = copySubtree(src.getMinus(), dstTree.createNode());
-                plus = copySubtree(src.getPlus(), dstTree.createNode());
-            }
+                // copy non-structural properties
+                copyNodeProperties(srcNode, dstNode);
+
+                // copy the subtree structure
+                if (srcNode.isLeaf()) {
+                    dstNode.setSubtree(null, null, null);
+                } else {
+                    final N minus = dstTree.createNode();
+                    final N plus = dstTree.createNode();
+
+                    dstNode.setSubtree(srcNode.getCut(), minus, plus);
 
-            dst.setSubtree(cut, minus, plus);
+                    stack.push(plus);
+                    stack.push(srcNode.getPlus());
+
+                    stack.push(minus);
+                    stack.push(srcNode.getMinus());
+                }
+            }
         }
 
         return dst;
@@ -335,8 +437,10 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
      * @return the smallest node in the tree containing the point
      */
     protected N findNode(final N start, final P pt, final FindNodeCutRule cutRule) {
-        final Hyperplane<P> cutHyper = start.getCutHyperplane();
-        if (cutHyper != null) {
+        N node = start;
+
+        Hyperplane<P> cutHyper;
+        while ((cutHyper = node.getCutHyperplane()) != null) {
             final HyperplaneLocation cutLoc = cutHyper.classify(pt);
 
             final boolean onPlusSide = cutLoc == HyperplaneLocation.PLUS;
@@ -344,66 +448,95 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
             final boolean onCut = !onPlusSide && !onMinusSide;
 
             if (onMinusSide || (onCut && cutRule == FindNodeCutRule.MINUS)) {
-                return findNode(start.getMinus(), pt, cutRule);
+                node = node.getMinus();
             } else if (onPlusSide || cutRule == FindNodeCutRule.PLUS) {
-                return findNode(start.getPlus(), pt, cutRule);
+                node = node.getPlus();
+            } else {
+                break;
             }
         }
-        return start;
+        return node;
     }
 
-    /** Visit the nodes in a subtree.
+    /** Visit the nodes in a subtree. The subtree is traversed using an explicit stack so that
+     * the maximum depth of the tree is not limited by the size of the thread stack.
      * @param node the node to begin the visit process
      * @param visitor the visitor to pass nodes to
      */
     protected void accept(final N node, final BSPTreeVisitor<P, N> visitor) {
-        acceptRecursive(node, visitor);
-    }
+        final VisitStack<N> stack = new VisitStack<>();
+        stack.push(node, VisitStack.SUBTREE);
+
+        byte operation;
+        N current;
+        while (!stack.isEmpty()) {
+            operation = stack.peekOperation();
+            current = stack.pop();
+
+            if (operation == VisitStack.NODE) {
+                if (!shouldContinueVisit(visitor.visit(current))) {
+                    return;
+                }
+                continue;
+            } else if (operation == VisitStack.MINUS_SUBTREE) {
+                current = current.getMinus();
+            } else if (operation == VisitStack.PLUS_SUBTREE) {
+                current = current.getPlus();
+            }
 
-    /** Recursively visit the nodes in the subtree rooted at the given node.
-     * @param node the node located at the root of the subtree to visit
-     * @param visitor the visitor to pass nodes to
-     * @return true if the visit operation should continue
-     */
-    private boolean acceptRecursive(final N node, final BSPTreeVisitor<P, N> visitor) {
-        if (node.isLeaf()) {
-            return shouldContinueVisit(visitor.visit(node));
-        } else {
-            final BSPTreeVisitor.Order order = visitor.visitOrder(node);
-
-            if (order != null) {
-
-                switch (order) {
-                case PLUS_MINUS_NODE:
-                    return acceptRecursive(node.getPlus(), visitor) &&
-                            acceptRecursive(node.getMinus(), visitor) &&
-                            shouldContinueVisit(visitor.visit(node));
-                case PLUS_NODE_MINUS:
-                    return acceptRecursive(node.getPlus(), visitor) &&
-                            shouldContinueVisit(visitor.visit(node)) &&
-                            acceptRecursive(node.getMinus(), visitor);
-                case MINUS_PLUS_NODE:
-                    return acceptRecursive(node.getMinus(), visitor) &&
-                            acceptRecursive(node.getPlus(), visitor) &&
-                            shouldContinueVisit(visitor.visit(node));
-                case MINUS_NODE_PLUS:
-                    return acceptRecursive(node.getMinus(), visitor) &&
-                            shouldContinueVisit(visitor.visit(node)) &&
-                            acceptRecursive(node.getPlus(), visitor);
-                case NODE_PLUS_MINUS:
-                    return shouldContinueVisit(visitor.visit(node)) &&
-                            acceptRecursive(node.getPlus(), visitor) &&
-                            acceptRecursive(node.getMinus(), visitor);
-                case  NODE_MINUS_PLUS:
-                    return shouldContinueVisit(visitor.visit(node)) &&
-                            acceptRecursive(node.getMinus(), visitor) &&
-                            acceptRecursive(node.getPlus(), visitor);
-                default: // NONE
-                    break;
+            if (current.isLeaf()) {
+                if (!shouldContinueVisit(visitor.visit(current))) {
+                    return;
                 }
+            } else {
+                pushVisitOperations(current, visitor.visitOrder(current), stack);
             }
+        }
+    }
 
-            return true;
+    /** Push the operations needed to visit the subtree rooted at the given internal node in the
+     * given order onto the stack. Operations are pushed in reverse order so that they are popped
+     * in the correct sequence.
+     * @param node internal node at the root of the subtree
+     * @param order the visit order for the subtree; may be null
+     * @param stack stack to push operations onto
+     */
+    private void pushVisitOperations(final N node, final BSPTreeVisitor.Order order, final VisitStack<N> stack) {
+        if (order != null) {
+            switch (order) {
+            case PLUS_MINUS_NODE:
+                stack.push(node, VisitStack.NODE);
+                stack.push(node, VisitStack.MINUS_SUBTREE);
+                stack.push(node, VisitStack.PLUS_SUBTREE);
+                break;
+            case PLUS_NODE_MINUS:
+                stack.push(node, VisitStack.MINUS_SUBTREE);
+                stack.push(node, VisitStack.NODE);
+                stack.push(node, VisitStack.PLUS_SUBTREE);
+                break;
+            case MINUS_PLUS_NODE:
+                stack.push(node, VisitStack.NODE);
+                stack.push(node, VisitStack.PLUS_SUBTREE);
+                stack.push(node, VisitStack.MINUS_SUBTREE);
+                break;
+            case MINUS_NODE_PLUS:
+                stack.push(node, VisitStack.PLUS_SUBTREE);
+                stack.push(node, VisitStack.NODE);
+                stack.push(node, VisitStack.MINUS_SUBTREE);
+                break;
+            case NODE_PLUS_MINUS:
+                stack.push(node, VisitStack.MINUS_SUBTREE);
+                stack.push(node, VisitStack.PLUS_SUBTREE);
+                stack.push(node, VisitStack.NODE);
+                break;
+            case  NODE_MINUS_PLUS:
+                stack.push(node, VisitStack.PLUS_SUBTREE);
+                stack.push(node, VisitStack.MINUS_SUBTREE);
+                stack.push(node, VisitStack.NODE);
+                break;
+            default: // NONE
+                break;
+            }
         }
     }
 
@@ -524,6 +657,10 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
                     result = null;
                 }
             } else {
+                if (split.getLocation() == SplitLocation.BOTH) {
+                    recordFragment();
+                }
+
                 result = currentNode.isPlus() ? split.getPlus() : split.getMinus();
             }
 
@@ -574,45 +711,85 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
         subtreeInitializer.initSubtree(node);
 
         invalidate();
+
+        recordCut();
     }
 
     /** Insert the given hyperplane convex subset into the tree, starting at the root node. Any subtrees
-     * created are initialized with {@code subtreeInit}.
+     * created are initialized with {@code subtreeInit}. The tree is traversed using an explicit stack
+     * so that the maximum depth of the tree is not limited by the size of the thread stack.
      * @param convexSub hyperplane convex subset to insert into the tree
      * @param subtreeInit object used to initialize newly created subtrees
      */
     protected void insert(final HyperplaneConvexSubset<P> convexSub, final SubtreeInitializer<N> subtreeInit) {
-        insertRecursive(getRoot(), convexSub,
-                convexSub.getHyperplane().span(), subtreeInit);
+        final OperationRecorder started = startOperation(BSPTreeOperation.INSERT);
+        try {
+            insertConvexSubset(convexSub, subtreeInit);
+        } finally {
+            finishOperation(started);
+        }
     }
 
-    /** Recursively insert a hyperplane convex subset into the tree at the given node.
-     * @param node the node to begin insertion with
-     * @param insert the hyperplane subset to insert
-     * @param trimmed hyperplane subset containing the result of splitting the entire
-     *      space with each hyperplane from this node to the root
+    /** Insert the given hyperplane convex subset into the tree, starting at the root node.
+     * @param convexSub hyperplane convex subset to insert into the tree
      * @param subtreeInit object used to initialize newly created subtrees
+     * @see #insert(HyperplaneConvexSubset, SubtreeInitializer)
      */
-    private void insertRecursive(final N node, final HyperplaneConvexSubset<P> insert,
-            final HyperplaneConvexSubset<P> trimmed, final SubtreeInitializer<N> subtreeInit) {
-        if (node.isLeaf()) {
-            setNodeCut(node, trimmed, subtreeInit);
-        } else {
-            final Split<? extends HyperplaneConvexSubset<P>> insertSplit = insert.split(node.getCutHyperplane());
+    private void insertConvexSubset(final HyperplaneConvexSubset<P> convexSub,
+            final SubtreeInitializer<N> subtreeInit) {
+        // insertions into plus subtrees that are waiting for the corresponding minus subtree
+        // insertion to complete
+        Deque<PendingInsert<P, N>> pending = null;
 
-            final HyperplaneConvexSubset<P> minus = insertSplit.getMinus();
-            final HyperplaneConvexSubset<P> plus = insertSplit.getPlus();
+        N node = getRoot();
+        HyperplaneConvexSubset<P> insert = convexSub;
+        HyperplaneConvexSubset<P> trimmed = convexSub.getHyperplane().span();
 
-            if (minus != null || plus != null) {
-                final Split<? extends HyperplaneConvexSubset<P>> trimmedSplit = trimmed.split(node.getCutHyperplane());
+        while (node != null) {
+            N next = null;
 
-                if (minus != null) {
-                    insertRecursive(node.getMinus(), minus, trimmedSplit.getMinus(), subtreeInit);
-                }
-                if (plus != null) {
-                    insertRecursive(node.getPlus(), plus, trimmedSplit.getPlus(), subtreeInit);
+            if (node.isLeaf()) {
+                setNodeCut(node, trimmed, subtreeInit);
+            } else {
+                final Split<? extends HyperplaneConvexSubset<P>> insertSplit = insert.split(node.getCutHyperplane());
+
+                final HyperplaneConvexSubset<P> minus = insertSplit.getMinus();
+                final HyperplaneConvexSubset<P> plus = insertSplit.getPlus();
+
+                if (minus != null || plus != null) {
+                    final Split<? extends HyperplaneConvexSubset<P>> trimmedSplit =
+                            trimmed.split(node.getCutHyperplane());
+
+                    if (minus != null) {
+                        if (plus != null) {
+                            recordFragment();
+
+                            if (pending == null) {
+                                pending = new ArrayDeque<>();
+                            }
+                            pending.push(new PendingInsert<>(node.getPlus(), plus, trimmedSplit.getPlus()));
+                        }
+
+                        next = node.getMinus();
+                        insert = minus;
+                        trimmed = trimmedSplit.getMinus();
+                    } else {
+                        next = node.getPlus();
+                        insert = plus;
+                        trimmed = trimmedSplit.getPlus();
+                    }
                 }
             }
+
+            if (next == null && pending != null && !pending.isEmpty()) {
+                final PendingInsert<P, N> pendingInsert = pending.pop();
+
+                next = pendingInsert.node;
+                insert = pendingInsert.insert;
+                trimmed = pendingInsert.trimmed;
+            }
+
+            node = next;
         }
     }
 
@@ -631,26 +808,38 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
         return !transform.preservesOrientation();
     }
 
-    /** Transform the subtree rooted as {@code node} recursively.
+    /** Transform the subtree rooted as {@code node}. The subtree is traversed using an explicit
+     * stack so that the maximum depth of the tree is not limited by the size of the thread stack.
      * @param node the root node of the subtree to transform
      * @param t the transform to apply
      * @param swapChildren if true, the plus and minus child nodes of each internal node
      *      will be swapped; this should be the case when the transform is a reflection
      */
-    private void transformRecursive(final N node, final Transform<P> t, final boolean swapChildren) {
-        if (node.isInternal()) {
-            // transform our cut
-            final HyperplaneConvexSubset<P> transformedCut = node.getCut().transform(t);
+    private void transformSubtree(final N node, final Transform<P> t, final boolean swapChildren) {
+        final Deque<N> stack = new ArrayDeque<>();
+        stack.push(node);
+
+        N current;
+        while (!stack.isEmpty()) {
+            current = stack.pop();
 
-            // transform our children
-            transformRecursive(node.getMinus(), t, swapChildren);
-            transformRecursive(node.getPlus(), t, swapChildren);
+            if (current.isInternal()) {
+                final N minus = current.getMinus();
+                final N plus = current.getPlus();
 
-            final N transformedMinus = swapChildren ? node.getPlus() : node.getMinus();
-            final N transformedPlus = swapChildren ? node.getMinus() : node.getPlus();
+                // transform the cut and set the new state; this does not affect the
+                // structure of the child subtrees
+                final HyperplaneConvexSubset<P> transformedCut = current.getCut().transform(t);
 
-            // set our new state
-            node.setSubtree(transformedCut, transformedMinus, transformedPlus);
+                final N transformedMinus = swapChildren ? plus : minus;
+                final N transformedPlus = swapChildren ? minus : plus;
+
+                current.setSubtree(transformedCut, transformedMinus, transformedPlus);
+
+                // transform the children
+                stack.push(plus);
+                stack.push(minus);
+            }
         }
     }
 
@@ -664,34 +853,64 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
     protected void splitIntoTrees(final Hyperplane<P> splitter,
             final AbstractBSPTree<P, N> minus, final AbstractBSPTree<P, N> plus) {
 
+        final OperationRecorder started = startOperation(BSPTreeOperation.SPLIT);
+
         AbstractBSPTree<P, N> temp = (minus != null) ? minus : plus;
 
-        N splitRoot = temp.splitSubtree(this.getRoot(), splitter.span());
+        // the split is performed in the target tree, so record its metrics with those of this tree
+        final OperationRecorder tempRecorder = temp.recorder;
+        if (recorder != null) {
+            temp.recorder = recorder;
+        }
+
+        try {
+            N splitRoot = temp.splitSubtree(this.getRoot(), splitter.span());
 
-        if (minus != null) {
-            if (plus != null) {
+            if (minus != null) {
+                if (plus != null) {
+                    plus.extract(splitRoot.getPlus());
+                }
+                minus.extract(splitRoot.getMinus());
+            } else {
                 plus.extract(splitRoot.getPlus());
             }
-            minus.extract(splitRoot.getMinus());
-        } else {
-            plus.extract(splitRoot.getPlus());
+        } finally {
+            temp.recorder = tempRecorder;
+
+            finishOperation(started);
         }
     }
 
     /** Split the subtree rooted at the given node by a partitioning convex subset defined
      * on the same region as the node. The subtree rooted at {@code node} is imported into
      * this tree, meaning that if it comes from a different tree, the other tree is not
-     * modified.
+     * modified. The subtree is traversed using an explicit stack so that the maximum depth
+     * of the tree is not limited by the size of the thread stack.
      * @param node the root node of the subtree to split; may come from a different tree,
      *      in which case the other tree is not modified
      * @param partitioner partitioning convex subset
      * @return node containing the split subtree
      */
     protected N splitSubtree(final N node, final HyperplaneConvexSubset<P> partitioner) {
-        if (node.isLeaf()) {
-            return splitLeafNode(node, partitioner);
+        final Deque<SubtreeSplit> stack = new ArrayDeque<>();
+        stack.push(new SubtreeSplit(node, partitioner, null, false));
+
+        SubtreeSplit split;
+        N result = null;
+        while (!stack.isEmpty()) {
+            split = stack.peek();
+
+            if (!split.isStarted()) {
+                // push the splits of the child subtrees; these are completed before
+                // this instance is at the top of the stack again
+                split.start(stack);
+            } else {
+                stack.pop();
+                result = split.finish();
+            }
         }
-        return splitInternalNode(node, partitioner);
+
+        return result;
     }
 
     /** Split the given leaf node by a partitioning convex subset defined on the
@@ -709,103 +928,221 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
         return parent;
     }
 
-    /** Split the given internal node by a partitioning convex subset defined on the same region
-     * as the node and import it into this tree.
-     * @param node the internal node to split
-     * @param partitioner partitioning convex subset
-     * @return node containing the split subtree
+    /** Invalidate any previously computed properties that rely on the internal structure of the tree.
+     * This method must be called any time the tree's internal structure changes in order to force cacheable
+     * tree and node properties to be recomputed the next time they are requested.
+     *
+     * <p>This method increments the tree's {@link #version} property.</p>
+     * @see #getVersion()
      */
-    private N splitInternalNode(final N node, final HyperplaneConvexSubset<P> partitioner) {
-        // split the partitioner and node cut with each other's hyperplanes to determine their relative positions
-        final Split<? extends HyperplaneConvexSubset<P>> partitionerSplit = partitioner.split(node.getCutHyperplane());
-        final Split<? extends HyperplaneConvexSubset<P>> nodeCutSplit =
-                node.getCut().split(partitioner.getHyperplane());
+    protected void invalidate() {
+        version = Math.max(0, version + 1); // positive values only
+    }
 
-        final SplitLocation partitionerSplitSide = partitionerSplit.getLocation();
-        final SplitLocation nodeCutSplitSide = nodeCutSplit.getLocation();
+    /** Get the current structural version of the tree. This is incremented each time the
+     * tree structure is changes and can be used by nodes to allow caching of computed values.
+     * @return the current version of the tree structure
+     * @see #invalidate()
+     */
+    protected int getVersion() {
+        return version;
+    }
 
-        final N result = createNode();
+    /** Return true if the tree is in concurrent read mode.
+     * @return true if the tree is in concurrent read mode
+     * @see #setConcurrentReadMode(boolean)
+     */
+    public boolean isConcurrentReadMode() {
+        return concurrentReadMode;
+    }
 
-        N resultMinus;
-        N resultPlus;
+    /** Set whether or not the tree is in concurrent read mode. When enabled, the tree can be queried
+     * from multiple threads at the same time: lazily cached properties, such as node counts, heights and
+     * region boundaries, are computed at most once while holding an internal lock and then safely published
+     * to all threads. When disabled (the default), cached properties are computed without any
+     * synchronization.
+     *
+     * <p>Concurrent read mode does not make tree mutation thread safe. Callers must ensure that no other
+     * thread accesses the tree while it is being modified and that the tree is safely published to the
+     * reading threads afterwards, for example by handing it over through a concurrent collection or an
+     * executor. The mode is not transferred to trees created from this instance, such as copies.</p>
+     * @param concurrentReadMode if true, the tree will be placed in concurrent read mode
+     */
+    public void setConcurrentReadMode(final boolean concurrentReadMode) {
+        this.concurrentReadMode = concurrentReadMode;
+    }
 
-        if (partitionerSplitSide == SplitLocation.PLUS) {
-            if (nodeCutSplitSide == SplitLocation.PLUS) {
-                // partitioner is on node cut plus side, node cut is on partitioner plus side
-                final N nodePlusSplit = splitSubtree(node.getPlus(), partitioner);
+    /** Return true if the tree is in compact mode.
+     * @return true if the tree is in compact mode
+     * @see #setCompactMode(boolean)
+     */
+    public boolean isCompactMode() {
+        return compactMode;
+    }
 
-                resultMinus = nodePlusSplit.getMinus();
+    /** Set whether or not the tree is in compact mode. By default, values derived from the tree structure,
+     * such as the region boundary portions of node cuts and the values aggregated over subtrees, are cached
+     * on every node for which they are computed. This makes repeated queries fast but can more than double
+     * the memory used by large trees. In compact mode, such values are only retained on the root node;
+     * values for other nodes are computed on demand, using temporary side tables where needed, and
+     * discarded afterwards. This reduces the memory used per node at the cost of repeating work on
+     * subsequent queries. Enabling compact mode releases the values currently cached on the tree nodes.
+     *
+     * <p>The mode is not transferred to trees created from this instance, such as copies.</p>
+     * @param compactMode if true, the tree will be placed in compact mode
+     */
+    public void setCompactMode(final boolean compactMode) {
+        if (compactMode && !this.compactMode) {
+            updateCache(this::releaseNodeCaches);
+        }
+        this.compactMode = compactMode;
+    }
 
-                resultPlus = copyNode(node);
-                resultPlus.setSubtree(node.getCut(), importSubtree(node.getMinus()), nodePlusSplit.getPlus());
-            } else {
-                // partitioner is on node cut plus side, node cut is on partitioner minus side
-                final N nodePlusSplit = splitSubtree(node.getPlus(), partitioner);
+    /** Release the values cached on all nodes of the tree.
+     */
+    private void releaseNodeCaches() {
+        final BSPTreeCursor<P, N> cursor = new BSPTreeCursor<>(getRoot());
+        while (cursor.hasNext()) {
+            cursor.next().subtreeInvalidated();
+        }
+    }
 
-                resultMinus = copyNode(node);
-                resultMinus.setSubtree(node.getCut(), importSubtree(node.getMinus()), nodePlusSplit.getMinus());
+    /** Get the listener notified of the operations performed on the tree.
+     * @return the listener notified of the operations performed on the tree; may be null
+     * @see #setListener(BSPTreeListener)
+     */
+    public BSPTreeListener getListener() {
+        return listener;
+    }
 
-                resultPlus = nodePlusSplit.getPlus();
-            }
-        } else if (partitionerSplitSide == SplitLocation.MINUS) {
-            if (nodeCutSplitSide == SplitLocation.MINUS) {
-                // partitioner is on node cut minus side, node cut is on partitioner minus side
-                final N nodeMinusSplit = splitSubtree(node.getMinus(), partitioner);
+    /** Set the listener notified of the operations performed on the tree, such as insertions, splits and
+     * boolean operations. While a listener is installed, the tree records metrics for each operation and
+     * passes them to the listener when the operation completes. Pass null to remove the listener. No
+     * metrics are recorded when no listener is installed. The listener is not transferred to trees created
+     * from this instance, such as copies.
+     * @param listener the listener to notify; may be null
+     * @see BSPTreeListener
+     */
+    public void setListener(final BSPTreeListener listener) {
+        this.listener = listener;
+    }
 
-                resultMinus = copyNode(node);
-                resultMinus.setSubtree(node.getCut(), nodeMinusSplit.getMinus(), importSubtree(node.getPlus()));
+    /** Start recording the metrics of the given operation. Recording only starts if a listener is installed
+     * and no other operation is currently being recorded; otherwise, the metrics of the operation are either
+     * not recorded or recorded as part of the enclosing operation. The returned value must be passed to
+     * {@link #finishOperation(OperationRecorder)} when the operation completes.
+     * @param operation the operation being started
+     * @return the recorder for the operation or null if recording was not started
+     */
+    OperationRecorder startOperation(final BSPTreeOperation operation) {
+        if (listener == null || recorder != null) {
+            return null;
+        }
 
-                resultPlus = nodeMinusSplit.getPlus();
-            } else {
-                // partitioner is on node cut minus side, node cut is on partitioner plus side
-                final N nodeMinusSplit = splitSubtree(node.getMinus(), partitioner);
+        recorder = new OperationRecorder(operation, listener);
+        return recorder;
+    }
 
-                resultMinus = nodeMinusSplit.getMinus();
+    /** Finish recording the metrics of an operation and notify the listener. This method does nothing if
+     * {@code started} is null.
+     * @param started recorder returned by {@link #startOperation(BSPTreeOperation)}; may be null
+     */
+    void finishOperation(final OperationRecorder started) {
+        if (started != null) {
+            recorder = null;
+            started.complete();
+        }
+    }
 
-                resultPlus = copyNode(node);
-                resultPlus.setSubtree(node.getCut(), nodeMinusSplit.getPlus(), importSubtree(node.getPlus()));
-            }
-        } else if (partitionerSplitSide == SplitLocation.BOTH) {
-            // partitioner and node cut split each other
-            final N nodeMinusSplit = splitSubtree(node.getMinus(), partitionerSplit.getMinus());
-            final N nodePlusSplit = splitSubtree(node.getPlus(), partitionerSplit.getPlus());
+    /** Record that a cut was set on a node. */
+    void recordCut() {
+        final OperationRecorder current = recorder;
+        if (current != null) {
+            current.cutInserted();
+        }
+    }
 
-            resultMinus = copyNode(node);
-            resultMinus.setSubtree(nodeCutSplit.getMinus(), nodeMinusSplit.getMinus(), nodePlusSplit.getMinus());
+    /** Record that a hyperplane convex subset was split into two fragments. */
+    void recordFragment() {
+        final OperationRecorder current = recorder;
+        if (current != null) {
+            current.fragmentCreated();
+        }
+    }
 
-            resultPlus = copyNode(node);
-            resultPlus.setSubtree(nodeCutSplit.getPlus(), nodeMinusSplit.getPlus(), nodePlusSplit.getPlus());
-        } else {
-            // partitioner and node cut are parallel or anti-parallel
-            final boolean sameOrientation = partitioner.getHyperplane().similarOrientation(node.getCutHyperplane());
+    /** Record that a node was split by a partitioning hyperplane subset. */
+    void recordNodeSplit() {
+        final OperationRecorder current = recorder;
+        if (current != null) {
+            current.nodeSplit();
+        }
+    }
 
-            resultMinus = importSubtree(sameOrientation ? node.getMinus() : node.getPlus());
-            resultPlus = importSubtree(sameOrientation ? node.getPlus() : node.getMinus());
+    /** Record that a leaf node was merged with a subtree during a merge operation. */
+    void recordLeafMerge() {
+        final OperationRecorder current = recorder;
+        if (current != null) {
+            current.leafMerged();
         }
+    }
 
-        result.setSubtree(partitioner, resultMinus, resultPlus);
+    /** Record that an internal node was condensed into a leaf node. */
+    void recordNodeCondensed() {
+        final OperationRecorder current = recorder;
+        if (current != null) {
+            current.nodeCondensed();
+        }
+    }
 
-        return result;
+    /** Run the given operation to compute and store a cached value. If the tree is in
+     * {@link #setConcurrentReadMode(boolean) concurrent read mode}, the operation is run while holding
+     * an internal lock shared by all nodes in the tree; otherwise, it is run directly. Since another thread
+     * may have computed the value while the current thread was waiting for the lock, operations must check
+     * again that the value is still missing before computing it. Fields storing values computed by this
+     * method and read without holding the lock must be {@code volatile}.
+     * @param update operation computing and storing a cached value
+     */
+    protected void updateCache(final Runnable update) {
+        if (concurrentReadMode) {
+            updateCacheLocked(update);
+        } else {
+            update.run();
+            cacheGeneration = Math.max(0, cacheGeneration + 1); // positive values only
+        }
     }
 
-    /** Invalidate any previously computed properties that rely on the internal structure of the tree.
-     * This method must be called any time the tree's internal structure changes in order to force cacheable
-     * tree and node properties to be recomputed the next time they are requested.
-     *
-     * <p>This method increments the tree's {@link #version} property.</p>
-     * @see #getVersion()
+    /** Run the given operation to store a cached value while holding the internal cache lock, regardless
+     * of whether or not the tree is in {@link #setConcurrentReadMode(boolean) concurrent read mode}. This
+     * is intended for internal operations that read the tree from multiple threads. The operation should
+     * only store a value that has already been computed so that the lock is held as briefly as possible.
+     * @param update operation storing a cached value
+     * @see #updateCache(Runnable)
      */
-    protected void invalidate() {
-        version = Math.max(0, version + 1); // positive values only
+    void updateCacheLocked(final Runnable update) {
+        synchronized (cacheLock) {
+            update.run();
+            cacheGeneration = Math.max(0, cacheGeneration + 1); // positive values only
+        }
     }
 
-    /** Get the current structural version of the tree. This is incremented each time the
-     * tree structure is changes and can be used by nodes to allow caching of computed values.
-     * @return the current version of the tree structure
-     * @see #invalidate()
+    /** Get the value of the given property for the subtree rooted at {@code node}. If the value is not
+     * stored on the node, it is computed along with the values of any child subtrees that are missing them.
+     * Since stored values are only cleared when a subtree is modified, only the modified subtrees and their
+     * ancestors are recomputed after a tree edit. The subtree is traversed in post-order using an explicit
+     * stack so that the maximum depth of the tree is not limited by the size of the thread stack. If the tree
+     * is in {@link #setCompactMode(boolean) compact mode}, the values of the child subtrees are kept in a
+     * temporary side table and only the value for {@code node} is stored.
+     * @param <T> Property value type
+     * @param node the root node of the subtree
+     * @param property the property to compute
+     * @return the property value for the subtree
      */
-    protected int getVersion() {
-        return version;
+    protected <T> T getSubtreeProperty(final N node, final SubtreeProperty<N, T> property) {
+        if (property.getStoredValue(node) == null) {
+            updateCache(() -> new SubtreePropertyComputation<>(node, property, compactMode).compute());
+        }
+
+        return property.getStoredValue(node);
     }
 
     /** Abstract implementation of {@link BSPTree.Node}. This class is intended for use with
@@ -838,24 +1175,30 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
          * and is used to detect when certain values need to be recomputed due to
          * structural changes in the tree.
          */
-        private int nodeVersion = -1;
+        private volatile int nodeVersion = -1;
 
         /** The depth of this node in the tree. This will be zero for the root node and
          * {@link AbstractBSPTree#UNKNOWN_VALUE} when the value needs to be computed.
          */
-        private int depth = UNKNOWN_VALUE;
+        private volatile int depth = UNKNOWN_VALUE;
 
         /** The total number of nodes in the subtree rooted at this node. This will be
          * set to {@link AbstractBSPTree#UNKNOWN_VALUE} when the value needs
          * to be computed.
          */
-        private int count = UNKNOWN_VALUE;
+        private volatile int count = UNKNOWN_VALUE;
 
         /** The height of the subtree rooted at this node. This will
          * be set to {@link AbstractBSPTree#UNKNOWN_VALUE} when the value needs
          * to be computed.
          */
-        private int height = UNKNOWN_VALUE;
+        private volatile int height = UNKNOWN_VALUE;
+
+        /** The value of the tree's cache generation counter when this node was last marked as modified.
+         * If the counter has not changed since then, no values have been cached on the ancestors of
+         * this node since they were invalidated.
+         */
+        private int modifiedGeneration = UNKNOWN_VALUE;
 
         /** Simple constructor.
          * @param tree the tree instance that owns this node
@@ -876,10 +1219,7 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
             // Calculate our depth based on our parent's depth, if possible.
             if (depth == UNKNOWN_VALUE &&
                 parent != null) {
-                final int parentDepth = parent.depth();
-                if (parentDepth != UNKNOWN_VALUE) {
-                    depth = parentDepth + 1;
-                }
+                tree.updateCache(this::computeDepth);
             }
             return depth;
         }
@@ -890,11 +1230,7 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
             checkValid();
 
             if (height == UNKNOWN_VALUE) {
-                if (isLeaf()) {
-                    height = 0;
-                } else {
-                    height = Math.max(getMinus().height(), getPlus().height()) + 1;
-                }
+                tree.updateCache(this::computeSubtreeSizes);
             }
 
             return height;
@@ -906,20 +1242,93 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
             checkValid();
 
             if (count == UNKNOWN_VALUE) {
-                count = 1;
+                tree.updateCache(this::computeSubtreeSizes);
+            }
+
+            return count;
+        }
+
+        /** Compute the depth of this node and of any ancestors with unknown depths. The depths can
+         * only be computed if the closest ancestor with a known depth exists. The parent path is
+         * traversed iteratively so that the maximum depth of the tree is not limited by the size
+         * of the thread stack.
+         */
+        private void computeDepth() {
+            // find the ancestors with unknown depths
+            final Deque<AbstractNode<P, N>> path = new ArrayDeque<>();
+
+            AbstractNode<P, N> node = this;
+            while (node.depth == UNKNOWN_VALUE && node.parent != null) {
+                path.push(node);
+                node = node.parent;
+            }
 
-                if (!isLeaf()) {
-                    count += minus.count() + plus.count();
+            if (node.depth != UNKNOWN_VALUE) {
+                // assign depths downward from the ancestor with a known depth
+                int nodeDepth = node.depth;
+                while (!path.isEmpty()) {
+                    ++nodeDepth;
+                    path.pop().depth = nodeDepth;
                 }
             }
+        }
 
-            return count;
+        /** Compute the count and height of the subtree rooted at this node along with those of any
+         * descendant subtrees with unknown values. The subtree is traversed in post-order by following
+         * the child and parent references of the nodes, so that the maximum depth of the tree is not
+         * limited by the size of the thread stack and no objects are allocated during the traversal.
+         * Values are stored only once they are complete so that readers never see partial values.
+         */
+        private void computeSubtreeSizes() {
+            AbstractNode<P, N> node = this;
+            while (true) {
+                node.checkValid();
+
+                if (!node.hasSubtreeSizes()) {
+                    if (node.isLeaf()) {
+                        node.count = 1;
+                        node.height = 0;
+                    } else {
+                        final AbstractNode<P, N> minusNode = node.minus;
+                        final AbstractNode<P, N> plusNode = node.plus;
+
+                        minusNode.checkValid();
+                        plusNode.checkValid();
+
+                        // compute the child values first
+                        if (!minusNode.hasSubtreeSizes()) {
+                            node = minusNode;
+                            continue;
+                        } else if (!plusNode.hasSubtreeSizes()) {
+                            node = plusNode;
+                            continue;
+                        }
+
+                        node.count = 1 + minusNode.count + plusNode.count;
+                        node.height = Math.max(minusNode.height, plusNode.height) + 1;
+                    }
+                }
+
+                if (node == this) {
+                    break;
+                }
+
+                // return to the parent to compute its remaining values
+                node = node.parent;
+            }
+        }
+
+        /** Return true if the count and height of the subtree rooted at this node are known.
+         * @return true if the count and height of the subtree rooted at this node are known
+         */
+        private boolean hasSubtreeSizes() {
+            return count != UNKNOWN_VALUE && height != UNKNOWN_VALUE;
         }
 
         /** {@inheritDoc} */
         @Override
         public Iterable<N> nodes() {
-            return () -> new NodeIterator<>(getSelf());
+            return () -> new BSPTreeCursor<>(getSelf());
         }
 
         /** {@inheritDoc} */
@@ -1035,6 +1444,30 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
                 plusNode.depth = childDepth;
             }
             this.plus = newPlus;
+
+            subtreeModified();
+        }
+
+        /** Mark the subtree rooted at this node as modified. {@link #subtreeInvalidated()} is called
+         * on this node and on each of its ancestors in order to clear any stored values that depend
+         * on the contents of the subtree. The parent path is only traversed as far as needed: if an
+         * ancestor was already marked and no values have been cached in the tree since then, the
+         * remaining ancestors have also been invalidated.
+         */
+        protected void subtreeModified() {
+            final int generation = tree.cacheGeneration;
+
+            AbstractNode<P, N> node = this;
+            while (node != null) {
+                node.subtreeInvalidated();
+
+                if (node.modifiedGeneration == generation) {
+                    break;
+                }
+                node.modifiedGeneration = generation;
+
+                node = node.parent;
+            }
         }
 
         /**
@@ -1054,14 +1487,19 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
          * to ensure that no stale values are returned.
          */
         protected void checkValid() {
-            final int treeVersion = tree.getVersion();
-
-            if (nodeVersion != treeVersion) {
-                // the tree structure changed somewhere
-                nodeInvalidated();
-
-                // store the current version
-                nodeVersion = treeVersion;
+            if (nodeVersion != tree.getVersion()) {
+                tree.updateCache(() -> {
+                    final int treeVersion = tree.getVersion();
+
+                    if (nodeVersion != treeVersion) {
+                        // the tree structure changed somewhere
+                        nodeInvalidated();
+
+                        // store the current version; this must happen last so that threads
+                        // seeing the new version also see the cleared properties
+                        nodeVersion = treeVersion;
+                    }
+                });
             }
         }
 
@@ -1075,49 +1513,302 @@ public abstract class AbstractBSPTree<P extends Point<P>, N extends AbstractBSPT
             height = UNKNOWN_VALUE;
         }
 
+        /** Method called when the subtree rooted at this node or the subtree of one of its descendants
+         * is modified. This method should clear out any stored values that depend only on the contents
+         * of the subtree, such as those computed with
+         * {@link AbstractBSPTree#getSubtreeProperty(AbstractNode, SubtreeProperty) getSubtreeProperty}.
+         * Unlike {@link #nodeInvalidated()}, this method is not called when other parts of the tree
+         * are modified. The default implementation does nothing.
+         */
+        protected void subtreeInvalidated() {
+            // no stored subtree values by default
+        }
+
         /** Get a reference to the current instance, cast to type N.
          * @return a reference to the current instance, as type N.
          */
         protected abstract N getSelf();
     }
 
-    /** Class for iterating through the nodes in a BSP subtree.
-     * @param <P> Point implementation type
-     * @param <N> Node implementation type
+    /** Class representing the split of a single subtree by a partitioning convex subset. Instances
+     * are placed on an explicit stack by {@link AbstractBSPTree#splitSubtree(AbstractNode, HyperplaneConvexSubset)}
+     * in place of recursive method calls. Splitting an internal node first requires the split of one or both
+     * of its child subtrees; these are pushed onto the stack when the instance is {@link #start(Deque) started}
+     * and their results are combined with the node when the instance is {@link #finish() finished}.
      */
-    private static final class NodeIterator<P extends Point<P>, N extends AbstractNode<P, N>> implements Iterator<N> {
+    private final class SubtreeSplit {
+
+        /** The root node of the subtree to split. */
+        private final N node;
+
+        /** Partitioning convex subset. */
+        private final HyperplaneConvexSubset<P> partitioner;
+
+        /** The split containing this instance as a child split; null for the top-level split. */
+        private final SubtreeSplit parent;
+
+        /** True if this instance splits the minus subtree of the parent split node. */
+        private final boolean parentMinus;
+
+        /** True if the instance has been started. */
+        private boolean started;
+
+        /** Split of the partitioner by the node cut hyperplane. */
+        private Split<? extends HyperplaneConvexSubset<P>> partitionerSplit;
 
-        /** The current node stack. */
-        private final Deque<N> stack = new LinkedList<>();
+        /** Split of the node cut by the partitioner hyperplane. */
+        private Split<? extends HyperplaneConvexSubset<P>> nodeCutSplit;
 
-        /** Create a new instance for iterating over the nodes in the given subtree.
-         * @param subtreeRoot the root node of the subtree to iterate
+        /** Node containing the split subtree. */
+        private N result;
+
+        /** Result of splitting the minus subtree of the node. */
+        private N nodeMinusSplit;
+
+        /** Result of splitting the plus subtree of the node. */
+        private N nodePlusSplit;
+
+        /** Construct a new instance.
+         * @param node the root node of the subtree to split
+         * @param partitioner partitioning convex subset
+         * @param parent the split containing this instance as a child split; may be null
+         * @param parentMinus true if this instance splits the minus subtree of the parent split node
          */
-        NodeIterator(final N subtreeRoot) {
-            stack.push(subtreeRoot);
+        SubtreeSplit(final N node, final HyperplaneConvexSubset<P> partitioner,
+                final SubtreeSplit parent, final boolean parentMinus) {
+            this.node = node;
+            this.partitioner = partitioner;
+            this.parent = parent;
+            this.parentMinus = parentMinus;
         }
 
-        /** {@inheritDoc} */
-        @Override
-        public boolean hasNext() {
-            return !stack.isEmpty();
+        /** Return true if the instance has been started.
+         * @return true if the instance has been started
+         */
+        boolean isStarted() {
+            return started;
         }
 
-        /** {@inheritDoc} */
-        @Override
-        public N next() {
-            if (stack.isEmpty()) {
-                throw new NoSuchElementException();
+        /** Start the split by determining the relative positions of the partitioner and node cut and
+         * pushing the required child subtree splits onto the stack.
+         * @param stack split stack
+         */
+        void start(final Deque<SubtreeSplit> stack) {
+            started = true;
+
+            if (node.isLeaf()) {
+                return;
             }
 
-            final N result = stack.pop();
+            // split the partitioner and node cut with each other's hyperplanes to determine their
+            // relative positions
+            partitionerSplit = partitioner.split(node.getCutHyperplane());
+            nodeCutSplit = node.getCut().split(partitioner.getHyperplane());
+
+            result = createNode();
+
+            // push in reverse order so that the minus subtree is split first
+            switch (partitionerSplit.getLocation()) {
+            case PLUS:
+                stack.push(new SubtreeSplit(node.getPlus(), partitioner, this, false));
+                break;
+            case MINUS:
+                stack.push(new SubtreeSplit(node.getMinus(), partitioner, this, true));
+                break;
+            case BOTH:
+                // partitioner and node cut split each other
+                stack.push(new SubtreeSplit(node.getPlus(), partitionerSplit.getPlus(), this, false));
+                stack.push(new SubtreeSplit(node.getMinus(), partitionerSplit.getMinus(), this, true));
+                break;
+            default:
+                // partitioner and node cut are parallel or anti-parallel; no child splits needed
+                break;
+            }
+        }
 
-            if (result != null && !result.isLeaf()) {
-                stack.push(result.getPlus());
-                stack.push(result.getMinus());
+        /** Finish the split using the results of the child subtree splits and pass the result
+         * to the parent split, if any.
+         * @return node containing the split subtree
+         */
+        N finish() {
+            final N splitResult = node.isLeaf() ?
+                    splitLeafNode(node, partitioner) :
+                    combineInternalNode();
+
+            recordNodeSplit();
+
+            if (parent != null) {
+                if (parentMinus) {
+                    parent.nodeMinusSplit = splitResult;
+                } else {
+                    parent.nodePlusSplit = splitResult;
+                }
             }
 
+            return splitResult;
+        }
+
+        /** Combine the results of the child subtree splits of an internal node.
+         * @return node containing the split subtree
+         */
+        private N combineInternalNode() {
+            final SplitLocation partitionerSplitSide = partitionerSplit.getLocation();
+            final SplitLocation nodeCutSplitSide = nodeCutSplit.getLocation();
+
+            N resultMinus;
+            N resultPlus;
+
+            if (partitionerSplitSide == SplitLocation.PLUS) {
+                if (nodeCutSplitSide == SplitLocation.PLUS) {
+                    // partitioner is on node cut plus side, node cut is on partitioner plus side
+                    resultMinus = nodePlusSplit.getMinus();
+
+                    resultPlus = copyNode(node);
+                    resultPlus.setSubtree(node.getCut(), importSubtree(node.getMinus()), nodePlusSplit.getPlus());
+                } else {
+                    // partitioner is on node cut plus side, node cut is on partitioner minus side
+                    resultMinus = copyNode(node);
+                    resultMinus.setSubtree(node.getCut(), importSubtree(node.getMinus()), nodePlusSplit.getMinus());
+
+                    resultPlus = nodePlusSplit.getPlus();
+                }
+            } else if (partitionerSplitSide == SplitLocation.MINUS) {
+                if (nodeCutSplitSide == SplitLocation.MINUS) {
+                    // partitioner is on node cut minus side, node cut is on partitioner minus side
+                    resultMinus = copyNode(node);
+                    resultMinus.setSubtree(node.getCut(), nodeMinusSplit.getMinus(), importSubtree(node.getPlus()));
+
+                    resultPlus = nodeMinusSplit.getPlus();
+                } else {
+                    // partitioner is on node cut minus side, node cut is on partitioner plus side
+                    resultMinus = nodeMinusSplit.getMinus();
+
+                    resultPlus = copyNode(node);
+                    resultPlus.setSubtree(node.getCut(), nodeMinusSplit.getPlus(), importSubtree(node.getPlus()));
+                }
+            } else if (partitionerSplitSide == SplitLocation.BOTH) {
+                // partitioner and node cut split each other
+                resultMinus = copyNode(node);
+                resultMinus.setSubtree(nodeCutSplit.getMinus(), nodeMinusSplit.getMinus(), nodePlusSplit.getMinus());
+
+                resultPlus = copyNode(node);
+                resultPlus.setSubtree(nodeCutSplit.getPlus(), nodeMinusSplit.getPlus(), nodePlusSplit.getPlus());
+            } else {
+                // partitioner and node cut are parallel or anti-parallel
+                final boolean sameOrientation =
+                        partitioner.getHyperplane().similarOrientation(node.getCutHyperplane());
+
+                resultMinus = importSubtree(sameOrientation ? node.getMinus() : node.getPlus());
+                resultPlus = importSubtree(sameOrientation ? node.getPlus() : node.getMinus());
+            }
+
+            result.setSubtree(partitioner, resultMinus, resultPlus);
+
             return result;
         }
     }
+
+    /** Class containing the arguments for an insertion into a subtree that has not yet been performed.
+     * @param <P> Point implementation type
+     * @param <N> Node implementation type
+     */
+    private static final class PendingInsert<P extends Point<P>, N extends AbstractNode<P, N>> {
+
+        /** Root node of the subtree to insert into. */
+        private final N node;
+
+        /** Hyperplane subset to insert. */
+        private final HyperplaneConvexSubset<P> insert;
+
+        /** Hyperplane subset containing the result of splitting the entire space with each hyperplane
+         * from the node to the root.
+         */
+        private final HyperplaneConvexSubset<P> trimmed;
+
+        /** Construct a new instance.
+         * @param node root node of the subtree to insert into
+         * @param insert hyperplane subset to insert
+         * @param trimmed hyperplane subset containing the result of splitting the entire space with
+         *      each hyperplane from the node to the root
+         */
+        PendingInsert(final N node, final HyperplaneConvexSubset<P> insert, final HyperplaneConvexSubset<P> trimmed) {
+            this.node = node;
+            this.insert = insert;
+            this.trimmed = trimmed;
+        }
+    }
+
+    /** Array-based stack of pending visit operations used to traverse subtrees without recursion.
+     * Each entry consists of a node and a byte indicating the operation to perform with it.
+     * @param <N> Node implementation type
+     */
+    private static final class VisitStack<N> {
+
+        /** Operation indicating that the subtree rooted at the node should be visited. */
+        static final byte SUBTREE = 0;
+
+        /** Operation indicating that the node itself should be passed to the visitor. */
+        static final byte NODE = 1;
+
+        /** Operation indicating that the minus subtree of the node should be visited. */
+        static final byte MINUS_SUBTREE = 2;
+
+        /** Operation indicating that the plus subtree of the node should be visited. */
+        static final byte PLUS_SUBTREE = 3;
+
+        /** Initial capacity of the stack. */
+        private static final int INITIAL_CAPACITY = 32;
+
+        /** Nodes in the stack. */
+        private Object[] nodes = new Object[INITIAL_CAPACITY];
+
+        /** Operations in the stack. */
+        private byte[] operations = new byte[INITIAL_CAPACITY];
+
+        /** Number of entries in the stack. */
+        private int size;
+
+        /** Push an entry onto the stack.
+         * @param node node for the entry
+         * @param operation operation to perform with the node
+         */
+        void push(final N node, final byte operation) {
+            if (size == nodes.length) {
+                final int capacity = size * 2;
+                nodes = Arrays.copyOf(nodes, capacity);
+                operations = Arrays.copyOf(operations, capacity);
+            }
+
+            nodes[size] = node;
+            operations[size] = operation;
+            ++size;
+        }
+
+        /** Get the operation of the entry at the top of the stack.
+         * @return the operation of the entry at the top of the stack
+         */
+        byte peekOperation() {
+            return operations[size - 1];
+        }
+
+        /** Remove the entry at the top of the stack and return its node.
+         * @return the node of the removed entry
+         */
+        @SuppressWarnings("unchecked")
+        N pop() {
+            --size;
+
+            final N node = (N) nodes[size];
+            nodes[size] = null;
+
+            return node;
+        }
+
+        /** Return true if the stack is empty.
+         * @return true if the stack is empty
+         */
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
 }
@@ -16,6 +16,9 @@
  */
 package org.apache.commons.geometry.core.partitioning.bsp;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
 import org.apache.commons.geometry.core.Point;
 import org.apache.commons.geometry.core.partitioning.bsp.AbstractBSPTree.AbstractNode;
 
@@ -31,12 +34,22 @@ import org.apache.commons.geometry.core.partitioning.bsp.AbstractBSPTree.Abstrac
  * cleanly at this level.</p>
  *
  * <p>This class maintains state during the merging process and is therefore
- * <em>not</em> thread-safe.</p>
+ * <em>not</em> thread-safe. A single merge operation may, however, be split across the worker
+ * threads of a {@link ForkJoinPool} by calling
+ * {@link #performMerge(AbstractBSPTree, AbstractBSPTree, AbstractBSPTree, ForkJoinPool)}. In this
+ * case, {@link #mergeLeaf(AbstractBSPTree.AbstractNode, AbstractBSPTree.AbstractNode) mergeLeaf}
+ * is called concurrently on disjoint subtrees and must not modify any state shared between calls.</p>
  * @param <P> Point implementation type
  * @param <N> BSP tree node implementation type
  */
 public abstract class AbstractBSPTreeMergeOperator<P extends Point<P>, N extends AbstractNode<P, N>> {
 
+    /** The minimum number of nodes that a subtree from the first input tree must contain in order for
+     * its child subtrees to be merged in separate tasks during parallel merge operations. Smaller subtrees
+     * are merged sequentially in the current task.
+     */
+    private static final int PARALLEL_MERGE_THRESHOLD = 1 << 10;
+
     /** The tree that the merge operation output will be written to. All existing content
      * in this tree is overwritten.
      */
@@ -75,6 +88,43 @@ public abstract class AbstractBSPTreeMergeOperator<P extends Point<P>, N extends
         getOutputTree().setRoot(outputRoot);
     }
 
+    /** Perform a merge operation with the two input trees and store the result in the output tree, using
+     * the given pool to merge independent subtrees concurrently. The output tree may be one of the input
+     * trees, in which case, the tree is modified in place. The structure of the output tree is identical
+     * to that produced by {@link #performMerge(AbstractBSPTree, AbstractBSPTree, AbstractBSPTree)}.
+     *
+     * <p>Only subtrees of the first input containing at least {@value #PARALLEL_MERGE_THRESHOLD} nodes
+     * are split into separate tasks; smaller subtrees are merged sequentially. The merge is performed
+     * entirely sequentially if both inputs are the same tree instance.</p>
+     * @param input1 first input tree
+     * @param input2 second input tree
+     * @param output output tree all previous content in this tree is overwritten
+     * @param pool pool used to execute the merge tasks
+     */
+    protected void performMerge(final AbstractBSPTree<P, N> input1, final AbstractBSPTree<P, N> input2,
+            final AbstractBSPTree<P, N> output, final ForkJoinPool pool) {
+
+        if (input1 == input2) {
+            // the same nodes could be reached from both sides of the merge, so
+            // tasks would not be independent
+            performMerge(input1, input2, output);
+            return;
+        }
+
+        setOutputTree(output);
+
+        final N root1 = input1.getRoot();
+        final N root2 = input2.getRoot();
+
+        // compute the subtree node counts up front in this thread so that the values are
+        // cached and can be read from the merge tasks without further modification
+        root1.count();
+
+        final N outputRoot = pool.invoke(new MergeTask(root1, root2));
+
+        getOutputTree().setRoot(outputRoot);
+    }
+
     /** Recursively merge two nodes.
      * @param node1 node from the first input tree
      * @param node2 node from the second input tree
@@ -87,6 +137,8 @@ public abstract class AbstractBSPTreeMergeOperator<P extends Point<P>, N extends
             // merging recursively
             final N merged = mergeLeaf(node1, node2);
 
+            outputTree.recordLeafMerge();
+
             // copy the merged node to the output if needed (in case mergeLeaf
             // returned one of the input nodes directly)
             return outputTree.importSubtree(merged);
@@ -104,6 +156,33 @@ public abstract class AbstractBSPTreeMergeOperator<P extends Point<P>, N extends
         }
     }
 
+    /** Merge two nodes, forking a new task to merge the plus subtrees if the subtree rooted at
+     * {@code node1} is large enough. The produced subtree is identical to that returned by
+     * {@link #performMergeRecursive(AbstractBSPTree.AbstractNode, AbstractBSPTree.AbstractNode)}.
+     * @param node1 node from the first input tree
+     * @param node2 node from the second input tree
+     * @return a merged node
+     */
+    private N performMergeParallel(final N node1, final N node2) {
+        if (node1.isLeaf() || node2.isLeaf() || node1.count() < PARALLEL_MERGE_THRESHOLD) {
+            return performMergeRecursive(node1, node2);
+        }
+
+        final N partitioned = outputTree.splitSubtree(node2, node1.getCut());
+
+        final MergeTask plusTask = new MergeTask(node1.getPlus(), partitioned.getPlus());
+        plusTask.fork();
+
+        final N minus = performMergeParallel(node1.getMinus(), partitioned.getMinus());
+
+        final N plus = plusTask.join();
+
+        final N outputNode = outputTree.copyNode(node1);
+        outputNode.setSubtree(node1.getCut(), minus, plus);
+
+        return outputNode;
+    }
+
     /** Create a new node in the output tree. The node is associated with the output tree but
      * is not attached to a parent node.
      * @return a new node associated with the output tree but not yet attached to a parent
@@ -133,4 +212,33 @@ public abstract class AbstractBSPTreeMergeOperator<P extends Point<P>, N extends
      * @return node representing the merger of the two input nodes
      */
     protected abstract N mergeLeaf(N node1, N node2);
+
+    /** Task used to merge two subtrees during parallel merge operations.
+     */
+    private final class MergeTask extends RecursiveTask<N> {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20201015L;
+
+        /** Node from the first input tree. */
+        private final transient N node1;
+
+        /** Node from the second input tree. */
+        private final transient N node2;
+
+        /** Construct a new task for merging the given nodes.
+         * @param node1 node from the first input tree
+         * @param node2 node from the second input tree
+         */
+        MergeTask(final N node1, final N node2) {
+            this.node1 = node1;
+            this.node2 = node2;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected N compute() {
+            return performMergeParallel(node1, node2);
+        }
+    }
 }
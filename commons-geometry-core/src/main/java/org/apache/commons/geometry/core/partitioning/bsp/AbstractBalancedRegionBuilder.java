@@ -0,0 +1,290 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.apache.commons.geometry.core.Point;
+import org.apache.commons.geometry.core.partitioning.Hyperplane;
+import org.apache.commons.geometry.core.partitioning.HyperplaneConvexSubset;
+import org.apache.commons.geometry.core.partitioning.Split;
+import org.apache.commons.geometry.core.partitioning.bsp.AbstractBSPTree.SubtreeInitializer;
+import org.apache.commons.geometry.core.partitioning.bsp.AbstractRegionBSPTree.AbstractRegionNode;
+
+/** Class encapsulating logic for building regions from boundaries by choosing the cut of each tree
+ * node with a cost model instead of inserting the boundaries in the order given by the caller.
+ * When boundaries are inserted one at a time with
+ * {@link AbstractRegionBSPTree#insert(Iterable) AbstractRegionBSPTree.insert}, the structure of the
+ * resulting tree is determined entirely by the insertion order. A poor order can produce deep trees
+ * containing many boundary fragments created by splitting the inserted boundaries with the cuts of
+ * unrelated nodes. This class instead collects all boundaries before building the tree. Starting at
+ * the root, it evaluates a sample of candidate boundaries from those that lie in the region of the
+ * current node, uses the hyperplane of the candidate with the lowest cost as the node cut, and then
+ * distributes the remaining boundaries (split if needed) to the child nodes, where the process repeats.
+ *
+ * <h2>Cost Model</h2>
+ * <p>The cost of a candidate is computed as
+ * <code>splitWeight * (splitCount - coincidentCount) + |minusCount - plusCount|</code>, where
+ * {@code splitCount} is the number of boundaries that would be split into two fragments by the candidate
+ * hyperplane, {@code coincidentCount} is the number of boundaries lying directly on the candidate hyperplane
+ * and {@code minusCount} and {@code plusCount} are the number of boundaries lying entirely on the minus and
+ * plus sides of the hyperplane. The first term estimates the net number of fragments created by the cut,
+ * since coincident boundaries are represented by the cut itself and are discarded when the candidate is
+ * chosen, as is done during standard insertion. The second term favors balanced trees.</p>
+ *
+ * <p>If the number of boundaries in a node region is less than or equal to the candidate count, all
+ * boundaries are evaluated. Otherwise, candidates are sampled at evenly spaced indices in the boundary list
+ * so that the result is deterministic for a given input.</p>
+ *
+ * <p>Regions with all boundaries on the minus side of each boundary hyperplane (i.e. convex regions) gain
+ * nothing from this approach since no boundary hyperplane separates the remaining boundaries. Use
+ * {@link AbstractPartitionedRegionBuilder} to introduce structural cuts for such inputs.</p>
+ *
+ * <p>This class does not expose any public methods so that subclasses can present their own
+ * public API, tailored to the specific types being worked with. In particular, most subclasses
+ * will want to restrict the tree types used with the algorithm, which is difficult to implement
+ * cleanly at this level.</p>
+ * @param <P> Point implementation type
+ * @param <N> BSP tree node implementation type
+ */
+public abstract class AbstractBalancedRegionBuilder<
+    P extends Point<P>,
+    N extends AbstractRegionNode<P, N>> {
+
+    /** The default number of candidate boundaries evaluated for each node cut. */
+    public static final int DEFAULT_CANDIDATE_COUNT = 16;
+
+    /** The default weight applied to the split count when computing the cost of a candidate. */
+    public static final double DEFAULT_SPLIT_WEIGHT = 8.0;
+
+    /** Tree being constructed. */
+    private final AbstractRegionBSPTree<P, N> tree;
+
+    /** Subtree initializer for node cuts. */
+    private final SubtreeInitializer<N> subtreeInit;
+
+    /** Boundaries inserted into the builder. */
+    private final List<HyperplaneConvexSubset<P>> boundaries = new ArrayList<>();
+
+    /** The number of candidate boundaries evaluated for each node cut. */
+    private int candidateCount = DEFAULT_CANDIDATE_COUNT;
+
+    /** The weight applied to the split count when computing the cost of a candidate. */
+    private double splitWeight = DEFAULT_SPLIT_WEIGHT;
+
+    /** Construct a new instance that builds a region in the given tree. The tree must
+     * be empty.
+     * @param tree tree to build the region in; must be empty
+     * @throws IllegalArgumentException if the tree is not empty
+     */
+    protected AbstractBalancedRegionBuilder(final AbstractRegionBSPTree<P, N> tree) {
+        if (!tree.isEmpty()) {
+            throw new IllegalArgumentException("Tree must be empty");
+        }
+
+        this.tree = tree;
+        this.subtreeInit = tree.getSubtreeInitializer(RegionCutRule.MINUS_INSIDE);
+    }
+
+    /** Internal method to set the number of candidate boundaries evaluated for each node cut.
+     * @param count number of candidate boundaries evaluated for each node cut
+     * @throws IllegalArgumentException if {@code count} is less than 1
+     */
+    protected void setCandidateCountInternal(final int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Candidate count must be greater than zero; was " + count);
+        }
+        this.candidateCount = count;
+    }
+
+    /** Internal method to set the weight applied to the split count when computing the cost of a
+     * candidate.
+     * @param weight weight applied to the split count
+     * @throws IllegalArgumentException if {@code weight} is negative or not finite
+     */
+    protected void setSplitWeightInternal(final double weight) {
+        if (!Double.isFinite(weight) || weight < 0) {
+            throw new IllegalArgumentException("Split weight must be finite and non-negative; was " + weight);
+        }
+        this.splitWeight = weight;
+    }
+
+    /** Internal method to add a region boundary to the builder.
+     * @param boundary boundary to add
+     */
+    protected void insertBoundaryInternal(final HyperplaneConvexSubset<P> boundary) {
+        boundaries.add(boundary);
+    }
+
+    /** Internal method to build and return the tree representing the region.
+     * @return the region
+     */
+    protected AbstractRegionBSPTree<P, N> buildInternal() {
+        final Deque<NodeBoundaries> stack = new ArrayDeque<>();
+        stack.push(new NodeBoundaries(tree.getRoot(), new ArrayList<>(boundaries)));
+
+        boundaries.clear();
+
+        NodeBoundaries current;
+        while (!stack.isEmpty()) {
+            current = stack.pop();
+
+            final N node = current.node;
+            final List<HyperplaneConvexSubset<P>> nodeBoundaries = current.boundaries;
+
+            while (!nodeBoundaries.isEmpty()) {
+                final HyperplaneConvexSubset<P> cut = nodeBoundaries.remove(chooseCut(nodeBoundaries));
+
+                if (tree.cutNode(node, cut.getHyperplane(), subtreeInit)) {
+                    distributeBoundaries(node, nodeBoundaries, stack);
+                    break;
+                }
+                // the hyperplane did not intersect the node region; this can only occur due to
+                // floating point precision issues with very small boundaries so just discard the
+                // candidate and try again
+            }
+        }
+
+        tree.condense();
+
+        return tree;
+    }
+
+    /** Choose the index of the boundary with the lowest cost from the given list.
+     * @param nodeBoundaries list of boundaries lying in the region of a node; must not be empty
+     * @return the index of the boundary with the lowest cost
+     */
+    private int chooseCut(final List<HyperplaneConvexSubset<P>> nodeBoundaries) {
+        final int size = nodeBoundaries.size();
+        final int count = Math.min(size, candidateCount);
+
+        int bestIdx = 0;
+        double bestCost = Double.POSITIVE_INFINITY;
+
+        int idx;
+        double cost;
+        for (int i = 0; i < count; ++i) {
+            idx = (int) (((long) i * size) / count);
+            cost = computeCost(nodeBoundaries.get(idx).getHyperplane(), nodeBoundaries, bestCost);
+
+            if (cost < bestCost) {
+                bestIdx = idx;
+                bestCost = cost;
+            }
+        }
+
+        return bestIdx;
+    }
+
+    /** Compute the cost of using the given hyperplane as a node cut for a node containing the
+     * given boundaries. The computation is stopped early once the cost can no longer drop below
+     * {@code limit} since the hyperplane cannot be chosen in that case.
+     * @param hyperplane candidate hyperplane
+     * @param nodeBoundaries boundaries lying in the region of the node
+     * @param limit value at which the computation can be stopped
+     * @return the cost of the candidate or a value greater than or equal to {@code limit}
+     */
+    private double computeCost(final Hyperplane<P> hyperplane, final List<HyperplaneConvexSubset<P>> nodeBoundaries,
+            final double limit) {
+        final int size = nodeBoundaries.size();
+
+        int splitCount = 0;
+        int coincidentCount = 0;
+        int minusCount = 0;
+        int plusCount = 0;
+
+        for (int i = 0; i < size; ++i) {
+            switch (nodeBoundaries.get(i).split(hyperplane).getLocation()) {
+            case MINUS:
+                ++minusCount;
+                break;
+            case PLUS:
+                ++plusCount;
+                break;
+            case BOTH:
+                ++splitCount;
+                // the remaining boundaries could all be coincident with the hyperplane, which
+                // gives a lower bound for the final cost
+                if (splitWeight * (splitCount - coincidentCount - (size - i - 1)) >= limit) {
+                    return limit;
+                }
+                break;
+            default: // NEITHER
+                ++coincidentCount;
+                break;
+            }
+        }
+
+        return (splitWeight * (splitCount - coincidentCount)) + Math.abs(minusCount - plusCount);
+    }
+
+    /** Split the given boundaries with the cut of {@code node} and push the boundaries lying in the
+     * regions of the child nodes onto the stack. Boundaries lying directly on the cut are discarded.
+     * @param node newly cut node
+     * @param nodeBoundaries boundaries lying in the region of {@code node}, not including the boundary
+     *      used to create the cut
+     * @param stack stack of nodes awaiting processing
+     */
+    private void distributeBoundaries(final N node, final List<HyperplaneConvexSubset<P>> nodeBoundaries,
+            final Deque<NodeBoundaries> stack) {
+        final Hyperplane<P> cutHyperplane = node.getCutHyperplane();
+
+        final List<HyperplaneConvexSubset<P>> minus = new ArrayList<>();
+        final List<HyperplaneConvexSubset<P>> plus = new ArrayList<>();
+
+        for (final HyperplaneConvexSubset<P> boundary : nodeBoundaries) {
+            final Split<? extends HyperplaneConvexSubset<P>> split = boundary.split(cutHyperplane);
+
+            if (split.getMinus() != null) {
+                minus.add(split.getMinus());
+            }
+            if (split.getPlus() != null) {
+                plus.add(split.getPlus());
+            }
+        }
+
+        if (!plus.isEmpty()) {
+            stack.push(new NodeBoundaries(node.getPlus(), plus));
+        }
+        if (!minus.isEmpty()) {
+            stack.push(new NodeBoundaries(node.getMinus(), minus));
+        }
+    }
+
+    /** Class associating a leaf node with the boundaries lying in its region.
+     */
+    private final class NodeBoundaries {
+
+        /** Leaf node. */
+        private final N node;
+
+        /** Boundaries lying in the node region. */
+        private final List<HyperplaneConvexSubset<P>> boundaries;
+
+        /** Construct a new instance.
+         * @param node leaf node
+         * @param boundaries boundaries lying in the node region
+         */
+        NodeBoundaries(final N node, final List<HyperplaneConvexSubset<P>> boundaries) {
+            this.node = node;
+            this.boundaries = boundaries;
+        }
+    }
+}
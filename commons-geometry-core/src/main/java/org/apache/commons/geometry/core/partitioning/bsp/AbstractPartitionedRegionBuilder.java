@@ -20,8 +20,12 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.BiConsumer;
 
 import org.apache.commons.geometry.core.Point;
@@ -50,6 +54,13 @@ import org.apache.commons.geometry.core.partitioning.bsp.AbstractRegionBSPTree.A
  * Attempting to insert a partition after this point results in an {@code IllegalStateException}. This ensures that
  * partitioning cuts are always located higher up the tree than boundary cuts.</p>
  *
+ * <p>Boundaries are buffered by the builder and inserted into the tree when the region is built. This allows
+ * the boundaries to be inserted either sequentially with {@link #buildInternal()} or concurrently with
+ * {@link #buildInternal(ForkJoinPool)}. In the latter case, boundaries are grouped by the partition leaf
+ * nodes they fall into and the subtrees below each partition leaf are populated in separate tasks.
+ * Boundaries lying directly on a partition affect more than one partition subtree and are inserted
+ * sequentially once the partition subtrees have been populated.</p>
+ *
  * <p>After all boundaries are inserted, the tree undergoes final processing to ensure that the region is consistent
  * and that unnecessary nodes are removed.</p>
  *
@@ -80,6 +91,9 @@ public abstract class AbstractPartitionedRegionBuilder<
     /** Set of all internal nodes used as partitioning nodes. */
     private final Set<N> partitionNodes = new HashSet<>();
 
+    /** Boundaries waiting to be inserted into the tree, in insertion order. */
+    private final List<HyperplaneConvexSubset<P>> boundaries = new ArrayList<>();
+
     /** Construct a new instance that builds a partitioned region in the given tree. The tree must
      * be empty.
      * @param tree tree to build the region in; must be empty
@@ -98,6 +112,65 @@ public abstract class AbstractPartitionedRegionBuilder<
      * @return the partitioned region
      */
     protected AbstractRegionBSPTree<P, N> buildInternal() {
+        for (final HyperplaneConvexSubset<P> boundary : boundaries) {
+            insertBoundary(boundary);
+        }
+        boundaries.clear();
+
+        return finishBuild();
+    }
+
+    /** Internal method to build and return the tree representing the final partitioned region, using
+     * the given pool to populate the subtrees below the partition leaf nodes concurrently. The boundaries
+     * falling into each partition leaf are inserted in the same order as in {@link #buildInternal()}.
+     * Boundaries lying directly on a partition are inserted sequentially after all other boundaries.
+     * For valid input, i.e. boundaries defining the entire surface of the region, the represented region
+     * is the same as that produced by {@link #buildInternal()}.
+     * @param pool pool used to execute the insertion tasks
+     * @return the partitioned region
+     */
+    protected AbstractRegionBSPTree<P, N> buildInternal(final ForkJoinPool pool) {
+        final Map<N, PartitionSubtree> subtrees = new LinkedHashMap<>();
+        final List<HyperplaneConvexSubset<P>> deferred = new ArrayList<>();
+
+        final List<PartitionInsert<P, N>> inserts = new ArrayList<>();
+        for (final HyperplaneConvexSubset<P> boundary : boundaries) {
+            inserts.clear();
+
+            if (collectPartitionInserts(tree.getRoot(), boundary, boundary.getHyperplane().span(), inserts)) {
+                for (final PartitionInsert<P, N> insert : inserts) {
+                    subtrees.computeIfAbsent(insert.leaf, PartitionSubtree::new)
+                        .add(insert);
+                }
+            } else {
+                deferred.add(boundary);
+            }
+        }
+        boundaries.clear();
+
+        if (!subtrees.isEmpty()) {
+            final List<PartitionSubtree> subtreeList = new ArrayList<>(subtrees.values());
+            pool.invoke(new PartitionSubtreeTask(subtreeList, 0, subtreeList.size()));
+
+            // attach the subtrees in this thread since the partition nodes are shared between tasks
+            for (final PartitionSubtree subtree : subtreeList) {
+                subtree.attach();
+            }
+
+            tree.invalidate();
+        }
+
+        for (final HyperplaneConvexSubset<P> boundary : deferred) {
+            insertBoundary(boundary);
+        }
+
+        return finishBuild();
+    }
+
+    /** Perform the final processing of the tree after all boundaries have been inserted.
+     * @return the partitioned region
+     */
+    private AbstractRegionBSPTree<P, N> finishBuild() {
         // condense to combine homogenous leaf nodes
         tree.condense();
 
@@ -137,10 +210,65 @@ public abstract class AbstractPartitionedRegionBuilder<
             insertingPartitions = false;
         }
 
+        boundaries.add(boundary);
+    }
+
+    /** Insert a region boundary into the tree, starting at the root node.
+     * @param boundary boundary to insert
+     */
+    private void insertBoundary(final HyperplaneConvexSubset<P> boundary) {
         insertBoundaryRecursive(tree.getRoot(), boundary, boundary.getHyperplane().span(),
             (leaf, cut) -> tree.setNodeCut(leaf, cut, subtreeInit));
     }
 
+    /** Split a region boundary by the partition nodes in the tree and add the resulting insertions into the
+     * partition leaf nodes to {@code result}. False is returned if the boundary lies directly on a partition,
+     * in which case the contents of {@code result} are incomplete and the boundary must be inserted with
+     * {@link #insertBoundary(HyperplaneConvexSubset)}.
+     * @param node node to insert into
+     * @param insert the hyperplane convex subset to insert
+     * @param trimmed version of the hyperplane convex subset filling the entire space of {@code node}
+     * @param result list of partition leaf insertions
+     * @return false if the boundary lies directly on a partition
+     */
+    private boolean collectPartitionInserts(final N node, final HyperplaneConvexSubset<P> insert,
+            final HyperplaneConvexSubset<P> trimmed, final List<PartitionInsert<P, N>> result) {
+        if (node.isLeaf()) {
+            result.add(new PartitionInsert<>(node, insert, trimmed));
+            return true;
+        }
+
+        final Split<? extends HyperplaneConvexSubset<P>> insertSplit =
+                insert.split(node.getCutHyperplane());
+
+        final HyperplaneConvexSubset<P> minus = insertSplit.getMinus();
+        final HyperplaneConvexSubset<P> plus = insertSplit.getPlus();
+
+        if (minus == null && plus == null) {
+            return !isPartitionNode(node);
+        }
+
+        final Split<? extends HyperplaneConvexSubset<P>> trimmedSplit =
+                trimmed.split(node.getCutHyperplane());
+
+        return (minus == null || collectPartitionInserts(node.getMinus(), minus, trimmedSplit.getMinus(), result)) &&
+                (plus == null || collectPartitionInserts(node.getPlus(), plus, trimmedSplit.getPlus(), result));
+    }
+
+    /** Set the cut of a leaf node that is not yet attached to the tree. Unlike
+     * {@link AbstractBSPTree#setNodeCut(AbstractBSPTree.AbstractNode, HyperplaneConvexSubset, SubtreeInitializer)},
+     * this does not invalidate the tree and can therefore be called concurrently for disjoint subtrees.
+     * @param leaf the leaf node to cut
+     * @param cut the hyperplane convex subset to set as the node cut
+     */
+    private void setDetachedNodeCut(final N leaf, final HyperplaneConvexSubset<P> cut) {
+        leaf.setSubtree(cut, tree.createNode(), tree.createNode());
+
+        subtreeInit.initSubtree(leaf);
+
+        tree.recordCut();
+    }
+
     /** Insert a region boundary into the tree.
      * @param node node to insert into
      * @param insert the hyperplane convex subset to insert
@@ -284,6 +412,125 @@ public abstract class AbstractPartitionedRegionBuilder<
         return partitionNodes.contains(node);
     }
 
+    /** Class representing the insertion of a portion of a region boundary into a partition leaf node.
+     * @param <P> Point implementation type
+     * @param <N> BSP tree node implementation type
+     */
+    private static final class PartitionInsert<P extends Point<P>, N extends AbstractRegionNode<P, N>> {
+
+        /** Partition leaf node to insert into. */
+        private final N leaf;
+
+        /** The hyperplane convex subset to insert. */
+        private final HyperplaneConvexSubset<P> insert;
+
+        /** Version of the hyperplane convex subset filling the entire space of {@code leaf}. */
+        private final HyperplaneConvexSubset<P> trimmed;
+
+        /** Simple constructor.
+         * @param leaf partition leaf node to insert into
+         * @param insert the hyperplane convex subset to insert
+         * @param trimmed version of the hyperplane convex subset filling the entire space of {@code leaf}
+         */
+        PartitionInsert(final N leaf, final HyperplaneConvexSubset<P> insert,
+                final HyperplaneConvexSubset<P> trimmed) {
+            this.leaf = leaf;
+            this.insert = insert;
+            this.trimmed = trimmed;
+        }
+    }
+
+    /** Class used to populate the subtree below a single partition leaf node. The subtree is
+     * built from a detached copy of the leaf so that no nodes are shared with other subtrees
+     * and is attached to the tree afterwards.
+     */
+    private final class PartitionSubtree {
+
+        /** Partition leaf node that the subtree will be attached to. */
+        private final N leaf;
+
+        /** Insertions into the partition leaf, in insertion order. */
+        private final List<PartitionInsert<P, N>> inserts = new ArrayList<>();
+
+        /** Root of the detached subtree; null until built. */
+        private N root;
+
+        /** Construct a new instance for the given partition leaf node.
+         * @param leaf partition leaf node
+         */
+        PartitionSubtree(final N leaf) {
+            this.leaf = leaf;
+        }
+
+        /** Add an insertion into the partition leaf.
+         * @param insert insertion to add
+         */
+        void add(final PartitionInsert<P, N> insert) {
+            inserts.add(insert);
+        }
+
+        /** Build the detached subtree by performing all insertions.
+         */
+        void build() {
+            final N subtreeRoot = tree.copyNode(leaf);
+
+            for (final PartitionInsert<P, N> insert : inserts) {
+                insertBoundaryRecursive(subtreeRoot, insert.insert, insert.trimmed,
+                        AbstractPartitionedRegionBuilder.this::setDetachedNodeCut);
+            }
+
+            root = subtreeRoot;
+        }
+
+        /** Attach the built subtree to the partition leaf node.
+         */
+        void attach() {
+            leaf.setSubtree(root.getCut(), root.getMinus(), root.getPlus());
+        }
+    }
+
+    /** Task used to build a range of partition subtrees.
+     */
+    private final class PartitionSubtreeTask extends RecursiveAction {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20201015L;
+
+        /** List of all partition subtrees. */
+        private final transient List<PartitionSubtree> subtrees;
+
+        /** Index of the first subtree to build, inclusive. */
+        private final int start;
+
+        /** Index of the last subtree to build, exclusive. */
+        private final int end;
+
+        /** Construct a new task for building the given range of partition subtrees.
+         * @param subtrees list of all partition subtrees
+         * @param start index of the first subtree to build, inclusive
+         * @param end index of the last subtree to build, exclusive
+         */
+        PartitionSubtreeTask(final List<PartitionSubtree> subtrees, final int start, final int end) {
+            this.subtrees = subtrees;
+            this.start = start;
+            this.end = end;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void compute() {
+            if (end - start == 1) {
+                subtrees.get(start).build();
+            } else {
+                final int mid = (start + end) >>> 1;
+
+                invokeAll(
+                        new PartitionSubtreeTask(subtrees, start, mid),
+                        new PartitionSubtreeTask(subtrees, mid, end));
+            }
+        }
+    }
+
     /** Throw an exception if the instance is no longer accepting partitions.
      * @throws IllegalStateException if the instance is no longer accepting partitions
      */
@@ -16,15 +16,29 @@
  */
 package org.apache.commons.geometry.core.partitioning.bsp;
 
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.apache.commons.geometry.core.Point;
 import org.apache.commons.geometry.core.RegionLocation;
-import org.apache.commons.geometry.core.internal.IteratorTransform;
 import org.apache.commons.geometry.core.partitioning.BoundarySource;
 import org.apache.commons.geometry.core.partitioning.Hyperplane;
 import org.apache.commons.geometry.core.partitioning.HyperplaneBoundedRegion;
@@ -39,7 +53,16 @@ import org.apache.commons.geometry.core.partitioning.bsp.BSPTreeVisitor.ClosestF
  * this class can be used to represent polygons in Euclidean 2D space and polyhedrons
  * in Euclidean 3D space.
  *
- * <p>This class is not thread safe.</p>
+ * <p>This class is not thread safe unless placed in
+ * {@link #setConcurrentReadMode(boolean) concurrent read mode}, in which case it may be queried
+ * from multiple threads at the same time. Lazily computed values such as the region size, centroid,
+ * boundary size and node cut boundaries are then computed at most once and safely published to all
+ * threads. Modifying the region always requires exclusive access.</p>
+ *
+ * <p>Node cut boundaries, along with the boundary size and the locations present in each subtree, are
+ * cached per subtree and only cleared when the subtree itself is modified. After a small edit, such
+ * as the insertion of a boundary or a boolean operation that leaves most of the tree intact, these
+ * values are therefore only recomputed for the modified subtrees and their ancestors.</p>
  * @param <P> Point implementation type
  * @param <N> BSP tree node implementation type
  * @see HyperplaneBoundedRegion
@@ -52,14 +75,26 @@ public abstract class AbstractRegionBSPTree<
     /** The default {@link RegionCutRule}. */
     private static final RegionCutRule DEFAULT_REGION_CUT_RULE = RegionCutRule.MINUS_INSIDE;
 
-    /** Value used to indicate an unknown size. */
-    private static final double UNKNOWN_SIZE = -1.0;
+    /** Value at the start of the binary representation of a tree; the characters "BSPT" in ASCII. */
+    private static final int BINARY_FORMAT_MAGIC = 0x42535054;
+
+    /** Version of the binary tree format. */
+    private static final int BINARY_FORMAT_VERSION = 1;
+
+    /** Binary format node flag indicating an {@link RegionLocation#INSIDE INSIDE} location. */
+    private static final int NODE_INSIDE_FLAG = 0x1;
 
-    /** The region boundary size; this is computed when requested and then cached. */
-    private double boundarySize = UNKNOWN_SIZE;
+    /** Binary format node flag indicating an {@link RegionLocation#OUTSIDE OUTSIDE} location. */
+    private static final int NODE_OUTSIDE_FLAG = 0x2;
+
+    /** Binary format node flag indicating an internal node; the node cut follows the flags. */
+    private static final int NODE_INTERNAL_FLAG = 0x4;
+
+    /** Value of the subtree location flags of a node when they have not been computed. */
+    private static final int UNKNOWN_LOCATION_FLAGS = -1;
 
     /** The current size properties for the region. */
-    private RegionSizeProperties<P> regionSizeProperties;
+    private volatile RegionSizeProperties<P> regionSizeProperties;
 
     /** Construct a new region will the given boolean determining whether or not the
      * region will be full (including the entire space) or empty (excluding the entire
@@ -74,29 +109,34 @@ public abstract class AbstractRegionBSPTree<
     /** {@inheritDoc} */
     @Override
     public boolean isEmpty() {
-        return !hasNodeWithLocationRecursive(getRoot(), RegionLocation.INSIDE);
+        return !hasNodeWithLocation(getRoot(), RegionLocation.INSIDE);
     }
 
     /** {@inheritDoc} */
     @Override
     public boolean isFull() {
-        return !hasNodeWithLocationRecursive(getRoot(), RegionLocation.OUTSIDE);
+        return !hasNodeWithLocation(getRoot(), RegionLocation.OUTSIDE);
     }
 
     /** Return true if any node in the subtree rooted at the given node has a location with the
-     * given value.
+     * given value. The locations present in each subtree are cached on the subtree nodes.
      * @param node the node at the root of the subtree to search
      * @param location the location to find
      * @return true if any node in the subtree has the given location
      */
-    private boolean hasNodeWithLocationRecursive(final AbstractRegionNode<P, N> node, final RegionLocation location) {
-        if (node == null) {
-            return false;
-        }
+    private boolean hasNodeWithLocation(final N node, final RegionLocation location) {
+        final int flags = getSubtreeProperty(node, new LocationFlagsProperty<>());
+        return (flags & getLocationFlag(location)) != 0;
+    }
 
-        return node.getLocation() == location ||
-                hasNodeWithLocationRecursive(node.getMinus(), location) ||
-                hasNodeWithLocationRecursive(node.getPlus(), location);
+    /** Get the flag representing the given location in the location flags of a subtree.
+     * @param location location to get the flag for; may be null
+     * @return the flag representing the location or zero if {@code location} is null
+     */
+    private static int getLocationFlag(final RegionLocation location) {
+        return location != null ?
+                1 << location.ordinal() :
+                0;
     }
 
     /** Modify this instance so that it contains the entire space.
@@ -128,21 +168,7 @@ public abstract class AbstractRegionBSPTree<
     /** {@inheritDoc} */
     @Override
     public double getBoundarySize() {
-        if (boundarySize < 0.0) {
-            double sum = 0.0;
-
-            RegionCutBoundary<P> boundary;
-            for (final AbstractRegionNode<P, N> node : nodes()) {
-                boundary = node.getCutBoundary();
-                if (boundary != null) {
-                    sum += boundary.getSize();
-                }
-            }
-
-            boundarySize = sum;
-        }
-
-        return boundarySize;
+        return getSubtreeProperty(getRoot(), new BoundarySizeProperty<>());
     }
 
     /** Insert a hyperplane subset into the tree, using the default {@link RegionCutRule} of
@@ -192,8 +218,13 @@ public abstract class AbstractRegionBSPTree<
      * @param cutRule rule used to determine the region locations of new child nodes
      */
     public void insert(final Iterable<? extends HyperplaneConvexSubset<P>> convexSubs, final RegionCutRule cutRule) {
-        for (final HyperplaneConvexSubset<P> convexSub : convexSubs) {
-            insert(convexSub, cutRule);
+        final OperationRecorder started = startOperation(BSPTreeOperation.INSERT);
+        try {
+            for (final HyperplaneConvexSubset<P> convexSub : convexSubs) {
+                insert(convexSub, cutRule);
+            }
+        } finally {
+            finishOperation(started);
         }
     }
 
@@ -213,8 +244,11 @@ public abstract class AbstractRegionBSPTree<
      */
     public void insert(final BoundarySource<? extends HyperplaneConvexSubset<P>> boundarySrc,
             final RegionCutRule cutRule) {
+        final OperationRecorder started = startOperation(BSPTreeOperation.INSERT);
         try (Stream<? extends HyperplaneConvexSubset<P>> stream = boundarySrc.boundaryStream()) {
             stream.forEach(c -> insert(c, cutRule));
+        } finally {
+            finishOperation(started);
         }
     }
 
@@ -264,9 +298,26 @@ public abstract class AbstractRegionBSPTree<
     protected <C extends HyperplaneConvexSubset<P>> Iterable<C> createBoundaryIterable(
             final Function<HyperplaneConvexSubset<P>, C> typeConverter) {
 
-        return () -> new RegionBoundaryIterator<>(
-                getRoot().nodes().iterator(),
-                typeConverter);
+        return () -> new RegionBoundaryIterator<>(getRoot(), typeConverter);
+    }
+
+    /** Internal method for creating the streams used to access the region boundaries. The
+     * stream is ordered and contains the boundaries in the same order as {@link #boundaries()}.
+     * Its spliterator splits by subtree, so a parallel stream computes the node cut boundaries of
+     * disjoint subtrees in separate threads. Cut boundaries computed by a parallel stream are stored
+     * while holding the internal cache lock of the tree, unless the tree is in
+     * {@link #setCompactMode(boolean) compact mode}. As with other read operations, the tree must not be
+     * modified while the stream is in use.
+     * @param typeConverter function to convert the generic hyperplane subset type into
+     *      the type specific for this tree
+     * @param parallel if true, the returned stream is parallel; otherwise, it is sequential
+     * @param <C> HyperplaneConvexSubset implementation type
+     * @return a stream of the region boundaries
+     */
+    protected <C extends HyperplaneConvexSubset<P>> Stream<C> createBoundaryStream(
+            final Function<HyperplaneConvexSubset<P>, C> typeConverter, final boolean parallel) {
+
+        return StreamSupport.stream(new RegionBoundarySpliterator<>(getRoot(), typeConverter), parallel);
     }
 
     /** Return a list containing the boundaries of the region. Each boundary is oriented such
@@ -289,12 +340,32 @@ public abstract class AbstractRegionBSPTree<
 
         final List<C> result = new ArrayList<>();
 
-        final RegionBoundaryIterator<P, C, N> it = new RegionBoundaryIterator<>(nodes().iterator(), typeConverter);
+        final RegionBoundaryIterator<P, C, N> it = new RegionBoundaryIterator<>(getRoot(), typeConverter);
         it.forEachRemaining(result::add);
 
         return result;
     }
 
+    /** Internal method for creating a list of the region boundaries, using the given pool to compute
+     * the node cut boundaries of disjoint subtrees concurrently. The returned list contains the same
+     * boundaries in the same order as the list returned by {@link #createBoundaryList(Function)}.
+     * @param typeConverter function to convert the generic convex subset type into
+     *      the type specific for this tree
+     * @param pool pool used to compute the boundaries
+     * @param <C> HyperplaneConvexSubset implementation type
+     * @return a list of the region boundaries
+     * @see #createBoundaryStream(Function, boolean)
+     */
+    protected <C extends HyperplaneConvexSubset<P>> List<C> createBoundaryList(
+            final Function<HyperplaneConvexSubset<P>, C> typeConverter, final ForkJoinPool pool) {
+
+        // the tasks of a parallel stream are forked into the pool of the thread running the
+        // terminal operation, so collect the stream from a task running in the given pool
+        final Stream<C> stream = createBoundaryStream(typeConverter, true);
+
+        return pool.invoke(ForkJoinTask.adapt(() -> stream.collect(Collectors.toList())));
+    }
+
     /** {@inheritDoc} */
     @Override
     public P project(P pt) {
@@ -342,13 +413,77 @@ public abstract class AbstractRegionBSPTree<
         return new Split<>(splitMinus, splitPlus);
     }
 
+    /** Helper method implementing the algorithm for splitting a tree by a list of hyperplanes in a
+     * single operation. Subclasses should call this method with a factory producing empty trees of the
+     * correct type. The splitters must be parallel hyperplanes with the same orientation, each lying on
+     * the plus side of the previous one; this is not checked here and must be validated by subclasses.
+     * The returned list contains {@code splitters.size() + 1} entries. The entry at index {@code i}
+     * contains the slab of the region lying on the plus side of the splitter at index {@code i - 1} and on
+     * the minus side of the splitter at index {@code i}, or null if that portion of the region is empty.
+     * The first and last entries are only bounded by the first and last splitters, respectively.
+     *
+     * <p>The tree is first split by the middle splitter and each side is then split recursively by the
+     * splitters belonging to it. Since the splitters are ordered, the splitters belonging to the other side
+     * do not intersect the portion being split. Each split therefore only processes the portion of the tree
+     * lying on its side of the previous splits instead of the full tree.</p>
+     * @param splitters splitting hyperplanes
+     * @param factory factory producing empty trees used to hold the split results
+     * @param <T> Tree implementation type
+     * @return list containing the portions of this tree between the splitters
+     */
+    protected <T extends AbstractRegionBSPTree<P, N>> List<T> splitAll(final List<? extends Hyperplane<P>> splitters,
+            final Supplier<T> factory) {
+        return splitAll(splitters, factory, null);
+    }
+
+    /** Helper method implementing the algorithm for splitting a tree by a list of hyperplanes in a
+     * single operation, using the given pool to split the independent portions of the tree
+     * concurrently. The result is the same as that produced by {@link #splitAll(List, Supplier)}.
+     * The tree must not be modified while the operation is in progress.
+     * @param splitters splitting hyperplanes
+     * @param factory factory producing empty trees used to hold the split results; this is called from
+     *      multiple threads
+     * @param pool pool used to execute the split tasks; if null, all splits are performed in the
+     *      current thread
+     * @param <T> Tree implementation type
+     * @return list containing the portions of this tree between the splitters
+     * @see #splitAll(List, Supplier)
+     */
+    protected <T extends AbstractRegionBSPTree<P, N>> List<T> splitAll(final List<? extends Hyperplane<P>> splitters,
+            final Supplier<T> factory, final ForkJoinPool pool) {
+        final List<T> results = new ArrayList<>(Collections.nCopies(splitters.size() + 1, null));
+
+        if (splitters.isEmpty()) {
+            if (!isEmpty()) {
+                final T result = factory.get();
+                result.copy(this);
+
+                results.set(0, result);
+            }
+        } else {
+            final SplitAllTask<P, N, T> task = new SplitAllTask<>(this, splitters, factory, results,
+                    0, splitters.size(), pool != null);
+            if (pool != null) {
+                pool.invoke(task);
+            } else {
+                task.compute();
+            }
+        }
+
+        return results;
+    }
+
     /** Get the size-related properties for the region. The value is computed
      * lazily and cached.
      * @return the size-related properties for the region
      */
     protected RegionSizeProperties<P> getRegionSizeProperties() {
         if (regionSizeProperties == null) {
-            regionSizeProperties = computeRegionSizeProperties();
+            updateCache(() -> {
+                if (regionSizeProperties == null) {
+                    regionSizeProperties = computeRegionSizeProperties();
+                }
+            });
         }
 
         return regionSizeProperties;
@@ -370,45 +505,70 @@ public abstract class AbstractRegionBSPTree<
             return RegionLocation.OUTSIDE;
         }
 
-        return classifyRecursive(getRoot(), point);
+        return classify(getRoot(), point);
     }
 
-    /** Recursively classify a point with respect to the region.
-     * @param node the node to classify against
+    /** Classify a point with respect to the region rooted at the given node. When the point lies
+     * on the cut of an internal node, it is classified against both child subtrees and the result
+     * is the common location of the two subtrees or {@link RegionLocation#BOUNDARY} if they differ.
+     * Since leaf nodes are the only source of locations, this is equivalent to finding the locations
+     * of all leaf nodes reached by the point and returning {@link RegionLocation#BOUNDARY} as soon as
+     * two of them differ. The tree is traversed using an explicit stack, which is only allocated when
+     * the point lies on a node cut, so that the maximum depth of the tree is not limited by the size
+     * of the thread stack.
+     * @param start the node to classify against
      * @param point the point to classify
      * @return the classification of the point with respect to the region rooted
      *      at the given node
      */
-    private RegionLocation classifyRecursive(final AbstractRegionNode<P, N> node, final P point) {
-        if (node.isLeaf()) {
-            // the point is in a leaf, so the classification is just the leaf location
-            return node.getLocation();
-        } else {
-            final HyperplaneLocation cutLoc = node.getCutHyperplane().classify(point);
+    private RegionLocation classify(final N start, final P point) {
+        // subtrees waiting to be classified because the point lies on the cut of their parent
+        Deque<N> pending = null;
+
+        RegionLocation result = null;
 
-            if (cutLoc == HyperplaneLocation.MINUS) {
-                return classifyRecursive(node.getMinus(), point);
-            } else if (cutLoc == HyperplaneLocation.PLUS) {
-                return classifyRecursive(node.getPlus(), point);
+        N node = start;
+        while (node != null) {
+            if (node.isLeaf()) {
+                // the point is in a leaf, so the classification is just the leaf location
+                final RegionLocation loc = node.getLocation();
+                if (result == null) {
+                    result = loc;
+                } else if (result != loc) {
+                    return RegionLocation.BOUNDARY;
+                }
+
+                node = (pending != null) ? pending.poll() : null;
             } else {
-                // the point is on the cut boundary; classify against both child
-                // subtrees and see if we end up with the same result or not
-                RegionLocation minusLoc = classifyRecursive(node.getMinus(), point);
-                RegionLocation plusLoc = classifyRecursive(node.getPlus(), point);
+                final HyperplaneLocation cutLoc = node.getCutHyperplane().classify(point);
 
-                if (minusLoc == plusLoc) {
-                    return minusLoc;
+                if (cutLoc == HyperplaneLocation.MINUS) {
+                    node = node.getMinus();
+                } else if (cutLoc == HyperplaneLocation.PLUS) {
+                    node = node.getPlus();
+                } else {
+                    // the point is on the cut boundary; classify against both child
+                    // subtrees, starting with the minus side
+                    if (pending == null) {
+                        pending = new ArrayDeque<>();
+                    }
+                    pending.push(node.getPlus());
+
+                    node = node.getMinus();
                 }
-                return RegionLocation.BOUNDARY;
             }
         }
+
+        return result;
     }
 
     /** Change this region into its complement. All inside nodes become outside
      * nodes and vice versa. The orientations of the node cuts are not modified.
      */
     public void complement() {
-        complementRecursive(getRoot());
+        complementSubtree(getRoot());
+
+        invalidate();
     }
 
     /** Set this instance to be the complement of the given tree. The argument
@@ -417,22 +577,22 @@ public abstract class AbstractRegionBSPTree<
      */
     public void complement(final AbstractRegionBSPTree<P, N> tree) {
         copySubtree(tree.getRoot(), getRoot());
-        complementRecursive(getRoot());
+        complementSubtree(getRoot());
+
+        invalidate();
     }
 
-    /** Recursively switch all inside nodes to outside nodes and vice versa.
+    /** Switch all inside nodes to outside nodes and vice versa in the subtree rooted at the
+     * given node.
      * @param node the node at the root of the subtree to switch
      */
-    private void complementRecursive(final AbstractRegionNode<P, N> node) {
-        if (node != null) {
-            final RegionLocation newLoc = (node.getLocation() == RegionLocation.INSIDE) ?
+    private void complementSubtree(final N node) {
+        for (final N n : node.nodes()) {
+            final RegionLocation newLoc = (n.getLocation() == RegionLocation.INSIDE) ?
                     RegionLocation.OUTSIDE :
                     RegionLocation.INSIDE;
 
-            node.setLocationValue(newLoc);
-
-            complementRecursive(node.getMinus());
-            complementRecursive(node.getPlus());
+            n.setLocationValue(newLoc);
         }
     }
 
@@ -453,6 +613,30 @@ public abstract class AbstractRegionBSPTree<
         new UnionOperator<P, N>().apply(a, b, this);
     }
 
+    /** Compute the union of this instance and the given region, storing the result back in
+     * this instance. The argument is not modified. Independent subtrees are merged concurrently
+     * using the given pool; the resulting tree is identical to that produced by
+     * {@link #union(AbstractRegionBSPTree)}.
+     * @param other the tree to compute the union with
+     * @param pool pool used to execute the merge tasks
+     */
+    public void union(final AbstractRegionBSPTree<P, N> other, final ForkJoinPool pool) {
+        new UnionOperator<P, N>().apply(this, other, this, pool);
+    }
+
+    /** Compute the union of the two regions passed as arguments and store the result in
+     * this instance. Any nodes currently existing in this instance are removed. Independent
+     * subtrees are merged concurrently using the given pool; the resulting tree is identical
+     * to that produced by {@link #union(AbstractRegionBSPTree, AbstractRegionBSPTree)}.
+     * @param a first argument to the union operation
+     * @param b second argument to the union operation
+     * @param pool pool used to execute the merge tasks
+     */
+    public void union(final AbstractRegionBSPTree<P, N> a, final AbstractRegionBSPTree<P, N> b,
+            final ForkJoinPool pool) {
+        new UnionOperator<P, N>().apply(a, b, this, pool);
+    }
+
     /** Compute the intersection of this instance and the given region, storing the result back in
      * this instance. The argument is not modified.
      * @param other the tree to compute the intersection with
@@ -470,6 +654,30 @@ public abstract class AbstractRegionBSPTree<
         new IntersectionOperator<P, N>().apply(a, b, this);
     }
 
+    /** Compute the intersection of this instance and the given region, storing the result back in
+     * this instance. The argument is not modified. Independent subtrees are merged concurrently
+     * using the given pool; the resulting tree is identical to that produced by
+     * {@link #intersection(AbstractRegionBSPTree)}.
+     * @param other the tree to compute the intersection with
+     * @param pool pool used to execute the merge tasks
+     */
+    public void intersection(final AbstractRegionBSPTree<P, N> other, final ForkJoinPool pool) {
+        new IntersectionOperator<P, N>().apply(this, other, this, pool);
+    }
+
+    /** Compute the intersection of the two regions passed as arguments and store the result in
+     * this instance. Any nodes currently existing in this instance are removed. Independent
+     * subtrees are merged concurrently using the given pool; the resulting tree is identical
+     * to that produced by {@link #intersection(AbstractRegionBSPTree, AbstractRegionBSPTree)}.
+     * @param a first argument to the intersection operation
+     * @param b second argument to the intersection operation
+     * @param pool pool used to execute the merge tasks
+     */
+    public void intersection(final AbstractRegionBSPTree<P, N> a, final AbstractRegionBSPTree<P, N> b,
+            final ForkJoinPool pool) {
+        new IntersectionOperator<P, N>().apply(a, b, this, pool);
+    }
+
     /** Compute the difference of this instance and the given region, storing the result back in
      * this instance. The argument is not modified.
      * @param other the tree to compute the difference with
@@ -487,6 +695,30 @@ public abstract class AbstractRegionBSPTree<
         new DifferenceOperator<P, N>().apply(a, b, this);
     }
 
+    /** Compute the difference of this instance and the given region, storing the result back in
+     * this instance. The argument is not modified. Independent subtrees are merged concurrently
+     * using the given pool; the resulting tree is identical to that produced by
+     * {@link #difference(AbstractRegionBSPTree)}.
+     * @param other the tree to compute the difference with
+     * @param pool pool used to execute the merge tasks
+     */
+    public void difference(final AbstractRegionBSPTree<P, N> other, final ForkJoinPool pool) {
+        new DifferenceOperator<P, N>().apply(this, other, this, pool);
+    }
+
+    /** Compute the difference of the two regions passed as arguments and store the result in
+     * this instance. Any nodes currently existing in this instance are removed. Independent
+     * subtrees are merged concurrently using the given pool; the resulting tree is identical
+     * to that produced by {@link #difference(AbstractRegionBSPTree, AbstractRegionBSPTree)}.
+     * @param a first argument to the difference operation
+     * @param b second argument to the difference operation
+     * @param pool pool used to execute the merge tasks
+     */
+    public void difference(final AbstractRegionBSPTree<P, N> a, final AbstractRegionBSPTree<P, N> b,
+            final ForkJoinPool pool) {
+        new DifferenceOperator<P, N>().apply(a, b, this, pool);
+    }
+
     /** Compute the symmetric difference (xor) of this instance and the given region, storing the result back in
      * this instance. The argument is not modified.
      * @param other the tree to compute the symmetric difference with
@@ -504,6 +736,30 @@ public abstract class AbstractRegionBSPTree<
         new XorOperator<P, N>().apply(a, b, this);
     }
 
+    /** Compute the symmetric difference (xor) of this instance and the given region, storing the result back in
+     * this instance. The argument is not modified. Independent subtrees are merged concurrently
+     * using the given pool; the resulting tree is identical to that produced by
+     * {@link #xor(AbstractRegionBSPTree)}.
+     * @param other the tree to compute the symmetric difference with
+     * @param pool pool used to execute the merge tasks
+     */
+    public void xor(final AbstractRegionBSPTree<P, N> other, final ForkJoinPool pool) {
+        new XorOperator<P, N>().apply(this, other, this, pool);
+    }
+
+    /** Compute the symmetric difference (xor) of the two regions passed as arguments and store the result in
+     * this instance. Any nodes currently existing in this instance are removed. Independent
+     * subtrees are merged concurrently using the given pool; the resulting tree is identical
+     * to that produced by {@link #xor(AbstractRegionBSPTree, AbstractRegionBSPTree)}.
+     * @param a first argument to the symmetric difference operation
+     * @param b second argument to the symmetric difference operation
+     * @param pool pool used to execute the merge tasks
+     */
+    public void xor(final AbstractRegionBSPTree<P, N> a, final AbstractRegionBSPTree<P, N> b,
+            final ForkJoinPool pool) {
+        new XorOperator<P, N>().apply(a, b, this, pool);
+    }
+
     /** Condense this tree by removing redundant subtrees, returning true if the
      * tree structure was modified.
      *
@@ -517,7 +773,202 @@ public abstract class AbstractRegionBSPTree<
      * @return true if the tree structure was modified, otherwise false
      */
     public boolean condense() {
-        return new Condenser<P, N>().condense(getRoot());
+        final OperationRecorder started = startOperation(BSPTreeOperation.CONDENSE);
+        try {
+            return new Condenser<P, N>().condense(getRoot());
+        } finally {
+            finishOperation(started);
+        }
+    }
+
+    /** Internal method to rebuild the tree from its current boundaries using the given builder in an
+     * attempt to obtain a structurally smaller tree representing the same region. Trees that have been
+     * the target of many boolean operations often contain long chains of nodes and cuts that no longer
+     * contribute to the region boundary, neither of which are removed by {@link #condense()}. The
+     * boundaries of the region are inserted into {@code builder} and the tree it produces replaces the
+     * content of this tree if it contains fewer nodes or, with an equal node count, has a smaller height.
+     * Otherwise, this tree is left unchanged. Full and empty trees are reduced to a single node.
+     *
+     * <p>The builder must be newly created and not contain any boundaries.</p>
+     * @param builder builder used to construct the candidate tree
+     * @return object describing the tree structure before and after the operation
+     */
+    protected OptimizationResult optimizeInternal(final AbstractBalancedRegionBuilder<P, N> builder) {
+        final int countBefore = count();
+        final int heightBefore = height();
+
+        if (isFull()) {
+            setFull();
+        } else if (isEmpty()) {
+            setEmpty();
+        } else {
+            for (final HyperplaneConvexSubset<P> boundary : boundaries()) {
+                builder.insertBoundaryInternal(boundary);
+            }
+
+            final AbstractRegionBSPTree<P, N> rebuilt = builder.buildInternal();
+
+            final int rebuiltCount = rebuilt.count();
+            if (rebuiltCount < countBefore ||
+                    (rebuiltCount == countBefore && rebuilt.height() < heightBefore)) {
+                copy(rebuilt);
+            }
+        }
+
+        return new OptimizationResult(countBefore, heightBefore, count(), height());
+    }
+
+    /** Internal method to write the tree in a compact binary format containing the tree topology,
+     * node cuts and node locations. Since the node cuts are stored directly, the tree can be read back
+     * with {@link #readInternal(DataInput, int, CutReader)} without inserting or splitting any hyperplanes.
+     *
+     * <p>The format consists of a header and a sequence of node records. The header contains the
+     * characters "BSPT" in ASCII, the format version as a byte, the {@code treeType} value as a byte
+     * and the number of nodes in the tree as an int. The node records follow in the order of
+     * {@link #nodes()}. Each record starts with a flags byte giving the node location and whether
+     * the node is internal; the node cut, as written by {@code cutWriter}, follows for internal nodes.
+     * All values are written with the big-endian layout of {@link DataOutput}, so that data written to a
+     * file can be memory-mapped and passed to {@link #readInternal(ByteBuffer, int, CutReader)}.</p>
+     * @param out output to write to
+     * @param treeType value identifying the tree type; this is checked when reading the data
+     * @param cutWriter object used to write the node cuts
+     * @throws UncheckedIOException if an I/O error occurs
+     */
+    protected void writeInternal(final DataOutput out, final int treeType, final CutWriter<P> cutWriter) {
+        try {
+            out.writeInt(BINARY_FORMAT_MAGIC);
+            out.writeByte(BINARY_FORMAT_VERSION);
+            out.writeByte(treeType);
+            out.writeInt(count());
+
+            for (final N node : nodes()) {
+                final boolean internal = node.isInternal();
+
+                out.writeByte(getNodeFlags(node.getLocation(), internal));
+                if (internal) {
+                    cutWriter.write(node.getCut(), out);
+                }
+            }
+        } catch (IOException exc) {
+            throw new UncheckedIOException(exc);
+        }
+    }
+
+    /** Internal method to replace the content of this tree with a tree read from the given input in the
+     * format written by {@link #writeInternal(DataOutput, int, CutWriter)}. The node cuts are created
+     * directly by {@code cutReader}; no hyperplanes are inserted or split. The nodes are read into a
+     * detached subtree that only replaces the content of this tree once the complete tree has been read
+     * and validated, so this tree is left unchanged if an exception is thrown.
+     * @param in input to read from
+     * @param treeType expected value identifying the tree type
+     * @param cutReader object used to read the node cuts
+     * @throws IllegalArgumentException if the input does not contain a tree in the expected format
+     * @throws UncheckedIOException if an I/O error occurs
+     */
+    protected void readInternal(final DataInput in, final int treeType, final CutReader<P> cutReader) {
+        try {
+            final int magic = in.readInt();
+            final int version = in.readUnsignedByte();
+            final int type = in.readUnsignedByte();
+
+            if (magic != BINARY_FORMAT_MAGIC || version != BINARY_FORMAT_VERSION) {
+                throw new IllegalArgumentException("Input does not contain a binary BSP tree in a supported format");
+            }
+            if (type != treeType) {
+                throw new IllegalArgumentException("Unexpected tree type in input: expected " + treeType +
+                        " but was " + type);
+            }
+
+            final int expectedCount = in.readInt();
+
+            // read into a detached root so that this tree is left unchanged if the input is invalid
+            final N newRoot = createNode();
+
+            final Deque<N> stack = new ArrayDeque<>();
+            stack.push(newRoot);
+
+            int nodeCount = 0;
+            N node;
+            while (!stack.isEmpty()) {
+                node = stack.pop();
+
+                if (++nodeCount > expectedCount) {
+                    throw new IllegalArgumentException("Input contains more than the expected " +
+                            expectedCount + " nodes");
+                }
+
+                final int flags = in.readUnsignedByte();
+                node.setLocationValue(getNodeLocation(flags));
+
+                if ((flags & NODE_INTERNAL_FLAG) != 0) {
+                    final N minus = createNode();
+                    final N plus = createNode();
+
+                    node.setSubtree(cutReader.read(in), minus, plus);
+
+                    stack.push(plus);
+                    stack.push(minus);
+                } else {
+                    node.setSubtree(null, null, null);
+                }
+            }
+
+            if (nodeCount != expectedCount) {
+                throw new IllegalArgumentException("Input contains " + nodeCount + " nodes but " +
+                        expectedCount + " were expected");
+            }
+
+            setRoot(newRoot);
+        } catch (IOException exc) {
+            throw new UncheckedIOException(exc);
+        }
+    }
+
+    /** Internal method to replace the content of this tree with a tree read from the given buffer, which
+     * may be a memory-mapped file. The data is read starting at the current position of the buffer and the
+     * position is advanced to the end of the tree data.
+     * @param buffer buffer to read from
+     * @param treeType expected value identifying the tree type
+     * @param cutReader object used to read the node cuts
+     * @throws IllegalArgumentException if the buffer does not contain a tree in the expected format
+     * @throws UncheckedIOException if the end of the buffer is reached before the end of the tree data
+     * @see #readInternal(DataInput, int, CutReader)
+     */
+    protected void readInternal(final ByteBuffer buffer, final int treeType, final CutReader<P> cutReader) {
+        readInternal(new DataInputStream(new ByteBufferInputStream(buffer)), treeType, cutReader);
+    }
+
+    /** Get the binary format flags for a node.
+     * @param location node location
+     * @param internal true if the node is internal
+     * @return the binary format flags for the node
+     */
+    private static int getNodeFlags(final RegionLocation location, final boolean internal) {
+        int flags = internal ? NODE_INTERNAL_FLAG : 0;
+        if (location == RegionLocation.INSIDE) {
+            flags |= NODE_INSIDE_FLAG;
+        } else if (location == RegionLocation.OUTSIDE) {
+            flags |= NODE_OUTSIDE_FLAG;
+        }
+        return flags;
+    }
+
+    /** Get the node location from a set of binary format node flags.
+     * @param flags binary format node flags
+     * @return the node location
+     * @throws IllegalArgumentException if the flags are not valid
+     */
+    private static RegionLocation getNodeLocation(final int flags) {
+        switch (flags & ~NODE_INTERNAL_FLAG) {
+        case 0:
+            return null;
+        case NODE_INSIDE_FLAG:
+            return RegionLocation.INSIDE;
+        case NODE_OUTSIDE_FLAG:
+            return RegionLocation.OUTSIDE;
+        default:
+            throw new IllegalArgumentException("Invalid node flags in input: " + flags);
+        }
     }
 
     /** {@inheritDoc} */
@@ -532,7 +983,6 @@ public abstract class AbstractRegionBSPTree<
         super.invalidate();
 
         // clear cached region properties
-        boundarySize = UNKNOWN_SIZE;
         regionSizeProperties = null;
     }
 
@@ -548,7 +998,17 @@ public abstract class AbstractRegionBSPTree<
         /** Object representing the part of the node cut hyperplane subset that lies on the
          * region boundary. This is calculated lazily and is only present on internal nodes.
          */
-        private RegionCutBoundary<P> cutBoundary;
+        private volatile RegionCutBoundary<P> cutBoundary;
+
+        /** The total size of the cut boundaries in the subtree rooted at this node. This is
+         * calculated lazily and is NaN when not yet computed.
+         */
+        private volatile double subtreeBoundarySize = Double.NaN;
+
+        /** Flags indicating the locations assigned to nodes in the subtree rooted at this node. This is
+         * calculated lazily and is -1 when not yet computed.
+         */
+        private volatile int subtreeLocationFlags = UNKNOWN_LOCATION_FLAGS;
 
         /** Simple constructor.
          * @param tree owning tree instance
@@ -590,7 +1050,7 @@ public abstract class AbstractRegionBSPTree<
                 throw new IllegalArgumentException("Invalid node location: " + location);
             }
             if (this.location != location) {
-                this.location = location;
+                setLocationValue(location);
 
                 getTree().invalidate();
             }
@@ -675,22 +1135,56 @@ public abstract class AbstractRegionBSPTree<
             return getSelf();
         }
 
-        /** Get the portion of the node's cut that lies on the boundary of the region.
+        /** Get the portion of the node's cut that lies on the boundary of the region. The value is
+         * computed lazily and cached on the node unless the tree is in
+         * {@link AbstractBSPTree#setCompactMode(boolean) compact mode}, in which case it is
+         * recomputed on each call.
          * @return the portion of the node's cut that lies on the boundary of
          *      the region
          */
         public RegionCutBoundary<P> getCutBoundary() {
             if (!isLeaf()) {
-                checkValid();
-
-                if (cutBoundary == null) {
-                    cutBoundary = computeBoundary();
+                if (cutBoundary == null && getTree().isCompactMode()) {
+                    return computeBoundary();
+                } else if (cutBoundary == null) {
+                    getTree().updateCache(() -> {
+                        if (cutBoundary == null) {
+                            cutBoundary = computeBoundary();
+                        }
+                    });
                 }
             }
 
             return cutBoundary;
         }
 
+        /** Get the portion of the node's cut that lies on the boundary of the region for a traversal
+         * that may read other subtrees of the tree concurrently. In contrast to {@link #getCutBoundary()},
+         * a missing value is computed without holding the cache lock of the tree so that the boundaries
+         * of different nodes can be computed at the same time; only storing the computed value is done
+         * while holding the lock. Nothing is stored if the tree is in compact mode. This method must only
+         * be called on internal nodes.
+         * @return the portion of the node's cut that lies on the boundary of the region
+         */
+        RegionCutBoundary<P> getCutBoundaryConcurrent() {
+            RegionCutBoundary<P> result = cutBoundary;
+            if (result == null) {
+                final RegionCutBoundary<P> computed = computeBoundary();
+                if (getTree().isCompactMode()) {
+                    return computed;
+                }
+
+                getTree().updateCacheLocked(() -> {
+                    if (cutBoundary == null) {
+                        cutBoundary = computed;
+                    }
+                });
+                result = cutBoundary;
+            }
+
+            return result;
+        }
+
         /** Compute the portion of the node's cut that lies on the boundary of the region.
          * This method must only be called on internal nodes.
          * @return object representing the portions of the node's cut that lie on the region's boundary
@@ -786,20 +1280,27 @@ public abstract class AbstractRegionBSPTree<
 
         /** {@inheritDoc} */
         @Override
-        protected void nodeInvalidated() {
-            super.nodeInvalidated();
+        protected void subtreeInvalidated() {
+            super.subtreeInvalidated();
 
-            // null any computed boundary value since it is no longer valid
+            // these values depend only on the subtree rooted at this node
             cutBoundary = null;
+            subtreeBoundarySize = Double.NaN;
+            subtreeLocationFlags = UNKNOWN_LOCATION_FLAGS;
         }
 
         /** Directly set the value of the location property for the node. No input validation
-         * is performed and the tree is not invalidated.
+         * is performed and the tree is not invalidated. If the location is changed, the subtree
+         * rooted at this node is marked as modified.
          * @param locationValue the new location value for the node
          * @see #setLocation(RegionLocation)
          */
         protected void setLocationValue(final RegionLocation locationValue) {
-            this.location = locationValue;
+            if (this.location != locationValue) {
+                this.location = locationValue;
+
+                subtreeModified();
+            }
         }
     }
 
@@ -831,16 +1332,19 @@ public abstract class AbstractRegionBSPTree<
                 final RegionCutBoundary<P> boundary = node.getCutBoundary();
                 final P boundaryPt = boundary.closest(point);
 
-                final double dist = boundaryPt.distance(point);
-                final int cmp = Double.compare(dist, minDist);
-
-                if (minDist < 0.0 || cmp < 0) {
-                    projected = boundaryPt;
-                    minDist = dist;
-                } else if (cmp == 0) {
-                    // the two points are the _exact_ same distance from the reference point, so use
-                    // a separate method to disambiguate them
-                    projected = disambiguateClosestPoint(point, projected, boundaryPt);
+                // the cut boundary is empty if both sides of the cut have the same location
+                if (boundaryPt != null) {
+                    final double dist = boundaryPt.distance(point);
+                    final int cmp = Double.compare(dist, minDist);
+
+                    if (minDist < 0.0 || cmp < 0) {
+                        projected = boundaryPt;
+                        minDist = dist;
+                    } else if (cmp == 0) {
+                        // the two points are the _exact_ same distance from the reference point, so use
+                        // a separate method to disambiguate them
+                        projected = disambiguateClosestPoint(point, projected, boundaryPt);
+                    }
                 }
             }
 
@@ -917,6 +1421,232 @@ public abstract class AbstractRegionBSPTree<
         }
     }
 
+    /** Interface for writing node cuts in the binary tree format.
+     * @param <P> Point implementation type
+     * @see #writeInternal(DataOutput, int, CutWriter)
+     */
+    @FunctionalInterface
+    protected interface CutWriter<P extends Point<P>> {
+        /** Write the given node cut to the output.
+         * @param cut node cut to write
+         * @param out output to write to
+         * @throws IOException if an I/O error occurs
+         */
+        void write(HyperplaneConvexSubset<P> cut, DataOutput out) throws IOException;
+    }
+
+    /** Interface for reading node cuts in the binary tree format.
+     * @param <P> Point implementation type
+     * @see #readInternal(DataInput, int, CutReader)
+     */
+    @FunctionalInterface
+    protected interface CutReader<P extends Point<P>> {
+        /** Read a node cut from the input.
+         * @param in input to read from
+         * @return the node cut
+         * @throws IOException if an I/O error occurs
+         */
+        HyperplaneConvexSubset<P> read(DataInput in) throws IOException;
+    }
+
+    /** Input stream reading from a {@link ByteBuffer}.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        /** Buffer to read from. */
+        private final ByteBuffer buffer;
+
+        /** Construct a new instance reading from the given buffer.
+         * @param buffer buffer to read from
+         */
+        ByteBufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ?
+                    buffer.get() & 0xff :
+                    -1;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int read(final byte[] bytes, final int off, final int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+
+            final int n = Math.min(len, buffer.remaining());
+            buffer.get(bytes, off, n);
+
+            return n;
+        }
+    }
+
+    /** Class describing the structure of a region tree before and after an optimization operation.
+     * @see #optimizeInternal(AbstractBalancedRegionBuilder)
+     */
+    public static final class OptimizationResult {
+        /** Node count before the operation. */
+        private final int countBefore;
+
+        /** Tree height before the operation. */
+        private final int heightBefore;
+
+        /** Node count after the operation. */
+        private final int countAfter;
+
+        /** Tree height after the operation. */
+        private final int heightAfter;
+
+        /** Simple constructor.
+         * @param countBefore node count before the operation
+         * @param heightBefore tree height before the operation
+         * @param countAfter node count after the operation
+         * @param heightAfter tree height after the operation
+         */
+        OptimizationResult(final int countBefore, final int heightBefore,
+                final int countAfter, final int heightAfter) {
+            this.countBefore = countBefore;
+            this.heightBefore = heightBefore;
+            this.countAfter = countAfter;
+            this.heightAfter = heightAfter;
+        }
+
+        /** Get the number of nodes in the tree before the operation.
+         * @return the number of nodes in the tree before the operation
+         */
+        public int getCountBefore() {
+            return countBefore;
+        }
+
+        /** Get the height of the tree before the operation.
+         * @return the height of the tree before the operation
+         */
+        public int getHeightBefore() {
+            return heightBefore;
+        }
+
+        /** Get the number of nodes in the tree after the operation.
+         * @return the number of nodes in the tree after the operation
+         */
+        public int getCountAfter() {
+            return countAfter;
+        }
+
+        /** Get the height of the tree after the operation.
+         * @return the height of the tree after the operation
+         */
+        public int getHeightAfter() {
+            return heightAfter;
+        }
+
+        /** Return true if the tree structure was changed by the operation.
+         * @return true if the tree structure was changed by the operation
+         */
+        public boolean isModified() {
+            return countAfter != countBefore || heightAfter != heightBefore;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString() {
+            return new StringBuilder()
+                    .append(getClass().getSimpleName())
+                    .append("[countBefore= ")
+                    .append(countBefore)
+                    .append(", heightBefore= ")
+                    .append(heightBefore)
+                    .append(", countAfter= ")
+                    .append(countAfter)
+                    .append(", heightAfter= ")
+                    .append(heightAfter)
+                    .append(']')
+                    .toString();
+        }
+    }
+
+    /** Subtree property containing the total size of the node cut boundaries in a subtree.
+     * @param <P> Point implementation type
+     * @param <N> BSP tree node implementation type
+     */
+    private static final class BoundarySizeProperty<P extends Point<P>, N extends AbstractRegionNode<P, N>>
+        implements SubtreeProperty<N, Double> {
+
+        /** {@inheritDoc} */
+        @Override
+        public Double getStoredValue(final N node) {
+            // cast for access to private member
+            final AbstractRegionNode<P, N> regionNode = node;
+            final double value = regionNode.subtreeBoundarySize;
+            return Double.isNaN(value) ?
+                    null :
+                    value;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void storeValue(final N node, final Double value) {
+            // cast for access to private member
+            final AbstractRegionNode<P, N> regionNode = node;
+            regionNode.subtreeBoundarySize = value;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Double computeValue(final N node, final Double minusValue, final Double plusValue) {
+            if (node.isLeaf()) {
+                return 0.0;
+            }
+
+            return node.getCutBoundary().getSize() + minusValue + plusValue;
+        }
+    }
+
+    /** Subtree property containing flags indicating the locations assigned to the nodes in a subtree.
+     * Both leaf and internal node locations are included.
+     * @param <P> Point implementation type
+     * @param <N> BSP tree node implementation type
+     */
+    private static final class LocationFlagsProperty<P extends Point<P>, N extends AbstractRegionNode<P, N>>
+        implements SubtreeProperty<N, Integer> {
+
+        /** {@inheritDoc} */
+        @Override
+        public Integer getStoredValue(final N node) {
+            // cast for access to private member
+            final AbstractRegionNode<P, N> regionNode = node;
+            final int value = regionNode.subtreeLocationFlags;
+            return value == UNKNOWN_LOCATION_FLAGS ?
+                    null :
+                    value;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void storeValue(final N node, final Integer value) {
+            // cast for access to private member
+            final AbstractRegionNode<P, N> regionNode = node;
+            regionNode.subtreeLocationFlags = value;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Integer computeValue(final N node, final Integer minusValue, final Integer plusValue) {
+            int flags = getLocationFlag(node.getLocation());
+            if (node.isInternal()) {
+                flags |= minusValue | plusValue;
+            }
+
+            return flags;
+        }
+    }
+
     /** Class containing the basic algorithm for merging region BSP trees.
      * @param <P> Point implementation type
      * @param <N> BSP tree node implementation type
@@ -924,6 +1654,16 @@ public abstract class AbstractRegionBSPTree<
     private abstract static class RegionMergeOperator<P extends Point<P>, N extends AbstractRegionNode<P, N>>
         extends AbstractBSPTreeMergeOperator<P, N> {
 
+        /** The operation reported to tree listeners. */
+        private final BSPTreeOperation operation;
+
+        /** Construct a new instance.
+         * @param operation the operation reported to tree listeners
+         */
+        RegionMergeOperator(final BSPTreeOperation operation) {
+            this.operation = operation;
+        }
+
         /** Merge two input trees, storing the output in the third. The output tree can be one of the
          * input trees. The output tree is condensed before the method returns.
          * @param inputTree1 first input tree
@@ -934,9 +1674,52 @@ public abstract class AbstractRegionBSPTree<
         public void apply(final AbstractRegionBSPTree<P, N> inputTree1, final AbstractRegionBSPTree<P, N> inputTree2,
                 final AbstractRegionBSPTree<P, N> outputTree) {
 
-            this.performMerge(inputTree1, inputTree2, outputTree);
+            final OperationRecorder started = outputTree.startOperation(operation);
+            try {
+                this.performMerge(inputTree1, inputTree2, outputTree);
+
+                outputTree.condense();
+            } finally {
+                outputTree.finishOperation(started);
+            }
+        }
+
+        /** Merge two input trees, storing the output in the third and using the given pool to
+         * merge independent subtrees concurrently. The output tree can be one of the
+         * input trees. The output tree is condensed before the method returns.
+         * @param inputTree1 first input tree
+         * @param inputTree2 second input tree
+         * @param outputTree the tree that will contain the result of the merge; may be one
+         *      of the input trees
+         * @param pool pool used to execute the merge tasks
+         */
+        public void apply(final AbstractRegionBSPTree<P, N> inputTree1, final AbstractRegionBSPTree<P, N> inputTree2,
+                final AbstractRegionBSPTree<P, N> outputTree, final ForkJoinPool pool) {
+
+            final OperationRecorder started = outputTree.startOperation(operation);
+            try {
+                this.performMerge(inputTree1, inputTree2, outputTree, pool);
+
+                outputTree.condense();
+            } finally {
+                outputTree.finishOperation(started);
+            }
+        }
+
+        /** Place the subtree rooted at the given input node into the output tree and switch all
+         * of its inside nodes to outside nodes and vice versa. The subtree is detached from its
+         * parent before it is modified so that the change is not propagated to ancestor nodes,
+         * which may be shared with other tasks during parallel merge operations.
+         * @param node the root of the subtree to complement
+         * @return the complemented subtree in the output tree
+         */
+        protected N outputComplementedSubtree(final N node) {
+            final N output = outputSubtree(node);
+            output.makeRoot();
+
+            output.getTree().complementSubtree(output);
 
-            outputTree.condense();
+            return output;
         }
     }
 
@@ -947,6 +1730,11 @@ public abstract class AbstractRegionBSPTree<
     private static final class UnionOperator<P extends Point<P>, N extends AbstractRegionNode<P, N>>
         extends RegionMergeOperator<P, N> {
 
+        /** Simple constructor. */
+        UnionOperator() {
+            super(BSPTreeOperation.UNION);
+        }
+
         /** {@inheritDoc} */
         @Override
         protected N mergeLeaf(final N node1, final N node2) {
@@ -966,6 +1754,11 @@ public abstract class AbstractRegionBSPTree<
     private static final class IntersectionOperator<P extends Point<P>, N extends AbstractRegionNode<P, N>>
         extends RegionMergeOperator<P, N> {
 
+        /** Simple constructor. */
+        IntersectionOperator() {
+            super(BSPTreeOperation.INTERSECTION);
+        }
+
         /** {@inheritDoc} */
         @Override
         protected N mergeLeaf(final N node1, final N node2) {
@@ -985,6 +1778,11 @@ public abstract class AbstractRegionBSPTree<
     private static final class DifferenceOperator<P extends Point<P>, N extends AbstractRegionNode<P, N>>
         extends RegionMergeOperator<P, N> {
 
+        /** Simple constructor. */
+        DifferenceOperator() {
+            super(BSPTreeOperation.DIFFERENCE);
+        }
+
         /** {@inheritDoc} */
         @Override
         protected N mergeLeaf(final N node1, final N node2) {
@@ -993,10 +1791,7 @@ public abstract class AbstractRegionBSPTree<
             if (node1.isInside()) {
                 // this region is inside of tree1, so only include subregions that are
                 // not in tree2, ie include everything in node2's complement
-                final N output = outputSubtree(node2);
-                output.getTree().complementRecursive(output);
-
-                return output;
+                return outputComplementedSubtree(node2);
             } else if (node2.isInside()) {
                 // this region is inside of tree2 and so cannot be in the result region
                 final N output = outputNode();
@@ -1017,6 +1812,11 @@ public abstract class AbstractRegionBSPTree<
     private static final class XorOperator<P extends Point<P>, N extends AbstractRegionNode<P, N>>
         extends RegionMergeOperator<P, N> {
 
+        /** Simple constructor. */
+        XorOperator() {
+            super(BSPTreeOperation.XOR);
+        }
+
         /** {@inheritDoc} */
         @Override
         protected N mergeLeaf(final N node1, final N node2) {
@@ -1027,10 +1827,7 @@ public abstract class AbstractRegionBSPTree<
                 if (node1.isInside()) {
                     // this region is inside node1, so only include subregions that are
                     // not in node2, ie include everything in node2's complement
-                    final N output = outputSubtree(node2);
-                    output.getTree().complementRecursive(output);
-
-                    return output;
+                    return outputComplementedSubtree(node2);
                 } else {
                     // this region is not in node1, so only include subregions that
                     // in node2
@@ -1044,11 +1841,13 @@ public abstract class AbstractRegionBSPTree<
         }
     }
 
-    /** Internal class used to perform tree condense operations.
+    /** Internal class used to perform tree condense operations. Nodes are visited in post-order
+     * so that each internal node is examined after its child subtrees have been condensed.
      * @param <P> Point implementation type
      * @param <N> BSP tree node implementation type
      */
-    private static final class Condenser<P extends Point<P>, N extends AbstractRegionNode<P, N>> {
+    private static final class Condenser<P extends Point<P>, N extends AbstractRegionNode<P, N>>
+        implements BSPTreeVisitor<P, N> {
         /** Flag set to true if the tree was modified during the operation. */
         private boolean modifiedTree;
 
@@ -1060,77 +1859,126 @@ public abstract class AbstractRegionBSPTree<
         boolean condense(final N node) {
             modifiedTree = false;
 
-            condenseRecursive(node);
+            node.accept(this);
 
             return modifiedTree;
         }
 
-        /** Recursively condense nodes that have children with homogenous location attributes
-         * (eg, both inside, both outside) into single nodes.
-         * @param node the root of the subtree to condense
-         * @return the location of the successfully condensed subtree or null if no condensing was
-         *      able to be performed
-         */
-        private RegionLocation condenseRecursive(final N node) {
-            if (node.isLeaf()) {
-                return node.getLocation();
-            }
+        /** {@inheritDoc} */
+        @Override
+        public Order visitOrder(final N node) {
+            return Order.MINUS_PLUS_NODE;
+        }
 
-            final RegionLocation minusLocation = condenseRecursive(node.getMinus());
-            final RegionLocation plusLocation = condenseRecursive(node.getPlus());
+        /** {@inheritDoc}
+         *
+         * <p>Internal nodes whose children have been condensed into leaves with homogenous
+         * location attributes (eg, both inside, both outside) are condensed into single nodes.</p>
+         */
+        @Override
+        public Result visit(final N node) {
+            if (node.isInternal()) {
+                final N minus = node.getMinus();
+                final N plus = node.getPlus();
 
-            if (minusLocation != null && plusLocation != null && minusLocation == plusLocation) {
-                node.setLocationValue(minusLocation);
-                node.clearCut();
+                if (minus.isLeaf() && plus.isLeaf() && minus.getLocation() == plus.getLocation()) {
+                    node.setLocationValue(minus.getLocation());
+                    node.clearCut();
 
-                modifiedTree = true;
+                    node.getTree().recordNodeCondensed();
 
-                return minusLocation;
+                    modifiedTree = true;
+                }
             }
 
-            return null;
+            return Result.CONTINUE;
         }
     }
 
-    /** Class that iterates over the boundary hyperplane convex subsets from a set of region nodes.
+    /** Task used to split a portion of a region tree by a range of splitters.
      * @param <P> Point implementation type
-     * @param <C> Boundary hyperplane convex subset implementation type
      * @param <N> BSP tree node implementation type
+     * @param <T> Tree implementation type
      */
-    private static final class RegionBoundaryIterator<
+    private static final class SplitAllTask<
             P extends Point<P>,
-            C extends HyperplaneConvexSubset<P>,
-            N extends AbstractRegionNode<P, N>>
-        extends IteratorTransform<N, C> {
+            N extends AbstractRegionNode<P, N>,
+            T extends AbstractRegionBSPTree<P, N>>
+        extends RecursiveAction {
 
-        /** Function that converts from the convex subset type to the output type. */
-        private final Function<HyperplaneConvexSubset<P>, C> typeConverter;
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20201015L;
 
-        /** Simple constructor.
-         * @param inputIterator iterator that will provide all nodes in the tree
-         * @param typeConverter function that converts from the convex subset type to the output type
-         */
-        RegionBoundaryIterator(final Iterator<N> inputIterator,
-                final Function<HyperplaneConvexSubset<P>, C> typeConverter) {
-            super(inputIterator);
+        /** Tree containing the portion of the region to split; may be null if the portion is empty. */
+        private final transient AbstractRegionBSPTree<P, N> tree;
+
+        /** List of all splitters. */
+        private final transient List<? extends Hyperplane<P>> splitters;
 
-            this.typeConverter = typeConverter;
+        /** Factory producing empty trees. */
+        private final transient Supplier<T> factory;
+
+        /** List receiving the split results. */
+        private final transient List<T> results;
+
+        /** Index of the first splitter to apply, inclusive. */
+        private final int start;
+
+        /** Index of the last splitter to apply, exclusive. */
+        private final int end;
+
+        /** If true, the sides of each split are processed as separate tasks. */
+        private final boolean parallel;
+
+        /** Construct a new task for splitting the given tree by a range of splitters. The results are
+         * stored in {@code results} at the indices {@code start} to {@code end}, inclusive.
+         * @param tree tree containing the portion of the region to split; may be null
+         * @param splitters list of all splitters
+         * @param factory factory producing empty trees
+         * @param results list receiving the split results
+         * @param start index of the first splitter to apply, inclusive
+         * @param end index of the last splitter to apply, exclusive
+         * @param parallel if true, the sides of each split are processed as separate tasks
+         */
+        SplitAllTask(final AbstractRegionBSPTree<P, N> tree, final List<? extends Hyperplane<P>> splitters,
+                final Supplier<T> factory, final List<T> results, final int start, final int end,
+                final boolean parallel) {
+            this.tree = tree;
+            this.splitters = splitters;
+            this.factory = factory;
+            this.results = results;
+            this.start = start;
+            this.end = end;
+            this.parallel = parallel;
         }
 
         /** {@inheritDoc} */
         @Override
-        protected void acceptInput(final N input) {
-            if (input.isInternal()) {
-                final RegionCutBoundary<P> cutBoundary = input.getCutBoundary();
+        @SuppressWarnings("unchecked")
+        protected void compute() {
+            if (tree == null) {
+                // empty portion; the result entries are already null
+                return;
+            }
 
-                for (final HyperplaneConvexSubset<P> boundary : cutBoundary.getOutsideFacing()) {
-                    addOutput(typeConverter.apply(boundary));
-                }
+            if (start == end) {
+                // the top-level task always has at least one splitter, so the tree
+                // here is one of the split results
+                results.set(start, (T) tree);
+            } else {
+                final int mid = (start + end) >>> 1;
+                final Split<T> split = tree.split(splitters.get(mid), factory.get(), factory.get());
 
-                for (final HyperplaneConvexSubset<P> boundary : cutBoundary.getInsideFacing()) {
-                    HyperplaneConvexSubset<P> reversed = boundary.reverse();
+                final SplitAllTask<P, N, T> minusTask =
+                        new SplitAllTask<>(split.getMinus(), splitters, factory, results, start, mid, parallel);
+                final SplitAllTask<P, N, T> plusTask =
+                        new SplitAllTask<>(split.getPlus(), splitters, factory, results, mid + 1, end, parallel);
 
-                    addOutput(typeConverter.apply(reversed));
+                if (parallel) {
+                    invokeAll(minusTask, plusTask);
+                } else {
+                    minusTask.compute();
+                    plusTask.compute();
                 }
             }
         }
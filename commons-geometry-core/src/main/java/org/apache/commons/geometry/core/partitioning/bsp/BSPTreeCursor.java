@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.apache.commons.geometry.core.Point;
+import org.apache.commons.geometry.core.partitioning.bsp.BSPTree.Node;
+
+/** Cursor for walking the nodes of a BSP subtree in depth-first order without allocating
+ * any objects per visited node. Nodes are returned in the same order as
+ * {@link BSPSubtree#nodes()}: each node is followed by the nodes in its minus subtree and
+ * then by the nodes in its plus subtree. Instead of maintaining a stack of pending nodes,
+ * the cursor moves through the tree using the parent references of the nodes, so a single
+ * instance can be {@link #reset(Node) reset} and reused for any number of walks.
+ *
+ * <p>The tree structure must not be modified while a walk is in progress.</p>
+ *
+ * <p>Instances of this class are not thread-safe.</p>
+ * @param <P> Point implementation type
+ * @param <N> Node implementation type
+ */
+public final class BSPTreeCursor<P extends Point<P>, N extends Node<P, N>> implements Iterator<N> {
+
+    /** The root of the subtree being walked. */
+    private N subtreeRoot;
+
+    /** The node most recently returned by {@link #next()}. */
+    private N current;
+
+    /** The next node to be returned; null if the walk is complete. */
+    private N nextNode;
+
+    /** Construct a new cursor with no nodes to walk. {@link #reset(Node)} must be called
+     * before the instance can be used to walk a tree.
+     */
+    public BSPTreeCursor() {
+        // nothing to walk
+    }
+
+    /** Construct a new cursor that walks the subtree rooted at the given node.
+     * @param subtreeRoot the root of the subtree to walk; may be null
+     */
+    public BSPTreeCursor(final N subtreeRoot) {
+        reset(subtreeRoot);
+    }
+
+    /** Reset the cursor to walk the subtree rooted at the given node. Any walk in progress is
+     * abandoned. If {@code newRoot} is null, the cursor contains no nodes.
+     * @param newRoot the root of the subtree to walk; may be null
+     * @return this instance
+     */
+    public BSPTreeCursor<P, N> reset(final N newRoot) {
+        this.subtreeRoot = newRoot;
+        this.current = null;
+        this.nextNode = newRoot;
+
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean hasNext() {
+        return nextNode != null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public N next() {
+        if (nextNode == null) {
+            throw new NoSuchElementException();
+        }
+
+        current = nextNode;
+        nextNode = current.isLeaf() ?
+                nextAfterSubtree(current) :
+                current.getMinus();
+
+        return current;
+    }
+
+    /** Skip the descendants of the node most recently returned by {@link #next()} so that
+     * the walk continues with the next node outside of its subtree. This method does nothing
+     * if {@link #next()} has not been called since the last reset or if the node is a leaf.
+     */
+    public void skipSubtree() {
+        if (current != null) {
+            nextNode = nextAfterSubtree(current);
+        }
+    }
+
+    /** Get the node that follows the subtree rooted at {@code node} in the walk order. This
+     * is the plus child of the closest ancestor (including {@code node} itself) that is a minus
+     * child, as long as that ancestor lies within the subtree being walked.
+     * @param node node to find the successor of
+     * @return the node following the subtree rooted at {@code node} or null if no such node exists
+     */
+    private N nextAfterSubtree(final N node) {
+        N n = node;
+        N parent;
+        while (n != subtreeRoot) {
+            parent = n.getParent();
+            if (n == parent.getMinus()) {
+                return parent.getPlus();
+            }
+            n = parent;
+        }
+
+        return null;
+    }
+}
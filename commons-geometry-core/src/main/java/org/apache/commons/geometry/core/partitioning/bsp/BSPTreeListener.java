@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+/** Interface for objects notified of the operations performed on a BSP tree. Listeners are
+ * installed with {@link AbstractBSPTree#setListener(BSPTreeListener)}. When no listener is installed,
+ * trees do not record any metrics.
+ *
+ * <p>A single notification is sent for each top-level operation. Operations performed as part of
+ * another operation, such as the {@link BSPTreeOperation#CONDENSE condense} step at the end of a boolean
+ * operation or the individual insertions of a bulk insert, are included in the metrics of the enclosing
+ * operation. Listeners are called in the thread that started the operation after the operation has
+ * completed.</p>
+ * @see BSPTreeOperationMetrics
+ */
+@FunctionalInterface
+public interface BSPTreeListener {
+
+    /** Method called when an operation on a tree has completed.
+     * @param metrics metrics recorded during the operation
+     */
+    void operationCompleted(BSPTreeOperationMetrics metrics);
+}
@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+/** Enum describing the BSP tree operations reported to {@link BSPTreeListener} instances.
+ * @see AbstractBSPTree#setListener(BSPTreeListener)
+ */
+public enum BSPTreeOperation {
+
+    /** Insertion of one or more hyperplane convex subsets into a tree. */
+    INSERT,
+
+    /** Split of a tree into the portions lying on each side of a hyperplane. */
+    SPLIT,
+
+    /** Boolean union of two region trees. */
+    UNION,
+
+    /** Boolean intersection of two region trees. */
+    INTERSECTION,
+
+    /** Boolean difference of two region trees. */
+    DIFFERENCE,
+
+    /** Boolean symmetric difference (xor) of two region trees. */
+    XOR,
+
+    /** Removal of redundant nodes from a region tree. */
+    CONDENSE
+}
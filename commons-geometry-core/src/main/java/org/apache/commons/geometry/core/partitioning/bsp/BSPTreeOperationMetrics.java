@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+/** Class containing the metrics recorded during a single operation on a BSP tree. Instances
+ * are created by trees with an installed {@link BSPTreeListener} and passed to the listener when
+ * the operation completes. Instances are immutable.
+ */
+public final class BSPTreeOperationMetrics {
+
+    /** The operation that was performed. */
+    private final BSPTreeOperation operation;
+
+    /** Elapsed time of the operation in nanoseconds. */
+    private final long durationNanos;
+
+    /** Number of node cuts inserted. */
+    private final long cutsInserted;
+
+    /** Number of hyperplane convex subset fragments created. */
+    private final long fragmentsCreated;
+
+    /** Number of nodes split. */
+    private final long nodesSplit;
+
+    /** Number of leaf merges performed. */
+    private final long leafMerges;
+
+    /** Number of nodes condensed. */
+    private final long nodesCondensed;
+
+    /** Simple constructor.
+     * @param operation the operation that was performed
+     * @param durationNanos elapsed time of the operation in nanoseconds
+     * @param cutsInserted number of node cuts inserted
+     * @param fragmentsCreated number of hyperplane convex subset fragments created
+     * @param nodesSplit number of nodes split
+     * @param leafMerges number of leaf merges performed
+     * @param nodesCondensed number of nodes condensed
+     */
+    BSPTreeOperationMetrics(final BSPTreeOperation operation, final long durationNanos, final long cutsInserted,
+            final long fragmentsCreated, final long nodesSplit, final long leafMerges, final long nodesCondensed) {
+        this.operation = operation;
+        this.durationNanos = durationNanos;
+        this.cutsInserted = cutsInserted;
+        this.fragmentsCreated = fragmentsCreated;
+        this.nodesSplit = nodesSplit;
+        this.leafMerges = leafMerges;
+        this.nodesCondensed = nodesCondensed;
+    }
+
+    /** Get the operation that was performed.
+     * @return the operation that was performed
+     */
+    public BSPTreeOperation getOperation() {
+        return operation;
+    }
+
+    /** Get the elapsed time of the operation in nanoseconds, as measured with {@link System#nanoTime()}.
+     * @return the elapsed time of the operation in nanoseconds
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /** Get the number of cuts set on tree nodes during the operation. Each cut creates two new
+     * child nodes.
+     * @return the number of node cuts inserted
+     */
+    public long getCutsInserted() {
+        return cutsInserted;
+    }
+
+    /** Get the number of times a hyperplane convex subset was split into two fragments by a node cut
+     * during the operation. This includes the splits performed when inserting a subset into the tree and
+     * when trimming a subset to the region of a node.
+     * @return the number of fragments created
+     */
+    public long getFragmentsCreated() {
+        return fragmentsCreated;
+    }
+
+    /** Get the number of nodes processed while splitting subtrees with a partitioning hyperplane subset
+     * during the operation. Boolean operations split the subtrees of the second input with each cut of the
+     * first input, so this value is often the main indicator of their cost.
+     * @return the number of nodes split
+     */
+    public long getNodesSplit() {
+        return nodesSplit;
+    }
+
+    /** Get the number of times a leaf node of one input was merged with a subtree of the other input during
+     * a boolean operation.
+     * @return the number of leaf merges performed
+     */
+    public long getLeafMerges() {
+        return leafMerges;
+    }
+
+    /** Get the number of internal nodes converted to leaf nodes during the operation because their children
+     * were leaves with the same region location.
+     * @return the number of nodes condensed
+     */
+    public long getNodesCondensed() {
+        return nodesCondensed;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return new StringBuilder()
+                .append(getClass().getSimpleName())
+                .append("[operation= ")
+                .append(operation)
+                .append(", durationNanos= ")
+                .append(durationNanos)
+                .append(", cutsInserted= ")
+                .append(cutsInserted)
+                .append(", fragmentsCreated= ")
+                .append(fragmentsCreated)
+                .append(", nodesSplit= ")
+                .append(nodesSplit)
+                .append(", leafMerges= ")
+                .append(leafMerges)
+                .append(", nodesCondensed= ")
+                .append(nodesCondensed)
+                .append("]")
+                .toString();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** Class recording the metrics of a single operation on a BSP tree with an installed
+ * {@link BSPTreeListener}. Counters are updated with {@link LongAdder} instances since subtrees
+ * may be split concurrently during parallel merge operations.
+ * @see AbstractBSPTree#setListener(BSPTreeListener)
+ */
+final class OperationRecorder {
+
+    /** Number of node cuts inserted. */
+    private final LongAdder cutsInserted = new LongAdder();
+
+    /** Number of hyperplane convex subset fragments created. */
+    private final LongAdder fragmentsCreated = new LongAdder();
+
+    /** Number of nodes split. */
+    private final LongAdder nodesSplit = new LongAdder();
+
+    /** Number of leaf merges performed. */
+    private final LongAdder leafMerges = new LongAdder();
+
+    /** Number of nodes condensed. */
+    private final LongAdder nodesCondensed = new LongAdder();
+
+    /** The operation being recorded. */
+    private final BSPTreeOperation operation;
+
+    /** Listener to notify when the operation completes. */
+    private final BSPTreeListener listener;
+
+    /** Start time of the operation. */
+    private final long startNanos;
+
+    /** Construct a new instance and record the start time of the operation.
+     * @param operation the operation being recorded
+     * @param listener listener to notify when the operation completes
+     */
+    OperationRecorder(final BSPTreeOperation operation, final BSPTreeListener listener) {
+        this.operation = operation;
+        this.listener = listener;
+        this.startNanos = System.nanoTime();
+    }
+
+    /** Record that a cut was set on a node. */
+    void cutInserted() {
+        cutsInserted.increment();
+    }
+
+    /** Record that a hyperplane convex subset was split into two fragments. */
+    void fragmentCreated() {
+        fragmentsCreated.increment();
+    }
+
+    /** Record that a node was split by a partitioning hyperplane subset. */
+    void nodeSplit() {
+        nodesSplit.increment();
+    }
+
+    /** Record that a leaf node was merged with a subtree during a merge operation. */
+    void leafMerged() {
+        leafMerges.increment();
+    }
+
+    /** Record that an internal node was condensed into a leaf node. */
+    void nodeCondensed() {
+        nodesCondensed.increment();
+    }
+
+    /** Complete the operation and pass the recorded metrics to the listener.
+     */
+    void complete() {
+        final long durationNanos = System.nanoTime() - startNanos;
+
+        listener.operationCompleted(new BSPTreeOperationMetrics(operation, durationNanos,
+                cutsInserted.sum(), fragmentsCreated.sum(), nodesSplit.sum(), leafMerges.sum(),
+                nodesCondensed.sum()));
+    }
+}
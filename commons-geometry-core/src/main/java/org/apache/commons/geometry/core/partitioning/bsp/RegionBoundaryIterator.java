@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+import org.apache.commons.geometry.core.Point;
+import org.apache.commons.geometry.core.partitioning.HyperplaneConvexSubset;
+
+/** Class that iterates over the boundary hyperplane convex subsets of the nodes in a subtree. The
+ * nodes are walked with a {@link BSPTreeCursor} and the boundaries are read directly from the
+ * node cut boundaries instead of being copied into an intermediate queue.
+ * @param <P> Point implementation type
+ * @param <C> Boundary hyperplane convex subset implementation type
+ * @param <N> BSP tree node implementation type
+ */
+final class RegionBoundaryIterator<
+        P extends Point<P>,
+        C extends HyperplaneConvexSubset<P>,
+        N extends AbstractRegionBSPTree.AbstractRegionNode<P, N>>
+    implements Iterator<C> {
+
+    /** Cursor walking the subtree nodes. */
+    private final BSPTreeCursor<P, N> cursor;
+
+    /** Function that converts from the convex subset type to the output type. */
+    private final Function<HyperplaneConvexSubset<P>, C> typeConverter;
+
+    /** Outside-facing boundaries of the current node. */
+    private List<HyperplaneConvexSubset<P>> outsideFacing = Collections.emptyList();
+
+    /** Inside-facing boundaries of the current node. */
+    private List<HyperplaneConvexSubset<P>> insideFacing = Collections.emptyList();
+
+    /** Index of the next outside-facing boundary to return. */
+    private int outsideIdx;
+
+    /** Index of the next inside-facing boundary to return. */
+    private int insideIdx;
+
+    /** Simple constructor.
+     * @param subtreeRoot root of the subtree to iterate
+     * @param typeConverter function that converts from the convex subset type to the output type
+     */
+    RegionBoundaryIterator(final N subtreeRoot,
+            final Function<HyperplaneConvexSubset<P>, C> typeConverter) {
+        this.cursor = new BSPTreeCursor<>(subtreeRoot);
+        this.typeConverter = typeConverter;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean hasNext() {
+        while (outsideIdx >= outsideFacing.size() && insideIdx >= insideFacing.size()) {
+            if (!cursor.hasNext()) {
+                return false;
+            }
+
+            final N node = cursor.next();
+            if (node.isInternal()) {
+                final RegionCutBoundary<P> cutBoundary = node.getCutBoundary();
+
+                outsideFacing = cutBoundary.getOutsideFacing();
+                insideFacing = cutBoundary.getInsideFacing();
+                outsideIdx = 0;
+                insideIdx = 0;
+            }
+        }
+
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public C next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        if (outsideIdx < outsideFacing.size()) {
+            return typeConverter.apply(outsideFacing.get(outsideIdx++));
+        }
+
+        return typeConverter.apply(insideFacing.get(insideIdx++).reverse());
+    }
+}
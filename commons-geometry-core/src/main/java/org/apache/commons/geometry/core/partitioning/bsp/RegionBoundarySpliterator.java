@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.apache.commons.geometry.core.Point;
+import org.apache.commons.geometry.core.partitioning.HyperplaneConvexSubset;
+
+/** Spliterator over the boundary hyperplane convex subsets of the nodes in a subtree. Boundaries are
+ * returned in the same order as {@link AbstractRegionBSPTree#boundaries()}. The subtrees that remain
+ * to be visited are kept in a deque; splitting hands all but the last of them, together with the
+ * remaining boundaries of the current node, to a new instance covering the prefix of the elements.
+ * Once an instance has been split, node cut boundaries are obtained with
+ * {@link AbstractRegionBSPTree.AbstractRegionNode#getCutBoundaryConcurrent()} since other instances
+ * may be reading the same tree at the same time.
+ * @param <P> Point implementation type
+ * @param <C> Boundary hyperplane convex subset implementation type
+ * @param <N> BSP tree node implementation type
+ */
+final class RegionBoundarySpliterator<
+        P extends Point<P>,
+        C extends HyperplaneConvexSubset<P>,
+        N extends AbstractRegionBSPTree.AbstractRegionNode<P, N>>
+    implements Spliterator<C> {
+
+    /** Roots of the subtrees remaining to be visited, in visit order. */
+    private final Deque<N> subtrees;
+
+    /** Function that converts from the convex subset type to the output type. */
+    private final Function<HyperplaneConvexSubset<P>, C> typeConverter;
+
+    /** Outside-facing boundaries of the current node. */
+    private List<HyperplaneConvexSubset<P>> outsideFacing = Collections.emptyList();
+
+    /** Inside-facing boundaries of the current node. */
+    private List<HyperplaneConvexSubset<P>> insideFacing = Collections.emptyList();
+
+    /** Index of the next outside-facing boundary to return. */
+    private int outsideIdx;
+
+    /** Index of the next inside-facing boundary to return. */
+    private int insideIdx;
+
+    /** True if other instances may be reading the tree concurrently with this instance. */
+    private boolean concurrent;
+
+    /** Estimated number of remaining elements; halved on each split. */
+    private long estimate;
+
+    /** Construct a new instance for the subtree rooted at the given node.
+     * @param subtreeRoot root of the subtree to visit
+     * @param typeConverter function that converts from the convex subset type to the output type
+     */
+    RegionBoundarySpliterator(final N subtreeRoot,
+            final Function<HyperplaneConvexSubset<P>, C> typeConverter) {
+        this(new ArrayDeque<>(), typeConverter, Long.MAX_VALUE, false);
+        subtrees.add(subtreeRoot);
+    }
+
+    /** Construct a new instance visiting the given subtrees.
+     * @param subtrees roots of the subtrees to visit, in visit order
+     * @param typeConverter function that converts from the convex subset type to the output type
+     * @param estimate estimated number of elements
+     * @param concurrent true if other instances may be reading the tree concurrently
+     */
+    private RegionBoundarySpliterator(final Deque<N> subtrees,
+            final Function<HyperplaneConvexSubset<P>, C> typeConverter,
+            final long estimate, final boolean concurrent) {
+        this.subtrees = subtrees;
+        this.typeConverter = typeConverter;
+        this.estimate = estimate;
+        this.concurrent = concurrent;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean tryAdvance(final Consumer<? super C> action) {
+        while (!hasCurrent()) {
+            final N node = subtrees.pollFirst();
+            if (node == null) {
+                return false;
+            }
+
+            if (node.isInternal()) {
+                subtrees.addFirst(node.getPlus());
+                subtrees.addFirst(node.getMinus());
+
+                setCurrent(node);
+            }
+        }
+
+        if (outsideIdx < outsideFacing.size()) {
+            action.accept(typeConverter.apply(outsideFacing.get(outsideIdx++)));
+        } else {
+            action.accept(typeConverter.apply(insideFacing.get(insideIdx++).reverse()));
+        }
+
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Spliterator<C> trySplit() {
+        if (subtrees.size() == 1 && !hasCurrent()) {
+            // expand the only remaining subtree so that its children can be divided
+            final N node = subtrees.peekFirst();
+            if (node.isLeaf()) {
+                return null;
+            }
+
+            subtrees.pollFirst();
+            subtrees.addFirst(node.getPlus());
+            subtrees.addFirst(node.getMinus());
+
+            setCurrent(node);
+        } else if (subtrees.isEmpty()) {
+            return null;
+        }
+
+        final Deque<N> prefixSubtrees = new ArrayDeque<>();
+        while (subtrees.size() > 1) {
+            prefixSubtrees.addLast(subtrees.pollFirst());
+        }
+
+        concurrent = true;
+        estimate >>>= 1;
+
+        final RegionBoundarySpliterator<P, C, N> prefix =
+                new RegionBoundarySpliterator<>(prefixSubtrees, typeConverter, estimate, true);
+        prefix.outsideFacing = outsideFacing;
+        prefix.insideFacing = insideFacing;
+        prefix.outsideIdx = outsideIdx;
+        prefix.insideIdx = insideIdx;
+
+        outsideFacing = Collections.emptyList();
+        insideFacing = Collections.emptyList();
+        outsideIdx = 0;
+        insideIdx = 0;
+
+        return prefix;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long estimateSize() {
+        return estimate;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int characteristics() {
+        return Spliterator.ORDERED | Spliterator.NONNULL;
+    }
+
+    /** Return true if boundaries of the current node remain to be returned.
+     * @return true if boundaries of the current node remain to be returned
+     */
+    private boolean hasCurrent() {
+        return outsideIdx < outsideFacing.size() || insideIdx < insideFacing.size();
+    }
+
+    /** Make the given internal node the current node.
+     * @param node the new current node
+     */
+    private void setCurrent(final N node) {
+        final RegionCutBoundary<P> cutBoundary = concurrent ?
+                node.getCutBoundaryConcurrent() :
+                node.getCutBoundary();
+
+        outsideFacing = cutBoundary.getOutsideFacing();
+        insideFacing = cutBoundary.getInsideFacing();
+        outsideIdx = 0;
+        insideIdx = 0;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.apache.commons.geometry.core.Point;
+import org.apache.commons.geometry.core.partitioning.bsp.AbstractBSPTree.SubtreeProperty;
+
+/** Class computing the value of a {@link SubtreeProperty} for a subtree along with the values of
+ * any descendant subtrees missing them. The subtree is traversed in post-order using an explicit
+ * stack so that the maximum depth of the tree is not limited by the size of the thread stack.
+ *
+ * <p>In {@link AbstractBSPTree#setCompactMode(boolean) compact mode}, the values of the descendant
+ * subtrees are kept in a temporary side table that only holds them until the value of their parent
+ * has been computed. Only the value for the root of the subtree is stored on its node.</p>
+ * @param <P> Point implementation type
+ * @param <N> BSP tree node implementation type
+ * @param <T> Property value type
+ */
+final class SubtreePropertyComputation<P extends Point<P>, N extends AbstractBSPTree.AbstractNode<P, N>, T> {
+
+    /** The root node of the subtree. */
+    private final N subtreeRoot;
+
+    /** The property to compute. */
+    private final SubtreeProperty<N, T> property;
+
+    /** Table holding the values not stored on the nodes; null if values are stored on all nodes. */
+    private final Map<N, T> sideTable;
+
+    /** Construct a new instance.
+     * @param subtreeRoot the root node of the subtree
+     * @param property the property to compute
+     * @param compact if true, values are only stored on {@code subtreeRoot}
+     */
+    SubtreePropertyComputation(final N subtreeRoot, final SubtreeProperty<N, T> property,
+            final boolean compact) {
+        this.subtreeRoot = subtreeRoot;
+        this.property = property;
+        this.sideTable = compact ? new IdentityHashMap<>() : null;
+    }
+
+    /** Compute and store the property value for the subtree root and any descendant subtrees
+     * missing values.
+     */
+    void compute() {
+        final Deque<N> stack = new ArrayDeque<>();
+        stack.push(subtreeRoot);
+
+        N current;
+        while (!stack.isEmpty()) {
+            current = stack.peek();
+
+            if (getValue(current) != null) {
+                stack.pop();
+            } else if (current.isLeaf()) {
+                putValue(current, property.computeValue(current, null, null));
+
+                stack.pop();
+            } else {
+                final N minus = current.getMinus();
+                final N plus = current.getPlus();
+
+                final T minusValue = getValue(minus);
+                final T plusValue = getValue(plus);
+
+                if (minusValue != null && plusValue != null) {
+                    putValue(current, property.computeValue(current, minusValue, plusValue));
+
+                    if (sideTable != null) {
+                        sideTable.remove(minus);
+                        sideTable.remove(plus);
+                    }
+
+                    stack.pop();
+                } else {
+                    // compute the child values first
+                    if (plusValue == null) {
+                        stack.push(plus);
+                    }
+                    if (minusValue == null) {
+                        stack.push(minus);
+                    }
+                }
+            }
+        }
+    }
+
+    /** Get the property value for the given node, either from the node itself or from the side table.
+     * @param node node to get the value for
+     * @return the property value or null if not available
+     */
+    private T getValue(final N node) {
+        final T value = property.getStoredValue(node);
+        return (value == null && sideTable != null) ?
+                sideTable.get(node) :
+                value;
+    }
+
+    /** Store a computed property value. The value is stored on the node unless a side table is
+     * in use and the node is not the root of the subtree.
+     * @param node node to store the value for
+     * @param value the value to store
+     */
+    private void putValue(final N node, final T value) {
+        if (sideTable == null || node == subtreeRoot) {
+            property.storeValue(node, value);
+        } else {
+            sideTable.put(node, value);
+        }
+    }
+}
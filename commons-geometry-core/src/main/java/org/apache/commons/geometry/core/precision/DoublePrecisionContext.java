@@ -128,4 +128,17 @@ public abstract class DoublePrecisionContext implements Comparator<Double> {
      * @return the largest positive double value still considered equal to zero
      */
     public abstract double getMaxZero();
+
+    /** Return true if geometric predicates that support it, such as the classification of points
+     * against hyperplanes, should be evaluated in exact precision mode. In this mode, the value computed
+     * by a predicate is compared against the interval {@code [-getMaxZero(), getMaxZero()]} as if it
+     * had been computed with exact arithmetic from the double inputs, so that nearly degenerate inputs
+     * are classified consistently. Predicates first use a floating point filter and only fall back to
+     * slower exact arithmetic when the floating point result is too close to the interval bounds to be
+     * reliable. This implementation returns false.
+     * @return true if exact precision mode is enabled for geometric predicates
+     */
+    public boolean useExactPredicates() {
+        return false;
+    }
 }
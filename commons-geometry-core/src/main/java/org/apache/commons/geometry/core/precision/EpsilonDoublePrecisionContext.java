@@ -36,6 +36,9 @@ public class EpsilonDoublePrecisionContext extends DoublePrecisionContext implem
     /** Epsilon value. */
     private final double epsilon;
 
+    /** Flag indicating whether geometric predicates are evaluated in exact precision mode. */
+    private final boolean exactPredicates;
+
     /** Simple constructor.
      * @param eps Epsilon value. Numbers are considered equal if there is no
      *      floating point value strictly between them or if their difference is less
@@ -43,10 +46,23 @@ public class EpsilonDoublePrecisionContext extends DoublePrecisionContext implem
      * @throws IllegalArgumentException if the given epsilon value is infinite, NaN, or negative
      */
     public EpsilonDoublePrecisionContext(final double eps) {
+        this(eps, false);
+    }
+
+    /** Construct a new instance, optionally enabling exact precision mode for geometric predicates.
+     * @param eps Epsilon value. Numbers are considered equal if there is no
+     *      floating point value strictly between them or if their difference is less
+     *      than or equal to this value.
+     * @param exactPredicates if true, geometric predicates are evaluated in exact precision mode
+     * @throws IllegalArgumentException if the given epsilon value is infinite, NaN, or negative
+     * @see #useExactPredicates()
+     */
+    public EpsilonDoublePrecisionContext(final double eps, final boolean exactPredicates) {
         if (!Double.isFinite(eps) || eps < 0.0) {
             throw new IllegalArgumentException("Invalid epsilon value: " + eps);
         }
         this.epsilon = eps;
+        this.exactPredicates = exactPredicates;
     }
 
     /** Get the epsilon value for the instance. Numbers are considered equal if there
@@ -73,11 +89,18 @@ public class EpsilonDoublePrecisionContext extends DoublePrecisionContext implem
         return Precision.compareTo(a, b, epsilon);
     }
 
+    /** {@inheritDoc} **/
+    @Override
+    public boolean useExactPredicates() {
+        return exactPredicates;
+    }
+
     /** {@inheritDoc} **/
     @Override
     public int hashCode() {
         int result = 31;
         result += 17 * Double.hashCode(epsilon);
+        result += 17 * Boolean.hashCode(exactPredicates);
 
         return result;
     }
@@ -94,7 +117,8 @@ public class EpsilonDoublePrecisionContext extends DoublePrecisionContext implem
 
         EpsilonDoublePrecisionContext other = (EpsilonDoublePrecisionContext) obj;
 
-        return this.epsilon == other.epsilon;
+        return this.epsilon == other.epsilon &&
+                this.exactPredicates == other.exactPredicates;
     }
 
     /** {@inheritDoc} **/
@@ -105,6 +129,8 @@ public class EpsilonDoublePrecisionContext extends DoublePrecisionContext implem
             .append("[")
             .append("epsilon= ")
             .append(epsilon)
+            .append(", exactPredicates= ")
+            .append(exactPredicates)
             .append("]");
 
         return sb.toString();
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.apache.commons.geometry.core.partitioning.test.PartitionTestUtils;
+import org.apache.commons.geometry.core.partitioning.test.TestBSPTree;
+import org.apache.commons.geometry.core.partitioning.test.TestBSPTree.TestNode;
+import org.apache.commons.geometry.core.partitioning.test.TestLine;
+import org.apache.commons.geometry.core.partitioning.test.TestLineSegment;
+import org.apache.commons.geometry.core.partitioning.test.TestPoint2D;
+import org.apache.commons.geometry.core.partitioning.test.TestRegionBSPTree;
+import org.apache.commons.geometry.core.partitioning.test.TestRegionBSPTree.TestRegionNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AbstractBSPTreeConcurrentReadTest {
+
+    @Test
+    public void testConcurrentReadMode() {
+        // arrange
+        TestBSPTree tree = new TestBSPTree();
+
+        // act/assert
+        Assert.assertFalse(tree.isConcurrentReadMode());
+
+        tree.setConcurrentReadMode(true);
+        Assert.assertTrue(tree.isConcurrentReadMode());
+
+        TestBSPTree copy = new TestBSPTree();
+        copy.copy(tree);
+        Assert.assertFalse(copy.isConcurrentReadMode());
+
+        tree.setConcurrentReadMode(false);
+        Assert.assertFalse(tree.isConcurrentReadMode());
+    }
+
+    @Test
+    public void testConcurrentReadMode_nodeProperties() {
+        // arrange
+        TestBSPTree tree = new TestBSPTree();
+        for (int i = -10; i <= 10; ++i) {
+            tree.insert(new TestLineSegment(new TestPoint2D(i, -20), new TestPoint2D(i + 1, 20)));
+            tree.insert(new TestLineSegment(new TestPoint2D(-20, i), new TestPoint2D(20, i - 1)));
+        }
+
+        TestBSPTree expected = new TestBSPTree();
+        expected.copy(tree);
+        List<Integer> expectedDepths = getDepths(expected);
+
+        tree.setConcurrentReadMode(true);
+
+        // act
+        List<List<Integer>> results = PartitionTestUtils.runConcurrently(8, () -> {
+            List<Integer> result = new ArrayList<>(getDepths(tree));
+            result.add(tree.count());
+            result.add(tree.height());
+            return result;
+        });
+
+        // assert
+        List<Integer> expectedResult = new ArrayList<>(expectedDepths);
+        expectedResult.add(expected.count());
+        expectedResult.add(expected.height());
+
+        for (List<Integer> result : results) {
+            Assert.assertEquals(expectedResult, result);
+        }
+    }
+
+    @Test
+    public void testConcurrentReadMode_mutationInvalidatesCachedValues() {
+        // arrange
+        TestBSPTree tree = new TestBSPTree();
+        tree.setConcurrentReadMode(true);
+
+        tree.getRoot().cut(TestLine.X_AXIS);
+
+        // act
+        List<Integer> before = PartitionTestUtils.runConcurrently(4, tree::count);
+
+        tree.getRoot().getPlus().cut(TestLine.Y_AXIS);
+
+        List<Integer> after = PartitionTestUtils.runConcurrently(4, tree::count);
+
+        // assert
+        Assert.assertEquals(Arrays.asList(3, 3, 3, 3), before);
+        Assert.assertEquals(Arrays.asList(5, 5, 5, 5), after);
+        Assert.assertEquals(2, tree.height());
+    }
+
+    @Test
+    public void testConcurrentReadMode_region_cachedValuesComputedOnce() {
+        // arrange
+        TestRegionBSPTree tree = fullTree();
+        insertBox(tree, new TestPoint2D(0, 2), new TestPoint2D(2, 0));
+
+        TestRegionBSPTree other = fullTree();
+        insertBox(other, new TestPoint2D(1, 3), new TestPoint2D(3, 1));
+
+        tree.union(other);
+
+        TestRegionBSPTree expected = fullTree();
+        expected.copy(tree);
+
+        tree.setConcurrentReadMode(true);
+
+        // act
+        List<List<Object>> results = PartitionTestUtils.runConcurrently(8, () -> {
+            List<Object> result = new ArrayList<>();
+            result.add(tree.getBoundarySize());
+            result.add(tree.getRegionSizeProperties());
+            for (TestRegionNode node : tree.nodes()) {
+                result.add(node.getCutBoundary());
+            }
+            return result;
+        });
+
+        // assert
+        List<Object> first = results.get(0);
+        Assert.assertEquals(expected.getBoundarySize(), (Double) first.get(0), PartitionTestUtils.EPS);
+
+        for (List<Object> result : results) {
+            Assert.assertEquals(first.size(), result.size());
+            Assert.assertEquals(first.get(0), result.get(0));
+
+            // all threads must see the same cached instances
+            for (int i = 1; i < first.size(); ++i) {
+                Assert.assertSame(first.get(i), result.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testConcurrentReadMode_region_recomputesAfterChange() {
+        // arrange
+        TestRegionBSPTree tree = fullTree();
+        insertBox(tree, new TestPoint2D(2, 2), new TestPoint2D(4, 1));
+        tree.setConcurrentReadMode(true);
+
+        // act
+        List<Double> before = PartitionTestUtils.runConcurrently(4, tree::getBoundarySize);
+
+        tree.insert(new TestLineSegment(new TestPoint2D(3, 1), new TestPoint2D(3, 2)));
+
+        List<Double> after = PartitionTestUtils.runConcurrently(4, tree::getBoundarySize);
+
+        // assert
+        Assert.assertEquals(Arrays.asList(6.0, 6.0, 6.0, 6.0), before);
+        Assert.assertEquals(Arrays.asList(4.0, 4.0, 4.0, 4.0), after);
+    }
+
+    private static List<Integer> getDepths(TestBSPTree tree) {
+        return StreamSupport.stream(tree.nodes().spliterator(), false)
+            .map(TestNode::depth)
+            .collect(Collectors.toList());
+    }
+
+    private static void insertBox(final TestRegionBSPTree tree, final TestPoint2D upperLeft,
+            final TestPoint2D lowerRight) {
+        final TestPoint2D upperRight = new TestPoint2D(lowerRight.getX(), upperLeft.getY());
+        final TestPoint2D lowerLeft = new TestPoint2D(upperLeft.getX(), lowerRight.getY());
+
+        tree.insert(Arrays.asList(
+                    new TestLineSegment(lowerRight, upperRight),
+                    new TestLineSegment(upperRight, upperLeft),
+                    new TestLineSegment(upperLeft, lowerLeft),
+                    new TestLineSegment(lowerLeft, lowerRight)
+                ));
+    }
+
+    private static TestRegionBSPTree fullTree() {
+        return new TestRegionBSPTree(true);
+    }
+}
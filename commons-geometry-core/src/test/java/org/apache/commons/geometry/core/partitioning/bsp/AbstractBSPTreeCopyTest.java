@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+import org.apache.commons.geometry.core.partitioning.test.TestBSPTree;
+import org.apache.commons.geometry.core.partitioning.test.TestBSPTree.TestNode;
+import org.apache.commons.geometry.core.partitioning.test.TestLine;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AbstractBSPTreeCopyTest {
+
+    @Test
+    public void testCopy_rootOnly() {
+        // arrange
+        TestBSPTree tree = new TestBSPTree();
+
+        // act
+        TestBSPTree copy = new TestBSPTree();
+        copy.copy(tree);
+
+        // assert
+        Assert.assertNotSame(tree, copy);
+        Assert.assertNotSame(tree.getRoot(), copy.getRoot());
+
+        Assert.assertEquals(tree.count(), copy.count());
+    }
+
+    @Test
+    public void testCopy_withCuts() {
+        // arrange
+        TestBSPTree tree = new TestBSPTree();
+        tree.getRoot()
+            .cut(TestLine.X_AXIS)
+            .getMinus()
+                .cut(TestLine.Y_AXIS);
+
+        // act
+        TestBSPTree copy = new TestBSPTree();
+        copy.copy(tree);
+
+        // assert
+        Assert.assertNotSame(tree, copy);
+        assertNodesCopiedRecursive(tree.getRoot(), copy.getRoot());
+        Assert.assertEquals(tree.count(), copy.count());
+    }
+
+    @Test
+    public void testCopy_changesToOneTreeDoNotAffectCopy() {
+        // arrange
+        TestBSPTree tree = new TestBSPTree();
+        tree.getRoot()
+            .cut(TestLine.X_AXIS)
+            .getMinus()
+                .cut(TestLine.Y_AXIS);
+
+        // act
+        TestBSPTree copy = new TestBSPTree();
+        copy.copy(tree);
+        tree.getRoot().clearCut();
+
+        // assert
+        Assert.assertEquals(1, tree.count());
+        Assert.assertEquals(5, copy.count());
+    }
+
+    @Test
+    public void testCopy_sourceModifiedAfterCopy() {
+        // arrange
+        TestBSPTree tree = new TestBSPTree();
+        tree.getRoot()
+            .cut(TestLine.X_AXIS)
+            .getMinus()
+                .cut(TestLine.Y_AXIS);
+
+        TestBSPTree expected = new TestBSPTree();
+        expected.copy(tree);
+
+        // act
+        TestBSPTree copy = new TestBSPTree();
+        copy.copy(tree);
+
+        tree.getRoot().getMinus().clearCut();
+
+        // assert
+        Assert.assertEquals(3, tree.count());
+        assertNodesCopiedRecursive(expected.getRoot(), copy.getRoot());
+    }
+
+    @Test
+    public void testCopy_retainsRootNode() {
+        // arrange
+        TestBSPTree tree = new TestBSPTree();
+        tree.getRoot().cut(TestLine.X_AXIS);
+
+        TestBSPTree copy = new TestBSPTree();
+        TestNode root = copy.getRoot();
+
+        // act
+        copy.copy(tree);
+
+        // assert
+        Assert.assertSame(root, copy.getRoot());
+        Assert.assertSame(copy, root.getTree());
+        Assert.assertEquals(3, copy.count());
+        assertNodesCopiedRecursive(tree.getRoot(), root);
+    }
+
+    @Test
+    public void testCopy_copyModifiedAfterCopy() {
+        // arrange
+        TestBSPTree tree = new TestBSPTree();
+        tree.getRoot()
+            .cut(TestLine.X_AXIS)
+            .getMinus()
+                .cut(TestLine.Y_AXIS);
+
+        TestBSPTree copy = new TestBSPTree();
+        copy.copy(tree);
+
+        // act
+        copy.getRoot().getPlus().cut(TestLine.Y_AXIS);
+
+        // assert
+        Assert.assertEquals(5, tree.count());
+        Assert.assertEquals(7, copy.count());
+    }
+
+    @Test
+    public void testCopy_copyOfCopy() {
+        // arrange
+        TestBSPTree tree = new TestBSPTree();
+        tree.getRoot().cut(TestLine.X_AXIS);
+
+        TestBSPTree first = new TestBSPTree();
+        first.copy(tree);
+
+        // act
+        TestBSPTree second = new TestBSPTree();
+        second.copy(first);
+
+        tree.getRoot().getMinus().cut(TestLine.Y_AXIS);
+
+        // assert
+        Assert.assertEquals(5, tree.count());
+        Assert.assertEquals(3, first.count());
+        Assert.assertEquals(3, second.count());
+    }
+
+    @Test
+    public void testCopy_sourceOverwrittenWithCopy() {
+        // arrange
+        TestBSPTree tree = new TestBSPTree();
+        tree.getRoot().cut(TestLine.X_AXIS);
+
+        TestBSPTree other = new TestBSPTree();
+        other.getRoot()
+            .cut(TestLine.X_AXIS)
+            .getMinus()
+                .cut(TestLine.Y_AXIS);
+
+        TestBSPTree copy = new TestBSPTree();
+        copy.copy(tree);
+
+        // act
+        tree.copy(other);
+
+        // assert
+        Assert.assertEquals(5, tree.count());
+        Assert.assertEquals(3, copy.count());
+        Assert.assertEquals(5, other.count());
+    }
+
+    @Test
+    public void testCopy_instancePassedAsArgument() {
+        // arrange
+        TestBSPTree tree = new TestBSPTree();
+        tree.getRoot()
+            .cut(TestLine.X_AXIS)
+            .getMinus()
+                .cut(TestLine.Y_AXIS);
+
+        // act
+        tree.copy(tree);
+
+        // assert
+        Assert.assertEquals(5, tree.count());
+    }
+
+    private void assertNodesCopiedRecursive(final TestNode orig, final TestNode copy) {
+        Assert.assertNotSame(orig, copy);
+
+        Assert.assertEquals(orig.getCut(), copy.getCut());
+
+        if (orig.isLeaf()) {
+            Assert.assertNull(copy.getMinus());
+            Assert.assertNull(copy.getPlus());
+        } else {
+            Assert.assertNotSame(orig.getMinus(), copy.getMinus());
+            Assert.assertNotSame(orig.getPlus(), copy.getPlus());
+
+            assertNodesCopiedRecursive(orig.getMinus(), copy.getMinus());
+            assertNodesCopiedRecursive(orig.getPlus(), copy.getPlus());
+        }
+
+        Assert.assertEquals(orig.depth(), copy.depth());
+        Assert.assertEquals(orig.count(), copy.count());
+    }
+}
@@ -1278,76 +1278,6 @@ public class AbstractBSPTreeTest {
                 (TestLineSegment) plusPlusPlus.trim(shortSeg));
     }
 
-    @Test
-    public void testCopy_rootOnly() {
-        // arrange
-        TestBSPTree tree = new TestBSPTree();
-
-        // act
-        TestBSPTree copy = new TestBSPTree();
-        copy.copy(tree);
-
-        // assert
-        Assert.assertNotSame(tree, copy);
-        Assert.assertNotSame(tree.getRoot(), copy.getRoot());
-
-        Assert.assertEquals(tree.count(), copy.count());
-    }
-
-    @Test
-    public void testCopy_withCuts() {
-        // arrange
-        TestBSPTree tree = new TestBSPTree();
-        tree.getRoot()
-            .cut(TestLine.X_AXIS)
-            .getMinus()
-                .cut(TestLine.Y_AXIS);
-
-        // act
-        TestBSPTree copy = new TestBSPTree();
-        copy.copy(tree);
-
-        // assert
-        Assert.assertNotSame(tree, copy);
-        assertNodesCopiedRecursive(tree.getRoot(), copy.getRoot());
-        Assert.assertEquals(tree.count(), copy.count());
-    }
-
-    @Test
-    public void testCopy_changesToOneTreeDoNotAffectCopy() {
-        // arrange
-        TestBSPTree tree = new TestBSPTree();
-        tree.getRoot()
-            .cut(TestLine.X_AXIS)
-            .getMinus()
-                .cut(TestLine.Y_AXIS);
-
-        // act
-        TestBSPTree copy = new TestBSPTree();
-        copy.copy(tree);
-        tree.getRoot().clearCut();
-
-        // assert
-        Assert.assertEquals(1, tree.count());
-        Assert.assertEquals(5, copy.count());
-    }
-
-    @Test
-    public void testCopy_instancePassedAsArgument() {
-        // arrange
-        TestBSPTree tree = new TestBSPTree();
-        tree.getRoot()
-            .cut(TestLine.X_AXIS)
-            .getMinus()
-                .cut(TestLine.Y_AXIS);
-
-        // act
-        tree.copy(tree);
-
-        // assert
-        Assert.assertEquals(5, tree.count());
-    }
-
     @Test
     public void testExtract_singleNodeTree() {
         // arrange
@@ -1898,26 +1828,6 @@ public class AbstractBSPTreeTest {
                 plusSegments.get(2));
     }
 
-    private void assertNodesCopiedRecursive(final TestNode orig, final TestNode copy) {
-        Assert.assertNotSame(orig, copy);
-
-        Assert.assertEquals(orig.getCut(), copy.getCut());
-
-        if (orig.isLeaf()) {
-            Assert.assertNull(copy.getMinus());
-            Assert.assertNull(copy.getPlus());
-        } else {
-            Assert.assertNotSame(orig.getMinus(), copy.getMinus());
-            Assert.assertNotSame(orig.getPlus(), copy.getPlus());
-
-            assertNodesCopiedRecursive(orig.getMinus(), copy.getMinus());
-            assertNodesCopiedRecursive(orig.getPlus(), copy.getPlus());
-        }
-
-        Assert.assertEquals(orig.depth(), copy.depth());
-        Assert.assertEquals(orig.count(), copy.count());
-    }
-
     private static List<TestLineSegment> getLineSegments(TestBSPTree tree) {
         return StreamSupport.stream(tree.nodes().spliterator(), false)
             .filter(BSPTree.Node::isInternal)
@@ -0,0 +1,440 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.geometry.core.GeometryTestUtils;
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.partitioning.HyperplaneConvexSubset;
+import org.apache.commons.geometry.core.partitioning.test.PartitionTestUtils;
+import org.apache.commons.geometry.core.partitioning.test.TestLine;
+import org.apache.commons.geometry.core.partitioning.test.TestLineSegment;
+import org.apache.commons.geometry.core.partitioning.test.TestPoint2D;
+import org.apache.commons.geometry.core.partitioning.test.TestRegionBSPTree;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AbstractBalancedRegionBuilderTest {
+
+    @Test
+    public void testCtor_invalidTree() {
+        // arrange
+        TestRegionBSPTree tree = new TestRegionBSPTree(true);
+
+        // act/assert
+        GeometryTestUtils.assertThrows(() -> {
+            new TestRegionBuilder(tree);
+        }, IllegalArgumentException.class, "Tree must be empty");
+    }
+
+    @Test
+    public void testSetCandidateCount_invalidArgs() {
+        // arrange
+        TestRegionBuilder builder = new TestRegionBuilder(new TestRegionBSPTree(false));
+
+        // act/assert
+        GeometryTestUtils.assertThrows(() -> {
+            builder.setCandidateCount(0);
+        }, IllegalArgumentException.class, "Candidate count must be greater than zero; was 0");
+        GeometryTestUtils.assertThrows(() -> {
+            builder.setCandidateCount(-1);
+        }, IllegalArgumentException.class, "Candidate count must be greater than zero; was -1");
+    }
+
+    @Test
+    public void testSetSplitWeight_invalidArgs() {
+        // arrange
+        TestRegionBuilder builder = new TestRegionBuilder(new TestRegionBSPTree(false));
+
+        // act/assert
+        GeometryTestUtils.assertThrows(() -> {
+            builder.setSplitWeight(-1);
+        }, IllegalArgumentException.class, "Split weight must be finite and non-negative; was -1.0");
+        GeometryTestUtils.assertThrows(() -> {
+            builder.setSplitWeight(Double.NaN);
+        }, IllegalArgumentException.class, "Split weight must be finite and non-negative; was NaN");
+        GeometryTestUtils.assertThrows(() -> {
+            builder.setSplitWeight(Double.POSITIVE_INFINITY);
+        }, IllegalArgumentException.class, "Split weight must be finite and non-negative; was Infinity");
+    }
+
+    @Test
+    public void testBuildRegion_empty() {
+        // arrange
+        TestRegionBuilder builder = new TestRegionBuilder(new TestRegionBSPTree(false));
+
+        // act
+        TestRegionBSPTree tree = builder.build();
+
+        // assert
+        Assert.assertTrue(tree.isEmpty());
+        Assert.assertEquals(1, tree.count());
+        Assert.assertEquals(0, tree.height());
+    }
+
+    @Test
+    public void testBuildRegion_halfSpace() {
+        // arrange
+        TestRegionBuilder builder = new TestRegionBuilder(new TestRegionBSPTree(false));
+
+        // act
+        builder.insertBoundary(new TestLineSegment(new TestPoint2D(0, 0), new TestPoint2D(1, 0)));
+        TestRegionBSPTree tree = builder.build();
+
+        // assert
+        Assert.assertFalse(tree.isEmpty());
+        Assert.assertFalse(tree.isFull());
+
+        Assert.assertEquals(3, tree.count());
+        Assert.assertEquals(1, tree.height());
+
+        PartitionTestUtils.assertPointLocations(tree, RegionLocation.INSIDE,
+                new TestPoint2D(-5, 1), new TestPoint2D(0, 1), new TestPoint2D(5, 1));
+
+        PartitionTestUtils.assertPointLocations(tree, RegionLocation.BOUNDARY,
+                new TestPoint2D(-5, 0), new TestPoint2D(0, 0), new TestPoint2D(5, 0));
+
+        PartitionTestUtils.assertPointLocations(tree, RegionLocation.OUTSIDE,
+                new TestPoint2D(-5, -1), new TestPoint2D(0, -1), new TestPoint2D(5, -1));
+    }
+
+    @Test
+    public void testBuildRegion_square() {
+        // arrange
+        TestRegionBuilder builder = new TestRegionBuilder(new TestRegionBSPTree(false));
+
+        // act
+        insertBoundaries(builder, createPolygon(
+                new TestPoint2D(-1, -1), new TestPoint2D(1, -1), new TestPoint2D(1, 1), new TestPoint2D(-1, 1)));
+        TestRegionBSPTree tree = builder.build();
+
+        // assert
+        Assert.assertEquals(9, tree.count());
+        Assert.assertEquals(4, tree.height());
+
+        PartitionTestUtils.assertPointLocations(tree, RegionLocation.INSIDE,
+                new TestPoint2D(0, 0), new TestPoint2D(0.5, 0.5), new TestPoint2D(-0.5, -0.5));
+
+        PartitionTestUtils.assertPointLocations(tree, RegionLocation.BOUNDARY,
+                new TestPoint2D(-1, -1), new TestPoint2D(1, -1), new TestPoint2D(1, 1), new TestPoint2D(-1, 1),
+                new TestPoint2D(0, -1), new TestPoint2D(1, 0), new TestPoint2D(0, 1), new TestPoint2D(-1, 0));
+
+        PartitionTestUtils.assertPointLocations(tree, RegionLocation.OUTSIDE,
+                new TestPoint2D(-2, 0), new TestPoint2D(2, 0), new TestPoint2D(0, 2), new TestPoint2D(0, -2));
+    }
+
+    @Test
+    public void testBuildRegion_coincidentBoundaries() {
+        // arrange
+        TestRegionBuilder builder = new TestRegionBuilder(new TestRegionBSPTree(false));
+
+        // act
+        builder.insertBoundary(new TestLineSegment(new TestPoint2D(0, 0), new TestPoint2D(1, 0)));
+        builder.insertBoundary(new TestLineSegment(new TestPoint2D(2, 0), new TestPoint2D(3, 0)));
+        builder.insertBoundary(new TestLineSegment(new TestPoint2D(-1, 0), new TestPoint2D(0, 0)));
+        TestRegionBSPTree tree = builder.build();
+
+        // assert
+        Assert.assertEquals(3, tree.count());
+        Assert.assertEquals(1, tree.height());
+
+        PartitionTestUtils.assertPointLocations(tree, RegionLocation.INSIDE, new TestPoint2D(0, 1));
+        PartitionTestUtils.assertPointLocations(tree, RegionLocation.OUTSIDE, new TestPoint2D(0, -1));
+    }
+
+    @Test
+    public void testBuildRegion_comb() {
+        // arrange
+        List<TestLineSegment> boundaries = createComb(8);
+
+        TestRegionBuilder builder = new TestRegionBuilder(new TestRegionBSPTree(false));
+
+        // act
+        insertBoundaries(builder, boundaries);
+        TestRegionBSPTree tree = builder.build();
+
+        // assert
+        PartitionTestUtils.assertTreeStructure(tree);
+        assertComb(tree, 8);
+    }
+
+    @Test
+    public void testBuildRegion_comb_singleCandidate() {
+        // arrange
+        List<TestLineSegment> boundaries = createComb(8);
+
+        TestRegionBuilder builder = new TestRegionBuilder(new TestRegionBSPTree(false));
+        builder.setCandidateCount(1);
+
+        // act
+        insertBoundaries(builder, boundaries);
+        TestRegionBSPTree tree = builder.build();
+
+        // assert
+        PartitionTestUtils.assertTreeStructure(tree);
+        assertComb(tree, 8);
+    }
+
+    @Test
+    public void testBuildRegion_comb_zeroSplitWeight() {
+        // arrange
+        List<TestLineSegment> boundaries = createComb(8);
+
+        TestRegionBuilder builder = new TestRegionBuilder(new TestRegionBSPTree(false));
+        builder.setSplitWeight(0);
+
+        // act
+        insertBoundaries(builder, boundaries);
+        TestRegionBSPTree tree = builder.build();
+
+        // assert
+        PartitionTestUtils.assertTreeStructure(tree);
+        assertComb(tree, 8);
+    }
+
+    @Test
+    public void testBuildRegion_shuffledComb_smallerThanDirectInsertion() {
+        // arrange
+        int teeth = 32;
+        List<TestLineSegment> boundaries = new ArrayList<>(createComb(teeth));
+        Collections.shuffle(boundaries, new Random(1L));
+
+        TestRegionBSPTree direct = new TestRegionBSPTree(false);
+        direct.insert(boundaries);
+
+        TestRegionBuilder builder = new TestRegionBuilder(new TestRegionBSPTree(false));
+
+        // act
+        insertBoundaries(builder, boundaries);
+        TestRegionBSPTree tree = builder.build();
+
+        // assert
+        assertComb(tree, teeth);
+        assertComb(direct, teeth);
+
+        Assert.assertTrue(tree.count() < direct.count());
+        Assert.assertTrue(tree.height() < direct.height());
+    }
+
+    @Test
+    public void testBuildRegion_builderReuse() {
+        // arrange
+        TestRegionBuilder builder = new TestRegionBuilder(new TestRegionBSPTree(false));
+        builder.insertBoundary(new TestLineSegment(new TestPoint2D(0, 0), new TestPoint2D(1, 0)));
+
+        // act
+        TestRegionBSPTree tree = builder.build();
+        TestRegionBSPTree second = builder.build();
+
+        // assert
+        Assert.assertSame(tree, second);
+        Assert.assertEquals(3, tree.count());
+    }
+
+    @Test
+    public void testOptimize_redundantCuts() {
+        // arrange
+        TestRegionBSPTree tree = new TestRegionBSPTree(false);
+
+        TestRegionBSPTree.TestRegionNode root = tree.getRoot();
+        root.cut(new TestLine(new TestPoint2D(5, 0), new TestPoint2D(5, 1)));
+        root.getMinus().cut(TestLine.Y_AXIS.reverse());
+        root.getMinus().getMinus().setLocation(RegionLocation.OUTSIDE);
+
+        tree.insert(createPolygon(
+                new TestPoint2D(1, 1), new TestPoint2D(2, 1), new TestPoint2D(2, 2), new TestPoint2D(1, 2)));
+
+        int count = tree.count();
+        int height = tree.height();
+
+        // act
+        AbstractRegionBSPTree.OptimizationResult result =
+                tree.optimizeInternal(new TestRegionBuilder(new TestRegionBSPTree(false)));
+
+        // assert
+        PartitionTestUtils.assertTreeStructure(tree);
+
+        PartitionTestUtils.assertPointLocations(tree, RegionLocation.INSIDE, new TestPoint2D(1.5, 1.5));
+        PartitionTestUtils.assertPointLocations(tree, RegionLocation.BOUNDARY,
+                new TestPoint2D(1, 1.5), new TestPoint2D(2, 1.5), new TestPoint2D(1.5, 1), new TestPoint2D(1.5, 2));
+        PartitionTestUtils.assertPointLocations(tree, RegionLocation.OUTSIDE,
+                new TestPoint2D(-1, 1.5), new TestPoint2D(3, 1.5), new TestPoint2D(6, 1.5), new TestPoint2D(1.5, 0));
+
+        Assert.assertTrue(result.isModified());
+        Assert.assertEquals(count, result.getCountBefore());
+        Assert.assertEquals(height, result.getHeightBefore());
+        Assert.assertEquals(9, result.getCountAfter());
+        Assert.assertEquals(4, result.getHeightAfter());
+
+        Assert.assertEquals(9, tree.count());
+        Assert.assertEquals(4, tree.height());
+        Assert.assertTrue(result.getCountAfter() < count);
+        Assert.assertTrue(result.getHeightAfter() < height);
+    }
+
+    @Test
+    public void testOptimize_noImprovement() {
+        // arrange
+        TestRegionBSPTree tree = new TestRegionBSPTree(false);
+        tree.insert(new TestLineSegment(new TestPoint2D(0, 0), new TestPoint2D(1, 0)));
+
+        TestRegionBSPTree.TestRegionNode root = tree.getRoot();
+
+        // act
+        AbstractRegionBSPTree.OptimizationResult result =
+                tree.optimizeInternal(new TestRegionBuilder(new TestRegionBSPTree(false)));
+
+        // assert
+        Assert.assertFalse(result.isModified());
+        Assert.assertEquals(3, result.getCountBefore());
+        Assert.assertEquals(3, result.getCountAfter());
+        Assert.assertEquals(1, result.getHeightBefore());
+        Assert.assertEquals(1, result.getHeightAfter());
+
+        Assert.assertSame(root, tree.getRoot());
+        Assert.assertEquals(3, tree.count());
+    }
+
+    @Test
+    public void testOptimize_fullAndEmpty() {
+        // arrange
+        TestRegionBSPTree full = new TestRegionBSPTree(true);
+        full.getRoot().cut(TestLine.X_AXIS)
+            .getPlus().setLocation(RegionLocation.INSIDE);
+
+        TestRegionBSPTree empty = new TestRegionBSPTree(false);
+
+        // act
+        AbstractRegionBSPTree.OptimizationResult fullResult =
+                full.optimizeInternal(new TestRegionBuilder(new TestRegionBSPTree(false)));
+        AbstractRegionBSPTree.OptimizationResult emptyResult =
+                empty.optimizeInternal(new TestRegionBuilder(new TestRegionBSPTree(false)));
+
+        // assert
+        Assert.assertTrue(full.isFull());
+        Assert.assertEquals(1, full.count());
+        Assert.assertTrue(fullResult.isModified());
+        Assert.assertEquals(3, fullResult.getCountBefore());
+        Assert.assertEquals(1, fullResult.getCountAfter());
+
+        Assert.assertTrue(empty.isEmpty());
+        Assert.assertEquals(1, empty.count());
+        Assert.assertFalse(emptyResult.isModified());
+    }
+
+    @Test
+    public void testOptimizationResult_toString() {
+        // arrange
+        TestRegionBSPTree tree = new TestRegionBSPTree(false);
+
+        // act
+        String str = tree.optimizeInternal(new TestRegionBuilder(new TestRegionBSPTree(false))).toString();
+
+        // assert
+        Assert.assertEquals("OptimizationResult[countBefore= 1, heightBefore= 0, countAfter= 1, heightAfter= 0]", str);
+    }
+
+    private static void insertBoundaries(final TestRegionBuilder builder, final List<TestLineSegment> boundaries) {
+        for (TestLineSegment boundary : boundaries) {
+            builder.insertBoundary(boundary);
+        }
+    }
+
+    /** Create the boundaries of a polygon from a list of vertices in counter-clockwise order.
+     */
+    private static List<TestLineSegment> createPolygon(final TestPoint2D... vertices) {
+        List<TestLineSegment> result = new ArrayList<>();
+        for (int i = 0; i < vertices.length; ++i) {
+            result.add(new TestLineSegment(vertices[i], vertices[(i + 1) % vertices.length]));
+        }
+        return result;
+    }
+
+    /** Create a non-convex comb-shaped polygon with the given number of unit-width teeth pointing
+     * in the positive y direction. The base spans the y range {@code [0, 1]} and the teeth extend to y = 2.
+     */
+    private static List<TestLineSegment> createComb(final int teeth) {
+        List<TestPoint2D> vertices = new ArrayList<>(Arrays.asList(
+                new TestPoint2D(0, 0), new TestPoint2D((2 * teeth) - 1, 0)));
+
+        for (int i = teeth - 1; i >= 0; --i) {
+            vertices.add(new TestPoint2D((2 * i) + 1, 2));
+            vertices.add(new TestPoint2D(2 * i, 2));
+
+            if (i > 0) {
+                vertices.add(new TestPoint2D(2 * i, 1));
+                vertices.add(new TestPoint2D((2 * i) - 1, 1));
+            }
+        }
+
+        return createPolygon(vertices.toArray(new TestPoint2D[0]));
+    }
+
+    private static void assertComb(final TestRegionBSPTree tree, final int teeth) {
+        Assert.assertFalse(tree.isEmpty());
+        Assert.assertFalse(tree.isFull());
+
+        for (int i = 0; i < teeth; ++i) {
+            PartitionTestUtils.assertPointLocations(tree, RegionLocation.INSIDE,
+                    new TestPoint2D((2 * i) + 0.5, 0.5), new TestPoint2D((2 * i) + 0.5, 1.5));
+
+            PartitionTestUtils.assertPointLocations(tree, RegionLocation.BOUNDARY,
+                    new TestPoint2D((2 * i) + 0.5, 0), new TestPoint2D((2 * i) + 0.5, 2));
+
+            PartitionTestUtils.assertPointLocations(tree, RegionLocation.OUTSIDE,
+                    new TestPoint2D((2 * i) + 0.5, -1), new TestPoint2D((2 * i) + 0.5, 3));
+
+            if (i > 0) {
+                PartitionTestUtils.assertPointLocations(tree, RegionLocation.INSIDE,
+                        new TestPoint2D((2 * i) - 0.5, 0.5));
+                PartitionTestUtils.assertPointLocations(tree, RegionLocation.BOUNDARY,
+                        new TestPoint2D((2 * i) - 0.5, 1), new TestPoint2D(2 * i, 1.5));
+                PartitionTestUtils.assertPointLocations(tree, RegionLocation.OUTSIDE,
+                        new TestPoint2D((2 * i) - 0.5, 1.5));
+            }
+        }
+    }
+
+    private static class TestRegionBuilder
+        extends AbstractBalancedRegionBuilder<TestPoint2D, TestRegionBSPTree.TestRegionNode> {
+
+        TestRegionBuilder(TestRegionBSPTree tree) {
+            super(tree);
+        }
+
+        public void setCandidateCount(final int count) {
+            setCandidateCountInternal(count);
+        }
+
+        public void setSplitWeight(final double weight) {
+            setSplitWeightInternal(weight);
+        }
+
+        public TestRegionBSPTree build() {
+            return (TestRegionBSPTree) buildInternal();
+        }
+
+        public void insertBoundary(final HyperplaneConvexSubset<TestPoint2D> boundary) {
+            insertBoundaryInternal(boundary);
+        }
+    }
+}
@@ -18,6 +18,7 @@ package org.apache.commons.geometry.core.partitioning.bsp;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import org.apache.commons.geometry.core.GeometryTestUtils;
 import org.apache.commons.geometry.core.RegionLocation;
@@ -32,6 +33,8 @@ import org.junit.Test;
 
 public class AbstractPartitionedRegionBuilderTest {
 
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
     @Test
     public void testCtor_invalidTree() {
         // arrange
@@ -413,6 +416,89 @@ public class AbstractPartitionedRegionBuilderTest {
         }
     }
 
+    @Test
+    public void testBuildRegion_parallel_empty() {
+        // arrange
+        TestRegionBuilder builder = new TestRegionBuilder(new TestRegionBSPTree(false));
+        insertGridRecursive(-2, 2, 2, builder);
+
+        // act
+        TestRegionBSPTree tree = builder.build(POOL);
+
+        // assert
+        Assert.assertTrue(tree.isEmpty());
+        Assert.assertEquals(1, tree.count());
+    }
+
+    @Test
+    public void testBuildRegion_parallel_multipleBoundariesOnPartition() {
+        // arrange
+        TestRegionBuilder builder = new TestRegionBuilder(new TestRegionBSPTree(false));
+
+        builder.insertPartition(new TestLine(new TestPoint2D(0, 0), new TestPoint2D(1, 0)).span());
+
+        builder.insertBoundary(new TestLineSegment(new TestPoint2D(0, 0), new TestPoint2D(1, 0)));
+        builder.insertBoundary(new TestLineSegment(new TestPoint2D(0, 1), new TestPoint2D(0, 0)));
+        builder.insertBoundary(new TestLineSegment(new TestPoint2D(0, -1), new TestPoint2D(0, 0)));
+        builder.insertBoundary(new TestLineSegment(new TestPoint2D(0, 0), new TestPoint2D(-1, 0)));
+
+        // act
+        TestRegionBSPTree tree = builder.build(POOL);
+
+        // assert
+        PartitionTestUtils.assertPointLocations(tree, RegionLocation.INSIDE,
+                new TestPoint2D(1, 1), new TestPoint2D(-1, -1));
+
+        PartitionTestUtils.assertPointLocations(tree, RegionLocation.BOUNDARY,
+                new TestPoint2D(1, 0), new TestPoint2D(-1, 0), new TestPoint2D(0, 1), new TestPoint2D(0, -1));
+
+        PartitionTestUtils.assertPointLocations(tree, RegionLocation.OUTSIDE,
+                new TestPoint2D(-1, 1), new TestPoint2D(1, -1));
+    }
+
+    @Test
+    public void testBuildRegion_parallel_matchesSequential() {
+        // arrange
+        int maxCount = 5;
+
+        List<TestLineSegment> boundaries = Arrays.asList(
+                new TestLineSegment(new TestPoint2D(1, 0), new TestPoint2D(1, 1)),
+                new TestLineSegment(new TestPoint2D(1, 1), new TestPoint2D(3, 1)),
+                new TestLineSegment(new TestPoint2D(3, 1), new TestPoint2D(3, 2)),
+                new TestLineSegment(new TestPoint2D(3, 2), new TestPoint2D(-1, 2)),
+                new TestLineSegment(new TestPoint2D(-1, 2), new TestPoint2D(-1.1, -1)),
+                new TestLineSegment(new TestPoint2D(-1.1, -1), new TestPoint2D(3, -1)),
+                new TestLineSegment(new TestPoint2D(3, -1), new TestPoint2D(3, 0)),
+                new TestLineSegment(new TestPoint2D(3, 0), new TestPoint2D(1, 0))
+            );
+
+        for (int c = 0; c <= maxCount; ++c) {
+            TestRegionBuilder sequentialBuilder = new TestRegionBuilder(new TestRegionBSPTree(false));
+            TestRegionBuilder parallelBuilder = new TestRegionBuilder(new TestRegionBSPTree(false));
+
+            insertGridRecursive(-2, 2, c, sequentialBuilder);
+            insertGridRecursive(-2, 2, c, parallelBuilder);
+
+            for (TestLineSegment boundary : boundaries) {
+                sequentialBuilder.insertBoundary(boundary);
+                parallelBuilder.insertBoundary(boundary);
+            }
+
+            // act
+            TestRegionBSPTree expected = sequentialBuilder.build();
+            TestRegionBSPTree actual = parallelBuilder.build(POOL);
+
+            // assert
+            for (double x = -4; x <= 4; x += 0.25) {
+                for (double y = -4; y <= 4; y += 0.25) {
+                    TestPoint2D pt = new TestPoint2D(x, y);
+                    Assert.assertEquals("Unexpected location for point " + pt,
+                            expected.classify(pt), actual.classify(pt));
+                }
+            }
+        }
+    }
+
     private static void insertGridRecursive(double min, double max, int count, TestRegionBuilder builder) {
         if (count > 0) {
             double center = (0.5 * (max - min)) + min;
@@ -439,6 +525,10 @@ public class AbstractPartitionedRegionBuilderTest {
             return (TestRegionBSPTree) buildInternal();
         }
 
+        public TestRegionBSPTree build(final ForkJoinPool pool) {
+            return (TestRegionBSPTree) buildInternal(pool);
+        }
+
         public void insertPartition(final HyperplaneConvexSubset<TestPoint2D> partition) {
             insertPartitionInternal(partition);
         }
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.Arrays;
+
+import org.apache.commons.geometry.core.GeometryTestUtils;
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.partitioning.test.TestLineSegment;
+import org.apache.commons.geometry.core.partitioning.test.TestPoint2D;
+import org.apache.commons.geometry.core.partitioning.test.TestRegionBSPTree;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AbstractRegionBSPTreeBinaryFormatTest {
+
+    @Test
+    public void testWriteRead() {
+        // arrange
+        final TestRegionBSPTree tree = createSquare(1);
+        final TestRegionBSPTree result = new TestRegionBSPTree(false);
+
+        // act
+        result.read(input(write(tree)));
+
+        // assert
+        Assert.assertEquals(tree.count(), result.count());
+        Assert.assertEquals(RegionLocation.INSIDE, result.classify(new TestPoint2D(0.5, 0.5)));
+        Assert.assertEquals(RegionLocation.BOUNDARY, result.classify(new TestPoint2D(1, 0.5)));
+        Assert.assertEquals(RegionLocation.OUTSIDE, result.classify(new TestPoint2D(2, 0.5)));
+    }
+
+    @Test
+    public void testRead_truncatedInput_treeUnchanged() {
+        // arrange
+        final byte[] bytes = write(createSquare(1));
+        final byte[] truncated = Arrays.copyOf(bytes, bytes.length - 10);
+
+        final TestRegionBSPTree tree = createSquare(2);
+        final int count = tree.count();
+
+        // act
+        GeometryTestUtils.assertThrows(() -> tree.read(input(truncated)), RuntimeException.class);
+
+        // assert
+        Assert.assertEquals(count, tree.count());
+        Assert.assertEquals(RegionLocation.INSIDE, tree.classify(new TestPoint2D(1.5, 1.5)));
+        Assert.assertEquals(RegionLocation.BOUNDARY, tree.classify(new TestPoint2D(2, 1.5)));
+        Assert.assertEquals(RegionLocation.OUTSIDE, tree.classify(new TestPoint2D(2.5, 1.5)));
+    }
+
+    @Test
+    public void testRead_wrongNodeCount_treeUnchanged() {
+        // arrange
+        final byte[] bytes = write(createSquare(1));
+        // node count follows the magic number, version and type
+        bytes[9] += 2;
+
+        final TestRegionBSPTree tree = new TestRegionBSPTree(true);
+        tree.insert(new TestLineSegment(TestPoint2D.ZERO, new TestPoint2D(1, 0)));
+
+        // act
+        GeometryTestUtils.assertThrows(() -> tree.read(input(bytes)),
+                IllegalArgumentException.class, "Input contains 9 nodes but 11 were expected");
+
+        // assert
+        Assert.assertEquals(3, tree.count());
+        Assert.assertEquals(RegionLocation.INSIDE, tree.classify(new TestPoint2D(5, 1)));
+        Assert.assertEquals(RegionLocation.OUTSIDE, tree.classify(new TestPoint2D(5, -1)));
+    }
+
+    private static TestRegionBSPTree createSquare(final double size) {
+        final TestPoint2D lowerRight = new TestPoint2D(size, 0);
+        final TestPoint2D upperRight = new TestPoint2D(size, size);
+        final TestPoint2D upperLeft = new TestPoint2D(0, size);
+
+        final TestRegionBSPTree tree = new TestRegionBSPTree(true);
+        tree.insert(Arrays.asList(
+                new TestLineSegment(TestPoint2D.ZERO, lowerRight),
+                new TestLineSegment(lowerRight, upperRight),
+                new TestLineSegment(upperRight, upperLeft),
+                new TestLineSegment(upperLeft, TestPoint2D.ZERO)));
+
+        return tree;
+    }
+
+    private static byte[] write(final TestRegionBSPTree tree) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        tree.write(new DataOutputStream(bytes));
+
+        return bytes.toByteArray();
+    }
+
+    private static DataInputStream input(final byte[] bytes) {
+        return new DataInputStream(new ByteArrayInputStream(bytes));
+    }
+}
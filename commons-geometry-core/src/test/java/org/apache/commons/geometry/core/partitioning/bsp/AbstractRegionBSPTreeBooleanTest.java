@@ -17,6 +17,7 @@
 package org.apache.commons.geometry.core.partitioning.bsp;
 
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Supplier;
 
 import org.apache.commons.geometry.core.partitioning.test.PartitionTestUtils;
@@ -24,10 +25,14 @@ import org.apache.commons.geometry.core.partitioning.test.TestLine;
 import org.apache.commons.geometry.core.partitioning.test.TestLineSegment;
 import org.apache.commons.geometry.core.partitioning.test.TestPoint2D;
 import org.apache.commons.geometry.core.partitioning.test.TestRegionBSPTree;
+import org.apache.commons.geometry.core.partitioning.test.TestRegionBSPTree.TestRegionNode;
+import org.junit.Assert;
 import org.junit.Test;
 
 public class AbstractRegionBSPTreeBooleanTest {
 
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
     @Test
     public void testUnion_singleNodeTrees() {
         // act/assert
@@ -574,6 +579,177 @@ public class AbstractRegionBSPTreeBooleanTest {
             .check();
     }
 
+    @Test
+    public void testParallelUnion_matchesSequential() {
+        // act/assert
+        checkParallelMerge(
+            (a, b) -> {
+                a.union(b);
+                return a;
+            },
+            (a, b) -> {
+                a.union(b, POOL);
+                return a;
+            });
+
+        checkParallelMerge(
+            (a, b) -> {
+                TestRegionBSPTree result = fullTree();
+                result.union(a, b);
+                return result;
+            },
+            (a, b) -> {
+                TestRegionBSPTree result = fullTree();
+                result.union(a, b, POOL);
+                return result;
+            });
+    }
+
+    @Test
+    public void testParallelIntersection_matchesSequential() {
+        // act/assert
+        checkParallelMerge(
+            (a, b) -> {
+                a.intersection(b);
+                return a;
+            },
+            (a, b) -> {
+                a.intersection(b, POOL);
+                return a;
+            });
+
+        checkParallelMerge(
+            (a, b) -> {
+                TestRegionBSPTree result = fullTree();
+                result.intersection(a, b);
+                return result;
+            },
+            (a, b) -> {
+                TestRegionBSPTree result = fullTree();
+                result.intersection(a, b, POOL);
+                return result;
+            });
+    }
+
+    @Test
+    public void testParallelDifference_matchesSequential() {
+        // act/assert
+        checkParallelMerge(
+            (a, b) -> {
+                a.difference(b);
+                return a;
+            },
+            (a, b) -> {
+                a.difference(b, POOL);
+                return a;
+            });
+
+        checkParallelMerge(
+            (a, b) -> {
+                TestRegionBSPTree result = fullTree();
+                result.difference(a, b);
+                return result;
+            },
+            (a, b) -> {
+                TestRegionBSPTree result = fullTree();
+                result.difference(a, b, POOL);
+                return result;
+            });
+    }
+
+    @Test
+    public void testParallelXor_matchesSequential() {
+        // act/assert
+        checkParallelMerge(
+            (a, b) -> {
+                a.xor(b);
+                return a;
+            },
+            (a, b) -> {
+                a.xor(b, POOL);
+                return a;
+            });
+
+        checkParallelMerge(
+            (a, b) -> {
+                TestRegionBSPTree result = fullTree();
+                result.xor(a, b);
+                return result;
+            },
+            (a, b) -> {
+                TestRegionBSPTree result = fullTree();
+                result.xor(a, b, POOL);
+                return result;
+            });
+    }
+
+    @Test
+    public void testParallelUnion_sameTree() {
+        // arrange
+        TestRegionBSPTree tree = gridTree(0, 1);
+        int count = tree.count();
+
+        // act
+        tree.union(tree, POOL);
+
+        // assert
+        PartitionTestUtils.assertTreeStructure(tree);
+        Assert.assertEquals(count, tree.count());
+    }
+
+    private static void checkParallelMerge(final MergeChecker.Operation sequential,
+            final MergeChecker.Operation parallel) {
+        // arrange
+        TestRegionBSPTree expectedA = gridTree(0, 1);
+        TestRegionBSPTree expectedB = gridTree(0.5, -1);
+
+        TestRegionBSPTree actualA = gridTree(0, 1);
+        TestRegionBSPTree actualB = gridTree(0.5, -1);
+
+        Assert.assertTrue(actualA.count() > 2000);
+
+        // act
+        TestRegionBSPTree expected = sequential.apply(expectedA, expectedB);
+        TestRegionBSPTree actual = parallel.apply(actualA, actualB);
+
+        // assert
+        PartitionTestUtils.assertTreeStructure(actualA);
+        PartitionTestUtils.assertTreeStructure(actualB);
+        PartitionTestUtils.assertTreeStructure(actual);
+
+        Assert.assertEquals(expectedB.count(), actualB.count());
+        assertSameStructure(expected.getRoot(), actual.getRoot());
+    }
+
+    private static void assertSameStructure(final TestRegionNode expected, final TestRegionNode actual) {
+        Assert.assertEquals(expected.isLeaf(), actual.isLeaf());
+        if (expected.isLeaf()) {
+            Assert.assertEquals(expected.getLocation(), actual.getLocation());
+        } else {
+            Assert.assertEquals(expected.getCut().toString(), actual.getCut().toString());
+
+            assertSameStructure(expected.getMinus(), actual.getMinus());
+            assertSameStructure(expected.getPlus(), actual.getPlus());
+        }
+    }
+
+    /** Create a tree by inserting a grid of horizontal and vertical segments.
+     * @param offset offset of the grid lines from the integer coordinates
+     * @param dir value controlling the orientation of the inserted segments
+     * @return a tree with several thousand nodes
+     */
+    private static TestRegionBSPTree gridTree(final double offset, final double dir) {
+        final TestRegionBSPTree tree = fullTree();
+        final double max = 50;
+        for (int i = -15; i <= 15; ++i) {
+            final double v = i + offset;
+            tree.insert(new TestLineSegment(new TestPoint2D(-dir * max, v), new TestPoint2D(dir * max, v)));
+            tree.insert(new TestLineSegment(new TestPoint2D(v, dir * max), new TestPoint2D(v, -dir * max)));
+        }
+
+        return tree;
+    }
+
     private static TestRegionBSPTree emptyTree() {
         return new TestRegionBSPTree(false);
     }
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+import java.util.Arrays;
+
+import org.apache.commons.geometry.core.partitioning.test.PartitionTestUtils;
+import org.apache.commons.geometry.core.partitioning.test.TestBSPTree;
+import org.apache.commons.geometry.core.partitioning.test.TestLineSegment;
+import org.apache.commons.geometry.core.partitioning.test.TestPoint2D;
+import org.apache.commons.geometry.core.partitioning.test.TestRegionBSPTree;
+import org.apache.commons.geometry.core.partitioning.test.TestRegionBSPTree.TestRegionNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AbstractRegionBSPTreeCompactModeTest {
+
+    @Test
+    public void testCompactMode() {
+        // arrange
+        TestBSPTree tree = new TestBSPTree();
+        tree.insert(new TestLineSegment(TestPoint2D.ZERO, new TestPoint2D(1, 0)));
+
+        // act/assert
+        Assert.assertFalse(tree.isCompactMode());
+
+        tree.setCompactMode(true);
+        Assert.assertTrue(tree.isCompactMode());
+        Assert.assertEquals(3, tree.count());
+        Assert.assertEquals(1, tree.height());
+
+        TestBSPTree copy = new TestBSPTree();
+        copy.copy(tree);
+        Assert.assertFalse(copy.isCompactMode());
+
+        tree.setCompactMode(false);
+        Assert.assertFalse(tree.isCompactMode());
+    }
+
+    @Test
+    public void testCompactMode_sameResults() {
+        // arrange
+        TestRegionBSPTree tree = fullTree();
+        insertBox(tree, new TestPoint2D(0, 2), new TestPoint2D(2, 0));
+
+        TestRegionBSPTree other = fullTree();
+        insertBox(other, new TestPoint2D(1, 3), new TestPoint2D(3, 1));
+
+        tree.union(other);
+
+        TestRegionBSPTree expected = fullTree();
+        expected.copy(tree);
+
+        // act
+        tree.setCompactMode(true);
+
+        // assert
+        Assert.assertEquals(expected.getBoundarySize(), tree.getBoundarySize(), PartitionTestUtils.EPS);
+        Assert.assertEquals(expected.getSize(), tree.getSize(), PartitionTestUtils.EPS);
+        Assert.assertEquals(expected.isEmpty(), tree.isEmpty());
+        Assert.assertEquals(expected.isFull(), tree.isFull());
+        Assert.assertEquals(expected.getBoundaries().size(), tree.getBoundaries().size());
+        Assert.assertEquals(expected.count(), tree.count());
+        Assert.assertEquals(expected.height(), tree.height());
+    }
+
+    @Test
+    public void testCompactMode_cutBoundaryNotCached() {
+        // arrange
+        TestRegionBSPTree tree = fullTree();
+        insertBox(tree, new TestPoint2D(0, 1), new TestPoint2D(1, 0));
+
+        TestRegionNode rootNode = tree.getRoot();
+        RegionCutBoundary<TestPoint2D> cached = rootNode.getCutBoundary();
+
+        // act
+        tree.setCompactMode(true);
+
+        // assert
+        RegionCutBoundary<TestPoint2D> first = rootNode.getCutBoundary();
+        RegionCutBoundary<TestPoint2D> second = rootNode.getCutBoundary();
+
+        Assert.assertNotSame(cached, first);
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(cached.getSize(), first.getSize(), PartitionTestUtils.EPS);
+
+        tree.setCompactMode(false);
+
+        RegionCutBoundary<TestPoint2D> third = rootNode.getCutBoundary();
+        Assert.assertSame(third, rootNode.getCutBoundary());
+    }
+
+    @Test
+    public void testCompactMode_recomputesAfterChange() {
+        // arrange
+        TestRegionBSPTree tree = fullTree();
+        insertBox(tree, new TestPoint2D(2, 2), new TestPoint2D(4, 1));
+        tree.setCompactMode(true);
+
+        // act
+        double before = tree.getBoundarySize();
+
+        tree.insert(new TestLineSegment(new TestPoint2D(3, 1), new TestPoint2D(3, 2)));
+
+        double after = tree.getBoundarySize();
+
+        // assert
+        Assert.assertEquals(6.0, before, PartitionTestUtils.EPS);
+        Assert.assertEquals(4.0, after, PartitionTestUtils.EPS);
+    }
+
+    private static void insertBox(final TestRegionBSPTree tree, final TestPoint2D upperLeft,
+            final TestPoint2D lowerRight) {
+        final TestPoint2D upperRight = new TestPoint2D(lowerRight.getX(), upperLeft.getY());
+        final TestPoint2D lowerLeft = new TestPoint2D(upperLeft.getX(), lowerRight.getY());
+
+        tree.insert(Arrays.asList(
+                    new TestLineSegment(lowerRight, upperRight),
+                    new TestLineSegment(upperRight, upperLeft),
+                    new TestLineSegment(upperLeft, lowerLeft),
+                    new TestLineSegment(lowerLeft, lowerRight)
+                ));
+    }
+
+    private static TestRegionBSPTree fullTree() {
+        return new TestRegionBSPTree(true);
+    }
+}
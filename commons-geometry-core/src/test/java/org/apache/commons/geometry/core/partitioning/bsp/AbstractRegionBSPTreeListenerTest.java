@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.partitioning.Split;
+import org.apache.commons.geometry.core.partitioning.test.PartitionTestUtils;
+import org.apache.commons.geometry.core.partitioning.test.TestLine;
+import org.apache.commons.geometry.core.partitioning.test.TestLineSegment;
+import org.apache.commons.geometry.core.partitioning.test.TestPoint2D;
+import org.apache.commons.geometry.core.partitioning.test.TestRegionBSPTree;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AbstractRegionBSPTreeListenerTest {
+
+    private TestRegionBSPTree tree;
+
+    @Before
+    public void setup() {
+        tree = new TestRegionBSPTree();
+    }
+
+    @Test
+    public void testListener_insert() {
+        // arrange
+        List<BSPTreeOperationMetrics> metrics = new ArrayList<>();
+
+        tree = emptyTree();
+        tree.setListener(metrics::add);
+
+        // act
+        insertBox(tree, new TestPoint2D(0, 1), new TestPoint2D(1, 0));
+
+        // assert
+        Assert.assertEquals(1, metrics.size());
+
+        BSPTreeOperationMetrics insert = metrics.get(0);
+        Assert.assertEquals(BSPTreeOperation.INSERT, insert.getOperation());
+        Assert.assertTrue(insert.getDurationNanos() >= 0);
+        Assert.assertEquals(4, insert.getCutsInserted());
+        Assert.assertEquals(0, insert.getFragmentsCreated());
+        Assert.assertEquals(0, insert.getNodesSplit());
+        Assert.assertEquals(0, insert.getLeafMerges());
+        Assert.assertEquals(0, insert.getNodesCondensed());
+    }
+
+    @Test
+    public void testListener_insertFragments() {
+        // arrange
+        List<BSPTreeOperationMetrics> metrics = new ArrayList<>();
+
+        tree = emptyTree();
+        tree.insert(TestLine.Y_AXIS.span());
+        tree.setListener(metrics::add);
+
+        // act
+        tree.insert(TestLine.X_AXIS.span());
+
+        // assert
+        Assert.assertEquals(1, metrics.size());
+
+        BSPTreeOperationMetrics insert = metrics.get(0);
+        Assert.assertEquals(BSPTreeOperation.INSERT, insert.getOperation());
+        Assert.assertEquals(2, insert.getCutsInserted());
+        Assert.assertEquals(1, insert.getFragmentsCreated());
+    }
+
+    @Test
+    public void testListener_booleanOperation() {
+        // arrange
+        List<BSPTreeOperationMetrics> metrics = new ArrayList<>();
+
+        TestRegionBSPTree other = emptyTree();
+        insertBox(other, new TestPoint2D(0.5, 1), new TestPoint2D(1.5, 0));
+
+        tree = emptyTree();
+        insertBox(tree, new TestPoint2D(0, 1), new TestPoint2D(1, 0));
+        tree.setListener(metrics::add);
+
+        // act
+        tree.union(other);
+
+        // assert
+        Assert.assertEquals(1, metrics.size());
+
+        BSPTreeOperationMetrics union = metrics.get(0);
+        Assert.assertEquals(BSPTreeOperation.UNION, union.getOperation());
+        Assert.assertEquals(0, union.getCutsInserted());
+        Assert.assertTrue(union.getNodesSplit() > 0);
+        Assert.assertTrue(union.getLeafMerges() > 0);
+
+        PartitionTestUtils.assertPointLocations(tree, RegionLocation.INSIDE,
+                new TestPoint2D(0.25, 0.5), new TestPoint2D(1.25, 0.5));
+    }
+
+    @Test
+    public void testListener_split() {
+        // arrange
+        List<BSPTreeOperationMetrics> metrics = new ArrayList<>();
+
+        insertBox(tree, new TestPoint2D(0, 1), new TestPoint2D(1, 0));
+        tree.setListener(metrics::add);
+
+        TestLine splitter = new TestLine(new TestPoint2D(1, 0), new TestPoint2D(0, 1));
+
+        // act
+        Split<TestRegionBSPTree> split = tree.split(splitter);
+
+        // assert
+        Assert.assertEquals(1, metrics.size());
+
+        BSPTreeOperationMetrics splitMetrics = metrics.get(0);
+        Assert.assertEquals(BSPTreeOperation.SPLIT, splitMetrics.getOperation());
+        Assert.assertTrue(splitMetrics.getNodesSplit() > 0);
+        Assert.assertTrue(splitMetrics.getNodesSplit() <= tree.count());
+
+        Assert.assertNull(split.getMinus().getListener());
+        Assert.assertNull(split.getPlus().getListener());
+    }
+
+    @Test
+    public void testListener_condense() {
+        // arrange
+        List<BSPTreeOperationMetrics> metrics = new ArrayList<>();
+
+        tree = emptyTree();
+        tree.insert(TestLine.Y_AXIS.span(), RegionCutRule.MINUS_INSIDE);
+        tree.insert(TestLine.X_AXIS.span(), RegionCutRule.INHERIT);
+        tree.setListener(metrics::add);
+
+        // act
+        tree.condense();
+
+        // assert
+        Assert.assertEquals(1, metrics.size());
+
+        BSPTreeOperationMetrics condense = metrics.get(0);
+        Assert.assertEquals(BSPTreeOperation.CONDENSE, condense.getOperation());
+        Assert.assertEquals(2, condense.getNodesCondensed());
+    }
+
+    @Test
+    public void testListener_removed() {
+        // arrange
+        List<BSPTreeOperationMetrics> metrics = new ArrayList<>();
+        BSPTreeListener listener = metrics::add;
+
+        // act/assert
+        Assert.assertNull(tree.getListener());
+
+        tree.setListener(listener);
+        Assert.assertSame(listener, tree.getListener());
+
+        tree.setListener(null);
+        Assert.assertNull(tree.getListener());
+
+        insertBox(tree, new TestPoint2D(0, 1), new TestPoint2D(1, 0));
+        tree.complement();
+
+        Assert.assertEquals(0, metrics.size());
+    }
+
+    private static void insertBox(final TestRegionBSPTree tree, final TestPoint2D upperLeft,
+            final TestPoint2D lowerRight) {
+        final TestPoint2D upperRight = new TestPoint2D(lowerRight.getX(), upperLeft.getY());
+        final TestPoint2D lowerLeft = new TestPoint2D(upperLeft.getX(), lowerRight.getY());
+
+        tree.insert(Arrays.asList(
+                    new TestLineSegment(lowerRight, upperRight),
+                    new TestLineSegment(upperRight, upperLeft),
+                    new TestLineSegment(upperLeft, lowerLeft),
+                    new TestLineSegment(lowerLeft, lowerRight)
+                ));
+    }
+
+    private static TestRegionBSPTree emptyTree() {
+        return new TestRegionBSPTree(false);
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.partitioning.HyperplaneConvexSubset;
+import org.apache.commons.geometry.core.partitioning.test.PartitionTestUtils;
+import org.apache.commons.geometry.core.partitioning.test.TestLine;
+import org.apache.commons.geometry.core.partitioning.test.TestLineSegment;
+import org.apache.commons.geometry.core.partitioning.test.TestPoint2D;
+import org.apache.commons.geometry.core.partitioning.test.TestRegionBSPTree;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AbstractRegionBSPTreeSplitAllTest {
+
+    private TestRegionBSPTree tree;
+
+    @Before
+    public void setup() {
+        tree = new TestRegionBSPTree();
+    }
+
+    @Test
+    public void testSplitAll_boxGrid() {
+        // arrange
+        insertBoxGrid(tree, 8);
+
+        List<TestLine> splitters = new ArrayList<>();
+        for (int i = 0; i < 8; ++i) {
+            double x = (3 * i) + 0.5;
+            splitters.add(new TestLine(new TestPoint2D(x, 0), new TestPoint2D(x, 1)));
+        }
+
+        // act
+        List<TestRegionBSPTree> result = tree.splitAll(splitters);
+
+        // assert
+        Assert.assertEquals(9, result.size());
+
+        PartitionTestUtils.assertPointLocations(result.get(0), RegionLocation.INSIDE, new TestPoint2D(0.25, 0.5));
+        PartitionTestUtils.assertPointLocations(result.get(0), RegionLocation.BOUNDARY, new TestPoint2D(0.5, 0.5));
+        PartitionTestUtils.assertPointLocations(result.get(0), RegionLocation.OUTSIDE, new TestPoint2D(0.75, 0.5));
+
+        for (int i = 1; i < 8; ++i) {
+            TestRegionBSPTree slab = result.get(i);
+            double x = 3 * i;
+
+            PartitionTestUtils.assertPointLocations(slab, RegionLocation.INSIDE,
+                    new TestPoint2D(x - 2.25, 0.5), new TestPoint2D(x - 2.25, 3.5), new TestPoint2D(x + 0.25, 0.5));
+            PartitionTestUtils.assertPointLocations(slab, RegionLocation.BOUNDARY,
+                    new TestPoint2D(x - 2.5, 0.5), new TestPoint2D(x + 0.5, 0.5));
+            PartitionTestUtils.assertPointLocations(slab, RegionLocation.OUTSIDE,
+                    new TestPoint2D(x - 2.75, 0.5), new TestPoint2D(x - 1.5, 0.5), new TestPoint2D(x + 0.75, 0.5));
+        }
+
+        PartitionTestUtils.assertPointLocations(result.get(8), RegionLocation.INSIDE, new TestPoint2D(21.75, 0.5));
+        PartitionTestUtils.assertPointLocations(result.get(8), RegionLocation.BOUNDARY, new TestPoint2D(21.5, 0.5));
+        PartitionTestUtils.assertPointLocations(result.get(8), RegionLocation.OUTSIDE, new TestPoint2D(21.25, 0.5));
+
+        Assert.assertEquals(8 * 8 * 4, tree.getBoundaries().size());
+    }
+
+    @Test
+    public void testSplitAll_emptyPortions() {
+        // arrange
+        insertBox(tree, new TestPoint2D(0, 1), new TestPoint2D(1, 0));
+
+        List<TestLine> splitters = Arrays.asList(
+                new TestLine(new TestPoint2D(-2, 0), new TestPoint2D(-2, 1)),
+                new TestLine(new TestPoint2D(-1, 0), new TestPoint2D(-1, 1)),
+                new TestLine(new TestPoint2D(2, 0), new TestPoint2D(2, 1)));
+
+        // act
+        List<TestRegionBSPTree> result = tree.splitAll(splitters);
+
+        // assert
+        Assert.assertEquals(4, result.size());
+        Assert.assertNull(result.get(0));
+        Assert.assertNull(result.get(1));
+        Assert.assertNull(result.get(3));
+
+        PartitionTestUtils.assertPointLocations(result.get(2), RegionLocation.INSIDE, new TestPoint2D(0.5, 0.5));
+        PartitionTestUtils.assertPointLocations(result.get(2), RegionLocation.BOUNDARY,
+                new TestPoint2D(0.5, 0), new TestPoint2D(0, 0.5),
+                new TestPoint2D(1, 0.5), new TestPoint2D(0.5, 1));
+    }
+
+    @Test
+    public void testSplitAll_noSplitters() {
+        // arrange
+        insertBox(tree, new TestPoint2D(0, 1), new TestPoint2D(1, 0));
+
+        // act
+        List<TestRegionBSPTree> result = tree.splitAll(new ArrayList<>());
+        List<TestRegionBSPTree> emptyResult = emptyTree().splitAll(new ArrayList<>());
+
+        // assert
+        Assert.assertEquals(1, result.size());
+        Assert.assertNotSame(tree, result.get(0));
+        Assert.assertEquals(segmentStrings(tree.getBoundaries()), segmentStrings(result.get(0).getBoundaries()));
+
+        Assert.assertEquals(1, emptyResult.size());
+        Assert.assertNull(emptyResult.get(0));
+    }
+
+    @Test
+    public void testSplitAll_pool() {
+        // arrange
+        ForkJoinPool pool = new ForkJoinPool(4);
+        insertBoxGrid(tree, 8);
+
+        List<TestLine> splitters = new ArrayList<>();
+        for (int i = -1; i < 30; ++i) {
+            double y = i * 0.75;
+            splitters.add(new TestLine(new TestPoint2D(1, y), new TestPoint2D(0, y)));
+        }
+
+        // act
+        List<TestRegionBSPTree> expected = tree.splitAll(splitters);
+        List<TestRegionBSPTree> result = tree.splitAll(splitters, pool);
+
+        // assert
+        Assert.assertEquals(expected.size(), result.size());
+        for (int i = 0; i < expected.size(); ++i) {
+            if (expected.get(i) == null) {
+                Assert.assertNull(result.get(i));
+            } else {
+                Assert.assertEquals(segmentStrings(expected.get(i).getBoundaries()),
+                        segmentStrings(result.get(i).getBoundaries()));
+            }
+        }
+
+        Assert.assertNull(result.get(0));
+        Assert.assertNull(result.get(1));
+        Assert.assertNotNull(result.get(2));
+
+        pool.shutdown();
+    }
+
+    private static void insertBox(final TestRegionBSPTree tree, final TestPoint2D upperLeft,
+            final TestPoint2D lowerRight) {
+        final TestPoint2D upperRight = new TestPoint2D(lowerRight.getX(), upperLeft.getY());
+        final TestPoint2D lowerLeft = new TestPoint2D(upperLeft.getX(), lowerRight.getY());
+
+        tree.insert(Arrays.asList(
+                    new TestLineSegment(lowerRight, upperRight),
+                    new TestLineSegment(upperRight, upperLeft),
+                    new TestLineSegment(upperLeft, lowerLeft),
+                    new TestLineSegment(lowerLeft, lowerRight)
+                ));
+    }
+
+    private static void insertBoxGrid(final TestRegionBSPTree tree, final int size) {
+        for (int x = 0; x < size; ++x) {
+            for (int y = 0; y < size; ++y) {
+                insertBox(tree, new TestPoint2D(3 * x, (3 * y) + 1), new TestPoint2D((3 * x) + 1, 3 * y));
+            }
+        }
+    }
+
+    private static List<String> segmentStrings(final List<? extends HyperplaneConvexSubset<TestPoint2D>> subsets) {
+        return subsets.stream()
+                .map(s -> {
+                    TestLineSegment seg = (TestLineSegment) s;
+                    return seg.getStartPoint() + " - " + seg.getEndPoint();
+                })
+                .collect(Collectors.toList());
+    }
+
+    private static TestRegionBSPTree emptyTree() {
+        return new TestRegionBSPTree(false);
+    }
+}
@@ -19,8 +19,11 @@ package org.apache.commons.geometry.core.partitioning.bsp;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.apache.commons.geometry.core.GeometryTestUtils;
 import org.apache.commons.geometry.core.RegionLocation;
@@ -44,6 +47,9 @@ import org.junit.Test;
 
 public class AbstractRegionBSPTreeTest {
 
+    /** Depth of degenerate trees used to check that operations are not limited by the thread stack size. */
+    private static final int DEEP_TREE_DEPTH = 100_000;
+
     private TestRegionBSPTree tree;
 
     private TestRegionNode root;
@@ -473,6 +479,123 @@ public class AbstractRegionBSPTreeTest {
         assertContainsSegment(segments, new TestPoint2D(1, 0), new TestPoint2D(0, 0));
     }
 
+    @Test
+    public void testBoundaryStream_fullAndEmpty() {
+        // act/assert
+        tree.setFull();
+        Assert.assertEquals(0, tree.boundaryStream(false).count());
+        Assert.assertEquals(0, tree.boundaryStream(true).count());
+
+        tree.setEmpty();
+        Assert.assertEquals(0, tree.boundaryStream(false).count());
+        Assert.assertEquals(0, tree.boundaryStream(true).count());
+    }
+
+    @Test
+    public void testBoundaryStream_matchesBoundaries() {
+        // arrange
+        insertBoxGrid(tree, 8);
+
+        List<String> expected = segmentStrings(tree.getBoundaries());
+
+        // act
+        List<String> sequential = segmentStrings(tree.boundaryStream(false).collect(Collectors.toList()));
+        List<String> parallel = segmentStrings(tree.boundaryStream(true).collect(Collectors.toList()));
+
+        // assert
+        Assert.assertEquals(8 * 8 * 4, expected.size());
+        Assert.assertEquals(expected, sequential);
+        Assert.assertEquals(expected, parallel);
+    }
+
+    @Test
+    public void testBoundaryStream_parallel_cachesCutBoundaries() {
+        // arrange
+        insertBoxGrid(tree, 6);
+
+        // act
+        long count = tree.boundaryStream(true).count();
+
+        // assert
+        Assert.assertEquals(6 * 6 * 4, count);
+        for (TestRegionNode node : tree.nodes()) {
+            if (node.isInternal()) {
+                Assert.assertSame(node.getCutBoundary(), node.getCutBoundary());
+            }
+        }
+        Assert.assertEquals(segmentStrings(tree.getBoundaries()),
+                segmentStrings(tree.boundaryStream(true).collect(Collectors.toList())));
+    }
+
+    @Test
+    public void testBoundaryStream_parallel_compactMode() {
+        // arrange
+        insertBoxGrid(tree, 6);
+        tree.setCompactMode(true);
+
+        List<String> expected = segmentStrings(tree.getBoundaries());
+
+        // act
+        List<String> parallel = segmentStrings(tree.boundaryStream(true).collect(Collectors.toList()));
+
+        // assert
+        Assert.assertEquals(expected, parallel);
+    }
+
+    @Test
+    public void testBoundaryStream_spliterator() {
+        // arrange
+        insertBoxGrid(tree, 4);
+
+        List<String> expected = segmentStrings(tree.getBoundaries());
+
+        Spliterator<TestLineSegment> suffix = tree.boundaryStream(false).spliterator();
+
+        // act
+        List<TestLineSegment> first = new ArrayList<>();
+        suffix.tryAdvance(first::add);
+
+        Spliterator<TestLineSegment> prefix = suffix.trySplit();
+        Spliterator<TestLineSegment> prefixPrefix = prefix.trySplit();
+
+        // assert
+        Assert.assertTrue(suffix.hasCharacteristics(Spliterator.ORDERED));
+        Assert.assertTrue(suffix.hasCharacteristics(Spliterator.NONNULL));
+
+        List<TestLineSegment> result = new ArrayList<>(first);
+        prefixPrefix.forEachRemaining(result::add);
+        prefix.forEachRemaining(result::add);
+        suffix.forEachRemaining(result::add);
+
+        Assert.assertEquals(expected, segmentStrings(result));
+    }
+
+    @Test
+    public void testBoundaryStream_spliterator_leafRoot() {
+        // act
+        Spliterator<TestLineSegment> spliterator = tree.boundaryStream(false).spliterator();
+
+        // assert
+        Assert.assertNull(spliterator.trySplit());
+        Assert.assertFalse(spliterator.tryAdvance(seg -> Assert.fail("Unexpected boundary")));
+        Assert.assertNull(spliterator.trySplit());
+    }
+
+    @Test
+    public void testGetBoundaries_pool() {
+        // arrange
+        ForkJoinPool pool = new ForkJoinPool(4);
+        insertBoxGrid(tree, 8);
+
+        // act
+        List<TestLineSegment> result = tree.getBoundaries(pool);
+
+        // assert
+        Assert.assertEquals(segmentStrings(tree.getBoundaries()), segmentStrings(result));
+
+        pool.shutdown();
+    }
+
     @Test
     public void testGetBoundaries_fullAndEmpty() {
         // act/assert
@@ -737,6 +860,101 @@ public class AbstractRegionBSPTreeTest {
         Assert.assertEquals(4.0, third, PartitionTestUtils.EPS);
     }
 
+    @Test
+    public void testSubtreeValues_reusedForUnmodifiedSubtrees() {
+        // arrange
+        tree.insert(TestLine.Y_AXIS.span(), RegionCutRule.INHERIT);
+        insertBox(tree, new TestPoint2D(-3, 2), new TestPoint2D(-1, 1));
+        insertBox(tree, new TestPoint2D(1, 2), new TestPoint2D(3, 1));
+
+        TestRegionNode minus = root.getMinus();
+        TestRegionNode plus = root.getPlus();
+
+        Assert.assertEquals(12.0, tree.getBoundarySize(), PartitionTestUtils.EPS);
+
+        List<RegionCutBoundary<TestPoint2D>> plusBoundaries = getCutBoundaries(plus);
+        RegionCutBoundary<TestPoint2D> minusBoundary = minus.getCutBoundary();
+        RegionCutBoundary<TestPoint2D> rootBoundary = root.getCutBoundary();
+
+        // act
+        tree.insert(new TestLineSegment(new TestPoint2D(-2, 1), new TestPoint2D(-2, 2)));
+
+        // assert
+        Assert.assertEquals(plusBoundaries, getCutBoundaries(plus));
+        for (int i = 0; i < plusBoundaries.size(); ++i) {
+            Assert.assertSame(plusBoundaries.get(i), getCutBoundaries(plus).get(i));
+        }
+
+        Assert.assertNotSame(minusBoundary, minus.getCutBoundary());
+        Assert.assertNotSame(rootBoundary, root.getCutBoundary());
+
+        TestRegionBSPTree expected = fullTree();
+        expected.copy(tree);
+
+        Assert.assertEquals(10.0, tree.getBoundarySize(), PartitionTestUtils.EPS);
+        Assert.assertEquals(expected.getBoundarySize(), tree.getBoundarySize(), PartitionTestUtils.EPS);
+    }
+
+    @Test
+    public void testSubtreeValues_locationChange() {
+        // arrange
+        tree = emptyTree();
+        tree.getRoot().cut(TestLine.X_AXIS);
+
+        TestRegionNode minus = tree.getRoot().getMinus();
+
+        Assert.assertFalse(tree.isEmpty());
+        Assert.assertFalse(tree.isFull());
+        Assert.assertEquals(Double.POSITIVE_INFINITY, tree.getBoundarySize(), 0.0);
+
+        // act
+        minus.setLocation(RegionLocation.OUTSIDE);
+
+        // assert
+        Assert.assertTrue(tree.isEmpty());
+        Assert.assertFalse(tree.isFull());
+        Assert.assertEquals(0.0, tree.getBoundarySize(), 0.0);
+
+        // act
+        minus.setLocation(RegionLocation.INSIDE);
+
+        // assert
+        Assert.assertFalse(tree.isEmpty());
+        Assert.assertEquals(Double.POSITIVE_INFINITY, tree.getBoundarySize(), 0.0);
+    }
+
+    @Test
+    public void testSubtreeValues_booleanOperation() {
+        // arrange
+        tree.insert(TestLine.Y_AXIS.span(), RegionCutRule.INHERIT);
+        insertBox(tree, new TestPoint2D(-3, 2), new TestPoint2D(-1, 1));
+        insertBox(tree, new TestPoint2D(1, 2), new TestPoint2D(3, 1));
+
+        TestRegionBSPTree other = emptyTree();
+        insertBox(other, new TestPoint2D(-2, 3), new TestPoint2D(-1, 0));
+
+        TestRegionNode plus = root.getPlus();
+        List<RegionCutBoundary<TestPoint2D>> plusBoundaries = getCutBoundaries(plus);
+
+        // act
+        tree.difference(other);
+
+        // assert
+        TestRegionBSPTree expected = fullTree();
+        expected.copy(tree);
+
+        Assert.assertEquals(expected.getBoundarySize(), tree.getBoundarySize(), PartitionTestUtils.EPS);
+        Assert.assertEquals(10.0, tree.getBoundarySize(), PartitionTestUtils.EPS);
+
+        // the subtree on the plus side of the root does not intersect the other region and
+        // is reused directly in the result
+        Assert.assertSame(plus, tree.getRoot().getPlus());
+        List<RegionCutBoundary<TestPoint2D>> resultBoundaries = getCutBoundaries(plus);
+        for (int i = 0; i < plusBoundaries.size(); ++i) {
+            Assert.assertSame(plusBoundaries.get(i), resultBoundaries.get(i));
+        }
+    }
+
     @Test
     public void testGetCutBoundary_emptyTree() {
         // act
@@ -1280,6 +1498,25 @@ public class AbstractRegionBSPTreeTest {
         Assert.assertEquals(origLocations, copyLocations);
     }
 
+    @Test
+    public void testUnion_resultIndependentOfUnchangedInput() {
+        // arrange
+        TestRegionBSPTree other = emptyTree();
+        insertBox(other, new TestPoint2D(0, 1), new TestPoint2D(1, 0));
+
+        tree = emptyTree();
+
+        // act
+        tree.union(other);
+
+        other.complement();
+
+        // assert
+        Assert.assertEquals(4.0, tree.getBoundarySize(), PartitionTestUtils.EPS);
+        Assert.assertEquals(RegionLocation.INSIDE, tree.classify(new TestPoint2D(0.5, 0.5)));
+        Assert.assertEquals(RegionLocation.OUTSIDE, other.classify(new TestPoint2D(0.5, 0.5)));
+    }
+
     @Test
     public void testExtract() {
         // arrange
@@ -1375,6 +1612,21 @@ public class AbstractRegionBSPTreeTest {
         PartitionTestUtils.assertPointsEqual(new TestPoint2D(0.5, 1), tree.project(new TestPoint2D(0.5, 3)));
     }
 
+    @Test
+    public void testProject_emptyCutBoundary() {
+        // arrange
+        tree.getRoot().cut(TestLine.X_AXIS);
+        tree.getRoot().getPlus().cut(TestLine.Y_AXIS);
+        tree.getRoot().getMinus().cut(TestLine.Y_AXIS);
+
+        tree.getRoot().getPlus().getMinus().setLocation(RegionLocation.OUTSIDE);
+        tree.getRoot().getMinus().getPlus().setLocation(RegionLocation.INSIDE);
+
+        // act/assert
+        PartitionTestUtils.assertPointsEqual(new TestPoint2D(1, 0), tree.project(new TestPoint2D(1, 5)));
+        PartitionTestUtils.assertPointsEqual(new TestPoint2D(1, 0), tree.project(new TestPoint2D(1, -5)));
+    }
+
     @Test
     public void testSplit_empty() {
         // arrange
@@ -1527,6 +1779,90 @@ public class AbstractRegionBSPTreeTest {
         Assert.assertTrue(tree.getRoot().toString().contains("TestRegionNode"));
     }
 
+    @Test
+    public void testDeepTree_classifyAndVisit() {
+        // arrange
+        int depth = DEEP_TREE_DEPTH;
+        createDeepTree(tree, depth);
+
+        int[] visitCount = {0};
+
+        // act
+        tree.accept(node -> {
+            ++visitCount[0];
+            return BSPTreeVisitor.Result.CONTINUE;
+        });
+
+        // assert
+        Assert.assertEquals((2 * depth) + 1, visitCount[0]);
+        Assert.assertEquals((2 * depth) + 1, tree.count());
+        Assert.assertEquals(depth, tree.height());
+        Assert.assertEquals(depth, tree.findNode(new TestPoint2D(0, depth)).depth());
+
+        Assert.assertEquals(RegionLocation.INSIDE, tree.classify(new TestPoint2D(0, depth)));
+        Assert.assertEquals(RegionLocation.BOUNDARY, tree.classify(new TestPoint2D(0, depth - 1)));
+        Assert.assertEquals(RegionLocation.OUTSIDE, tree.classify(new TestPoint2D(0, depth - 1.5)));
+        Assert.assertEquals(RegionLocation.OUTSIDE, tree.classify(new TestPoint2D(0, -1)));
+
+        Assert.assertFalse(tree.isEmpty());
+        Assert.assertFalse(tree.isFull());
+    }
+
+    @Test
+    public void testDeepTree_modify() {
+        // arrange
+        int depth = DEEP_TREE_DEPTH;
+        createDeepTree(tree, depth);
+
+        // act/assert
+        TestRegionBSPTree copy = fullTree();
+        copy.copy(tree);
+        Assert.assertEquals((2 * depth) + 1, copy.count());
+        Assert.assertEquals(RegionLocation.INSIDE, copy.classify(new TestPoint2D(0, depth)));
+
+        copy.complement();
+        Assert.assertEquals(RegionLocation.OUTSIDE, copy.classify(new TestPoint2D(0, depth)));
+        Assert.assertEquals(RegionLocation.INSIDE, copy.classify(new TestPoint2D(0, -1)));
+
+        copy.transform(new TestTransform2D(p -> new TestPoint2D(p.getX(), p.getY() + 1)));
+        Assert.assertEquals(RegionLocation.BOUNDARY, copy.classify(new TestPoint2D(0, depth)));
+
+        Split<TestRegionBSPTree> split = tree.split(TestLine.Y_AXIS);
+        PartitionTestUtils.assertPointLocations(split.getMinus(), RegionLocation.INSIDE, new TestPoint2D(-1, depth));
+        PartitionTestUtils.assertPointLocations(split.getMinus(), RegionLocation.OUTSIDE, new TestPoint2D(1, depth));
+        PartitionTestUtils.assertPointLocations(split.getPlus(), RegionLocation.INSIDE, new TestPoint2D(1, depth));
+        PartitionTestUtils.assertPointLocations(split.getPlus(), RegionLocation.OUTSIDE, new TestPoint2D(-1, depth));
+
+        tree.insert(new TestLineSegment(new TestPoint2D(0, depth + 1), new TestPoint2D(0, -1)));
+        Assert.assertEquals((4 * depth) + 3, tree.count());
+        Assert.assertEquals(depth + 1, tree.height());
+
+        Assert.assertFalse(tree.condense());
+    }
+
+    /** Create a degenerate tree in which each node on the minus path from the root is cut by the
+     * horizontal line {@code y = i}, where {@code i} is the depth of the node. The cuts are set directly
+     * in order to avoid the cost of trimming them by the ancestor cuts.
+     */
+    private static void createDeepTree(final TestRegionBSPTree tree, final int depth) {
+        TestRegionNode node = tree.getRoot();
+        for (int i = 0; i < depth; ++i) {
+            tree.cutNode(node, new TestLineSegment(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+                    new TestLine(0, i, 1, i)));
+            node = node.getMinus();
+        }
+    }
+
+    private static List<RegionCutBoundary<TestPoint2D>> getCutBoundaries(final TestRegionNode node) {
+        List<RegionCutBoundary<TestPoint2D>> boundaries = new ArrayList<>();
+        for (TestRegionNode n : node.nodes()) {
+            if (n.isInternal()) {
+                boundaries.add(n.getCutBoundary());
+            }
+        }
+        return boundaries;
+    }
+
     private static void insertBox(final TestRegionBSPTree tree, final TestPoint2D upperLeft,
             final TestPoint2D lowerRight) {
         final TestPoint2D upperRight = new TestPoint2D(lowerRight.getX(), upperLeft.getY());
@@ -1540,6 +1876,23 @@ public class AbstractRegionBSPTreeTest {
                 ));
     }
 
+    private static void insertBoxGrid(final TestRegionBSPTree tree, final int size) {
+        for (int x = 0; x < size; ++x) {
+            for (int y = 0; y < size; ++y) {
+                insertBox(tree, new TestPoint2D(3 * x, (3 * y) + 1), new TestPoint2D((3 * x) + 1, 3 * y));
+            }
+        }
+    }
+
+    private static List<String> segmentStrings(final List<? extends HyperplaneConvexSubset<TestPoint2D>> subsets) {
+        return subsets.stream()
+                .map(s -> {
+                    TestLineSegment seg = (TestLineSegment) s;
+                    return seg.getStartPoint() + " - " + seg.getEndPoint();
+                })
+                .collect(Collectors.toList());
+    }
+
     private static void insertSkewedBowtie(final TestRegionBSPTree tree) {
         tree.insert(Arrays.asList(
                 new TestLineSegment(TestPoint2D.ZERO, new TestPoint2D(1, 0)),
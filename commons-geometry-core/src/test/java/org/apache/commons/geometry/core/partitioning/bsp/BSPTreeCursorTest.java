@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.apache.commons.geometry.core.GeometryTestUtils;
+import org.apache.commons.geometry.core.partitioning.test.TestBSPTree;
+import org.apache.commons.geometry.core.partitioning.test.TestBSPTree.TestNode;
+import org.apache.commons.geometry.core.partitioning.test.TestLine;
+import org.apache.commons.geometry.core.partitioning.test.TestPoint2D;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BSPTreeCursorTest {
+
+    @Test
+    public void testDefaultCtor_noNodes() {
+        // act
+        BSPTreeCursor<TestPoint2D, TestNode> cursor = new BSPTreeCursor<>();
+
+        // assert
+        Assert.assertFalse(cursor.hasNext());
+        GeometryTestUtils.assertThrows(cursor::next, NoSuchElementException.class);
+    }
+
+    @Test
+    public void testNullRoot_noNodes() {
+        // act
+        BSPTreeCursor<TestPoint2D, TestNode> cursor = new BSPTreeCursor<>(null);
+
+        // assert
+        Assert.assertFalse(cursor.hasNext());
+    }
+
+    @Test
+    public void testWalk_singleNode() {
+        // arrange
+        TestBSPTree tree = new TestBSPTree();
+
+        // act
+        List<TestNode> nodes = walk(new BSPTreeCursor<>(tree.getRoot()));
+
+        // assert
+        Assert.assertEquals(1, nodes.size());
+        Assert.assertSame(tree.getRoot(), nodes.get(0));
+    }
+
+    @Test
+    public void testWalk_matchesNodesOrder() {
+        // arrange
+        TestBSPTree tree = createTree();
+        List<TestNode> expected = new ArrayList<>();
+        tree.nodes().forEach(expected::add);
+
+        // act
+        List<TestNode> nodes = walk(new BSPTreeCursor<>(tree.getRoot()));
+
+        // assert
+        Assert.assertEquals(9, nodes.size());
+        Assert.assertEquals(expected, nodes);
+
+        TestNode root = tree.getRoot();
+        Assert.assertSame(root, nodes.get(0));
+        Assert.assertSame(root.getMinus(), nodes.get(1));
+        Assert.assertSame(root.getMinus().getMinus(), nodes.get(2));
+        Assert.assertSame(root.getMinus().getMinus().getMinus(), nodes.get(3));
+        Assert.assertSame(root.getMinus().getMinus().getPlus(), nodes.get(4));
+        Assert.assertSame(root.getMinus().getPlus(), nodes.get(5));
+        Assert.assertSame(root.getPlus(), nodes.get(6));
+        Assert.assertSame(root.getPlus().getMinus(), nodes.get(7));
+        Assert.assertSame(root.getPlus().getPlus(), nodes.get(8));
+    }
+
+    @Test
+    public void testWalk_subtree() {
+        // arrange
+        TestBSPTree tree = createTree();
+        TestNode subtreeRoot = tree.getRoot().getMinus();
+
+        // act
+        List<TestNode> nodes = walk(new BSPTreeCursor<>(subtreeRoot));
+
+        // assert
+        Assert.assertEquals(5, nodes.size());
+        Assert.assertSame(subtreeRoot, nodes.get(0));
+        Assert.assertSame(subtreeRoot.getPlus(), nodes.get(4));
+    }
+
+    @Test
+    public void testWalk_subtreeIsPlusLeaf() {
+        // arrange
+        TestBSPTree tree = createTree();
+        TestNode subtreeRoot = tree.getRoot().getPlus().getPlus();
+
+        // act
+        List<TestNode> nodes = walk(new BSPTreeCursor<>(subtreeRoot));
+
+        // assert
+        Assert.assertEquals(1, nodes.size());
+        Assert.assertSame(subtreeRoot, nodes.get(0));
+    }
+
+    @Test
+    public void testReset() {
+        // arrange
+        TestBSPTree tree = createTree();
+        BSPTreeCursor<TestPoint2D, TestNode> cursor = new BSPTreeCursor<>(tree.getRoot());
+        cursor.next();
+        cursor.next();
+
+        // act
+        BSPTreeCursor<TestPoint2D, TestNode> result = cursor.reset(tree.getRoot().getPlus());
+
+        // assert
+        Assert.assertSame(cursor, result);
+
+        List<TestNode> nodes = walk(cursor);
+        Assert.assertEquals(3, nodes.size());
+        Assert.assertSame(tree.getRoot().getPlus(), nodes.get(0));
+
+        Assert.assertEquals(9, walk(cursor.reset(tree.getRoot())).size());
+    }
+
+    @Test
+    public void testSkipSubtree() {
+        // arrange
+        TestBSPTree tree = createTree();
+        TestNode root = tree.getRoot();
+
+        BSPTreeCursor<TestPoint2D, TestNode> cursor = new BSPTreeCursor<>(root);
+        List<TestNode> nodes = new ArrayList<>();
+
+        // act
+        cursor.skipSubtree();
+        while (cursor.hasNext()) {
+            TestNode node = cursor.next();
+            nodes.add(node);
+
+            if (node == root.getMinus().getMinus() || node == root.getMinus().getPlus() || node == root.getPlus()) {
+                cursor.skipSubtree();
+            }
+        }
+
+        // assert
+        Assert.assertEquals(5, nodes.size());
+        Assert.assertSame(root, nodes.get(0));
+        Assert.assertSame(root.getMinus(), nodes.get(1));
+        Assert.assertSame(root.getMinus().getMinus(), nodes.get(2));
+        Assert.assertSame(root.getMinus().getPlus(), nodes.get(3));
+        Assert.assertSame(root.getPlus(), nodes.get(4));
+    }
+
+    @Test
+    public void testSkipSubtree_root() {
+        // arrange
+        TestBSPTree tree = createTree();
+        BSPTreeCursor<TestPoint2D, TestNode> cursor = new BSPTreeCursor<>(tree.getRoot());
+        cursor.next();
+
+        // act
+        cursor.skipSubtree();
+
+        // assert
+        Assert.assertFalse(cursor.hasNext());
+    }
+
+    /** Create a tree with the following structure, where plus child nodes are listed below minus child nodes:
+     * <pre>
+     * root
+     *   minus
+     *     minus
+     *       minus (leaf)
+     *       plus (leaf)
+     *     plus (leaf)
+     *   plus
+     *     minus (leaf)
+     *     plus (leaf)
+     * </pre>
+     */
+    private static TestBSPTree createTree() {
+        TestBSPTree tree = new TestBSPTree();
+
+        TestNode root = tree.getRoot();
+        root.cut(TestLine.X_AXIS);
+        root.getMinus().cut(TestLine.Y_AXIS)
+            .getMinus().cut(new TestLine(new TestPoint2D(-1, 0), new TestPoint2D(-1, 1)));
+        root.getPlus().cut(TestLine.Y_AXIS);
+
+        return tree;
+    }
+
+    private static List<TestNode> walk(final BSPTreeCursor<TestPoint2D, TestNode> cursor) {
+        List<TestNode> nodes = new ArrayList<>();
+        while (cursor.hasNext()) {
+            nodes.add(cursor.next());
+        }
+        return nodes;
+    }
+}
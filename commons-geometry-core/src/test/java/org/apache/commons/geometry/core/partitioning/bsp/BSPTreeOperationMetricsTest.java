@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.core.partitioning.bsp;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BSPTreeOperationMetricsTest {
+
+    @Test
+    public void testProperties() {
+        // act
+        BSPTreeOperationMetrics metrics = new BSPTreeOperationMetrics(BSPTreeOperation.UNION, 100, 1, 2, 3, 4, 5);
+
+        // assert
+        Assert.assertEquals(BSPTreeOperation.UNION, metrics.getOperation());
+        Assert.assertEquals(100, metrics.getDurationNanos());
+        Assert.assertEquals(1, metrics.getCutsInserted());
+        Assert.assertEquals(2, metrics.getFragmentsCreated());
+        Assert.assertEquals(3, metrics.getNodesSplit());
+        Assert.assertEquals(4, metrics.getLeafMerges());
+        Assert.assertEquals(5, metrics.getNodesCondensed());
+    }
+
+    @Test
+    public void testToString() {
+        // arrange
+        BSPTreeOperationMetrics metrics = new BSPTreeOperationMetrics(BSPTreeOperation.INSERT, 100, 1, 2, 3, 4, 5);
+
+        // act
+        String str = metrics.toString();
+
+        // assert
+        Assert.assertEquals("BSPTreeOperationMetrics[operation= INSERT, durationNanos= 100, cutsInserted= 1, " +
+                "fragmentsCreated= 2, nodesSplit= 3, leafMerges= 4, nodesCondensed= 5]", str);
+    }
+}
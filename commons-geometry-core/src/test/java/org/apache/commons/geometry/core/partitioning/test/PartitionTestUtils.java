@@ -16,8 +16,17 @@
  */
 package org.apache.commons.geometry.core.partitioning.test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.apache.commons.geometry.core.Point;
 import org.apache.commons.geometry.core.Region;
@@ -117,6 +126,39 @@ public final class PartitionTestUtils {
         Assert.assertTrue(node.isLeaf());
     }
 
+    /** Run the given task on {@code threadCount} threads at the same time and return the results.
+     * All threads are released together in order to maximize contention.
+     * @param threadCount number of threads to run the task on
+     * @param task task to run
+     * @return the results from each thread
+     */
+    public static <T> List<T> runConcurrently(final int threadCount, final Callable<T> task) {
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+
+            final List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < threadCount; ++i) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+
+            start.countDown();
+
+            final List<T> results = new ArrayList<>();
+            for (final Future<T> future : futures) {
+                results.add(future.get(1, TimeUnit.MINUTES));
+            }
+            return results;
+        } catch (InterruptedException | ExecutionException | TimeoutException exc) {
+            throw new AssertionError("Concurrent task failed: " + exc.getMessage(), exc);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     /** Assert that the given tree for has a valid, consistent internal structure. This checks that all nodes
      * in the tree are owned by the tree, that the node depth values are correct, and the cut nodes have children
      * and non-cut nodes do not.
@@ -16,6 +16,12 @@
  */
 package org.apache.commons.geometry.core.partitioning.test;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
 import org.apache.commons.geometry.core.RegionLocation;
 import org.apache.commons.geometry.core.partitioning.HyperplaneConvexSubset;
 import org.apache.commons.geometry.core.partitioning.Hyperplane;
@@ -28,6 +34,9 @@ import org.apache.commons.geometry.core.partitioning.bsp.RegionCutRule;
  */
 public final class TestRegionBSPTree extends AbstractRegionBSPTree<TestPoint2D, TestRegionBSPTree.TestRegionNode> {
 
+    /** Tree type written to and expected in the binary format. */
+    public static final int BINARY_FORMAT_TYPE = 42;
+
     public TestRegionBSPTree() {
         this(true);
     }
@@ -43,6 +52,58 @@ public final class TestRegionBSPTree extends AbstractRegionBSPTree<TestPoint2D,
         super.setNodeCut(node, cut, getSubtreeInitializer(RegionCutRule.MINUS_INSIDE));
     }
 
+    /**
+     * Expose the boundary stream creation method.
+     */
+    public Stream<TestLineSegment> boundaryStream(final boolean parallel) {
+        return createBoundaryStream(b -> (TestLineSegment) b, parallel);
+    }
+
+    /**
+     * Expose the parallel boundary list creation method.
+     */
+    public List<TestLineSegment> getBoundaries(final ForkJoinPool pool) {
+        return createBoundaryList(b -> (TestLineSegment) b, pool);
+    }
+
+    /**
+     * Expose the multi-split method.
+     */
+    public List<TestRegionBSPTree> splitAll(final List<TestLine> splitters) {
+        return splitAll(splitters, () -> new TestRegionBSPTree(false));
+    }
+
+    /**
+     * Expose the parallel multi-split method.
+     */
+    public List<TestRegionBSPTree> splitAll(final List<TestLine> splitters, final ForkJoinPool pool) {
+        return splitAll(splitters, () -> new TestRegionBSPTree(false), pool);
+    }
+
+    /**
+     * Expose the binary write method.
+     */
+    public void write(final DataOutput out) {
+        writeInternal(out, BINARY_FORMAT_TYPE, (cut, output) -> {
+            final TestLine line = (TestLine) cut.getHyperplane();
+            final TestPoint2D origin = line.getOrigin();
+
+            output.writeDouble(origin.getX());
+            output.writeDouble(origin.getY());
+            output.writeDouble(origin.getX() + line.getDirectionX());
+            output.writeDouble(origin.getY() + line.getDirectionY());
+        });
+    }
+
+    /**
+     * Expose the binary read method.
+     */
+    public void read(final DataInput in) {
+        readInternal(in, BINARY_FORMAT_TYPE,
+            input -> new TestLine(input.readDouble(), input.readDouble(), input.readDouble(), input.readDouble())
+                .span());
+    }
+
     /** {@inheritDoc} */
     @Override
     protected TestRegionNode createNode() {
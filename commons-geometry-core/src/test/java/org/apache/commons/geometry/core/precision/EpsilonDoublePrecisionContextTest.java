@@ -189,6 +189,7 @@ public class EpsilonDoublePrecisionContextTest {
         Assert.assertEquals(a.hashCode(), c.hashCode());
 
         Assert.assertNotEquals(a.hashCode(), b.hashCode());
+        Assert.assertNotEquals(a.hashCode(), new EpsilonDoublePrecisionContext(1e-6, true).hashCode());
     }
 
     @Test
@@ -206,6 +207,10 @@ public class EpsilonDoublePrecisionContextTest {
 
         Assert.assertEquals(a, a);
         Assert.assertEquals(a, c);
+
+        Assert.assertNotEquals(a, new EpsilonDoublePrecisionContext(1e-6, true));
+        Assert.assertEquals(new EpsilonDoublePrecisionContext(1e-6, true),
+                new EpsilonDoublePrecisionContext(1e-6, true));
     }
 
     @Test
@@ -219,6 +224,17 @@ public class EpsilonDoublePrecisionContextTest {
         // assert
         Assert.assertTrue(str.contains("EpsilonDoublePrecisionContext"));
         Assert.assertTrue(str.contains("epsilon= 1"));
+        Assert.assertTrue(str.contains("exactPredicates= false"));
+    }
+
+    @Test
+    public void testUseExactPredicates() {
+        // act/assert
+        Assert.assertFalse(new EpsilonDoublePrecisionContext(1e-6).useExactPredicates());
+        Assert.assertFalse(new EpsilonDoublePrecisionContext(1e-6, false).useExactPredicates());
+        Assert.assertTrue(new EpsilonDoublePrecisionContext(1e-6, true).useExactPredicates());
+
+        Assert.assertEquals(1e-6, new EpsilonDoublePrecisionContext(1e-6, true).getEpsilon(), 0.0);
     }
 
     /**
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.internal;
+
+import java.util.Arrays;
+
+/** This class consists exclusively of static utility methods for validating the arrays
+ * passed to batch operations.
+ */
+public final class BatchArrays {
+
+    /** Private constructor. */
+    private BatchArrays() {}
+
+    /** Throw an exception if the given array lengths are not all equal.
+     * @param lengths array lengths to check
+     * @throws IllegalArgumentException if the lengths are not all equal
+     */
+    public static void checkSameLength(final int... lengths) {
+        for (int i = 1; i < lengths.length; ++i) {
+            if (lengths[i] != lengths[0]) {
+                throw new IllegalArgumentException("Coordinate and output arrays must have the same length; found " +
+                        Arrays.toString(lengths));
+            }
+        }
+    }
+
+    /** Throw an exception if the length of the named array is not equal to the expected value.
+     * @param name name of the array, used in the exception message
+     * @param length the array length
+     * @param expected the expected array length
+     * @throws IllegalArgumentException if {@code length} is not equal to {@code expected}
+     */
+    public static void checkLength(final String name, final int length, final int expected) {
+        if (length != expected) {
+            throw new IllegalArgumentException("Invalid " + name + " array length: expected " + expected +
+                    " but was " + length);
+        }
+    }
+}
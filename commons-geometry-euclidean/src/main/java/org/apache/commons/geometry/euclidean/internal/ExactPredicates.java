@@ -0,0 +1,509 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.internal;
+
+import java.math.BigDecimal;
+
+/** This class consists exclusively of static geometric predicates that are evaluated
+ * exactly with respect to their double arguments. Each predicate returns the sign of an
+ * expression after comparing it against a non-negative "max zero" value: the result is
+ * zero if the absolute value of the exact expression is less than or equal to the max zero
+ * value and the sign of the expression otherwise.
+ *
+ * <p>The predicates are adaptive: the expression is first evaluated with plain floating point
+ * arithmetic along with a bound on its rounding error. The floating point result is returned
+ * if the error bound shows that it cannot differ from the exact result, which is the case for all
+ * but nearly degenerate inputs. Otherwise, the expression is evaluated again with exact
+ * {@link BigDecimal} arithmetic. The error bounds for the determinant predicates are those given
+ * by Shewchuk in "Adaptive Precision Floating-Point Arithmetic and Fast Robust Geometric
+ * Predicates" and assume that no overflow or underflow occurs in the floating point evaluation.</p>
+ */
+public final class ExactPredicates {
+
+    /** Unit roundoff for double values, ie half of the distance between 1 and the next
+     * larger double value.
+     */
+    private static final double EPSILON = 0x1.0p-53;
+
+    /** Error bound factor for the linear predicates with two products. */
+    private static final double LINEAR2_ERROR_BOUND = (3.0 + (16.0 * EPSILON)) * EPSILON;
+
+    /** Error bound factor for the linear predicates with three products. */
+    private static final double LINEAR3_ERROR_BOUND = (4.0 + (32.0 * EPSILON)) * EPSILON;
+
+    /** Error bound factor for the 2D orientation predicate. */
+    private static final double ORIENTATION2D_ERROR_BOUND = (3.0 + (16.0 * EPSILON)) * EPSILON;
+
+    /** Error bound factor for the 3D orientation predicate. */
+    private static final double ORIENTATION3D_ERROR_BOUND = (7.0 + (56.0 * EPSILON)) * EPSILON;
+
+    /** Error bound factor for the in-circle predicate. */
+    private static final double IN_CIRCLE_ERROR_BOUND = (10.0 + (96.0 * EPSILON)) * EPSILON;
+
+    /** Error bound factor for the in-sphere predicate. */
+    private static final double IN_SPHERE_ERROR_BOUND = (16.0 + (224.0 * EPSILON)) * EPSILON;
+
+    /** Value returned by {@link #filter(double, double, double)} when the sign cannot be determined
+     * from the floating point value.
+     */
+    private static final int UNKNOWN = Integer.MIN_VALUE;
+
+    /** Private constructor. */
+    private ExactPredicates() {}
+
+    /** Return the sign of the expression {@code (a1 * b1) + (a2 * b2) + c}. This can be used to
+     * classify a point against a line given in the form {@code (n . p) + c = 0}.
+     * @param a1 first factor of the first product
+     * @param b1 second factor of the first product
+     * @param a2 first factor of the second product
+     * @param b2 second factor of the second product
+     * @param c constant term
+     * @param maxZero largest absolute value of the expression considered equal to zero
+     * @return the sign of the expression: -1, 0, or 1
+     */
+    public static int linearSign(final double a1, final double b1, final double a2, final double b2,
+            final double c, final double maxZero) {
+        final double p1 = a1 * b1;
+        final double p2 = a2 * b2;
+
+        final double value = p1 + p2 + c;
+        final double errorBound = LINEAR2_ERROR_BOUND * (Math.abs(p1) + Math.abs(p2) + Math.abs(c));
+
+        final int sign = filter(value, errorBound, maxZero);
+        if (sign != UNKNOWN) {
+            return sign;
+        }
+
+        return exactSign(exact(a1).multiply(exact(b1))
+                .add(exact(a2).multiply(exact(b2)))
+                .add(exact(c)), maxZero);
+    }
+
+    /** Return the sign of the expression {@code (a1 * b1) + (a2 * b2) + (a3 * b3) + c}. This can be
+     * used to classify a point against a plane given in the form {@code (n . p) + c = 0}.
+     * @param a1 first factor of the first product
+     * @param b1 second factor of the first product
+     * @param a2 first factor of the second product
+     * @param b2 second factor of the second product
+     * @param a3 first factor of the third product
+     * @param b3 second factor of the third product
+     * @param c constant term
+     * @param maxZero largest absolute value of the expression considered equal to zero
+     * @return the sign of the expression: -1, 0, or 1
+     */
+    public static int linearSign(final double a1, final double b1, final double a2, final double b2,
+            final double a3, final double b3, final double c, final double maxZero) {
+        final double p1 = a1 * b1;
+        final double p2 = a2 * b2;
+        final double p3 = a3 * b3;
+
+        final double value = p1 + p2 + p3 + c;
+        final double errorBound = LINEAR3_ERROR_BOUND *
+                (Math.abs(p1) + Math.abs(p2) + Math.abs(p3) + Math.abs(c));
+
+        final int sign = filter(value, errorBound, maxZero);
+        if (sign != UNKNOWN) {
+            return sign;
+        }
+
+        return exactSign(exact(a1).multiply(exact(b1))
+                .add(exact(a2).multiply(exact(b2)))
+                .add(exact(a3).multiply(exact(b3)))
+                .add(exact(c)), maxZero);
+    }
+
+    /** Return the orientation of the points {@code a}, {@code b}, and {@code c} in the plane. The
+     * result is positive if the points are arranged in counterclockwise order, negative if they
+     * are arranged in clockwise order, and zero if they are collinear. The sign is computed from the
+     * determinant {@code (a - c) x (b - c)}, which is equal to twice the signed area of the triangle
+     * formed by the points.
+     * @param ax x coordinate of point a
+     * @param ay y coordinate of point a
+     * @param bx x coordinate of point b
+     * @param by y coordinate of point b
+     * @param cx x coordinate of point c
+     * @param cy y coordinate of point c
+     * @param maxZero largest absolute value of the determinant considered equal to zero
+     * @return the orientation of the points: -1, 0, or 1
+     */
+    public static int orientation(final double ax, final double ay, final double bx, final double by,
+            final double cx, final double cy, final double maxZero) {
+        final double left = (ax - cx) * (by - cy);
+        final double right = (ay - cy) * (bx - cx);
+
+        final double value = left - right;
+        final double errorBound = ORIENTATION2D_ERROR_BOUND * (Math.abs(left) + Math.abs(right));
+
+        final int sign = filter(value, errorBound, maxZero);
+        if (sign != UNKNOWN) {
+            return sign;
+        }
+
+        final BigDecimal acx = exact(ax).subtract(exact(cx));
+        final BigDecimal acy = exact(ay).subtract(exact(cy));
+        final BigDecimal bcx = exact(bx).subtract(exact(cx));
+        final BigDecimal bcy = exact(by).subtract(exact(cy));
+
+        return exactSign(acx.multiply(bcy).subtract(acy.multiply(bcx)), maxZero);
+    }
+
+    /** Return the orientation of the point {@code d} with respect to the plane through the points
+     * {@code a}, {@code b}, and {@code c}. The result is positive if {@code d} lies below the plane,
+     * where "below" is defined so that {@code a}, {@code b}, and {@code c} appear in counterclockwise
+     * order when viewed from above the plane. The result is negative if {@code d} lies above the plane
+     * and zero if the points are coplanar. The sign is computed from the determinant of the matrix with
+     * rows {@code a - d}, {@code b - d}, and {@code c - d}, which is equal to six times the signed volume
+     * of the tetrahedron formed by the points.
+     * @param ax x coordinate of point a
+     * @param ay y coordinate of point a
+     * @param az z coordinate of point a
+     * @param bx x coordinate of point b
+     * @param by y coordinate of point b
+     * @param bz z coordinate of point b
+     * @param cx x coordinate of point c
+     * @param cy y coordinate of point c
+     * @param cz z coordinate of point c
+     * @param dx x coordinate of point d
+     * @param dy y coordinate of point d
+     * @param dz z coordinate of point d
+     * @param maxZero largest absolute value of the determinant considered equal to zero
+     * @return the orientation of the points: -1, 0, or 1
+     */
+    public static int orientation(final double ax, final double ay, final double az,
+            final double bx, final double by, final double bz,
+            final double cx, final double cy, final double cz,
+            final double dx, final double dy, final double dz,
+            final double maxZero) {
+        final double adx = ax - dx;
+        final double bdx = bx - dx;
+        final double cdx = cx - dx;
+        final double ady = ay - dy;
+        final double bdy = by - dy;
+        final double cdy = cy - dy;
+        final double adz = az - dz;
+        final double bdz = bz - dz;
+        final double cdz = cz - dz;
+
+        final double bdxcdy = bdx * cdy;
+        final double cdxbdy = cdx * bdy;
+
+        final double cdxady = cdx * ady;
+        final double adxcdy = adx * cdy;
+
+        final double adxbdy = adx * bdy;
+        final double bdxady = bdx * ady;
+
+        final double value = (adz * (bdxcdy - cdxbdy)) +
+                (bdz * (cdxady - adxcdy)) +
+                (cdz * (adxbdy - bdxady));
+        final double errorBound = ORIENTATION3D_ERROR_BOUND *
+                (((Math.abs(bdxcdy) + Math.abs(cdxbdy)) * Math.abs(adz)) +
+                ((Math.abs(cdxady) + Math.abs(adxcdy)) * Math.abs(bdz)) +
+                ((Math.abs(adxbdy) + Math.abs(bdxady)) * Math.abs(cdz)));
+
+        final int sign = filter(value, errorBound, maxZero);
+        if (sign != UNKNOWN) {
+            return sign;
+        }
+
+        final BigDecimal eadx = exact(ax).subtract(exact(dx));
+        final BigDecimal ebdx = exact(bx).subtract(exact(dx));
+        final BigDecimal ecdx = exact(cx).subtract(exact(dx));
+        final BigDecimal eady = exact(ay).subtract(exact(dy));
+        final BigDecimal ebdy = exact(by).subtract(exact(dy));
+        final BigDecimal ecdy = exact(cy).subtract(exact(dy));
+        final BigDecimal eadz = exact(az).subtract(exact(dz));
+        final BigDecimal ebdz = exact(bz).subtract(exact(dz));
+        final BigDecimal ecdz = exact(cz).subtract(exact(dz));
+
+        return exactSign(determinant3(eadx, eady, eadz, ebdx, ebdy, ebdz, ecdx, ecdy, ecdz), maxZero);
+    }
+
+    /** Return the location of the point {@code d} with respect to the circle through the points
+     * {@code a}, {@code b}, and {@code c}. If {@code a}, {@code b}, and {@code c} are in counterclockwise
+     * order, the result is positive if {@code d} lies inside of the circle, negative if it lies outside,
+     * and zero if the four points are cocircular. The sign is reversed if the first three points are in
+     * clockwise order.
+     * @param ax x coordinate of point a
+     * @param ay y coordinate of point a
+     * @param bx x coordinate of point b
+     * @param by y coordinate of point b
+     * @param cx x coordinate of point c
+     * @param cy y coordinate of point c
+     * @param dx x coordinate of point d
+     * @param dy y coordinate of point d
+     * @param maxZero largest absolute value of the determinant considered equal to zero
+     * @return the location of point d with respect to the circle: -1, 0, or 1
+     */
+    public static int inCircle(final double ax, final double ay, final double bx, final double by,
+            final double cx, final double cy, final double dx, final double dy, final double maxZero) {
+        final double adx = ax - dx;
+        final double bdx = bx - dx;
+        final double cdx = cx - dx;
+        final double ady = ay - dy;
+        final double bdy = by - dy;
+        final double cdy = cy - dy;
+
+        final double bdxcdy = bdx * cdy;
+        final double cdxbdy = cdx * bdy;
+        final double alift = (adx * adx) + (ady * ady);
+
+        final double cdxady = cdx * ady;
+        final double adxcdy = adx * cdy;
+        final double blift = (bdx * bdx) + (bdy * bdy);
+
+        final double adxbdy = adx * bdy;
+        final double bdxady = bdx * ady;
+        final double clift = (cdx * cdx) + (cdy * cdy);
+
+        final double value = (alift * (bdxcdy - cdxbdy)) +
+                (blift * (cdxady - adxcdy)) +
+                (clift * (adxbdy - bdxady));
+        final double errorBound = IN_CIRCLE_ERROR_BOUND *
+                (((Math.abs(bdxcdy) + Math.abs(cdxbdy)) * alift) +
+                ((Math.abs(cdxady) + Math.abs(adxcdy)) * blift) +
+                ((Math.abs(adxbdy) + Math.abs(bdxady)) * clift));
+
+        final int sign = filter(value, errorBound, maxZero);
+        if (sign != UNKNOWN) {
+            return sign;
+        }
+
+        final BigDecimal eadx = exact(ax).subtract(exact(dx));
+        final BigDecimal ebdx = exact(bx).subtract(exact(dx));
+        final BigDecimal ecdx = exact(cx).subtract(exact(dx));
+        final BigDecimal eady = exact(ay).subtract(exact(dy));
+        final BigDecimal ebdy = exact(by).subtract(exact(dy));
+        final BigDecimal ecdy = exact(cy).subtract(exact(dy));
+
+        return exactSign(determinant3(
+                eadx, eady, lift(eadx, eady),
+                ebdx, ebdy, lift(ebdx, ebdy),
+                ecdx, ecdy, lift(ecdx, ecdy)), maxZero);
+    }
+
+    /** Return the location of the point {@code e} with respect to the sphere through the points
+     * {@code a}, {@code b}, {@code c}, and {@code d}. If the four points have a positive
+     * {@link #orientation(double, double, double, double, double, double, double, double, double, double,
+     * double, double, double) orientation}, the result is positive if {@code e} lies inside of the sphere,
+     * negative if it lies outside, and zero if the five points are cospherical. The sign is reversed if
+     * the orientation of the first four points is negative.
+     * @param ax x coordinate of point a
+     * @param ay y coordinate of point a
+     * @param az z coordinate of point a
+     * @param bx x coordinate of point b
+     * @param by y coordinate of point b
+     * @param bz z coordinate of point b
+     * @param cx x coordinate of point c
+     * @param cy y coordinate of point c
+     * @param cz z coordinate of point c
+     * @param dx x coordinate of point d
+     * @param dy y coordinate of point d
+     * @param dz z coordinate of point d
+     * @param ex x coordinate of point e
+     * @param ey y coordinate of point e
+     * @param ez z coordinate of point e
+     * @param maxZero largest absolute value of the determinant considered equal to zero
+     * @return the location of point e with respect to the sphere: -1, 0, or 1
+     */
+    public static int inSphere(final double ax, final double ay, final double az,
+            final double bx, final double by, final double bz,
+            final double cx, final double cy, final double cz,
+            final double dx, final double dy, final double dz,
+            final double ex, final double ey, final double ez,
+            final double maxZero) {
+        final double aex = ax - ex;
+        final double bex = bx - ex;
+        final double cex = cx - ex;
+        final double dex = dx - ex;
+        final double aey = ay - ey;
+        final double bey = by - ey;
+        final double cey = cy - ey;
+        final double dey = dy - ey;
+        final double aez = az - ez;
+        final double bez = bz - ez;
+        final double cez = cz - ez;
+        final double dez = dz - ez;
+
+        final double aexbey = aex * bey;
+        final double bexaey = bex * aey;
+        final double ab = aexbey - bexaey;
+        final double bexcey = bex * cey;
+        final double cexbey = cex * bey;
+        final double bc = bexcey - cexbey;
+        final double cexdey = cex * dey;
+        final double dexcey = dex * cey;
+        final double cd = cexdey - dexcey;
+        final double dexaey = dex * aey;
+        final double aexdey = aex * dey;
+        final double da = dexaey - aexdey;
+        final double aexcey = aex * cey;
+        final double cexaey = cex * aey;
+        final double ac = aexcey - cexaey;
+        final double bexdey = bex * dey;
+        final double dexbey = dex * bey;
+        final double bd = bexdey - dexbey;
+
+        final double abc = (aez * bc) - (bez * ac) + (cez * ab);
+        final double bcd = (bez * cd) - (cez * bd) + (dez * bc);
+        final double cda = (cez * da) + (dez * ac) + (aez * cd);
+        final double dab = (dez * ab) + (aez * bd) + (bez * da);
+
+        final double alift = (aex * aex) + (aey * aey) + (aez * aez);
+        final double blift = (bex * bex) + (bey * bey) + (bez * bez);
+        final double clift = (cex * cex) + (cey * cey) + (cez * cez);
+        final double dlift = (dex * dex) + (dey * dey) + (dez * dez);
+
+        final double value = ((dlift * abc) - (clift * dab)) + ((blift * cda) - (alift * bcd));
+
+        final double aezplus = Math.abs(aez);
+        final double bezplus = Math.abs(bez);
+        final double cezplus = Math.abs(cez);
+        final double dezplus = Math.abs(dez);
+        final double aexbeyplus = Math.abs(aexbey) + Math.abs(bexaey);
+        final double bexceyplus = Math.abs(bexcey) + Math.abs(cexbey);
+        final double cexdeyplus = Math.abs(cexdey) + Math.abs(dexcey);
+        final double dexaeyplus = Math.abs(dexaey) + Math.abs(aexdey);
+        final double aexceyplus = Math.abs(aexcey) + Math.abs(cexaey);
+        final double bexdeyplus = Math.abs(bexdey) + Math.abs(dexbey);
+        final double permanent =
+                (((cexdeyplus * bezplus) + (bexdeyplus * cezplus) + (bexceyplus * dezplus)) * alift) +
+                (((dexaeyplus * cezplus) + (aexceyplus * dezplus) + (cexdeyplus * aezplus)) * blift) +
+                (((aexbeyplus * dezplus) + (bexdeyplus * aezplus) + (dexaeyplus * bezplus)) * clift) +
+                (((bexceyplus * aezplus) + (aexceyplus * bezplus) + (aexbeyplus * cezplus)) * dlift);
+        final double errorBound = IN_SPHERE_ERROR_BOUND * permanent;
+
+        final int sign = filter(value, errorBound, maxZero);
+        if (sign != UNKNOWN) {
+            return sign;
+        }
+
+        final BigDecimal eaex = exact(ax).subtract(exact(ex));
+        final BigDecimal ebex = exact(bx).subtract(exact(ex));
+        final BigDecimal ecex = exact(cx).subtract(exact(ex));
+        final BigDecimal edex = exact(dx).subtract(exact(ex));
+        final BigDecimal eaey = exact(ay).subtract(exact(ey));
+        final BigDecimal ebey = exact(by).subtract(exact(ey));
+        final BigDecimal ecey = exact(cy).subtract(exact(ey));
+        final BigDecimal edey = exact(dy).subtract(exact(ey));
+        final BigDecimal eaez = exact(az).subtract(exact(ez));
+        final BigDecimal ebez = exact(bz).subtract(exact(ez));
+        final BigDecimal ecez = exact(cz).subtract(exact(ez));
+        final BigDecimal edez = exact(dz).subtract(exact(ez));
+
+        final BigDecimal ealift = lift(eaex, eaey, eaez);
+        final BigDecimal eblift = lift(ebex, ebey, ebez);
+        final BigDecimal eclift = lift(ecex, ecey, ecez);
+        final BigDecimal edlift = lift(edex, edey, edez);
+
+        // expand the 4x4 determinant along the lift column
+        final BigDecimal exactValue =
+                determinant3(ebex, ebey, ebez, ecex, ecey, ecez, edex, edey, edez).multiply(ealift).negate()
+                .add(determinant3(eaex, eaey, eaez, ecex, ecey, ecez, edex, edey, edez).multiply(eblift))
+                .subtract(determinant3(eaex, eaey, eaez, ebex, ebey, ebez, edex, edey, edez).multiply(eclift))
+                .add(determinant3(eaex, eaey, eaez, ebex, ebey, ebez, ecex, ecey, ecez).multiply(edlift));
+
+        return exactSign(exactValue, maxZero);
+    }
+
+    /** Determine the sign of an expression from its floating point value and a bound on the absolute
+     * error of that value. {@link #UNKNOWN} is returned if the exact value could lie on either side of
+     * the boundary of the zero band {@code [-maxZero, maxZero]}. The returned values are conservative:
+     * the margin includes the rounding errors of the comparisons themselves. Non-finite values cannot be
+     * evaluated exactly and are compared directly; NaN is treated as positive, as in
+     * {@link org.apache.commons.geometry.core.precision.DoublePrecisionContext#sign(double)}.
+     * @param value floating point value of the expression
+     * @param errorBound bound on the absolute error of {@code value}
+     * @param maxZero largest absolute value considered equal to zero
+     * @return the sign of the expression or {@link #UNKNOWN}
+     */
+    private static int filter(final double value, final double errorBound, final double maxZero) {
+        if (!Double.isFinite(value)) {
+            return value < 0 ? -1 : 1;
+        }
+
+        final double abs = Math.abs(value);
+        final double margin = errorBound + (2 * EPSILON * (abs + maxZero));
+
+        if (abs - maxZero > margin) {
+            return value > 0 ? 1 : -1;
+        } else if (maxZero - abs > margin) {
+            return 0;
+        }
+        return UNKNOWN;
+    }
+
+    /** Return the sign of the given exact value after comparing it against the zero band
+     * {@code [-maxZero, maxZero]}.
+     * @param value exact value
+     * @param maxZero largest absolute value considered equal to zero
+     * @return the sign of the value: -1, 0, or 1
+     */
+    private static int exactSign(final BigDecimal value, final double maxZero) {
+        if (value.abs().compareTo(exact(maxZero)) <= 0) {
+            return 0;
+        }
+        return value.signum();
+    }
+
+    /** Compute the determinant of the 3x3 matrix with the given rows.
+     * @param a1 first element of the first row
+     * @param a2 second element of the first row
+     * @param a3 third element of the first row
+     * @param b1 first element of the second row
+     * @param b2 second element of the second row
+     * @param b3 third element of the second row
+     * @param c1 first element of the third row
+     * @param c2 second element of the third row
+     * @param c3 third element of the third row
+     * @return the determinant of the matrix
+     */
+    private static BigDecimal determinant3(final BigDecimal a1, final BigDecimal a2, final BigDecimal a3,
+            final BigDecimal b1, final BigDecimal b2, final BigDecimal b3,
+            final BigDecimal c1, final BigDecimal c2, final BigDecimal c3) {
+        return a3.multiply(b1.multiply(c2).subtract(c1.multiply(b2)))
+                .add(b3.multiply(c1.multiply(a2).subtract(a1.multiply(c2))))
+                .add(c3.multiply(a1.multiply(b2).subtract(b1.multiply(a2))));
+    }
+
+    /** Compute the squared norm of the given 2D vector.
+     * @param x x component
+     * @param y y component
+     * @return the squared norm of the vector
+     */
+    private static BigDecimal lift(final BigDecimal x, final BigDecimal y) {
+        return x.multiply(x).add(y.multiply(y));
+    }
+
+    /** Compute the squared norm of the given 3D vector.
+     * @param x x component
+     * @param y y component
+     * @param z z component
+     * @return the squared norm of the vector
+     */
+    private static BigDecimal lift(final BigDecimal x, final BigDecimal y, final BigDecimal z) {
+        return x.multiply(x).add(y.multiply(y)).add(z.multiply(z));
+    }
+
+    /** Return the exact decimal representation of the given double value.
+     * @param value double value
+     * @return the exact decimal representation of the value
+     */
+    private static BigDecimal exact(final double value) {
+        return new BigDecimal(value);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.internal;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/** This class consists exclusively of static utility methods for processing ranges
+ * of array indices in parallel.
+ */
+public final class ParallelRanges {
+
+    /** Interface for operations applied to a range of array indices.
+     */
+    @FunctionalInterface
+    public interface RangeOperation {
+
+        /** Apply the operation to the indices from {@code start} (inclusive) to
+         * {@code end} (exclusive).
+         * @param start first index of the range, inclusive
+         * @param end last index of the range, exclusive
+         */
+        void apply(int start, int end);
+    }
+
+    /** Private constructor. */
+    private ParallelRanges() {}
+
+    /** Apply the given operation to all indices from zero (inclusive) to {@code size} (exclusive)
+     * using tasks executed in {@code pool}. The index range is split in half recursively until the
+     * sub-ranges contain no more than {@code chunkSize} indices. The operation is then invoked once
+     * for each sub-range, possibly from multiple threads at the same time. This method returns once
+     * all sub-ranges have been processed.
+     * @param size number of indices to process
+     * @param chunkSize maximum number of indices passed to a single invocation of the operation
+     * @param pool pool used to execute the tasks
+     * @param operation operation to apply to each sub-range
+     * @throws IllegalArgumentException if {@code chunkSize} is less than 1
+     */
+    public static void apply(final int size, final int chunkSize, final ForkJoinPool pool,
+            final RangeOperation operation) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be greater than zero; was " + chunkSize);
+        }
+
+        if (size > 0) {
+            pool.invoke(new RangeTask(0, size, chunkSize, operation));
+        }
+    }
+
+    /** Task applying an operation to a range of indices, splitting the range if needed.
+     */
+    private static final class RangeTask extends RecursiveAction {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20201015L;
+
+        /** First index of the range, inclusive. */
+        private final int start;
+
+        /** Last index of the range, exclusive. */
+        private final int end;
+
+        /** Maximum number of indices passed to a single invocation of the operation. */
+        private final int chunkSize;
+
+        /** Operation to apply. */
+        private final transient RangeOperation operation;
+
+        /** Construct a new instance.
+         * @param start first index of the range, inclusive
+         * @param end last index of the range, exclusive
+         * @param chunkSize maximum number of indices passed to a single invocation of the operation
+         * @param operation operation to apply
+         */
+        RangeTask(final int start, final int end, final int chunkSize, final RangeOperation operation) {
+            this.start = start;
+            this.end = end;
+            this.chunkSize = chunkSize;
+            this.operation = operation;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void compute() {
+            if (end - start <= chunkSize) {
+                operation.apply(start, end);
+            } else {
+                final int mid = (start + end) >>> 1;
+
+                invokeAll(
+                        new RangeTask(start, mid, chunkSize, operation),
+                        new RangeTask(mid, end, chunkSize, operation));
+            }
+        }
+    }
+}
@@ -16,6 +16,10 @@
  */
 package org.apache.commons.geometry.euclidean.oned;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
@@ -25,15 +29,20 @@ import java.util.function.BiConsumer;
 import org.apache.commons.geometry.core.RegionLocation;
 import org.apache.commons.geometry.core.Transform;
 import org.apache.commons.geometry.core.partitioning.Hyperplane;
+import org.apache.commons.geometry.core.partitioning.HyperplaneConvexSubset;
 import org.apache.commons.geometry.core.partitioning.Split;
 import org.apache.commons.geometry.core.partitioning.bsp.AbstractBSPTree;
 import org.apache.commons.geometry.core.partitioning.bsp.AbstractRegionBSPTree;
 import org.apache.commons.geometry.core.partitioning.bsp.RegionCutRule;
+import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
 
 /** Binary space partitioning (BSP) tree representing a region in one dimensional
  * Euclidean space.
  */
 public final class RegionBSPTree1D extends AbstractRegionBSPTree<Vector1D, RegionBSPTree1D.RegionNode1D> {
+
+    /** Value identifying this tree type in the binary tree format. */
+    private static final int BINARY_FORMAT_TYPE = 1;
     /** Comparator used to sort BoundaryPairs by ascending location.  */
     private static final Comparator<BoundaryPair> BOUNDARY_PAIR_COMPARATOR =
         (a, b) -> Double.compare(a.getMinValue(), b.getMinValue());
@@ -253,6 +262,18 @@ public final class RegionBSPTree1D extends AbstractRegionBSPTree<Vector1D, Regio
         return new RegionNode1D(this);
     }
 
+    /** Write this tree to the given output in a compact binary format. Each node cut is stored as the
+     * location and orientation of its oriented point. The tree can be read back with
+     * {@link #read(DataInput, DoublePrecisionContext)} or, if the output is written to a file that is later
+     * memory-mapped, with {@link #read(ByteBuffer, DoublePrecisionContext)}. Precision contexts are not
+     * written.
+     * @param out output to write to
+     * @throws java.io.UncheckedIOException if an I/O error occurs
+     */
+    public void write(final DataOutput out) {
+        writeInternal(out, BINARY_FORMAT_TYPE, RegionBSPTree1D::writeCut);
+    }
+
     /** {@inheritDoc} */
     @Override
     protected RegionSizeProperties<Vector1D> computeRegionSizeProperties() {
@@ -344,6 +365,65 @@ public final class RegionBSPTree1D extends AbstractRegionBSPTree<Vector1D, Regio
         return tree;
     }
 
+    /** Read a tree written by {@link #write(DataOutput)} from the given input. The node cuts are
+     * created directly from the stored data, so no hyperplanes are inserted or split.
+     * @param in input to read from
+     * @param precision precision context used for all hyperplanes in the tree
+     * @return the tree read from the input
+     * @throws IllegalArgumentException if the input does not contain a RegionBSPTree1D in the expected format
+     * @throws java.io.UncheckedIOException if an I/O error occurs
+     */
+    public static RegionBSPTree1D read(final DataInput in, final DoublePrecisionContext precision) {
+        final RegionBSPTree1D tree = empty();
+        tree.readInternal(in, BINARY_FORMAT_TYPE, input -> readCut(input, precision));
+
+        return tree;
+    }
+
+    /** Read a tree written by {@link #write(DataOutput)} from the given buffer, which may be a
+     * memory-mapped file. The data is read starting at the current position of the buffer and the
+     * position is advanced to the end of the tree data.
+     * @param buffer buffer to read from
+     * @param precision precision context used for all hyperplanes in the tree
+     * @return the tree read from the buffer
+     * @throws IllegalArgumentException if the buffer does not contain a RegionBSPTree1D in the expected format
+     * @throws java.io.UncheckedIOException if the end of the buffer is reached before the end of the tree data
+     * @see #read(DataInput, DoublePrecisionContext)
+     */
+    public static RegionBSPTree1D read(final ByteBuffer buffer, final DoublePrecisionContext precision) {
+        final RegionBSPTree1D tree = empty();
+        tree.readInternal(buffer, BINARY_FORMAT_TYPE, input -> readCut(input, precision));
+
+        return tree;
+    }
+
+    /** Write a node cut in the binary tree format.
+     * @param cut node cut to write
+     * @param out output to write to
+     * @throws IOException if an I/O error occurs
+     */
+    private static void writeCut(final HyperplaneConvexSubset<Vector1D> cut, final DataOutput out)
+            throws IOException {
+        final OrientedPoint pt = (OrientedPoint) cut.getHyperplane();
+
+        out.writeDouble(pt.getLocation());
+        out.writeBoolean(pt.isPositiveFacing());
+    }
+
+    /** Read a node cut in the binary tree format.
+     * @param in input to read from
+     * @param precision precision context for the cut hyperplane
+     * @return the node cut
+     * @throws IOException if an I/O error occurs
+     */
+    private static HyperplaneConvexSubset<Vector1D> readCut(final DataInput in,
+            final DoublePrecisionContext precision) throws IOException {
+        final double location = in.readDouble();
+        final boolean positiveFacing = in.readBoolean();
+
+        return OrientedPoints.fromLocationAndDirection(location, positiveFacing, precision).span();
+    }
+
     /** BSP tree node for one dimensional Euclidean space.
      */
     public static final class RegionNode1D extends AbstractRegionBSPTree.AbstractRegionNode<Vector1D, RegionNode1D> {
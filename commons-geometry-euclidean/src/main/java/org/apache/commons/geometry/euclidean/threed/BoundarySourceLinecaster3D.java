@@ -29,7 +29,8 @@ import org.apache.commons.geometry.euclidean.threed.line.Linecastable3D;
 /** Class that performs linecast operations against arbitrary {@link BoundarySource3D}
  * instances. This class performs a brute-force computation of the intersections of the
  * line or line convex subset against all boundaries. Some data structures may support more
- * efficient algorithms and should therefore prefer those instead.
+ * efficient algorithms and should therefore prefer those instead. Callers performing many
+ * linecasts against the same boundaries should use a {@link BoundingVolumeHierarchy3D}.
  */
 final class BoundarySourceLinecaster3D implements Linecastable3D {
 
@@ -0,0 +1,791 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.threed;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.threed.line.Line3D;
+import org.apache.commons.geometry.euclidean.threed.line.LineConvexSubset3D;
+import org.apache.commons.geometry.euclidean.threed.line.LinecastPoint3D;
+import org.apache.commons.geometry.euclidean.threed.line.Linecastable3D;
+
+/** Bounding volume hierarchy over the boundaries of a {@link BoundarySource3D}, used to perform
+ * efficient linecast operations. The hierarchy is a binary tree of axis-aligned bounding boxes
+ * constructed with the surface area heuristic (SAH) and stored in flat primitive arrays.
+ * Linecast queries only test the boundaries contained in boxes intersected by the line subset,
+ * reducing the typical cost of a query from linear to logarithmic in the number of boundaries.
+ *
+ * <p>Instances are constructed once from a boundary source and may then be used for any number
+ * of queries. The boundaries are read from the source only during construction; subsequent
+ * modifications to the source are not reflected in the hierarchy. Infinite boundaries, which do
+ * not have a bounding box, are tested against every query.</p>
+ *
+ * <p>The results of the linecast operations are the same as those produced by the default
+ * {@link BoundarySource3D} methods. Bounding boxes are expanded by the maximum zero values of the
+ * boundary and line precision contexts to ensure that no intersections are missed.</p>
+ *
+ * <p>Instances of this class are immutable and thread-safe.</p>
+ * @see <a href="https://en.wikipedia.org/wiki/Bounding_volume_hierarchy">Bounding volume hierarchy</a>
+ */
+public final class BoundingVolumeHierarchy3D implements Linecastable3D {
+
+    /** Maximum number of boundaries placed in a leaf node when a split would reduce the estimated cost. */
+    private static final int MAX_LEAF_SIZE = 4;
+
+    /** Number of bins used to evaluate candidate split positions along each axis. */
+    private static final int BIN_COUNT = 12;
+
+    /** Estimated cost of traversing an interior node relative to the cost of intersecting a boundary. */
+    private static final double TRAVERSAL_COST = 0.125;
+
+    /** Number of values used to store a bounding box. */
+    private static final int BOX_SIZE = 6;
+
+    /** Number of dimensions. */
+    private static final int DIMENSIONS = 3;
+
+    /** Boundaries with finite bounds, in the order referenced by the leaf nodes. */
+    private final PlaneConvexSubset[] boundaries;
+
+    /** Boundaries without finite bounds. */
+    private final PlaneConvexSubset[] infiniteBoundaries;
+
+    /** Node bounding boxes, stored as min x, min y, min z, max x, max y, max z. */
+    private final double[] nodeBounds;
+
+    /** For leaf nodes, the index of the first boundary; for interior nodes, the index of the
+     * second child. The first child of an interior node immediately follows its parent.
+     */
+    private final int[] nodeOffsets;
+
+    /** For leaf nodes, the number of boundaries; for interior nodes, {@code -1 - axis} where
+     * {@code axis} is the split axis.
+     */
+    private final int[] nodeCounts;
+
+    /** Number of nodes in the hierarchy. */
+    private final int nodeCount;
+
+    /** Height of the hierarchy. */
+    private final int height;
+
+    /** Construct a new instance from its components.
+     * @param builder builder containing the hierarchy data
+     */
+    private BoundingVolumeHierarchy3D(final Builder builder) {
+        this.boundaries = builder.orderedBoundaries;
+        this.infiniteBoundaries = builder.infiniteBoundaries.toArray(new PlaneConvexSubset[0]);
+        this.nodeBounds = builder.nodeBounds;
+        this.nodeOffsets = builder.nodeOffsets;
+        this.nodeCounts = builder.nodeCounts;
+        this.nodeCount = builder.nodeCount;
+        this.height = builder.height;
+    }
+
+    /** Get the total number of boundaries in the hierarchy, including infinite boundaries.
+     * @return the total number of boundaries in the hierarchy
+     */
+    public int getBoundaryCount() {
+        return boundaries.length + infiniteBoundaries.length;
+    }
+
+    /** Get the number of nodes in the hierarchy.
+     * @return the number of nodes in the hierarchy
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /** Get the height of the hierarchy, ie the number of nodes on the longest path from
+     * the root to a leaf. Zero is returned if the hierarchy does not contain any finite
+     * boundaries.
+     * @return the height of the hierarchy
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /** Get the bounding box containing all finite boundaries in the hierarchy, or null if
+     * no finite boundaries are present. The returned bounds are expanded by the maximum zero
+     * values of the precision contexts of the boundary planes.
+     * @return bounding box containing all finite boundaries in the hierarchy or null if no
+     *      finite boundaries are present
+     */
+    public Bounds3D getBounds() {
+        if (nodeCount < 1) {
+            return null;
+        }
+        return Bounds3D.from(
+                Vector3D.of(nodeBounds[0], nodeBounds[1], nodeBounds[2]),
+                Vector3D.of(nodeBounds[3], nodeBounds[4], nodeBounds[5]));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<LinecastPoint3D> linecast(final LineConvexSubset3D subset) {
+        final List<LinecastPoint3D> results = new ArrayList<>();
+        new Query(subset).collect(results);
+
+        LinecastPoint3D.sortAndFilter(results);
+
+        return results;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public LinecastPoint3D linecastFirst(final LineConvexSubset3D subset) {
+        return new Query(subset).first();
+    }
+
+    /** Return true if the given line intersects any boundary in the hierarchy. This method
+     * returns as soon as an intersection is found and is therefore typically faster than
+     * {@link #linecastFirst(Line3D)} when the intersection itself is not needed.
+     * @param line line to test
+     * @return true if the line intersects any boundary in the hierarchy
+     */
+    public boolean intersects(final Line3D line) {
+        return intersects(line.span());
+    }
+
+    /** Return true if the given line convex subset intersects any boundary in the hierarchy.
+     * This method returns as soon as an intersection is found and is therefore typically faster than
+     * {@link #linecastFirst(LineConvexSubset3D)} when the intersection itself is not needed.
+     * @param subset line subset to test
+     * @return true if the line subset intersects any boundary in the hierarchy
+     */
+    public boolean intersects(final LineConvexSubset3D subset) {
+        return new Query(subset).any();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(getClass().getSimpleName())
+            .append("[boundaryCount= ")
+            .append(getBoundaryCount())
+            .append(", nodeCount= ")
+            .append(nodeCount)
+            .append(", height= ")
+            .append(height)
+            .append(']');
+
+        return sb.toString();
+    }
+
+    /** Construct a new bounding volume hierarchy containing the boundaries from the given source.
+     * @param src boundary source
+     * @return a new bounding volume hierarchy containing the boundaries from the given source
+     */
+    public static BoundingVolumeHierarchy3D from(final BoundarySource3D src) {
+        final List<PlaneConvexSubset> list;
+        try (Stream<PlaneConvexSubset> stream = src.boundaryStream()) {
+            list = stream.collect(Collectors.toList());
+        }
+
+        return new Builder(list).build();
+    }
+
+    /** Class representing a single linecast query against the hierarchy.
+     */
+    private final class Query {
+
+        /** Line subset being cast. */
+        private final LineConvexSubset3D subset;
+
+        /** Line origin coordinates. */
+        private final double[] origin;
+
+        /** Reciprocal of the line direction coordinates; NaN for coordinates considered
+         * to be zero by the line precision context.
+         */
+        private final double[] invDirection;
+
+        /** Line precision maximum zero value. */
+        private final double eps;
+
+        /** Start abscissa of the subset, expanded by the line precision. */
+        private final double start;
+
+        /** End abscissa of the subset, expanded by the line precision. */
+        private final double end;
+
+        /** Construct a new query for the given line subset.
+         * @param subset line subset
+         */
+        Query(final LineConvexSubset3D subset) {
+            this.subset = subset;
+
+            final Line3D line = subset.getLine();
+            final DoublePrecisionContext precision = line.getPrecision();
+            final Vector3D pt = line.getOrigin();
+            final Vector3D dir = line.getDirection();
+
+            this.origin = new double[] {pt.getX(), pt.getY(), pt.getZ()};
+            this.invDirection = new double[] {
+                inverse(dir.getX(), precision),
+                inverse(dir.getY(), precision),
+                inverse(dir.getZ(), precision)
+            };
+            this.eps = precision.getMaxZero();
+            this.start = subset.getSubspaceStart() - eps;
+            this.end = subset.getSubspaceEnd() + eps;
+        }
+
+        /** Add all intersections between the boundaries and the line subset to the given list.
+         * @param results list to add to
+         */
+        void collect(final List<LinecastPoint3D> results) {
+            LinecastPoint3D pt;
+            for (final PlaneConvexSubset boundary : infiniteBoundaries) {
+                pt = intersection(boundary);
+                if (pt != null) {
+                    results.add(pt);
+                }
+            }
+
+            if (nodeCount < 1) {
+                return;
+            }
+
+            final int[] stack = new int[height + 1];
+            int top = 0;
+            stack[top++] = 0;
+
+            int node;
+            while (top > 0) {
+                node = stack[--top];
+                if (entry(node, end) <= end) {
+                    final int count = nodeCounts[node];
+                    if (count >= 0) {
+                        final int offset = nodeOffsets[node];
+                        for (int i = offset; i < offset + count; ++i) {
+                            pt = intersection(boundaries[i]);
+                            if (pt != null) {
+                                results.add(pt);
+                            }
+                        }
+                    } else {
+                        stack[top++] = node + 1;
+                        stack[top++] = nodeOffsets[node];
+                    }
+                }
+            }
+        }
+
+        /** Return true if any boundary intersects the line subset.
+         * @return true if any boundary intersects the line subset
+         */
+        boolean any() {
+            for (final PlaneConvexSubset boundary : infiniteBoundaries) {
+                if (boundary.intersection(subset) != null) {
+                    return true;
+                }
+            }
+
+            if (nodeCount < 1) {
+                return false;
+            }
+
+            final int[] stack = new int[height + 1];
+            int top = 0;
+            stack[top++] = 0;
+
+            int node;
+            while (top > 0) {
+                node = stack[--top];
+                if (entry(node, end) <= end) {
+                    final int count = nodeCounts[node];
+                    if (count >= 0) {
+                        final int offset = nodeOffsets[node];
+                        for (int i = offset; i < offset + count; ++i) {
+                            if (boundaries[i].intersection(subset) != null) {
+                                return true;
+                            }
+                        }
+                    } else {
+                        pushChildren(stack, top, node);
+                        top += 2;
+                    }
+                }
+            }
+
+            return false;
+        }
+
+        /** Find the first intersection along the line subset.
+         * @return the first intersection or null if none is found
+         */
+        LinecastPoint3D first() {
+            LinecastPoint3D best = null;
+
+            LinecastPoint3D pt;
+            for (final PlaneConvexSubset boundary : infiniteBoundaries) {
+                pt = intersection(boundary);
+                if (pt != null && (best == null || LinecastPoint3D.ABSCISSA_ORDER.compare(pt, best) < 0)) {
+                    best = pt;
+                }
+            }
+
+            if (nodeCount < 1) {
+                return best;
+            }
+
+            final int[] stack = new int[height + 1];
+            int top = 0;
+            stack[top++] = 0;
+
+            int node;
+            double limit;
+            while (top > 0) {
+                node = stack[--top];
+                limit = best != null ?
+                        Math.min(end, best.getAbscissa() + eps) :
+                        end;
+
+                if (entry(node, limit) <= limit) {
+                    final int count = nodeCounts[node];
+                    if (count >= 0) {
+                        final int offset = nodeOffsets[node];
+                        for (int i = offset; i < offset + count; ++i) {
+                            pt = intersection(boundaries[i]);
+                            if (pt != null && (best == null || LinecastPoint3D.ABSCISSA_ORDER.compare(pt, best) < 0)) {
+                                best = pt;
+                            }
+                        }
+                    } else {
+                        pushChildren(stack, top, node);
+                        top += 2;
+                    }
+                }
+            }
+
+            return best;
+        }
+
+        /** Push the children of the given interior node onto the stack so that the child
+         * nearest to the start of the line is popped first.
+         * @param stack node stack
+         * @param top current top of the stack
+         * @param node interior node
+         */
+        private void pushChildren(final int[] stack, final int top, final int node) {
+            final int axis = -1 - nodeCounts[node];
+            if (invDirection[axis] < 0) {
+                stack[top] = node + 1;
+                stack[top + 1] = nodeOffsets[node];
+            } else {
+                stack[top] = nodeOffsets[node];
+                stack[top + 1] = node + 1;
+            }
+        }
+
+        /** Compute the intersection of the line subset with the given boundary.
+         * @param boundary boundary to intersect
+         * @return the linecast point or null if no intersection exists
+         */
+        private LinecastPoint3D intersection(final PlaneConvexSubset boundary) {
+            final Vector3D pt = boundary.intersection(subset);
+            return pt != null ?
+                    new LinecastPoint3D(pt, boundary.getPlane().getNormal(), subset.getLine()) :
+                    null;
+        }
+
+        /** Compute the abscissa at which the line subset enters the bounding box of the given node.
+         * NaN is returned if the line subset does not intersect the box before reaching {@code limit}.
+         * Since all comparisons with NaN are false, callers can test for an intersection with
+         * {@code entry(node, limit) <= limit} even if {@code limit} is infinite.
+         * @param node node index
+         * @param limit maximum abscissa of interest
+         * @return entry abscissa, or NaN if the box is not intersected within the abscissa range
+         *      of interest
+         */
+        private double entry(final int node, final double limit) {
+            final int base = node * BOX_SIZE;
+
+            double near = start;
+            double far = limit;
+
+            double lower;
+            double upper;
+            for (int i = 0; i < DIMENSIONS; ++i) {
+                lower = nodeBounds[base + i] - eps;
+                upper = nodeBounds[base + DIMENSIONS + i] + eps;
+
+                if (Double.isNaN(invDirection[i])) {
+                    if (origin[i] < lower || origin[i] > upper) {
+                        return Double.NaN;
+                    }
+                } else {
+                    final double a = (lower - origin[i]) * invDirection[i];
+                    final double b = (upper - origin[i]) * invDirection[i];
+
+                    near = Math.max(near, Math.min(a, b));
+                    far = Math.min(far, Math.max(a, b));
+
+                    if (near > far) {
+                        return Double.NaN;
+                    }
+                }
+            }
+
+            return near;
+        }
+    }
+
+    /** Compute the reciprocal of a direction coordinate, returning NaN if the coordinate
+     * is considered to be zero.
+     * @param value direction coordinate
+     * @param precision precision context
+     * @return the reciprocal of the value or NaN if the value is considered to be zero
+     */
+    private static double inverse(final double value, final DoublePrecisionContext precision) {
+        return precision.eqZero(value) ?
+                Double.NaN :
+                1.0 / value;
+    }
+
+    /** Class used to construct the flattened hierarchy using binned surface area heuristic splits.
+     */
+    private static final class Builder {
+
+        /** Finite boundaries in source order. */
+        private final List<PlaneConvexSubset> finiteBoundaries = new ArrayList<>();
+
+        /** Infinite boundaries in source order. */
+        private final List<PlaneConvexSubset> infiniteBoundaries = new ArrayList<>();
+
+        /** Bounding boxes of the finite boundaries. */
+        private final double[] boxes;
+
+        /** Bounding box centroids of the finite boundaries. */
+        private final double[] centroids;
+
+        /** Permutation of finite boundary indices; leaf nodes reference contiguous ranges. */
+        private final int[] order;
+
+        /** Finite boundaries in leaf order. */
+        private PlaneConvexSubset[] orderedBoundaries;
+
+        /** Node bounding boxes. */
+        private double[] nodeBounds;
+
+        /** Node offsets. */
+        private int[] nodeOffsets;
+
+        /** Node counts. */
+        private int[] nodeCounts;
+
+        /** Number of nodes created. */
+        private int nodeCount;
+
+        /** Hierarchy height. */
+        private int height;
+
+        /** Per-bin boundary counts, reused across splits. */
+        private final int[] binCounts = new int[BIN_COUNT];
+
+        /** Per-bin bounding boxes, reused across splits. */
+        private final double[] binBoxes = new double[BIN_COUNT * BOX_SIZE];
+
+        /** Surface areas of the boxes to the right of each bin boundary, reused across splits. */
+        private final double[] rightAreas = new double[BIN_COUNT];
+
+        /** Construct a new builder for the given boundaries.
+         * @param list boundaries in source order
+         */
+        Builder(final List<PlaneConvexSubset> list) {
+            for (final PlaneConvexSubset boundary : list) {
+                if (boundary.isFinite()) {
+                    finiteBoundaries.add(boundary);
+                } else {
+                    infiniteBoundaries.add(boundary);
+                }
+            }
+
+            final int n = finiteBoundaries.size();
+            boxes = new double[n * BOX_SIZE];
+            centroids = new double[n * DIMENSIONS];
+            order = new int[n];
+
+            PlaneConvexSubset boundary;
+            double pad;
+            int off;
+            for (int i = 0; i < n; ++i) {
+                boundary = finiteBoundaries.get(i);
+                off = i * BOX_SIZE;
+
+                initBox(boxes, off);
+                for (final Vector3D vertex : boundary.getVertices()) {
+                    unionPoint(boxes, off, vertex.getX(), vertex.getY(), vertex.getZ());
+                }
+
+                // expand by the plane precision so that intersections accepted by the
+                // boundary are never excluded by the box test
+                pad = boundary.getPlane().getPrecision().getMaxZero();
+                for (int d = 0; d < DIMENSIONS; ++d) {
+                    boxes[off + d] -= pad;
+                    boxes[off + DIMENSIONS + d] += pad;
+
+                    centroids[(i * DIMENSIONS) + d] = 0.5 * (boxes[off + d] + boxes[off + DIMENSIONS + d]);
+                }
+
+                order[i] = i;
+            }
+        }
+
+        /** Build the hierarchy.
+         * @return the constructed hierarchy
+         */
+        BoundingVolumeHierarchy3D build() {
+            final int n = order.length;
+            final int maxNodes = Math.max(0, (2 * n) - 1);
+
+            nodeBounds = new double[maxNodes * BOX_SIZE];
+            nodeOffsets = new int[maxNodes];
+            nodeCounts = new int[maxNodes];
+
+            if (n > 0) {
+                buildNode(0, n, 1);
+            }
+
+            nodeBounds = Arrays.copyOf(nodeBounds, nodeCount * BOX_SIZE);
+            nodeOffsets = Arrays.copyOf(nodeOffsets, nodeCount);
+            nodeCounts = Arrays.copyOf(nodeCounts, nodeCount);
+
+            orderedBoundaries = new PlaneConvexSubset[n];
+            for (int i = 0; i < n; ++i) {
+                orderedBoundaries[i] = finiteBoundaries.get(order[i]);
+            }
+
+            return new BoundingVolumeHierarchy3D(this);
+        }
+
+        /** Recursively build the node containing the boundaries in the given range of the
+         * {@link #order} array.
+         * @param from start index, inclusive
+         * @param to end index, exclusive
+         * @param depth depth of the node, with the root at depth 1
+         * @return index of the created node
+         */
+        private int buildNode(final int from, final int to, final int depth) {
+            final int node = nodeCount++;
+            height = Math.max(height, depth);
+
+            final int base = node * BOX_SIZE;
+            initBox(nodeBounds, base);
+
+            final double[] centroidBox = new double[BOX_SIZE];
+            initBox(centroidBox, 0);
+
+            for (int i = from; i < to; ++i) {
+                unionBox(nodeBounds, base, boxes, order[i] * BOX_SIZE);
+                final int c = order[i] * DIMENSIONS;
+                unionPoint(centroidBox, 0, centroids[c], centroids[c + 1], centroids[c + 2]);
+            }
+
+            final int count = to - from;
+            final int split = count > 1 ?
+                    findSplit(from, to, nodeBounds, base, centroidBox) :
+                    -1;
+
+            if (split < 0) {
+                nodeOffsets[node] = from;
+                nodeCounts[node] = count;
+            } else {
+                final int axis = split / BIN_COUNT;
+                final int mid = partition(from, to, axis, split % BIN_COUNT, centroidBox);
+
+                nodeCounts[node] = -1 - axis;
+                buildNode(from, mid, depth + 1);
+                nodeOffsets[node] = buildNode(mid, to, depth + 1);
+            }
+
+            return node;
+        }
+
+        /** Find the best split for the given range using the binned surface area heuristic.
+         * @param from start index, inclusive
+         * @param to end index, exclusive
+         * @param bounds array containing the node bounds
+         * @param base offset of the node bounds in the array
+         * @param centroidBox bounding box of the boundary centroids
+         * @return the best split encoded as {@code axis * BIN_COUNT + bin}, where the boundaries in
+         *      bins less than or equal to {@code bin} are placed in the first child, or -1 if the
+         *      range should form a leaf
+         */
+        private int findSplit(final int from, final int to, final double[] bounds, final int base,
+                final double[] centroidBox) {
+            final int count = to - from;
+            final double nodeArea = area(bounds, base);
+
+            double bestCost = Double.POSITIVE_INFINITY;
+            int bestSplit = -1;
+
+            for (int axis = 0; axis < DIMENSIONS; ++axis) {
+                final double cmin = centroidBox[axis];
+                final double cmax = centroidBox[DIMENSIONS + axis];
+                if (!(cmax > cmin)) {
+                    continue;
+                }
+
+                Arrays.fill(binCounts, 0);
+                for (int b = 0; b < BIN_COUNT; ++b) {
+                    initBox(binBoxes, b * BOX_SIZE);
+                }
+
+                for (int i = from; i < to; ++i) {
+                    final int b = bin(centroids[(order[i] * DIMENSIONS) + axis], cmin, cmax);
+                    ++binCounts[b];
+                    unionBox(binBoxes, b * BOX_SIZE, boxes, order[i] * BOX_SIZE);
+                }
+
+                // sweep from the right to compute the areas of the right-hand partitions
+                final double[] acc = new double[BOX_SIZE];
+                initBox(acc, 0);
+                for (int b = BIN_COUNT - 1; b > 0; --b) {
+                    unionBox(acc, 0, binBoxes, b * BOX_SIZE);
+                    rightAreas[b] = area(acc, 0);
+                }
+
+                // sweep from the left, evaluating the cost of splitting after each bin
+                initBox(acc, 0);
+                int leftCount = 0;
+                for (int b = 0; b < BIN_COUNT - 1; ++b) {
+                    unionBox(acc, 0, binBoxes, b * BOX_SIZE);
+                    leftCount += binCounts[b];
+
+                    final int rightCount = count - leftCount;
+                    if (leftCount > 0 && rightCount > 0) {
+                        final double cost = TRAVERSAL_COST +
+                                (((leftCount * area(acc, 0)) + (rightCount * rightAreas[b + 1])) / nodeArea);
+                        if (cost < bestCost) {
+                            bestCost = cost;
+                            bestSplit = (axis * BIN_COUNT) + b;
+                        }
+                    }
+                }
+            }
+
+            if (bestSplit >= 0 && (count > MAX_LEAF_SIZE || bestCost < count)) {
+                return bestSplit;
+            }
+            return -1;
+        }
+
+        /** Partition the given range of the {@link #order} array so that boundaries with centroids
+         * in bins less than or equal to {@code bin} along {@code axis} come first.
+         * @param from start index, inclusive
+         * @param to end index, exclusive
+         * @param axis split axis
+         * @param bin last bin of the first partition
+         * @param centroidBox bounding box of the boundary centroids
+         * @return index of the first element of the second partition
+         */
+        private int partition(final int from, final int to, final int axis, final int bin,
+                final double[] centroidBox) {
+            final double cmin = centroidBox[axis];
+            final double cmax = centroidBox[DIMENSIONS + axis];
+
+            int lo = from;
+            int hi = to - 1;
+            while (lo <= hi) {
+                if (bin(centroids[(order[lo] * DIMENSIONS) + axis], cmin, cmax) <= bin) {
+                    ++lo;
+                } else {
+                    final int tmp = order[lo];
+                    order[lo] = order[hi];
+                    order[hi] = tmp;
+                    --hi;
+                }
+            }
+            return lo;
+        }
+
+        /** Get the bin index for the given centroid coordinate.
+         * @param value centroid coordinate
+         * @param cmin minimum centroid coordinate
+         * @param cmax maximum centroid coordinate
+         * @return bin index
+         */
+        private static int bin(final double value, final double cmin, final double cmax) {
+            final int b = (int) (BIN_COUNT * ((value - cmin) / (cmax - cmin)));
+            return Math.max(0, Math.min(BIN_COUNT - 1, b));
+        }
+
+        /** Set the box at the given offset to the empty box.
+         * @param arr box array
+         * @param off box offset
+         */
+        private static void initBox(final double[] arr, final int off) {
+            for (int d = 0; d < DIMENSIONS; ++d) {
+                arr[off + d] = Double.POSITIVE_INFINITY;
+                arr[off + DIMENSIONS + d] = Double.NEGATIVE_INFINITY;
+            }
+        }
+
+        /** Expand the target box to include the source box.
+         * @param target target box array
+         * @param toff target box offset
+         * @param src source box array
+         * @param soff source box offset
+         */
+        private static void unionBox(final double[] target, final int toff, final double[] src, final int soff) {
+            for (int d = 0; d < DIMENSIONS; ++d) {
+                target[toff + d] = Math.min(target[toff + d], src[soff + d]);
+                target[toff + DIMENSIONS + d] = Math.max(target[toff + DIMENSIONS + d], src[soff + DIMENSIONS + d]);
+            }
+        }
+
+        /** Expand the target box to include the given point.
+         * @param target target box array
+         * @param toff target box offset
+         * @param x point x coordinate
+         * @param y point y coordinate
+         * @param z point z coordinate
+         */
+        private static void unionPoint(final double[] target, final int toff,
+                final double x, final double y, final double z) {
+            target[toff] = Math.min(target[toff], x);
+            target[toff + 1] = Math.min(target[toff + 1], y);
+            target[toff + 2] = Math.min(target[toff + 2], z);
+            target[toff + DIMENSIONS] = Math.max(target[toff + DIMENSIONS], x);
+            target[toff + DIMENSIONS + 1] = Math.max(target[toff + DIMENSIONS + 1], y);
+            target[toff + DIMENSIONS + 2] = Math.max(target[toff + DIMENSIONS + 2], z);
+        }
+
+        /** Compute half the surface area of the given box. Zero is returned for empty boxes.
+         * @param arr box array
+         * @param off box offset
+         * @return half the surface area of the box
+         */
+        private static double area(final double[] arr, final int off) {
+            final double dx = arr[off + DIMENSIONS] - arr[off];
+            final double dy = arr[off + DIMENSIONS + 1] - arr[off + 1];
+            final double dz = arr[off + DIMENSIONS + 2] - arr[off + 2];
+            if (!(dx >= 0)) {
+                return 0;
+            }
+            return (dx * dy) + (dy * dz) + (dz * dx);
+        }
+    }
+}
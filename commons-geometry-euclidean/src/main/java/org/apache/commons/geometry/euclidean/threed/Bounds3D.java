@@ -21,6 +21,8 @@ import java.util.Objects;
 
 import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
 import org.apache.commons.geometry.euclidean.AbstractBounds;
+import org.apache.commons.geometry.euclidean.threed.line.Line3D;
+import org.apache.commons.geometry.euclidean.threed.line.LineConvexSubset3D;
 import org.apache.commons.geometry.euclidean.threed.shape.Parallelepiped;
 
 /** Class containing minimum and maximum points defining a 3D axis-aligned bounding box. Unless otherwise
@@ -93,6 +95,52 @@ public final class Bounds3D extends AbstractBounds<Vector3D, Bounds3D> {
                 aMin.getZ() <= bMax.getZ() && aMax.getZ() >= bMin.getZ();
     }
 
+    /** Return true if the given line convex subset intersects this bounding box. Comparisons are
+     * performed using the precision context of the subset's line: the bounding box and the subset are
+     * both expanded by the maximum zero value of the context before the test is performed.
+     * @param subset line convex subset to test
+     * @return true if the line convex subset intersects this bounding box
+     */
+    public boolean intersects(final LineConvexSubset3D subset) {
+        final Line3D line = subset.getLine();
+        final DoublePrecisionContext linePrecision = line.getPrecision();
+        final double eps = linePrecision.getMaxZero();
+
+        final Vector3D origin = line.getOrigin();
+        final Vector3D dir = line.getDirection();
+        final Vector3D min = getMin();
+        final Vector3D max = getMax();
+
+        final double[] start = {origin.getX(), origin.getY(), origin.getZ()};
+        final double[] step = {dir.getX(), dir.getY(), dir.getZ()};
+        final double[] lower = {min.getX() - eps, min.getY() - eps, min.getZ() - eps};
+        final double[] upper = {max.getX() + eps, max.getY() + eps, max.getZ() + eps};
+
+        // slab method: clip the subset abscissa range against each pair of axis-aligned planes
+        double near = subset.getSubspaceStart() - eps;
+        double far = subset.getSubspaceEnd() + eps;
+
+        for (int i = 0; i < start.length; ++i) {
+            if (linePrecision.eqZero(step[i])) {
+                if (start[i] < lower[i] || start[i] > upper[i]) {
+                    return false;
+                }
+            } else {
+                final double a = (lower[i] - start[i]) / step[i];
+                final double b = (upper[i] - start[i]) / step[i];
+
+                near = Math.max(near, Math.min(a, b));
+                far = Math.min(far, Math.max(a, b));
+
+                if (near > far) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
     /** {@inheritDoc} */
     @Override
     public Bounds3D intersection(final Bounds3D other) {
@@ -214,10 +262,16 @@ public final class Bounds3D extends AbstractBounds<Vector3D, Bounds3D> {
          * @return this instance
          */
         public Builder add(final Vector3D pt) {
-            final double x = pt.getX();
-            final double y = pt.getY();
-            final double z = pt.getZ();
+            return add(pt.getX(), pt.getY(), pt.getZ());
+        }
 
+        /** Add a point given by its coordinates to this instance.
+         * @param x x coordinate of the point to add
+         * @param y y coordinate of the point to add
+         * @param z z coordinate of the point to add
+         * @return this instance
+         */
+        public Builder add(final double x, final double y, final double z) {
             minX = Math.min(x, minX);
             minY = Math.min(y, minY);
             minZ = Math.min(z, minZ);
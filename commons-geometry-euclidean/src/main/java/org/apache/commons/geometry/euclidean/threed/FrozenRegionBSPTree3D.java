@@ -0,0 +1,1221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.threed;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.partitioning.bsp.RegionCutBoundary;
+import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.internal.BatchArrays;
+import org.apache.commons.geometry.euclidean.internal.ExactPredicates;
+import org.apache.commons.geometry.euclidean.internal.ParallelRanges;
+import org.apache.commons.geometry.euclidean.internal.Vectors;
+import org.apache.commons.geometry.euclidean.threed.RegionBSPTree3D.RegionNode3D;
+import org.apache.commons.geometry.euclidean.threed.line.Line3D;
+import org.apache.commons.geometry.euclidean.threed.line.LineConvexSubset3D;
+import org.apache.commons.geometry.euclidean.threed.line.LinecastPoint3D;
+import org.apache.commons.geometry.euclidean.threed.line.Linecastable3D;
+import org.apache.commons.geometry.euclidean.threed.line.Lines3D;
+import org.apache.commons.geometry.euclidean.threed.line.Ray3D;
+import org.apache.commons.numbers.arrays.LinearCombination;
+import org.apache.commons.numbers.core.Precision;
+
+/** Immutable, array-backed snapshot of a {@link RegionBSPTree3D} intended for fast, repeated
+ * queries. Instead of a graph of node objects, the tree structure is stored in a small number of
+ * primitive arrays: the cut plane coefficients of each internal node in a {@code double[]}, the
+ * child references of each internal node in an {@code int[]}, and the location of each leaf node in
+ * a {@code byte[]}. Internal nodes are stored in depth-first order so that the nodes visited during
+ * a query are close together in memory. The maximum zero value of the precision context of each cut and
+ * whether the context {@link org.apache.commons.geometry.core.precision.DoublePrecisionContext#useExactPredicates()
+ * uses exact predicates} are stored in parallel primitive arrays so that points are classified with the same
+ * test as in the source tree without dereferencing the cut objects.
+ *
+ * <p>Instances are created with {@link RegionBSPTree3D#freeze()}. Point classification produces
+ * the same results as the source tree and does not allocate any objects. Since instances are immutable,
+ * they are thread-safe and can be shared freely between threads. Changes made to the source tree after
+ * the snapshot is created are not reflected in the snapshot.</p>
+ *
+ * <h2>Linecasting</h2>
+ * <p>The snapshot retains the {@link RegionCutBoundary cut boundary} of each internal node and linecast
+ * points are computed from these boundaries with the same rules as in
+ * {@link RegionBSPTree3D#linecast(LineConvexSubset3D)}: a point is produced wherever the line intersects
+ * the boundary portion of a node cut, including points where the line only touches the boundary without
+ * crossing it, such as at an edge or a vertex. The results are therefore the same as those of the source
+ * tree. Only the subtrees whose regions the line passes through are visited.</p>
+ *
+ * <p>Since the cut boundaries are polygon lists, they make up most of the memory used by a snapshot. Only
+ * the boundaries of cuts that actually contain a portion of the region boundary are retained. Unlike point
+ * classification, linecasts allocate objects: each intersection of the line with a retained cut boundary
+ * creates a point and a {@link LinecastPoint3D}, and {@link #linecast(LineConvexSubset3D)} collects the
+ * results in a list. {@link #linecastFirst(LineConvexSubset3D)} only keeps the closest point found so far.</p>
+ *
+ * <h2>Batch ray casting</h2>
+ * <p>The {@code linecastFirst} methods accepting arrays of ray origins and directions compute the first
+ * linecast point of each ray and write the results into primitive output arrays. Rays are traced through
+ * the tree in packets of adjacent rays: each internal node is visited once per packet and the packet is
+ * split only where its rays diverge, so batches of spatially coherent rays (such as rays sharing an origin
+ * and having similar directions) are processed considerably faster than individual linecasts. Objects are
+ * only allocated where a ray intersects a node cut and the intersection point must be tested against the
+ * cut boundary. The precision context of the root node cut is used for the rays. Batches can be split across
+ * threads by passing a {@link ForkJoinPool}.</p>
+ * @see RegionBSPTree3D#freeze()
+ */
+public final class FrozenRegionBSPTree3D implements Linecastable3D {
+
+    /** Number of values stored for each internal node in the plane array. */
+    private static final int PLANE_STRIDE = 4;
+
+    /** Array used to map leaf location values to region locations. */
+    private static final RegionLocation[] LOCATIONS = RegionLocation.values();
+
+    /** Location value for points on the region boundary. */
+    private static final int BOUNDARY = RegionLocation.BOUNDARY.ordinal();
+
+    /** Location value for points outside of the region. */
+    private static final int OUTSIDE = RegionLocation.OUTSIDE.ordinal();
+
+    /** Maximum number of rays traced through the tree together as a single packet. */
+    private static final int PACKET_SIZE = 64;
+
+    /** Maximum number of rays cast by a single task in parallel batch linecasts. */
+    private static final int LINECAST_CHUNK_SIZE = 1 << 10;
+
+    /** Cut plane coefficients for each internal node, stored as the normal x, y, and z values
+     * followed by the origin offset.
+     */
+    private final double[] planes;
+
+    /** Minus and plus child references for each internal node. Non-negative references are
+     * internal node indices; negative references {@code r} refer to the leaf at index {@code ~r}.
+     */
+    private final int[] children;
+
+    /** Maximum zero value of the precision context of the cut of each internal node. */
+    private final double[] maxZeros;
+
+    /** Flags indicating whether the precision context of the cut of each internal node uses
+     * exact predicates.
+     */
+    private final boolean[] exactPredicates;
+
+    /** Cut plane of each internal node, used for linecasts. */
+    private final Plane[] cuts;
+
+    /** Boundary portion of the cut of each internal node, used for linecasts; null if the cut does not
+     * contain any portion of the region boundary.
+     */
+    private final List<RegionCutBoundary<Vector3D>> boundaries;
+
+    /** Location value of each leaf node. */
+    private final byte[] locations;
+
+    /** Reference to the root node. */
+    private final int root;
+
+    /** Construct a new instance from the given builder.
+     * @param builder builder containing the snapshot data
+     */
+    private FrozenRegionBSPTree3D(final SnapshotBuilder builder) {
+        this.planes = builder.planes;
+        this.children = builder.children;
+        this.maxZeros = builder.maxZeros;
+        this.exactPredicates = builder.exactPredicates;
+        this.cuts = builder.cuts;
+        this.boundaries = builder.boundaries;
+        this.locations = builder.locations;
+        this.root = builder.root;
+    }
+
+    /** Return true if the region represented by this instance is full, ie, it contains all points in
+     * the space.
+     * @return true if the region is full
+     */
+    public boolean isFull() {
+        return root < 0 && locations[~root] != OUTSIDE;
+    }
+
+    /** Return true if the region represented by this instance is empty, ie, it does not contain any
+     * points in the space.
+     * @return true if the region is empty
+     */
+    public boolean isEmpty() {
+        return root < 0 && locations[~root] == OUTSIDE;
+    }
+
+    /** Get the number of internal (ie, cut) nodes in the snapshot.
+     * @return the number of internal nodes in the snapshot
+     */
+    public int getInternalNodeCount() {
+        return cuts.length;
+    }
+
+    /** Get the number of leaf nodes in the snapshot.
+     * @return the number of leaf nodes in the snapshot
+     */
+    public int getLeafNodeCount() {
+        return locations.length;
+    }
+
+    /** Classify the given point with respect to the region. The result is the same as that
+     * returned by {@link RegionBSPTree3D#classify(Vector3D)} for the source tree.
+     * @param pt the point to classify
+     * @return the location of the point with respect to the region
+     */
+    public RegionLocation classify(final Vector3D pt) {
+        return classify(pt.getX(), pt.getY(), pt.getZ());
+    }
+
+    /** Classify the point with the given coordinates with respect to the region. This method
+     * does not allocate any objects.
+     * @param x point x coordinate
+     * @param y point y coordinate
+     * @param z point z coordinate
+     * @return the location of the point with respect to the region
+     */
+    public RegionLocation classify(final double x, final double y, final double z) {
+        if (Double.isNaN(x) || Double.isNaN(y) || Double.isNaN(z)) {
+            return RegionLocation.OUTSIDE;
+        }
+
+        return LOCATIONS[classify(root, x, y, z)];
+    }
+
+    /** Return true if the given point is on the inside or boundary of the region.
+     * @param pt the point to test
+     * @return true if the point is on the inside or boundary of the region
+     */
+    public boolean contains(final Vector3D pt) {
+        return classify(pt) != RegionLocation.OUTSIDE;
+    }
+
+    /** Return true if the point with the given coordinates is on the inside or boundary of
+     * the region. This method does not allocate any objects.
+     * @param x point x coordinate
+     * @param y point y coordinate
+     * @param z point z coordinate
+     * @return true if the point is on the inside or boundary of the region
+     */
+    public boolean contains(final double x, final double y, final double z) {
+        return classify(x, y, z) != RegionLocation.OUTSIDE;
+    }
+
+    /** {@inheritDoc}
+     *
+     * <p>See the class documentation for details on how linecast points are determined.</p>
+     */
+    @Override
+    public List<LinecastPoint3D> linecast(final LineConvexSubset3D subset) {
+        final LinecastTraversal traversal = new LinecastTraversal(subset, false);
+        traversal.traverse();
+
+        return traversal.getResults();
+    }
+
+    /** {@inheritDoc}
+     *
+     * <p>See the class documentation for details on how linecast points are determined.</p>
+     */
+    @Override
+    public LinecastPoint3D linecastFirst(final LineConvexSubset3D subset) {
+        final LinecastTraversal traversal = new LinecastTraversal(subset, true);
+        traversal.traverse();
+
+        return traversal.getFirstResult();
+    }
+
+    /** Compute the first linecast point of each ray in a batch. Ray {@code i} starts at the origin
+     * {@code (origins[3i], origins[3i + 1], origins[3i + 2])} and extends infinitely in the direction
+     * {@code (directions[3i], directions[3i + 1], directions[3i + 2])}, which need not be normalized.
+     * If the ray intersects the region boundary, {@code hits[i]} is set to true, {@code abscissas[i]}
+     * is set to the ray parameter {@code t} of the first intersection point {@code origin + t * direction}
+     * and the boundary normal at the intersection is written to {@code normals[3i]} through
+     * {@code normals[3i + 2]}. Otherwise, {@code hits[i]} is set to false and the abscissa and normal
+     * values are set to NaN. The linecast points are determined as described in the class documentation.
+     * @param origins ray origin coordinates, stored as consecutive x, y, z values
+     * @param directions ray direction coordinates, stored as consecutive x, y, z values
+     * @param abscissas array receiving the ray parameter of the first intersection of each ray
+     * @param normals array receiving the boundary normal at the first intersection of each ray,
+     *      stored as consecutive x, y, z values
+     * @param hits array receiving flags indicating whether each ray intersects the region boundary
+     * @throws IllegalArgumentException if the array lengths are not consistent with each other or if any
+     *      ray direction has a zero, NaN, or infinite norm
+     */
+    public void linecastFirst(final double[] origins, final double[] directions, final double[] abscissas,
+            final double[] normals, final boolean[] hits) {
+        validateRayArrays(origins, false, directions, abscissas, normals, hits);
+
+        new PacketTraversal(origins, false, directions, abscissas, normals, hits)
+            .traceRange(0, hits.length);
+    }
+
+    /** Compute the first linecast point of each ray in a batch, using tasks in the given pool to cast
+     * chunks of rays in parallel. The results are the same as those of
+     * {@link #linecastFirst(double[], double[], double[], double[], boolean[])}.
+     * @param origins ray origin coordinates, stored as consecutive x, y, z values
+     * @param directions ray direction coordinates, stored as consecutive x, y, z values
+     * @param abscissas array receiving the ray parameter of the first intersection of each ray
+     * @param normals array receiving the boundary normal at the first intersection of each ray,
+     *      stored as consecutive x, y, z values
+     * @param hits array receiving flags indicating whether each ray intersects the region boundary
+     * @param pool pool used to execute the linecast tasks
+     * @throws IllegalArgumentException if the array lengths are not consistent with each other or if any
+     *      ray direction has a zero, NaN, or infinite norm
+     */
+    public void linecastFirst(final double[] origins, final double[] directions, final double[] abscissas,
+            final double[] normals, final boolean[] hits, final ForkJoinPool pool) {
+        validateRayArrays(origins, false, directions, abscissas, normals, hits);
+
+        ParallelRanges.apply(hits.length, LINECAST_CHUNK_SIZE, pool,
+            (start, end) -> new PacketTraversal(origins, false, directions, abscissas, normals, hits)
+                .traceRange(start, end));
+    }
+
+    /** Compute the first linecast point of each ray in a batch of rays sharing a single origin. This is
+     * the same as {@link #linecastFirst(double[], double[], double[], double[], boolean[])} with every
+     * ray starting at {@code origin} but is faster since the position of the origin relative to each
+     * node cut plane is only computed once per packet of rays.
+     * @param origin origin shared by all rays
+     * @param directions ray direction coordinates, stored as consecutive x, y, z values
+     * @param abscissas array receiving the ray parameter of the first intersection of each ray
+     * @param normals array receiving the boundary normal at the first intersection of each ray,
+     *      stored as consecutive x, y, z values
+     * @param hits array receiving flags indicating whether each ray intersects the region boundary
+     * @throws IllegalArgumentException if the array lengths are not consistent with each other or if any
+     *      ray direction has a zero, NaN, or infinite norm
+     */
+    public void linecastFirst(final Vector3D origin, final double[] directions, final double[] abscissas,
+            final double[] normals, final boolean[] hits) {
+        final double[] origins = {origin.getX(), origin.getY(), origin.getZ()};
+        validateRayArrays(origins, true, directions, abscissas, normals, hits);
+
+        new PacketTraversal(origins, true, directions, abscissas, normals, hits)
+            .traceRange(0, hits.length);
+    }
+
+    /** Compute the first linecast point of each ray in a batch of rays sharing a single origin, using tasks
+     * in the given pool to cast chunks of rays in parallel. The results are the same as those of
+     * {@link #linecastFirst(Vector3D, double[], double[], double[], boolean[])}.
+     * @param origin origin shared by all rays
+     * @param directions ray direction coordinates, stored as consecutive x, y, z values
+     * @param abscissas array receiving the ray parameter of the first intersection of each ray
+     * @param normals array receiving the boundary normal at the first intersection of each ray,
+     *      stored as consecutive x, y, z values
+     * @param hits array receiving flags indicating whether each ray intersects the region boundary
+     * @param pool pool used to execute the linecast tasks
+     * @throws IllegalArgumentException if the array lengths are not consistent with each other or if any
+     *      ray direction has a zero, NaN, or infinite norm
+     */
+    public void linecastFirst(final Vector3D origin, final double[] directions, final double[] abscissas,
+            final double[] normals, final boolean[] hits, final ForkJoinPool pool) {
+        final double[] origins = {origin.getX(), origin.getY(), origin.getZ()};
+        validateRayArrays(origins, true, directions, abscissas, normals, hits);
+
+        ParallelRanges.apply(hits.length, LINECAST_CHUNK_SIZE, pool,
+            (start, end) -> new PacketTraversal(origins, true, directions, abscissas, normals, hits)
+                .traceRange(start, end));
+    }
+
+    /** Compute the first linecast point of each ray in the given list. The results are written to the
+     * output arrays as described in {@link #linecastFirst(double[], double[], double[], double[], boolean[])},
+     * with {@code abscissas[i]} set to the distance from the start point of ray {@code i} to its first
+     * intersection point.
+     * @param rays rays to cast
+     * @param abscissas array receiving the distance along each ray to its first intersection
+     * @param normals array receiving the boundary normal at the first intersection of each ray,
+     *      stored as consecutive x, y, z values
+     * @param hits array receiving flags indicating whether each ray intersects the region boundary
+     * @throws IllegalArgumentException if the array lengths are not consistent with the number of rays
+     */
+    public void linecastFirst(final List<Ray3D> rays, final double[] abscissas, final double[] normals,
+            final boolean[] hits) {
+        final double[] origins = new double[rays.size() * 3];
+        final double[] directions = new double[origins.length];
+        toRayArrays(rays, origins, directions);
+
+        linecastFirst(origins, directions, abscissas, normals, hits);
+    }
+
+    /** Compute the first linecast point of each ray in the given list, using tasks in the given pool to
+     * cast chunks of rays in parallel. The results are the same as those of
+     * {@link #linecastFirst(List, double[], double[], boolean[])}.
+     * @param rays rays to cast
+     * @param abscissas array receiving the distance along each ray to its first intersection
+     * @param normals array receiving the boundary normal at the first intersection of each ray,
+     *      stored as consecutive x, y, z values
+     * @param hits array receiving flags indicating whether each ray intersects the region boundary
+     * @param pool pool used to execute the linecast tasks
+     * @throws IllegalArgumentException if the array lengths are not consistent with the number of rays
+     */
+    public void linecastFirst(final List<Ray3D> rays, final double[] abscissas, final double[] normals,
+            final boolean[] hits, final ForkJoinPool pool) {
+        final double[] origins = new double[rays.size() * 3];
+        final double[] directions = new double[origins.length];
+        toRayArrays(rays, origins, directions);
+
+        linecastFirst(origins, directions, abscissas, normals, hits, pool);
+    }
+
+    /** Classify the point with the given coordinates against the subtree with the given reference.
+     * @param ref subtree reference
+     * @param x point x coordinate
+     * @param y point y coordinate
+     * @param z point z coordinate
+     * @return location value of the point with respect to the subtree
+     */
+    private int classify(final int ref, final double x, final double y, final double z) {
+        int current = ref;
+        while (current >= 0) {
+            final int p = current * PLANE_STRIDE;
+            final double nx = planes[p];
+            final double ny = planes[p + 1];
+            final double nz = planes[p + 2];
+
+            final int cmp;
+            if (exactPredicates[current]) {
+                cmp = ExactPredicates.linearSign(x, nx, y, ny, z, nz, planes[p + 3], maxZeros[current]);
+            } else {
+                cmp = Precision.compareTo(LinearCombination.value(x, nx, y, ny, z, nz) + planes[p + 3],
+                        0.0, maxZeros[current]);
+            }
+
+            final int c = current * 2;
+
+            if (cmp < 0) {
+                current = children[c];
+            } else if (cmp > 0) {
+                current = children[c + 1];
+            } else {
+                // the point is on the cut plane; classify against both child subtrees
+                // and see if we end up with the same result or not
+                final int minusLoc = classify(children[c], x, y, z);
+                final int plusLoc = classify(children[c + 1], x, y, z);
+
+                return minusLoc == plusLoc ?
+                        minusLoc :
+                        BOUNDARY;
+            }
+        }
+
+        return locations[~current];
+    }
+
+    /** Write the start points and directions of the given rays to the given arrays.
+     * @param rays rays
+     * @param origins array receiving the ray start points
+     * @param directions array receiving the ray directions
+     */
+    private static void toRayArrays(final List<Ray3D> rays, final double[] origins, final double[] directions) {
+        int i = 0;
+        for (final Ray3D ray : rays) {
+            final Vector3D start = ray.getStartPoint();
+            final Vector3D dir = ray.getDirection();
+
+            origins[i] = start.getX();
+            origins[i + 1] = start.getY();
+            origins[i + 2] = start.getZ();
+
+            directions[i] = dir.getX();
+            directions[i + 1] = dir.getY();
+            directions[i + 2] = dir.getZ();
+
+            i += 3;
+        }
+    }
+
+    /** Validate the arrays passed to a batch linecast operation.
+     * @param origins ray origin coordinates
+     * @param sharedOrigin true if all rays share the single origin in {@code origins}
+     * @param directions ray direction coordinates
+     * @param abscissas abscissa output array
+     * @param normals normal output array
+     * @param hits hit flag output array
+     * @throws IllegalArgumentException if the array lengths are not consistent with each other or if any
+     *      ray direction has a zero, NaN, or infinite norm
+     */
+    private static void validateRayArrays(final double[] origins, final boolean sharedOrigin,
+            final double[] directions, final double[] abscissas, final double[] normals, final boolean[] hits) {
+        final int count = hits.length;
+        final int coordinateCount = 3 * count;
+
+        BatchArrays.checkLength("origins", origins.length, sharedOrigin ? 3 : coordinateCount);
+        BatchArrays.checkLength("directions", directions.length, coordinateCount);
+        BatchArrays.checkLength("abscissas", abscissas.length, count);
+        BatchArrays.checkLength("normals", normals.length, coordinateCount);
+
+        for (int i = 0; i < coordinateCount; i += 3) {
+            if (!Vectors.isRealNonZero(Vectors.norm(directions[i], directions[i + 1], directions[i + 2]))) {
+                throw new IllegalArgumentException(String.format("Invalid direction for ray %d: (%s, %s, %s)",
+                        i / 3, directions[i], directions[i + 1], directions[i + 2]));
+            }
+        }
+    }
+
+    /** Create a new snapshot of the given tree.
+     * @param tree source tree
+     * @return a new snapshot of the given tree
+     */
+    static FrozenRegionBSPTree3D from(final RegionBSPTree3D tree) {
+        return new FrozenRegionBSPTree3D(new SnapshotBuilder(tree));
+    }
+
+    /** Compute the linecast point for the given intersection point of a line with a node cut, returning
+     * null if the point does not lie on the boundary portion of the cut. This uses the same rules as
+     * {@link RegionBSPTree3D#linecast(LineConvexSubset3D)}.
+     * @param boundary boundary portion of the cut
+     * @param cut node cut
+     * @param pt intersection point of the line and the cut
+     * @param line intersecting line
+     * @return a new linecast point or null if the intersection point does not lie on the region boundary
+     */
+    private static LinecastPoint3D computeLinecastPoint(final RegionCutBoundary<Vector3D> boundary,
+            final Plane cut, final Vector3D pt, final Line3D line) {
+        if (boundary.containsInsideFacing(pt)) {
+            // on inside-facing boundary
+            return new LinecastPoint3D(pt, cut.getNormal().negate(), line);
+        } else if (boundary.containsOutsideFacing(pt)) {
+            // on outside-facing boundary
+            return new LinecastPoint3D(pt, cut.getNormal(), line);
+        }
+
+        return null;
+    }
+
+    /** Get the offset from a cut plane of the point at the given abscissa of a line.
+     * @param offset offset of the line origin from the plane
+     * @param dot dot product of the line direction and the plane normal
+     * @param abscissa line abscissa; may be infinite
+     * @return the offset of the line point from the plane
+     */
+    private static double offsetAt(final double offset, final double dot, final double abscissa) {
+        return dot == 0 ?
+                offset :
+                offset + (dot * abscissa);
+    }
+
+    /** Get the end abscissa of the portion of a line that must be traced through the near child of a node.
+     * The portion ends where the line has moved further than the given padding distance past the cut.
+     * @param end end abscissa of the line portion traced through the node
+     * @param offset offset of the line origin from the cut plane
+     * @param dot dot product of the line direction and the cut plane normal
+     * @param pad padding distance
+     * @return the end abscissa of the line portion to trace through the near child
+     */
+    private static double nearEnd(final double end, final double offset, final double dot, final double pad) {
+        final double crossing = -offset / dot;
+        final double slack = pad / Math.abs(dot);
+
+        return Double.isFinite(crossing) && Double.isFinite(slack) ?
+                Math.min(end, crossing + slack) :
+                end;
+    }
+
+    /** Get the start abscissa of the portion of a line that must be traced through the far child of a node.
+     * The portion starts where the line comes within the given padding distance of the cut.
+     * @param start start abscissa of the line portion traced through the node
+     * @param offset offset of the line origin from the cut plane
+     * @param dot dot product of the line direction and the cut plane normal
+     * @param pad padding distance
+     * @return the start abscissa of the line portion to trace through the far child
+     */
+    private static double farStart(final double start, final double offset, final double dot, final double pad) {
+        final double crossing = -offset / dot;
+        final double slack = pad / Math.abs(dot);
+
+        return Double.isFinite(crossing) && Double.isFinite(slack) ?
+                Math.max(start, crossing - slack) :
+                start;
+    }
+
+    /** Get the distance from the cut of the given internal node beyond which the boundaries of the
+     * subtree on the other side of the cut cannot contain any points. This is twice the maximum zero
+     * value of the cut precision context, since points within that distance of the cut are considered
+     * to lie on it both when the subtree boundaries are split and when points are tested against them.
+     * @param ref internal node index
+     * @return the padding distance for the node
+     */
+    private double padding(final int ref) {
+        return 2 * maxZeros[ref];
+    }
+
+    /** Class used to trace a line through the snapshot in the same order as the source tree visits
+     * its nodes during a linecast, testing the line against the cut boundary of each internal node
+     * whose region the line passes through.
+     */
+    private final class LinecastTraversal {
+
+        /** Line subset being traced. */
+        private final LineConvexSubset3D subset;
+
+        /** Line containing the subset. */
+        private final Line3D line;
+
+        /** If true, the traversal is stopped once the first linecast point is found. */
+        private final boolean firstOnly;
+
+        /** Line origin x coordinate. */
+        private final double ox;
+
+        /** Line origin y coordinate. */
+        private final double oy;
+
+        /** Line origin z coordinate. */
+        private final double oz;
+
+        /** Line direction x coordinate. */
+        private final double dx;
+
+        /** Line direction y coordinate. */
+        private final double dy;
+
+        /** Line direction z coordinate. */
+        private final double dz;
+
+        /** Linecast results; null if only the first result is kept. */
+        private final List<LinecastPoint3D> results;
+
+        /** The linecast result with the smallest abscissa found so far. */
+        private LinecastPoint3D first;
+
+        /** Construct a new instance for the given line subset.
+         * @param subset line subset to trace
+         * @param firstOnly if true, the traversal is stopped once the first linecast point is found
+         */
+        LinecastTraversal(final LineConvexSubset3D subset, final boolean firstOnly) {
+            this.subset = subset;
+            this.line = subset.getLine();
+            this.firstOnly = firstOnly;
+            this.results = firstOnly ?
+                    null :
+                    new ArrayList<>();
+
+            final Vector3D origin = line.getOrigin();
+            this.ox = origin.getX();
+            this.oy = origin.getY();
+            this.oz = origin.getZ();
+
+            final Vector3D direction = line.getDirection();
+            this.dx = direction.getX();
+            this.dy = direction.getY();
+            this.dz = direction.getZ();
+        }
+
+        /** Get the sorted and filtered list of linecast results.
+         * @return the list of linecast results
+         */
+        List<LinecastPoint3D> getResults() {
+            LinecastPoint3D.sortAndFilter(results);
+
+            return results;
+        }
+
+        /** Get the first linecast result or null if no results were found.
+         * @return the first linecast result or null if no results were found
+         */
+        LinecastPoint3D getFirstResult() {
+            return first;
+        }
+
+        /** Trace the line subset through the snapshot. The traced portion of the line is extended past the
+         * ends of the subset by the maximum zero value of the line precision context since points within
+         * that distance of the ends are considered to lie in the subset.
+         */
+        void traverse() {
+            final double pad = line.getPrecision().getMaxZero();
+            traverse(root, subset.getSubspaceStart() - pad, subset.getSubspaceEnd() + pad);
+        }
+
+        /** Trace the portion of the line between the given abscissa values through the subtree with
+         * the given reference. Points of the line subset outside of this portion cannot lie on any of the
+         * cut boundaries of the subtree.
+         * @param ref subtree reference
+         * @param start start abscissa
+         * @param end end abscissa
+         * @return true if the traversal should be stopped
+         */
+        private boolean traverse(final int ref, final double start, final double end) {
+            if (ref < 0) {
+                return false;
+            }
+
+            final int p = ref * PLANE_STRIDE;
+            final double nx = planes[p];
+            final double ny = planes[p + 1];
+            final double nz = planes[p + 2];
+
+            final double dot = LinearCombination.value(nx, dx, ny, dy, nz, dz);
+            final double offset = LinearCombination.value(nx, ox, ny, oy, nz, oz) + planes[p + 3];
+            final double pad = padding(ref);
+
+            final double startOffset = offsetAt(offset, dot, start);
+            final double endOffset = offsetAt(offset, dot, end);
+
+            final int c = ref * 2;
+            if (startOffset > pad && endOffset > pad) {
+                return traverse(children[c + 1], start, end);
+            } else if (startOffset < -pad && endOffset < -pad) {
+                return traverse(children[c], start, end);
+            }
+
+            // the line portion reaches the cut; visit the near child, the cut, and the far
+            // child in the same order as the source tree
+            final boolean plusIsNear = dot < 0;
+            final int near = plusIsNear ? children[c + 1] : children[c];
+            final int far = plusIsNear ? children[c] : children[c + 1];
+
+            return traverse(near, start, nearEnd(end, offset, dot, pad)) ||
+                    visitCut(ref) ||
+                    traverse(far, farStart(start, offset, dot, pad), end);
+        }
+
+        /** Test the line subset against the cut boundary of the given internal node.
+         * @param ref internal node index
+         * @return true if the traversal should be stopped
+         */
+        private boolean visitCut(final int ref) {
+            final RegionCutBoundary<Vector3D> boundary = boundaries.get(ref);
+            if (boundary == null) {
+                return false;
+            }
+
+            final Plane cut = cuts[ref];
+            final Vector3D pt = cut.intersection(line);
+
+            if (pt != null) {
+                if (first != null && line.getPrecision().compare(first.getAbscissa(), line.abscissa(pt)) < 0) {
+                    // we have results and we are now sure that no other intersection points will be
+                    // found that are closer or at the same position on the intersecting line.
+                    return true;
+                } else if (subset.contains(pt)) {
+                    final LinecastPoint3D potentialResult = computeLinecastPoint(boundary, cut, pt, line);
+                    if (potentialResult != null) {
+                        if (!firstOnly) {
+                            results.add(potentialResult);
+                        } else if (first == null ||
+                                LinecastPoint3D.ABSCISSA_ORDER.compare(potentialResult, first) < 0) {
+                            first = potentialResult;
+                        }
+                    }
+                }
+            }
+
+            return false;
+        }
+    }
+
+    /** Class used to trace packets of rays through the tree together, writing the first linecast point
+     * of each ray to primitive output arrays. Each packet is traced with the same algorithm as
+     * {@link LinecastTraversal} but the rays of the packet share node visits: at each internal node, the
+     * rays are divided into the groups that must visit the minus child first, the plus child, and the minus
+     * child second, and each group is traced through the corresponding child as a single sub-packet.
+     * Instances are not thread-safe; a separate instance is used for each range of rays processed
+     * in parallel.
+     */
+    private final class PacketTraversal {
+
+        /** Ray origin coordinates. */
+        private final double[] origins;
+
+        /** True if all rays share the origin stored at the start of {@link #origins}. */
+        private final boolean sharedOrigin;
+
+        /** Ray direction coordinates. */
+        private final double[] directions;
+
+        /** Abscissa output array. */
+        private final double[] abscissas;
+
+        /** Normal output array. */
+        private final double[] normals;
+
+        /** Hit flag output array. */
+        private final boolean[] hits;
+
+        /** Index of the first ray in the current packet. */
+        private int packetStart;
+
+        /** Ray origin x coordinates for the current packet. */
+        private final double[] ox = new double[PACKET_SIZE];
+
+        /** Ray origin y coordinates for the current packet. */
+        private final double[] oy = new double[PACKET_SIZE];
+
+        /** Ray origin z coordinates for the current packet. */
+        private final double[] oz = new double[PACKET_SIZE];
+
+        /** Normalized ray direction x coordinates for the current packet. */
+        private final double[] dx = new double[PACKET_SIZE];
+
+        /** Normalized ray direction y coordinates for the current packet. */
+        private final double[] dy = new double[PACKET_SIZE];
+
+        /** Normalized ray direction z coordinates for the current packet. */
+        private final double[] dz = new double[PACKET_SIZE];
+
+        /** Norms of the ray directions for the current packet. */
+        private final double[] scales = new double[PACKET_SIZE];
+
+        /** Ray objects for the current packet, created when a ray is first tested against a cut boundary. */
+        private final Ray3D[] rayObjects = new Ray3D[PACKET_SIZE];
+
+        /** First linecast point found so far for each ray of the current packet. */
+        private final LinecastPoint3D[] firstResults = new LinecastPoint3D[PACKET_SIZE];
+
+        /** True if the first linecast point of the ray has been found. */
+        private final boolean[] done = new boolean[PACKET_SIZE];
+
+        /** Sub-packet ray indices for each tree depth; each array holds three groups of
+         * {@link #PACKET_SIZE} entries.
+         */
+        private final List<int[]> levelRays = new ArrayList<>();
+
+        /** Sub-packet start abscissas for each tree depth. */
+        private final List<double[]> levelStarts = new ArrayList<>();
+
+        /** Sub-packet end abscissas for each tree depth. */
+        private final List<double[]> levelEnds = new ArrayList<>();
+
+        /** Construct a new instance.
+         * @param origins ray origin coordinates
+         * @param sharedOrigin true if all rays share the single origin in {@code origins}
+         * @param directions ray direction coordinates
+         * @param abscissas abscissa output array
+         * @param normals normal output array
+         * @param hits hit flag output array
+         */
+        PacketTraversal(final double[] origins, final boolean sharedOrigin, final double[] directions,
+                final double[] abscissas, final double[] normals, final boolean[] hits) {
+            this.origins = origins;
+            this.sharedOrigin = sharedOrigin;
+            this.directions = directions;
+            this.abscissas = abscissas;
+            this.normals = normals;
+            this.hits = hits;
+        }
+
+        /** Trace the rays with indices in the given range.
+         * @param start first ray index, inclusive
+         * @param end last ray index, exclusive
+         */
+        void traceRange(final int start, final int end) {
+            for (int i = start; i < end; i += PACKET_SIZE) {
+                tracePacket(i, Math.min(end, i + PACKET_SIZE));
+            }
+        }
+
+        /** Trace a single packet of rays.
+         * @param start first ray index, inclusive
+         * @param end last ray index, exclusive
+         */
+        private void tracePacket(final int start, final int end) {
+            packetStart = start;
+            final int count = end - start;
+
+            final int[] rays = level(0);
+            final double[] starts = levelStarts.get(0);
+            final double[] ends = levelEnds.get(0);
+
+            // points within the max zero value of the ray start are considered to lie on the ray
+            final double startPad = root < 0 ?
+                    0 :
+                    maxZeros[root];
+
+            for (int r = 0; r < count; ++r) {
+                final int i = start + r;
+                final int o = sharedOrigin ? 0 : 3 * i;
+                final int d = 3 * i;
+
+                ox[r] = origins[o];
+                oy[r] = origins[o + 1];
+                oz[r] = origins[o + 2];
+
+                final double norm = Vectors.norm(directions[d], directions[d + 1], directions[d + 2]);
+                dx[r] = directions[d] / norm;
+                dy[r] = directions[d + 1] / norm;
+                dz[r] = directions[d + 2] / norm;
+                scales[r] = norm;
+
+                rayObjects[r] = null;
+                firstResults[r] = null;
+                done[r] = false;
+
+                hits[i] = false;
+                abscissas[i] = Double.NaN;
+                Arrays.fill(normals, d, d + 3, Double.NaN);
+
+                rays[r] = r;
+                starts[r] = -startPad;
+                ends[r] = Double.POSITIVE_INFINITY;
+            }
+
+            traverse(root, 1, rays, starts, ends, 0, count);
+
+            for (int r = 0; r < count; ++r) {
+                final LinecastPoint3D result = firstResults[r];
+                if (result != null) {
+                    final int i = start + r;
+                    final int n = 3 * i;
+                    final Vector3D normal = result.getNormal();
+
+                    hits[i] = true;
+                    abscissas[i] = (result.getAbscissa() - rayObjects[r].getSubspaceStart()) / scales[r];
+                    normals[n] = normal.getX();
+                    normals[n + 1] = normal.getY();
+                    normals[n + 2] = normal.getZ();
+                }
+            }
+        }
+
+        /** Trace a sub-packet of rays through the subtree with the given reference. Points of each ray
+         * outside of the portion between its start and end abscissas cannot lie on any of the cut boundaries
+         * of the subtree.
+         * @param ref subtree reference
+         * @param depth depth of the subtree root, used to select the buffers for the child sub-packets
+         * @param rays array containing the indices of the rays in the sub-packet
+         * @param starts array containing the start abscissas of the rays in the sub-packet
+         * @param ends array containing the end abscissas of the rays in the sub-packet
+         * @param offset offset of the sub-packet in the arrays
+         * @param count number of rays in the sub-packet
+         */
+        private void traverse(final int ref, final int depth, final int[] rays, final double[] starts,
+                final double[] ends, final int offset, final int count) {
+            if (ref < 0) {
+                return;
+            }
+
+            final int p = ref * PLANE_STRIDE;
+            final double nx = planes[p];
+            final double ny = planes[p + 1];
+            final double nz = planes[p + 2];
+            final double originOffset = planes[p + 3];
+
+            final double pad = padding(ref);
+
+            // plain products are used here instead of LinearCombination since these values are computed for
+            // every ray at every visited node; the origin offset is the same for all rays in the packet if
+            // they share an origin
+            final double sharedOffset = sharedOrigin ?
+                    (ox[0] * nx) + (oy[0] * ny) + (oz[0] * nz) + originOffset :
+                    Double.NaN;
+
+            // sub-packets: minus child first, plus child, minus child second
+            final int[] subRays = level(depth);
+            final double[] subStarts = levelStarts.get(depth);
+            final double[] subEnds = levelEnds.get(depth);
+
+            final int minusFirst = 0;
+            final int plus = PACKET_SIZE;
+            final int minusSecond = 2 * PACKET_SIZE;
+
+            int minusFirstCount = 0;
+            int plusCount = 0;
+            int minusSecondCount = 0;
+
+            for (int k = offset; k < offset + count; ++k) {
+                final int r = rays[k];
+                if (done[r]) {
+                    continue;
+                }
+
+                final double start = starts[k];
+                final double end = ends[k];
+
+                final double dot = (nx * dx[r]) + (ny * dy[r]) + (nz * dz[r]);
+                final double offsetValue = sharedOrigin ?
+                        sharedOffset :
+                        (ox[r] * nx) + (oy[r] * ny) + (oz[r] * nz) + originOffset;
+
+                final double startOffset = offsetAt(offsetValue, dot, start);
+                final double endOffset = offsetAt(offsetValue, dot, end);
+
+                final int target;
+                if (startOffset > pad && endOffset > pad) {
+                    target = plus;
+                } else if (startOffset < -pad && endOffset < -pad) {
+                    target = minusFirst;
+                } else {
+                    // the ray portion reaches the cut; visit the near child, the cut, and the far child
+                    final double nearEnd = nearEnd(end, offsetValue, dot, pad);
+                    final double farStart = farStart(start, offsetValue, dot, pad);
+
+                    if (dot < 0) {
+                        subRays[plus + plusCount] = r;
+                        subStarts[plus + plusCount] = start;
+                        subEnds[plus + plusCount] = nearEnd;
+                        ++plusCount;
+
+                        subRays[minusSecond + minusSecondCount] = r;
+                        subStarts[minusSecond + minusSecondCount] = farStart;
+                        subEnds[minusSecond + minusSecondCount] = end;
+                        ++minusSecondCount;
+                    } else {
+                        subRays[minusFirst + minusFirstCount] = r;
+                        subStarts[minusFirst + minusFirstCount] = start;
+                        subEnds[minusFirst + minusFirstCount] = nearEnd;
+                        ++minusFirstCount;
+
+                        // mark the ray as visiting the cut before entering the plus child
+                        subRays[plus + plusCount] = ~r;
+                        subStarts[plus + plusCount] = farStart;
+                        subEnds[plus + plusCount] = end;
+                        ++plusCount;
+                    }
+                    continue;
+                }
+
+                if (target == plus) {
+                    subRays[plus + plusCount] = r;
+                    subStarts[plus + plusCount] = start;
+                    subEnds[plus + plusCount] = end;
+                    ++plusCount;
+                } else {
+                    subRays[minusFirst + minusFirstCount] = r;
+                    subStarts[minusFirst + minusFirstCount] = start;
+                    subEnds[minusFirst + minusFirstCount] = end;
+                    ++minusFirstCount;
+                }
+            }
+
+            final int c = ref * 2;
+            if (minusFirstCount > 0) {
+                traverse(children[c], depth + 1, subRays, subStarts, subEnds, minusFirst, minusFirstCount);
+            }
+            if (plusCount > 0) {
+                for (int k = plus; k < plus + plusCount; ++k) {
+                    if (subRays[k] < 0) {
+                        final int r = ~subRays[k];
+                        visitCut(ref, r);
+                        subRays[k] = r;
+                    }
+                }
+                traverse(children[c + 1], depth + 1, subRays, subStarts, subEnds, plus, plusCount);
+            }
+            if (minusSecondCount > 0) {
+                for (int k = minusSecond; k < minusSecond + minusSecondCount; ++k) {
+                    visitCut(ref, subRays[k]);
+                }
+                traverse(children[c], depth + 1, subRays, subStarts, subEnds, minusSecond, minusSecondCount);
+            }
+        }
+
+        /** Test the given ray against the cut boundary of the given internal node.
+         * @param ref internal node index
+         * @param r index of the ray in the packet
+         */
+        private void visitCut(final int ref, final int r) {
+            final RegionCutBoundary<Vector3D> boundary = boundaries.get(ref);
+            if (done[r] || boundary == null) {
+                return;
+            }
+
+            final Ray3D ray = getRay(r);
+            final Line3D line = ray.getLine();
+
+            final Plane cut = cuts[ref];
+            final Vector3D pt = cut.intersection(line);
+
+            if (pt != null) {
+                final LinecastPoint3D first = firstResults[r];
+                if (first != null && line.getPrecision().compare(first.getAbscissa(), line.abscissa(pt)) < 0) {
+                    // no other intersection points will be found that are closer to the ray start
+                    done[r] = true;
+                } else if (ray.contains(pt)) {
+                    final LinecastPoint3D potentialResult = computeLinecastPoint(boundary, cut, pt, line);
+                    if (potentialResult != null &&
+                            (first == null || LinecastPoint3D.ABSCISSA_ORDER.compare(potentialResult, first) < 0)) {
+                        firstResults[r] = potentialResult;
+                    }
+                }
+            }
+        }
+
+        /** Get the ray object for the given ray of the current packet, creating it if needed.
+         * @param r index of the ray in the packet
+         * @return the ray object
+         */
+        private Ray3D getRay(final int r) {
+            Ray3D ray = rayObjects[r];
+            if (ray == null) {
+                final int i = packetStart + r;
+                final int o = sharedOrigin ? 0 : 3 * i;
+                final int d = 3 * i;
+
+                final Vector3D origin = Vector3D.of(origins[o], origins[o + 1], origins[o + 2]);
+                final Vector3D direction = Vector3D.of(directions[d], directions[d + 1], directions[d + 2]);
+
+                ray = Lines3D.fromPointAndDirection(origin, direction, cuts[root].getPrecision())
+                        .rayFrom(origin);
+                rayObjects[r] = ray;
+            }
+
+            return ray;
+        }
+
+        /** Get the sub-packet ray index buffer for the given depth, creating the buffers for the depth
+         * if needed.
+         * @param depth tree depth
+         * @return the ray index buffer for the depth
+         */
+        private int[] level(final int depth) {
+            while (levelRays.size() <= depth) {
+                levelRays.add(new int[3 * PACKET_SIZE]);
+                levelStarts.add(new double[3 * PACKET_SIZE]);
+                levelEnds.add(new double[3 * PACKET_SIZE]);
+            }
+            return levelRays.get(depth);
+        }
+    }
+
+    /** Class used to convert a {@link RegionBSPTree3D} into the array representation used by
+     * {@link FrozenRegionBSPTree3D}.
+     */
+    private static final class SnapshotBuilder {
+
+        /** Cut plane coefficients. */
+        private final double[] planes;
+
+        /** Child references. */
+        private final int[] children;
+
+        /** Cut precision context max zero values. */
+        private final double[] maxZeros;
+
+        /** Cut precision context exact predicate flags. */
+        private final boolean[] exactPredicates;
+
+        /** Cut planes. */
+        private final Plane[] cuts;
+
+        /** Cut boundaries. */
+        private final List<RegionCutBoundary<Vector3D>> boundaries;
+
+        /** Leaf location values. */
+        private final byte[] locations;
+
+        /** Reference to the root node. */
+        private final int root;
+
+        /** Number of internal nodes added so far. */
+        private int internalCount;
+
+        /** Number of leaf nodes added so far. */
+        private int leafCount;
+
+        /** Construct a new instance containing the data from the given tree.
+         * @param tree source tree
+         */
+        SnapshotBuilder(final RegionBSPTree3D tree) {
+            final int internalNodes = (tree.count() - 1) / 2;
+
+            planes = new double[internalNodes * PLANE_STRIDE];
+            children = new int[internalNodes * 2];
+            maxZeros = new double[internalNodes];
+            exactPredicates = new boolean[internalNodes];
+            cuts = new Plane[internalNodes];
+            boundaries = new ArrayList<>(internalNodes);
+            locations = new byte[internalNodes + 1];
+
+            root = add(tree.getRoot(), internalNodes + 1);
+        }
+
+        /** Add the subtree rooted at the given node, returning its reference. Nodes are added in depth-first
+         * order, with minus subtrees before plus subtrees, using an explicit stack so that the depth of the
+         * tree is not limited by the size of the thread stack.
+         * @param subtreeRoot subtree root
+         * @param maxPending maximum number of nodes waiting to be added at any time
+         * @return the subtree reference
+         */
+        private int add(final RegionNode3D subtreeRoot, final int maxPending) {
+            // pending nodes and the indices of the child array entries receiving their references;
+            // the subtree root has no such entry
+            final RegionNode3D[] nodes = new RegionNode3D[maxPending];
+            final int[] slots = new int[maxPending];
+
+            nodes[0] = subtreeRoot;
+            slots[0] = -1;
+            int size = 1;
+
+            int result = 0;
+            while (size > 0) {
+                --size;
+                final RegionNode3D node = nodes[size];
+                final int slot = slots[size];
+                nodes[size] = null;
+
+                final int ref;
+                if (node.isLeaf()) {
+                    final int idx = leafCount++;
+                    locations[idx] = (byte) node.getLocation().ordinal();
+
+                    ref = ~idx;
+                } else {
+                    ref = addInternal(node);
+
+                    // push the plus child first so that the minus subtree is added first
+                    final int c = ref * 2;
+                    nodes[size] = node.getPlus();
+                    slots[size] = c + 1;
+                    nodes[size + 1] = node.getMinus();
+                    slots[size + 1] = c;
+                    size += 2;
+                }
+
+                if (slot < 0) {
+                    result = ref;
+                } else {
+                    children[slot] = ref;
+                }
+            }
+
+            return result;
+        }
+
+        /** Add the data for the given internal node, returning its index. The child references are
+         * set when the children are added.
+         * @param node internal node
+         * @return the internal node index
+         */
+        private int addInternal(final RegionNode3D node) {
+            final int idx = internalCount++;
+
+            final Plane cut = (Plane) node.getCutHyperplane();
+            final Vector3D normal = cut.getNormal();
+
+            final int p = idx * PLANE_STRIDE;
+            planes[p] = normal.getX();
+            planes[p + 1] = normal.getY();
+            planes[p + 2] = normal.getZ();
+            planes[p + 3] = cut.getOriginOffset();
+
+            final DoublePrecisionContext precision = cut.getPrecision();
+            maxZeros[idx] = precision.getMaxZero();
+            exactPredicates[idx] = precision.useExactPredicates();
+
+            cuts[idx] = cut;
+
+            final RegionCutBoundary<Vector3D> boundary = node.getCutBoundary();
+            boundaries.add(boundary.getInsideFacing().isEmpty() && boundary.getOutsideFacing().isEmpty() ?
+                    null :
+                    boundary);
+
+            return idx;
+        }
+    }
+}
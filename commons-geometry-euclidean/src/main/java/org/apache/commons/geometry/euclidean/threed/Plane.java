@@ -21,11 +21,14 @@ import java.util.Objects;
 import org.apache.commons.geometry.core.Transform;
 import org.apache.commons.geometry.core.partitioning.AbstractHyperplane;
 import org.apache.commons.geometry.core.partitioning.Hyperplane;
+import org.apache.commons.geometry.core.partitioning.HyperplaneLocation;
 import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.internal.ExactPredicates;
 import org.apache.commons.geometry.euclidean.threed.line.Line3D;
 import org.apache.commons.geometry.euclidean.threed.line.Lines3D;
 import org.apache.commons.geometry.euclidean.threed.rotation.QuaternionRotation;
 import org.apache.commons.geometry.euclidean.twod.ConvexArea;
+import org.apache.commons.numbers.arrays.LinearCombination;
 
 /** Class representing a plane in 3 dimensional Euclidean space. Each plane is defined by a
  * {@link #getNormal() normal} and an {@link #getOriginOffset() origin offset}. If \(\vec{n}\) is the plane normal,
@@ -130,13 +133,52 @@ public class Plane extends AbstractHyperplane<Vector3D> implements Hyperplane<Ve
         return originOffset + (similarOrientation(plane) ? -plane.originOffset : plane.originOffset);
     }
 
+    /** {@inheritDoc}
+     *
+     * <p>If the precision context of the plane {@link DoublePrecisionContext#useExactPredicates() uses exact
+     * predicates}, the point is classified using the exact value of its offset as computed from the
+     * coordinates of the point and the normal and origin offset of the plane.</p>
+     */
+    @Override
+    public HyperplaneLocation classify(final Vector3D point) {
+        return locationFromSign(offsetSign(point.getX(), point.getY(), point.getZ()));
+    }
+
+    /** Get the sign of the offset of the point with the given coordinates with respect to the plane, as
+     * determined by the precision context of the plane. This is the test used by {@link #classify(Vector3D)}.
+     * @param x point x coordinate
+     * @param y point y coordinate
+     * @param z point z coordinate
+     * @return -1 if the point is on the minus side of the plane, 1 if the point is on the plus side, and
+     *      0 if the point lies on the plane
+     */
+    private int offsetSign(final double x, final double y, final double z) {
+        final DoublePrecisionContext precision = getPrecision();
+        if (precision.useExactPredicates()) {
+            return ExactPredicates.linearSign(
+                    x, normal.getX(),
+                    y, normal.getY(),
+                    z, normal.getZ(),
+                    originOffset, precision.getMaxZero());
+        }
+        return precision.sign(LinearCombination.value(
+                x, normal.getX(),
+                y, normal.getY(),
+                z, normal.getZ()) + originOffset);
+    }
+
     /** Check if the instance contains a point.
      * @param p point to check
      * @return true if p belongs to the plane
+     * @see #classify(Vector3D)
      */
     @Override
     public boolean contains(final Vector3D p) {
-        return getPrecision().eqZero(offset(p));
+        final DoublePrecisionContext precision = getPrecision();
+        if (precision.useExactPredicates()) {
+            return classify(p) == HyperplaneLocation.ON;
+        }
+        return precision.eqZero(offset(p));
     }
 
     /** Check if the instance contains a line.
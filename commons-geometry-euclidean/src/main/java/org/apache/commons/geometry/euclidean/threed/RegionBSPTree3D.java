@@ -16,24 +16,44 @@
  */
 package org.apache.commons.geometry.euclidean.threed;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
+import org.apache.commons.geometry.core.RegionLocation;
 import org.apache.commons.geometry.core.partitioning.Hyperplane;
 import org.apache.commons.geometry.core.partitioning.HyperplaneConvexSubset;
 import org.apache.commons.geometry.core.partitioning.HyperplaneSubset;
 import org.apache.commons.geometry.core.partitioning.Split;
 import org.apache.commons.geometry.core.partitioning.bsp.AbstractBSPTree;
+import org.apache.commons.geometry.core.partitioning.bsp.AbstractBalancedRegionBuilder;
 import org.apache.commons.geometry.core.partitioning.bsp.AbstractPartitionedRegionBuilder;
 import org.apache.commons.geometry.core.partitioning.bsp.AbstractRegionBSPTree;
 import org.apache.commons.geometry.core.partitioning.bsp.BSPTreeVisitor;
 import org.apache.commons.geometry.core.partitioning.bsp.RegionCutBoundary;
 import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.internal.BatchArrays;
+import org.apache.commons.geometry.euclidean.internal.ExactPredicates;
+import org.apache.commons.geometry.euclidean.internal.ParallelRanges;
+import org.apache.commons.geometry.euclidean.internal.Vectors;
 import org.apache.commons.geometry.euclidean.threed.line.Line3D;
 import org.apache.commons.geometry.euclidean.threed.line.LineConvexSubset3D;
 import org.apache.commons.geometry.euclidean.threed.line.LinecastPoint3D;
+import org.apache.commons.geometry.euclidean.threed.line.Ray3D;
+import org.apache.commons.geometry.euclidean.twod.ConvexArea;
+import org.apache.commons.geometry.euclidean.twod.Line;
+import org.apache.commons.geometry.euclidean.twod.LineConvexSubset;
+import org.apache.commons.geometry.euclidean.twod.Lines;
+import org.apache.commons.geometry.euclidean.twod.Vector2D;
+import org.apache.commons.numbers.arrays.LinearCombination;
 
 /** Binary space partitioning (BSP) tree representing a region in three dimensional
  * Euclidean space.
@@ -41,6 +61,25 @@ import org.apache.commons.geometry.euclidean.threed.line.LinecastPoint3D;
 public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, RegionBSPTree3D.RegionNode3D>
     implements BoundarySource3D {
 
+    /** Value identifying this tree type in the binary tree format. */
+    private static final int BINARY_FORMAT_TYPE = 3;
+
+    /** Maximum number of points classified by a single task in parallel batch classification. */
+    private static final int CLASSIFY_CHUNK_SIZE = 1 << 12;
+
+    /** Property used to compute the bounding boxes of node subtrees. */
+    private static final SubtreeBoundsProperty SUBTREE_BOUNDS_PROPERTY = new SubtreeBoundsProperty();
+
+    /** Flag indicating whether the bounding boxes of node subtrees are used to skip subtrees
+     * during linecast and projection operations.
+     */
+    private volatile boolean subtreeBoundsPruning;
+
+    /** Snapshot of this tree used by the batch linecast methods. This is created lazily and cleared
+     * each time the tree is modified.
+     */
+    private volatile FrozenRegionBSPTree3D batchSnapshot;
+
     /** Create a new, empty region. */
     public RegionBSPTree3D() {
         this(false);
@@ -66,6 +105,32 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
         return result;
     }
 
+    /** Return true if the bounding boxes of node subtrees are used to skip subtrees that cannot
+     * contribute to the result of linecast and projection operations.
+     * @return true if subtree bounding boxes are used to prune linecast and projection operations
+     * @see #setSubtreeBoundsPruning(boolean)
+     */
+    public boolean isSubtreeBoundsPruning() {
+        return subtreeBoundsPruning;
+    }
+
+    /** Set whether the bounding boxes of node subtrees, as returned by {@link RegionNode3D#getSubtreeBounds()},
+     * are used to skip subtrees that cannot contribute to the result of {@link #linecast(LineConvexSubset3D)},
+     * {@link #linecastFirst(LineConvexSubset3D)} and {@link #project(Vector3D)}. Subtrees whose bounding box
+     * does not intersect the linecast subset or is farther from the projected point than the closest boundary
+     * point found so far are not visited. This is most effective for repeated queries against large trees
+     * with spatially coherent subtrees, such as linecasts of long lines through mostly empty space. The
+     * bounding boxes are computed lazily from the node cut boundaries during the first query and are cached
+     * on the nodes until the tree is modified, so enabling this option is not recommended for trees that
+     * are only queried a few times between modifications. The option is ignored while the tree is in
+     * {@link #setCompactMode(boolean) compact mode}. Query results are not affected by this setting.
+     * @param subtreeBoundsPruning if true, subtree bounding boxes will be used to prune linecast and
+     *      projection operations
+     */
+    public void setSubtreeBoundsPruning(final boolean subtreeBoundsPruning) {
+        this.subtreeBoundsPruning = subtreeBoundsPruning;
+    }
+
     /** {@inheritDoc} */
     @Override
     public Iterable<PlaneConvexSubset> boundaries() {
@@ -75,7 +140,7 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
     /** {@inheritDoc} */
     @Override
     public Stream<PlaneConvexSubset> boundaryStream() {
-        return StreamSupport.stream(boundaries().spliterator(), false);
+        return createBoundaryStream(b -> (PlaneConvexSubset) b, false);
     }
 
     /** {@inheritDoc} */
@@ -84,6 +149,16 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
         return createBoundaryList(b -> (PlaneConvexSubset) b);
     }
 
+    /** Return a list containing the boundaries of the region, using the given pool to compute the
+     * boundaries of disjoint subtrees concurrently. The returned list is the same as that returned by
+     * {@link #getBoundaries()}. The tree must not be modified while this method is running.
+     * @param pool pool used to compute the boundaries
+     * @return a list of the boundaries of the region
+     */
+    public List<PlaneConvexSubset> getBoundaries(final ForkJoinPool pool) {
+        return createBoundaryList(b -> (PlaneConvexSubset) b, pool);
+    }
+
     /** Return a list of {@link ConvexVolume}s representing the same region
      * as this instance. One convex volume is returned for each interior leaf
      * node in the tree.
@@ -93,32 +168,75 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
     public List<ConvexVolume> toConvex() {
         final List<ConvexVolume> result = new ArrayList<>();
 
-        toConvexRecursive(getRoot(), ConvexVolume.full(), result);
+        insideLeavesRecursive(getRoot(), ConvexVolume.full(), (node, volume) -> result.add(volume));
+
+        return result;
+    }
+
+    /** Return a list of {@link ConvexVolume}s representing the portion of this region that lies inside of
+     * the given bounding box. One volume is returned for each inside leaf node whose region intersects
+     * the box; it contains the intersection of the box and the leaf region. The query box is split by the
+     * cut of each internal node and subtrees not reached by any part of the box are skipped, so only the
+     * leaves near the box are visited. Leaf regions that only touch the box on its boundary (as evaluated
+     * by the precision contexts of the cut hyperplanes) are not included.
+     * @param bounds bounding box to query
+     * @param precision precision context used to construct the query box
+     * @return a list of convex volumes representing the portion of this region inside of the box
+     * @throws IllegalArgumentException if any dimension of the bounding box is zero as evaluated by
+     *      the given precision context
+     * @see #getInsideLeaves(Bounds3D, DoublePrecisionContext)
+     */
+    public List<ConvexVolume> toConvex(final Bounds3D bounds, final DoublePrecisionContext precision) {
+        final List<ConvexVolume> result = new ArrayList<>();
+
+        insideLeavesRecursive(getRoot(), bounds.toRegion(precision), (node, volume) -> result.add(volume));
+
+        return result;
+    }
+
+    /** Return the inside leaf nodes of the tree whose regions intersect the given bounding box. The
+     * same pruning and boundary rules are used as for {@link #toConvex(Bounds3D, DoublePrecisionContext)};
+     * the nodes are returned in the same order as the convex volumes returned by that method.
+     * @param bounds bounding box to query
+     * @param precision precision context used to construct the query box
+     * @return the inside leaf nodes whose regions intersect the box
+     * @throws IllegalArgumentException if any dimension of the bounding box is zero as evaluated by
+     *      the given precision context
+     */
+    public List<RegionNode3D> getInsideLeaves(final Bounds3D bounds, final DoublePrecisionContext precision) {
+        final List<RegionNode3D> result = new ArrayList<>();
+
+        insideLeavesRecursive(getRoot(), bounds.toRegion(precision), (node, volume) -> result.add(node));
 
         return result;
     }
 
     /** Recursive method to compute the convex volumes of all inside leaf nodes in the subtree rooted at the given
-     * node. The computed convex volumes are added to the given list.
+     * node that intersect the given volume. Each such leaf node is passed to the consumer along with its
+     * volume.
      * @param node root of the subtree to compute the convex volumes for
-     * @param nodeVolume the convex volume for the current node; this will be split by the node's cut hyperplane to
+     * @param nodeVolume the volume for the current node; this will be split by the node's cut hyperplane to
      *      form the convex volumes for any child nodes
-     * @param result list containing the results of the computation
+     * @param consumer object receiving the inside leaf nodes and their convex volumes
      */
-    private void toConvexRecursive(final RegionNode3D node, final ConvexVolume nodeVolume,
-            final List<ConvexVolume> result) {
+    private void insideLeavesRecursive(final RegionNode3D node, final ConvexVolume nodeVolume,
+            final BiConsumer<RegionNode3D, ConvexVolume> consumer) {
 
         if (node.isLeaf()) {
-            // base case; only add to the result list if the node is inside
+            // base case; only pass to the consumer if the node is inside
             if (node.isInside()) {
-                result.add(nodeVolume);
+                consumer.accept(node, nodeVolume);
             }
         } else {
-            // recurse
+            // recurse, skipping any side of the cut that the volume does not reach
             final Split<ConvexVolume> split = nodeVolume.split(node.getCutHyperplane());
 
-            toConvexRecursive(node.getMinus(), split.getMinus(), result);
-            toConvexRecursive(node.getPlus(), split.getPlus(), result);
+            if (split.getMinus() != null) {
+                insideLeavesRecursive(node.getMinus(), split.getMinus(), consumer);
+            }
+            if (split.getPlus() != null) {
+                insideLeavesRecursive(node.getPlus(), split.getPlus(), consumer);
+            }
         }
     }
 
@@ -128,12 +246,71 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
         return split(splitter, RegionBSPTree3D.empty(), RegionBSPTree3D.empty());
     }
 
+    /** Split this region into slabs by each of the given splitters in a single operation. The splitters
+     * must be parallel planes with the same orientation, each lying on the plus side of the previous one.
+     * The returned list contains {@code splitters.size() + 1} entries. The entry at index {@code i}
+     * contains the slab of the region lying on the plus side of the splitter at index {@code i - 1} and
+     * on the minus side of the splitter at index {@code i}, or null if that portion is empty. The first
+     * and last entries are only bounded by the first and last splitters, respectively.
+     *
+     * <p>This is considerably faster than splitting copies of this tree repeatedly since each
+     * split only processes the portion of the tree between the neighboring splitters.
+     * This tree is not modified.</p>
+     * @param splitters splitting planes
+     * @return list containing the portions of this region between the splitters
+     * @throws IllegalArgumentException if the splitters are not parallel planes with the same orientation
+     *      or if a splitter does not lie on the plus side of the previous one
+     */
+    public List<RegionBSPTree3D> splitAll(final List<? extends Hyperplane<Vector3D>> splitters) {
+        validateSplitters(splitters);
+        return splitAll(splitters, RegionBSPTree3D::empty);
+    }
+
+    /** Split this region by each of the given splitters in a single operation, using the given pool
+     * to split independent portions of the tree concurrently. The result is the same as that
+     * produced by {@link #splitAll(List)}. This tree must not be modified while the operation
+     * is in progress.
+     * @param splitters splitting planes
+     * @param pool pool used to execute the split tasks
+     * @return list containing the portions of this region between the splitters
+     * @throws IllegalArgumentException if the splitters are not parallel planes with the same orientation
+     *      or if a splitter does not lie on the plus side of the previous one
+     * @see #splitAll(List)
+     */
+    public List<RegionBSPTree3D> splitAll(final List<? extends Hyperplane<Vector3D>> splitters,
+            final ForkJoinPool pool) {
+        validateSplitters(splitters);
+        return splitAll(splitters, RegionBSPTree3D::empty, pool);
+    }
+
+    /** Check that the given splitters are parallel planes with the same orientation, each lying on the plus
+     * side of the previous one.
+     * @param splitters splitters to check
+     * @throws IllegalArgumentException if the splitters are not parallel planes with the same orientation
+     *      or if a splitter does not lie on the plus side of the previous one
+     */
+    private static void validateSplitters(final List<? extends Hyperplane<Vector3D>> splitters) {
+        Plane prev = null;
+        int i = 0;
+        for (final Hyperplane<Vector3D> splitter : splitters) {
+            final Plane cur = (Plane) splitter;
+            if (prev != null && (!prev.isParallel(cur) || !prev.similarOrientation(cur) ||
+                    cur.getPrecision().gt(cur.offset(prev), 0))) {
+                throw new IllegalArgumentException("Splitters must be parallel planes with the same orientation, " +
+                        "each lying on the plus side of the previous one; invalid splitter at index " + i);
+            }
+
+            prev = cur;
+            ++i;
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public Vector3D project(Vector3D pt) {
         // use our custom projector so that we can disambiguate points that are
         // actually equidistant from the target point
-        final BoundaryProjector3D projector = new BoundaryProjector3D(pt);
+        final BoundaryProjector3D projector = new BoundaryProjector3D(pt, useSubtreeBounds());
         accept(projector);
 
         return projector.getProjected();
@@ -149,7 +326,7 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
     /** {@inheritDoc} */
     @Override
     public List<LinecastPoint3D> linecast(final LineConvexSubset3D subset) {
-        final LinecastVisitor visitor = new LinecastVisitor(subset, false);
+        final LinecastVisitor visitor = new LinecastVisitor(subset, false, useSubtreeBounds());
         accept(visitor);
 
         return visitor.getResults();
@@ -158,12 +335,249 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
     /** {@inheritDoc} */
     @Override
     public LinecastPoint3D linecastFirst(final LineConvexSubset3D subset) {
-        final LinecastVisitor visitor = new LinecastVisitor(subset, true);
+        final LinecastVisitor visitor = new LinecastVisitor(subset, true, useSubtreeBounds());
         accept(visitor);
 
         return visitor.getFirstResult();
     }
 
+    /** Compute the first linecast point of each ray in a batch, writing the results to primitive output
+     * arrays. The rays and outputs are specified as described in
+     * {@link FrozenRegionBSPTree3D#linecastFirst(double[], double[], double[], double[], boolean[])}. The
+     * rays are cast against a {@link #freeze() frozen snapshot} of this tree, so the linecast points are
+     * determined as described in the {@link FrozenRegionBSPTree3D} documentation. The snapshot is created
+     * by the first batch linecast and reused by the following ones until the tree is modified; it is not
+     * retained if the tree is in {@link #setCompactMode(boolean) compact mode}. Callers casting rays that
+     * share an origin or that need to keep the snapshot independently of the tree should create it with
+     * {@link #freeze()} and use its batch methods directly.
+     * @param origins ray origin coordinates, stored as consecutive x, y, z values
+     * @param directions ray direction coordinates, stored as consecutive x, y, z values
+     * @param abscissas array receiving the ray parameter of the first intersection of each ray
+     * @param normals array receiving the boundary normal at the first intersection of each ray,
+     *      stored as consecutive x, y, z values
+     * @param hits array receiving flags indicating whether each ray intersects the region boundary
+     * @throws IllegalArgumentException if the array lengths are not consistent with each other or if any
+     *      ray direction has a zero, NaN, or infinite norm
+     * @see FrozenRegionBSPTree3D#linecastFirst(double[], double[], double[], double[], boolean[])
+     */
+    public void linecastFirst(final double[] origins, final double[] directions, final double[] abscissas,
+            final double[] normals, final boolean[] hits) {
+        getBatchSnapshot().linecastFirst(origins, directions, abscissas, normals, hits);
+    }
+
+    /** Compute the first linecast point of each ray in a batch, using tasks in the given pool to cast chunks
+     * of rays in parallel. The results are the same as those of
+     * {@link #linecastFirst(double[], double[], double[], double[], boolean[])} and the same snapshot of this
+     * tree is used. The tree must not be modified while the snapshot used for the operation is created.
+     * @param origins ray origin coordinates, stored as consecutive x, y, z values
+     * @param directions ray direction coordinates, stored as consecutive x, y, z values
+     * @param abscissas array receiving the ray parameter of the first intersection of each ray
+     * @param normals array receiving the boundary normal at the first intersection of each ray,
+     *      stored as consecutive x, y, z values
+     * @param hits array receiving flags indicating whether each ray intersects the region boundary
+     * @param pool pool used to execute the linecast tasks
+     * @throws IllegalArgumentException if the array lengths are not consistent with each other or if any
+     *      ray direction has a zero, NaN, or infinite norm
+     */
+    public void linecastFirst(final double[] origins, final double[] directions, final double[] abscissas,
+            final double[] normals, final boolean[] hits, final ForkJoinPool pool) {
+        getBatchSnapshot().linecastFirst(origins, directions, abscissas, normals, hits, pool);
+    }
+
+    /** Compute the first linecast point of each ray in the given list, writing the results to primitive
+     * output arrays as described in {@link FrozenRegionBSPTree3D#linecastFirst(List, double[], double[], boolean[])}.
+     * The same snapshot of this tree is used as in
+     * {@link #linecastFirst(double[], double[], double[], double[], boolean[])}.
+     * @param rays rays to cast
+     * @param abscissas array receiving the distance along each ray to its first intersection
+     * @param normals array receiving the boundary normal at the first intersection of each ray,
+     *      stored as consecutive x, y, z values
+     * @param hits array receiving flags indicating whether each ray intersects the region boundary
+     * @throws IllegalArgumentException if the array lengths are not consistent with the number of rays
+     */
+    public void linecastFirst(final List<Ray3D> rays, final double[] abscissas, final double[] normals,
+            final boolean[] hits) {
+        getBatchSnapshot().linecastFirst(rays, abscissas, normals, hits);
+    }
+
+    /** Get the snapshot of this tree used by the batch linecast methods, creating it if needed. A new
+     * snapshot is created for each call if the tree is in compact mode.
+     * @return the snapshot of this tree used by the batch linecast methods
+     */
+    private FrozenRegionBSPTree3D getBatchSnapshot() {
+        if (isCompactMode()) {
+            return freeze();
+        }
+
+        if (batchSnapshot == null) {
+            updateCache(() -> {
+                if (batchSnapshot == null) {
+                    batchSnapshot = freeze();
+                }
+            });
+        }
+
+        return batchSnapshot;
+    }
+
+    /** Return true if subtree bounding boxes should be used to prune the current query.
+     * @return true if subtree bounding boxes should be used to prune the current query
+     */
+    private boolean useSubtreeBounds() {
+        return subtreeBoundsPruning && !isCompactMode();
+    }
+
+    /** Rebuild this tree from its current boundaries using a {@link BalancedRegionBuilder3D} with the
+     * default settings, in an attempt to obtain a structurally smaller tree representing the same region.
+     * This is useful for trees that have been the target of many boolean operations, since these tend to
+     * accumulate long chains of nodes and cuts that are not removed by {@link #condense()}. The tree is
+     * only modified if the rebuilt tree contains fewer nodes or has a smaller height.
+     * @return object describing the tree structure before and after the operation
+     * @see #optimizeInternal(AbstractBalancedRegionBuilder)
+     */
+    public OptimizationResult optimize() {
+        return optimizeInternal(balancedRegionBuilder());
+    }
+
+    /** Create an immutable, array-backed snapshot of this tree for fast, repeated point classification
+     * and linecast operations. The returned instance is thread-safe and is not affected by subsequent
+     * changes to this tree.
+     * @return an immutable snapshot of this tree
+     * @see FrozenRegionBSPTree3D
+     */
+    public FrozenRegionBSPTree3D freeze() {
+        return FrozenRegionBSPTree3D.from(this);
+    }
+
+    /** Classify a batch of points given by their coordinate arrays with respect to the region. The
+     * location of the point at index {@code i}, ie {@code (xs[i], ys[i], zs[i])}, is stored in
+     * {@code out[i]} and is the same as the value returned by {@link #classify(Vector3D)} for the point.
+     * No objects are allocated per point.
+     * @param xs point x coordinates
+     * @param ys point y coordinates
+     * @param zs point z coordinates
+     * @param out array receiving the point locations
+     * @throws IllegalArgumentException if the arrays do not all have the same length
+     */
+    public void classify(final double[] xs, final double[] ys, final double[] zs, final RegionLocation[] out) {
+        BatchArrays.checkSameLength(xs.length, ys.length, zs.length, out.length);
+
+        classifyRange(xs, ys, zs, out, 0, xs.length);
+    }
+
+    /** Classify a batch of points given by their coordinate arrays with respect to the region, using tasks
+     * in the given pool to classify chunks of points in parallel. The results are the same as those of
+     * {@link #classify(double[], double[], double[], RegionLocation[])}. The tree must not be modified
+     * while this method is running.
+     * @param xs point x coordinates
+     * @param ys point y coordinates
+     * @param zs point z coordinates
+     * @param out array receiving the point locations
+     * @param pool pool used to execute the classification tasks
+     * @throws IllegalArgumentException if the arrays do not all have the same length
+     */
+    public void classify(final double[] xs, final double[] ys, final double[] zs, final RegionLocation[] out,
+            final ForkJoinPool pool) {
+        BatchArrays.checkSameLength(xs.length, ys.length, zs.length, out.length);
+
+        ParallelRanges.apply(xs.length, CLASSIFY_CHUNK_SIZE, pool,
+            (start, end) -> classifyRange(xs, ys, zs, out, start, end));
+    }
+
+    /** Classify the points in the given index range.
+     * @param xs point x coordinates
+     * @param ys point y coordinates
+     * @param zs point z coordinates
+     * @param out array receiving the point locations
+     * @param start first index to classify, inclusive
+     * @param end last index to classify, exclusive
+     */
+    private void classifyRange(final double[] xs, final double[] ys, final double[] zs, final RegionLocation[] out,
+            final int start, final int end) {
+        // stack reused by all points in the range
+        final Deque<RegionNode3D> pending = new ArrayDeque<>();
+
+        for (int i = start; i < end; ++i) {
+            out[i] = classify(xs[i], ys[i], zs[i], pending);
+        }
+    }
+
+    /** Classify the point with the given coordinates with respect to the region. The node cut offsets
+     * are computed directly from the coordinates with the same formula as {@link Plane#classify(Vector3D)},
+     * using exact predicates only if the cut precision context requires them.
+     * @param x point x coordinate
+     * @param y point y coordinate
+     * @param z point z coordinate
+     * @param pending empty stack used to hold subtrees that are waiting to be classified because the
+     *      point lies on the cut of their parent; the stack is empty when this method returns
+     * @return the location of the point with respect to the region
+     */
+    private RegionLocation classify(final double x, final double y, final double z,
+            final Deque<RegionNode3D> pending) {
+        if (Double.isNaN(x) || Double.isNaN(y) || Double.isNaN(z)) {
+            return RegionLocation.OUTSIDE;
+        }
+
+        RegionLocation result = null;
+
+        RegionNode3D node = getRoot();
+        while (node != null) {
+            if (node.isLeaf()) {
+                final RegionLocation loc = node.getLocation();
+                if (result == null) {
+                    result = loc;
+                } else if (result != loc) {
+                    pending.clear();
+                    return RegionLocation.BOUNDARY;
+                }
+
+                node = pending.poll();
+            } else {
+                final Plane plane = (Plane) node.getCutHyperplane();
+                final Vector3D normal = plane.getNormal();
+                final DoublePrecisionContext precision = plane.getPrecision();
+
+                final int cmp;
+                if (precision.useExactPredicates()) {
+                    cmp = ExactPredicates.linearSign(
+                            x, normal.getX(),
+                            y, normal.getY(),
+                            z, normal.getZ(),
+                            plane.getOriginOffset(), precision.getMaxZero());
+                } else {
+                    cmp = precision.sign(LinearCombination.value(
+                            x, normal.getX(),
+                            y, normal.getY(),
+                            z, normal.getZ()) + plane.getOriginOffset());
+                }
+
+                if (cmp < 0) {
+                    node = node.getMinus();
+                } else if (cmp > 0) {
+                    node = node.getPlus();
+                } else {
+                    // the point is on the cut; classify against both child subtrees
+                    pending.push(node.getPlus());
+                    node = node.getMinus();
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /** Write this tree to the given output in a compact binary format. Node cuts are stored as their plane
+     * followed by the polygon vertices for finite cuts or by the bounding lines in the plane for infinite
+     * cuts. The tree can be read back with {@link #read(DataInput, DoublePrecisionContext)} or, if the
+     * output is written to a file that is later memory-mapped, with
+     * {@link #read(ByteBuffer, DoublePrecisionContext)}. Precision contexts are not written.
+     * @param out output to write to
+     * @throws java.io.UncheckedIOException if an I/O error occurs
+     */
+    public void write(final DataOutput out) {
+        writeInternal(out, BINARY_FORMAT_TYPE, RegionBSPTree3D::writeCut);
+    }
+
     /** {@inheritDoc} */
     @Override
     protected RegionSizeProperties<Vector3D> computeRegionSizeProperties() {
@@ -174,10 +588,9 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
             return new RegionSizeProperties<>(0, null);
         }
 
-        final RegionSizePropertiesVisitor visitor = new RegionSizePropertiesVisitor();
-        accept(visitor);
-
-        return visitor.getRegionSizeProperties();
+        // the sums are cached per subtree so that only modified subtrees are recomputed
+        return getSubtreeProperty(getRoot(), new RegionSizeSumsProperty())
+                .getRegionSizeProperties();
     }
 
     /** {@inheritDoc} */
@@ -186,6 +599,28 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
         return new RegionNode3D(this);
     }
 
+    /** {@inheritDoc}
+     *
+     * <p>Enabling compact mode also releases the snapshot retained by the batch linecast methods.</p>
+     */
+    @Override
+    public void setCompactMode(final boolean compactMode) {
+        super.setCompactMode(compactMode);
+
+        if (compactMode) {
+            batchSnapshot = null;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void invalidate() {
+        super.invalidate();
+
+        // clear the snapshot used for batch linecasts
+        batchSnapshot = null;
+    }
+
     /** Return a new instance containing all of 3D space.
      * @return a new instance containing all of 3D space.
      */
@@ -232,9 +667,175 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
         return new PartitionedRegionBuilder3D();
     }
 
+    /** Create a new {@link BalancedRegionBuilder3D} instance which can be used to build BSP trees
+     * from region boundaries by choosing node cuts with a cost model instead of using the boundary
+     * insertion order.
+     * @return a new {@link BalancedRegionBuilder3D} instance
+     */
+    public static BalancedRegionBuilder3D balancedRegionBuilder() {
+        return new BalancedRegionBuilder3D();
+    }
+
+    /** Read a tree written by {@link #write(DataOutput)} from the given input. The node cuts are
+     * created directly from the stored data, so no hyperplanes are inserted or split.
+     * @param in input to read from
+     * @param precision precision context used for all hyperplanes in the tree
+     * @return the tree read from the input
+     * @throws IllegalArgumentException if the input does not contain a RegionBSPTree3D in the expected format
+     * @throws java.io.UncheckedIOException if an I/O error occurs
+     */
+    public static RegionBSPTree3D read(final DataInput in, final DoublePrecisionContext precision) {
+        final RegionBSPTree3D tree = empty();
+        tree.readInternal(in, BINARY_FORMAT_TYPE, input -> readCut(input, precision));
+
+        return tree;
+    }
+
+    /** Read a tree written by {@link #write(DataOutput)} from the given buffer, which may be a
+     * memory-mapped file. The data is read starting at the current position of the buffer and the
+     * position is advanced to the end of the tree data.
+     * @param buffer buffer to read from
+     * @param precision precision context used for all hyperplanes in the tree
+     * @return the tree read from the buffer
+     * @throws IllegalArgumentException if the buffer does not contain a RegionBSPTree3D in the expected format
+     * @throws java.io.UncheckedIOException if the end of the buffer is reached before the end of the tree data
+     * @see #read(DataInput, DoublePrecisionContext)
+     */
+    public static RegionBSPTree3D read(final ByteBuffer buffer, final DoublePrecisionContext precision) {
+        final RegionBSPTree3D tree = empty();
+        tree.readInternal(buffer, BINARY_FORMAT_TYPE, input -> readCut(input, precision));
+
+        return tree;
+    }
+
+    /** Write a node cut in the binary tree format.
+     * @param cut node cut to write
+     * @param out output to write to
+     * @throws IOException if an I/O error occurs
+     */
+    private static void writeCut(final HyperplaneConvexSubset<Vector3D> cut, final DataOutput out)
+            throws IOException {
+        final PlaneConvexSubset subset = (PlaneConvexSubset) cut;
+
+        if (subset.isFinite()) {
+            final Plane plane = subset.getPlane();
+            final List<Vector3D> vertices = subset.getVertices();
+
+            out.writeBoolean(true);
+            writeVector(plane.getNormal(), out);
+            out.writeDouble(plane.getOriginOffset());
+
+            out.writeInt(vertices.size());
+            for (final Vector3D vertex : vertices) {
+                writeVector(vertex, out);
+            }
+        } else {
+            final PlaneConvexSubset.Embedded embedded = subset.getEmbedded();
+            final EmbeddingPlane plane = embedded.getPlane();
+            final List<LineConvexSubset> bounds = embedded.getSubspaceRegion().getBoundaries();
+
+            out.writeBoolean(false);
+            writeVector(plane.getU(), out);
+            writeVector(plane.getV(), out);
+            writeVector(plane.getW(), out);
+            out.writeDouble(plane.getOriginOffset());
+
+            out.writeInt(bounds.size());
+            for (final LineConvexSubset bound : bounds) {
+                final Line line = bound.getLine();
+                final Vector2D origin = line.getOrigin();
+                final Vector2D dir = line.getDirection();
+
+                out.writeDouble(origin.getX());
+                out.writeDouble(origin.getY());
+                out.writeDouble(dir.getX());
+                out.writeDouble(dir.getY());
+            }
+        }
+    }
+
+    /** Write the coordinates of a vector in the binary tree format.
+     * @param vec vector to write
+     * @param out output to write to
+     * @throws IOException if an I/O error occurs
+     */
+    private static void writeVector(final Vector3D vec, final DataOutput out) throws IOException {
+        out.writeDouble(vec.getX());
+        out.writeDouble(vec.getY());
+        out.writeDouble(vec.getZ());
+    }
+
+    /** Read a node cut in the binary tree format.
+     * @param in input to read from
+     * @param precision precision context for the cut hyperplane
+     * @return the node cut
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if the input contains an invalid value
+     */
+    private static HyperplaneConvexSubset<Vector3D> readCut(final DataInput in,
+            final DoublePrecisionContext precision) throws IOException {
+        if (in.readBoolean()) {
+            final Vector3D.Unit normal = readUnitVector(in);
+            final Plane plane = new Plane(normal, in.readDouble(), precision);
+
+            final int count = in.readInt();
+            final List<Vector3D> vertices = new ArrayList<>(Math.max(count, 0));
+            for (int i = 0; i < count; ++i) {
+                vertices.add(readVector(in));
+            }
+
+            return Planes.fromConvexPlanarVertices(plane, vertices);
+        }
+
+        final Vector3D.Unit u = readUnitVector(in);
+        final Vector3D.Unit v = readUnitVector(in);
+        final Vector3D.Unit w = readUnitVector(in);
+        final EmbeddingPlane plane = new EmbeddingPlane(u, v, w, in.readDouble(), precision);
+
+        final int count = in.readInt();
+        final List<Line> bounds = new ArrayList<>(Math.max(count, 0));
+        for (int i = 0; i < count; ++i) {
+            final Vector2D origin = Vector2D.of(in.readDouble(), in.readDouble());
+            final Vector2D dir = Vector2D.of(in.readDouble(), in.readDouble());
+
+            bounds.add(Lines.fromPointAndDirection(origin, dir, precision));
+        }
+
+        return Planes.subsetFromConvexArea(plane, ConvexArea.fromBounds(bounds));
+    }
+
+    /** Read a vector in the binary tree format.
+     * @param in input to read from
+     * @return the vector
+     * @throws IOException if an I/O error occurs
+     */
+    private static Vector3D readVector(final DataInput in) throws IOException {
+        return Vector3D.of(in.readDouble(), in.readDouble(), in.readDouble());
+    }
+
+    /** Read a unit vector in the binary tree format.
+     * @param in input to read from
+     * @return the unit vector
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if the stored vector cannot be normalized
+     */
+    private static Vector3D.Unit readUnitVector(final DataInput in) throws IOException {
+        return Vector3D.Unit.from(in.readDouble(), in.readDouble(), in.readDouble());
+    }
+
     /** BSP tree node for three dimensional Euclidean space.
      */
     public static final class RegionNode3D extends AbstractRegionBSPTree.AbstractRegionNode<Vector3D, RegionNode3D> {
+        /** Volume and centroid sums for the boundaries in the subtree rooted at this node. This
+         * is calculated lazily.
+         */
+        private volatile RegionSizeSums subtreeSizeSums;
+
+        /** Bounding box of the cut boundaries in the subtree rooted at this node. This is
+         * calculated lazily.
+         */
+        private volatile SubtreeBounds subtreeBounds;
+
         /** Simple constructor.
          * @param tree the owning tree instance
          */
@@ -264,11 +865,40 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
             return volume;
         }
 
+        /** Get a bounding box containing the cut boundaries of all nodes in the subtree rooted at this
+         * node. The box is expanded by the maximum zero value of the precision context of each cut
+         * hyperplane so that points considered to lie on a cut boundary are also contained in it. The
+         * value is computed lazily and cached until the subtree is modified. Null is returned if the
+         * subtree does not contain any cut boundaries or if any of its cut boundaries are infinite.
+         * @return bounding box of the cut boundaries in the subtree or null if the subtree has no cut
+         *      boundaries or has infinite cut boundaries
+         * @see RegionBSPTree3D#setSubtreeBoundsPruning(boolean)
+         */
+        public Bounds3D getSubtreeBounds() {
+            return getSubtreeBoundsValue().getBounds();
+        }
+
+        /** Get the subtree bounds value for this node, computing it if needed.
+         * @return the subtree bounds value for this node
+         */
+        private SubtreeBounds getSubtreeBoundsValue() {
+            return ((RegionBSPTree3D) getTree()).getSubtreeProperty(this, SUBTREE_BOUNDS_PROPERTY);
+        }
+
         /** {@inheritDoc} */
         @Override
         protected RegionNode3D getSelf() {
             return this;
         }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void subtreeInvalidated() {
+            super.subtreeInvalidated();
+
+            subtreeSizeSums = null;
+            subtreeBounds = null;
+        }
     }
 
     /** Class used to build regions in Euclidean 3D space by inserting boundaries into a BSP
@@ -434,16 +1064,141 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
         public RegionBSPTree3D build() {
             return (RegionBSPTree3D) buildInternal();
         }
+
+        /** Build and return the region BSP tree, using the given pool to insert the boundaries
+         * falling into different partitions concurrently. Boundaries lying directly on a partition
+         * are inserted after all other boundaries. For valid input, i.e. boundaries defining the
+         * entire surface of the region, the returned tree represents the same region as the tree
+         * returned by {@link #build()}.
+         * @param pool pool used to execute the insertion tasks
+         * @return the region BSP tree
+         */
+        public RegionBSPTree3D build(final ForkJoinPool pool) {
+            return (RegionBSPTree3D) buildInternal(pool);
+        }
+    }
+
+    /** Class used to build regions in Euclidean 3D space from boundaries by choosing the cut of each
+     * tree node with a cost model that weighs the number of boundary fragments created by splitting
+     * against the balance of the tree. Boundaries are collected by the builder and the tree is constructed
+     * when {@link BalancedRegionBuilder3D#build() build} is called, making the result independent
+     * of the order of boundaries with poor locality (such as those read from a scanned mesh). Trees constructed
+     * by this class typically have a lower height and contain fewer nodes than trees constructed by inserting
+     * the same boundaries directly. However, no improvement is possible for convex regions, where every
+     * boundary lies on the minus side of all others; use {@link PartitionedRegionBuilder3D} in that case.
+     * @see AbstractBalancedRegionBuilder
+     */
+    public static final class BalancedRegionBuilder3D
+        extends AbstractBalancedRegionBuilder<Vector3D, RegionNode3D> {
+
+        /** Construct a new builder instance.
+         */
+        private BalancedRegionBuilder3D() {
+            super(RegionBSPTree3D.empty());
+        }
+
+        /** Set the number of candidate boundaries evaluated when choosing the cut of each node.
+         * Higher values produce better trees at the expense of build time. The default value is
+         * {@value AbstractBalancedRegionBuilder#DEFAULT_CANDIDATE_COUNT}.
+         * @param count number of candidate boundaries evaluated for each node
+         * @return this instance
+         * @throws IllegalArgumentException if {@code count} is less than 1
+         */
+        public BalancedRegionBuilder3D candidateCount(final int count) {
+            setCandidateCountInternal(count);
+
+            return this;
+        }
+
+        /** Set the weight applied to the number of split boundaries when computing the cost of a candidate
+         * node cut. Higher values favor trees with fewer boundary fragments while lower values favor balanced
+         * trees. The default value is {@value AbstractBalancedRegionBuilder#DEFAULT_SPLIT_WEIGHT}.
+         * @param weight weight applied to the split count
+         * @return this instance
+         * @throws IllegalArgumentException if {@code weight} is negative or not finite
+         */
+        public BalancedRegionBuilder3D splitWeight(final double weight) {
+            setSplitWeightInternal(weight);
+
+            return this;
+        }
+
+        /** Insert a region boundary.
+         * @param boundary region boundary to insert
+         * @return this instance
+         */
+        public BalancedRegionBuilder3D insertBoundary(final PlaneConvexSubset boundary) {
+            insertBoundaryInternal(boundary);
+
+            return this;
+        }
+
+        /** Insert a collection of region boundaries.
+         * @param boundaries boundaries to insert
+         * @return this instance
+         */
+        public BalancedRegionBuilder3D insertBoundaries(final Iterable<? extends PlaneConvexSubset> boundaries) {
+            for (final PlaneConvexSubset boundary : boundaries) {
+                insertBoundaryInternal(boundary);
+            }
+
+            return this;
+        }
+
+        /** Insert all boundaries from the given source.
+         * @param boundarySrc source of boundaries to insert
+         * @return this instance
+         */
+        public BalancedRegionBuilder3D insertBoundaries(final BoundarySource3D boundarySrc) {
+            try (Stream<PlaneConvexSubset> stream = boundarySrc.boundaryStream()) {
+                stream.forEach(this::insertBoundaryInternal);
+            }
+
+            return this;
+        }
+
+        /** Build and return the region BSP tree.
+         * @return the region BSP tree
+         */
+        public RegionBSPTree3D build() {
+            return (RegionBSPTree3D) buildInternal();
+        }
     }
 
     /** Class used to project points onto the 3D region boundary.
      */
     private static final class BoundaryProjector3D extends BoundaryProjector<Vector3D, RegionNode3D> {
+        /** If true, subtrees whose bounding boxes are farther from the target point than the
+         * current projected point are not visited.
+         */
+        private final boolean pruneSubtrees;
+
         /** Simple constructor.
          * @param point the point to project onto the region's boundary
+         * @param pruneSubtrees if true, subtree bounding boxes will be used to skip subtrees that
+         *      cannot contain the projected point
          */
-        private BoundaryProjector3D(Vector3D point) {
+        private BoundaryProjector3D(final Vector3D point, final boolean pruneSubtrees) {
             super(point);
+
+            this.pruneSubtrees = pruneSubtrees;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Order visitOrder(final RegionNode3D internalNode) {
+            if (pruneSubtrees) {
+                final SubtreeBounds bounds = internalNode.getSubtreeBoundsValue();
+                final Vector3D target = getTarget();
+                final Vector3D projected = getProjected();
+
+                if (bounds == SubtreeBounds.EMPTY ||
+                        (projected != null && bounds.distance(target) > projected.distance(target))) {
+                    return Order.NONE;
+                }
+            }
+
+            return super.visitOrder(internalNode);
         }
 
         /** {@inheritDoc} */
@@ -455,7 +1210,7 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
         }
     }
 
-    /** Visitor for computing geometric properties for 3D BSP tree instances.
+    /** Class containing sums used to compute the geometric properties of 3D BSP tree instances.
      *  The volume of the region is computed using the equation
      *  <code>V = (1/3)*&Sigma;<sub>F</sub>[(C<sub>F</sub>&sdot;N<sub>F</sub>)*area(F)]</code>,
      *  where <code>F</code> represents each face in the region, <code>C<sub>F</sub></code>
@@ -466,10 +1221,14 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
      *  the base of each pyramid. The centroid is computed in a similar way. The centroid
      *  of each pyramid is calculated using the fact that it is located 3/4 of the way along the
      *  line from the apex to the base. The region centroid then becomes the volume-weighted
-     *  average of these pyramid centers.
+     *  average of these pyramid centers. Since the equations are sums over the region faces,
+     *  the sums can be computed separately for each subtree and then combined.
      *  @see https://en.wikipedia.org/wiki/Polyhedron#Volume
      */
-    private static final class RegionSizePropertiesVisitor implements BSPTreeVisitor<Vector3D, RegionNode3D> {
+    private static final class RegionSizeSums {
+
+        /** Instance containing all zero sums. */
+        private static final RegionSizeSums ZERO = new RegionSizeSums();
 
         /** Accumulator for boundary volume contributions. */
         private double volumeSum;
@@ -483,28 +1242,10 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
         /** Centroid contribution z coordinate accumulator. */
         private double sumZ;
 
-        /** {@inheritDoc} */
-        @Override
-        public Result visit(final RegionNode3D node) {
-            if (node.isInternal()) {
-                final RegionCutBoundary<Vector3D> boundary = node.getCutBoundary();
-
-                for (final HyperplaneConvexSubset<Vector3D> outsideFacing : boundary.getOutsideFacing()) {
-                    addBoundaryContribution(outsideFacing, false);
-                }
-
-                for (final HyperplaneConvexSubset<Vector3D> insideFacing : boundary.getInsideFacing()) {
-                    addBoundaryContribution(insideFacing, true);
-                }
-            }
-
-            return Result.CONTINUE;
-        }
-
-        /** Return the computed size properties for the visited region.
-         * @return the computed size properties for the visited region.
+        /** Return the size properties for the region with the sums in this instance.
+         * @return the size properties for the region
          */
-        public RegionSizeProperties<Vector3D> getRegionSizeProperties() {
+        RegionSizeProperties<Vector3D> getRegionSizeProperties() {
             double size = Double.POSITIVE_INFINITY;
             Vector3D centroid = null;
 
@@ -527,12 +1268,23 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
             return new RegionSizeProperties<>(size, centroid);
         }
 
+        /** Add the sums from the given instance to this instance.
+         * @param other instance to add
+         */
+        void add(final RegionSizeSums other) {
+            volumeSum += other.volumeSum;
+
+            sumX += other.sumX;
+            sumY += other.sumY;
+            sumZ += other.sumZ;
+        }
+
         /** Add the contribution of the given node cut boundary. If {@code reverse} is true,
          * the volume of the contribution is reversed before being added to the total.
          * @param boundary node cut boundary
          * @param reverse if true, the boundary contribution is reversed before being added to the total.
          */
-        private void addBoundaryContribution(final HyperplaneSubset<Vector3D> boundary, boolean reverse) {
+        void addBoundaryContribution(final HyperplaneSubset<Vector3D> boundary, boolean reverse) {
             final PlaneSubset boundarySubset = (PlaneSubset) boundary;
 
             final Plane boundaryPlane = boundarySubset.getPlane();
@@ -558,6 +1310,185 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
         }
     }
 
+    /** Subtree property used to compute and store {@link RegionSizeSums} instances on region nodes.
+     */
+    private static final class RegionSizeSumsProperty implements SubtreeProperty<RegionNode3D, RegionSizeSums> {
+
+        /** {@inheritDoc} */
+        @Override
+        public RegionSizeSums getStoredValue(final RegionNode3D node) {
+            return node.subtreeSizeSums;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void storeValue(final RegionNode3D node, final RegionSizeSums value) {
+            node.subtreeSizeSums = value;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RegionSizeSums computeValue(final RegionNode3D node, final RegionSizeSums minusValue,
+                final RegionSizeSums plusValue) {
+            if (node.isLeaf()) {
+                return RegionSizeSums.ZERO;
+            }
+
+            final RegionSizeSums sums = new RegionSizeSums();
+
+            final RegionCutBoundary<Vector3D> boundary = node.getCutBoundary();
+
+            for (final HyperplaneConvexSubset<Vector3D> outsideFacing : boundary.getOutsideFacing()) {
+                sums.addBoundaryContribution(outsideFacing, false);
+            }
+
+            for (final HyperplaneConvexSubset<Vector3D> insideFacing : boundary.getInsideFacing()) {
+                sums.addBoundaryContribution(insideFacing, true);
+            }
+
+            sums.add(minusValue);
+            sums.add(plusValue);
+
+            return sums;
+        }
+    }
+
+    /** Class containing the bounding box of the cut boundaries in a node subtree.
+     */
+    private static final class SubtreeBounds {
+        /** Value for subtrees that do not contain any cut boundaries. */
+        static final SubtreeBounds EMPTY = new SubtreeBounds(null);
+
+        /** Value for subtrees containing infinite cut boundaries. */
+        static final SubtreeBounds INFINITE = new SubtreeBounds(null);
+
+        /** The bounding box of the subtree cut boundaries; null for {@link #EMPTY} and {@link #INFINITE}. */
+        private final Bounds3D bounds;
+
+        /** Simple constructor.
+         * @param bounds bounding box of the subtree cut boundaries
+         */
+        SubtreeBounds(final Bounds3D bounds) {
+            this.bounds = bounds;
+        }
+
+        /** Get the bounding box of the subtree cut boundaries or null if the subtree has no cut
+         * boundaries or has infinite cut boundaries.
+         * @return the bounding box of the subtree cut boundaries
+         */
+        Bounds3D getBounds() {
+            return bounds;
+        }
+
+        /** Return true if the given line subset may intersect a cut boundary in the subtree.
+         * @param subset line subset to test
+         * @return true if the line subset may intersect a cut boundary in the subtree
+         */
+        boolean intersects(final LineConvexSubset3D subset) {
+            return this == INFINITE ||
+                    (bounds != null && bounds.intersects(subset));
+        }
+
+        /** Return a lower bound on the distance between the given point and the cut boundaries in
+         * the subtree.
+         * @param pt point to compute the distance for
+         * @return a lower bound on the distance between the point and the subtree cut boundaries
+         */
+        double distance(final Vector3D pt) {
+            if (bounds == null) {
+                return this == INFINITE ? 0.0 : Double.POSITIVE_INFINITY;
+            }
+
+            final Vector3D min = bounds.getMin();
+            final Vector3D max = bounds.getMax();
+
+            final double dx = Math.max(0.0, Math.max(min.getX() - pt.getX(), pt.getX() - max.getX()));
+            final double dy = Math.max(0.0, Math.max(min.getY() - pt.getY(), pt.getY() - max.getY()));
+            final double dz = Math.max(0.0, Math.max(min.getZ() - pt.getZ(), pt.getZ() - max.getZ()));
+
+            return Vectors.norm(dx, dy, dz);
+        }
+    }
+
+    /** Subtree property used to compute and store {@link SubtreeBounds} instances on region nodes.
+     */
+    private static final class SubtreeBoundsProperty implements SubtreeProperty<RegionNode3D, SubtreeBounds> {
+
+        /** {@inheritDoc} */
+        @Override
+        public SubtreeBounds getStoredValue(final RegionNode3D node) {
+            return node.subtreeBounds;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void storeValue(final RegionNode3D node, final SubtreeBounds value) {
+            node.subtreeBounds = value;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public SubtreeBounds computeValue(final RegionNode3D node, final SubtreeBounds minusValue,
+                final SubtreeBounds plusValue) {
+            if (node.isLeaf()) {
+                return SubtreeBounds.EMPTY;
+            } else if (minusValue == SubtreeBounds.INFINITE || plusValue == SubtreeBounds.INFINITE) {
+                return SubtreeBounds.INFINITE;
+            }
+
+            final Bounds3D.Builder cutBuilder = Bounds3D.builder();
+
+            final RegionCutBoundary<Vector3D> boundary = node.getCutBoundary();
+            if (!addVertices(boundary.getOutsideFacing(), cutBuilder) ||
+                    !addVertices(boundary.getInsideFacing(), cutBuilder)) {
+                return SubtreeBounds.INFINITE;
+            }
+
+            final Bounds3D.Builder builder = Bounds3D.builder();
+
+            if (cutBuilder.hasBounds()) {
+                // expand the cut bounds by the precision of the cut so that points considered
+                // to lie on the boundary are also contained
+                final double eps = ((Plane) node.getCutHyperplane()).getPrecision().getMaxZero();
+                final Bounds3D cutBounds = cutBuilder.build();
+                final Vector3D min = cutBounds.getMin();
+                final Vector3D max = cutBounds.getMax();
+
+                builder.add(Vector3D.of(min.getX() - eps, min.getY() - eps, min.getZ() - eps))
+                    .add(Vector3D.of(max.getX() + eps, max.getY() + eps, max.getZ() + eps));
+            }
+            if (minusValue.getBounds() != null) {
+                builder.add(minusValue.getBounds());
+            }
+            if (plusValue.getBounds() != null) {
+                builder.add(plusValue.getBounds());
+            }
+
+            return builder.hasBounds() ?
+                    new SubtreeBounds(builder.build()) :
+                    SubtreeBounds.EMPTY;
+        }
+
+        /** Add the vertices of the given boundaries to {@code builder}, returning false if any
+         * of the boundaries are infinite.
+         * @param boundaries the boundaries to add
+         * @param builder the bounds builder
+         * @return false if any of the boundaries are infinite
+         */
+        private static boolean addVertices(final List<HyperplaneConvexSubset<Vector3D>> boundaries,
+                final Bounds3D.Builder builder) {
+            for (final HyperplaneConvexSubset<Vector3D> boundary : boundaries) {
+                if (!boundary.isFinite()) {
+                    return false;
+                }
+
+                builder.addAll(((PlaneConvexSubset) boundary).getVertices());
+            }
+
+            return true;
+        }
+    }
+
     /** BSP tree visitor that performs a linecast operation against the boundaries of the visited tree.
      */
     private static final class LinecastVisitor implements BSPTreeVisitor<Vector3D, RegionNode3D> {
@@ -570,6 +1501,9 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
          */
         private final boolean firstOnly;
 
+        /** If true, subtrees whose bounding boxes do not intersect the linecast subset are not visited. */
+        private final boolean pruneSubtrees;
+
         /** The minimum abscissa found during the search. */
         private double minAbscissa = Double.POSITIVE_INFINITY;
 
@@ -580,10 +1514,14 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
          * @param linecastSubset line subset to intersect with the BSP tree region boundary
          * @param firstOnly if true, the visitor will stop visiting the tree once the first
          *      linecast point is determined
+         * @param pruneSubtrees if true, subtree bounding boxes will be used to skip subtrees that
+         *      cannot intersect the linecast subset
          */
-        LinecastVisitor(final LineConvexSubset3D linecastSubset, final boolean firstOnly) {
+        LinecastVisitor(final LineConvexSubset3D linecastSubset, final boolean firstOnly,
+                final boolean pruneSubtrees) {
             this.linecastSubset = linecastSubset;
             this.firstOnly = firstOnly;
+            this.pruneSubtrees = pruneSubtrees;
         }
 
         /** Get the first {@link LinecastPoint2D} resulting from the linecast operation.
@@ -610,6 +1548,10 @@ public final class RegionBSPTree3D extends AbstractRegionBSPTree<Vector3D, Regio
         /** {@inheritDoc} */
         @Override
         public Order visitOrder(final RegionNode3D internalNode) {
+            if (pruneSubtrees && !internalNode.getSubtreeBoundsValue().intersects(linecastSubset)) {
+                return Order.NONE;
+            }
+
             final Plane cut = (Plane) internalNode.getCutHyperplane();
             final Line3D line = linecastSubset.getLine();
 
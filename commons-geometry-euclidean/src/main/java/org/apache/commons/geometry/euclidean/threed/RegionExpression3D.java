@@ -0,0 +1,562 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.threed;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.apache.commons.geometry.core.Region;
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.threed.RegionBSPTree3D.RegionNode3D;
+import org.apache.commons.geometry.euclidean.threed.line.LineConvexSubset3D;
+import org.apache.commons.geometry.euclidean.threed.line.LinecastPoint3D;
+import org.apache.commons.geometry.euclidean.threed.line.Linecastable3D;
+
+/** Region defined by a lazily evaluated boolean expression over {@link RegionBSPTree3D} operands.
+ * Combining expressions with {@link #union(RegionExpression3D) union},
+ * {@link #intersection(RegionExpression3D) intersection}, {@link #difference(RegionExpression3D) difference}
+ * and {@link #xor(RegionExpression3D) xor} does not merge any trees. Instead, point classification and
+ * linecast operations are answered directly from the operands:
+ * <ul>
+ *      <li>Each operand and sub-expression keeps an axis-aligned bounding box of its region. Points and
+ *      lines that lie outside of the box are rejected without querying the operand trees.</li>
+ *      <li>Classification short-circuits: for example, a point inside of the first operand of a union
+ *      is inside of the union regardless of the second operand.</li>
+ * </ul>
+ *
+ * <p>A tree representing the expression is only computed when it is requested with {@link #toTree()} or
+ * when a property requiring the full region, such as the {@link #getSize() size}, is requested. Points lying
+ * on the boundaries of both operands of an operation cannot be classified from the operands alone; these are
+ * classified using a computed tree for the operation involved.</p>
+ *
+ * <p>The operand trees are referenced, not copied. They must not be modified while the expression is in
+ * use, since computed bounds and trees are cached. This class is not thread-safe.</p>
+ */
+public final class RegionExpression3D implements Region<Vector3D>, Linecastable3D {
+
+    /** Operations supported in expressions. */
+    private enum Operation {
+        /** The expression consists of a single operand tree. */
+        OPERAND,
+        /** Boolean union. */
+        UNION,
+        /** Boolean intersection. */
+        INTERSECTION,
+        /** Boolean difference. */
+        DIFFERENCE,
+        /** Boolean exclusive or. */
+        XOR
+    }
+
+    /** The operation of the expression. */
+    private final Operation operation;
+
+    /** The operand tree; only set if the expression is an operand. */
+    private final RegionBSPTree3D operand;
+
+    /** The first argument of the operation; null if the expression is an operand. */
+    private final RegionExpression3D left;
+
+    /** The second argument of the operation; null if the expression is an operand. */
+    private final RegionExpression3D right;
+
+    /** True if the bounds of the expression have been computed. */
+    private boolean boundsComputed;
+
+    /** Axis-aligned box containing the region of the expression; null if the region is not known
+     * to be bounded.
+     */
+    private Bounds3D bounds;
+
+    /** True if the region of the expression is known to be empty. */
+    private boolean knownEmpty;
+
+    /** Precision context used to test points and lines against the bounds; null if not available. */
+    private DoublePrecisionContext precision;
+
+    /** Tree computed for the expression; null if not yet computed. */
+    private RegionBSPTree3D tree;
+
+    /** Construct a new instance.
+     * @param operation the operation of the expression
+     * @param operand the operand tree if the expression is an operand
+     * @param left the first argument of the operation
+     * @param right the second argument of the operation
+     */
+    private RegionExpression3D(final Operation operation, final RegionBSPTree3D operand,
+            final RegionExpression3D left, final RegionExpression3D right) {
+        this.operation = operation;
+        this.operand = operand;
+        this.left = left;
+        this.right = right;
+    }
+
+    /** Return a new expression representing the union of this instance and the argument.
+     * @param other the other expression
+     * @return a new expression representing the union of this instance and the argument
+     */
+    public RegionExpression3D union(final RegionExpression3D other) {
+        return combine(Operation.UNION, other);
+    }
+
+    /** Return a new expression representing the intersection of this instance and the argument.
+     * @param other the other expression
+     * @return a new expression representing the intersection of this instance and the argument
+     */
+    public RegionExpression3D intersection(final RegionExpression3D other) {
+        return combine(Operation.INTERSECTION, other);
+    }
+
+    /** Return a new expression representing the region of this instance with the region of the
+     * argument removed.
+     * @param other the other expression
+     * @return a new expression representing the difference of this instance and the argument
+     */
+    public RegionExpression3D difference(final RegionExpression3D other) {
+        return combine(Operation.DIFFERENCE, other);
+    }
+
+    /** Return a new expression representing the exclusive or of this instance and the argument.
+     * @param other the other expression
+     * @return a new expression representing the exclusive or of this instance and the argument
+     */
+    public RegionExpression3D xor(final RegionExpression3D other) {
+        return combine(Operation.XOR, other);
+    }
+
+    /** Get an axis-aligned box containing the region of the expression. Null is returned if the region
+     * is empty or if it is not known to be bounded. The box is computed from the bounds of the operands
+     * and may be larger than the smallest box containing the region.
+     * @return an axis-aligned box containing the region or null if the region is empty or not
+     *      known to be bounded
+     */
+    public Bounds3D getBounds() {
+        computeBounds();
+        return knownEmpty ? null : bounds;
+    }
+
+    /** Get a new tree representing the region of the expression. The tree is computed the first
+     * time that it is needed and then cached; each call returns a new copy of the cached tree.
+     * @return a new tree representing the region of the expression
+     */
+    public RegionBSPTree3D toTree() {
+        return getTree().copy();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isFull() {
+        return getTree().isFull();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isEmpty() {
+        computeBounds();
+        return knownEmpty || getTree().isEmpty();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getSize() {
+        return getTree().getSize();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getBoundarySize() {
+        return getTree().getBoundarySize();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Vector3D getCentroid() {
+        return getTree().getCentroid();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Vector3D project(final Vector3D pt) {
+        return getTree().project(pt);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public RegionLocation classify(final Vector3D pt) {
+        if (isRejected(pt)) {
+            return RegionLocation.OUTSIDE;
+        }
+
+        switch (operation) {
+        case OPERAND:
+            return operand.classify(pt);
+        case UNION:
+            return classifyUnion(pt);
+        case INTERSECTION:
+            return classifyIntersection(pt);
+        case DIFFERENCE:
+            return classifyDifference(pt);
+        default:
+            return classifyXor(pt);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<LinecastPoint3D> linecast(final LineConvexSubset3D subset) {
+        final List<LinecastPoint3D> results = computeLinecast(subset);
+        LinecastPoint3D.sortAndFilter(results);
+
+        return results;
+    }
+
+    /** {@inheritDoc}
+     *
+     * <p>All linecast points of the expression are computed in order to determine the first one.</p>
+     */
+    @Override
+    public LinecastPoint3D linecastFirst(final LineConvexSubset3D subset) {
+        final List<LinecastPoint3D> results = linecast(subset);
+        return results.isEmpty() ?
+                null :
+                results.get(0);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        if (operation == Operation.OPERAND) {
+            return getClass().getSimpleName() + "[operand= " + operand + "]";
+        }
+
+        final StringBuilder sb = new StringBuilder();
+        sb.append(getClass().getSimpleName())
+            .append("[operation= ")
+            .append(operation)
+            .append(", left= ")
+            .append(left)
+            .append(", right= ")
+            .append(right)
+            .append(']');
+
+        return sb.toString();
+    }
+
+    /** Return a new expression consisting of the given operand tree. The tree is referenced by the
+     * expression and must not be modified while the expression is in use.
+     * @param tree the operand tree
+     * @return a new expression consisting of the given operand tree
+     */
+    public static RegionExpression3D of(final RegionBSPTree3D tree) {
+        Objects.requireNonNull(tree, "Tree cannot be null");
+        return new RegionExpression3D(Operation.OPERAND, tree, null, null);
+    }
+
+    /** Return a new expression combining this instance and the argument with the given operation.
+     * @param op the operation
+     * @param other the second argument of the operation
+     * @return a new expression
+     */
+    private RegionExpression3D combine(final Operation op, final RegionExpression3D other) {
+        Objects.requireNonNull(other, "Expression cannot be null");
+        return new RegionExpression3D(op, null, this, other);
+    }
+
+    /** Get the tree representing the region of the expression, computing it if needed. The returned
+     * tree must not be modified.
+     * @return the tree representing the region of the expression
+     */
+    private RegionBSPTree3D getTree() {
+        if (tree == null) {
+            if (operation == Operation.OPERAND) {
+                tree = operand;
+            } else {
+                final RegionBSPTree3D result = RegionBSPTree3D.empty();
+                switch (operation) {
+                case UNION:
+                    result.union(left.getTree(), right.getTree());
+                    break;
+                case INTERSECTION:
+                    result.intersection(left.getTree(), right.getTree());
+                    break;
+                case DIFFERENCE:
+                    result.difference(left.getTree(), right.getTree());
+                    break;
+                default:
+                    result.xor(left.getTree(), right.getTree());
+                    break;
+                }
+                tree = result;
+            }
+        }
+        return tree;
+    }
+
+    /** Compute the bounds of the expression if not already computed.
+     */
+    private void computeBounds() {
+        if (!boundsComputed) {
+            if (operation == Operation.OPERAND) {
+                computeOperandBounds();
+            } else {
+                left.computeBounds();
+                right.computeBounds();
+
+                precision = left.precision != null ? left.precision : right.precision;
+
+                switch (operation) {
+                case UNION:
+                case XOR:
+                    computeUnionBounds();
+                    break;
+                case INTERSECTION:
+                    computeIntersectionBounds();
+                    break;
+                default:
+                    // the difference lies within the first argument
+                    knownEmpty = left.knownEmpty;
+                    bounds = left.bounds;
+                    break;
+                }
+            }
+
+            boundsComputed = true;
+        }
+    }
+
+    /** Compute the bounds of an operand expression. The bounds of the operand tree only contain its
+     * finite boundary vertices, so they are only used if the operand region is finite.
+     */
+    private void computeOperandBounds() {
+        final RegionNode3D root = operand.getRoot();
+        if (root.isLeaf()) {
+            knownEmpty = root.isOutside();
+        } else {
+            knownEmpty = operand.isEmpty();
+            bounds = knownEmpty || !operand.isFinite() ?
+                    null :
+                    operand.getBounds();
+            precision = ((Plane) root.getCutHyperplane()).getPrecision();
+        }
+    }
+
+    /** Compute the bounds of a union or exclusive or expression. Both regions are contained
+     * in the union of the argument regions.
+     */
+    private void computeUnionBounds() {
+        if (left.knownEmpty) {
+            knownEmpty = right.knownEmpty;
+            bounds = right.bounds;
+        } else if (right.knownEmpty) {
+            bounds = left.bounds;
+        } else if (left.bounds != null && right.bounds != null) {
+            bounds = Bounds3D.builder()
+                    .add(left.bounds)
+                    .add(right.bounds)
+                    .build();
+        }
+    }
+
+    /** Compute the bounds of an intersection expression.
+     */
+    private void computeIntersectionBounds() {
+        if (left.knownEmpty || right.knownEmpty) {
+            knownEmpty = true;
+        } else if (left.bounds == null) {
+            bounds = right.bounds;
+        } else if (right.bounds == null) {
+            bounds = left.bounds;
+        } else {
+            bounds = left.bounds.intersection(right.bounds);
+            knownEmpty = bounds == null;
+        }
+    }
+
+    /** Return true if the given point is known to lie outside of the region based on the bounds
+     * of the expression.
+     * @param pt the point to test
+     * @return true if the point is known to lie outside of the region
+     */
+    private boolean isRejected(final Vector3D pt) {
+        computeBounds();
+        return knownEmpty ||
+                (bounds != null && !bounds.contains(pt, precision));
+    }
+
+    /** Return true if the given line subset is known not to intersect the region based on the bounds
+     * of the expression.
+     * @param subset the line subset to test
+     * @return true if the line subset is known not to intersect the region
+     */
+    private boolean isRejected(final LineConvexSubset3D subset) {
+        computeBounds();
+        return knownEmpty ||
+                (bounds != null && !bounds.intersects(subset));
+    }
+
+    /** Classify a point against a union expression.
+     * @param pt the point to classify
+     * @return the location of the point
+     */
+    private RegionLocation classifyUnion(final Vector3D pt) {
+        final RegionLocation leftLoc = left.classify(pt);
+        if (leftLoc == RegionLocation.INSIDE) {
+            return RegionLocation.INSIDE;
+        }
+
+        final RegionLocation rightLoc = right.classify(pt);
+        if (leftLoc == RegionLocation.OUTSIDE || rightLoc == RegionLocation.INSIDE) {
+            return rightLoc;
+        } else if (rightLoc == RegionLocation.OUTSIDE) {
+            return leftLoc;
+        }
+        return getTree().classify(pt);
+    }
+
+    /** Classify a point against an intersection expression.
+     * @param pt the point to classify
+     * @return the location of the point
+     */
+    private RegionLocation classifyIntersection(final Vector3D pt) {
+        final RegionLocation leftLoc = left.classify(pt);
+        if (leftLoc == RegionLocation.OUTSIDE) {
+            return RegionLocation.OUTSIDE;
+        }
+
+        final RegionLocation rightLoc = right.classify(pt);
+        if (leftLoc == RegionLocation.INSIDE || rightLoc == RegionLocation.OUTSIDE) {
+            return rightLoc;
+        } else if (rightLoc == RegionLocation.INSIDE) {
+            return leftLoc;
+        }
+        return getTree().classify(pt);
+    }
+
+    /** Classify a point against a difference expression.
+     * @param pt the point to classify
+     * @return the location of the point
+     */
+    private RegionLocation classifyDifference(final Vector3D pt) {
+        final RegionLocation leftLoc = left.classify(pt);
+        if (leftLoc == RegionLocation.OUTSIDE) {
+            return RegionLocation.OUTSIDE;
+        }
+
+        final RegionLocation rightLoc = right.classify(pt);
+        if (rightLoc == RegionLocation.INSIDE) {
+            return RegionLocation.OUTSIDE;
+        } else if (rightLoc == RegionLocation.OUTSIDE) {
+            return leftLoc;
+        } else if (leftLoc == RegionLocation.INSIDE) {
+            return RegionLocation.BOUNDARY;
+        }
+        return getTree().classify(pt);
+    }
+
+    /** Classify a point against an exclusive or expression.
+     * @param pt the point to classify
+     * @return the location of the point
+     */
+    private RegionLocation classifyXor(final Vector3D pt) {
+        final RegionLocation leftLoc = left.classify(pt);
+        final RegionLocation rightLoc = right.classify(pt);
+
+        if (leftLoc == RegionLocation.OUTSIDE) {
+            return rightLoc;
+        } else if (rightLoc == RegionLocation.OUTSIDE) {
+            return leftLoc;
+        } else if (leftLoc == RegionLocation.INSIDE && rightLoc == RegionLocation.INSIDE) {
+            return RegionLocation.OUTSIDE;
+        } else if (leftLoc == RegionLocation.INSIDE || rightLoc == RegionLocation.INSIDE) {
+            return RegionLocation.BOUNDARY;
+        }
+        return getTree().classify(pt);
+    }
+
+    /** Compute the unsorted linecast points of the expression. The points of an operation are taken from
+     * the linecast points of its arguments that lie on the boundary of the combined region. Points from
+     * arguments that appear complemented in the result, such as the second argument of a difference,
+     * have their normals reversed.
+     * @param subset the line subset to intersect
+     * @return the unsorted linecast points of the expression
+     */
+    private List<LinecastPoint3D> computeLinecast(final LineConvexSubset3D subset) {
+        if (isRejected(subset)) {
+            return new ArrayList<>();
+        } else if (operation == Operation.OPERAND) {
+            return new ArrayList<>(operand.linecast(subset));
+        }
+
+        final List<LinecastPoint3D> results = new ArrayList<>();
+        addLinecastPoints(left.computeLinecast(subset), right, false, results);
+        addLinecastPoints(right.computeLinecast(subset), left, true, results);
+
+        return results;
+    }
+
+    /** Add the linecast points of one argument of the operation that lie on the boundary of the
+     * combined region to the result list.
+     * @param pts the linecast points of the argument
+     * @param other the other argument of the operation
+     * @param secondArg true if the points belong to the second argument of the operation
+     * @param results list receiving the result points
+     */
+    private void addLinecastPoints(final List<LinecastPoint3D> pts, final RegionExpression3D other,
+            final boolean secondArg, final List<LinecastPoint3D> results) {
+        final boolean complemented = operation == Operation.DIFFERENCE && secondArg;
+
+        for (final LinecastPoint3D pt : pts) {
+            final RegionLocation otherLoc = other.classify(pt.getPoint());
+
+            final boolean keep;
+            boolean reverse = complemented;
+            if (otherLoc == RegionLocation.BOUNDARY) {
+                keep = classify(pt.getPoint()) == RegionLocation.BOUNDARY;
+            } else if (otherLoc == RegionLocation.INSIDE) {
+                keep = operation == Operation.INTERSECTION ||
+                        operation == Operation.XOR ||
+                        complemented;
+                reverse = complemented || operation == Operation.XOR;
+            } else {
+                keep = operation != Operation.INTERSECTION &&
+                        !complemented;
+            }
+
+            if (keep) {
+                results.add(reverse ? reverse(pt) : pt);
+            }
+        }
+    }
+
+    /** Return a linecast point with the same point and line as the argument but with a reversed normal.
+     * @param pt the linecast point
+     * @return a linecast point with a reversed normal
+     */
+    private static LinecastPoint3D reverse(final LinecastPoint3D pt) {
+        return new LinecastPoint3D(pt.getPoint(), pt.getNormal().negate(), pt.getLine());
+    }
+
+    /** Return true if the tree representing the expression has been computed. This is intended
+     * for use in tests.
+     * @return true if the tree representing the expression has been computed
+     */
+    boolean isTreeComputed() {
+        return tree != null;
+    }
+}
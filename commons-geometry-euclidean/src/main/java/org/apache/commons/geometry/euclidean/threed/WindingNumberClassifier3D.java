@@ -0,0 +1,831 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.threed;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import org.apache.commons.geometry.euclidean.internal.BatchArrays;
+import org.apache.commons.geometry.euclidean.internal.ParallelRanges;
+import org.apache.commons.geometry.euclidean.internal.Vectors;
+import org.apache.commons.geometry.euclidean.threed.mesh.TriangleMesh;
+
+/** Class used to classify points against the boundaries of a {@link BoundarySource3D} using the
+ * generalized winding number. The generalized winding number of a point is the sum of the signed
+ * solid angles subtended by the boundary triangles at the point, divided by {@code 4π}. For a closed,
+ * consistently oriented surface with outward-facing normals, this value is one for points inside of
+ * the surface and zero for points outside of it. Unlike the point classification of a BSP tree, the
+ * winding number degrades gracefully when the surface is not closed: small holes, gaps, and
+ * overlaps only change the value slightly near the defects. Points are considered to be contained
+ * in the region if their winding number is greater than {@code 0.5}. Points lying directly on the
+ * boundary have a winding number close to {@code 0.5} and may be classified either way.
+ *
+ * <p>The triangles are organized into a bounding sphere hierarchy in which each node stores the sum of
+ * the area vectors of its triangles and their first moment about the node center, which together give
+ * a far-field expansion of the solid angle subtended by the node. Nodes whose bounding sphere is
+ * sufficiently far from the query point are evaluated using the expansion instead of visiting
+ * the individual triangles, so that the typical cost of a query is logarithmic in the number of
+ * triangles. The {@code accuracy} value passed on construction controls the approximation: a node
+ * is approximated when the distance from the query point to the node center exceeds {@code accuracy}
+ * times the node radius. Larger values increase accuracy at the expense of query time; with the default
+ * value, the approximation error of the winding number is typically well below {@code 0.01} and only
+ * approaches it for points very close to the boundary.</p>
+ *
+ * <p>No BSP tree is constructed, so instances can be created much more quickly than
+ * {@link RegionBSPTree3D} instances for the same boundaries. The boundaries are read from the
+ * source only during construction; subsequent modifications to the source are not reflected in
+ * the classifier. Instances of this class are immutable and thread-safe.</p>
+ * @see <a href="https://igl.ethz.ch/projects/winding-number/">Robust Inside-Outside Segmentation using
+ *      Generalized Winding Numbers</a>
+ * @see <a href="https://www.dgp.toronto.edu/projects/fast-winding-numbers/">Fast Winding Numbers for
+ *      Soups and Clouds</a>
+ */
+public final class WindingNumberClassifier3D {
+
+    /** Default accuracy value. */
+    public static final double DEFAULT_ACCURACY = 2.0;
+
+    /** Winding number above which points are considered to be contained in the region. */
+    private static final double CONTAINS_THRESHOLD = 0.5;
+
+    /** Maximum number of triangles placed in a leaf node. */
+    private static final int MAX_LEAF_SIZE = 8;
+
+    /** Number of values stored for each triangle: the x, y, and z coordinates of its three vertices. */
+    private static final int TRIANGLE_STRIDE = 9;
+
+    /** Number of values stored for each node: the center (3 values), the radius (1 value),
+     * the area vector (3 values), and the second-order moment matrix in row-major order (9 values).
+     */
+    private static final int NODE_STRIDE = 16;
+
+    /** Maximum number of points classified by a single task in parallel batch classifications. */
+    private static final int CLASSIFY_CHUNK_SIZE = 1 << 10;
+
+    /** Factor used to convert solid angles to winding numbers. */
+    private static final double INV_FOUR_PI = 0.25 / Math.PI;
+
+    /** Triangle vertex coordinates, in the order referenced by the leaf nodes. */
+    private final double[] triangles;
+
+    /** Node expansion data. */
+    private final double[] nodeData;
+
+    /** For leaf nodes, the index of the first triangle; for interior nodes, the index of the
+     * second child. The first child of an interior node immediately follows its parent.
+     */
+    private final int[] nodeOffsets;
+
+    /** For leaf nodes, the number of triangles; -1 for interior nodes. */
+    private final int[] nodeCounts;
+
+    /** Number of nodes in the hierarchy. */
+    private final int nodeCount;
+
+    /** Height of the hierarchy. */
+    private final int height;
+
+    /** Accuracy value. */
+    private final double accuracy;
+
+    /** Construct a new instance from the given builder.
+     * @param builder builder containing the hierarchy data
+     */
+    private WindingNumberClassifier3D(final Builder builder) {
+        this.triangles = builder.orderedTriangles;
+        this.nodeData = builder.nodeData;
+        this.nodeOffsets = builder.nodeOffsets;
+        this.nodeCounts = builder.nodeCounts;
+        this.nodeCount = builder.nodeCount;
+        this.height = builder.height;
+        this.accuracy = builder.accuracy;
+    }
+
+    /** Get the number of triangles used to compute winding numbers.
+     * @return the number of triangles used to compute winding numbers
+     */
+    public int getTriangleCount() {
+        return triangles.length / TRIANGLE_STRIDE;
+    }
+
+    /** Get the number of nodes in the hierarchy.
+     * @return the number of nodes in the hierarchy
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /** Get the height of the hierarchy, ie the number of nodes on the longest path from
+     * the root to a leaf. Zero is returned if the classifier does not contain any triangles.
+     * @return the height of the hierarchy
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /** Get the accuracy value, ie the minimum ratio of the distance from a query point to a node
+     * center to the node radius required for the node to be approximated.
+     * @return the accuracy value
+     */
+    public double getAccuracy() {
+        return accuracy;
+    }
+
+    /** Compute the generalized winding number of the given point.
+     * @param pt point
+     * @return the generalized winding number of the point
+     */
+    public double windingNumber(final Vector3D pt) {
+        return windingNumber(pt.getX(), pt.getY(), pt.getZ(), new int[height + 1]);
+    }
+
+    /** Compute the generalized winding number of the point with the given coordinates.
+     * @param x point x coordinate
+     * @param y point y coordinate
+     * @param z point z coordinate
+     * @return the generalized winding number of the point
+     */
+    public double windingNumber(final double x, final double y, final double z) {
+        return windingNumber(x, y, z, new int[height + 1]);
+    }
+
+    /** Return true if the given point is contained in the region, ie if its generalized winding number
+     * is greater than {@code 0.5}.
+     * @param pt point to test
+     * @return true if the point is contained in the region
+     */
+    public boolean contains(final Vector3D pt) {
+        return windingNumber(pt) > CONTAINS_THRESHOLD;
+    }
+
+    /** Return true if the point with the given coordinates is contained in the region, ie if its
+     * generalized winding number is greater than {@code 0.5}.
+     * @param x point x coordinate
+     * @param y point y coordinate
+     * @param z point z coordinate
+     * @return true if the point is contained in the region
+     */
+    public boolean contains(final double x, final double y, final double z) {
+        return windingNumber(x, y, z) > CONTAINS_THRESHOLD;
+    }
+
+    /** Test a batch of points given by their coordinate arrays for containment in the region. The
+     * result for the point at index {@code i}, ie {@code (xs[i], ys[i], zs[i])}, is stored in
+     * {@code out[i]} and is the same as the value returned by {@link #contains(double, double, double)}
+     * for the point.
+     * @param xs point x coordinates
+     * @param ys point y coordinates
+     * @param zs point z coordinates
+     * @param out array receiving the containment results
+     * @throws IllegalArgumentException if the arrays do not all have the same length
+     */
+    public void contains(final double[] xs, final double[] ys, final double[] zs, final boolean[] out) {
+        BatchArrays.checkSameLength(xs.length, ys.length, zs.length, out.length);
+
+        containsRange(xs, ys, zs, out, 0, xs.length);
+    }
+
+    /** Test a batch of points given by their coordinate arrays for containment in the region, using tasks
+     * in the given pool to test chunks of points in parallel. The results are the same as those of
+     * {@link #contains(double[], double[], double[], boolean[])}.
+     * @param xs point x coordinates
+     * @param ys point y coordinates
+     * @param zs point z coordinates
+     * @param out array receiving the containment results
+     * @param pool pool used to execute the classification tasks
+     * @throws IllegalArgumentException if the arrays do not all have the same length
+     */
+    public void contains(final double[] xs, final double[] ys, final double[] zs, final boolean[] out,
+            final ForkJoinPool pool) {
+        BatchArrays.checkSameLength(xs.length, ys.length, zs.length, out.length);
+
+        ParallelRanges.apply(xs.length, CLASSIFY_CHUNK_SIZE, pool,
+            (start, end) -> containsRange(xs, ys, zs, out, start, end));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(getClass().getSimpleName())
+            .append("[triangleCount= ")
+            .append(getTriangleCount())
+            .append(", nodeCount= ")
+            .append(nodeCount)
+            .append(", height= ")
+            .append(height)
+            .append(", accuracy= ")
+            .append(accuracy)
+            .append(']');
+
+        return sb.toString();
+    }
+
+    /** Test the points in the given index range for containment in the region.
+     * @param xs point x coordinates
+     * @param ys point y coordinates
+     * @param zs point z coordinates
+     * @param out array receiving the containment results
+     * @param start first index to test, inclusive
+     * @param end last index to test, exclusive
+     */
+    private void containsRange(final double[] xs, final double[] ys, final double[] zs, final boolean[] out,
+            final int start, final int end) {
+        // stack reused by all points in the range
+        final int[] stack = new int[height + 1];
+
+        for (int i = start; i < end; ++i) {
+            out[i] = windingNumber(xs[i], ys[i], zs[i], stack) > CONTAINS_THRESHOLD;
+        }
+    }
+
+    /** Compute the generalized winding number of the point with the given coordinates.
+     * @param x point x coordinate
+     * @param y point y coordinate
+     * @param z point z coordinate
+     * @param stack array used as the traversal stack; must have a length of at least {@code height + 1}
+     * @return the generalized winding number of the point
+     */
+    private double windingNumber(final double x, final double y, final double z, final int[] stack) {
+        if (nodeCount < 1) {
+            return 0;
+        }
+
+        final double accuracySq = accuracy * accuracy;
+
+        double solidAngle = 0;
+
+        int top = 0;
+        stack[top++] = 0;
+
+        while (top > 0) {
+            final int node = stack[--top];
+            final int d = node * NODE_STRIDE;
+
+            // vector from the point to the node center
+            final double rx = nodeData[d] - x;
+            final double ry = nodeData[d + 1] - y;
+            final double rz = nodeData[d + 2] - z;
+            final double distSq = (rx * rx) + (ry * ry) + (rz * rz);
+            final double radius = nodeData[d + 3];
+
+            if (distSq > accuracySq * radius * radius) {
+                solidAngle += farFieldSolidAngle(d, rx, ry, rz, distSq);
+            } else if (nodeCounts[node] < 0) {
+                stack[top++] = nodeOffsets[node];
+                stack[top++] = node + 1;
+            } else {
+                final int first = nodeOffsets[node];
+                final int last = first + nodeCounts[node];
+                for (int t = first; t < last; ++t) {
+                    solidAngle += triangleSolidAngle(t * TRIANGLE_STRIDE, x, y, z);
+                }
+            }
+        }
+
+        return solidAngle * INV_FOUR_PI;
+    }
+
+    /** Compute the second-order approximation of the solid angle subtended by the triangles of a node.
+     * @param d index of the node data
+     * @param rx x coordinate of the vector from the query point to the node center
+     * @param ry y coordinate of the vector from the query point to the node center
+     * @param rz z coordinate of the vector from the query point to the node center
+     * @param distSq squared length of the vector from the query point to the node center
+     * @return the approximate solid angle subtended by the triangles of the node
+     */
+    private double farFieldSolidAngle(final int d, final double rx, final double ry, final double rz,
+            final double distSq) {
+        final double dist = Math.sqrt(distSq);
+        final double invDist3 = 1.0 / (distSq * dist);
+        final double invDist5 = invDist3 / distSq;
+
+        // first-order term: the area vector against the gradient of the kernel
+        final double first = ((nodeData[d + 4] * rx) + (nodeData[d + 5] * ry) + (nodeData[d + 6] * rz)) * invDist3;
+
+        // second-order term: the moment matrix against the hessian of the kernel
+        final int m = d + 7;
+        final double trace = nodeData[m] + nodeData[m + 4] + nodeData[m + 8];
+        final double mrx = (nodeData[m] * rx) + (nodeData[m + 1] * ry) + (nodeData[m + 2] * rz);
+        final double mry = (nodeData[m + 3] * rx) + (nodeData[m + 4] * ry) + (nodeData[m + 5] * rz);
+        final double mrz = (nodeData[m + 6] * rx) + (nodeData[m + 7] * ry) + (nodeData[m + 8] * rz);
+        final double quad = (rx * mrx) + (ry * mry) + (rz * mrz);
+
+        final double second = (trace * invDist3) - (3 * quad * invDist5);
+
+        return first + second;
+    }
+
+    /** Compute the signed solid angle subtended by a triangle at the given point, using the formula of
+     * Van Oosterom and Strackee.
+     * @param t index of the triangle data
+     * @param x point x coordinate
+     * @param y point y coordinate
+     * @param z point z coordinate
+     * @return the signed solid angle subtended by the triangle
+     */
+    private double triangleSolidAngle(final int t, final double x, final double y, final double z) {
+        final double ax = triangles[t] - x;
+        final double ay = triangles[t + 1] - y;
+        final double az = triangles[t + 2] - z;
+
+        final double bx = triangles[t + 3] - x;
+        final double by = triangles[t + 4] - y;
+        final double bz = triangles[t + 5] - z;
+
+        final double cx = triangles[t + 6] - x;
+        final double cy = triangles[t + 7] - y;
+        final double cz = triangles[t + 8] - z;
+
+        final double aNorm = Math.sqrt((ax * ax) + (ay * ay) + (az * az));
+        final double bNorm = Math.sqrt((bx * bx) + (by * by) + (bz * bz));
+        final double cNorm = Math.sqrt((cx * cx) + (cy * cy) + (cz * cz));
+
+        final double det = (ax * ((by * cz) - (bz * cy))) +
+                (ay * ((bz * cx) - (bx * cz))) +
+                (az * ((bx * cy) - (by * cx)));
+
+        final double ab = (ax * bx) + (ay * by) + (az * bz);
+        final double ac = (ax * cx) + (ay * cy) + (az * cz);
+        final double bc = (bx * cx) + (by * cy) + (bz * cz);
+
+        final double denom = (aNorm * bNorm * cNorm) + (ab * cNorm) + (ac * bNorm) + (bc * aNorm);
+
+        return 2 * Math.atan2(det, denom);
+    }
+
+    /** Construct a new classifier for the boundaries in the given source using the
+     * {@link #DEFAULT_ACCURACY default accuracy}.
+     * @param src boundary source
+     * @return a new classifier for the boundaries in the given source
+     * @throws IllegalStateException if any boundary in the source is infinite
+     */
+    public static WindingNumberClassifier3D from(final BoundarySource3D src) {
+        return from(src, DEFAULT_ACCURACY);
+    }
+
+    /** Construct a new classifier for the boundaries in the given source using the given accuracy
+     * value. Nodes of the hierarchy are approximated when the distance from the query point to the
+     * node center exceeds {@code accuracy} times the node radius. Passing
+     * {@link Double#POSITIVE_INFINITY} disables the approximation, so that the contribution of
+     * every triangle is computed exactly. Faces of {@link TriangleMesh} instances are read directly
+     * from the mesh, so that degenerate faces are accepted (and contribute nothing to the winding
+     * number) rather than causing an exception.
+     * @param src boundary source
+     * @param accuracy accuracy value; must be greater than or equal to 1
+     * @return a new classifier for the boundaries in the given source
+     * @throws IllegalArgumentException if {@code accuracy} is less than 1 or NaN
+     * @throws IllegalStateException if any boundary in the source is infinite
+     */
+    public static WindingNumberClassifier3D from(final BoundarySource3D src, final double accuracy) {
+        if (!(accuracy >= 1)) {
+            throw new IllegalArgumentException("Invalid winding number accuracy: " + accuracy);
+        }
+
+        final double[] coordinates;
+        if (src instanceof TriangleMesh) {
+            coordinates = meshCoordinates((TriangleMesh) src);
+        } else {
+            try (Stream<Triangle3D> stream = src.triangleStream()) {
+                coordinates = stream
+                        .flatMap(t -> Stream.of(t.getPoint1(), t.getPoint2(), t.getPoint3()))
+                        .flatMapToDouble(v -> Arrays.stream(v.toArray()))
+                        .toArray();
+            }
+        }
+
+        return new Builder(coordinates, accuracy).build();
+    }
+
+    /** Get the vertex coordinates of the faces of the given mesh.
+     * @param mesh mesh
+     * @return array containing the vertex coordinates of the faces of the mesh
+     */
+    private static double[] meshCoordinates(final TriangleMesh mesh) {
+        final double[] coordinates = new double[mesh.getFaceCount() * TRIANGLE_STRIDE];
+
+        int i = 0;
+        for (final TriangleMesh.Face face : mesh.faces()) {
+            i = setCoordinates(coordinates, i, face.getPoint1());
+            i = setCoordinates(coordinates, i, face.getPoint2());
+            i = setCoordinates(coordinates, i, face.getPoint3());
+        }
+
+        return coordinates;
+    }
+
+    /** Write the coordinates of the given vector to the array at the given index.
+     * @param coordinates coordinate array
+     * @param i index to write to
+     * @param v vector
+     * @return the index following the written coordinates
+     */
+    private static int setCoordinates(final double[] coordinates, final int i, final Vector3D v) {
+        coordinates[i] = v.getX();
+        coordinates[i + 1] = v.getY();
+        coordinates[i + 2] = v.getZ();
+
+        return i + 3;
+    }
+
+    /** Class used to build the hierarchy. Triangles are split recursively at the median of their
+     * centroids along the longest axis of the centroid bounding box. The node expansions are then
+     * computed bottom-up, with each interior node combining the expansions of its children.
+     */
+    private static final class Builder {
+
+        /** Triangle vertex coordinates in source order. */
+        private final double[] sourceTriangles;
+
+        /** Accuracy value. */
+        private final double accuracy;
+
+        /** Triangle centroids. */
+        private final double[] centroids;
+
+        /** Permutation of triangle indices; leaf nodes reference contiguous ranges. */
+        private final int[] order;
+
+        /** Triangle vertex coordinates in leaf order. */
+        private double[] orderedTriangles;
+
+        /** Node expansion data. */
+        private double[] nodeData;
+
+        /** Total triangle area of each node, used to weight the child centers of interior nodes. */
+        private double[] nodeAreas;
+
+        /** Node offsets. */
+        private int[] nodeOffsets;
+
+        /** Node counts. */
+        private int[] nodeCounts;
+
+        /** Number of nodes created. */
+        private int nodeCount;
+
+        /** Hierarchy height. */
+        private int height;
+
+        /** Construct a new builder.
+         * @param sourceTriangles triangle vertex coordinates in source order
+         * @param accuracy accuracy value
+         */
+        Builder(final double[] sourceTriangles, final double accuracy) {
+            this.sourceTriangles = sourceTriangles;
+            this.accuracy = accuracy;
+
+            final int n = sourceTriangles.length / TRIANGLE_STRIDE;
+            centroids = new double[n * 3];
+            order = new int[n];
+
+            for (int i = 0; i < n; ++i) {
+                final int t = i * TRIANGLE_STRIDE;
+                final int c = i * 3;
+                for (int k = 0; k < 3; ++k) {
+                    centroids[c + k] = (sourceTriangles[t + k] + sourceTriangles[t + 3 + k] +
+                            sourceTriangles[t + 6 + k]) / 3.0;
+                }
+                order[i] = i;
+            }
+        }
+
+        /** Build the classifier.
+         * @return the classifier
+         */
+        WindingNumberClassifier3D build() {
+            final int n = order.length;
+
+            // a binary tree with at least one triangle per leaf has fewer than 2n nodes
+            final int maxNodes = Math.max(1, 2 * n);
+            nodeData = new double[maxNodes * NODE_STRIDE];
+            nodeAreas = new double[maxNodes];
+            nodeOffsets = new int[maxNodes];
+            nodeCounts = new int[maxNodes];
+
+            if (n > 0) {
+                buildNode(0, n, 1);
+            }
+
+            orderedTriangles = new double[sourceTriangles.length];
+            for (int i = 0; i < n; ++i) {
+                System.arraycopy(sourceTriangles, order[i] * TRIANGLE_STRIDE,
+                        orderedTriangles, i * TRIANGLE_STRIDE, TRIANGLE_STRIDE);
+            }
+
+            nodeData = Arrays.copyOf(nodeData, nodeCount * NODE_STRIDE);
+            nodeOffsets = Arrays.copyOf(nodeOffsets, nodeCount);
+            nodeCounts = Arrays.copyOf(nodeCounts, nodeCount);
+
+            return new WindingNumberClassifier3D(this);
+        }
+
+        /** Build the node containing the triangles in the given range of the order array.
+         * @param start start of the range, inclusive
+         * @param end end of the range, exclusive
+         * @param depth depth of the node, with the root at depth 1
+         * @return the index of the node
+         */
+        private int buildNode(final int start, final int end, final int depth) {
+            final int node = nodeCount++;
+            height = Math.max(height, depth);
+
+            final int count = end - start;
+            if (count <= MAX_LEAF_SIZE) {
+                nodeOffsets[node] = start;
+                nodeCounts[node] = count;
+                computeLeafExpansion(node, start, end);
+            } else {
+                final int mid = (start + end) >>> 1;
+                select(start, end, mid, splitAxis(start, end));
+
+                final int first = buildNode(start, mid, depth + 1);
+                final int second = buildNode(mid, end, depth + 1);
+
+                nodeOffsets[node] = second;
+                nodeCounts[node] = -1;
+                computeInteriorExpansion(node, first, second);
+            }
+
+            return node;
+        }
+
+        /** Get the axis with the largest extent of the centroids of the triangles in the given range.
+         * @param start start of the range, inclusive
+         * @param end end of the range, exclusive
+         * @return the split axis
+         */
+        private int splitAxis(final int start, final int end) {
+            final double[] min = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY};
+            final double[] max = {Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+
+            for (int i = start; i < end; ++i) {
+                final int c = order[i] * 3;
+                for (int k = 0; k < 3; ++k) {
+                    min[k] = Math.min(min[k], centroids[c + k]);
+                    max[k] = Math.max(max[k], centroids[c + k]);
+                }
+            }
+
+            int axis = 0;
+            for (int k = 1; k < 3; ++k) {
+                if (max[k] - min[k] > max[axis] - min[axis]) {
+                    axis = k;
+                }
+            }
+            return axis;
+        }
+
+        /** Partially sort the given range of the order array so that the triangle with the {@code k}-th
+         * smallest centroid coordinate along the given axis is at index {@code k}, with no larger
+         * values before it and no smaller values after it.
+         * @param start start of the range, inclusive
+         * @param end end of the range, exclusive
+         * @param k target index
+         * @param axis axis to compare centroids along
+         */
+        private void select(final int start, final int end, final int k, final int axis) {
+            int lo = start;
+            int hi = end - 1;
+            while (lo < hi) {
+                final double pivot = centroid(order[(lo + hi) >>> 1], axis);
+
+                int i = lo;
+                int j = hi;
+                while (i <= j) {
+                    while (centroid(order[i], axis) < pivot) {
+                        ++i;
+                    }
+                    while (centroid(order[j], axis) > pivot) {
+                        --j;
+                    }
+                    if (i <= j) {
+                        final int tmp = order[i];
+                        order[i] = order[j];
+                        order[j] = tmp;
+                        ++i;
+                        --j;
+                    }
+                }
+
+                if (k <= j) {
+                    hi = j;
+                } else if (k >= i) {
+                    lo = i;
+                } else {
+                    return;
+                }
+            }
+        }
+
+        /** Get the centroid coordinate of the given triangle along the given axis.
+         * @param triangle triangle index
+         * @param axis axis
+         * @return the centroid coordinate of the triangle along the axis
+         */
+        private double centroid(final int triangle, final int axis) {
+            return centroids[(triangle * 3) + axis];
+        }
+
+        /** Compute the expansion of a leaf node directly from its triangles.
+         * @param node leaf node index
+         * @param start start of the triangle range, inclusive
+         * @param end end of the triangle range, exclusive
+         */
+        private void computeLeafExpansion(final int node, final int start, final int end) {
+            final int d = node * NODE_STRIDE;
+
+            // the center is the area-weighted centroid of the triangles; the centroid of the
+            // triangle centroids is used instead if the triangles have no area
+            double area = 0;
+            double cx = 0;
+            double cy = 0;
+            double cz = 0;
+            double gx = 0;
+            double gy = 0;
+            double gz = 0;
+            for (int i = start; i < end; ++i) {
+                final int t = order[i] * TRIANGLE_STRIDE;
+                final int c = order[i] * 3;
+                final double a = 0.5 * Vectors.norm(
+                        areaVectorX(t), areaVectorY(t), areaVectorZ(t));
+
+                area += a;
+                cx += a * centroids[c];
+                cy += a * centroids[c + 1];
+                cz += a * centroids[c + 2];
+
+                gx += centroids[c];
+                gy += centroids[c + 1];
+                gz += centroids[c + 2];
+            }
+
+            nodeAreas[node] = area;
+            if (area > 0) {
+                setCenter(d, cx / area, cy / area, cz / area);
+            } else {
+                final int count = end - start;
+                setCenter(d, gx / count, gy / count, gz / count);
+            }
+
+            final double px = nodeData[d];
+            final double py = nodeData[d + 1];
+            final double pz = nodeData[d + 2];
+
+            double radiusSq = 0;
+            for (int i = start; i < end; ++i) {
+                final int t = order[i] * TRIANGLE_STRIDE;
+                for (int v = t; v < t + TRIANGLE_STRIDE; v += 3) {
+                    final double vx = sourceTriangles[v] - px;
+                    final double vy = sourceTriangles[v + 1] - py;
+                    final double vz = sourceTriangles[v + 2] - pz;
+                    radiusSq = Math.max(radiusSq, (vx * vx) + (vy * vy) + (vz * vz));
+                }
+
+                // area vector (half of the cross product) and moment about the center
+                final int c = order[i] * 3;
+                final double nx = 0.5 * areaVectorX(t);
+                final double ny = 0.5 * areaVectorY(t);
+                final double nz = 0.5 * areaVectorZ(t);
+
+                addMoments(d, nx, ny, nz, centroids[c] - px, centroids[c + 1] - py, centroids[c + 2] - pz);
+            }
+
+            nodeData[d + 3] = Math.sqrt(radiusSq);
+        }
+
+        /** Compute the expansion of an interior node from the expansions of its children.
+         * @param node interior node index
+         * @param first first child index
+         * @param second second child index
+         */
+        private void computeInteriorExpansion(final int node, final int first, final int second) {
+            final int d = node * NODE_STRIDE;
+            final int d1 = first * NODE_STRIDE;
+            final int d2 = second * NODE_STRIDE;
+
+            final double a1 = nodeAreas[first];
+            final double a2 = nodeAreas[second];
+            nodeAreas[node] = a1 + a2;
+
+            final double w1 = a1 + a2 > 0 ?
+                    a1 / (a1 + a2) :
+                    0.5;
+            final double w2 = 1 - w1;
+
+            setCenter(d,
+                    (w1 * nodeData[d1]) + (w2 * nodeData[d2]),
+                    (w1 * nodeData[d1 + 1]) + (w2 * nodeData[d2 + 1]),
+                    (w1 * nodeData[d1 + 2]) + (w2 * nodeData[d2 + 2]));
+
+            double radius = 0;
+            for (final int dc : new int[] {d1, d2}) {
+                final double sx = nodeData[dc] - nodeData[d];
+                final double sy = nodeData[dc + 1] - nodeData[d + 1];
+                final double sz = nodeData[dc + 2] - nodeData[d + 2];
+
+                radius = Math.max(radius, Vectors.norm(sx, sy, sz) + nodeData[dc + 3]);
+
+                // shift the child moments to the new center
+                addMoments(d, nodeData[dc + 4], nodeData[dc + 5], nodeData[dc + 6], sx, sy, sz);
+                for (int k = 0; k < 9; ++k) {
+                    nodeData[d + 7 + k] += nodeData[dc + 7 + k];
+                }
+            }
+
+            nodeData[d + 3] = radius;
+        }
+
+        /** Set the center of the node with the given data index.
+         * @param d node data index
+         * @param x center x coordinate
+         * @param y center y coordinate
+         * @param z center z coordinate
+         */
+        private void setCenter(final int d, final double x, final double y, final double z) {
+            nodeData[d] = x;
+            nodeData[d + 1] = y;
+            nodeData[d + 2] = z;
+        }
+
+        /** Add the given area vector to the node with the given data index, along with the moment
+         * matrix {@code n * s^T} of the area vector at the given offset from the node center.
+         * @param d node data index
+         * @param nx area vector x coordinate
+         * @param ny area vector y coordinate
+         * @param nz area vector z coordinate
+         * @param sx offset x coordinate
+         * @param sy offset y coordinate
+         * @param sz offset z coordinate
+         */
+        private void addMoments(final int d, final double nx, final double ny, final double nz,
+                final double sx, final double sy, final double sz) {
+            nodeData[d + 4] += nx;
+            nodeData[d + 5] += ny;
+            nodeData[d + 6] += nz;
+
+            final int m = d + 7;
+            nodeData[m] += nx * sx;
+            nodeData[m + 1] += nx * sy;
+            nodeData[m + 2] += nx * sz;
+            nodeData[m + 3] += ny * sx;
+            nodeData[m + 4] += ny * sy;
+            nodeData[m + 5] += ny * sz;
+            nodeData[m + 6] += nz * sx;
+            nodeData[m + 7] += nz * sy;
+            nodeData[m + 8] += nz * sz;
+        }
+
+        /** Get the x coordinate of the cross product of two edges of the given triangle, ie twice the
+         * x coordinate of its area vector.
+         * @param t triangle data index
+         * @return the x coordinate of the edge cross product
+         */
+        private double areaVectorX(final int t) {
+            return (edge(t, 3, 1) * edge(t, 6, 2)) - (edge(t, 3, 2) * edge(t, 6, 1));
+        }
+
+        /** Get the y coordinate of the cross product of two edges of the given triangle, ie twice the
+         * y coordinate of its area vector.
+         * @param t triangle data index
+         * @return the y coordinate of the edge cross product
+         */
+        private double areaVectorY(final int t) {
+            return (edge(t, 3, 2) * edge(t, 6, 0)) - (edge(t, 3, 0) * edge(t, 6, 2));
+        }
+
+        /** Get the z coordinate of the cross product of two edges of the given triangle, ie twice the
+         * z coordinate of its area vector.
+         * @param t triangle data index
+         * @return the z coordinate of the edge cross product
+         */
+        private double areaVectorZ(final int t) {
+            return (edge(t, 3, 0) * edge(t, 6, 1)) - (edge(t, 3, 1) * edge(t, 6, 0));
+        }
+
+        /** Get a coordinate of the edge from the first vertex of a triangle to another of its vertices.
+         * @param t triangle data index
+         * @param vertex data offset of the other vertex in the triangle
+         * @param axis coordinate axis
+         * @return the coordinate of the edge along the axis
+         */
+        private double edge(final int t, final int vertex, final int axis) {
+            return sourceTriangles[t + vertex + axis] - sourceTriangles[t + axis];
+        }
+    }
+}
@@ -0,0 +1,586 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.threed.mesh;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.apache.commons.geometry.core.Transform;
+import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.threed.AffineTransformMatrix3D;
+import org.apache.commons.geometry.euclidean.threed.Bounds3D;
+import org.apache.commons.geometry.euclidean.threed.PlaneConvexSubset;
+import org.apache.commons.geometry.euclidean.threed.Planes;
+import org.apache.commons.geometry.euclidean.threed.Triangle3D;
+import org.apache.commons.geometry.euclidean.threed.Vector3D;
+import org.apache.commons.numbers.arrays.LinearCombination;
+
+/** {@link TriangleMesh} implementation storing vertex coordinates and face vertex indices in packed
+ * primitive buffers. Vertex coordinates are stored in a single {@link DoubleBuffer} as consecutive
+ * {@code x, y, z} triples and face vertex indices are stored in a single {@link IntBuffer} as
+ * consecutive index triples. The buffers may be backed by Java arrays or may be direct buffers
+ * allocated outside of the Java heap. Compared with {@link SimpleTriangleMesh}, which stores a
+ * {@link Vector3D} instance per vertex and an {@code int[]} array per face, this representation
+ * uses considerably less memory and keeps the mesh data contiguous.
+ *
+ * <p>Vertex and face objects are created on demand when accessed through the {@link Mesh} API.
+ * The {@link #transform(Transform) transform}, {@link #getBounds() bounds} and
+ * {@link #triangleStream() triangle stream} operations work directly on the buffers.</p>
+ *
+ * <p>As with {@link SimpleTriangleMesh}, faces are guaranteed to contain 3 valid references
+ * into the vertex list but the referenced vertices are not required to be unique or to define
+ * a triangle with non-zero size. The {@link TriangleMesh.Face#definesPolygon()} method can be used
+ * to determine if a face defines a valid triangle.</p>
+ *
+ * <p>Instances of this class are immutable, provided that the contents of buffers passed to
+ * {@link #fromBuffers(DoubleBuffer, IntBuffer, DoublePrecisionContext)} are not modified
+ * afterwards.</p>
+ */
+public final class PackedTriangleMesh implements TriangleMesh {
+
+    /** Vertex coordinates as consecutive x, y, z triples. */
+    private final DoubleBuffer coordinates;
+
+    /** Face vertex indices as consecutive index triples. */
+    private final IntBuffer faceIndices;
+
+    /** The bounds of the mesh. */
+    private final Bounds3D bounds;
+
+    /** Object used for floating point comparisons. */
+    private final DoublePrecisionContext precision;
+
+    /** Construct a new instance from the given buffers. No validation is performed on the input.
+     * @param coordinates vertex coordinate buffer
+     * @param faceIndices face vertex index buffer
+     * @param bounds mesh bounds
+     * @param precision precision context used when creating face polygons
+     */
+    private PackedTriangleMesh(final DoubleBuffer coordinates, final IntBuffer faceIndices, final Bounds3D bounds,
+            final DoublePrecisionContext precision) {
+        this.coordinates = coordinates;
+        this.faceIndices = faceIndices;
+        this.bounds = bounds;
+        this.precision = precision;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Iterable<Vector3D> vertices() {
+        return getVertices();
+    }
+
+    /** {@inheritDoc}
+     *
+     * <p>The returned list is an unmodifiable view of the vertex buffer. Vertex instances
+     * are created each time an element is accessed.</p>
+     */
+    @Override
+    public List<Vector3D> getVertices() {
+        return new VertexList();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getVertexCount() {
+        return coordinates.limit() / 3;
+    }
+
+    /** Get the vertex at the given index.
+     * @param index vertex index
+     * @return the vertex at the given index
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public Vector3D getVertex(final int index) {
+        if (index < 0 || index >= getVertexCount()) {
+            throw new IndexOutOfBoundsException("Vertex index out of bounds: " + index);
+        }
+        return vertex(index);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Iterable<TriangleMesh.Face> faces() {
+        return getFaces();
+    }
+
+    /** {@inheritDoc}
+     *
+     * <p>The returned list is an unmodifiable view of the face index buffer. Face instances
+     * are created each time an element is accessed.</p>
+     */
+    @Override
+    public List<TriangleMesh.Face> getFaces() {
+        return new FaceList();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getFaceCount() {
+        return faceIndices.limit() / 3;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public TriangleMesh.Face getFace(final int index) {
+        if (index < 0 || index >= getFaceCount()) {
+            throw new IndexOutOfBoundsException("Face index out of bounds: " + index);
+        }
+        return new PackedTriangleFace(index);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Bounds3D getBounds() {
+        return bounds;
+    }
+
+    /** Get the precision context for the mesh. This context is used during construction of
+     * face {@link Triangle3D} instances.
+     * @return the precision context for the mesh
+     */
+    public DoublePrecisionContext getPrecision() {
+        return precision;
+    }
+
+    /** Return true if the mesh data is stored in direct buffers outside of the Java heap.
+     * @return true if the mesh data is stored in direct buffers
+     * @see #toDirect()
+     */
+    public boolean isDirect() {
+        return coordinates.isDirect();
+    }
+
+    /** Get a read-only view of the vertex coordinate buffer. The buffer contains the
+     * coordinates of each vertex as consecutive {@code x, y, z} triples.
+     * @return a read-only view of the vertex coordinate buffer
+     */
+    public DoubleBuffer getCoordinateBuffer() {
+        return coordinates.duplicate();
+    }
+
+    /** Get a read-only view of the face vertex index buffer. The buffer contains the
+     * vertex indices of each face as consecutive triples.
+     * @return a read-only view of the face vertex index buffer
+     */
+    public IntBuffer getFaceIndexBuffer() {
+        return faceIndices.duplicate();
+    }
+
+    /** {@inheritDoc}
+     *
+     * <p>Triangles are created directly from the buffers without intermediate face instances.
+     * The returned stream may be used in parallel.</p>
+     */
+    @Override
+    public Stream<PlaneConvexSubset> boundaryStream() {
+        return IntStream.range(0, getFaceCount())
+                .mapToObj(this::triangle);
+    }
+
+    /** {@inheritDoc}
+     *
+     * <p>Triangles are created directly from the buffers without intermediate face instances.
+     * The returned stream may be used in parallel.</p>
+     */
+    @Override
+    public Stream<Triangle3D> triangleStream() {
+        return IntStream.range(0, getFaceCount())
+                .mapToObj(this::triangle);
+    }
+
+    /** {@inheritDoc}
+     *
+     * <p>The transformed coordinates are written to a new buffer of the same kind (heap or direct) as
+     * that of this instance. The face index buffer is shared with the returned mesh. Affine transform
+     * matrices are applied directly to the coordinate values without creating vertex instances.</p>
+     */
+    @Override
+    public PackedTriangleMesh transform(final Transform<Vector3D> transform) {
+        final int count = coordinates.limit();
+        final DoubleBuffer tCoordinates = allocate(count, isDirect());
+        final Bounds3D.Builder boundsBuilder = Bounds3D.builder();
+
+        if (transform instanceof AffineTransformMatrix3D) {
+            final double[] m = ((AffineTransformMatrix3D) transform).toArray();
+
+            double x;
+            double y;
+            double z;
+            double tx;
+            double ty;
+            double tz;
+            for (int i = 0; i < count; i += 3) {
+                x = coordinates.get(i);
+                y = coordinates.get(i + 1);
+                z = coordinates.get(i + 2);
+
+                tx = LinearCombination.value(m[0], x, m[1], y, m[2], z) + m[3];
+                ty = LinearCombination.value(m[4], x, m[5], y, m[6], z) + m[7];
+                tz = LinearCombination.value(m[8], x, m[9], y, m[10], z) + m[11];
+
+                tCoordinates.put(i, tx);
+                tCoordinates.put(i + 1, ty);
+                tCoordinates.put(i + 2, tz);
+
+                boundsBuilder.add(tx, ty, tz);
+            }
+        } else {
+            Vector3D pt;
+            for (int i = 0; i < count; i += 3) {
+                pt = transform.apply(Vector3D.of(coordinates.get(i), coordinates.get(i + 1), coordinates.get(i + 2)));
+
+                tCoordinates.put(i, pt.getX());
+                tCoordinates.put(i + 1, pt.getY());
+                tCoordinates.put(i + 2, pt.getZ());
+
+                boundsBuilder.add(pt);
+            }
+        }
+
+        final Bounds3D tBounds = boundsBuilder.hasBounds() ?
+                boundsBuilder.build() :
+                null;
+
+        return new PackedTriangleMesh(tCoordinates.asReadOnlyBuffer(), faceIndices, tBounds, precision);
+    }
+
+    /** Return this instance if the given precision context is equal to the current precision context.
+     * Otherwise, create a new mesh with the given precision context but the same vertices, faces, and
+     * bounds. The mesh buffers are shared with the returned instance.
+     * @param meshPrecision precision context to use when generating face polygons
+     * @return a mesh instance with the given precision context and the same mesh structure as the current
+     *      instance
+     */
+    @Override
+    public PackedTriangleMesh toTriangleMesh(final DoublePrecisionContext meshPrecision) {
+        if (this.precision.equals(meshPrecision)) {
+            return this;
+        }
+
+        return new PackedTriangleMesh(coordinates, faceIndices, bounds, meshPrecision);
+    }
+
+    /** Return a mesh with the same content as this instance but with data stored in direct buffers
+     * outside of the Java heap. This instance is returned if its data is already stored in direct
+     * buffers.
+     * @return a mesh with data stored in direct buffers
+     * @see #isDirect()
+     */
+    public PackedTriangleMesh toDirect() {
+        if (isDirect()) {
+            return this;
+        }
+
+        final DoubleBuffer directCoordinates = allocate(coordinates.limit(), true);
+        directCoordinates.put(coordinates.duplicate())
+            .rewind();
+
+        final IntBuffer directFaceIndices = ByteBuffer.allocateDirect(faceIndices.limit() * Integer.BYTES)
+                .order(ByteOrder.nativeOrder())
+                .asIntBuffer();
+        directFaceIndices.put(faceIndices.duplicate())
+            .rewind();
+
+        return new PackedTriangleMesh(directCoordinates.asReadOnlyBuffer(), directFaceIndices.asReadOnlyBuffer(),
+                bounds, precision);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(getClass().getSimpleName())
+            .append("[vertexCount= ")
+            .append(getVertexCount())
+            .append(", faceCount= ")
+            .append(getFaceCount())
+            .append(", bounds= ")
+            .append(getBounds())
+            .append(", direct= ")
+            .append(isDirect())
+            .append(']');
+
+        return sb.toString();
+    }
+
+    /** Create a vertex instance for the vertex at the given index. No validation is performed.
+     * @param index vertex index
+     * @return vertex instance
+     */
+    private Vector3D vertex(final int index) {
+        final int offset = 3 * index;
+        return Vector3D.of(
+                coordinates.get(offset),
+                coordinates.get(offset + 1),
+                coordinates.get(offset + 2));
+    }
+
+    /** Create the triangle for the face at the given index. No validation is performed.
+     * @param face face index
+     * @return triangle for the face
+     * @throws IllegalArgumentException if the face vertices do not define a triangle
+     */
+    private Triangle3D triangle(final int face) {
+        final int offset = 3 * face;
+        return Planes.triangleFromVertices(
+                vertex(faceIndices.get(offset)),
+                vertex(faceIndices.get(offset + 1)),
+                vertex(faceIndices.get(offset + 2)),
+                precision);
+    }
+
+    /** Construct a new mesh from the given vertex coordinates and face vertex indices. The input
+     * arrays are copied.
+     * @param coordinates vertex coordinates as consecutive {@code x, y, z} triples
+     * @param faceIndices face vertex indices as consecutive index triples
+     * @param precision precision context used for floating point comparisons
+     * @return a new mesh instance
+     * @throws IllegalArgumentException if the length of either array is not a multiple of 3 or
+     *      if any face index is not a valid index into the vertex list
+     */
+    public static PackedTriangleMesh from(final double[] coordinates, final int[] faceIndices,
+            final DoublePrecisionContext precision) {
+        return fromBuffers(
+                DoubleBuffer.wrap(coordinates.clone()),
+                IntBuffer.wrap(faceIndices.clone()),
+                precision);
+    }
+
+    /** Construct a new mesh containing the vertices and faces of the given mesh.
+     * @param mesh mesh to copy
+     * @param precision precision context used for floating point comparisons
+     * @return a new mesh instance
+     */
+    public static PackedTriangleMesh from(final TriangleMesh mesh, final DoublePrecisionContext precision) {
+        final DoubleBuffer coordinates = allocate(3 * mesh.getVertexCount(), false);
+        for (final Vector3D vertex : mesh.vertices()) {
+            coordinates.put(vertex.getX())
+                .put(vertex.getY())
+                .put(vertex.getZ());
+        }
+        coordinates.rewind();
+
+        final IntBuffer faceIndices = IntBuffer.allocate(3 * mesh.getFaceCount());
+        for (final TriangleMesh.Face face : mesh.faces()) {
+            faceIndices.put(face.getVertexIndices());
+        }
+        faceIndices.rewind();
+
+        return fromBuffers(coordinates, faceIndices, precision);
+    }
+
+    /** Construct a new mesh using the given buffers as storage. The elements between the position and
+     * the limit of each buffer are used; the buffers are not copied. This can be used to create meshes
+     * backed by direct buffers allocated outside of the Java heap, for example, with
+     * {@link ByteBuffer#allocateDirect(int)} or from a memory-mapped file. The content of the buffers
+     * must not be modified after calling this method.
+     * @param coordinates vertex coordinates as consecutive {@code x, y, z} triples
+     * @param faceIndices face vertex indices as consecutive index triples
+     * @param precision precision context used for floating point comparisons
+     * @return a new mesh instance
+     * @throws IllegalArgumentException if the number of elements in either buffer is not a multiple
+     *      of 3 or if any face index is not a valid index into the vertex list
+     */
+    public static PackedTriangleMesh fromBuffers(final DoubleBuffer coordinates, final IntBuffer faceIndices,
+            final DoublePrecisionContext precision) {
+        Objects.requireNonNull(precision, "Precision context must not be null");
+
+        final DoubleBuffer coordinateView = coordinates.slice().asReadOnlyBuffer();
+        final IntBuffer faceIndexView = faceIndices.slice().asReadOnlyBuffer();
+
+        final int coordinateCount = coordinateView.limit();
+        if (coordinateCount % 3 != 0) {
+            throw new IllegalArgumentException("Vertex coordinate count must be a multiple of 3; found " +
+                    coordinateCount);
+        }
+
+        final int faceIndexCount = faceIndexView.limit();
+        if (faceIndexCount % 3 != 0) {
+            throw new IllegalArgumentException("Face index count must be a multiple of 3; found " + faceIndexCount);
+        }
+
+        final int vertexCount = coordinateCount / 3;
+        int idx;
+        for (int i = 0; i < faceIndexCount; ++i) {
+            idx = faceIndexView.get(i);
+            if (idx < 0 || idx >= vertexCount) {
+                throw new IllegalArgumentException("Invalid vertex index: " + idx);
+            }
+        }
+
+        final Bounds3D.Builder boundsBuilder = Bounds3D.builder();
+        for (int i = 0; i < coordinateCount; i += 3) {
+            boundsBuilder.add(coordinateView.get(i), coordinateView.get(i + 1), coordinateView.get(i + 2));
+        }
+
+        final Bounds3D bounds = boundsBuilder.hasBounds() ?
+                boundsBuilder.build() :
+                null;
+
+        return new PackedTriangleMesh(coordinateView, faceIndexView, bounds, precision);
+    }
+
+    /** Allocate a new coordinate buffer.
+     * @param size number of elements in the buffer
+     * @param direct if true, a direct buffer is allocated outside of the Java heap
+     * @return a new buffer
+     */
+    private static DoubleBuffer allocate(final int size, final boolean direct) {
+        if (direct) {
+            return ByteBuffer.allocateDirect(size * Double.BYTES)
+                    .order(ByteOrder.nativeOrder())
+                    .asDoubleBuffer();
+        }
+        return DoubleBuffer.allocate(size);
+    }
+
+    /** Unmodifiable list view of the mesh vertices.
+     */
+    private final class VertexList extends AbstractList<Vector3D> implements RandomAccess {
+
+        /** {@inheritDoc} */
+        @Override
+        public Vector3D get(final int index) {
+            return getVertex(index);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int size() {
+            return getVertexCount();
+        }
+    }
+
+    /** Unmodifiable list view of the mesh faces.
+     */
+    private final class FaceList extends AbstractList<TriangleMesh.Face> implements RandomAccess {
+
+        /** {@inheritDoc} */
+        @Override
+        public TriangleMesh.Face get(final int index) {
+            return getFace(index);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int size() {
+            return getFaceCount();
+        }
+    }
+
+    /** Internal implementation of {@link TriangleMesh.Face} reading vertex indices from the face
+     * index buffer.
+     */
+    private final class PackedTriangleFace implements TriangleMesh.Face {
+
+        /** The index of the face in the mesh. */
+        private final int index;
+
+        /** Construct a new instance for the face at the given index.
+         * @param index face index
+         */
+        PackedTriangleFace(final int index) {
+            this.index = index;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int getIndex() {
+            return index;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int[] getVertexIndices() {
+            final int offset = 3 * index;
+            return new int[] {
+                faceIndices.get(offset),
+                faceIndices.get(offset + 1),
+                faceIndices.get(offset + 2)
+            };
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public List<Vector3D> getVertices() {
+            return Arrays.asList(
+                    getPoint1(),
+                    getPoint2(),
+                    getPoint3());
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Vector3D getPoint1() {
+            return vertex(faceIndices.get(3 * index));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Vector3D getPoint2() {
+            return vertex(faceIndices.get((3 * index) + 1));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Vector3D getPoint3() {
+            return vertex(faceIndices.get((3 * index) + 2));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean definesPolygon() {
+            final Vector3D p1 = getPoint1();
+            final Vector3D v1 = p1.vectorTo(getPoint2());
+            final Vector3D v2 = p1.vectorTo(getPoint3());
+
+            return !precision.eqZero(v1.cross(v2).norm());
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Triangle3D getPolygon() {
+            return triangle(index);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString() {
+            final StringBuilder sb = new StringBuilder();
+            sb.append(getClass().getSimpleName())
+                .append("[index= ")
+                .append(getIndex())
+                .append(", vertexIndices= ")
+                .append(Arrays.toString(getVertexIndices()))
+                .append(", vertices= ")
+                .append(getVertices())
+                .append(']');
+
+            return sb.toString();
+        }
+    }
+}
@@ -413,6 +413,12 @@ public final class SimpleTriangleMesh implements TriangleMesh {
         /** Map of vertices to their first occurrence in the vertex list. */
         private Map<Vector3D, Integer> vertexIndexMap;
 
+        /** Hash grid of vertices used in place of {@link #vertexIndexMap} when enabled. */
+        private VertexGrid vertexGrid;
+
+        /** If true, equivalent vertices are located using {@link #vertexGrid}. */
+        private boolean useVertexGrid = false;
+
         /** List of face vertex indices. */
         private final ArrayList<int[]> faces = new ArrayList<>();
 
@@ -448,7 +454,9 @@ public final class SimpleTriangleMesh implements TriangleMesh {
          */
         public int useVertex(final Vector3D vertex) {
             final int nextIdx = vertices.size();
-            final int actualIdx = addToVertexIndexMap(vertex, nextIdx, getVertexIndexMap());
+            final int actualIdx = useVertexGrid ?
+                    addToVertexGrid(vertex, nextIdx, getVertexGrid()) :
+                    addToVertexIndexMap(vertex, nextIdx, getVertexIndexMap());
 
             // add to the vertex list if not already present
             if (actualIdx == nextIdx) {
@@ -473,10 +481,42 @@ public final class SimpleTriangleMesh implements TriangleMesh {
                 // add to the map in order to keep it in sync
                 addToVertexIndexMap(vertex, idx, vertexIndexMap);
             }
+            if (vertexGrid != null) {
+                addToVertexGrid(vertex, idx, vertexGrid);
+            }
 
             return idx;
         }
 
+        /** Set whether or not equivalent vertices for {@link #useVertex(Vector3D)} are located using a
+         * hash grid instead of a sorted map. The grid divides space into cells with a size proportional to
+         * the larger of the {@link DoublePrecisionContext#getMaxZero() max zero} value of the precision
+         * context and the spacing of floating point values at the vertex coordinates, and stores primitive
+         * vertex indices, so that equivalent vertices are found in constant expected time. The grid also
+         * searches all cells that may contain an equivalent vertex, whereas the sorted map relies on a fuzzy
+         * ordering that is not transitive and may therefore miss equivalent vertices that are present. In both
+         * cases, the index of the first equivalent vertex found is returned.
+         *
+         * <p>The grid is disabled by default. It should be used with precision contexts that consider
+         * values equivalent when their difference is no greater than the max zero value, such as
+         * {@link org.apache.commons.geometry.core.precision.EpsilonDoublePrecisionContext}.</p>
+         * @param useGrid if true, equivalent vertices are located using a hash grid
+         * @return this instance
+         */
+        public Builder useVertexGrid(final boolean useGrid) {
+            validateCanModify();
+
+            if (useGrid != useVertexGrid) {
+                useVertexGrid = useGrid;
+
+                // the new index is populated from the vertex list when needed
+                vertexIndexMap = null;
+                vertexGrid = null;
+            }
+
+            return this;
+        }
+
         /** Add a group of vertices directly to the vertex list. No equivalent vertices are reused.
          * @param newVertices vertices to append
          * @return this instance
@@ -659,6 +699,36 @@ public final class SimpleTriangleMesh implements TriangleMesh {
             return vertexIndexMap;
         }
 
+        /** Get the vertex grid, creating and initializing it if needed.
+         * @return the vertex grid
+         */
+        private VertexGrid getVertexGrid() {
+            if (vertexGrid == null) {
+                vertexGrid = new VertexGrid(precision);
+
+                // populate the grid
+                final int size = vertices.size();
+                for (int i = 0; i < size; ++i) {
+                    addToVertexGrid(vertices.get(i), i, vertexGrid);
+                }
+            }
+            return vertexGrid;
+        }
+
+        /** Add a vertex to the given vertex grid. The vertex is inserted with index {@code targetIdx}
+         * if an equivalent vertex does not already exist. The index now associated with the given
+         * vertex or its equivalent is returned.
+         * @param vertex vertex to add
+         * @param targetIdx the index to associate with the vertex if no equivalent vertex is present
+         * @param grid vertex grid
+         * @return the index now associated with the given vertex or its equivalent
+         */
+        private int addToVertexGrid(final Vector3D vertex, final int targetIdx, final VertexGrid grid) {
+            validateCanModify();
+
+            return grid.putIfAbsent(vertex, targetIdx);
+        }
+
         /** Add a vertex to the given vertex index map. The vertex is inserted and mapped to {@code targetidx}
          *  if an equivalent vertex does not already exist. The index now associated with the given vertex
          *  or its equivalent is returned.
@@ -717,6 +787,315 @@ public final class SimpleTriangleMesh implements TriangleMesh {
         }
     }
 
+    /** Hash grid mapping vertices to indices in a vertex list. Vertex coordinates are copied into a
+     * primitive array and vertex indices are stored in per-bucket linked lists of primitive ints. Lookups
+     * search all cells overlapping the region in which equivalent vertices may lie.
+     *
+     * <p>Precision contexts consider two values equivalent if their difference is no greater than the max
+     * zero value or if they are adjacent floating point values, so the tolerance at a coordinate value
+     * {@code v} is the larger of the max zero value and {@code ulp(v)}. The grid therefore uses two kinds of
+     * cells along each axis. Values with magnitudes small enough that their ulp is less than the max zero
+     * value are divided into cells of a fixed length proportional to the max zero value. Larger values,
+     * and all values if the max zero value is zero, are divided into cells containing a fixed number of
+     * consecutive floating point values. Cell coordinates increase monotonically with the coordinate
+     * values, so the cells to search can be found from the cells of the bounds of the search region.</p>
+     */
+    private static final class VertexGrid {
+
+        /** Cell size as a multiple of the max zero value of the precision context. */
+        private static final double CELL_SIZE_FACTOR = 16;
+
+        /** Base 2 logarithm of the number of consecutive floating point values in each cell used for
+         * values with magnitudes of at least {@link #linearLimit}.
+         */
+        private static final int CELL_VALUE_BITS = 4;
+
+        /** Offset of the fixed length cell boundaries from the origin as a fraction of the cell size. This
+         * is chosen so that points on regular lattices with round spacings, such as scanned data, do not lie
+         * on cell boundaries, which would require the neighboring cells to be searched for each vertex.
+         */
+        private static final double CELL_OFFSET = 0.381966;
+
+        /** Search radius as a multiple of the tolerance at the vertex coordinates. This is larger
+         * than one in order to account for floating point errors when computing cell coordinates.
+         */
+        private static final double SEARCH_RADIUS_FACTOR = 2;
+
+        /** Initial number of hash buckets; must be a power of 2. */
+        private static final int INITIAL_BUCKET_COUNT = 16;
+
+        /** Value used to indicate the end of a bucket list. */
+        private static final int NONE = -1;
+
+        /** Precision context used to determine vertex equivalence. */
+        private final DoublePrecisionContext precision;
+
+        /** Max zero value of the precision context. */
+        private final double maxZero;
+
+        /** Length of the fixed length cells used for values with magnitudes less than {@link #linearLimit}. */
+        private final double cellSize;
+
+        /** Smallest value at which the ulp of values is at least half the max zero value; zero if the max
+         * zero value is zero and infinite if no such value exists.
+         */
+        private final double linearLimit;
+
+        /** Cell coordinate of {@link #linearLimit}. */
+        private final long upperCellStart;
+
+        /** Cell coordinate of {@code -}{@link #linearLimit}. */
+        private final long lowerCellStart;
+
+        /** Index of the first vertex in each bucket. */
+        private int[] buckets;
+
+        /** Index of the next vertex in the same bucket, indexed by vertex index. */
+        private int[] next;
+
+        /** Vertex coordinates, indexed by three times the vertex index. */
+        private double[] coordinates;
+
+        /** Number of vertices in the grid. */
+        private int size;
+
+        /** Construct a new, empty grid.
+         * @param precision precision context used to determine vertex equivalence
+         */
+        VertexGrid(final DoublePrecisionContext precision) {
+            this.precision = precision;
+
+            this.maxZero = Math.abs(precision.getMaxZero());
+            this.cellSize = CELL_SIZE_FACTOR * maxZero;
+
+            if (maxZero > 0) {
+                // the ulp of values with the exponent below is at least half the max zero value; subnormal
+                // max zero values are scaled into the normal range to obtain their exponent
+                final int exponent = maxZero >= Double.MIN_NORMAL ?
+                        Math.getExponent(maxZero) :
+                        Math.getExponent(Math.scalb(maxZero, Double.SIZE)) - Double.SIZE;
+                this.linearLimit = Math.scalb(1.0, exponent + 52);
+                if (Double.isFinite(linearLimit)) {
+                    this.upperCellStart = linearCell(linearLimit) + 1;
+                    this.lowerCellStart = linearCell(-linearLimit) - 1;
+                } else {
+                    // only infinite values use the upper and lower cells
+                    this.upperCellStart = Long.MAX_VALUE;
+                    this.lowerCellStart = Long.MIN_VALUE;
+                }
+            } else {
+                this.linearLimit = 0;
+                this.upperCellStart = 0;
+                this.lowerCellStart = -1;
+            }
+
+            this.buckets = new int[INITIAL_BUCKET_COUNT];
+            Arrays.fill(buckets, NONE);
+
+            this.next = new int[INITIAL_BUCKET_COUNT];
+            this.coordinates = new double[3 * INITIAL_BUCKET_COUNT];
+        }
+
+        /** Insert the given vertex with index {@code idx} if no equivalent vertex is present in
+         * the grid. The index of the equivalent vertex, or {@code idx} if none was found, is returned.
+         * The cell containing the vertex is searched first, followed by its neighbors. If several
+         * equivalent vertices are found in a search step, the one with the lowest index is used.
+         * @param vertex vertex to insert
+         * @param idx index of the vertex
+         * @return the index now associated with the given vertex or its equivalent
+         */
+        int putIfAbsent(final Vector3D vertex, final int idx) {
+            final double x = vertex.getX();
+            final double y = vertex.getY();
+            final double z = vertex.getZ();
+
+            final long cellX = cell(x);
+            final long cellY = cell(y);
+            final long cellZ = cell(z);
+
+            // search the cell containing the vertex first since it is the most likely to
+            // contain an equivalent vertex
+            final int result = findEquivalent(x, y, z, bucket(cellX, cellY, cellZ), NONE);
+            if (result != NONE) {
+                return result;
+            }
+
+            final int neighborResult = findEquivalentInNeighbors(x, y, z, cellX, cellY, cellZ);
+            if (neighborResult != NONE) {
+                return neighborResult;
+            }
+
+            if (size >= (buckets.length >> 1) + (buckets.length >> 2)) {
+                rehash(buckets.length << 1);
+            }
+            if (idx >= next.length) {
+                final int capacity = Math.max(idx + 1, next.length << 1);
+                next = Arrays.copyOf(next, capacity);
+                coordinates = Arrays.copyOf(coordinates, 3 * capacity);
+            }
+
+            final int offset = 3 * idx;
+            coordinates[offset] = x;
+            coordinates[offset + 1] = y;
+            coordinates[offset + 2] = z;
+
+            insert(idx, cellX, cellY, cellZ);
+
+            return idx;
+        }
+
+        /** Search the cells neighboring the given cell that overlap the region in which vertices
+         * equivalent to the given coordinates may lie.
+         * @param x vertex x coordinate
+         * @param y vertex y coordinate
+         * @param z vertex z coordinate
+         * @param cellX x coordinate of the cell containing the vertex
+         * @param cellY y coordinate of the cell containing the vertex
+         * @param cellZ z coordinate of the cell containing the vertex
+         * @return the lowest index of the equivalent vertices found, or {@link #NONE}
+         */
+        private int findEquivalentInNeighbors(final double x, final double y, final double z,
+                final long cellX, final long cellY, final long cellZ) {
+            final double rx = searchRadius(x);
+            final double ry = searchRadius(y);
+            final double rz = searchRadius(z);
+
+            final long minX = cell(x - rx);
+            final long maxX = cell(x + rx);
+            final long minY = cell(y - ry);
+            final long maxY = cell(y + ry);
+            final long minZ = cell(z - rz);
+            final long maxZ = cell(z + rz);
+
+            // loop until one past the maximum cell; this also terminates when cell coordinates are
+            // saturated at Long.MAX_VALUE for very large input values
+            int result = NONE;
+            for (long cx = minX; cx != maxX + 1; ++cx) {
+                for (long cy = minY; cy != maxY + 1; ++cy) {
+                    for (long cz = minZ; cz != maxZ + 1; ++cz) {
+                        if (cx != cellX || cy != cellY || cz != cellZ) {
+                            result = findEquivalent(x, y, z, bucket(cx, cy, cz), result);
+                        }
+                    }
+                }
+            }
+            return result;
+        }
+
+        /** Search the given bucket for a vertex equivalent to the given coordinates.
+         * @param x vertex x coordinate
+         * @param y vertex y coordinate
+         * @param z vertex z coordinate
+         * @param bucket bucket to search
+         * @param current index of the best equivalent vertex found so far, or {@link #NONE}
+         * @return the lowest index of the equivalent vertices found so far, or {@link #NONE}
+         */
+        private int findEquivalent(final double x, final double y, final double z, final int bucket,
+                final int current) {
+            int result = current;
+            for (int i = buckets[bucket]; i != NONE; i = next[i]) {
+                if (result == NONE || i < result) {
+                    final int offset = 3 * i;
+                    if (precision.eq(x, coordinates[offset]) &&
+                            precision.eq(y, coordinates[offset + 1]) &&
+                            precision.eq(z, coordinates[offset + 2])) {
+                        result = i;
+                    }
+                }
+            }
+            return result;
+        }
+
+        /** Insert a vertex index into the bucket for the given cell.
+         * @param idx vertex index
+         * @param cx cell x coordinate
+         * @param cy cell y coordinate
+         * @param cz cell z coordinate
+         */
+        private void insert(final int idx, final long cx, final long cy, final long cz) {
+            final int bucket = bucket(cx, cy, cz);
+            next[idx] = buckets[bucket];
+            buckets[bucket] = idx;
+
+            ++size;
+        }
+
+        /** Rebuild the grid with the given number of buckets.
+         * @param bucketCount the new number of buckets; must be a power of 2
+         */
+        private void rehash(final int bucketCount) {
+            final int[] oldBuckets = buckets;
+
+            buckets = new int[bucketCount];
+            Arrays.fill(buckets, NONE);
+            size = 0;
+
+            for (final int head : oldBuckets) {
+                int i = head;
+                while (i != NONE) {
+                    final int nextIdx = next[i];
+
+                    final int offset = 3 * i;
+                    insert(i, cell(coordinates[offset]), cell(coordinates[offset + 1]), cell(coordinates[offset + 2]));
+
+                    i = nextIdx;
+                }
+            }
+        }
+
+        /** Get the radius of the region around the given coordinate value that may contain equivalent
+         * values. Zero is returned for infinite and NaN values since they are only equivalent to
+         * identical values.
+         * @param value coordinate value
+         * @return the search radius for the coordinate value
+         */
+        private double searchRadius(final double value) {
+            return Double.isFinite(value) ?
+                    SEARCH_RADIUS_FACTOR * Math.max(maxZero, Math.ulp(value)) :
+                    0;
+        }
+
+        /** Get the cell coordinate containing the given value. Cell coordinates are non-decreasing
+         * functions of the value.
+         * @param value coordinate value
+         * @return cell coordinate
+         */
+        private long cell(final double value) {
+            if (value >= linearLimit) {
+                // adding zero maps -0.0 to 0.0 when the limit is zero
+                return upperCellStart +
+                        ((Double.doubleToLongBits(value + 0.0) - Double.doubleToLongBits(linearLimit)) >>
+                            CELL_VALUE_BITS);
+            } else if (value <= -linearLimit) {
+                return lowerCellStart -
+                        ((Double.doubleToLongBits(-value) - Double.doubleToLongBits(linearLimit)) >>
+                            CELL_VALUE_BITS);
+            }
+            return linearCell(value);
+        }
+
+        /** Get the fixed length cell coordinate containing the given value.
+         * @param value coordinate value
+         * @return fixed length cell coordinate
+         */
+        private long linearCell(final double value) {
+            return (long) Math.floor((value / cellSize) + CELL_OFFSET);
+        }
+
+        /** Get the hash bucket for the given cell.
+         * @param cx cell x coordinate
+         * @param cy cell y coordinate
+         * @param cz cell z coordinate
+         * @return hash bucket index
+         */
+        private int bucket(final long cx, final long cy, final long cz) {
+            long hash = (cx * 0x9E3779B97F4A7C15L) ^ (cy * 0xC2B2AE3D27D4EB4FL) ^ (cz * 0x165667B19E3779F9L);
+            hash ^= hash >>> 32;
+            hash ^= hash >>> 16;
+            return (int) hash & (buckets.length - 1);
+        }
+    }
+
     /** Comparator used to sort vectors using non-strict ("fuzzy") comparisons.
      * Vectors are considered equal if their values in all coordinate dimensions
      * are equivalent as evaluated by the precision context.
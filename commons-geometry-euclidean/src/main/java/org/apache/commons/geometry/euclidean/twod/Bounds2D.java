@@ -87,6 +87,52 @@ public final class Bounds2D extends AbstractBounds<Vector2D, Bounds2D> {
                 aMin.getY() <= bMax.getY() && aMax.getY() >= bMin.getY();
     }
 
+    /** Return true if the given line convex subset intersects this bounding box. Comparisons are
+     * performed using the precision context of the subset's line: the bounding box and the subset are
+     * both expanded by the maximum zero value of the context before the test is performed.
+     * @param subset line convex subset to test
+     * @return true if the line convex subset intersects this bounding box
+     */
+    public boolean intersects(final LineConvexSubset subset) {
+        final Line line = subset.getLine();
+        final DoublePrecisionContext linePrecision = line.getPrecision();
+        final double eps = linePrecision.getMaxZero();
+
+        final Vector2D origin = line.getOrigin();
+        final Vector2D dir = line.getDirection();
+        final Vector2D min = getMin();
+        final Vector2D max = getMax();
+
+        final double[] start = {origin.getX(), origin.getY()};
+        final double[] step = {dir.getX(), dir.getY()};
+        final double[] lower = {min.getX() - eps, min.getY() - eps};
+        final double[] upper = {max.getX() + eps, max.getY() + eps};
+
+        // slab method: clip the subset abscissa range against each pair of axis-aligned lines
+        double near = subset.getSubspaceStart() - eps;
+        double far = subset.getSubspaceEnd() + eps;
+
+        for (int i = 0; i < start.length; ++i) {
+            if (linePrecision.eqZero(step[i])) {
+                if (start[i] < lower[i] || start[i] > upper[i]) {
+                    return false;
+                }
+            } else {
+                final double a = (lower[i] - start[i]) / step[i];
+                final double b = (upper[i] - start[i]) / step[i];
+
+                near = Math.max(near, Math.min(a, b));
+                far = Math.min(far, Math.max(a, b));
+
+                if (near > far) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
     /** {@inheritDoc} */
     @Override
     public Bounds2D intersection(final Bounds2D other) {
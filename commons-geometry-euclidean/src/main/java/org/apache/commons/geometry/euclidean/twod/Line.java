@@ -23,7 +23,9 @@ import org.apache.commons.geometry.core.Transform;
 import org.apache.commons.geometry.core.partitioning.AbstractHyperplane;
 import org.apache.commons.geometry.core.partitioning.EmbeddingHyperplane;
 import org.apache.commons.geometry.core.partitioning.Hyperplane;
+import org.apache.commons.geometry.core.partitioning.HyperplaneLocation;
 import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.internal.ExactPredicates;
 import org.apache.commons.geometry.euclidean.oned.AffineTransformMatrix1D;
 import org.apache.commons.geometry.euclidean.oned.Vector1D;
 import org.apache.commons.numbers.angle.PlaneAngleRadians;
@@ -353,6 +355,38 @@ public final class Line extends AbstractHyperplane<Vector2D>
         return originOffset - direction.signedArea(point);
     }
 
+    /** {@inheritDoc}
+     *
+     * <p>If the precision context of the line {@link DoublePrecisionContext#useExactPredicates() uses exact
+     * predicates}, the point is classified using the exact value of its offset as computed from the
+     * coordinates of the point and the direction and origin offset of the line.</p>
+     */
+    @Override
+    public HyperplaneLocation classify(final Vector2D point) {
+        return locationFromSign(offsetSign(point.getX(), point.getY()));
+    }
+
+    /** Get the sign of the offset of the point with the given coordinates with respect to the line, as
+     * determined by the precision context of the line. This is the test used by {@link #classify(Vector2D)}.
+     * @param x point x coordinate
+     * @param y point y coordinate
+     * @return -1 if the point is on the minus side of the line, 1 if the point is on the plus side, and
+     *      0 if the point lies on the line
+     */
+    private int offsetSign(final double x, final double y) {
+        final DoublePrecisionContext precision = getPrecision();
+        if (precision.useExactPredicates()) {
+            // offset = originOffset - (dir.x * p.y - dir.y * p.x)
+            return ExactPredicates.linearSign(
+                    direction.getY(), x,
+                    -direction.getX(), y,
+                    originOffset, precision.getMaxZero());
+        }
+        return precision.sign(originOffset - LinearCombination.value(
+                direction.getX(), y,
+                -direction.getY(), x));
+    }
+
     /** Get the offset (oriented distance) of the given line relative to this instance.
      * Since an infinite number of distances can be calculated between points on two
      * different lines, this method returns the value closest to zero. For intersecting
@@ -407,10 +441,15 @@ public final class Line extends AbstractHyperplane<Vector2D>
     /** Check if the line contains a point.
      * @param p point to check
      * @return true if p belongs to the line
+     * @see #classify(Vector2D)
      */
     @Override
     public boolean contains(final Vector2D p) {
-        return getPrecision().eqZero(offset(p));
+        final DoublePrecisionContext precision = getPrecision();
+        if (precision.useExactPredicates()) {
+            return classify(p) == HyperplaneLocation.ON;
+        }
+        return precision.eqZero(offset(p));
     }
 
     /** Check if this instance completely contains the other line.
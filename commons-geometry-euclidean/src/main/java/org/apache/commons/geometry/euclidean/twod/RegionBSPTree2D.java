@@ -16,23 +16,38 @@
  */
 package org.apache.commons.geometry.euclidean.twod;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
+import org.apache.commons.geometry.core.RegionLocation;
 import org.apache.commons.geometry.core.partitioning.Hyperplane;
+import org.apache.commons.geometry.core.partitioning.HyperplaneConvexSubset;
 import org.apache.commons.geometry.core.partitioning.Split;
 import org.apache.commons.geometry.core.partitioning.bsp.AbstractBSPTree;
+import org.apache.commons.geometry.core.partitioning.bsp.AbstractBalancedRegionBuilder;
 import org.apache.commons.geometry.core.partitioning.bsp.AbstractPartitionedRegionBuilder;
 import org.apache.commons.geometry.core.partitioning.bsp.AbstractRegionBSPTree;
 import org.apache.commons.geometry.core.partitioning.bsp.BSPTreeVisitor;
 import org.apache.commons.geometry.core.partitioning.bsp.RegionCutBoundary;
 import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.internal.BatchArrays;
+import org.apache.commons.geometry.euclidean.internal.ExactPredicates;
+import org.apache.commons.geometry.euclidean.internal.ParallelRanges;
+import org.apache.commons.geometry.euclidean.internal.Vectors;
 import org.apache.commons.geometry.euclidean.twod.path.InteriorAngleLinePathConnector;
 import org.apache.commons.geometry.euclidean.twod.path.LinePath;
+import org.apache.commons.numbers.arrays.LinearCombination;
 
 /** Binary space partitioning (BSP) tree representing a region in two dimensional
  * Euclidean space.
@@ -40,8 +55,28 @@ import org.apache.commons.geometry.euclidean.twod.path.LinePath;
 public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, RegionBSPTree2D.RegionNode2D>
     implements BoundarySource2D {
 
+    /** Value identifying this tree type in the binary tree format. */
+    private static final int BINARY_FORMAT_TYPE = 2;
+
+    /** Flag indicating that a node cut in the binary tree format has a start point. */
+    private static final int CUT_START_FLAG = 0x1;
+
+    /** Flag indicating that a node cut in the binary tree format has an end point. */
+    private static final int CUT_END_FLAG = 0x2;
+
+    /** Maximum number of points classified by a single task in parallel batch classification. */
+    private static final int CLASSIFY_CHUNK_SIZE = 1 << 12;
+
+    /** Property used to compute the bounding boxes of node subtrees. */
+    private static final SubtreeBoundsProperty SUBTREE_BOUNDS_PROPERTY = new SubtreeBoundsProperty();
+
     /** List of line subset paths comprising the region boundary. */
-    private List<LinePath> boundaryPaths;
+    private volatile List<LinePath> boundaryPaths;
+
+    /** Flag indicating whether the bounding boxes of node subtrees are used to skip subtrees
+     * during linecast and projection operations.
+     */
+    private volatile boolean subtreeBoundsPruning;
 
     /** Create a new, empty region.
      */
@@ -69,6 +104,29 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
         return result;
     }
 
+    /** Return true if the bounding boxes of node subtrees are used to skip subtrees that cannot
+     * contribute to the result of linecast and projection operations.
+     * @return true if subtree bounding boxes are used to prune linecast and projection operations
+     * @see #setSubtreeBoundsPruning(boolean)
+     */
+    public boolean isSubtreeBoundsPruning() {
+        return subtreeBoundsPruning;
+    }
+
+    /** Set whether the bounding boxes of node subtrees, as returned by {@link RegionNode2D#getSubtreeBounds()},
+     * are used to skip subtrees that cannot contribute to the result of {@link #linecast(LineConvexSubset)},
+     * {@link #linecastFirst(LineConvexSubset)} and {@link #project(Vector2D)}. The bounding boxes are computed
+     * lazily during the first query and cached on the nodes until the tree is modified. The option is ignored
+     * while the tree is in {@link #setCompactMode(boolean) compact mode}. Query results are not affected by
+     * this setting.
+     * @param subtreeBoundsPruning if true, subtree bounding boxes will be used to prune linecast and
+     *      projection operations
+     * @see org.apache.commons.geometry.euclidean.threed.RegionBSPTree3D#setSubtreeBoundsPruning(boolean)
+     */
+    public void setSubtreeBoundsPruning(final boolean subtreeBoundsPruning) {
+        this.subtreeBoundsPruning = subtreeBoundsPruning;
+    }
+
     /** {@inheritDoc} */
     @Override
     public Iterable<LineConvexSubset> boundaries() {
@@ -78,7 +136,7 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
     /** {@inheritDoc} */
     @Override
     public Stream<LineConvexSubset> boundaryStream() {
-        return StreamSupport.stream(boundaries().spliterator(), false);
+        return createBoundaryStream(b -> (LineConvexSubset) b, false);
     }
 
     /** {@inheritDoc} */
@@ -87,6 +145,16 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
         return createBoundaryList(b -> (LineConvexSubset) b);
     }
 
+    /** Return a list containing the boundaries of the region, using the given pool to compute the
+     * boundaries of disjoint subtrees concurrently. The returned list is the same as that returned by
+     * {@link #getBoundaries()}. The tree must not be modified while this method is running.
+     * @param pool pool used to compute the boundaries
+     * @return a list of the boundaries of the region
+     */
+    public List<LineConvexSubset> getBoundaries(final ForkJoinPool pool) {
+        return createBoundaryList(b -> (LineConvexSubset) b, pool);
+    }
+
     /** Get the boundary of the region as a list of connected line subset paths.
      * The line subset are oriented such that their minus (left) side lies on the
      * interior of the region.
@@ -94,7 +162,11 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
      */
     public List<LinePath> getBoundaryPaths() {
         if (boundaryPaths == null) {
-            boundaryPaths = Collections.unmodifiableList(computeBoundaryPaths());
+            updateCache(() -> {
+                if (boundaryPaths == null) {
+                    boundaryPaths = Collections.unmodifiableList(computeBoundaryPaths());
+                }
+            });
         }
         return boundaryPaths;
     }
@@ -116,30 +188,75 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
     public List<ConvexArea> toConvex() {
         final List<ConvexArea> result = new ArrayList<>();
 
-        toConvexRecursive(getRoot(), ConvexArea.full(), result);
+        insideLeavesRecursive(getRoot(), ConvexArea.full(), (node, area) -> result.add(area));
+
+        return result;
+    }
+
+    /** Return a list of {@link ConvexArea}s representing the portion of this region that lies inside of
+     * the given bounding box. One area is returned for each inside leaf node whose region intersects
+     * the box; it contains the intersection of the box and the leaf region. The query box is split by the
+     * cut of each internal node and subtrees not reached by any part of the box are skipped, so only the
+     * leaves near the box are visited. Leaf regions that only touch the box on its boundary (as evaluated
+     * by the precision contexts of the cut hyperplanes) are not included.
+     * @param bounds bounding box to query
+     * @param precision precision context used to construct the query box
+     * @return a list of convex areas representing the portion of this region inside of the box
+     * @throws IllegalArgumentException if any dimension of the bounding box is zero as evaluated by
+     *      the given precision context
+     * @see #getInsideLeaves(Bounds2D, DoublePrecisionContext)
+     */
+    public List<ConvexArea> toConvex(final Bounds2D bounds, final DoublePrecisionContext precision) {
+        final List<ConvexArea> result = new ArrayList<>();
+
+        insideLeavesRecursive(getRoot(), bounds.toRegion(precision), (node, area) -> result.add(area));
+
+        return result;
+    }
+
+    /** Return the inside leaf nodes of the tree whose regions intersect the given bounding box. The
+     * same pruning and boundary rules are used as for {@link #toConvex(Bounds2D, DoublePrecisionContext)};
+     * the nodes are returned in the same order as the convex areas returned by that method.
+     * @param bounds bounding box to query
+     * @param precision precision context used to construct the query box
+     * @return the inside leaf nodes whose regions intersect the box
+     * @throws IllegalArgumentException if any dimension of the bounding box is zero as evaluated by
+     *      the given precision context
+     */
+    public List<RegionNode2D> getInsideLeaves(final Bounds2D bounds, final DoublePrecisionContext precision) {
+        final List<RegionNode2D> result = new ArrayList<>();
+
+        insideLeavesRecursive(getRoot(), bounds.toRegion(precision), (node, area) -> result.add(node));
 
         return result;
     }
 
     /** Recursive method to compute the convex areas of all inside leaf nodes in the subtree rooted at the given
-     * node. The computed convex areas are added to the given list.
+     * node that intersect the given area. Each such leaf node is passed to the consumer along with its
+     * area.
      * @param node root of the subtree to compute the convex areas for
-     * @param nodeArea the convex area for the current node; this will be split by the node's cut hyperplane to
+     * @param nodeArea the area for the current node; this will be split by the node's cut hyperplane to
      *      form the convex areas for any child nodes
-     * @param result list containing the results of the computation
+     * @param consumer object receiving the inside leaf nodes and their convex areas
      */
-    private void toConvexRecursive(final RegionNode2D node, final ConvexArea nodeArea, final List<ConvexArea> result) {
+    private void insideLeavesRecursive(final RegionNode2D node, final ConvexArea nodeArea,
+            final BiConsumer<RegionNode2D, ConvexArea> consumer) {
+
         if (node.isLeaf()) {
-            // base case; only add to the result list if the node is inside
+            // base case; only pass to the consumer if the node is inside
             if (node.isInside()) {
-                result.add(nodeArea);
+                consumer.accept(node, nodeArea);
             }
         } else {
-            // recurse
+            // recurse, skipping any side of the cut that the area does not reach
             final Split<ConvexArea> split = nodeArea.split(node.getCutHyperplane());
 
-            toConvexRecursive(node.getMinus(), split.getMinus(), result);
-            toConvexRecursive(node.getPlus(), split.getPlus(), result);
+            if (split.getMinus() != null) {
+                insideLeavesRecursive(node.getMinus(), split.getMinus(), consumer);
+            }
+            if (split.getPlus() != null) {
+                insideLeavesRecursive(node.getPlus(), split.getPlus(), consumer);
+            }
         }
     }
 
@@ -149,12 +266,71 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
         return split(splitter, RegionBSPTree2D.empty(), RegionBSPTree2D.empty());
     }
 
+    /** Split this region into strips by each of the given splitters in a single operation. The splitters
+     * must be parallel lines with the same orientation, each lying on the plus side of the previous one.
+     * The returned list contains {@code splitters.size() + 1} entries. The entry at index {@code i}
+     * contains the strip of the region lying on the plus side of the splitter at index {@code i - 1} and
+     * on the minus side of the splitter at index {@code i}, or null if that portion is empty. The first
+     * and last entries are only bounded by the first and last splitters, respectively.
+     *
+     * <p>This is considerably faster than splitting copies of this tree repeatedly since each
+     * split only processes the portion of the tree between the neighboring splitters.
+     * This tree is not modified.</p>
+     * @param splitters splitting lines
+     * @return list containing the portions of this region between the splitters
+     * @throws IllegalArgumentException if the splitters are not parallel lines with the same orientation
+     *      or if a splitter does not lie on the plus side of the previous one
+     */
+    public List<RegionBSPTree2D> splitAll(final List<? extends Hyperplane<Vector2D>> splitters) {
+        validateSplitters(splitters);
+        return splitAll(splitters, RegionBSPTree2D::empty);
+    }
+
+    /** Split this region by each of the given splitters in a single operation, using the given pool
+     * to split independent portions of the tree concurrently. The result is the same as that
+     * produced by {@link #splitAll(List)}. This tree must not be modified while the operation
+     * is in progress.
+     * @param splitters splitting lines
+     * @param pool pool used to execute the split tasks
+     * @return list containing the portions of this region between the splitters
+     * @throws IllegalArgumentException if the splitters are not parallel lines with the same orientation
+     *      or if a splitter does not lie on the plus side of the previous one
+     * @see #splitAll(List)
+     */
+    public List<RegionBSPTree2D> splitAll(final List<? extends Hyperplane<Vector2D>> splitters,
+            final ForkJoinPool pool) {
+        validateSplitters(splitters);
+        return splitAll(splitters, RegionBSPTree2D::empty, pool);
+    }
+
+    /** Check that the given splitters are parallel lines with the same orientation, each lying on the plus
+     * side of the previous one.
+     * @param splitters splitters to check
+     * @throws IllegalArgumentException if the splitters are not parallel lines with the same orientation
+     *      or if a splitter does not lie on the plus side of the previous one
+     */
+    private static void validateSplitters(final List<? extends Hyperplane<Vector2D>> splitters) {
+        Line prev = null;
+        int i = 0;
+        for (final Hyperplane<Vector2D> splitter : splitters) {
+            final Line cur = (Line) splitter;
+            if (prev != null && (!prev.isParallel(cur) || !prev.similarOrientation(cur) ||
+                    cur.getPrecision().gt(cur.offset(prev), 0))) {
+                throw new IllegalArgumentException("Splitters must be parallel lines with the same orientation, " +
+                        "each lying on the plus side of the previous one; invalid splitter at index " + i);
+            }
+
+            prev = cur;
+            ++i;
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public Vector2D project(final Vector2D pt) {
         // use our custom projector so that we can disambiguate points that are
         // actually equidistant from the target point
-        final BoundaryProjector2D projector = new BoundaryProjector2D(pt);
+        final BoundaryProjector2D projector = new BoundaryProjector2D(pt, useSubtreeBounds());
         accept(projector);
 
         return projector.getProjected();
@@ -170,7 +346,7 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
     /** {@inheritDoc} */
     @Override
     public List<LinecastPoint2D> linecast(final LineConvexSubset subset) {
-        final LinecastVisitor visitor = new LinecastVisitor(subset, false);
+        final LinecastVisitor visitor = new LinecastVisitor(subset, false, useSubtreeBounds());
         accept(visitor);
 
         return visitor.getResults();
@@ -179,12 +355,140 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
     /** {@inheritDoc} */
     @Override
     public LinecastPoint2D linecastFirst(final LineConvexSubset subset) {
-        final LinecastVisitor visitor = new LinecastVisitor(subset, true);
+        final LinecastVisitor visitor = new LinecastVisitor(subset, true, useSubtreeBounds());
         accept(visitor);
 
         return visitor.getFirstResult();
     }
 
+    /** Return true if subtree bounding boxes should be used to prune the current query.
+     * @return true if subtree bounding boxes should be used to prune the current query
+     */
+    private boolean useSubtreeBounds() {
+        return subtreeBoundsPruning && !isCompactMode();
+    }
+
+    /** Rebuild this tree from its current boundaries using a {@link BalancedRegionBuilder2D} with the
+     * default settings, in an attempt to obtain a structurally smaller tree representing the same region.
+     * This is useful for trees that have been the target of many boolean operations, since these tend to
+     * accumulate long chains of nodes and cuts that are not removed by {@link #condense()}. The tree is
+     * only modified if the rebuilt tree contains fewer nodes or has a smaller height.
+     * @return object describing the tree structure before and after the operation
+     * @see #optimizeInternal(AbstractBalancedRegionBuilder)
+     */
+    public OptimizationResult optimize() {
+        return optimizeInternal(balancedRegionBuilder());
+    }
+
+    /** Classify a batch of points given by their coordinate arrays with respect to the region. The
+     * location of the point at index {@code i}, ie {@code (xs[i], ys[i])}, is stored in {@code out[i]}
+     * and is the same as the value returned by {@link #classify(Vector2D)} for the point. No objects
+     * are allocated per point.
+     * @param xs point x coordinates
+     * @param ys point y coordinates
+     * @param out array receiving the point locations
+     * @throws IllegalArgumentException if the arrays do not all have the same length
+     */
+    public void classify(final double[] xs, final double[] ys, final RegionLocation[] out) {
+        BatchArrays.checkSameLength(xs.length, ys.length, out.length);
+
+        classifyRange(xs, ys, out, 0, xs.length);
+    }
+
+    /** Classify a batch of points given by their coordinate arrays with respect to the region, using tasks
+     * in the given pool to classify chunks of points in parallel. The results are the same as those of
+     * {@link #classify(double[], double[], RegionLocation[])}. The tree must not be modified while this
+     * method is running.
+     * @param xs point x coordinates
+     * @param ys point y coordinates
+     * @param out array receiving the point locations
+     * @param pool pool used to execute the classification tasks
+     * @throws IllegalArgumentException if the arrays do not all have the same length
+     */
+    public void classify(final double[] xs, final double[] ys, final RegionLocation[] out, final ForkJoinPool pool) {
+        BatchArrays.checkSameLength(xs.length, ys.length, out.length);
+
+        ParallelRanges.apply(xs.length, CLASSIFY_CHUNK_SIZE, pool,
+            (start, end) -> classifyRange(xs, ys, out, start, end));
+    }
+
+    /** Classify the points in the given index range.
+     * @param xs point x coordinates
+     * @param ys point y coordinates
+     * @param out array receiving the point locations
+     * @param start first index to classify, inclusive
+     * @param end last index to classify, exclusive
+     */
+    private void classifyRange(final double[] xs, final double[] ys, final RegionLocation[] out,
+            final int start, final int end) {
+        // stack reused by all points in the range
+        final Deque<RegionNode2D> pending = new ArrayDeque<>();
+
+        for (int i = start; i < end; ++i) {
+            out[i] = classify(xs[i], ys[i], pending);
+        }
+    }
+
+    /** Classify the point with the given coordinates with respect to the region. The node cut offsets
+     * are computed directly from the coordinates with the same formula as {@link Line#classify(Vector2D)},
+     * using exact predicates only if the cut precision context requires them.
+     * @param x point x coordinate
+     * @param y point y coordinate
+     * @param pending empty stack used to hold subtrees that are waiting to be classified because the
+     *      point lies on the cut of their parent; the stack is empty when this method returns
+     * @return the location of the point with respect to the region
+     */
+    private RegionLocation classify(final double x, final double y, final Deque<RegionNode2D> pending) {
+        if (Double.isNaN(x) || Double.isNaN(y)) {
+            return RegionLocation.OUTSIDE;
+        }
+
+        RegionLocation result = null;
+
+        RegionNode2D node = getRoot();
+        while (node != null) {
+            if (node.isLeaf()) {
+                final RegionLocation loc = node.getLocation();
+                if (result == null) {
+                    result = loc;
+                } else if (result != loc) {
+                    pending.clear();
+                    return RegionLocation.BOUNDARY;
+                }
+
+                node = pending.poll();
+            } else {
+                final Line line = (Line) node.getCutHyperplane();
+                final Vector2D dir = line.getDirection();
+                final DoublePrecisionContext precision = line.getPrecision();
+
+                final int cmp;
+                if (precision.useExactPredicates()) {
+                    cmp = ExactPredicates.linearSign(
+                            dir.getY(), x,
+                            -dir.getX(), y,
+                            line.getOriginOffset(), precision.getMaxZero());
+                } else {
+                    cmp = precision.sign(line.getOriginOffset() - LinearCombination.value(
+                            dir.getX(), y,
+                            -dir.getY(), x));
+                }
+
+                if (cmp < 0) {
+                    node = node.getMinus();
+                } else if (cmp > 0) {
+                    node = node.getPlus();
+                } else {
+                    // the point is on the cut; classify against both child subtrees
+                    pending.push(node.getPlus());
+                    node = node.getMinus();
+                }
+            }
+        }
+
+        return result;
+    }
+
     /** Compute the line subset paths comprising the region boundary.
      * @return the line subset paths comprising the region boundary
      */
@@ -196,6 +500,18 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
                 .map(LinePath::simplify).collect(Collectors.toList());
     }
 
+    /** Write this tree to the given output in a compact binary format. Each node cut is stored as its line
+     * followed by the start and end points of the finite sides of the cut. The tree can be read back with
+     * {@link #read(DataInput, DoublePrecisionContext)} or, if the output is written to a file that is later
+     * memory-mapped, with {@link #read(ByteBuffer, DoublePrecisionContext)}. Precision contexts are not
+     * written.
+     * @param out output to write to
+     * @throws java.io.UncheckedIOException if an I/O error occurs
+     */
+    public void write(final DataOutput out) {
+        writeInternal(out, BINARY_FORMAT_TYPE, RegionBSPTree2D::writeCut);
+    }
+
     /** {@inheritDoc} */
     @Override
     protected RegionSizeProperties<Vector2D> computeRegionSizeProperties() {
@@ -206,38 +522,11 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
             return new RegionSizeProperties<>(0, null);
         }
 
-        // compute the size based on the boundary line subsets
-        double quadrilateralAreaSum = 0.0;
-
-        double scaledSumX = 0.0;
-        double scaledSumY = 0.0;
-
-        Vector2D startPoint;
-        Vector2D endPoint;
-        double signedArea;
-
-        for (final LineConvexSubset boundary : boundaries()) {
-
-            if (boundary.isInfinite()) {
-                // at least on boundary is infinite, meaning that
-                // the size is also infinite
-                quadrilateralAreaSum = Double.POSITIVE_INFINITY;
-
-                break;
-            }
-
-            startPoint = boundary.getStartPoint();
-            endPoint = boundary.getEndPoint();
-
-            // compute the area
-            signedArea = startPoint.signedArea(endPoint);
+        // compute the size based on the boundary line subsets; the sums are cached per
+        // subtree so that only modified subtrees are recomputed
+        final RegionSizeSums sums = getSubtreeProperty(getRoot(), new RegionSizeSumsProperty());
 
-            quadrilateralAreaSum += signedArea;
-
-            // compute scaled coordinate values for the centroid
-            scaledSumX += signedArea * (startPoint.getX() + endPoint.getX());
-            scaledSumY += signedArea * (startPoint.getY() + endPoint.getY());
-        }
+        final double quadrilateralAreaSum = sums.quadrilateralAreaSum;
 
         double size = Double.POSITIVE_INFINITY;
         Vector2D centroid = null;
@@ -249,7 +538,7 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
             size = 0.5 * quadrilateralAreaSum;
 
             if (quadrilateralAreaSum > 0.0) {
-                centroid = Vector2D.of(scaledSumX, scaledSumY).multiply(1.0 / (3.0 * quadrilateralAreaSum));
+                centroid = Vector2D.of(sums.scaledSumX, sums.scaledSumY).multiply(1.0 / (3.0 * quadrilateralAreaSum));
             }
         }
 
@@ -316,9 +605,125 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
         return new PartitionedRegionBuilder2D();
     }
 
+    /** Create a new {@link BalancedRegionBuilder2D} instance which can be used to build BSP trees
+     * from region boundaries by choosing node cuts with a cost model instead of using the boundary
+     * insertion order.
+     * @return a new {@link BalancedRegionBuilder2D} instance
+     */
+    public static BalancedRegionBuilder2D balancedRegionBuilder() {
+        return new BalancedRegionBuilder2D();
+    }
+
+    /** Read a tree written by {@link #write(DataOutput)} from the given input. The node cuts are
+     * created directly from the stored data, so no hyperplanes are inserted or split.
+     * @param in input to read from
+     * @param precision precision context used for all hyperplanes in the tree
+     * @return the tree read from the input
+     * @throws IllegalArgumentException if the input does not contain a RegionBSPTree2D in the expected format
+     * @throws java.io.UncheckedIOException if an I/O error occurs
+     */
+    public static RegionBSPTree2D read(final DataInput in, final DoublePrecisionContext precision) {
+        final RegionBSPTree2D tree = empty();
+        tree.readInternal(in, BINARY_FORMAT_TYPE, input -> readCut(input, precision));
+
+        return tree;
+    }
+
+    /** Read a tree written by {@link #write(DataOutput)} from the given buffer, which may be a
+     * memory-mapped file. The data is read starting at the current position of the buffer and the
+     * position is advanced to the end of the tree data.
+     * @param buffer buffer to read from
+     * @param precision precision context used for all hyperplanes in the tree
+     * @return the tree read from the buffer
+     * @throws IllegalArgumentException if the buffer does not contain a RegionBSPTree2D in the expected format
+     * @throws java.io.UncheckedIOException if the end of the buffer is reached before the end of the tree data
+     * @see #read(DataInput, DoublePrecisionContext)
+     */
+    public static RegionBSPTree2D read(final ByteBuffer buffer, final DoublePrecisionContext precision) {
+        final RegionBSPTree2D tree = empty();
+        tree.readInternal(buffer, BINARY_FORMAT_TYPE, input -> readCut(input, precision));
+
+        return tree;
+    }
+
+    /** Write a node cut in the binary tree format.
+     * @param cut node cut to write
+     * @param out output to write to
+     * @throws IOException if an I/O error occurs
+     */
+    private static void writeCut(final HyperplaneConvexSubset<Vector2D> cut, final DataOutput out)
+            throws IOException {
+        final LineConvexSubset subset = (LineConvexSubset) cut;
+        final Line line = subset.getLine();
+        final Vector2D start = subset.getStartPoint();
+        final Vector2D end = subset.getEndPoint();
+
+        final Vector2D.Unit dir = line.getDirection();
+        out.writeDouble(dir.getX());
+        out.writeDouble(dir.getY());
+        out.writeDouble(line.getOriginOffset());
+
+        out.writeByte((start != null ? CUT_START_FLAG : 0) | (end != null ? CUT_END_FLAG : 0));
+        if (start != null) {
+            out.writeDouble(start.getX());
+            out.writeDouble(start.getY());
+        }
+        if (end != null) {
+            out.writeDouble(end.getX());
+            out.writeDouble(end.getY());
+        }
+    }
+
+    /** Read a node cut in the binary tree format.
+     * @param in input to read from
+     * @param precision precision context for the cut hyperplane
+     * @return the node cut
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if the input contains an invalid value
+     */
+    private static HyperplaneConvexSubset<Vector2D> readCut(final DataInput in,
+            final DoublePrecisionContext precision) throws IOException {
+        final double dirX = in.readDouble();
+        final double dirY = in.readDouble();
+        final double originOffset = in.readDouble();
+
+        final Line line = new Line(Vector2D.Unit.from(dirX, dirY), originOffset, precision);
+
+        final int flags = in.readUnsignedByte();
+        final Vector2D start = (flags & CUT_START_FLAG) != 0 ?
+                Vector2D.of(in.readDouble(), in.readDouble()) :
+                null;
+        final Vector2D end = (flags & CUT_END_FLAG) != 0 ?
+                Vector2D.of(in.readDouble(), in.readDouble()) :
+                null;
+
+        switch (flags) {
+        case 0:
+            return Lines.span(line);
+        case CUT_START_FLAG:
+            return new Ray(line, start);
+        case CUT_END_FLAG:
+            return new ReverseRay(line, end);
+        case CUT_START_FLAG | CUT_END_FLAG:
+            return new Segment(line, start, end);
+        default:
+            throw new IllegalArgumentException("Invalid line subset flags in input: " + flags);
+        }
+    }
+
     /** BSP tree node for two dimensional Euclidean space.
      */
     public static final class RegionNode2D extends AbstractRegionBSPTree.AbstractRegionNode<Vector2D, RegionNode2D> {
+        /** Area and centroid sums for the boundaries in the subtree rooted at this node. This
+         * is calculated lazily.
+         */
+        private volatile RegionSizeSums subtreeSizeSums;
+
+        /** Bounding box of the cut boundaries in the subtree rooted at this node. This is
+         * calculated lazily.
+         */
+        private volatile SubtreeBounds subtreeBounds;
+
         /** Simple constructor.
          * @param tree the owning tree instance
          */
@@ -348,11 +753,40 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
             return area;
         }
 
+        /** Get a bounding box containing the cut boundaries of all nodes in the subtree rooted at this
+         * node. The box is expanded by the maximum zero value of the precision context of each cut
+         * hyperplane so that points considered to lie on a cut boundary are also contained in it. The
+         * value is computed lazily and cached until the subtree is modified. Null is returned if the
+         * subtree does not contain any cut boundaries or if any of its cut boundaries are infinite.
+         * @return bounding box of the cut boundaries in the subtree or null if the subtree has no cut
+         *      boundaries or has infinite cut boundaries
+         * @see RegionBSPTree2D#setSubtreeBoundsPruning(boolean)
+         */
+        public Bounds2D getSubtreeBounds() {
+            return getSubtreeBoundsValue().getBounds();
+        }
+
+        /** Get the subtree bounds value for this node, computing it if needed.
+         * @return the subtree bounds value for this node
+         */
+        private SubtreeBounds getSubtreeBoundsValue() {
+            return ((RegionBSPTree2D) getTree()).getSubtreeProperty(this, SUBTREE_BOUNDS_PROPERTY);
+        }
+
         /** {@inheritDoc} */
         @Override
         protected RegionNode2D getSelf() {
             return this;
         }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void subtreeInvalidated() {
+            super.subtreeInvalidated();
+
+            subtreeSizeSums = null;
+            subtreeBounds = null;
+        }
     }
 
     /** Class used to build regions in Euclidean 2D space by inserting boundaries into a BSP
@@ -517,16 +951,242 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
         public RegionBSPTree2D build() {
             return (RegionBSPTree2D) buildInternal();
         }
+
+        /** Build and return the region BSP tree, using the given pool to insert the boundaries
+         * falling into different partitions concurrently. Boundaries lying directly on a partition
+         * are inserted after all other boundaries. For valid input, i.e. boundaries defining the
+         * entire surface of the region, the returned tree represents the same region as the tree
+         * returned by {@link #build()}.
+         * @param pool pool used to execute the insertion tasks
+         * @return the region BSP tree
+         */
+        public RegionBSPTree2D build(final ForkJoinPool pool) {
+            return (RegionBSPTree2D) buildInternal(pool);
+        }
+    }
+
+    /** Class used to build regions in Euclidean 2D space from boundaries by choosing the cut of each
+     * tree node with a cost model that weighs the number of boundary fragments created by splitting
+     * against the balance of the tree. Boundaries are collected by the builder and the tree is constructed
+     * when {@link BalancedRegionBuilder2D#build() build} is called, making the result independent
+     * of the order of boundaries with poor locality (such as those read from a scanned mesh). Trees constructed
+     * by this class typically have a lower height and contain fewer nodes than trees constructed by inserting
+     * the same boundaries directly. However, no improvement is possible for convex regions, where every
+     * boundary lies on the minus side of all others; use {@link PartitionedRegionBuilder2D} in that case.
+     * @see AbstractBalancedRegionBuilder
+     */
+    public static final class BalancedRegionBuilder2D
+        extends AbstractBalancedRegionBuilder<Vector2D, RegionNode2D> {
+
+        /** Construct a new builder instance.
+         */
+        private BalancedRegionBuilder2D() {
+            super(RegionBSPTree2D.empty());
+        }
+
+        /** Set the number of candidate boundaries evaluated when choosing the cut of each node.
+         * Higher values produce better trees at the expense of build time. The default value is
+         * {@value AbstractBalancedRegionBuilder#DEFAULT_CANDIDATE_COUNT}.
+         * @param count number of candidate boundaries evaluated for each node
+         * @return this instance
+         * @throws IllegalArgumentException if {@code count} is less than 1
+         */
+        public BalancedRegionBuilder2D candidateCount(final int count) {
+            setCandidateCountInternal(count);
+
+            return this;
+        }
+
+        /** Set the weight applied to the number of split boundaries when computing the cost of a candidate
+         * node cut. Higher values favor trees with fewer boundary fragments while lower values favor balanced
+         * trees. The default value is {@value AbstractBalancedRegionBuilder#DEFAULT_SPLIT_WEIGHT}.
+         * @param weight weight applied to the split count
+         * @return this instance
+         * @throws IllegalArgumentException if {@code weight} is negative or not finite
+         */
+        public BalancedRegionBuilder2D splitWeight(final double weight) {
+            setSplitWeightInternal(weight);
+
+            return this;
+        }
+
+        /** Insert a region boundary.
+         * @param boundary region boundary to insert
+         * @return this instance
+         */
+        public BalancedRegionBuilder2D insertBoundary(final LineConvexSubset boundary) {
+            insertBoundaryInternal(boundary);
+
+            return this;
+        }
+
+        /** Insert a collection of region boundaries.
+         * @param boundaries boundaries to insert
+         * @return this instance
+         */
+        public BalancedRegionBuilder2D insertBoundaries(final Iterable<? extends LineConvexSubset> boundaries) {
+            for (final LineConvexSubset boundary : boundaries) {
+                insertBoundaryInternal(boundary);
+            }
+
+            return this;
+        }
+
+        /** Insert all boundaries from the given source.
+         * @param boundarySrc source of boundaries to insert
+         * @return this instance
+         */
+        public BalancedRegionBuilder2D insertBoundaries(final BoundarySource2D boundarySrc) {
+            try (Stream<LineConvexSubset> stream = boundarySrc.boundaryStream()) {
+                stream.forEach(this::insertBoundaryInternal);
+            }
+
+            return this;
+        }
+
+        /** Build and return the region BSP tree.
+         * @return the region BSP tree
+         */
+        public RegionBSPTree2D build() {
+            return (RegionBSPTree2D) buildInternal();
+        }
+    }
+
+    /** Class containing the sums used to compute the area and centroid of 2D BSP tree instances. The
+     * area is computed by summing the signed areas of the quadrilaterals formed by the origin and the
+     * start and end points of each boundary. Since these are sums over the region boundaries, the sums
+     * can be computed separately for each subtree and then combined.
+     */
+    private static final class RegionSizeSums {
+
+        /** Instance containing all zero sums. */
+        private static final RegionSizeSums ZERO = new RegionSizeSums();
+
+        /** Sum of the signed quadrilateral areas of the boundaries. */
+        private double quadrilateralAreaSum;
+
+        /** Scaled centroid x coordinate accumulator. */
+        private double scaledSumX;
+
+        /** Scaled centroid y coordinate accumulator. */
+        private double scaledSumY;
+
+        /** Add the sums from the given instance to this instance.
+         * @param other instance to add
+         */
+        void add(final RegionSizeSums other) {
+            quadrilateralAreaSum += other.quadrilateralAreaSum;
+
+            scaledSumX += other.scaledSumX;
+            scaledSumY += other.scaledSumY;
+        }
+
+        /** Add the contribution of the given node cut boundary. If {@code reverse} is true,
+         * the boundary is reversed before its contribution is added to the total.
+         * @param boundary node cut boundary
+         * @param reverse if true, the boundary is reversed before its contribution is added
+         *      to the total
+         */
+        void addBoundaryContribution(final HyperplaneConvexSubset<Vector2D> boundary, final boolean reverse) {
+            final LineConvexSubset lineSubset = (LineConvexSubset) boundary;
+
+            if (lineSubset.isInfinite()) {
+                // at least on boundary is infinite, meaning that
+                // the size is also infinite
+                quadrilateralAreaSum = Double.POSITIVE_INFINITY;
+            } else {
+                final Vector2D startPoint = reverse ? lineSubset.getEndPoint() : lineSubset.getStartPoint();
+                final Vector2D endPoint = reverse ? lineSubset.getStartPoint() : lineSubset.getEndPoint();
+
+                // compute the area
+                final double signedArea = startPoint.signedArea(endPoint);
+
+                quadrilateralAreaSum += signedArea;
+
+                // compute scaled coordinate values for the centroid
+                scaledSumX += signedArea * (startPoint.getX() + endPoint.getX());
+                scaledSumY += signedArea * (startPoint.getY() + endPoint.getY());
+            }
+        }
+    }
+
+    /** Subtree property used to compute and store {@link RegionSizeSums} instances on region nodes.
+     */
+    private static final class RegionSizeSumsProperty implements SubtreeProperty<RegionNode2D, RegionSizeSums> {
+
+        /** {@inheritDoc} */
+        @Override
+        public RegionSizeSums getStoredValue(final RegionNode2D node) {
+            return node.subtreeSizeSums;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void storeValue(final RegionNode2D node, final RegionSizeSums value) {
+            node.subtreeSizeSums = value;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RegionSizeSums computeValue(final RegionNode2D node, final RegionSizeSums minusValue,
+                final RegionSizeSums plusValue) {
+            if (node.isLeaf()) {
+                return RegionSizeSums.ZERO;
+            }
+
+            final RegionSizeSums sums = new RegionSizeSums();
+
+            final RegionCutBoundary<Vector2D> boundary = node.getCutBoundary();
+
+            for (final HyperplaneConvexSubset<Vector2D> outsideFacing : boundary.getOutsideFacing()) {
+                sums.addBoundaryContribution(outsideFacing, false);
+            }
+
+            for (final HyperplaneConvexSubset<Vector2D> insideFacing : boundary.getInsideFacing()) {
+                sums.addBoundaryContribution(insideFacing, true);
+            }
+
+            sums.add(minusValue);
+            sums.add(plusValue);
+
+            return sums;
+        }
     }
 
     /** Class used to project points onto the 2D region boundary.
      */
     private static final class BoundaryProjector2D extends BoundaryProjector<Vector2D, RegionNode2D> {
+        /** If true, subtrees whose bounding boxes are farther from the target point than the
+         * current projected point are not visited.
+         */
+        private final boolean pruneSubtrees;
+
         /** Simple constructor.
          * @param point the point to project onto the region's boundary
+         * @param pruneSubtrees if true, subtree bounding boxes will be used to skip subtrees that
+         *      cannot contain the projected point
          */
-        BoundaryProjector2D(final Vector2D point) {
+        BoundaryProjector2D(final Vector2D point, final boolean pruneSubtrees) {
             super(point);
+
+            this.pruneSubtrees = pruneSubtrees;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Order visitOrder(final RegionNode2D internalNode) {
+            if (pruneSubtrees) {
+                final SubtreeBounds bounds = internalNode.getSubtreeBoundsValue();
+                final Vector2D target = getTarget();
+                final Vector2D projected = getProjected();
+
+                if (bounds == SubtreeBounds.EMPTY ||
+                        (projected != null && bounds.distance(target) > projected.distance(target))) {
+                    return Order.NONE;
+                }
+            }
+
+            return super.visitOrder(internalNode);
         }
 
         /** {@inheritDoc} */
@@ -538,6 +1198,143 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
         }
     }
 
+    /** Class containing the bounding box of the cut boundaries in a node subtree.
+     */
+    private static final class SubtreeBounds {
+        /** Value for subtrees that do not contain any cut boundaries. */
+        static final SubtreeBounds EMPTY = new SubtreeBounds(null);
+
+        /** Value for subtrees containing infinite cut boundaries. */
+        static final SubtreeBounds INFINITE = new SubtreeBounds(null);
+
+        /** The bounding box of the subtree cut boundaries; null for {@link #EMPTY} and {@link #INFINITE}. */
+        private final Bounds2D bounds;
+
+        /** Simple constructor.
+         * @param bounds bounding box of the subtree cut boundaries
+         */
+        SubtreeBounds(final Bounds2D bounds) {
+            this.bounds = bounds;
+        }
+
+        /** Get the bounding box of the subtree cut boundaries or null if the subtree has no cut
+         * boundaries or has infinite cut boundaries.
+         * @return the bounding box of the subtree cut boundaries
+         */
+        Bounds2D getBounds() {
+            return bounds;
+        }
+
+        /** Return true if the given line subset may intersect a cut boundary in the subtree.
+         * @param subset line subset to test
+         * @return true if the line subset may intersect a cut boundary in the subtree
+         */
+        boolean intersects(final LineConvexSubset subset) {
+            return this == INFINITE ||
+                    (bounds != null && bounds.intersects(subset));
+        }
+
+        /** Return a lower bound on the distance between the given point and the cut boundaries in
+         * the subtree.
+         * @param pt point to compute the distance for
+         * @return a lower bound on the distance between the point and the subtree cut boundaries
+         */
+        double distance(final Vector2D pt) {
+            if (bounds == null) {
+                return this == INFINITE ? 0.0 : Double.POSITIVE_INFINITY;
+            }
+
+            final Vector2D min = bounds.getMin();
+            final Vector2D max = bounds.getMax();
+
+            final double dx = Math.max(0.0, Math.max(min.getX() - pt.getX(), pt.getX() - max.getX()));
+            final double dy = Math.max(0.0, Math.max(min.getY() - pt.getY(), pt.getY() - max.getY()));
+
+            return Vectors.norm(dx, dy);
+        }
+    }
+
+    /** Subtree property used to compute and store {@link SubtreeBounds} instances on region nodes.
+     */
+    private static final class SubtreeBoundsProperty implements SubtreeProperty<RegionNode2D, SubtreeBounds> {
+
+        /** {@inheritDoc} */
+        @Override
+        public SubtreeBounds getStoredValue(final RegionNode2D node) {
+            return node.subtreeBounds;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void storeValue(final RegionNode2D node, final SubtreeBounds value) {
+            node.subtreeBounds = value;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public SubtreeBounds computeValue(final RegionNode2D node, final SubtreeBounds minusValue,
+                final SubtreeBounds plusValue) {
+            if (node.isLeaf()) {
+                return SubtreeBounds.EMPTY;
+            } else if (minusValue == SubtreeBounds.INFINITE || plusValue == SubtreeBounds.INFINITE) {
+                return SubtreeBounds.INFINITE;
+            }
+
+            final Bounds2D.Builder cutBuilder = Bounds2D.builder();
+
+            final RegionCutBoundary<Vector2D> boundary = node.getCutBoundary();
+            if (!addEndpoints(boundary.getOutsideFacing(), cutBuilder) ||
+                    !addEndpoints(boundary.getInsideFacing(), cutBuilder)) {
+                return SubtreeBounds.INFINITE;
+            }
+
+            final Bounds2D.Builder builder = Bounds2D.builder();
+
+            if (cutBuilder.hasBounds()) {
+                // expand the cut bounds by the precision of the cut so that points considered
+                // to lie on the boundary are also contained
+                final double eps = ((Line) node.getCutHyperplane()).getPrecision().getMaxZero();
+                final Bounds2D cutBounds = cutBuilder.build();
+                final Vector2D min = cutBounds.getMin();
+                final Vector2D max = cutBounds.getMax();
+
+                builder.add(Vector2D.of(min.getX() - eps, min.getY() - eps))
+                    .add(Vector2D.of(max.getX() + eps, max.getY() + eps));
+            }
+            if (minusValue.getBounds() != null) {
+                builder.add(minusValue.getBounds());
+            }
+            if (plusValue.getBounds() != null) {
+                builder.add(plusValue.getBounds());
+            }
+
+            return builder.hasBounds() ?
+                    new SubtreeBounds(builder.build()) :
+                    SubtreeBounds.EMPTY;
+        }
+
+        /** Add the end points of the given boundaries to {@code builder}, returning false if any
+         * of the boundaries are infinite.
+         * @param boundaries the boundaries to add
+         * @param builder the bounds builder
+         * @return false if any of the boundaries are infinite
+         */
+        private static boolean addEndpoints(final List<HyperplaneConvexSubset<Vector2D>> boundaries,
+                final Bounds2D.Builder builder) {
+            for (final HyperplaneConvexSubset<Vector2D> boundary : boundaries) {
+                if (!boundary.isFinite()) {
+                    return false;
+                }
+
+                final LineConvexSubset subset = (LineConvexSubset) boundary;
+                builder.add(subset.getStartPoint())
+                    .add(subset.getEndPoint());
+            }
+
+            return true;
+        }
+    }
+
     /** BSP tree visitor that performs a linecast operation against the boundaries of the visited tree.
      */
     private static final class LinecastVisitor implements BSPTreeVisitor<Vector2D, RegionNode2D> {
@@ -550,6 +1347,9 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
          */
         private final boolean firstOnly;
 
+        /** If true, subtrees whose bounding boxes do not intersect the linecast subset are not visited. */
+        private final boolean pruneSubtrees;
+
         /** The minimum abscissa found during the search. */
         private double minAbscissa = Double.POSITIVE_INFINITY;
 
@@ -560,10 +1360,14 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
          * @param linecastSubset line subset to intersect with the BSP tree region boundary
          * @param firstOnly if true, the visitor will stop visiting the tree once the first
          *      linecast point is determined
+         * @param pruneSubtrees if true, subtree bounding boxes will be used to skip subtrees that
+         *      cannot intersect the linecast subset
          */
-        LinecastVisitor(final LineConvexSubset linecastSubset, final boolean firstOnly) {
+        LinecastVisitor(final LineConvexSubset linecastSubset, final boolean firstOnly,
+                final boolean pruneSubtrees) {
             this.linecastSubset = linecastSubset;
             this.firstOnly = firstOnly;
+            this.pruneSubtrees = pruneSubtrees;
         }
 
         /** Get the first {@link LinecastPoint2D} resulting from the linecast operation.
@@ -590,6 +1394,10 @@ public final class RegionBSPTree2D extends AbstractRegionBSPTree<Vector2D, Regio
         /** {@inheritDoc} */
         @Override
         public Order visitOrder(final RegionNode2D internalNode) {
+            if (pruneSubtrees && !internalNode.getSubtreeBoundsValue().intersects(linecastSubset)) {
+                return Order.NONE;
+            }
+
             final Line cut = (Line) internalNode.getCutHyperplane();
             final Line line = linecastSubset.getLine();
 
@@ -16,6 +16,7 @@
  */
 package org.apache.commons.geometry.euclidean;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.commons.geometry.core.Region;
@@ -23,8 +24,14 @@ import org.apache.commons.geometry.core.RegionLocation;
 import org.apache.commons.geometry.core.partitioning.HyperplaneSubset;
 import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
 import org.apache.commons.geometry.euclidean.oned.Vector1D;
+import org.apache.commons.geometry.euclidean.threed.Plane;
+import org.apache.commons.geometry.euclidean.threed.Planes;
+import org.apache.commons.geometry.euclidean.threed.RegionBSPTree3D;
+import org.apache.commons.geometry.euclidean.threed.RegionBSPTree3D.RegionNode3D;
 import org.apache.commons.geometry.euclidean.threed.Vector3D;
+import org.apache.commons.geometry.euclidean.threed.shape.Parallelepiped;
 import org.apache.commons.geometry.euclidean.twod.Vector2D;
+import org.apache.commons.numbers.angle.PlaneAngleRadians;
 import org.junit.Assert;
 
 /**
@@ -308,4 +315,82 @@ public final class EuclideanTestUtils {
             Assert.assertEquals("Unexpected region location for point " + pt, loc, sub.classify(pt));
         }
     }
+
+    /** Create a tree representing an axis-aligned box with the given opposite corners.
+     * @param a first corner
+     * @param b second corner
+     * @param precision precision context for the box planes
+     * @return a tree representing the box
+     */
+    public static RegionBSPTree3D createRect(final Vector3D a, final Vector3D b,
+            final DoublePrecisionContext precision) {
+        return Parallelepiped.axisAligned(a, b, precision).toTree();
+    }
+
+    /** Create a tree approximating a sphere by cutting the full space with the top and bottom planes
+     * and the side planes of the given number of stacks and slices. Each plane is inserted on the minus
+     * side of the previous one.
+     * @param center sphere center
+     * @param radius sphere radius
+     * @param stacks number of stacks
+     * @param slices number of slices
+     * @param precision precision context for the planes
+     * @return a tree approximating the sphere
+     */
+    public static RegionBSPTree3D createSphere(final Vector3D center, final double radius, final int stacks,
+            final int slices, final DoublePrecisionContext precision) {
+        final List<Plane> planes = new ArrayList<>();
+
+        // add top and bottom planes (+/- z)
+        final Vector3D topZ = Vector3D.of(center.getX(), center.getY(), center.getZ() + radius);
+        final Vector3D bottomZ = Vector3D.of(center.getX(), center.getY(), center.getZ() - radius);
+
+        planes.add(Planes.fromPointAndNormal(topZ, Vector3D.Unit.PLUS_Z, precision));
+        planes.add(Planes.fromPointAndNormal(bottomZ, Vector3D.Unit.MINUS_Z, precision));
+
+        // add the side planes
+        final double vDelta = PlaneAngleRadians.PI / stacks;
+        final double hDelta = PlaneAngleRadians.PI * 2 / slices;
+
+        final double adjustedRadius = (radius + (radius * Math.cos(vDelta * 0.5))) / 2.0;
+
+        double vAngle;
+        double hAngle;
+        double stackRadius;
+        double stackHeight;
+        double x;
+        double y;
+        Vector3D pt;
+        Vector3D norm;
+
+        vAngle = -0.5 * vDelta;
+        for (int v = 0; v < stacks; ++v) {
+            vAngle += vDelta;
+
+            stackRadius = Math.sin(vAngle) * adjustedRadius;
+            stackHeight = Math.cos(vAngle) * adjustedRadius;
+
+            hAngle = -0.5 * hDelta;
+            for (int h = 0; h < slices; ++h) {
+                hAngle += hDelta;
+
+                x = Math.cos(hAngle) * stackRadius;
+                y = Math.sin(hAngle) * stackRadius;
+
+                norm = Vector3D.of(x, y, stackHeight).normalize();
+                pt = center.add(norm.multiply(adjustedRadius));
+
+                planes.add(Planes.fromPointAndNormal(pt, norm, precision));
+            }
+        }
+
+        RegionBSPTree3D tree = RegionBSPTree3D.full();
+        RegionNode3D node = tree.getRoot();
+
+        for (Plane plane : planes) {
+            node = node.cut(plane).getMinus();
+        }
+
+        return tree;
+    }
 }
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.internal;
+
+import org.apache.commons.geometry.core.GeometryTestUtils;
+import org.junit.Test;
+
+public class BatchArraysTest {
+
+    @Test
+    public void testCheckSameLength() {
+        // act/assert
+        BatchArrays.checkSameLength();
+        BatchArrays.checkSameLength(3);
+        BatchArrays.checkSameLength(0, 0, 0);
+        BatchArrays.checkSameLength(4, 4, 4, 4);
+    }
+
+    @Test
+    public void testCheckSameLength_invalid() {
+        // act/assert
+        GeometryTestUtils.assertThrows(() -> BatchArrays.checkSameLength(2, 1),
+                IllegalArgumentException.class, "Coordinate and output arrays must have the same length; found [2, 1]");
+        GeometryTestUtils.assertThrows(() -> BatchArrays.checkSameLength(2, 2, 2, 3),
+                IllegalArgumentException.class,
+                "Coordinate and output arrays must have the same length; found [2, 2, 2, 3]");
+    }
+
+    @Test
+    public void testCheckLength() {
+        // act/assert
+        BatchArrays.checkLength("test", 0, 0);
+        BatchArrays.checkLength("test", 6, 6);
+    }
+
+    @Test
+    public void testCheckLength_invalid() {
+        // act/assert
+        GeometryTestUtils.assertThrows(() -> BatchArrays.checkLength("normals", 5, 6),
+                IllegalArgumentException.class, "Invalid normals array length: expected 6 but was 5");
+    }
+}
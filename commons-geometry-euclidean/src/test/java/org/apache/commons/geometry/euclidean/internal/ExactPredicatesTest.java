@@ -0,0 +1,336 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.internal;
+
+import java.math.BigDecimal;
+
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.simple.RandomSource;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ExactPredicatesTest {
+
+    private static final double ULP = Math.ulp(0.5);
+
+    @Test
+    public void testLinearSign_twoProducts() {
+        // act/assert
+        Assert.assertEquals(0, ExactPredicates.linearSign(1, 2, 3, 4, -14, 0));
+        Assert.assertEquals(1, ExactPredicates.linearSign(1, 2, 3, 4, -13, 0));
+        Assert.assertEquals(-1, ExactPredicates.linearSign(1, 2, 3, 4, -15, 0));
+
+        Assert.assertEquals(0, ExactPredicates.linearSign(1, 2, 3, 4, -13, 1));
+        Assert.assertEquals(0, ExactPredicates.linearSign(1, 2, 3, 4, -15, 1));
+        Assert.assertEquals(1, ExactPredicates.linearSign(1, 2, 3, 4, -12.5, 1));
+        Assert.assertEquals(-1, ExactPredicates.linearSign(1, 2, 3, 4, -15.5, 1));
+    }
+
+    @Test
+    public void testLinearSign_threeProducts() {
+        // act/assert
+        Assert.assertEquals(0, ExactPredicates.linearSign(1, 2, 3, 4, 5, 6, -44, 0));
+        Assert.assertEquals(1, ExactPredicates.linearSign(1, 2, 3, 4, 5, 6, -43, 0));
+        Assert.assertEquals(-1, ExactPredicates.linearSign(1, 2, 3, 4, 5, 6, -45, 0));
+
+        Assert.assertEquals(0, ExactPredicates.linearSign(1, 2, 3, 4, 5, 6, -43, 1));
+        Assert.assertEquals(1, ExactPredicates.linearSign(1, 2, 3, 4, 5, 6, -42.5, 1));
+    }
+
+    @Test
+    public void testLinearSign_nearlyDegenerate() {
+        // arrange
+        final UniformRandomProvider rand = RandomSource.create(RandomSource.XO_RO_SHI_RO_128_PP, 1L);
+
+        for (int i = 0; i < 1000; ++i) {
+            final double a1 = rand.nextDouble() - 0.5;
+            final double a2 = rand.nextDouble() - 0.5;
+            final double a3 = rand.nextDouble() - 0.5;
+            final double b1 = 100 * (rand.nextDouble() - 0.5);
+            final double b2 = 100 * (rand.nextDouble() - 0.5);
+            final double b3 = 100 * (rand.nextDouble() - 0.5);
+
+            // choose the constant so that the floating point sum is very close to zero
+            final double c2 = -((a1 * b1) + (a2 * b2)) + ((rand.nextInt(5) - 2) * Math.ulp(b1));
+            final double c3 = -((a1 * b1) + (a2 * b2) + (a3 * b3)) + ((rand.nextInt(5) - 2) * Math.ulp(b1));
+            final double maxZero = rand.nextBoolean() ? 0 : Math.ulp(b1);
+
+            // act/assert
+            Assert.assertEquals(sign(exact(a1).multiply(exact(b1))
+                        .add(exact(a2).multiply(exact(b2)))
+                        .add(exact(c2)), maxZero),
+                ExactPredicates.linearSign(a1, b1, a2, b2, c2, maxZero));
+
+            Assert.assertEquals(sign(exact(a1).multiply(exact(b1))
+                        .add(exact(a2).multiply(exact(b2)))
+                        .add(exact(a3).multiply(exact(b3)))
+                        .add(exact(c3)), maxZero),
+                ExactPredicates.linearSign(a1, b1, a2, b2, a3, b3, c3, maxZero));
+        }
+    }
+
+    @Test
+    public void testLinearSign_nonFinite() {
+        // act/assert
+        Assert.assertEquals(1, ExactPredicates.linearSign(Double.POSITIVE_INFINITY, 1, 0, 0, 0, 0));
+        Assert.assertEquals(-1, ExactPredicates.linearSign(Double.NEGATIVE_INFINITY, 1, 0, 0, 0, 0));
+        Assert.assertEquals(1, ExactPredicates.linearSign(Double.NaN, 1, 0, 0, 0, 0));
+        Assert.assertEquals(1, ExactPredicates.linearSign(0, 0, 0, 0, Double.POSITIVE_INFINITY, 0, 0, 0));
+    }
+
+    @Test
+    public void testOrientation2D() {
+        // act/assert
+        Assert.assertEquals(1, ExactPredicates.orientation(0, 0, 1, 0, 0, 1, 0));
+        Assert.assertEquals(-1, ExactPredicates.orientation(0, 0, 0, 1, 1, 0, 0));
+        Assert.assertEquals(0, ExactPredicates.orientation(0, 0, 1, 1, 2, 2, 0));
+
+        Assert.assertEquals(0, ExactPredicates.orientation(0, 0, 1, 0, 0, 1, 1));
+        Assert.assertEquals(1, ExactPredicates.orientation(0, 0, 1, 0, 0, 1, 0.99));
+    }
+
+    @Test
+    public void testOrientation2D_nearlyCollinear() {
+        // arrange
+        final double bx = 12;
+        final double by = 12;
+        final double cx = 24;
+        final double cy = 24;
+
+        int nonZero = 0;
+        for (int i = 0; i < 64; ++i) {
+            for (int j = 0; j < 64; ++j) {
+                final double ax = 0.5 + (i * ULP);
+                final double ay = 0.5 + (j * ULP);
+
+                // act
+                final int result = ExactPredicates.orientation(ax, ay, bx, by, cx, cy, 0);
+
+                // assert
+                Assert.assertEquals(sign(det(new double[][] {
+                        {ax, ay, 1},
+                        {bx, by, 1},
+                        {cx, cy, 1}
+                    }), 0), result);
+
+                Assert.assertEquals(Integer.signum(Integer.compare(i, j)) * -1, result);
+
+                if (result != 0) {
+                    ++nonZero;
+                }
+            }
+        }
+
+        Assert.assertEquals((64 * 64) - 64, nonZero);
+    }
+
+    @Test
+    public void testOrientation3D() {
+        // act/assert
+        Assert.assertEquals(1, ExactPredicates.orientation(0, 0, 0, 1, 0, 0, 0, 1, 0, 0, 0, -1, 0));
+        Assert.assertEquals(-1, ExactPredicates.orientation(0, 0, 0, 1, 0, 0, 0, 1, 0, 0, 0, 1, 0));
+        Assert.assertEquals(0, ExactPredicates.orientation(0, 0, 0, 1, 0, 0, 0, 1, 0, 1, 1, 0, 0));
+
+        Assert.assertEquals(0, ExactPredicates.orientation(0, 0, 0, 1, 0, 0, 0, 1, 0, 0, 0, -1, 1));
+        Assert.assertEquals(1, ExactPredicates.orientation(0, 0, 0, 1, 0, 0, 0, 1, 0, 0, 0, -1, 0.99));
+    }
+
+    @Test
+    public void testOrientation3D_nearlyCoplanar() {
+        // arrange
+        final UniformRandomProvider rand = RandomSource.create(RandomSource.XO_RO_SHI_RO_128_PP, 2L);
+
+        for (int i = 0; i < 1000; ++i) {
+            final double[] a = randomPoint(rand);
+            final double[] b = randomPoint(rand);
+            final double[] c = randomPoint(rand);
+
+            // compute a point close to the plane through a, b, and c
+            final double s = rand.nextDouble();
+            final double t = rand.nextDouble();
+            final double[] d = new double[3];
+            for (int k = 0; k < 3; ++k) {
+                d[k] = a[k] + (s * (b[k] - a[k])) + (t * (c[k] - a[k])) + ((rand.nextInt(3) - 1) * ULP);
+            }
+
+            // act/assert
+            Assert.assertEquals(sign(det(new double[][] {
+                    {a[0], a[1], a[2], 1},
+                    {b[0], b[1], b[2], 1},
+                    {c[0], c[1], c[2], 1},
+                    {d[0], d[1], d[2], 1}
+                }), 0),
+                ExactPredicates.orientation(a[0], a[1], a[2], b[0], b[1], b[2], c[0], c[1], c[2],
+                        d[0], d[1], d[2], 0));
+        }
+    }
+
+    @Test
+    public void testInCircle() {
+        // act/assert
+        Assert.assertEquals(1, ExactPredicates.inCircle(5, 0, 0, 5, -5, 0, 0, 0, 0));
+        Assert.assertEquals(-1, ExactPredicates.inCircle(5, 0, 0, 5, -5, 0, 6, 6, 0));
+        Assert.assertEquals(0, ExactPredicates.inCircle(5, 0, 3, 4, -5, 0, 4, -3, 0));
+
+        // clockwise order reverses the sign
+        Assert.assertEquals(-1, ExactPredicates.inCircle(-5, 0, 0, 5, 5, 0, 0, 0, 0));
+    }
+
+    @Test
+    public void testInCircle_nearlyCocircular() {
+        // arrange
+        final UniformRandomProvider rand = RandomSource.create(RandomSource.XO_RO_SHI_RO_128_PP, 3L);
+
+        for (int i = 0; i < 1000; ++i) {
+            final double[][] pts = new double[4][];
+            for (int k = 0; k < pts.length; ++k) {
+                final double angle = 2 * Math.PI * rand.nextDouble();
+                pts[k] = new double[] {Math.cos(angle), Math.sin(angle)};
+            }
+
+            // act/assert
+            Assert.assertEquals(sign(det(new double[][] {
+                    {pts[0][0], pts[0][1], lift(pts[0]), 1},
+                    {pts[1][0], pts[1][1], lift(pts[1]), 1},
+                    {pts[2][0], pts[2][1], lift(pts[2]), 1},
+                    {pts[3][0], pts[3][1], lift(pts[3]), 1}
+                }, true), 0),
+                ExactPredicates.inCircle(pts[0][0], pts[0][1], pts[1][0], pts[1][1], pts[2][0], pts[2][1],
+                        pts[3][0], pts[3][1], 0));
+        }
+    }
+
+    @Test
+    public void testInSphere() {
+        // arrange
+        final int orientation = ExactPredicates.orientation(3, 0, 0, 0, 3, 0, 0, 0, 3, -3, 0, 0, 0);
+
+        // act/assert
+        Assert.assertEquals(orientation,
+                ExactPredicates.inSphere(3, 0, 0, 0, 3, 0, 0, 0, 3, -3, 0, 0, 0, 0, 0, 0));
+        Assert.assertEquals(-orientation,
+                ExactPredicates.inSphere(3, 0, 0, 0, 3, 0, 0, 0, 3, -3, 0, 0, 4, 4, 4, 0));
+        Assert.assertEquals(0,
+                ExactPredicates.inSphere(3, 0, 0, 0, 3, 0, 0, 0, 3, -3, 0, 0, 1, 2, -2, 0));
+
+        // swapping two points reverses the sign
+        Assert.assertEquals(-orientation,
+                ExactPredicates.inSphere(0, 3, 0, 3, 0, 0, 0, 0, 3, -3, 0, 0, 0, 0, 0, 0));
+    }
+
+    @Test
+    public void testInSphere_nearlyCospherical() {
+        // arrange
+        final UniformRandomProvider rand = RandomSource.create(RandomSource.XO_RO_SHI_RO_128_PP, 4L);
+
+        for (int i = 0; i < 500; ++i) {
+            final double[][] pts = new double[5][];
+            for (int k = 0; k < pts.length; ++k) {
+                final double z = (2 * rand.nextDouble()) - 1;
+                final double angle = 2 * Math.PI * rand.nextDouble();
+                final double r = Math.sqrt(1 - (z * z));
+                pts[k] = new double[] {r * Math.cos(angle), r * Math.sin(angle), z};
+            }
+
+            final double[][] matrix = new double[5][];
+            for (int k = 0; k < pts.length; ++k) {
+                matrix[k] = new double[] {pts[k][0], pts[k][1], pts[k][2], lift(pts[k]), 1};
+            }
+
+            // act/assert
+            Assert.assertEquals(sign(det(matrix, true), 0),
+                ExactPredicates.inSphere(pts[0][0], pts[0][1], pts[0][2], pts[1][0], pts[1][1], pts[1][2],
+                        pts[2][0], pts[2][1], pts[2][2], pts[3][0], pts[3][1], pts[3][2],
+                        pts[4][0], pts[4][1], pts[4][2], 0));
+        }
+    }
+
+    private static double[] randomPoint(final UniformRandomProvider rand) {
+        return new double[] {
+            rand.nextDouble() - 0.5,
+            rand.nextDouble() - 0.5,
+            rand.nextDouble() - 0.5
+        };
+    }
+
+    /** Return the squared norm of the given point. This value is rounded; the exact value is
+     * computed by {@link #det(double[][], boolean)} when requested.
+     */
+    private static double lift(final double[] pt) {
+        double sum = 0;
+        for (final double v : pt) {
+            sum += v * v;
+        }
+        return sum;
+    }
+
+    private static BigDecimal det(final double[][] matrix) {
+        return det(matrix, false);
+    }
+
+    /** Compute the exact determinant of the given matrix. If {@code exactLift} is true, the second to
+     * last column is replaced by the exact squared norm of the preceding columns of each row.
+     */
+    private static BigDecimal det(final double[][] matrix, final boolean exactLift) {
+        final int n = matrix.length;
+        final BigDecimal[][] m = new BigDecimal[n][n];
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) {
+                m[i][j] = exact(matrix[i][j]);
+            }
+            if (exactLift) {
+                BigDecimal lift = BigDecimal.ZERO;
+                for (int j = 0; j < n - 2; ++j) {
+                    lift = lift.add(m[i][j].multiply(m[i][j]));
+                }
+                m[i][n - 2] = lift;
+            }
+        }
+        return det(m);
+    }
+
+    private static BigDecimal det(final BigDecimal[][] m) {
+        final int n = m.length;
+        if (n == 1) {
+            return m[0][0];
+        }
+
+        BigDecimal result = BigDecimal.ZERO;
+        for (int col = 0; col < n; ++col) {
+            final BigDecimal[][] minor = new BigDecimal[n - 1][n - 1];
+            for (int i = 1; i < n; ++i) {
+                for (int j = 0, k = 0; j < n; ++j) {
+                    if (j != col) {
+                        minor[i - 1][k++] = m[i][j];
+                    }
+                }
+            }
+
+            final BigDecimal term = m[0][col].multiply(det(minor));
+            result = (col % 2 == 0) ? result.add(term) : result.subtract(term);
+        }
+        return result;
+    }
+
+    private static int sign(final BigDecimal value, final double maxZero) {
+        return value.abs().compareTo(exact(maxZero)) <= 0 ? 0 : value.signum();
+    }
+
+    private static BigDecimal exact(final double value) {
+        return new BigDecimal(value);
+    }
+}
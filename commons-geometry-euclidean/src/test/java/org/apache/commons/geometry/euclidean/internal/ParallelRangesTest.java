@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.internal;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.apache.commons.geometry.core.GeometryTestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParallelRangesTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @Test
+    public void testApply() {
+        // arrange
+        int size = 1003;
+        AtomicIntegerArray counts = new AtomicIntegerArray(size);
+        AtomicInteger maxRange = new AtomicInteger();
+
+        // act
+        ParallelRanges.apply(size, 10, POOL, (start, end) -> {
+            maxRange.accumulateAndGet(end - start, Math::max);
+            for (int i = start; i < end; ++i) {
+                counts.incrementAndGet(i);
+            }
+        });
+
+        // assert
+        for (int i = 0; i < size; ++i) {
+            Assert.assertEquals(1, counts.get(i));
+        }
+        Assert.assertTrue(maxRange.get() <= 10);
+    }
+
+    @Test
+    public void testApply_singleChunk() {
+        // arrange
+        AtomicInteger calls = new AtomicInteger();
+
+        // act
+        ParallelRanges.apply(5, 10, POOL, (start, end) -> {
+            Assert.assertEquals(0, start);
+            Assert.assertEquals(5, end);
+            calls.incrementAndGet();
+        });
+
+        // assert
+        Assert.assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testApply_empty() {
+        // arrange
+        AtomicInteger calls = new AtomicInteger();
+
+        // act
+        ParallelRanges.apply(0, 10, POOL, (start, end) -> calls.incrementAndGet());
+
+        // assert
+        Assert.assertEquals(0, calls.get());
+    }
+
+    @Test
+    public void testApply_invalidChunkSize() {
+        // act/assert
+        GeometryTestUtils.assertThrows(() -> {
+            ParallelRanges.apply(10, 0, POOL, (start, end) -> { });
+        }, IllegalArgumentException.class, "Chunk size must be greater than zero; was 0");
+    }
+}
@@ -16,6 +16,11 @@
  */
 package org.apache.commons.geometry.euclidean.oned;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.List;
 
@@ -1194,6 +1199,60 @@ public class RegionBSPTree1DTest {
         Assert.assertEquals(2, tree.toIntervals().size());
     }
 
+    @Test
+    public void testWriteRead() {
+        // arrange
+        RegionBSPTree1D tree = RegionBSPTree1D.from(
+                Interval.of(Double.NEGATIVE_INFINITY, -2, TEST_PRECISION),
+                Interval.of(-1, 1, TEST_PRECISION),
+                Interval.point(3, TEST_PRECISION),
+                Interval.of(5, Double.POSITIVE_INFINITY, TEST_PRECISION));
+
+        byte[] bytes = writeToBytes(tree);
+
+        // act
+        RegionBSPTree1D result = RegionBSPTree1D.read(
+                new DataInputStream(new ByteArrayInputStream(bytes)), TEST_PRECISION);
+
+        // assert
+        Assert.assertEquals(tree.count(), result.count());
+        Assert.assertEquals(tree.height(), result.height());
+        GeometryTestUtils.assertPositiveInfinity(result.getSize());
+
+        List<Interval> intervals = result.toIntervals();
+        Assert.assertEquals(4, intervals.size());
+        checkInterval(intervals.get(0), Double.NEGATIVE_INFINITY, -2);
+        checkInterval(intervals.get(1), -1, 1);
+        checkInterval(intervals.get(2), 3, 3);
+        checkInterval(intervals.get(3), 5, Double.POSITIVE_INFINITY);
+
+        checkClassify(result, RegionLocation.INSIDE, -3, 0, 6);
+        checkClassify(result, RegionLocation.BOUNDARY, -2, -1, 1, 3, 5);
+        checkClassify(result, RegionLocation.OUTSIDE, -1.5, 2, 4);
+    }
+
+    @Test
+    public void testWriteRead_fullAndEmpty() {
+        // act
+        RegionBSPTree1D full = RegionBSPTree1D.read(ByteBuffer.wrap(writeToBytes(RegionBSPTree1D.full())),
+                TEST_PRECISION);
+        RegionBSPTree1D empty = RegionBSPTree1D.read(ByteBuffer.wrap(writeToBytes(RegionBSPTree1D.empty())),
+                TEST_PRECISION);
+
+        // assert
+        Assert.assertTrue(full.isFull());
+        Assert.assertEquals(1, full.count());
+
+        Assert.assertTrue(empty.isEmpty());
+        Assert.assertEquals(1, empty.count());
+    }
+
+    private static byte[] writeToBytes(RegionBSPTree1D tree) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        tree.write(new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
     private static void checkClassify(RegionBSPTree1D tree, RegionLocation loc, double... points) {
         for (double x : points) {
             String msg = "Unexpected location for point " + x;
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.threed;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.geometry.core.GeometryTestUtils;
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
+import org.apache.commons.geometry.core.precision.EpsilonDoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.EuclideanTestUtils;
+import org.apache.commons.geometry.euclidean.threed.RegionBSPTree3D.BalancedRegionBuilder3D;
+import org.apache.commons.geometry.euclidean.threed.shape.Parallelepiped;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BalancedRegionBuilder3DTest {
+
+    private static final double TEST_EPS = 1e-10;
+
+    private static final DoublePrecisionContext TEST_PRECISION =
+            new EpsilonDoublePrecisionContext(TEST_EPS);
+
+    @Test
+    public void testBalancedRegionBuilder_halfSpace() {
+        // act
+        RegionBSPTree3D tree = RegionBSPTree3D.balancedRegionBuilder()
+                .insertBoundary(Planes.fromNormal(Vector3D.Unit.PLUS_Z, TEST_PRECISION).span())
+                .build();
+
+        // assert
+        Assert.assertFalse(tree.isFull());
+        Assert.assertTrue(tree.isInfinite());
+        Assert.assertEquals(3, tree.count());
+
+        EuclideanTestUtils.assertRegionLocation(tree, RegionLocation.INSIDE, Vector3D.of(0, 0, -1));
+        EuclideanTestUtils.assertRegionLocation(tree, RegionLocation.BOUNDARY, Vector3D.ZERO);
+        EuclideanTestUtils.assertRegionLocation(tree, RegionLocation.OUTSIDE, Vector3D.of(0, 0, 1));
+    }
+
+    @Test
+    public void testBalancedRegionBuilder_nonConvex() {
+        // arrange
+        RegionBSPTree3D src = Parallelepiped.unitCube(TEST_PRECISION).toTree();
+        src.union(Parallelepiped.axisAligned(Vector3D.ZERO, Vector3D.of(1, 1, 1), TEST_PRECISION).toTree());
+        src.difference(Parallelepiped.axisAligned(
+                Vector3D.of(-0.25, -0.25, -0.25), Vector3D.of(0.25, 0.25, 0.25), TEST_PRECISION).toTree());
+        List<PlaneConvexSubset> boundaries = src.getBoundaries();
+        Collections.shuffle(boundaries, new Random(1L));
+
+        // act/assert
+        checkBalancedRegion(RegionBSPTree3D.balancedRegionBuilder().insertBoundaries(src), src);
+        checkBalancedRegion(RegionBSPTree3D.balancedRegionBuilder().insertBoundaries(boundaries), src);
+        checkBalancedRegion(RegionBSPTree3D.balancedRegionBuilder().candidateCount(1)
+                .insertBoundaries(boundaries), src);
+        checkBalancedRegion(RegionBSPTree3D.balancedRegionBuilder().candidateCount(100)
+                .insertBoundaries(boundaries), src);
+        checkBalancedRegion(RegionBSPTree3D.balancedRegionBuilder().splitWeight(0)
+                .insertBoundaries(boundaries), src);
+        checkBalancedRegion(RegionBSPTree3D.balancedRegionBuilder().splitWeight(100)
+                .insertBoundaries(boundaries), src);
+    }
+
+    @Test
+    public void testBalancedRegionBuilder_invalidArgs() {
+        // arrange
+        BalancedRegionBuilder3D builder = RegionBSPTree3D.balancedRegionBuilder();
+
+        // act/assert
+        GeometryTestUtils.assertThrows(() -> {
+            builder.candidateCount(0);
+        }, IllegalArgumentException.class, "Candidate count must be greater than zero; was 0");
+
+        GeometryTestUtils.assertThrows(() -> {
+            builder.splitWeight(-1);
+        }, IllegalArgumentException.class, "Split weight must be finite and non-negative; was -1.0");
+
+        GeometryTestUtils.assertThrows(() -> {
+            builder.splitWeight(Double.NaN);
+        }, IllegalArgumentException.class, "Split weight must be finite and non-negative; was NaN");
+    }
+
+    /** Check that a BSP tree constructed with the given balanced region builder represents the
+     * same region as the given tree.
+     * @param builder
+     * @param expected
+     */
+    private void checkBalancedRegion(BalancedRegionBuilder3D builder, RegionBSPTree3D expected) {
+        // act
+        RegionBSPTree3D tree = builder.build();
+
+        // assert
+        Assert.assertEquals(expected.getSize(), tree.getSize(), TEST_EPS);
+        Assert.assertEquals(expected.getBoundarySize(), tree.getBoundarySize(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(expected.getCentroid(), tree.getCentroid(), TEST_EPS);
+
+        RegionBSPTree3D diff = RegionBSPTree3D.empty();
+        diff.xor(tree, expected);
+        Assert.assertTrue(diff.isEmpty());
+    }
+}
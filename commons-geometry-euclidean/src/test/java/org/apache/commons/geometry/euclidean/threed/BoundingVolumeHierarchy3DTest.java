@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.threed;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.geometry.core.GeometryTestUtils;
+import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
+import org.apache.commons.geometry.core.precision.EpsilonDoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.EuclideanTestUtils;
+import org.apache.commons.geometry.euclidean.threed.line.Line3D;
+import org.apache.commons.geometry.euclidean.threed.line.LineConvexSubset3D;
+import org.apache.commons.geometry.euclidean.threed.line.LinecastPoint3D;
+import org.apache.commons.geometry.euclidean.threed.line.Lines3D;
+import org.apache.commons.geometry.euclidean.threed.mesh.TriangleMesh;
+import org.apache.commons.geometry.euclidean.threed.shape.Parallelepiped;
+import org.apache.commons.geometry.euclidean.threed.shape.Sphere;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BoundingVolumeHierarchy3DTest {
+
+    private static final double TEST_EPS = 1e-10;
+
+    private static final DoublePrecisionContext TEST_PRECISION =
+            new EpsilonDoublePrecisionContext(TEST_EPS);
+
+    private static final BoundarySource3D UNIT_CUBE = Parallelepiped.builder(TEST_PRECISION)
+            .setPosition(Vector3D.of(0.5, 0.5, 0.5))
+            .build();
+
+    @Test
+    public void testFrom_empty() {
+        // act
+        BoundingVolumeHierarchy3D bvh = BoundingVolumeHierarchy3D.from(BoundarySource3D.from());
+
+        // assert
+        Assert.assertEquals(0, bvh.getBoundaryCount());
+        Assert.assertEquals(0, bvh.getNodeCount());
+        Assert.assertEquals(0, bvh.getHeight());
+        Assert.assertNull(bvh.getBounds());
+
+        Line3D line = Lines3D.fromPointAndDirection(Vector3D.ZERO, Vector3D.Unit.PLUS_X, TEST_PRECISION);
+
+        Assert.assertEquals(0, bvh.linecast(line).size());
+        Assert.assertNull(bvh.linecastFirst(line));
+        Assert.assertFalse(bvh.intersects(line));
+    }
+
+    @Test
+    public void testFrom_unitCube() {
+        // act
+        BoundingVolumeHierarchy3D bvh = BoundingVolumeHierarchy3D.from(UNIT_CUBE);
+
+        // assert
+        Assert.assertEquals(6, bvh.getBoundaryCount());
+        Assert.assertTrue(bvh.getNodeCount() >= 1);
+        Assert.assertTrue(bvh.getHeight() >= 1);
+
+        // bounds are expanded by the precision epsilon
+        Bounds3D bounds = bvh.getBounds();
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.ZERO, bounds.getMin(), 2 * TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(1, 1, 1), bounds.getMax(), 2 * TEST_EPS);
+    }
+
+    @Test
+    public void testFrom_largeMesh_balanced() {
+        // arrange
+        TriangleMesh mesh = Sphere.from(Vector3D.ZERO, 1, TEST_PRECISION).toTriangleMesh(5);
+        int faceCount = mesh.getFaceCount();
+
+        // act
+        BoundingVolumeHierarchy3D bvh = BoundingVolumeHierarchy3D.from(mesh);
+
+        // assert
+        Assert.assertEquals(faceCount, bvh.getBoundaryCount());
+        Assert.assertTrue(bvh.getNodeCount() < 2 * faceCount);
+
+        int minHeight = (int) Math.ceil(Math.log(faceCount) / Math.log(2));
+        Assert.assertTrue(bvh.getHeight() < 2 * minHeight);
+    }
+
+    @Test
+    public void testLinecast_unitCube() {
+        // arrange
+        BoundingVolumeHierarchy3D bvh = BoundingVolumeHierarchy3D.from(UNIT_CUBE);
+
+        // act/assert
+
+        // no intersections
+        LinecastChecker3D.with(bvh)
+            .expectNothing()
+            .whenGiven(Lines3D.fromPointAndDirection(Vector3D.of(0, 4, 4), Vector3D.Unit.MINUS_X, TEST_PRECISION));
+
+        // through center; two directions
+        LinecastChecker3D.with(bvh)
+            .expect(Vector3D.of(0, 0.5, 0.5), Vector3D.Unit.MINUS_X)
+            .and(Vector3D.of(1, 0.5, 0.5), Vector3D.Unit.PLUS_X)
+            .whenGiven(Lines3D.fromPointAndDirection(Vector3D.of(0.5, 0.5, 0.5), Vector3D.Unit.PLUS_X, TEST_PRECISION));
+
+        LinecastChecker3D.with(bvh)
+            .expect(Vector3D.of(1, 0.5, 0.5), Vector3D.Unit.PLUS_X)
+            .and(Vector3D.of(0, 0.5, 0.5), Vector3D.Unit.MINUS_X)
+            .whenGiven(Lines3D.fromPointAndDirection(Vector3D.of(0.5, 0.5, 0.5), Vector3D.Unit.MINUS_X, TEST_PRECISION));
+
+        // along face
+        LinecastChecker3D.with(bvh)
+            .expect(Vector3D.ZERO, Vector3D.Unit.MINUS_Y)
+            .and(Vector3D.ZERO, Vector3D.Unit.MINUS_Z)
+            .and(Vector3D.of(0, 1, 1), Vector3D.Unit.PLUS_Z)
+            .and(Vector3D.of(0, 1, 1), Vector3D.Unit.PLUS_Y)
+            .whenGiven(Lines3D.fromPointAndDirection(Vector3D.ZERO, Vector3D.of(0, 1, 1), TEST_PRECISION));
+
+        // through single corner vertex
+        LinecastChecker3D.with(bvh)
+            .expect(Vector3D.of(1, 1, 1), Vector3D.Unit.PLUS_Z)
+            .and(Vector3D.of(1, 1, 1), Vector3D.Unit.PLUS_Y)
+            .and(Vector3D.of(1, 1, 1), Vector3D.Unit.PLUS_X)
+            .whenGiven(Lines3D.fromPointAndDirection(Vector3D.of(1, 1, 1), Vector3D.of(1, -1, -1), TEST_PRECISION));
+    }
+
+    @Test
+    public void testLinecast_segments() {
+        // arrange
+        BoundingVolumeHierarchy3D bvh = BoundingVolumeHierarchy3D.from(UNIT_CUBE);
+        Vector3D center = Vector3D.of(0.5, 0.5, 0.5);
+
+        // act/assert
+
+        // underlying line intersects but segment does not
+        LinecastChecker3D.with(bvh)
+            .expectNothing()
+            .whenGiven(Lines3D.fromPointAndDirection(center, Vector3D.Unit.PLUS_X, TEST_PRECISION)
+                    .segment(2, 10));
+
+        // ray excludes the start boundary
+        LinecastChecker3D.with(bvh)
+            .expect(Vector3D.of(1, 0.5, 0.5), Vector3D.Unit.PLUS_X)
+            .whenGiven(Lines3D.fromPointAndDirection(center, Vector3D.Unit.PLUS_X, TEST_PRECISION)
+                    .rayFrom(center));
+
+        // reverse ray excludes the end boundary
+        LinecastChecker3D.with(bvh)
+            .expect(Vector3D.of(1, 0.5, 0.5), Vector3D.Unit.PLUS_X)
+            .whenGiven(Lines3D.fromPointAndDirection(center, Vector3D.Unit.MINUS_X, TEST_PRECISION)
+                    .reverseRayTo(center));
+
+        // start and end points on boundaries
+        LinecastChecker3D.with(bvh)
+            .expect(Vector3D.of(1, 0.5, 0.5), Vector3D.Unit.PLUS_X)
+            .and(Vector3D.of(0, 0.5, 0.5), Vector3D.Unit.MINUS_X)
+            .whenGiven(Lines3D.segmentFromPoints(Vector3D.of(1, 0.5, 0.5), Vector3D.of(0, 0.5, 0.5), TEST_PRECISION));
+
+        // ends on corner
+        Vector3D corner = Vector3D.of(1, 1, 1);
+        LinecastChecker3D.with(bvh)
+            .expect(corner, Vector3D.Unit.PLUS_Z)
+            .and(corner, Vector3D.Unit.PLUS_Y)
+            .and(corner, Vector3D.Unit.PLUS_X)
+            .whenGiven(Lines3D.segmentFromPoints(Vector3D.of(0, 2, 2), corner, TEST_PRECISION));
+    }
+
+    @Test
+    public void testLinecast_infiniteBoundaries() {
+        // arrange
+        Plane plane = Planes.fromPointAndNormal(Vector3D.of(0, 0, 5), Vector3D.Unit.PLUS_Z, TEST_PRECISION);
+
+        List<PlaneConvexSubset> boundaries = new ArrayList<>();
+        UNIT_CUBE.boundaryStream().forEach(boundaries::add);
+        boundaries.add(plane.span());
+
+        BoundingVolumeHierarchy3D bvh = BoundingVolumeHierarchy3D.from(BoundarySource3D.from(boundaries));
+
+        // act/assert
+        Assert.assertEquals(7, bvh.getBoundaryCount());
+
+        LinecastChecker3D.with(bvh)
+            .expect(Vector3D.of(0.5, 0.5, 0), Vector3D.Unit.MINUS_Z)
+            .and(Vector3D.of(0.5, 0.5, 1), Vector3D.Unit.PLUS_Z)
+            .and(Vector3D.of(0.5, 0.5, 5), Vector3D.Unit.PLUS_Z)
+            .whenGiven(Lines3D.fromPointAndDirection(Vector3D.of(0.5, 0.5, -1), Vector3D.Unit.PLUS_Z, TEST_PRECISION));
+
+        LinecastChecker3D.with(bvh)
+            .expect(Vector3D.of(10, 10, 5), Vector3D.Unit.PLUS_Z)
+            .whenGiven(Lines3D.segmentFromPoints(Vector3D.of(10, 10, 0), Vector3D.of(10, 10, 10), TEST_PRECISION));
+
+        Assert.assertFalse(bvh.intersects(
+                Lines3D.segmentFromPoints(Vector3D.of(10, 10, 0), Vector3D.of(10, 10, 4), TEST_PRECISION)));
+        Assert.assertTrue(bvh.intersects(
+                Lines3D.segmentFromPoints(Vector3D.of(10, 10, 0), Vector3D.of(10, 10, 6), TEST_PRECISION)));
+    }
+
+    @Test
+    public void testLinecast_matchesBruteForce() {
+        // arrange
+        TriangleMesh mesh = Sphere.from(Vector3D.of(1, -2, 3), 2, TEST_PRECISION).toTriangleMesh(3);
+        BoundingVolumeHierarchy3D bvh = BoundingVolumeHierarchy3D.from(mesh);
+
+        Random rnd = new Random(12L);
+
+        // act/assert
+        int hitCount = 0;
+        for (int i = 0; i < 500; ++i) {
+            Vector3D pt = Vector3D.of(1 + (6 * rnd.nextDouble()) - 3, -2 + (6 * rnd.nextDouble()) - 3,
+                    3 + (6 * rnd.nextDouble()) - 3);
+            Vector3D dir = Vector3D.of(rnd.nextGaussian(), rnd.nextGaussian(), rnd.nextGaussian());
+
+            Line3D line = Lines3D.fromPointAndDirection(pt, dir, TEST_PRECISION);
+            checkMatchesBruteForce(mesh, bvh, line.span());
+            checkMatchesBruteForce(mesh, bvh, line.rayFrom(pt));
+            checkMatchesBruteForce(mesh, bvh, line.segment(pt, pt.add(dir)));
+
+            if (!mesh.linecast(line).isEmpty()) {
+                ++hitCount;
+            }
+        }
+
+        // ensure that the test actually exercised intersections
+        Assert.assertTrue(hitCount > 100);
+    }
+
+    @Test
+    public void testLinecast_axisAlignedLines() {
+        // arrange
+        TriangleMesh mesh = Sphere.from(Vector3D.ZERO, 1, TEST_PRECISION).toTriangleMesh(2);
+        BoundingVolumeHierarchy3D bvh = BoundingVolumeHierarchy3D.from(mesh);
+
+        // act/assert
+        for (double x = -1.25; x <= 1.25; x += 0.25) {
+            for (double y = -1.25; y <= 1.25; y += 0.25) {
+                checkMatchesBruteForce(mesh, bvh,
+                        Lines3D.fromPointAndDirection(Vector3D.of(x, y, 0), Vector3D.Unit.PLUS_Z, TEST_PRECISION).span());
+                checkMatchesBruteForce(mesh, bvh,
+                        Lines3D.fromPointAndDirection(Vector3D.of(0, x, y), Vector3D.Unit.MINUS_X, TEST_PRECISION).span());
+            }
+        }
+    }
+
+    @Test
+    public void testToString() {
+        // arrange
+        BoundingVolumeHierarchy3D bvh = BoundingVolumeHierarchy3D.from(UNIT_CUBE);
+
+        // act
+        String str = bvh.toString();
+
+        // assert
+        GeometryTestUtils.assertContains("BoundingVolumeHierarchy3D[boundaryCount= 6, nodeCount= ", str);
+    }
+
+    private static void checkMatchesBruteForce(final BoundarySource3D src, final BoundingVolumeHierarchy3D bvh,
+            final LineConvexSubset3D subset) {
+        List<LinecastPoint3D> expected = src.linecast(subset);
+        List<LinecastPoint3D> actual = bvh.linecast(subset);
+
+        Assert.assertEquals(expected, actual);
+        Assert.assertEquals(src.linecastFirst(subset), bvh.linecastFirst(subset));
+        Assert.assertEquals(!expected.isEmpty(), bvh.intersects(subset));
+    }
+}
@@ -26,6 +26,8 @@ import org.apache.commons.geometry.core.GeometryTestUtils;
 import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
 import org.apache.commons.geometry.core.precision.EpsilonDoublePrecisionContext;
 import org.apache.commons.geometry.euclidean.EuclideanTestUtils;
+import org.apache.commons.geometry.euclidean.threed.line.Line3D;
+import org.apache.commons.geometry.euclidean.threed.line.Lines3D;
 import org.apache.commons.geometry.euclidean.threed.shape.Parallelepiped;
 import org.junit.Assert;
 import org.junit.Test;
@@ -293,6 +295,31 @@ public class Bounds3DTest {
                 setter.apply(min, maxValue + 1), setter.apply(max, maxValue + 2))));
     }
 
+    @Test
+    public void testIntersects_lineConvexSubset() {
+        // arrange
+        Bounds3D b = Bounds3D.from(Vector3D.ZERO, Vector3D.of(1, 1, 1));
+
+        Line3D diagonal = Lines3D.fromPoints(Vector3D.of(-1, -1, -1), Vector3D.of(2, 2, 2), TEST_PRECISION);
+        Line3D parallel = Lines3D.fromPointAndDirection(Vector3D.of(0.5, 0.5, 2), Vector3D.Unit.PLUS_X,
+                TEST_PRECISION);
+
+        // act/assert
+        Assert.assertTrue(b.intersects(diagonal.span()));
+        Assert.assertTrue(b.intersects(diagonal.rayFrom(Vector3D.of(0.5, 0.5, 0.5))));
+        Assert.assertTrue(b.intersects(diagonal.segment(Vector3D.of(-1, -1, -1), Vector3D.ZERO)));
+        Assert.assertTrue(b.intersects(
+                diagonal.segment(Vector3D.of(-1, -1, -1), Vector3D.of(-1e-11, -1e-11, -1e-11))));
+        Assert.assertFalse(b.intersects(diagonal.segment(Vector3D.of(-1, -1, -1), Vector3D.of(-0.1, -0.1, -0.1))));
+        Assert.assertFalse(b.intersects(diagonal.reverseRayTo(Vector3D.of(-0.1, -0.1, -0.1))));
+
+        Assert.assertFalse(b.intersects(parallel.span()));
+        Assert.assertTrue(b.intersects(parallel.transform(AffineTransformMatrix3D.createTranslation(0, 0, -1))
+                .span()));
+        Assert.assertTrue(b.intersects(Lines3D.fromPointAndDirection(Vector3D.of(0.5, 0.5, 1 + 1e-11),
+                Vector3D.Unit.PLUS_X, TEST_PRECISION).span()));
+    }
+
     @Test
     public void testIntersection() {
         // -- arrange
@@ -491,6 +518,7 @@ public class Bounds3DTest {
                 .add(p1)
                 .addAll(Arrays.asList(p2, p3))
                 .add(Bounds3D.from(p4, p5))
+                .add(2.5, 7.5, 12.5)
                 .build();
 
         // assert
@@ -0,0 +1,990 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.threed;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.commons.geometry.core.GeometryTestUtils;
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
+import org.apache.commons.geometry.core.precision.EpsilonDoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.EuclideanTestUtils;
+import org.apache.commons.geometry.euclidean.threed.RegionBSPTree3D.RegionNode3D;
+import org.apache.commons.geometry.euclidean.threed.line.Line3D;
+import org.apache.commons.geometry.euclidean.threed.line.LineConvexSubset3D;
+import org.apache.commons.geometry.euclidean.threed.line.LinecastPoint3D;
+import org.apache.commons.geometry.euclidean.threed.line.Lines3D;
+import org.apache.commons.geometry.euclidean.threed.line.Ray3D;
+import org.apache.commons.geometry.euclidean.threed.shape.Parallelepiped;
+import org.apache.commons.geometry.euclidean.threed.shape.Sphere;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.simple.RandomSource;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FrozenRegionBSPTree3DTest {
+
+    private static final double TEST_EPS = 1e-10;
+
+    private static final DoublePrecisionContext TEST_PRECISION =
+            new EpsilonDoublePrecisionContext(TEST_EPS);
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @Test
+    public void testFreeze_empty() {
+        // act
+        FrozenRegionBSPTree3D frozen = RegionBSPTree3D.empty().freeze();
+
+        // assert
+        Assert.assertTrue(frozen.isEmpty());
+        Assert.assertFalse(frozen.isFull());
+
+        Assert.assertEquals(0, frozen.getInternalNodeCount());
+        Assert.assertEquals(1, frozen.getLeafNodeCount());
+
+        assertRegionLocation(frozen, RegionLocation.OUTSIDE,
+                Vector3D.ZERO, Vector3D.of(1e100, -1e100, 1));
+        Assert.assertFalse(frozen.contains(Vector3D.ZERO));
+
+        LinecastChecker3D.with(frozen)
+            .expectNothing()
+            .whenGiven(Lines3D.fromPoints(Vector3D.ZERO, Vector3D.Unit.PLUS_X, TEST_PRECISION));
+    }
+
+    @Test
+    public void testFreeze_full() {
+        // act
+        FrozenRegionBSPTree3D frozen = RegionBSPTree3D.full().freeze();
+
+        // assert
+        Assert.assertFalse(frozen.isEmpty());
+        Assert.assertTrue(frozen.isFull());
+
+        Assert.assertEquals(0, frozen.getInternalNodeCount());
+        Assert.assertEquals(1, frozen.getLeafNodeCount());
+
+        assertRegionLocation(frozen, RegionLocation.INSIDE,
+                Vector3D.ZERO, Vector3D.of(1e100, -1e100, 1));
+        Assert.assertTrue(frozen.contains(Vector3D.ZERO));
+
+        LinecastChecker3D.with(frozen)
+            .expectNothing()
+            .whenGiven(Lines3D.segmentFromPoints(Vector3D.Unit.MINUS_X, Vector3D.Unit.PLUS_X, TEST_PRECISION));
+    }
+
+    @Test
+    public void testFreeze_nodeCounts() {
+        // arrange
+        RegionBSPTree3D tree = createCube(Vector3D.ZERO, 1);
+
+        // act
+        FrozenRegionBSPTree3D frozen = tree.freeze();
+
+        // assert
+        Assert.assertFalse(frozen.isEmpty());
+        Assert.assertFalse(frozen.isFull());
+
+        Assert.assertEquals(6, frozen.getInternalNodeCount());
+        Assert.assertEquals(7, frozen.getLeafNodeCount());
+        Assert.assertEquals(tree.count(), frozen.getInternalNodeCount() + frozen.getLeafNodeCount());
+    }
+
+    @Test
+    public void testFreeze_notAffectedByTreeChanges() {
+        // arrange
+        RegionBSPTree3D tree = createCube(Vector3D.ZERO, 1);
+        FrozenRegionBSPTree3D frozen = tree.freeze();
+
+        // act
+        tree.complement();
+
+        // assert
+        Assert.assertEquals(RegionLocation.INSIDE, frozen.classify(Vector3D.ZERO));
+        Assert.assertEquals(RegionLocation.OUTSIDE, frozen.classify(Vector3D.of(2, 0, 0)));
+    }
+
+    @Test
+    public void testFreeze_deepTree() {
+        // arrange
+        final int depth = 50_000;
+        RegionBSPTree3D tree = createDeepTree(depth);
+
+        // act
+        FrozenRegionBSPTree3D frozen = tree.freeze();
+
+        // assert
+        Assert.assertEquals(depth, frozen.getInternalNodeCount());
+        Assert.assertEquals(depth + 1, frozen.getLeafNodeCount());
+
+        assertRegionLocation(frozen, RegionLocation.INSIDE, Vector3D.of(0, 0, -depth));
+        assertRegionLocation(frozen, RegionLocation.BOUNDARY, Vector3D.of(1, 2, 1 - depth));
+        assertRegionLocation(frozen, RegionLocation.OUTSIDE,
+                Vector3D.of(0, 0, 1.5 - depth), Vector3D.of(0, 0, -0.5), Vector3D.of(0, 0, 1));
+    }
+
+    @Test
+    public void testClassify_cube() {
+        // arrange
+        FrozenRegionBSPTree3D frozen = createCube(Vector3D.ZERO, 1).freeze();
+
+        // act/assert
+        assertRegionLocation(frozen, RegionLocation.INSIDE,
+                Vector3D.ZERO, Vector3D.of(0.4, -0.4, 0.4));
+
+        assertRegionLocation(frozen, RegionLocation.BOUNDARY,
+                Vector3D.of(0.5, 0, 0), Vector3D.of(0, -0.5, 0), Vector3D.of(0, 0, 0.5),
+                Vector3D.of(0.5, 0.5, 0), Vector3D.of(-0.5, -0.5, -0.5), Vector3D.of(0.5 + 1e-11, 0, 0));
+
+        assertRegionLocation(frozen, RegionLocation.OUTSIDE,
+                Vector3D.of(0.6, 0, 0), Vector3D.of(0, 0, -1), Vector3D.of(10, 10, 10));
+    }
+
+    @Test
+    public void testClassify_coordinates() {
+        // arrange
+        FrozenRegionBSPTree3D frozen = createCube(Vector3D.ZERO, 1).freeze();
+
+        // act/assert
+        Assert.assertEquals(RegionLocation.INSIDE, frozen.classify(0, 0, 0));
+        Assert.assertEquals(RegionLocation.BOUNDARY, frozen.classify(0.5, 0, 0));
+        Assert.assertEquals(RegionLocation.OUTSIDE, frozen.classify(0, 0, 1));
+
+        Assert.assertEquals(RegionLocation.OUTSIDE, frozen.classify(Double.NaN, 0, 0));
+        Assert.assertEquals(RegionLocation.OUTSIDE, frozen.classify(0, Double.NaN, 0));
+        Assert.assertEquals(RegionLocation.OUTSIDE, frozen.classify(0, 0, Double.NaN));
+        Assert.assertEquals(RegionLocation.OUTSIDE, frozen.classify(Vector3D.NaN));
+    }
+
+    @Test
+    public void testContains() {
+        // arrange
+        FrozenRegionBSPTree3D frozen = createCube(Vector3D.ZERO, 1).freeze();
+
+        // act/assert
+        Assert.assertTrue(frozen.contains(Vector3D.ZERO));
+        Assert.assertTrue(frozen.contains(Vector3D.of(0.5, 0.5, 0.5)));
+        Assert.assertFalse(frozen.contains(Vector3D.of(1, 0, 0)));
+        Assert.assertFalse(frozen.contains(Vector3D.NaN));
+
+        Assert.assertTrue(frozen.contains(0, 0, 0));
+        Assert.assertTrue(frozen.contains(-0.5, 0, 0));
+        Assert.assertFalse(frozen.contains(0, -1, 0));
+        Assert.assertFalse(frozen.contains(0, 0, Double.NaN));
+    }
+
+    @Test
+    public void testClassify_matchesTree() {
+        // arrange
+        RegionBSPTree3D tree = createCube(Vector3D.ZERO, 2);
+        tree.difference(createCube(Vector3D.of(1, 1, 1), 1));
+        tree.union(createCube(Vector3D.of(-1, -1, -1), 1));
+        tree.difference(createCube(Vector3D.ZERO, 0.5));
+
+        FrozenRegionBSPTree3D frozen = tree.freeze();
+
+        double step = 0.125;
+
+        // act/assert
+        for (double x = -2; x <= 2; x += step) {
+            for (double y = -2; y <= 2; y += step) {
+                for (double z = -2; z <= 2; z += step) {
+                    Vector3D pt = Vector3D.of(x, y, z);
+                    Assert.assertEquals("Unexpected location for point " + pt, tree.classify(pt), frozen.classify(pt));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testClassify_sphere_matchesTree() {
+        // arrange
+        RegionBSPTree3D tree = Sphere.from(Vector3D.of(1, 2, 3), 2, TEST_PRECISION).toTree(2);
+        FrozenRegionBSPTree3D frozen = tree.freeze();
+
+        UniformRandomProvider rand = RandomSource.create(RandomSource.XO_RO_SHI_RO_128_PP, 1L);
+
+        // act/assert
+        for (int i = 0; i < 1000; ++i) {
+            Vector3D pt = Vector3D.of(
+                    4 * rand.nextDouble() - 1,
+                    4 * rand.nextDouble(),
+                    4 * rand.nextDouble() + 1);
+
+            Assert.assertEquals("Unexpected location for point " + pt, tree.classify(pt), frozen.classify(pt));
+        }
+
+        for (PlaneConvexSubset boundary : tree.getBoundaries()) {
+            Assert.assertEquals(RegionLocation.BOUNDARY, frozen.classify(boundary.getCentroid()));
+        }
+    }
+
+    @Test
+    public void testClassify_exactPredicates_matchesTree() {
+        // arrange
+        DoublePrecisionContext exact = new EpsilonDoublePrecisionContext(0, true);
+        List<Plane> planes = Arrays.asList(
+                Planes.fromPointAndNormal(Vector3D.of(0.1, 0.2, 0.3), Vector3D.of(1, 2, 3), exact),
+                Planes.fromPointAndNormal(Vector3D.of(-0.7, 0.3, 0.1), Vector3D.of(-3, 1, -2), exact),
+                Planes.fromPointAndNormal(Vector3D.of(0.2, -0.9, 0.4), Vector3D.of(0.5, -7, 1), exact));
+
+        RegionBSPTree3D tree = RegionBSPTree3D.full();
+        RegionNode3D node = tree.getRoot();
+        for (Plane plane : planes) {
+            node = node.cut(plane).getMinus();
+        }
+        FrozenRegionBSPTree3D frozen = tree.freeze();
+
+        // points within a few ulps of the cut planes, where the exact and floating point offsets
+        // may have different signs
+        UniformRandomProvider rand = RandomSource.create(RandomSource.XO_RO_SHI_RO_128_PP, 2L);
+        List<Vector3D> pts = new ArrayList<>();
+        for (int i = 0; i < 200; ++i) {
+            Vector3D pt = Vector3D.of(
+                    2 * rand.nextDouble() - 1,
+                    2 * rand.nextDouble() - 1,
+                    2 * rand.nextDouble() - 1);
+            for (Plane plane : planes) {
+                Vector3D proj = plane.project(pt);
+                for (int j = -2; j <= 2; ++j) {
+                    pts.add(Vector3D.of(proj.getX() + (j * Math.ulp(proj.getX())), proj.getY(), proj.getZ()));
+                    pts.add(Vector3D.of(proj.getX(), proj.getY() + (j * Math.ulp(proj.getY())), proj.getZ()));
+                    pts.add(Vector3D.of(proj.getX(), proj.getY(), proj.getZ() + (j * Math.ulp(proj.getZ()))));
+                }
+            }
+        }
+
+        int n = pts.size();
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        double[] zs = new double[n];
+        for (int i = 0; i < n; ++i) {
+            xs[i] = pts.get(i).getX();
+            ys[i] = pts.get(i).getY();
+            zs[i] = pts.get(i).getZ();
+        }
+
+        RegionLocation[] out = new RegionLocation[n];
+
+        // act
+        tree.classify(xs, ys, zs, out);
+
+        // assert
+        for (int i = 0; i < n; ++i) {
+            Vector3D pt = pts.get(i);
+            RegionLocation expected = tree.classify(pt);
+
+            Assert.assertEquals("Unexpected batch location for point " + pt, expected, out[i]);
+            Assert.assertEquals("Unexpected frozen location for point " + pt, expected, frozen.classify(pt));
+        }
+
+        List<RegionLocation> locations = Arrays.asList(out);
+        Assert.assertTrue(locations.contains(RegionLocation.INSIDE));
+        Assert.assertTrue(locations.contains(RegionLocation.OUTSIDE));
+    }
+
+    @Test
+    public void testLinecast_cube() {
+        // arrange
+        FrozenRegionBSPTree3D frozen = createCube(Vector3D.ZERO, 2).freeze();
+
+        // act/assert
+        LinecastChecker3D.with(frozen)
+            .expectNothing()
+            .whenGiven(Lines3D.fromPoints(Vector3D.of(0, 5, 5), Vector3D.of(1, 6, 6), TEST_PRECISION));
+
+        LinecastChecker3D.with(frozen)
+            .expect(Vector3D.of(-1, 0.1, 0.2), Vector3D.Unit.MINUS_X)
+            .and(Vector3D.of(1, 0.1, 0.2), Vector3D.Unit.PLUS_X)
+            .whenGiven(Lines3D.fromPoints(Vector3D.of(0, 0.1, 0.2), Vector3D.of(1, 0.1, 0.2), TEST_PRECISION));
+
+        LinecastChecker3D.with(frozen)
+            .expect(Vector3D.of(0.1, 1, 0.2), Vector3D.Unit.PLUS_Y)
+            .and(Vector3D.of(0.1, -1, 0.2), Vector3D.Unit.MINUS_Y)
+            .whenGiven(Lines3D.fromPoints(Vector3D.of(0.1, 0, 0.2), Vector3D.of(0.1, -1, 0.2), TEST_PRECISION));
+
+        LinecastChecker3D.with(frozen)
+            .expect(Vector3D.of(0.1, 0.2, 1), Vector3D.Unit.PLUS_Z)
+            .whenGiven(Lines3D.segmentFromPoints(Vector3D.of(0.1, 0.2, 0), Vector3D.of(0.1, 0.2, 3),
+                    TEST_PRECISION));
+
+        LinecastChecker3D.with(frozen)
+            .expectNothing()
+            .whenGiven(Lines3D.segmentFromPoints(Vector3D.of(0.1, 0.2, -0.5), Vector3D.of(0.1, 0.2, 0.5),
+                    TEST_PRECISION));
+    }
+
+    @Test
+    public void testLinecast_segmentEndsOnBoundary() {
+        // arrange
+        FrozenRegionBSPTree3D frozen = createCube(Vector3D.ZERO, 2).freeze();
+
+        // act/assert
+        LinecastChecker3D.with(frozen)
+            .expect(Vector3D.of(-1, 0.1, 0.2), Vector3D.Unit.MINUS_X)
+            .whenGiven(Lines3D.segmentFromPoints(Vector3D.of(-1, 0.1, 0.2), Vector3D.of(-3, 0.1, 0.2),
+                    TEST_PRECISION));
+
+        LinecastChecker3D.with(frozen)
+            .expect(Vector3D.of(-1, 0.1, 0.2), Vector3D.Unit.MINUS_X)
+            .whenGiven(Lines3D.segmentFromPoints(Vector3D.of(-3, 0.1, 0.2), Vector3D.of(-1, 0.1, 0.2),
+                    TEST_PRECISION));
+    }
+
+    @Test
+    public void testLinecast_complementedTree() {
+        // arrange
+        RegionBSPTree3D tree = createCube(Vector3D.ZERO, 2);
+        tree.complement();
+
+        FrozenRegionBSPTree3D frozen = tree.freeze();
+
+        // act/assert
+        LinecastChecker3D.with(frozen)
+            .expect(Vector3D.of(-1, 0.1, 0.2), Vector3D.Unit.PLUS_X)
+            .and(Vector3D.of(1, 0.1, 0.2), Vector3D.Unit.MINUS_X)
+            .whenGiven(Lines3D.fromPoints(Vector3D.of(0, 0.1, 0.2), Vector3D.of(1, 0.1, 0.2), TEST_PRECISION));
+    }
+
+    @Test
+    public void testLinecast_lineInCutPlane() {
+        // arrange
+        RegionBSPTree3D tree = createCube(Vector3D.ZERO, 2);
+        FrozenRegionBSPTree3D frozen = tree.freeze();
+
+        Line3D line = Lines3D.fromPoints(Vector3D.of(0, 0.1, 1), Vector3D.of(1, 0.1, 1), TEST_PRECISION);
+
+        // act/assert
+        LinecastChecker3D.with(frozen)
+            .expect(Vector3D.of(-1, 0.1, 1), Vector3D.Unit.MINUS_X)
+            .and(Vector3D.of(1, 0.1, 1), Vector3D.Unit.PLUS_X)
+            .whenGiven(line);
+
+        assertLinecastMatchesTree(tree, frozen, line.span());
+        assertLinecastMatchesTree(tree, frozen, line.rayFrom(Vector3D.of(0, 0.1, 1)));
+    }
+
+    @Test
+    public void testLinecast_lineInCutPlane_outsideBoundary() {
+        // arrange
+        RegionBSPTree3D tree = createCube(Vector3D.ZERO, 2);
+        FrozenRegionBSPTree3D frozen = tree.freeze();
+
+        Line3D line = Lines3D.fromPoints(Vector3D.of(0, 5, 1), Vector3D.of(1, 5, 1), TEST_PRECISION);
+
+        // act/assert
+        LinecastChecker3D.with(frozen)
+            .expectNothing()
+            .whenGiven(line);
+
+        assertLinecastMatchesTree(tree, frozen, line.span());
+    }
+
+    @Test
+    public void testLinecast_lineAlongEdge() {
+        // arrange
+        RegionBSPTree3D tree = createCube(Vector3D.ZERO, 2);
+        FrozenRegionBSPTree3D frozen = tree.freeze();
+
+        Line3D line = Lines3D.fromPoints(Vector3D.of(-3, 1, 1), Vector3D.of(3, 1, 1), TEST_PRECISION);
+
+        // act
+        List<LinecastPoint3D> results = frozen.linecast(line);
+
+        // assert
+        Assert.assertFalse(results.isEmpty());
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(-1, 1, 1), results.get(0).getPoint(), TEST_EPS);
+
+        assertLinecastMatchesTree(tree, frozen, line.span());
+        assertLinecastMatchesTree(tree, frozen, line.rayFrom(Vector3D.of(-3, 1, 1)));
+        assertLinecastMatchesTree(tree, frozen, line.segment(Vector3D.of(0, 1, 1), Vector3D.of(3, 1, 1)));
+    }
+
+    @Test
+    public void testLinecast_lineTangentAtVertex() {
+        // arrange
+        RegionBSPTree3D tree = createCube(Vector3D.ZERO, 2);
+        FrozenRegionBSPTree3D frozen = tree.freeze();
+
+        Vector3D vertex = Vector3D.of(1, 1, 1);
+        Line3D line = Lines3D.fromPointAndDirection(vertex, Vector3D.of(1, -1, 0), TEST_PRECISION);
+
+        // act
+        List<LinecastPoint3D> results = frozen.linecast(line);
+
+        // assert
+        Assert.assertFalse(results.isEmpty());
+        for (LinecastPoint3D pt : results) {
+            EuclideanTestUtils.assertCoordinatesEqual(vertex, pt.getPoint(), TEST_EPS);
+        }
+
+        assertLinecastMatchesTree(tree, frozen, line.span());
+        assertLinecastMatchesTree(tree, frozen, line.rayFrom(Vector3D.of(0, 2, 1)));
+    }
+
+    @Test
+    public void testLinecast_linesInCutPlanes_matchesTree() {
+        // arrange
+        RegionBSPTree3D tree = Sphere.from(Vector3D.ZERO, 1, TEST_PRECISION).toTree(1);
+        tree.difference(createCube(Vector3D.of(0.5, 0, 0), 0.5));
+
+        FrozenRegionBSPTree3D frozen = tree.freeze();
+
+        UniformRandomProvider rand = RandomSource.create(RandomSource.XO_RO_SHI_RO_128_PP, 5L);
+
+        // act/assert
+        for (RegionNode3D node : tree.nodes()) {
+            if (node.isInternal()) {
+                Plane cut = (Plane) node.getCutHyperplane();
+                for (Line3D line : linesInPlane(cut, rand, 3)) {
+                    assertLinecastMatchesTree(tree, frozen, line.span());
+                    assertLinecastMatchesTree(tree, frozen, line.rayFrom(line.getOrigin()));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLinecast_sphere_matchesTree() {
+        // arrange
+        RegionBSPTree3D tree = Sphere.from(Vector3D.ZERO, 1, TEST_PRECISION).toTree(2);
+        tree.difference(Sphere.from(Vector3D.of(0.5, 0, 0), 0.5, TEST_PRECISION).toTree(1));
+
+        FrozenRegionBSPTree3D frozen = tree.freeze();
+
+        UniformRandomProvider rand = RandomSource.create(RandomSource.XO_RO_SHI_RO_128_PP, 1L);
+
+        // act/assert
+        for (int i = 0; i < 100; ++i) {
+            Vector3D start = Vector3D.of(
+                    (4 * rand.nextDouble()) - 2,
+                    (4 * rand.nextDouble()) - 2,
+                    (4 * rand.nextDouble()) - 2);
+            Vector3D end = Vector3D.of(
+                    rand.nextDouble() - 0.5,
+                    rand.nextDouble() - 0.5,
+                    rand.nextDouble() - 0.5);
+
+            Line3D line = Lines3D.fromPoints(start, end, TEST_PRECISION);
+
+            List<LinecastPoint3D> expected = tree.linecast(line);
+            List<LinecastPoint3D> actual = frozen.linecast(line);
+
+            Assert.assertEquals(expected.size(), actual.size());
+            for (int j = 0; j < expected.size(); ++j) {
+                assertLinecastPointsEqual(expected.get(j), actual.get(j));
+            }
+
+            LinecastPoint3D expectedFirst = tree.linecastFirst(line.rayFrom(start));
+            LinecastPoint3D actualFirst = frozen.linecastFirst(line.rayFrom(start));
+            if (expectedFirst == null) {
+                Assert.assertNull(actualFirst);
+            } else {
+                assertLinecastPointsEqual(expectedFirst, actualFirst);
+            }
+        }
+    }
+
+    @Test
+    public void testLinecastFirst_batch_cube() {
+        // arrange
+        FrozenRegionBSPTree3D frozen = createCube(Vector3D.ZERO, 2).freeze();
+
+        double[] origins = {
+            -3, 0, 0,
+            0, 0, 0,
+            0, 5, 0,
+            0, 0, 4
+        };
+        double[] directions = {
+            1, 0, 0,
+            0, 2, 0,
+            1, 0, 0,
+            0, 0, -4
+        };
+
+        double[] abscissas = new double[4];
+        double[] normals = new double[12];
+        boolean[] hits = new boolean[4];
+
+        // act
+        frozen.linecastFirst(origins, directions, abscissas, normals, hits);
+
+        // assert
+        Assert.assertTrue(hits[0]);
+        Assert.assertEquals(2, abscissas[0], TEST_EPS);
+        assertNormal(Vector3D.Unit.MINUS_X, normals, 0);
+
+        // starts inside; direction is not normalized
+        Assert.assertTrue(hits[1]);
+        Assert.assertEquals(0.5, abscissas[1], TEST_EPS);
+        assertNormal(Vector3D.Unit.PLUS_Y, normals, 1);
+
+        // misses
+        Assert.assertFalse(hits[2]);
+        Assert.assertTrue(Double.isNaN(abscissas[2]));
+        Assert.assertTrue(Double.isNaN(normals[6]));
+
+        Assert.assertTrue(hits[3]);
+        Assert.assertEquals(0.75, abscissas[3], TEST_EPS);
+        assertNormal(Vector3D.Unit.PLUS_Z, normals, 3);
+    }
+
+    @Test
+    public void testLinecastFirst_batch_matchesSingle() {
+        // arrange
+        RegionBSPTree3D tree = Sphere.from(Vector3D.ZERO, 1, TEST_PRECISION).toTree(2);
+        tree.difference(Sphere.from(Vector3D.of(0.5, 0, 0), 0.5, TEST_PRECISION).toTree(1));
+
+        FrozenRegionBSPTree3D frozen = tree.freeze();
+
+        UniformRandomProvider rand = RandomSource.create(RandomSource.XO_RO_SHI_RO_128_PP, 2L);
+
+        int n = 1_000;
+        double[] origins = new double[3 * n];
+        double[] directions = new double[3 * n];
+        for (int i = 0; i < origins.length; ++i) {
+            origins[i] = (4 * rand.nextDouble()) - 2;
+            directions[i] = (2 * rand.nextDouble()) - 1;
+        }
+
+        double[] abscissas = new double[n];
+        double[] normals = new double[3 * n];
+        boolean[] hits = new boolean[n];
+
+        // act
+        frozen.linecastFirst(origins, directions, abscissas, normals, hits);
+
+        // assert
+        int hitCount = 0;
+        for (int i = 0; i < n; ++i) {
+            Vector3D origin = Vector3D.of(origins[3 * i], origins[(3 * i) + 1], origins[(3 * i) + 2]);
+            Vector3D dir = Vector3D.of(directions[3 * i], directions[(3 * i) + 1], directions[(3 * i) + 2]);
+
+            LinecastPoint3D expected = frozen.linecastFirst(
+                    Lines3D.fromPointAndDirection(origin, dir, TEST_PRECISION).rayFrom(origin));
+            assertBatchResult(expected, origin, dir, abscissas, normals, hits, i);
+
+            if (hits[i]) {
+                ++hitCount;
+            }
+        }
+
+        Assert.assertTrue(hitCount > n / 10);
+    }
+
+    @Test
+    public void testLinecastFirst_batch_touchingBoundary() {
+        // arrange
+        RegionBSPTree3D tree = createCube(Vector3D.ZERO, 2);
+        FrozenRegionBSPTree3D frozen = tree.freeze();
+
+        double[] origins = {
+            -3, 1, 1,
+            0, 2, 1,
+            -3, 0.1, 1,
+            -3, 5, 1
+        };
+        double[] directions = {
+            1, 0, 0,
+            1, -1, 0,
+            2, 0, 0,
+            1, 0, 0
+        };
+
+        double[] abscissas = new double[4];
+        double[] normals = new double[12];
+        boolean[] hits = new boolean[4];
+
+        // act
+        frozen.linecastFirst(origins, directions, abscissas, normals, hits);
+
+        // assert
+        Assert.assertTrue(hits[0]);
+        Assert.assertEquals(2, abscissas[0], TEST_EPS);
+
+        Assert.assertTrue(hits[1]);
+        Assert.assertEquals(1, abscissas[1], TEST_EPS);
+
+        Assert.assertTrue(hits[2]);
+        Assert.assertEquals(1, abscissas[2], TEST_EPS);
+        assertNormal(Vector3D.Unit.MINUS_X, normals, 2);
+
+        Assert.assertFalse(hits[3]);
+
+        assertBatchMatchesTree(tree, frozen, origins, directions);
+    }
+
+    @Test
+    public void testLinecastFirst_batch_raysInCutPlanes_matchesTree() {
+        // arrange
+        RegionBSPTree3D tree = Sphere.from(Vector3D.ZERO, 1, TEST_PRECISION).toTree(1);
+        tree.difference(createCube(Vector3D.of(0.5, 0, 0), 0.5));
+
+        FrozenRegionBSPTree3D frozen = tree.freeze();
+
+        UniformRandomProvider rand = RandomSource.create(RandomSource.XO_RO_SHI_RO_128_PP, 6L);
+
+        List<Line3D> lines = new ArrayList<>();
+        for (RegionNode3D node : tree.nodes()) {
+            if (node.isInternal()) {
+                lines.addAll(linesInPlane((Plane) node.getCutHyperplane(), rand, 3));
+            }
+        }
+
+        double[] origins = new double[3 * lines.size()];
+        double[] directions = new double[origins.length];
+        for (int i = 0; i < lines.size(); ++i) {
+            Line3D line = lines.get(i);
+            Vector3D origin = line.getOrigin();
+            Vector3D dir = line.getDirection();
+
+            origins[3 * i] = origin.getX();
+            origins[(3 * i) + 1] = origin.getY();
+            origins[(3 * i) + 2] = origin.getZ();
+
+            directions[3 * i] = dir.getX();
+            directions[(3 * i) + 1] = dir.getY();
+            directions[(3 * i) + 2] = dir.getZ();
+        }
+
+        // act/assert
+        assertBatchMatchesTree(tree, frozen, origins, directions);
+    }
+
+    @Test
+    public void testLinecastFirst_batch_sharedOrigin() {
+        // arrange
+        RegionBSPTree3D tree = Sphere.from(Vector3D.ZERO, 1, TEST_PRECISION).toTree(2);
+        tree.difference(createCube(Vector3D.of(1, 0, 0), 1));
+
+        FrozenRegionBSPTree3D frozen = tree.freeze();
+
+        UniformRandomProvider rand = RandomSource.create(RandomSource.XO_RO_SHI_RO_128_PP, 3L);
+
+        Vector3D origin = Vector3D.of(0.1, -0.2, 0.05);
+
+        int n = 500;
+        double[] directions = new double[3 * n];
+        for (int i = 0; i < directions.length; ++i) {
+            directions[i] = (2 * rand.nextDouble()) - 1;
+        }
+
+        double[] abscissas = new double[n];
+        double[] normals = new double[3 * n];
+        boolean[] hits = new boolean[n];
+
+        // act
+        frozen.linecastFirst(origin, directions, abscissas, normals, hits);
+
+        // assert
+        for (int i = 0; i < n; ++i) {
+            Vector3D dir = Vector3D.of(directions[3 * i], directions[(3 * i) + 1], directions[(3 * i) + 2]);
+
+            LinecastPoint3D expected = frozen.linecastFirst(
+                    Lines3D.fromPointAndDirection(origin, dir, TEST_PRECISION).rayFrom(origin));
+            assertBatchResult(expected, origin, dir, abscissas, normals, hits, i);
+
+            // the origin is inside the region so every ray exits it
+            Assert.assertTrue(hits[i]);
+        }
+    }
+
+    @Test
+    public void testLinecastFirst_batch_parallel() {
+        // arrange
+        RegionBSPTree3D tree = Sphere.from(Vector3D.ZERO, 1, TEST_PRECISION).toTree(2);
+        FrozenRegionBSPTree3D frozen = tree.freeze();
+
+        UniformRandomProvider rand = RandomSource.create(RandomSource.XO_RO_SHI_RO_128_PP, 4L);
+
+        int n = 5_000;
+        double[] origins = new double[3 * n];
+        double[] directions = new double[3 * n];
+        for (int i = 0; i < origins.length; ++i) {
+            origins[i] = (4 * rand.nextDouble()) - 2;
+            directions[i] = (2 * rand.nextDouble()) - 1;
+        }
+
+        double[] expectedAbscissas = new double[n];
+        double[] expectedNormals = new double[3 * n];
+        boolean[] expectedHits = new boolean[n];
+        frozen.linecastFirst(origins, directions, expectedAbscissas, expectedNormals, expectedHits);
+
+        Vector3D sharedOrigin = Vector3D.of(3, 0, 0);
+        double[] expectedSharedAbscissas = new double[n];
+        double[] expectedSharedNormals = new double[3 * n];
+        boolean[] expectedSharedHits = new boolean[n];
+        frozen.linecastFirst(sharedOrigin, directions, expectedSharedAbscissas, expectedSharedNormals,
+                expectedSharedHits);
+
+        double[] abscissas = new double[n];
+        double[] normals = new double[3 * n];
+        boolean[] hits = new boolean[n];
+
+        // act/assert
+        frozen.linecastFirst(origins, directions, abscissas, normals, hits, POOL);
+
+        Assert.assertTrue(Arrays.equals(expectedHits, hits));
+        Assert.assertArrayEquals(expectedAbscissas, abscissas, 0);
+        Assert.assertArrayEquals(expectedNormals, normals, 0);
+
+        frozen.linecastFirst(sharedOrigin, directions, abscissas, normals, hits, POOL);
+
+        Assert.assertTrue(Arrays.equals(expectedSharedHits, hits));
+        Assert.assertArrayEquals(expectedSharedAbscissas, abscissas, 0);
+        Assert.assertArrayEquals(expectedSharedNormals, normals, 0);
+    }
+
+    @Test
+    public void testLinecastFirst_batch_rays() {
+        // arrange
+        FrozenRegionBSPTree3D frozen = createCube(Vector3D.ZERO, 2).freeze();
+
+        List<Ray3D> rays = new ArrayList<>();
+        rays.add(Lines3D.fromPointAndDirection(Vector3D.of(-3, 0, 0), Vector3D.Unit.PLUS_X, TEST_PRECISION)
+                .rayFrom(-2));
+        rays.add(Lines3D.fromPointAndDirection(Vector3D.of(5, 5, 0), Vector3D.Unit.PLUS_X, TEST_PRECISION)
+                .rayFrom(0));
+        rays.add(Lines3D.fromPointAndDirection(Vector3D.of(0, 0, 0.5), Vector3D.of(0, 0, 2), TEST_PRECISION)
+                .rayFrom(Vector3D.of(0, 0, 0.5)));
+
+        double[] abscissas = new double[3];
+        double[] normals = new double[9];
+        boolean[] hits = new boolean[3];
+
+        // act
+        frozen.linecastFirst(rays, abscissas, normals, hits);
+
+        // assert
+        Assert.assertTrue(hits[0]);
+        Assert.assertEquals(1, abscissas[0], TEST_EPS);
+        assertNormal(Vector3D.Unit.MINUS_X, normals, 0);
+
+        Assert.assertFalse(hits[1]);
+
+        Assert.assertTrue(hits[2]);
+        Assert.assertEquals(0.5, abscissas[2], TEST_EPS);
+        assertNormal(Vector3D.Unit.PLUS_Z, normals, 2);
+
+        // act/assert
+        boolean[] parallelHits = new boolean[3];
+        frozen.linecastFirst(rays, new double[3], new double[9], parallelHits, POOL);
+
+        Assert.assertTrue(Arrays.equals(hits, parallelHits));
+    }
+
+    @Test
+    public void testLinecastFirst_batch_trivialTrees() {
+        // arrange
+        double[] origins = {0, 0, 0};
+        double[] directions = {1, 0, 0};
+
+        double[] abscissas = new double[1];
+        double[] normals = new double[3];
+        boolean[] hits = {true};
+
+        // act/assert
+        RegionBSPTree3D.full().freeze().linecastFirst(origins, directions, abscissas, normals, hits);
+        Assert.assertFalse(hits[0]);
+
+        hits[0] = true;
+        RegionBSPTree3D.empty().freeze().linecastFirst(Vector3D.ZERO, directions, abscissas, normals, hits);
+        Assert.assertFalse(hits[0]);
+
+        RegionBSPTree3D.empty().freeze().linecastFirst(new double[0], new double[0], new double[0], new double[0],
+                new boolean[0], POOL);
+    }
+
+    @Test
+    public void testLinecastFirst_batch_invalidArgs() {
+        // arrange
+        FrozenRegionBSPTree3D frozen = createCube(Vector3D.ZERO, 2).freeze();
+
+        // act/assert
+        GeometryTestUtils.assertThrows(() -> {
+            frozen.linecastFirst(new double[3], new double[6], new double[2], new double[6], new boolean[2]);
+        }, IllegalArgumentException.class, "Invalid origins array length: expected 6 but was 3");
+        GeometryTestUtils.assertThrows(() -> {
+            frozen.linecastFirst(Vector3D.ZERO, new double[6], new double[1], new double[6], new boolean[2]);
+        }, IllegalArgumentException.class, "Invalid abscissas array length: expected 2 but was 1");
+        GeometryTestUtils.assertThrows(() -> {
+            frozen.linecastFirst(Vector3D.ZERO, new double[6], new double[2], new double[3], new boolean[2]);
+        }, IllegalArgumentException.class, "Invalid normals array length: expected 6 but was 3");
+        GeometryTestUtils.assertThrows(() -> {
+            frozen.linecastFirst(new double[6], new double[] {1, 0, 0, 0, 0, 0}, new double[2], new double[6],
+                    new boolean[2], POOL);
+        }, IllegalArgumentException.class, "Invalid direction for ray 1: (0.0, 0.0, 0.0)");
+        GeometryTestUtils.assertThrows(() -> {
+            frozen.linecastFirst(Vector3D.ZERO, new double[] {Double.NaN, 0, 0}, new double[1], new double[3],
+                    new boolean[1]);
+        }, IllegalArgumentException.class, "Invalid direction for ray 0: (NaN, 0.0, 0.0)");
+    }
+
+    private static void assertRegionLocation(final FrozenRegionBSPTree3D frozen, final RegionLocation loc,
+            final Vector3D... pts) {
+        for (Vector3D pt : pts) {
+            Assert.assertEquals("Unexpected region location for point " + pt, loc, frozen.classify(pt));
+        }
+    }
+
+    private static void assertLinecastMatchesTree(final RegionBSPTree3D tree, final FrozenRegionBSPTree3D frozen,
+            final LineConvexSubset3D subset) {
+        List<LinecastPoint3D> expected = tree.linecast(subset);
+        List<LinecastPoint3D> actual = frozen.linecast(subset);
+
+        Assert.assertEquals("Unexpected linecast results for " + subset, expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); ++i) {
+            assertLinecastPointsEqual(expected.get(i), actual.get(i));
+        }
+
+        LinecastPoint3D expectedFirst = tree.linecastFirst(subset);
+        LinecastPoint3D actualFirst = frozen.linecastFirst(subset);
+        if (expectedFirst == null) {
+            Assert.assertNull(actualFirst);
+        } else {
+            assertLinecastPointsEqual(expectedFirst, actualFirst);
+        }
+    }
+
+    private static void assertBatchMatchesTree(final RegionBSPTree3D tree, final FrozenRegionBSPTree3D frozen,
+            final double[] origins, final double[] directions) {
+        int n = origins.length / 3;
+
+        double[] abscissas = new double[n];
+        double[] normals = new double[3 * n];
+        boolean[] hits = new boolean[n];
+
+        frozen.linecastFirst(origins, directions, abscissas, normals, hits);
+
+        for (int i = 0; i < n; ++i) {
+            Vector3D origin = Vector3D.of(origins[3 * i], origins[(3 * i) + 1], origins[(3 * i) + 2]);
+            Vector3D dir = Vector3D.of(directions[3 * i], directions[(3 * i) + 1], directions[(3 * i) + 2]);
+
+            LinecastPoint3D expected = tree.linecastFirst(
+                    Lines3D.fromPointAndDirection(origin, dir, TEST_PRECISION).rayFrom(origin));
+            assertBatchResult(expected, origin, dir, abscissas, normals, hits, i);
+        }
+    }
+
+    private static List<Line3D> linesInPlane(final Plane plane, final UniformRandomProvider rand, final int count) {
+        List<Line3D> lines = new ArrayList<>();
+        for (int i = 0; i < count; ++i) {
+            Vector3D pt = plane.project(Vector3D.of(
+                    (2 * rand.nextDouble()) - 1,
+                    (2 * rand.nextDouble()) - 1,
+                    (2 * rand.nextDouble()) - 1));
+            Vector3D dir = plane.getNormal().orthogonal(Vector3D.of(
+                    (2 * rand.nextDouble()) - 1,
+                    (2 * rand.nextDouble()) - 1,
+                    (2 * rand.nextDouble()) - 1));
+
+            lines.add(Lines3D.fromPointAndDirection(pt, dir, TEST_PRECISION));
+        }
+        return lines;
+    }
+
+    private static void assertLinecastPointsEqual(final LinecastPoint3D expected, final LinecastPoint3D actual) {
+        Assert.assertEquals(expected.getAbscissa(), actual.getAbscissa(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(expected.getPoint(), actual.getPoint(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(expected.getNormal(), actual.getNormal(), TEST_EPS);
+    }
+
+    private static void assertBatchResult(final LinecastPoint3D expected, final Vector3D origin, final Vector3D dir,
+            final double[] abscissas, final double[] normals, final boolean[] hits, final int i) {
+        if (expected == null) {
+            Assert.assertFalse(hits[i]);
+        } else {
+            Assert.assertTrue(hits[i]);
+            EuclideanTestUtils.assertCoordinatesEqual(expected.getPoint(), origin.add(dir.multiply(abscissas[i])),
+                    TEST_EPS);
+            assertNormal(expected.getNormal(), normals, i);
+        }
+    }
+
+    private static void assertNormal(final Vector3D expected, final double[] normals, final int i) {
+        EuclideanTestUtils.assertCoordinatesEqual(expected,
+                Vector3D.of(normals[3 * i], normals[(3 * i) + 1], normals[(3 * i) + 2]), TEST_EPS);
+    }
+
+    /** Create a degenerate tree in which each node on the minus path from the root is cut by the plane
+     * {@code z = -i}, where {@code i} is the depth of the node, and only the last minus leaf is inside.
+     * The tree is read from the binary format so that the cuts are not trimmed by their ancestors.
+     */
+    private static RegionBSPTree3D createDeepTree(final int depth) {
+        // take the header and node flags from a tree with a single cut
+        final RegionBSPTree3D single = RegionBSPTree3D.full();
+        single.getRoot().cut(Planes.fromNormal(Vector3D.Unit.PLUS_Z, TEST_PRECISION));
+
+        final ByteArrayOutputStream singleBytes = new ByteArrayOutputStream();
+        single.write(new DataOutputStream(singleBytes));
+
+        final byte[] sample = singleBytes.toByteArray();
+        final int headerLength = 6;
+        final byte internalFlags = sample[headerLength + 4];
+        final byte insideLeafFlags = sample[sample.length - 2];
+        final byte outsideLeafFlags = sample[sample.length - 1];
+
+        try {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final DataOutputStream out = new DataOutputStream(bytes);
+
+            out.write(sample, 0, headerLength);
+            out.writeInt((2 * depth) + 1);
+
+            for (int i = 0; i < depth; ++i) {
+                out.writeByte(internalFlags);
+
+                // infinite cut given by the embedding plane axes, the origin offset, and no bounding lines
+                out.writeBoolean(false);
+                for (final Vector3D axis : Arrays.asList(Vector3D.Unit.PLUS_X, Vector3D.Unit.PLUS_Y,
+                        Vector3D.Unit.PLUS_Z)) {
+                    out.writeDouble(axis.getX());
+                    out.writeDouble(axis.getY());
+                    out.writeDouble(axis.getZ());
+                }
+                out.writeDouble(i);
+                out.writeInt(0);
+            }
+
+            out.writeByte(insideLeafFlags);
+            for (int i = 0; i < depth; ++i) {
+                out.writeByte(outsideLeafFlags);
+            }
+
+            return RegionBSPTree3D.read(ByteBuffer.wrap(bytes.toByteArray()), TEST_PRECISION);
+        } catch (IOException exc) {
+            throw new UncheckedIOException(exc);
+        }
+    }
+
+    private static RegionBSPTree3D createCube(final Vector3D center, final double size) {
+        return Parallelepiped.builder(TEST_PRECISION)
+                .setPosition(center)
+                .setScale(size)
+                .build()
+                .toTree();
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.threed;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.apache.commons.geometry.core.GeometryTestUtils;
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
+import org.apache.commons.geometry.core.precision.EpsilonDoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.EuclideanTestUtils;
+import org.apache.commons.geometry.euclidean.threed.RegionBSPTree3D.PartitionedRegionBuilder3D;
+import org.apache.commons.geometry.euclidean.threed.shape.Parallelepiped;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PartitionedRegionBuilder3DTest {
+
+    private static final double TEST_EPS = 1e-10;
+
+    private static final DoublePrecisionContext TEST_PRECISION =
+            new EpsilonDoublePrecisionContext(TEST_EPS);
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @Test
+    public void testPartitionedRegionBuilder_halfSpace() {
+        // act
+        RegionBSPTree3D tree = RegionBSPTree3D.partitionedRegionBuilder()
+                .insertPartition(
+                    Planes.fromPointAndNormal(Vector3D.ZERO, Vector3D.Unit.PLUS_Z, TEST_PRECISION))
+                .insertBoundary(
+                        Planes.fromPointAndNormal(Vector3D.ZERO, Vector3D.Unit.MINUS_Z, TEST_PRECISION).span())
+                .build();
+
+        // assert
+        Assert.assertFalse(tree.isFull());
+        Assert.assertTrue(tree.isInfinite());
+
+        EuclideanTestUtils.assertRegionLocation(tree, RegionLocation.INSIDE, Vector3D.of(0, 0, 1));
+        EuclideanTestUtils.assertRegionLocation(tree, RegionLocation.BOUNDARY, Vector3D.ZERO);
+        EuclideanTestUtils.assertRegionLocation(tree, RegionLocation.OUTSIDE, Vector3D.of(0, 0, -1));
+    }
+
+    @Test
+    public void testPartitionedRegionBuilder_cube() {
+        // arrange
+        Parallelepiped cube = Parallelepiped.unitCube(TEST_PRECISION);
+        List<PlaneConvexSubset> boundaries = cube.getBoundaries();
+
+        Vector3D lowerBound = Vector3D.of(-2, -2, -2);
+
+        int maxUpper = 5;
+        int maxLevel = 4;
+
+        // act/assert
+        Bounds3D bounds;
+        for (int u = 0; u <= maxUpper; ++u) {
+            for (int level = 0; level <= maxLevel; ++level) {
+                bounds = Bounds3D.from(lowerBound, Vector3D.of(u, u, u));
+
+                checkFinitePartitionedRegion(bounds, level, cube);
+                checkFinitePartitionedRegion(bounds, level, boundaries);
+            }
+        }
+    }
+
+    @Test
+    public void testPartitionedRegionBuilder_nonConvex() {
+        // arrange
+        RegionBSPTree3D src = Parallelepiped.unitCube(TEST_PRECISION).toTree();
+        src.union(Parallelepiped.axisAligned(Vector3D.ZERO, Vector3D.of(1, 1, 1), TEST_PRECISION).toTree());
+
+        List<PlaneConvexSubset> boundaries = src.getBoundaries();
+
+        Vector3D lowerBound = Vector3D.of(-2, -2, -2);
+
+        int maxUpper = 5;
+        int maxLevel = 4;
+
+        // act/assert
+        Bounds3D bounds;
+        for (int u = 0; u <= maxUpper; ++u) {
+            for (int level = 0; level <= maxLevel; ++level) {
+                bounds = Bounds3D.from(lowerBound, Vector3D.of(u, u, u));
+
+                checkFinitePartitionedRegion(bounds, level, src);
+                checkFinitePartitionedRegion(bounds, level, boundaries);
+            }
+        }
+    }
+
+    @Test
+    public void testPartitionedRegionBuilder_insertPartitionAfterBoundary() {
+        // arrange
+        PartitionedRegionBuilder3D builder = RegionBSPTree3D.partitionedRegionBuilder();
+        builder.insertBoundary(Planes.triangleFromVertices(
+                Vector3D.ZERO, Vector3D.of(1, 0, 0), Vector3D.of(0, 1, 0), TEST_PRECISION));
+
+        Plane partition = Planes.fromNormal(Vector3D.Unit.PLUS_Z, TEST_PRECISION);
+
+        String msg = "Cannot insert partitions after boundaries have been inserted";
+
+        // act/assert
+        GeometryTestUtils.assertThrows(() -> {
+            builder.insertPartition(partition);
+        }, IllegalStateException.class, msg);
+
+        GeometryTestUtils.assertThrows(() -> {
+            builder.insertPartition(partition.span());
+        }, IllegalStateException.class, msg);
+
+        GeometryTestUtils.assertThrows(() -> {
+            builder.insertAxisAlignedPartitions(Vector3D.ZERO, TEST_PRECISION);
+        }, IllegalStateException.class, msg);
+
+        GeometryTestUtils.assertThrows(() -> {
+            builder.insertAxisAlignedGrid(Bounds3D.from(Vector3D.ZERO, Vector3D.of(1, 1, 1)), 1, TEST_PRECISION);
+        }, IllegalStateException.class, msg);
+    }
+
+    /** Check that a partitioned BSP tree behaves the same as a non-partitioned tree when
+     * constructed with the given boundary source.
+     * @param bounds
+     * @param level
+     * @param src
+     */
+    private void checkFinitePartitionedRegion(Bounds3D bounds, int level, BoundarySource3D src) {
+        // arrange
+        String msg = "Partitioned region check failed with bounds= " + bounds + " and level= " + level;
+
+        RegionBSPTree3D standard = RegionBSPTree3D.from(src.boundaryStream().collect(Collectors.toList()));
+
+        // act
+        RegionBSPTree3D partitioned = RegionBSPTree3D.partitionedRegionBuilder()
+                .insertAxisAlignedGrid(bounds, level, TEST_PRECISION)
+                .insertBoundaries(src)
+                .build();
+
+        RegionBSPTree3D parallel = RegionBSPTree3D.partitionedRegionBuilder()
+                .insertAxisAlignedGrid(bounds, level, TEST_PRECISION)
+                .insertBoundaries(src)
+                .build(POOL);
+
+        // assert
+        checkSameRegion(msg, standard, partitioned);
+        checkSameRegion(msg + " (parallel)", standard, parallel);
+    }
+
+    /** Check that a partitioned BSP tree behaves the same as a non-partitioned tree when
+     * constructed with the given boundaries.
+     * @param bounds
+     * @param level
+     * @param boundaries
+     */
+    private void checkFinitePartitionedRegion(Bounds3D bounds, int level,
+            List<? extends PlaneConvexSubset> boundaries) {
+        // arrange
+        String msg = "Partitioned region check failed with bounds= " + bounds + " and level= " + level;
+
+        RegionBSPTree3D standard = RegionBSPTree3D.from(boundaries);
+
+        // act
+        RegionBSPTree3D partitioned = RegionBSPTree3D.partitionedRegionBuilder()
+                .insertAxisAlignedGrid(bounds, level, TEST_PRECISION)
+                .insertBoundaries(boundaries)
+                .build();
+
+        RegionBSPTree3D parallel = RegionBSPTree3D.partitionedRegionBuilder()
+                .insertAxisAlignedGrid(bounds, level, TEST_PRECISION)
+                .insertBoundaries(boundaries)
+                .build(POOL);
+
+        // assert
+        checkSameRegion(msg, standard, partitioned);
+        checkSameRegion(msg + " (parallel)", standard, parallel);
+    }
+
+    /** Check that the given trees represent the same region.
+     * @param msg failure message
+     * @param expected expected region
+     * @param actual actual region
+     */
+    private void checkSameRegion(String msg, RegionBSPTree3D expected, RegionBSPTree3D actual) {
+        Assert.assertEquals(msg, expected.getSize(), actual.getSize(), TEST_EPS);
+        Assert.assertEquals(msg, expected.getBoundarySize(), actual.getBoundarySize(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(expected.getCentroid(), actual.getCentroid(), TEST_EPS);
+
+        RegionBSPTree3D diff = RegionBSPTree3D.empty();
+        diff.difference(actual, expected);
+        Assert.assertTrue(msg, diff.isEmpty());
+    }
+}
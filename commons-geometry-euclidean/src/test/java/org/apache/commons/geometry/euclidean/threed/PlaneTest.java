@@ -21,6 +21,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.apache.commons.geometry.core.GeometryTestUtils;
+import org.apache.commons.geometry.core.partitioning.HyperplaneLocation;
 import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
 import org.apache.commons.geometry.core.precision.EpsilonDoublePrecisionContext;
 import org.apache.commons.geometry.euclidean.EuclideanTestUtils;
@@ -403,6 +404,52 @@ public class PlaneTest {
         });
     }
 
+    @Test
+    public void testContains_point_exactPredicates() {
+        // arrange
+        DoublePrecisionContext precision = new EpsilonDoublePrecisionContext(TEST_EPS, true);
+        Plane plane = Planes.fromPointAndNormal(Vector3D.of(0, 0, 1), Vector3D.of(0, 0, 1), precision);
+        double halfEps = 0.5 * TEST_EPS;
+
+        // act/assert
+        EuclideanTestUtils.permute(-100, 100, 5, (x, y) -> {
+
+            Assert.assertTrue(plane.contains(Vector3D.of(x, y, 1)));
+            Assert.assertTrue(plane.contains(Vector3D.of(x, y, 1 + halfEps)));
+            Assert.assertTrue(plane.contains(Vector3D.of(x, y, 1 - halfEps)));
+
+            Assert.assertFalse(plane.contains(Vector3D.of(x, y, 0.5)));
+            Assert.assertFalse(plane.contains(Vector3D.of(x, y, 1.5)));
+        });
+    }
+
+    @Test
+    public void testClassify_exactPredicates() {
+        // arrange
+        DoublePrecisionContext exact = new EpsilonDoublePrecisionContext(0, true);
+        Plane plane = Planes.fromPointAndNormal(Vector3D.of(1, 1, 1), Vector3D.of(1, 1, 0), exact);
+        Plane approx = Planes.fromPointAndNormal(Vector3D.of(1, 1, 1), Vector3D.of(1, 1, 0), TEST_PRECISION);
+
+        // act/assert
+        EuclideanTestUtils.permute(-10, 10, 2.5, (x, y, z) -> {
+            Vector3D pt = Vector3D.of(x, y, z);
+            Assert.assertEquals(approx.classify(pt), plane.classify(pt));
+        });
+
+        // a point exactly on the plane is classified as such, with no tolerance
+        Vector3D on = Vector3D.of(2, 0, 5);
+        Assert.assertEquals(HyperplaneLocation.ON, plane.classify(on));
+        Assert.assertTrue(plane.contains(on));
+
+        // a single ulp from the plane is enough to move a point off of it
+        Vector3D plus = Vector3D.of(2, Math.ulp(1.0), 5);
+        Vector3D minus = Vector3D.of(2, -Math.ulp(1.0), 5);
+        Assert.assertEquals(HyperplaneLocation.PLUS, plane.classify(plus));
+        Assert.assertEquals(HyperplaneLocation.MINUS, plane.classify(minus));
+        Assert.assertFalse(plane.contains(plus));
+        Assert.assertFalse(plane.contains(minus));
+    }
+
     @Test
     public void testContains_line() {
         // arrange
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.threed;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.commons.geometry.core.GeometryTestUtils;
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
+import org.apache.commons.geometry.core.precision.EpsilonDoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.EuclideanTestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RegionBSPTree3DBatchClassifyTest {
+
+    private static final double TEST_EPS = 1e-10;
+
+    private static final DoublePrecisionContext TEST_PRECISION =
+            new EpsilonDoublePrecisionContext(TEST_EPS);
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @Test
+    public void testClassify_batch() {
+        // arrange
+        RegionBSPTree3D tree = EuclideanTestUtils.createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1), TEST_PRECISION);
+        tree.union(EuclideanTestUtils.createRect(Vector3D.of(0.5, 0.5, 0.5), Vector3D.of(2, 2, 2), TEST_PRECISION));
+
+        double[] values = {-1, 0, 0.25, 0.5, 1, 1.5, 2, 3, Double.NaN, Double.POSITIVE_INFINITY};
+        int n = values.length * values.length * values.length;
+
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        double[] zs = new double[n];
+        int i = 0;
+        for (double x : values) {
+            for (double y : values) {
+                for (double z : values) {
+                    xs[i] = x;
+                    ys[i] = y;
+                    zs[i] = z;
+                    ++i;
+                }
+            }
+        }
+
+        RegionLocation[] out = new RegionLocation[n];
+
+        // act
+        tree.classify(xs, ys, zs, out);
+
+        // assert
+        for (i = 0; i < n; ++i) {
+            Assert.assertEquals(tree.classify(Vector3D.of(xs[i], ys[i], zs[i])), out[i]);
+        }
+
+        List<RegionLocation> locations = Arrays.asList(out);
+        Assert.assertTrue(locations.contains(RegionLocation.INSIDE));
+        Assert.assertTrue(locations.contains(RegionLocation.BOUNDARY));
+        Assert.assertTrue(locations.contains(RegionLocation.OUTSIDE));
+    }
+
+    @Test
+    public void testClassify_batch_parallel() {
+        // arrange
+        RegionBSPTree3D tree = EuclideanTestUtils.createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1), TEST_PRECISION);
+        tree.difference(EuclideanTestUtils.createRect(Vector3D.of(0.25, 0.25, -1), Vector3D.of(0.75, 0.75, 2),
+                TEST_PRECISION));
+
+        int n = 10_000;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        double[] zs = new double[n];
+
+        Random rnd = new Random(2L);
+        for (int i = 0; i < n; ++i) {
+            // round to a grid so that many of the points lie on the region boundary
+            xs[i] = Math.round(rnd.nextDouble() * 12) * 0.125 - 0.25;
+            ys[i] = Math.round(rnd.nextDouble() * 12) * 0.125 - 0.25;
+            zs[i] = Math.round(rnd.nextDouble() * 12) * 0.125 - 0.25;
+        }
+
+        RegionLocation[] expected = new RegionLocation[n];
+        tree.classify(xs, ys, zs, expected);
+
+        RegionLocation[] out = new RegionLocation[n];
+
+        // act
+        tree.classify(xs, ys, zs, out, POOL);
+
+        // assert
+        Assert.assertArrayEquals(expected, out);
+        Assert.assertTrue(Arrays.asList(out).contains(RegionLocation.BOUNDARY));
+    }
+
+    @Test
+    public void testClassify_batch_empty() {
+        // arrange
+        RegionBSPTree3D tree = RegionBSPTree3D.full();
+
+        RegionLocation[] out = new RegionLocation[0];
+
+        // act
+        tree.classify(new double[0], new double[0], new double[0], out);
+        tree.classify(new double[0], new double[0], new double[0], out, POOL);
+
+        // assert
+        Assert.assertEquals(0, out.length);
+    }
+
+    @Test
+    public void testClassify_batch_invalidArgs() {
+        // arrange
+        RegionBSPTree3D tree = RegionBSPTree3D.full();
+        String msg = "Coordinate and output arrays must have the same length; found [2, 1, 2, 2]";
+
+        // act/assert
+        GeometryTestUtils.assertThrows(() -> {
+            tree.classify(new double[2], new double[1], new double[2], new RegionLocation[2]);
+        }, IllegalArgumentException.class, msg);
+        GeometryTestUtils.assertThrows(() -> {
+            tree.classify(new double[2], new double[1], new double[2], new RegionLocation[2], POOL);
+        }, IllegalArgumentException.class, msg);
+        GeometryTestUtils.assertThrows(() -> {
+            tree.classify(new double[2], new double[2], new double[2], new RegionLocation[3]);
+        }, IllegalArgumentException.class, "Coordinate and output arrays must have the same length; found [2, 2, 2, 3]");
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.threed;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
+import org.apache.commons.geometry.core.precision.EpsilonDoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.EuclideanTestUtils;
+import org.apache.commons.geometry.euclidean.threed.line.Lines3D;
+import org.apache.commons.geometry.euclidean.threed.line.Ray3D;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RegionBSPTree3DBatchLinecastTest {
+
+    private static final double TEST_EPS = 1e-10;
+
+    private static final DoublePrecisionContext TEST_PRECISION =
+            new EpsilonDoublePrecisionContext(TEST_EPS);
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @Test
+    public void testLinecastFirst_batch() {
+        // arrange
+        RegionBSPTree3D tree = EuclideanTestUtils.createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1), TEST_PRECISION);
+        tree.difference(EuclideanTestUtils.createRect(Vector3D.of(0.25, 0.25, -1), Vector3D.of(0.75, 0.75, 2),
+                TEST_PRECISION));
+
+        double[] origins = {
+            -1, 0.5, 0.5,
+            0.5, 0.5, -1,
+            0.1, 0.1, 0.5,
+            0.5, 0.5, 0.5
+        };
+        double[] directions = {
+            1, 0, 0,
+            0, 0, 1,
+            0, 0, 0.5,
+            1, 0, 0
+        };
+
+        double[] abscissas = new double[4];
+        double[] normals = new double[12];
+        boolean[] hits = new boolean[4];
+
+        // act
+        tree.linecastFirst(origins, directions, abscissas, normals, hits);
+
+        // assert
+        Assert.assertTrue(Arrays.equals(new boolean[] {true, false, true, true}, hits));
+        Assert.assertArrayEquals(new double[] {1, Double.NaN, 1, 0.25}, abscissas, TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.Unit.MINUS_X,
+                Vector3D.of(normals[0], normals[1], normals[2]), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.Unit.PLUS_Z,
+                Vector3D.of(normals[6], normals[7], normals[8]), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.Unit.MINUS_X,
+                Vector3D.of(normals[9], normals[10], normals[11]), TEST_EPS);
+
+        // act/assert
+        boolean[] parallelHits = new boolean[4];
+        double[] parallelAbscissas = new double[4];
+        tree.linecastFirst(origins, directions, parallelAbscissas, new double[12], parallelHits, POOL);
+
+        Assert.assertTrue(Arrays.equals(hits, parallelHits));
+        Assert.assertArrayEquals(abscissas, parallelAbscissas, 0);
+
+        // act/assert
+        List<Ray3D> rays = Arrays.asList(
+                Lines3D.fromPointAndDirection(Vector3D.of(-1, 0.5, 0.5), Vector3D.Unit.PLUS_X, TEST_PRECISION)
+                    .rayFrom(Vector3D.of(-1, 0.5, 0.5)),
+                Lines3D.fromPointAndDirection(Vector3D.of(0.5, 0.5, -1), Vector3D.Unit.PLUS_Z, TEST_PRECISION)
+                    .rayFrom(Vector3D.of(0.5, 0.5, -1)));
+        boolean[] rayHits = new boolean[2];
+        double[] rayAbscissas = new double[2];
+        tree.linecastFirst(rays, rayAbscissas, new double[6], rayHits);
+
+        Assert.assertTrue(Arrays.equals(new boolean[] {true, false}, rayHits));
+        Assert.assertEquals(1, rayAbscissas[0], TEST_EPS);
+    }
+
+    @Test
+    public void testLinecastFirst_batch_treeModifiedBetweenCalls() {
+        // arrange
+        RegionBSPTree3D tree = EuclideanTestUtils.createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1), TEST_PRECISION);
+
+        double[] origins = {-1, 0.5, 0.5};
+        double[] directions = {1, 0, 0};
+
+        double[] abscissas = new double[1];
+        double[] normals = new double[3];
+        boolean[] hits = new boolean[1];
+
+        // act/assert
+        tree.linecastFirst(origins, directions, abscissas, normals, hits);
+        Assert.assertTrue(hits[0]);
+        Assert.assertEquals(1, abscissas[0], TEST_EPS);
+
+        tree.union(EuclideanTestUtils.createRect(Vector3D.of(-0.5, 0, 0), Vector3D.of(0, 1, 1), TEST_PRECISION));
+        tree.linecastFirst(origins, directions, abscissas, normals, hits);
+        Assert.assertTrue(hits[0]);
+        Assert.assertEquals(0.5, abscissas[0], TEST_EPS);
+
+        tree.setEmpty();
+        tree.linecastFirst(origins, directions, abscissas, normals, hits, POOL);
+        Assert.assertFalse(hits[0]);
+
+        tree.setFull();
+        tree.setCompactMode(true);
+        tree.getRoot().cut(Planes.fromPointAndNormal(Vector3D.ZERO, Vector3D.Unit.PLUS_X, TEST_PRECISION));
+        tree.linecastFirst(origins, directions, abscissas, normals, hits);
+        Assert.assertTrue(hits[0]);
+        Assert.assertEquals(1, abscissas[0], TEST_EPS);
+        Assert.assertEquals(1, normals[0], TEST_EPS);
+
+        tree.complement();
+        tree.linecastFirst(origins, directions, abscissas, normals, hits);
+        Assert.assertTrue(hits[0]);
+        Assert.assertEquals(1, abscissas[0], TEST_EPS);
+        Assert.assertEquals(-1, normals[0], TEST_EPS);
+    }
+}
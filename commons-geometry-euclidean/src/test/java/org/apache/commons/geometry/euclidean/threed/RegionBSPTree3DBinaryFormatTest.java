@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.threed;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
+
+import org.apache.commons.geometry.core.GeometryTestUtils;
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
+import org.apache.commons.geometry.core.precision.EpsilonDoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.EuclideanTestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RegionBSPTree3DBinaryFormatTest {
+
+    private static final double TEST_EPS = 1e-10;
+
+    private static final DoublePrecisionContext TEST_PRECISION =
+            new EpsilonDoublePrecisionContext(TEST_EPS);
+
+    @Test
+    public void testWriteRead() {
+        // arrange
+        RegionBSPTree3D tree = EuclideanTestUtils.createRect(Vector3D.ZERO, Vector3D.of(2, 2, 2), TEST_PRECISION);
+        tree.difference(EuclideanTestUtils.createRect(Vector3D.of(1, 1, 1), Vector3D.of(3, 3, 3), TEST_PRECISION));
+
+        byte[] bytes = writeToBytes(tree);
+
+        // act
+        RegionBSPTree3D result = RegionBSPTree3D.read(
+                new DataInputStream(new ByteArrayInputStream(bytes)), TEST_PRECISION);
+
+        // assert
+        Assert.assertEquals(tree.count(), result.count());
+        Assert.assertEquals(tree.height(), result.height());
+
+        Assert.assertEquals(7, result.getSize(), TEST_EPS);
+        Assert.assertEquals(24, result.getBoundarySize(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(tree.getCentroid(), result.getCentroid(), TEST_EPS);
+
+        EuclideanTestUtils.assertRegionLocation(result, RegionLocation.INSIDE,
+                Vector3D.of(0.5, 0.5, 0.5), Vector3D.of(1.5, 0.5, 1.5));
+        EuclideanTestUtils.assertRegionLocation(result, RegionLocation.BOUNDARY,
+                Vector3D.ZERO, Vector3D.of(1, 1, 1), Vector3D.of(1.5, 1.5, 1));
+        EuclideanTestUtils.assertRegionLocation(result, RegionLocation.OUTSIDE,
+                Vector3D.of(1.5, 1.5, 1.5), Vector3D.of(-1, 0, 0));
+    }
+
+    @Test
+    public void testWriteRead_infiniteCuts() {
+        // arrange
+        RegionBSPTree3D tree = RegionBSPTree3D.empty();
+        tree.insert(Planes.fromNormal(Vector3D.Unit.PLUS_Z, TEST_PRECISION).span());
+        tree.insert(Planes.fromPointAndNormal(Vector3D.of(1, 0, 0), Vector3D.of(1, 1, 0), TEST_PRECISION).span());
+        tree.union(EuclideanTestUtils.createRect(Vector3D.of(-3, -3, 1), Vector3D.of(-2, -2, 2), TEST_PRECISION));
+
+        ByteBuffer buffer = ByteBuffer.wrap(writeToBytes(tree));
+
+        // act
+        RegionBSPTree3D result = RegionBSPTree3D.read(buffer, TEST_PRECISION);
+
+        // assert
+        Assert.assertFalse(buffer.hasRemaining());
+        Assert.assertEquals(tree.count(), result.count());
+        Assert.assertEquals(tree.height(), result.height());
+        GeometryTestUtils.assertPositiveInfinity(result.getSize());
+
+        for (double x = -4; x <= 4; x += 0.5) {
+            for (double y = -4; y <= 4; y += 0.5) {
+                for (double z = -1; z <= 3; z += 0.5) {
+                    Vector3D pt = Vector3D.of(x, y, z);
+                    Assert.assertEquals(tree.classify(pt), result.classify(pt));
+                }
+            }
+        }
+    }
+
+    private static byte[] writeToBytes(RegionBSPTree3D tree) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        tree.write(new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.threed;
+
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
+import org.apache.commons.geometry.core.precision.EpsilonDoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.EuclideanTestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RegionBSPTree3DOptimizeTest {
+
+    private static final double TEST_EPS = 1e-10;
+
+    private static final DoublePrecisionContext TEST_PRECISION =
+            new EpsilonDoublePrecisionContext(TEST_EPS);
+
+    @Test
+    public void testOptimize() {
+        // arrange
+        RegionBSPTree3D tree = RegionBSPTree3D.empty();
+        for (int i = 0; i < 5; ++i) {
+            tree.union(EuclideanTestUtils.createRect(Vector3D.of(0.5 * i, 0, 0), Vector3D.of((0.5 * i) + 1, 1, 1),
+                    TEST_PRECISION));
+        }
+
+        int count = tree.count();
+        int height = tree.height();
+
+        // act
+        RegionBSPTree3D.OptimizationResult result = tree.optimize();
+
+        // assert
+        Assert.assertTrue(result.isModified());
+        Assert.assertEquals(count, result.getCountBefore());
+        Assert.assertEquals(height, result.getHeightBefore());
+        Assert.assertEquals(13, result.getCountAfter());
+        Assert.assertEquals(6, result.getHeightAfter());
+
+        Assert.assertEquals(13, tree.count());
+        Assert.assertEquals(6, tree.height());
+
+        Assert.assertEquals(3, tree.getSize(), TEST_EPS);
+        Assert.assertEquals(14, tree.getBoundarySize(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(1.5, 0.5, 0.5), tree.getCentroid(), TEST_EPS);
+
+        EuclideanTestUtils.assertRegionLocation(tree, RegionLocation.INSIDE,
+                Vector3D.of(0.25, 0.5, 0.5), Vector3D.of(2.75, 0.5, 0.5));
+        EuclideanTestUtils.assertRegionLocation(tree, RegionLocation.BOUNDARY,
+                Vector3D.of(0, 0.5, 0.5), Vector3D.of(3, 0.5, 0.5), Vector3D.of(1.5, 0, 0.5), Vector3D.of(1.5, 0.5, 1));
+        EuclideanTestUtils.assertRegionLocation(tree, RegionLocation.OUTSIDE,
+                Vector3D.of(-1, 0.5, 0.5), Vector3D.of(4, 0.5, 0.5), Vector3D.of(1.5, 2, 0.5));
+    }
+}
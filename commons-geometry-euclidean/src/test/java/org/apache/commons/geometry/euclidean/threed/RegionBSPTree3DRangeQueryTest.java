@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.threed;
+
+import java.util.List;
+
+import org.apache.commons.geometry.core.GeometryTestUtils;
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
+import org.apache.commons.geometry.core.precision.EpsilonDoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.EuclideanTestUtils;
+import org.apache.commons.geometry.euclidean.threed.RegionBSPTree3D.RegionNode3D;
+import org.apache.commons.geometry.euclidean.threed.shape.Parallelepiped;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RegionBSPTree3DRangeQueryTest {
+
+    private static final double TEST_EPS = 1e-10;
+
+    private static final DoublePrecisionContext TEST_PRECISION =
+            new EpsilonDoublePrecisionContext(TEST_EPS);
+
+    @Test
+    public void testToConvex_bounds() {
+        // arrange
+        RegionBSPTree3D tree = boxes(4, 5, 6, 5, 6, 7, 0, 0, 0, 2, 1, 1);
+        Bounds3D bounds = bounds(1, -1, -1, 3, 3, 3);
+
+        // act
+        List<ConvexVolume> result = tree.toConvex(bounds, TEST_PRECISION);
+
+        // assert
+        Assert.assertEquals(1, result.size());
+
+        ConvexVolume vol = result.get(0);
+        Assert.assertEquals(1, vol.getSize(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(1.5, 0.5, 0.5), vol.getCentroid(), TEST_EPS);
+    }
+
+    @Test
+    public void testToConvex_bounds_noIntersection() {
+        // arrange
+        RegionBSPTree3D tree = boxes(0, 0, 0, 2, 1, 1);
+
+        // act/assert
+        Assert.assertEquals(0, tree.toConvex(bounds(3, 0, 0, 4, 1, 1), TEST_PRECISION).size());
+        Assert.assertEquals(0, tree.toConvex(bounds(2, 0, 0, 4, 1, 1), TEST_PRECISION).size());
+        Assert.assertEquals(0, RegionBSPTree3D.empty().toConvex(bounds(0, 0, 0, 1, 1, 1), TEST_PRECISION).size());
+    }
+
+    @Test
+    public void testToConvex_bounds_full() {
+        // arrange
+        RegionBSPTree3D tree = RegionBSPTree3D.full();
+
+        // act
+        List<ConvexVolume> result = tree.toConvex(bounds(0, 0, 0, 1, 2, 3), TEST_PRECISION);
+
+        // assert
+        Assert.assertEquals(1, result.size());
+        Assert.assertEquals(6, result.get(0).getSize(), TEST_EPS);
+    }
+
+    @Test
+    public void testToConvex_bounds_matchesIntersection() {
+        // arrange
+        RegionBSPTree3D tree = RegionBSPTree3D.empty();
+        for (int x = 0; x < 3; ++x) {
+            for (int y = 0; y < 3; ++y) {
+                for (int z = 0; z < 3; ++z) {
+                    tree.union(boxes(2 * x, 2 * y, 2 * z, (2 * x) + 1, (2 * y) + 1, (2 * z) + 1));
+                }
+            }
+        }
+        tree.union(EuclideanTestUtils.createSphere(Vector3D.of(2.5, 2.5, 2.5), 1.2, 8, 16, TEST_PRECISION));
+
+        Bounds3D bounds = bounds(0.5, 1.5, -1, 3.25, 4.75, 2.5);
+
+        RegionBSPTree3D expected = tree.copy();
+        expected.intersection(bounds.toRegion(TEST_PRECISION).toTree());
+
+        // act
+        List<ConvexVolume> result = tree.toConvex(bounds, TEST_PRECISION);
+
+        // assert
+        Assert.assertEquals(expected.toConvex().size(), result.size());
+
+        RegionBSPTree3D actual = RegionBSPTree3D.empty();
+        for (ConvexVolume vol : result) {
+            Assert.assertTrue(bounds.contains(vol.getCentroid()));
+            actual.union(vol.toTree());
+        }
+
+        Assert.assertEquals(expected.getSize(), actual.getSize(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(expected.getCentroid(), actual.getCentroid(), TEST_EPS);
+    }
+
+    @Test
+    public void testToConvex_bounds_invalidBounds() {
+        // arrange
+        RegionBSPTree3D tree = boxes(0, 0, 0, 2, 1, 1);
+
+        // act/assert
+        GeometryTestUtils.assertThrows(() -> {
+            tree.toConvex(bounds(0, 0, 0, 1, 1, 0), TEST_PRECISION);
+        }, IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testGetInsideLeaves_bounds() {
+        // arrange
+        RegionBSPTree3D tree = boxes(4, 5, 6, 5, 6, 7, 0, 0, 0, 2, 1, 1, 0, 3, 0, 1, 4, 1);
+        Bounds3D bounds = bounds(-1, -1, -1, 3, 3.5, 3);
+
+        // act
+        List<RegionNode3D> result = tree.getInsideLeaves(bounds, TEST_PRECISION);
+
+        // assert
+        List<ConvexVolume> volumes = tree.toConvex(bounds, TEST_PRECISION);
+        Assert.assertEquals(volumes.size(), result.size());
+
+        double size = 0;
+        for (int i = 0; i < result.size(); ++i) {
+            RegionNode3D node = result.get(i);
+
+            Assert.assertTrue(node.isLeaf());
+            Assert.assertTrue(node.isInside());
+            Assert.assertSame(tree, node.getTree());
+
+            ConvexVolume nodeRegion = node.getNodeRegion();
+            Assert.assertEquals(RegionLocation.INSIDE, nodeRegion.classify(volumes.get(i).getCentroid()));
+
+            size += nodeRegion.getSize();
+        }
+
+        Assert.assertEquals(3, size, TEST_EPS);
+    }
+
+    /** Create a tree containing the union of axis-aligned boxes. Each box is specified by the coordinates
+     * of its minimum corner followed by the coordinates of its maximum corner.
+     * @param coordinates box corner coordinates
+     * @return the tree
+     */
+    private static RegionBSPTree3D boxes(final double... coordinates) {
+        final RegionBSPTree3D tree = RegionBSPTree3D.empty();
+        for (int i = 0; i < coordinates.length; i += 6) {
+            tree.union(Parallelepiped.axisAligned(
+                    Vector3D.of(coordinates[i], coordinates[i + 1], coordinates[i + 2]),
+                    Vector3D.of(coordinates[i + 3], coordinates[i + 4], coordinates[i + 5]), TEST_PRECISION).toTree());
+        }
+        return tree;
+    }
+
+    private static Bounds3D bounds(final double minX, final double minY, final double minZ,
+            final double maxX, final double maxY, final double maxZ) {
+        return Bounds3D.from(Vector3D.of(minX, minY, minZ), Vector3D.of(maxX, maxY, maxZ));
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.threed;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.commons.geometry.core.GeometryTestUtils;
+import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
+import org.apache.commons.geometry.core.precision.EpsilonDoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.EuclideanTestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RegionBSPTree3DSplitAllTest {
+
+    private static final double TEST_EPS = 1e-10;
+
+    private static final DoublePrecisionContext TEST_PRECISION =
+            new EpsilonDoublePrecisionContext(TEST_EPS);
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @Test
+    public void testSplitAll_parallelPlanes() {
+        // arrange
+        RegionBSPTree3D tree = EuclideanTestUtils.createRect(Vector3D.of(-0.5, -0.5, -0.5), Vector3D.of(0.5, 0.5,
+                0.5), TEST_PRECISION);
+
+        List<Plane> splitters = new ArrayList<>();
+        for (int i = -3; i <= 3; ++i) {
+            splitters.add(Planes.fromPointAndNormal(Vector3D.of(0, 0, 0.125 * i), Vector3D.Unit.PLUS_Z,
+                    TEST_PRECISION));
+        }
+        splitters.add(Planes.fromPointAndNormal(Vector3D.of(0, 0, 1), Vector3D.Unit.PLUS_Z, TEST_PRECISION));
+
+        // act
+        List<RegionBSPTree3D> result = tree.splitAll(splitters);
+
+        // assert
+        Assert.assertEquals(9, result.size());
+        for (int i = 0; i < 8; ++i) {
+            RegionBSPTree3D slab = result.get(i);
+
+            Assert.assertEquals(0.125, slab.getSize(), TEST_EPS);
+            EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(0, 0, (0.125 * i) - 0.4375),
+                    slab.getCentroid(), TEST_EPS);
+        }
+        Assert.assertNull(result.get(8));
+
+        Assert.assertEquals(1, tree.getSize(), TEST_EPS);
+    }
+
+    @Test
+    public void testSplitAll_pool() {
+        // arrange
+        RegionBSPTree3D tree = EuclideanTestUtils.createSphere(Vector3D.ZERO, 1, 8, 16, TEST_PRECISION);
+        tree.union(EuclideanTestUtils.createSphere(Vector3D.of(1.5, 0, 0), 1, 8, 16, TEST_PRECISION));
+
+        Vector3D normal = Vector3D.of(1, 0.5, 0.25).normalize();
+        List<Plane> splitters = new ArrayList<>();
+        for (int i = -10; i <= 10; ++i) {
+            splitters.add(Planes.fromPointAndNormal(normal.multiply(0.2 * i), normal, TEST_PRECISION));
+        }
+
+        // act
+        List<RegionBSPTree3D> expected = tree.splitAll(splitters);
+        List<RegionBSPTree3D> result = tree.splitAll(splitters, POOL);
+
+        // assert
+        Assert.assertEquals(expected.size(), result.size());
+
+        double size = 0;
+        for (int i = 0; i < expected.size(); ++i) {
+            if (expected.get(i) == null) {
+                Assert.assertNull(result.get(i));
+            } else {
+                Assert.assertEquals(expected.get(i).getSize(), result.get(i).getSize(), TEST_EPS);
+                EuclideanTestUtils.assertCoordinatesEqual(expected.get(i).getCentroid(),
+                        result.get(i).getCentroid(), TEST_EPS);
+
+                size += result.get(i).getSize();
+            }
+        }
+
+        Assert.assertEquals(tree.getSize(), size, TEST_EPS);
+    }
+
+    @Test
+    public void testSplitAll_invalidSplitters() {
+        // arrange
+        RegionBSPTree3D tree = EuclideanTestUtils.createRect(Vector3D.of(-0.5, -0.5, -0.5), Vector3D.of(0.5, 0.5,
+                0.5), TEST_PRECISION);
+
+        Plane x = Planes.fromNormal(Vector3D.Unit.PLUS_X, TEST_PRECISION);
+        Plane y = Planes.fromNormal(Vector3D.Unit.PLUS_Y, TEST_PRECISION);
+        Plane z = Planes.fromNormal(Vector3D.Unit.PLUS_Z, TEST_PRECISION);
+        Plane zUp = Planes.fromPointAndNormal(Vector3D.of(0, 0, 0.25), Vector3D.Unit.PLUS_Z, TEST_PRECISION);
+
+        String msg = "Splitters must be parallel planes with the same orientation, each lying on the plus side " +
+                "of the previous one; invalid splitter at index ";
+
+        // act/assert
+        GeometryTestUtils.assertThrows(() -> tree.splitAll(Arrays.asList(x, y, z)),
+                IllegalArgumentException.class, msg + "1");
+        GeometryTestUtils.assertThrows(() -> tree.splitAll(Arrays.asList(z, zUp, x), POOL),
+                IllegalArgumentException.class, msg + "2");
+        GeometryTestUtils.assertThrows(() -> tree.splitAll(Arrays.asList(z, zUp.reverse())),
+                IllegalArgumentException.class, msg + "1");
+        GeometryTestUtils.assertThrows(() -> tree.splitAll(Arrays.asList(zUp, z)),
+                IllegalArgumentException.class, msg + "1");
+
+        Assert.assertEquals(2, tree.splitAll(Arrays.asList(z, z)).stream().filter(t -> t != null).count());
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.threed;
+
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
+import org.apache.commons.geometry.core.precision.EpsilonDoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.EuclideanTestUtils;
+import org.apache.commons.geometry.euclidean.threed.RegionBSPTree3D.RegionNode3D;
+import org.apache.commons.geometry.euclidean.threed.line.Line3D;
+import org.apache.commons.geometry.euclidean.threed.line.LinecastPoint3D;
+import org.apache.commons.geometry.euclidean.threed.line.Lines3D;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RegionBSPTree3DSubtreeBoundsTest {
+
+    private static final double TEST_EPS = 1e-10;
+
+    private static final DoublePrecisionContext TEST_PRECISION =
+            new EpsilonDoublePrecisionContext(TEST_EPS);
+
+    @Test
+    public void testSubtreeBounds() {
+        // arrange
+        RegionBSPTree3D tree = EuclideanTestUtils.createRect(Vector3D.ZERO, Vector3D.of(1, 2, 3), TEST_PRECISION);
+
+        RegionNode3D leaf = tree.getRoot();
+        while (!leaf.isLeaf()) {
+            leaf = leaf.getPlus();
+        }
+
+        // act/assert
+        Bounds3D bounds = tree.getRoot().getSubtreeBounds();
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.ZERO, bounds.getMin(), 2 * TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(1, 2, 3), bounds.getMax(), 2 * TEST_EPS);
+
+        Assert.assertNull(leaf.getSubtreeBounds());
+
+        tree.union(EuclideanTestUtils.createRect(Vector3D.of(2, 2, 2), Vector3D.of(4, 4, 4), TEST_PRECISION));
+
+        bounds = tree.getRoot().getSubtreeBounds();
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.ZERO, bounds.getMin(), 2 * TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(4, 4, 4), bounds.getMax(), 2 * TEST_EPS);
+    }
+
+    @Test
+    public void testSubtreeBounds_infiniteBoundaries() {
+        // arrange
+        RegionBSPTree3D tree = RegionBSPTree3D.empty();
+        tree.insert(Planes.fromPointAndNormal(Vector3D.ZERO, Vector3D.Unit.PLUS_Y, TEST_PRECISION).span());
+
+        // act/assert
+        Assert.assertNull(tree.getRoot().getSubtreeBounds());
+        Assert.assertNull(RegionBSPTree3D.full().getRoot().getSubtreeBounds());
+    }
+
+    @Test
+    public void testSubtreeBoundsPruning_sameResults() {
+        // arrange
+        RegionBSPTree3D tree = RegionBSPTree3D.empty();
+        for (int i = 0; i < 4; ++i) {
+            tree.union(EuclideanTestUtils.createSphere(Vector3D.of(10 * i, 5 * (i % 2), 0), 2, 6, 8, TEST_PRECISION));
+        }
+        tree.difference(EuclideanTestUtils.createRect(Vector3D.of(-1, -1, -1), Vector3D.of(1, 1, 1), TEST_PRECISION));
+
+        RegionBSPTree3D pruned = tree.copy();
+        pruned.setSubtreeBoundsPruning(true);
+
+        Random rnd = new Random(5L);
+
+        // act/assert
+        Assert.assertFalse(tree.isSubtreeBoundsPruning());
+        Assert.assertTrue(pruned.isSubtreeBoundsPruning());
+
+        for (int i = 0; i < 100; ++i) {
+            Vector3D pt = Vector3D.of(
+                    40 * rnd.nextDouble() - 5, 20 * rnd.nextDouble() - 10, 10 * rnd.nextDouble() - 5);
+            Vector3D dir = Vector3D.of(rnd.nextDouble() - 0.5, rnd.nextDouble() - 0.5, rnd.nextDouble() - 0.5);
+
+            Line3D line = Lines3D.fromPointAndDirection(pt, dir, TEST_PRECISION);
+
+            Assert.assertEquals(tree.linecast(line.span()), pruned.linecast(line.span()));
+            Assert.assertEquals(tree.linecastFirst(line.rayFrom(pt)), pruned.linecastFirst(line.rayFrom(pt)));
+            Assert.assertEquals(tree.project(pt), pruned.project(pt));
+        }
+    }
+
+    @Test
+    public void testSubtreeBoundsPruning_ignoredInCompactMode() {
+        // arrange
+        RegionBSPTree3D tree = EuclideanTestUtils.createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1), TEST_PRECISION);
+        tree.setSubtreeBoundsPruning(true);
+        tree.setCompactMode(true);
+
+        Line3D line = Lines3D.fromPointAndDirection(Vector3D.of(0.5, 0.5, -1), Vector3D.Unit.PLUS_Z, TEST_PRECISION);
+
+        // act
+        List<LinecastPoint3D> results = tree.linecast(line.span());
+
+        // assert
+        Assert.assertEquals(2, results.size());
+    }
+}
@@ -21,6 +21,7 @@ import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 import org.apache.commons.geometry.core.GeometryTestUtils;
@@ -31,15 +32,12 @@ import org.apache.commons.geometry.core.partitioning.bsp.RegionCutRule;
 import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
 import org.apache.commons.geometry.core.precision.EpsilonDoublePrecisionContext;
 import org.apache.commons.geometry.euclidean.EuclideanTestUtils;
-import org.apache.commons.geometry.euclidean.threed.RegionBSPTree3D.PartitionedRegionBuilder3D;
-import org.apache.commons.geometry.euclidean.threed.RegionBSPTree3D.RegionNode3D;
 import org.apache.commons.geometry.euclidean.threed.line.Line3D;
 import org.apache.commons.geometry.euclidean.threed.line.LinecastPoint3D;
 import org.apache.commons.geometry.euclidean.threed.line.Lines3D;
 import org.apache.commons.geometry.euclidean.threed.mesh.TriangleMesh;
 import org.apache.commons.geometry.euclidean.threed.shape.Parallelepiped;
 import org.apache.commons.geometry.euclidean.twod.path.LinePath;
-import org.apache.commons.numbers.angle.PlaneAngleRadians;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -50,6 +48,8 @@ public class RegionBSPTree3DTest {
     private static final DoublePrecisionContext TEST_PRECISION =
             new EpsilonDoublePrecisionContext(TEST_EPS);
 
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
     @Test
     public void testCtor_default() {
         // act
@@ -116,73 +116,6 @@ public class RegionBSPTree3DTest {
                 Vector3D.of(Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE));
     }
 
-    @Test
-    public void testPartitionedRegionBuilder_halfSpace() {
-        // act
-        RegionBSPTree3D tree = RegionBSPTree3D.partitionedRegionBuilder()
-                .insertPartition(
-                    Planes.fromPointAndNormal(Vector3D.ZERO, Vector3D.Unit.PLUS_Z, TEST_PRECISION))
-                .insertBoundary(
-                        Planes.fromPointAndNormal(Vector3D.ZERO, Vector3D.Unit.MINUS_Z, TEST_PRECISION).span())
-                .build();
-
-        // assert
-        Assert.assertFalse(tree.isFull());
-        Assert.assertTrue(tree.isInfinite());
-
-        EuclideanTestUtils.assertRegionLocation(tree, RegionLocation.INSIDE, Vector3D.of(0, 0, 1));
-        EuclideanTestUtils.assertRegionLocation(tree, RegionLocation.BOUNDARY, Vector3D.ZERO);
-        EuclideanTestUtils.assertRegionLocation(tree, RegionLocation.OUTSIDE, Vector3D.of(0, 0, -1));
-    }
-
-    @Test
-    public void testPartitionedRegionBuilder_cube() {
-        // arrange
-        Parallelepiped cube = Parallelepiped.unitCube(TEST_PRECISION);
-        List<PlaneConvexSubset> boundaries = cube.getBoundaries();
-
-        Vector3D lowerBound = Vector3D.of(-2, -2, -2);
-
-        int maxUpper = 5;
-        int maxLevel = 4;
-
-        // act/assert
-        Bounds3D bounds;
-        for (int u = 0; u <= maxUpper; ++u) {
-            for (int level = 0; level <= maxLevel; ++level) {
-                bounds = Bounds3D.from(lowerBound, Vector3D.of(u, u, u));
-
-                checkFinitePartitionedRegion(bounds, level, cube);
-                checkFinitePartitionedRegion(bounds, level, boundaries);
-            }
-        }
-    }
-
-    @Test
-    public void testPartitionedRegionBuilder_nonConvex() {
-        // arrange
-        RegionBSPTree3D src = Parallelepiped.unitCube(TEST_PRECISION).toTree();
-        src.union(Parallelepiped.axisAligned(Vector3D.ZERO, Vector3D.of(1, 1, 1), TEST_PRECISION).toTree());
-
-        List<PlaneConvexSubset> boundaries = src.getBoundaries();
-
-        Vector3D lowerBound = Vector3D.of(-2, -2, -2);
-
-        int maxUpper = 5;
-        int maxLevel = 4;
-
-        // act/assert
-        Bounds3D bounds;
-        for (int u = 0; u <= maxUpper; ++u) {
-            for (int level = 0; level <= maxLevel; ++level) {
-                bounds = Bounds3D.from(lowerBound, Vector3D.of(u, u, u));
-
-                checkFinitePartitionedRegion(bounds, level, src);
-                checkFinitePartitionedRegion(bounds, level, boundaries);
-            }
-        }
-    }
-
     /** Check that a partitioned BSP tree behaves the same as a non-partitioned tree when
      * constructed with the given boundary source.
      * @param bounds
@@ -201,14 +134,14 @@ public class RegionBSPTree3DTest {
                 .insertBoundaries(src)
                 .build();
 
-        // assert
-        Assert.assertEquals(msg, standard.getSize(), partitioned.getSize(), TEST_EPS);
-        Assert.assertEquals(msg, standard.getBoundarySize(), partitioned.getBoundarySize(), TEST_EPS);
-        EuclideanTestUtils.assertCoordinatesEqual(standard.getCentroid(), partitioned.getCentroid(), TEST_EPS);
+        RegionBSPTree3D parallel = RegionBSPTree3D.partitionedRegionBuilder()
+                .insertAxisAlignedGrid(bounds, level, TEST_PRECISION)
+                .insertBoundaries(src)
+                .build(POOL);
 
-        RegionBSPTree3D diff = RegionBSPTree3D.empty();
-        diff.difference(partitioned, standard);
-        Assert.assertTrue(msg, diff.isEmpty());
+        // assert
+        checkSameRegion(msg, standard, partitioned);
+        checkSameRegion(msg + " (parallel)", standard, parallel);
     }
 
     /** Check that a partitioned BSP tree behaves the same as a non-partitioned tree when
@@ -230,43 +163,29 @@ public class RegionBSPTree3DTest {
                 .insertBoundaries(boundaries)
                 .build();
 
-        // assert
-        Assert.assertEquals(msg, standard.getSize(), partitioned.getSize(), TEST_EPS);
-        Assert.assertEquals(msg, standard.getBoundarySize(), partitioned.getBoundarySize(), TEST_EPS);
-        EuclideanTestUtils.assertCoordinatesEqual(standard.getCentroid(), partitioned.getCentroid(), TEST_EPS);
+        RegionBSPTree3D parallel = RegionBSPTree3D.partitionedRegionBuilder()
+                .insertAxisAlignedGrid(bounds, level, TEST_PRECISION)
+                .insertBoundaries(boundaries)
+                .build(POOL);
 
-        RegionBSPTree3D diff = RegionBSPTree3D.empty();
-        diff.difference(partitioned, standard);
-        Assert.assertTrue(msg, diff.isEmpty());
+        // assert
+        checkSameRegion(msg, standard, partitioned);
+        checkSameRegion(msg + " (parallel)", standard, parallel);
     }
 
-    @Test
-    public void testPartitionedRegionBuilder_insertPartitionAfterBoundary() {
-        // arrange
-        PartitionedRegionBuilder3D builder = RegionBSPTree3D.partitionedRegionBuilder();
-        builder.insertBoundary(Planes.triangleFromVertices(
-                Vector3D.ZERO, Vector3D.of(1, 0, 0), Vector3D.of(0, 1, 0), TEST_PRECISION));
-
-        Plane partition = Planes.fromNormal(Vector3D.Unit.PLUS_Z, TEST_PRECISION);
-
-        String msg = "Cannot insert partitions after boundaries have been inserted";
-
-        // act/assert
-        GeometryTestUtils.assertThrows(() -> {
-            builder.insertPartition(partition);
-        }, IllegalStateException.class, msg);
-
-        GeometryTestUtils.assertThrows(() -> {
-            builder.insertPartition(partition.span());
-        }, IllegalStateException.class, msg);
-
-        GeometryTestUtils.assertThrows(() -> {
-            builder.insertAxisAlignedPartitions(Vector3D.ZERO, TEST_PRECISION);
-        }, IllegalStateException.class, msg);
+    /** Check that the given trees represent the same region.
+     * @param msg failure message
+     * @param expected expected region
+     * @param actual actual region
+     */
+    private void checkSameRegion(String msg, RegionBSPTree3D expected, RegionBSPTree3D actual) {
+        Assert.assertEquals(msg, expected.getSize(), actual.getSize(), TEST_EPS);
+        Assert.assertEquals(msg, expected.getBoundarySize(), actual.getBoundarySize(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(expected.getCentroid(), actual.getCentroid(), TEST_EPS);
 
-        GeometryTestUtils.assertThrows(() -> {
-            builder.insertAxisAlignedGrid(Bounds3D.from(Vector3D.ZERO, Vector3D.of(1, 1, 1)), 1, TEST_PRECISION);
-        }, IllegalStateException.class, msg);
+        RegionBSPTree3D diff = RegionBSPTree3D.empty();
+        diff.difference(actual, expected);
+        Assert.assertTrue(msg, diff.isEmpty());
     }
 
     @Test
@@ -286,7 +205,7 @@ public class RegionBSPTree3DTest {
     @Test
     public void testBoundaries() {
         // arrange
-        RegionBSPTree3D tree = createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1));
+        RegionBSPTree3D tree = EuclideanTestUtils.createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1), TEST_PRECISION);
 
         // act
         List<PlaneConvexSubset> facets = new ArrayList<>();
@@ -299,7 +218,7 @@ public class RegionBSPTree3DTest {
     @Test
     public void testGetBoundaries() {
         // arrange
-        RegionBSPTree3D tree = createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1));
+        RegionBSPTree3D tree = EuclideanTestUtils.createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1), TEST_PRECISION);
 
         // act
         List<PlaneConvexSubset> facets = tree.getBoundaries();
@@ -311,7 +230,7 @@ public class RegionBSPTree3DTest {
     @Test
     public void testBoundaryStream() {
         // arrange
-        RegionBSPTree3D tree = createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1));
+        RegionBSPTree3D tree = EuclideanTestUtils.createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1), TEST_PRECISION);
 
         // act
         List<PlaneConvexSubset> facets = tree.boundaryStream().collect(Collectors.toList());
@@ -332,6 +251,44 @@ public class RegionBSPTree3DTest {
         Assert.assertEquals(0, facets.size());
     }
 
+    @Test
+    public void testBoundaryStream_parallel() {
+        // arrange
+        RegionBSPTree3D tree = EuclideanTestUtils.createSphere(Vector3D.ZERO, 1, 8, 16, TEST_PRECISION);
+        tree.union(EuclideanTestUtils.createSphere(Vector3D.of(1.5, 0, 0), 1, 8, 16, TEST_PRECISION));
+
+        List<List<Vector3D>> expected = tree.getBoundaries().stream()
+                .map(PlaneConvexSubset::getVertices)
+                .collect(Collectors.toList());
+
+        // act
+        List<List<Vector3D>> result = tree.boundaryStream().parallel()
+                .map(PlaneConvexSubset::getVertices)
+                .collect(Collectors.toList());
+
+        // assert
+        Assert.assertEquals(expected, result);
+    }
+
+    @Test
+    public void testGetBoundaries_pool() {
+        // arrange
+        RegionBSPTree3D tree = EuclideanTestUtils.createSphere(Vector3D.ZERO, 1, 8, 16, TEST_PRECISION);
+        tree.union(EuclideanTestUtils.createSphere(Vector3D.of(1.5, 0, 0), 1, 8, 16, TEST_PRECISION));
+
+        RegionBSPTree3D copy = tree.copy();
+
+        // act
+        List<PlaneConvexSubset> result = tree.getBoundaries(POOL);
+
+        // assert
+        List<PlaneConvexSubset> expected = copy.getBoundaries();
+        Assert.assertEquals(expected.size(), result.size());
+        for (int i = 0; i < expected.size(); ++i) {
+            Assert.assertEquals(expected.get(i).getVertices(), result.get(i).getVertices());
+        }
+    }
+
     @Test
     public void testTriangleStream_noBoundaries() {
         // arrange
@@ -346,7 +303,7 @@ public class RegionBSPTree3DTest {
     @Test
     public void testTriangleStream() {
         // arrange
-        RegionBSPTree3D tree = createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1));
+        RegionBSPTree3D tree = EuclideanTestUtils.createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1), TEST_PRECISION);
 
         // act
         List<Triangle3D> tris = tree.triangleStream().collect(Collectors.toList());
@@ -358,8 +315,9 @@ public class RegionBSPTree3DTest {
     @Test
     public void testTriangleStream_roundTrip() {
         // arrange
-        RegionBSPTree3D a = createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1));
-        RegionBSPTree3D b = createRect(Vector3D.of(0.5, 0.5, 0.5), Vector3D.of(1.5, 1.5, 1.5));
+        RegionBSPTree3D a = EuclideanTestUtils.createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1), TEST_PRECISION);
+        RegionBSPTree3D b = EuclideanTestUtils.createRect(Vector3D.of(0.5, 0.5, 0.5), Vector3D.of(1.5, 1.5, 1.5),
+                TEST_PRECISION);
 
         RegionBSPTree3D tree = RegionBSPTree3D.empty();
         tree.union(a);
@@ -377,7 +335,7 @@ public class RegionBSPTree3DTest {
     @Test
     public void testToTriangleMesh() {
         // arrange
-        RegionBSPTree3D tree = createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1));
+        RegionBSPTree3D tree = EuclideanTestUtils.createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1), TEST_PRECISION);
 
         // act
         TriangleMesh mesh = tree.toTriangleMesh(TEST_PRECISION);
@@ -439,7 +397,7 @@ public class RegionBSPTree3DTest {
     @Test
     public void testGetBounds_hasBounds() {
         // arrange
-        RegionBSPTree3D tree = createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1));
+        RegionBSPTree3D tree = EuclideanTestUtils.createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1), TEST_PRECISION);
 
         // act
         Bounds3D bounds = tree.getBounds();
@@ -463,7 +421,7 @@ public class RegionBSPTree3DTest {
     @Test
     public void testToTree_returnsSameInstance() {
         // arrange
-        RegionBSPTree3D tree = createRect(Vector3D.ZERO, Vector3D.of(1, 2, 1));
+        RegionBSPTree3D tree = EuclideanTestUtils.createRect(Vector3D.ZERO, Vector3D.of(1, 2, 1), TEST_PRECISION);
 
         // act/assert
         Assert.assertSame(tree, tree.toTree());
@@ -544,6 +502,39 @@ public class RegionBSPTree3DTest {
                 Vector3D.of(-2, -2, 2), Vector3D.of(-2, -2, -2));
     }
 
+    @Test
+    public void testGeometricProperties_recomputedAfterEdits() {
+        // arrange
+        RegionBSPTree3D tree = EuclideanTestUtils.createRect(Vector3D.ZERO, Vector3D.of(2, 2, 2), TEST_PRECISION);
+
+        Assert.assertEquals(8, tree.getSize(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(1, 1, 1), tree.getCentroid(), TEST_EPS);
+
+        // act/assert
+        tree.difference(EuclideanTestUtils.createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1), TEST_PRECISION));
+
+        Assert.assertEquals(7, tree.getSize(), TEST_EPS);
+        Assert.assertEquals(24, tree.getBoundarySize(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(7.5 / 7, 7.5 / 7, 7.5 / 7), tree.getCentroid(), TEST_EPS);
+
+        tree.union(EuclideanTestUtils.createRect(Vector3D.of(2, 0, 0), Vector3D.of(3, 1, 1), TEST_PRECISION));
+
+        Assert.assertEquals(8, tree.getSize(), TEST_EPS);
+        Assert.assertEquals(28, tree.getBoundarySize(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(1.25, 1, 1), tree.getCentroid(), TEST_EPS);
+
+        RegionBSPTree3D copy = tree.copy();
+        Assert.assertEquals(copy.getSize(), tree.getSize(), TEST_EPS);
+        Assert.assertEquals(copy.getBoundarySize(), tree.getBoundarySize(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(copy.getCentroid(), tree.getCentroid(), TEST_EPS);
+
+        tree.complement();
+
+        GeometryTestUtils.assertPositiveInfinity(tree.getSize());
+        Assert.assertNull(tree.getCentroid());
+        Assert.assertEquals(28, tree.getBoundarySize(), TEST_EPS);
+    }
+
     @Test
     public void testFrom_boundaries() {
         // act
@@ -691,7 +682,7 @@ public class RegionBSPTree3DTest {
     @Test
     public void testLinecast() {
         // arrange
-        RegionBSPTree3D tree = createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1));
+        RegionBSPTree3D tree = EuclideanTestUtils.createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1), TEST_PRECISION);
 
         // act/assert
         LinecastChecker3D.with(tree)
@@ -719,7 +710,7 @@ public class RegionBSPTree3DTest {
     @Test
     public void testLinecast_complementedTree() {
         // arrange
-        RegionBSPTree3D tree = createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1));
+        RegionBSPTree3D tree = EuclideanTestUtils.createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1), TEST_PRECISION);
 
         tree.complement();
 
@@ -761,7 +752,8 @@ public class RegionBSPTree3DTest {
             .forEach(b::insert);
         b.complement();
 
-        RegionBSPTree3D c = createRect(Vector3D.of(0.5, 0.5, 0.5), Vector3D.of(1.5, 1.5, 1.5));
+        RegionBSPTree3D c = EuclideanTestUtils.createRect(Vector3D.of(0.5, 0.5, 0.5), Vector3D.of(1.5, 1.5, 1.5),
+                TEST_PRECISION);
 
         RegionBSPTree3D tree = RegionBSPTree3D.empty();
         tree.union(a, b);
@@ -797,7 +789,8 @@ public class RegionBSPTree3DTest {
     @Test
     public void testLinecastFirst_multipleDirections() {
         // arrange
-        RegionBSPTree3D tree = createRect(Vector3D.of(-1, -1, -1), Vector3D.of(1, 1, 1));
+        RegionBSPTree3D tree = EuclideanTestUtils.createRect(Vector3D.of(-1, -1, -1), Vector3D.of(1, 1, 1),
+                TEST_PRECISION);
 
         Line3D xPlus = Lines3D.fromPoints(Vector3D.ZERO, Vector3D.of(1, 0, 0), TEST_PRECISION);
         Line3D xMinus = Lines3D.fromPoints(Vector3D.ZERO, Vector3D.of(-1, 0, 0), TEST_PRECISION);
@@ -866,7 +859,7 @@ public class RegionBSPTree3DTest {
         Vector3D upperCorner = Vector3D.of(1, 1, 1);
         Vector3D center = lowerCorner.lerp(upperCorner, 0.5);
 
-        RegionBSPTree3D tree = createRect(lowerCorner, upperCorner);
+        RegionBSPTree3D tree = EuclideanTestUtils.createRect(lowerCorner, upperCorner, TEST_PRECISION);
 
         Line3D upDiagonal = Lines3D.fromPoints(lowerCorner, upperCorner, TEST_PRECISION);
         Line3D downDiagonal = upDiagonal.reverse();
@@ -896,7 +889,7 @@ public class RegionBSPTree3DTest {
         Vector3D lowerCorner = Vector3D.ZERO;
         Vector3D upperCorner = Vector3D.of(1, 1, 1);
 
-        RegionBSPTree3D tree = createRect(lowerCorner, upperCorner);
+        RegionBSPTree3D tree = EuclideanTestUtils.createRect(lowerCorner, upperCorner, TEST_PRECISION);
 
         Vector3D firstPointOnLine = Vector3D.of(0.5, -1.0, 0);
         Vector3D secondPointOnLine = Vector3D.of(0.5, 2.0, 0);
@@ -923,7 +916,7 @@ public class RegionBSPTree3DTest {
         Vector3D lowerCorner = Vector3D.ZERO;
         Vector3D upperCorner = Vector3D.of(1, 1, 1);
 
-        RegionBSPTree3D tree = createRect(lowerCorner, upperCorner);
+        RegionBSPTree3D tree = EuclideanTestUtils.createRect(lowerCorner, upperCorner, TEST_PRECISION);
 
         Vector3D pt = Vector3D.of(0.5, 0.5, 0);
         Line3D intoBoxLine = Lines3D.fromPoints(pt, pt.add(Vector3D.Unit.PLUS_Z), TEST_PRECISION);
@@ -943,7 +936,7 @@ public class RegionBSPTree3DTest {
         Vector3D lowerCorner = Vector3D.ZERO;
         Vector3D upperCorner = Vector3D.of(1, 1, 1);
 
-        RegionBSPTree3D tree = createRect(lowerCorner, upperCorner);
+        RegionBSPTree3D tree = EuclideanTestUtils.createRect(lowerCorner, upperCorner, TEST_PRECISION);
 
         Line3D intoBoxLine = Lines3D.fromPoints(lowerCorner, upperCorner, TEST_PRECISION);
         Line3D outOfBoxLine = intoBoxLine.reverse();
@@ -962,7 +955,7 @@ public class RegionBSPTree3DTest {
         Vector3D lowerCorner = Vector3D.ZERO;
         Vector3D upperCorner = Vector3D.of(1, 1, 1);
 
-        RegionBSPTree3D tree = createRect(lowerCorner, upperCorner);
+        RegionBSPTree3D tree = EuclideanTestUtils.createRect(lowerCorner, upperCorner, TEST_PRECISION);
 
         Line3D line = Lines3D.fromPointAndDirection(Vector3D.of(0.5, 0.5, 0.5), Vector3D.Unit.PLUS_X, TEST_PRECISION);
 
@@ -990,7 +983,8 @@ public class RegionBSPTree3DTest {
     @Test
     public void testInvertedRegion() {
         // arrange
-        RegionBSPTree3D tree = createRect(Vector3D.of(-0.5, -0.5, -0.5), Vector3D.of(0.5, 0.5, 0.5));
+        RegionBSPTree3D tree = EuclideanTestUtils.createRect(Vector3D.of(-0.5, -0.5, -0.5), Vector3D.of(0.5, 0.5,
+                0.5), TEST_PRECISION);
 
         // act
         tree.complement();
@@ -1015,7 +1009,8 @@ public class RegionBSPTree3DTest {
     @Test
     public void testUnitBox() {
         // act
-        RegionBSPTree3D tree = createRect(Vector3D.of(-0.5, -0.5, -0.5), Vector3D.of(0.5, 0.5, 0.5));
+        RegionBSPTree3D tree = EuclideanTestUtils.createRect(Vector3D.of(-0.5, -0.5, -0.5), Vector3D.of(0.5, 0.5,
+                0.5), TEST_PRECISION);
 
         // assert
         Assert.assertFalse(tree.isEmpty());
@@ -1076,8 +1071,10 @@ public class RegionBSPTree3DTest {
     public void testTwoBoxes_disjoint() {
         // act
         RegionBSPTree3D tree = RegionBSPTree3D.empty();
-        tree.union(createRect(Vector3D.of(-0.5, -0.5, -0.5), Vector3D.of(0.5, 0.5, 0.5)));
-        tree.union(createRect(Vector3D.of(1.5, -0.5, -0.5), Vector3D.of(2.5, 0.5, 0.5)));
+        tree.union(EuclideanTestUtils.createRect(Vector3D.of(-0.5, -0.5, -0.5), Vector3D.of(0.5, 0.5, 0.5),
+                TEST_PRECISION));
+        tree.union(EuclideanTestUtils.createRect(Vector3D.of(1.5, -0.5, -0.5), Vector3D.of(2.5, 0.5, 0.5),
+                TEST_PRECISION));
 
         // assert
         Assert.assertFalse(tree.isEmpty());
@@ -1101,8 +1098,10 @@ public class RegionBSPTree3DTest {
     public void testTwoBoxes_sharedSide() {
         // act
         RegionBSPTree3D tree = RegionBSPTree3D.empty();
-        tree.union(createRect(Vector3D.of(-0.5, -0.5, -0.5), Vector3D.of(0.5, 0.5, 0.5)));
-        tree.union(createRect(Vector3D.of(0.5, -0.5, -0.5), Vector3D.of(1.5, 0.5, 0.5)));
+        tree.union(EuclideanTestUtils.createRect(Vector3D.of(-0.5, -0.5, -0.5), Vector3D.of(0.5, 0.5, 0.5),
+                TEST_PRECISION));
+        tree.union(EuclideanTestUtils.createRect(Vector3D.of(0.5, -0.5, -0.5), Vector3D.of(1.5, 0.5, 0.5),
+                TEST_PRECISION));
 
         // assert
         Assert.assertFalse(tree.isEmpty());
@@ -1129,8 +1128,9 @@ public class RegionBSPTree3DTest {
 
         // act
         RegionBSPTree3D tree = RegionBSPTree3D.empty();
-        tree.union(createRect(Vector3D.of(-0.5, -0.5, -0.5), Vector3D.of(0.5, 0.5, 0.5), precision));
-        tree.union(createRect(Vector3D.of(0.5 + 1e-7, -0.5, -0.5), Vector3D.of(1.5 + 1e-7, 0.5, 0.5), precision));
+        tree.union(EuclideanTestUtils.createRect(Vector3D.of(-0.5, -0.5, -0.5), Vector3D.of(0.5, 0.5, 0.5), precision));
+        tree.union(EuclideanTestUtils.createRect(Vector3D.of(0.5 + 1e-7, -0.5, -0.5), Vector3D.of(1.5 + 1e-7, 0.5,
+                0.5), precision));
 
         // assert
         Assert.assertFalse(tree.isEmpty());
@@ -1153,8 +1153,10 @@ public class RegionBSPTree3DTest {
     public void testTwoBoxes_sharedEdge() {
         // act
         RegionBSPTree3D tree = RegionBSPTree3D.empty();
-        tree.union(createRect(Vector3D.of(-0.5, -0.5, -0.5), Vector3D.of(0.5, 0.5, 0.5)));
-        tree.union(createRect(Vector3D.of(0.5, 0.5, -0.5), Vector3D.of(1.5, 1.5, 0.5)));
+        tree.union(EuclideanTestUtils.createRect(Vector3D.of(-0.5, -0.5, -0.5), Vector3D.of(0.5, 0.5, 0.5),
+                TEST_PRECISION));
+        tree.union(EuclideanTestUtils.createRect(Vector3D.of(0.5, 0.5, -0.5), Vector3D.of(1.5, 1.5, 0.5),
+                TEST_PRECISION));
 
         // assert
         Assert.assertFalse(tree.isEmpty());
@@ -1164,7 +1166,6 @@ public class RegionBSPTree3DTest {
         Assert.assertEquals(12.0, tree.getBoundarySize(), TEST_EPS);
         EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(0.5, 0.5, 0), tree.getCentroid(), TEST_EPS);
 
-
         EuclideanTestUtils.assertRegionLocation(tree, RegionLocation.OUTSIDE,
                 Vector3D.of(-1, 0, 0),
                 Vector3D.of(1, 0, 0),
@@ -1180,8 +1181,10 @@ public class RegionBSPTree3DTest {
     public void testTwoBoxes_sharedPoint() {
         // act
         RegionBSPTree3D tree = RegionBSPTree3D.empty();
-        tree.union(createRect(Vector3D.of(-0.5, -0.5, -0.5), Vector3D.of(0.5, 0.5, 0.5)));
-        tree.union(createRect(Vector3D.of(0.5, 0.5, 0.5), Vector3D.of(1.5, 1.5, 1.5)));
+        tree.union(EuclideanTestUtils.createRect(Vector3D.of(-0.5, -0.5, -0.5), Vector3D.of(0.5, 0.5, 0.5),
+                TEST_PRECISION));
+        tree.union(EuclideanTestUtils.createRect(Vector3D.of(0.5, 0.5, 0.5), Vector3D.of(1.5, 1.5, 1.5),
+                TEST_PRECISION));
 
         // assert
         Assert.assertFalse(tree.isEmpty());
@@ -1250,7 +1253,7 @@ public class RegionBSPTree3DTest {
         double radius = 1.0;
 
         // act
-        RegionBSPTree3D tree = createSphere(Vector3D.of(1, 2, 3), radius, 8, 16);
+        RegionBSPTree3D tree = EuclideanTestUtils.createSphere(Vector3D.of(1, 2, 3), radius, 8, 16, TEST_PRECISION);
 
         // assert
         Assert.assertFalse(tree.isEmpty());
@@ -1283,7 +1286,7 @@ public class RegionBSPTree3DTest {
     @Test
     public void testProjectToBoundary() {
         // arrange
-        RegionBSPTree3D tree = createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1));
+        RegionBSPTree3D tree = EuclideanTestUtils.createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1), TEST_PRECISION);
 
         // act/assert
         checkProject(tree, Vector3D.of(0.5, 0.5, 0.5), Vector3D.of(0, 0.5, 0.5));
@@ -1295,7 +1298,7 @@ public class RegionBSPTree3DTest {
     @Test
     public void testProjectToBoundary_invertedRegion() {
         // arrange
-        RegionBSPTree3D tree = createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1));
+        RegionBSPTree3D tree = EuclideanTestUtils.createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1), TEST_PRECISION);
 
         tree.complement();
 
@@ -1317,8 +1320,10 @@ public class RegionBSPTree3DTest {
         double tolerance = 0.05;
         double size = 1.0;
         double radius = size * 0.5;
-        RegionBSPTree3D box = createRect(Vector3D.ZERO, Vector3D.of(size, size, size));
-        RegionBSPTree3D sphere = createSphere(Vector3D.of(size * 0.5, size * 0.5, size), radius, 8, 16);
+        RegionBSPTree3D box = EuclideanTestUtils.createRect(Vector3D.ZERO, Vector3D.of(size, size, size),
+                TEST_PRECISION);
+        RegionBSPTree3D sphere = EuclideanTestUtils.createSphere(Vector3D.of(size * 0.5, size * 0.5, size), radius, 8,
+                16, TEST_PRECISION);
 
         // act
         RegionBSPTree3D result = RegionBSPTree3D.empty();
@@ -1356,7 +1361,7 @@ public class RegionBSPTree3DTest {
         double tolerance = 0.2;
         double radius = 1.0;
 
-        RegionBSPTree3D sphere = createSphere(Vector3D.ZERO, radius, 8, 16);
+        RegionBSPTree3D sphere = EuclideanTestUtils.createSphere(Vector3D.ZERO, radius, 8, 16, TEST_PRECISION);
 
         RegionBSPTree3D copy = RegionBSPTree3D.empty();
         copy.copy(sphere);
@@ -1397,8 +1402,10 @@ public class RegionBSPTree3DTest {
         double tolerance = 0.05;
         double size = 1.0;
         double radius = size * 0.5;
-        RegionBSPTree3D box = createRect(Vector3D.ZERO, Vector3D.of(size, size, size));
-        RegionBSPTree3D sphere = createSphere(Vector3D.of(size * 0.5, size * 0.5, size), radius, 8, 16);
+        RegionBSPTree3D box = EuclideanTestUtils.createRect(Vector3D.ZERO, Vector3D.of(size, size, size),
+                TEST_PRECISION);
+        RegionBSPTree3D sphere = EuclideanTestUtils.createSphere(Vector3D.of(size * 0.5, size * 0.5, size), radius, 8,
+                16, TEST_PRECISION);
 
         // act
         RegionBSPTree3D result = RegionBSPTree3D.empty();
@@ -1435,7 +1442,7 @@ public class RegionBSPTree3DTest {
         double tolerance = 0.2;
         double radius = 1.0;
 
-        RegionBSPTree3D sphere = createSphere(Vector3D.ZERO, radius, 8, 16);
+        RegionBSPTree3D sphere = EuclideanTestUtils.createSphere(Vector3D.ZERO, radius, 8, 16, TEST_PRECISION);
         RegionBSPTree3D copy = RegionBSPTree3D.empty();
         copy.copy(sphere);
 
@@ -1473,8 +1480,10 @@ public class RegionBSPTree3DTest {
     public void testBoolean_xor_twoCubes() throws IOException {
         // arrange
         double size = 1.0;
-        RegionBSPTree3D box1 = createRect(Vector3D.ZERO, Vector3D.of(size, size, size));
-        RegionBSPTree3D box2 = createRect(Vector3D.of(0.5, 0.5, 0.5), Vector3D.of(0.5 + size, 0.5 + size, 0.5 + size));
+        RegionBSPTree3D box1 = EuclideanTestUtils.createRect(Vector3D.ZERO, Vector3D.of(size, size, size),
+                TEST_PRECISION);
+        RegionBSPTree3D box2 = EuclideanTestUtils.createRect(Vector3D.of(0.5, 0.5, 0.5), Vector3D.of(0.5 + size,
+                0.5 + size, 0.5 + size), TEST_PRECISION);
 
         // act
         RegionBSPTree3D result = RegionBSPTree3D.empty();
@@ -1511,8 +1520,10 @@ public class RegionBSPTree3DTest {
         double tolerance = 0.05;
         double size = 1.0;
         double radius = size * 0.5;
-        RegionBSPTree3D box = createRect(Vector3D.ZERO, Vector3D.of(size, size, size));
-        RegionBSPTree3D sphere = createSphere(Vector3D.of(size * 0.5, size * 0.5, size), radius, 8, 16);
+        RegionBSPTree3D box = EuclideanTestUtils.createRect(Vector3D.ZERO, Vector3D.of(size, size, size),
+                TEST_PRECISION);
+        RegionBSPTree3D sphere = EuclideanTestUtils.createSphere(Vector3D.of(size * 0.5, size * 0.5, size), radius, 8,
+                16, TEST_PRECISION);
 
         // act
         RegionBSPTree3D result = RegionBSPTree3D.empty();
@@ -1549,7 +1560,7 @@ public class RegionBSPTree3DTest {
         // arrange
         double radius = 1.0;
 
-        RegionBSPTree3D sphere = createSphere(Vector3D.ZERO, radius, 8, 16);
+        RegionBSPTree3D sphere = EuclideanTestUtils.createSphere(Vector3D.ZERO, radius, 8, 16, TEST_PRECISION);
         RegionBSPTree3D copy = RegionBSPTree3D.empty();
         copy.copy(sphere);
 
@@ -1587,8 +1598,10 @@ public class RegionBSPTree3DTest {
         double tolerance = 0.05;
         double size = 1.0;
         double radius = size * 0.5;
-        RegionBSPTree3D box = createRect(Vector3D.ZERO, Vector3D.of(size, size, size));
-        RegionBSPTree3D sphere = createSphere(Vector3D.of(size * 0.5, size * 0.5, size), radius, 8, 16);
+        RegionBSPTree3D box = EuclideanTestUtils.createRect(Vector3D.ZERO, Vector3D.of(size, size, size),
+                TEST_PRECISION);
+        RegionBSPTree3D sphere = EuclideanTestUtils.createSphere(Vector3D.of(size * 0.5, size * 0.5, size), radius, 8,
+                16, TEST_PRECISION);
 
         // act
         RegionBSPTree3D result = RegionBSPTree3D.empty();
@@ -1624,7 +1637,7 @@ public class RegionBSPTree3DTest {
         // arrange
         double radius = 1.0;
 
-        RegionBSPTree3D sphere = createSphere(Vector3D.ZERO, radius, 8, 16);
+        RegionBSPTree3D sphere = EuclideanTestUtils.createSphere(Vector3D.ZERO, radius, 8, 16, TEST_PRECISION);
         RegionBSPTree3D copy = sphere.copy();
 
         // act
@@ -1661,10 +1674,14 @@ public class RegionBSPTree3DTest {
         double tolerance = 0.05;
         double size = 1.0;
         double radius = size * 0.5;
-        RegionBSPTree3D box = createRect(Vector3D.ZERO, Vector3D.of(size, size, size));
-        RegionBSPTree3D sphereToAdd = createSphere(Vector3D.of(size * 0.5, size * 0.5, size), radius, 8, 16);
-        RegionBSPTree3D sphereToRemove1 = createSphere(Vector3D.of(size * 0.5, 0, size * 0.5), radius, 8, 16);
-        RegionBSPTree3D sphereToRemove2 = createSphere(Vector3D.of(size * 0.5, 1, size * 0.5), radius, 8, 16);
+        RegionBSPTree3D box = EuclideanTestUtils.createRect(Vector3D.ZERO, Vector3D.of(size, size, size),
+                TEST_PRECISION);
+        RegionBSPTree3D sphereToAdd = EuclideanTestUtils.createSphere(Vector3D.of(size * 0.5, size * 0.5, size),
+                radius, 8, 16, TEST_PRECISION);
+        RegionBSPTree3D sphereToRemove1 = EuclideanTestUtils.createSphere(Vector3D.of(size * 0.5, 0, size * 0.5),
+                radius, 8, 16, TEST_PRECISION);
+        RegionBSPTree3D sphereToRemove2 = EuclideanTestUtils.createSphere(Vector3D.of(size * 0.5, 1, size * 0.5),
+                radius, 8, 16, TEST_PRECISION);
 
         // act
         RegionBSPTree3D result = RegionBSPTree3D.empty();
@@ -1710,7 +1727,8 @@ public class RegionBSPTree3DTest {
     @Test
     public void testToConvex_singleBox() {
         // arrange
-        RegionBSPTree3D tree = createRect(Vector3D.of(1, 2, 3), Vector3D.of(2, 3, 4));
+        RegionBSPTree3D tree = EuclideanTestUtils.createRect(Vector3D.of(1, 2, 3), Vector3D.of(2, 3, 4),
+                TEST_PRECISION);
 
         // act
         List<ConvexVolume> result = tree.toConvex();
@@ -1726,8 +1744,9 @@ public class RegionBSPTree3DTest {
     @Test
     public void testToConvex_multipleBoxes() {
         // arrange
-        RegionBSPTree3D tree = createRect(Vector3D.of(4, 5, 6), Vector3D.of(5, 6, 7));
-        tree.union(createRect(Vector3D.ZERO, Vector3D.of(2, 1, 1)));
+        RegionBSPTree3D tree = EuclideanTestUtils.createRect(Vector3D.of(4, 5, 6), Vector3D.of(5, 6, 7),
+                TEST_PRECISION);
+        tree.union(EuclideanTestUtils.createRect(Vector3D.ZERO, Vector3D.of(2, 1, 1), TEST_PRECISION));
 
         // act
         List<ConvexVolume> result = tree.toConvex();
@@ -1750,7 +1769,8 @@ public class RegionBSPTree3DTest {
     @Test
     public void testSplit() {
         // arrange
-        RegionBSPTree3D tree = createRect(Vector3D.of(-0.5, -0.5, -0.5), Vector3D.of(0.5, 0.5, 0.5));
+        RegionBSPTree3D tree = EuclideanTestUtils.createRect(Vector3D.of(-0.5, -0.5, -0.5), Vector3D.of(0.5, 0.5,
+                0.5), TEST_PRECISION);
 
         Plane splitter = Planes.fromNormal(Vector3D.Unit.PLUS_X, TEST_PRECISION);
 
@@ -1772,7 +1792,7 @@ public class RegionBSPTree3DTest {
     @Test
     public void testGetNodeRegion() {
         // arrange
-        RegionBSPTree3D tree = createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1));
+        RegionBSPTree3D tree = EuclideanTestUtils.createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1), TEST_PRECISION);
 
         // act/assert
         ConvexVolume rootVol = tree.getRoot().getNodeRegion();
@@ -1829,6 +1849,72 @@ public class RegionBSPTree3DTest {
                 Vector3D.of(-1, 1, 1), Vector3D.of(4, 1, 1));
     }
 
+    @Test
+    public void testXor_pool_inPlace_largeTrees() {
+        // arrange
+        RegionBSPTree3D expected = createSphereGrid(Vector3D.ZERO);
+        RegionBSPTree3D actual = createSphereGrid(Vector3D.ZERO);
+
+        RegionBSPTree3D other = createSphereGrid(Vector3D.of(0.5, 0.5, 0.5));
+        int otherCount = other.count();
+
+        Assert.assertTrue(actual.count() > 4000);
+
+        // act
+        expected.xor(other);
+        actual.xor(other, POOL);
+
+        // assert
+        Assert.assertEquals(otherCount, other.count());
+        assertSameRegion(expected, actual);
+    }
+
+    @Test
+    public void testDifference_pool_inPlace_largeTrees() {
+        // arrange
+        RegionBSPTree3D expected = createSphereGrid(Vector3D.ZERO);
+        RegionBSPTree3D actual = createSphereGrid(Vector3D.ZERO);
+
+        RegionBSPTree3D other = createSphereGrid(Vector3D.of(0.5, 0.5, 0.5));
+        int otherCount = other.count();
+
+        Assert.assertTrue(actual.count() > 4000);
+
+        // act
+        expected.difference(other);
+        actual.difference(other, POOL);
+
+        // assert
+        Assert.assertEquals(otherCount, other.count());
+        assertSameRegion(expected, actual);
+    }
+
+    private static RegionBSPTree3D createSphereGrid(final Vector3D offset) {
+        final RegionBSPTree3D tree = RegionBSPTree3D.empty();
+        for (int x = 0; x < 3; ++x) {
+            for (int y = 0; y < 3; ++y) {
+                tree.union(EuclideanTestUtils.createSphere(Vector3D.of(x * 1.5, y * 1.5, 0).add(offset),
+                        1, 8, 16, TEST_PRECISION));
+            }
+        }
+        return tree;
+    }
+
+    private static void assertSameRegion(final RegionBSPTree3D expected, final RegionBSPTree3D actual) {
+        Assert.assertEquals(expected.count(), actual.count());
+        Assert.assertEquals(expected.getSize(), actual.getSize(), TEST_EPS);
+        Assert.assertEquals(expected.getBoundarySize(), actual.getBoundarySize(), TEST_EPS);
+
+        for (double x = -1.25; x < 4.5; x += 0.25) {
+            for (double y = -1.25; y < 4.5; y += 0.25) {
+                for (double z = -1.25; z < 2; z += 0.25) {
+                    final Vector3D pt = Vector3D.of(x, y, z);
+                    Assert.assertEquals(expected.classify(pt), actual.classify(pt));
+                }
+            }
+        }
+    }
+
     private static List<PlaneConvexSubset> indexedFacetsToBoundaries(Vector3D[] vertices, int[][] facets) {
         List<PlaneConvexSubset> boundaries = new ArrayList<>();
 
@@ -1858,69 +1944,29 @@ public class RegionBSPTree3DTest {
         return boundaries;
     }
 
-    private static RegionBSPTree3D createRect(final Vector3D a, final Vector3D b) {
-        return createRect(a, b, TEST_PRECISION);
-    }
-
-    private static RegionBSPTree3D createRect(final Vector3D a, final Vector3D b, final DoublePrecisionContext precision) {
-        return Parallelepiped.axisAligned(a, b, precision).toTree();
-    }
-
-    private static RegionBSPTree3D createSphere(final Vector3D center, final double radius, final int stacks, final int slices) {
-
-        final List<Plane> planes = new ArrayList<>();
-
-        // add top and bottom planes (+/- z)
-        final Vector3D topZ = Vector3D.of(center.getX(), center.getY(), center.getZ() + radius);
-        final Vector3D bottomZ = Vector3D.of(center.getX(), center.getY(), center.getZ() - radius);
-
-        planes.add(Planes.fromPointAndNormal(topZ, Vector3D.Unit.PLUS_Z, TEST_PRECISION));
-        planes.add(Planes.fromPointAndNormal(bottomZ, Vector3D.Unit.MINUS_Z, TEST_PRECISION));
-
-        // add the side planes
-        final double vDelta = PlaneAngleRadians.PI / stacks;
-        final double hDelta = PlaneAngleRadians.PI * 2 / slices;
-
-        final double adjustedRadius = (radius + (radius * Math.cos(vDelta * 0.5))) / 2.0;
-
-        double vAngle;
-        double hAngle;
-        double stackRadius;
-        double stackHeight;
-        double x;
-        double y;
-        Vector3D pt;
-        Vector3D norm;
-
-        vAngle = -0.5 * vDelta;
-        for (int v = 0; v < stacks; ++v) {
-            vAngle += vDelta;
-
-            stackRadius = Math.sin(vAngle) * adjustedRadius;
-            stackHeight = Math.cos(vAngle) * adjustedRadius;
-
-            hAngle = -0.5 * hDelta;
-            for (int h = 0; h < slices; ++h) {
-                hAngle += hDelta;
-
-                x = Math.cos(hAngle) * stackRadius;
-                y = Math.sin(hAngle) * stackRadius;
+    @Test
+    public void testCompactMode() {
+        // arrange
+        RegionBSPTree3D tree = RegionBSPTree3D.empty();
+        tree.union(EuclideanTestUtils.createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1), TEST_PRECISION));
+        tree.union(EuclideanTestUtils.createRect(Vector3D.of(0.5, 0.5, 0.5), Vector3D.of(1.5, 1.5, 1.5),
+                TEST_PRECISION));
 
-                norm = Vector3D.of(x, y, stackHeight).normalize();
-                pt = center.add(norm.multiply(adjustedRadius));
+        RegionBSPTree3D expected = tree.copy();
 
-                planes.add(Planes.fromPointAndNormal(pt, norm, TEST_PRECISION));
-            }
-        }
+        // act
+        tree.setCompactMode(true);
 
-        RegionBSPTree3D tree = RegionBSPTree3D.full();
-        RegionNode3D node = tree.getRoot();
+        // assert
+        Assert.assertEquals(15.0 / 8.0, tree.getSize(), TEST_EPS);
+        Assert.assertEquals(expected.getBoundarySize(), tree.getBoundarySize(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(expected.getCentroid(), tree.getCentroid(), TEST_EPS);
+        Assert.assertEquals(expected.getBoundaries().size(), tree.getBoundaries().size());
 
-        for (Plane plane : planes) {
-            node = node.cut(plane).getMinus();
-        }
+        tree.difference(EuclideanTestUtils.createRect(Vector3D.ZERO, Vector3D.of(1, 1, 1), TEST_PRECISION));
 
-        return tree;
+        Assert.assertEquals(7.0 / 8.0, tree.getSize(), TEST_EPS);
+        Assert.assertTrue(tree.isCompactMode());
     }
 
     private static double cubeVolume(double size) {
@@ -0,0 +1,392 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.threed;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.geometry.core.GeometryTestUtils;
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
+import org.apache.commons.geometry.core.precision.EpsilonDoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.EuclideanTestUtils;
+import org.apache.commons.geometry.euclidean.threed.line.Line3D;
+import org.apache.commons.geometry.euclidean.threed.line.LinecastPoint3D;
+import org.apache.commons.geometry.euclidean.threed.line.Lines3D;
+import org.apache.commons.geometry.euclidean.threed.shape.Parallelepiped;
+import org.apache.commons.geometry.euclidean.threed.shape.Sphere;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.simple.RandomSource;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RegionExpression3DTest {
+
+    private static final double TEST_EPS = 1e-10;
+
+    private static final DoublePrecisionContext TEST_PRECISION =
+            new EpsilonDoublePrecisionContext(TEST_EPS);
+
+    @Test
+    public void testOf_nullArguments() {
+        // act/assert
+        GeometryTestUtils.assertThrows(() -> RegionExpression3D.of(null), NullPointerException.class);
+        GeometryTestUtils.assertThrows(() -> RegionExpression3D.of(RegionBSPTree3D.full()).union(null),
+                NullPointerException.class);
+    }
+
+    @Test
+    public void testClassify_operand() {
+        // arrange
+        RegionExpression3D expr = RegionExpression3D.of(createCube(Vector3D.ZERO, 2));
+
+        // act/assert
+        Assert.assertEquals(RegionLocation.INSIDE, expr.classify(Vector3D.ZERO));
+        Assert.assertEquals(RegionLocation.BOUNDARY, expr.classify(Vector3D.of(1, 0, 0)));
+        Assert.assertEquals(RegionLocation.OUTSIDE, expr.classify(Vector3D.of(2, 0, 0)));
+
+        Assert.assertTrue(expr.contains(Vector3D.of(1, 0, 0)));
+        Assert.assertFalse(expr.contains(Vector3D.of(2, 0, 0)));
+    }
+
+    @Test
+    public void testClassify_emptyAndFullOperands() {
+        // arrange
+        RegionExpression3D cube = RegionExpression3D.of(createCube(Vector3D.ZERO, 2));
+        RegionExpression3D empty = RegionExpression3D.of(RegionBSPTree3D.empty());
+        RegionExpression3D full = RegionExpression3D.of(RegionBSPTree3D.full());
+
+        // act/assert
+        Assert.assertEquals(RegionLocation.INSIDE, cube.union(empty).classify(Vector3D.ZERO));
+        Assert.assertEquals(RegionLocation.OUTSIDE, cube.intersection(empty).classify(Vector3D.ZERO));
+        Assert.assertEquals(RegionLocation.INSIDE, cube.union(full).classify(Vector3D.of(5, 0, 0)));
+        Assert.assertEquals(RegionLocation.INSIDE, full.difference(cube).classify(Vector3D.of(5, 0, 0)));
+        Assert.assertEquals(RegionLocation.OUTSIDE, full.difference(cube).classify(Vector3D.ZERO));
+    }
+
+    @Test
+    public void testClassify_matchesTree() {
+        // arrange
+        RegionBSPTree3D a = createCube(Vector3D.ZERO, 2);
+        RegionBSPTree3D b = createCube(Vector3D.of(1, 1, 0), 2);
+        RegionBSPTree3D c = createCube(Vector3D.of(3, 0, 0), 2);
+        RegionBSPTree3D d = createCube(Vector3D.of(1, 0, 0), 1);
+
+        RegionExpression3D ea = RegionExpression3D.of(a);
+        RegionExpression3D eb = RegionExpression3D.of(b);
+        RegionExpression3D ec = RegionExpression3D.of(c);
+        RegionExpression3D ed = RegionExpression3D.of(d);
+
+        // act/assert
+        checkClassify(ea.union(eb), union(a, b));
+        checkClassify(ea.intersection(eb), intersection(a, b));
+        checkClassify(ea.difference(eb), difference(a, b));
+        checkClassify(ea.xor(eb), xor(a, b));
+
+        // touching cubes
+        checkClassify(ea.union(ec), union(a, c));
+        checkClassify(ea.intersection(ec), intersection(a, c));
+        checkClassify(ea.xor(ec), xor(a, c));
+
+        // a U b U c - d
+        checkClassify(ea.union(eb).union(ec).difference(ed), difference(union(union(a, b), c), d));
+    }
+
+    @Test
+    public void testClassify_unboundedOperands() {
+        // arrange
+        RegionBSPTree3D cube = createCube(Vector3D.ZERO, 2);
+        RegionBSPTree3D comp = cube.copy();
+        comp.complement();
+        RegionBSPTree3D halfSpace = RegionBSPTree3D.from(Collections.singletonList(
+                Planes.fromPointAndNormal(Vector3D.of(0, 0, 1), Vector3D.Unit.PLUS_Z, TEST_PRECISION).span()));
+        RegionBSPTree3D other = createCube(Vector3D.of(1, 1, 0), 2);
+
+        RegionExpression3D eCube = RegionExpression3D.of(cube);
+        RegionExpression3D eComp = RegionExpression3D.of(comp);
+        RegionExpression3D eHalfSpace = RegionExpression3D.of(halfSpace);
+        RegionExpression3D eOther = RegionExpression3D.of(other);
+
+        // act/assert
+        Assert.assertEquals(RegionLocation.INSIDE, eComp.classify(Vector3D.of(10, 10, 10)));
+        Assert.assertEquals(RegionLocation.INSIDE, eCube.union(eComp).classify(Vector3D.of(10, 10, 10)));
+        Assert.assertEquals(RegionLocation.INSIDE, eHalfSpace.classify(Vector3D.of(10, 10, -10)));
+
+        checkClassify(eComp, comp);
+        checkClassify(eHalfSpace, halfSpace);
+        checkClassify(eCube.union(eComp), union(cube, comp));
+        checkClassify(eOther.union(eComp), union(other, comp));
+        checkClassify(eOther.intersection(eComp), intersection(other, comp));
+        checkClassify(eOther.difference(eHalfSpace), difference(other, halfSpace));
+        checkClassify(eOther.xor(eHalfSpace), xor(other, halfSpace));
+
+        Assert.assertNull(eComp.getBounds());
+        Assert.assertNull(eHalfSpace.getBounds());
+        Assert.assertNull(eCube.union(eComp).getBounds());
+        checkBounds(eOther.intersection(eHalfSpace).getBounds(), Vector3D.of(0, 0, -1), Vector3D.of(2, 2, 1));
+    }
+
+    @Test
+    public void testLinecast_unboundedOperands() {
+        // arrange
+        RegionBSPTree3D cube = createCube(Vector3D.ZERO, 2);
+        RegionBSPTree3D comp = createCube(Vector3D.of(0.5, 0, 0), 1);
+        comp.complement();
+        RegionBSPTree3D halfSpace = RegionBSPTree3D.from(Collections.singletonList(
+                Planes.fromPointAndNormal(Vector3D.of(0, 0, 0.2), Vector3D.of(1, 1, 1), TEST_PRECISION).span()));
+
+        RegionExpression3D eCube = RegionExpression3D.of(cube);
+        RegionExpression3D eComp = RegionExpression3D.of(comp);
+        RegionExpression3D eHalfSpace = RegionExpression3D.of(halfSpace);
+
+        // act/assert
+        LinecastChecker3D.with(eComp)
+            .expect(Vector3D.of(0, 0, 0), Vector3D.Unit.PLUS_X)
+            .and(Vector3D.of(1, 0, 0), Vector3D.Unit.MINUS_X)
+            .whenGiven(Lines3D.fromPoints(Vector3D.of(5, 0, 0), Vector3D.of(6, 0, 0), TEST_PRECISION));
+
+        checkLinecast(eComp, comp);
+        checkLinecast(eHalfSpace, halfSpace);
+        checkLinecast(eCube.union(eComp), union(cube, comp));
+        checkLinecast(eCube.intersection(eComp), intersection(cube, comp));
+        checkLinecast(eCube.difference(eHalfSpace), difference(cube, halfSpace));
+    }
+
+    @Test
+    public void testClassify_doesNotComputeTree() {
+        // arrange
+        RegionExpression3D a = RegionExpression3D.of(createCube(Vector3D.ZERO, 2));
+        RegionExpression3D b = RegionExpression3D.of(createCube(Vector3D.of(1, 1, 0), 2));
+        RegionExpression3D c = RegionExpression3D.of(createCube(Vector3D.of(10, 0, 0), 2));
+
+        RegionExpression3D expr = a.union(b).difference(c);
+
+        // act/assert
+        Assert.assertEquals(RegionLocation.INSIDE, expr.classify(Vector3D.of(0.5, 0.5, 0)));
+        Assert.assertEquals(RegionLocation.BOUNDARY, expr.classify(Vector3D.of(-1, 0, 0)));
+        Assert.assertEquals(RegionLocation.OUTSIDE, expr.classify(Vector3D.of(10, 0, 0)));
+        Assert.assertEquals(RegionLocation.OUTSIDE, expr.classify(Vector3D.of(0, 0, 5)));
+
+        Assert.assertFalse(expr.isTreeComputed());
+    }
+
+    @Test
+    public void testGetBounds() {
+        // arrange
+        RegionExpression3D a = RegionExpression3D.of(createCube(Vector3D.ZERO, 2));
+        RegionExpression3D b = RegionExpression3D.of(createCube(Vector3D.of(1, 1, 0), 2));
+        RegionExpression3D c = RegionExpression3D.of(createCube(Vector3D.of(10, 0, 0), 2));
+        RegionExpression3D empty = RegionExpression3D.of(RegionBSPTree3D.empty());
+        RegionExpression3D full = RegionExpression3D.of(RegionBSPTree3D.full());
+
+        // act/assert
+        checkBounds(a.getBounds(), Vector3D.of(-1, -1, -1), Vector3D.of(1, 1, 1));
+        checkBounds(a.union(b).getBounds(), Vector3D.of(-1, -1, -1), Vector3D.of(2, 2, 1));
+        checkBounds(a.intersection(b).getBounds(), Vector3D.of(0, 0, -1), Vector3D.of(1, 1, 1));
+        checkBounds(a.difference(b).getBounds(), Vector3D.of(-1, -1, -1), Vector3D.of(1, 1, 1));
+        checkBounds(a.intersection(full).getBounds(), Vector3D.of(-1, -1, -1), Vector3D.of(1, 1, 1));
+
+        Assert.assertNull(a.intersection(c).getBounds());
+        Assert.assertTrue(a.intersection(c).isEmpty());
+        Assert.assertNull(empty.getBounds());
+        Assert.assertNull(full.getBounds());
+        Assert.assertNull(a.union(full).getBounds());
+    }
+
+    @Test
+    public void testLinecast_matchesTree() {
+        // arrange
+        RegionBSPTree3D a = Sphere.from(Vector3D.ZERO, 1, TEST_PRECISION).toTree(2);
+        RegionBSPTree3D b = createCube(Vector3D.of(0.7, 0.2, 0.1), 1);
+        RegionBSPTree3D c = Sphere.from(Vector3D.of(-0.6, -0.3, 0.2), 0.5, TEST_PRECISION).toTree(1);
+
+        RegionExpression3D ea = RegionExpression3D.of(a);
+        RegionExpression3D eb = RegionExpression3D.of(b);
+        RegionExpression3D ec = RegionExpression3D.of(c);
+
+        // act/assert
+        checkLinecast(ea.union(eb), union(a, b));
+        checkLinecast(ea.intersection(eb), intersection(a, b));
+        checkLinecast(ea.difference(eb), difference(a, b));
+        checkLinecast(ea.xor(eb), xor(a, b));
+        checkLinecast(ea.union(eb).difference(ec), difference(union(a, b), c));
+    }
+
+    @Test
+    public void testLinecast_boxes() {
+        // arrange
+        RegionExpression3D a = RegionExpression3D.of(createCube(Vector3D.ZERO, 2));
+        RegionExpression3D b = RegionExpression3D.of(createCube(Vector3D.of(1, 0, 0), 1));
+
+        RegionExpression3D expr = a.difference(b);
+
+        // act/assert
+        LinecastChecker3D.with(expr)
+            .expect(Vector3D.of(-1, 0, 0), Vector3D.Unit.MINUS_X)
+            .and(Vector3D.of(0.5, 0, 0), Vector3D.Unit.PLUS_X)
+            .whenGiven(Lines3D.fromPoints(Vector3D.ZERO, Vector3D.Unit.PLUS_X, TEST_PRECISION));
+
+        LinecastChecker3D.with(expr)
+            .expectNothing()
+            .whenGiven(Lines3D.fromPoints(Vector3D.of(0, 5, 0), Vector3D.of(1, 5, 0), TEST_PRECISION));
+
+        Assert.assertFalse(expr.isTreeComputed());
+    }
+
+    @Test
+    public void testRegionProperties() {
+        // arrange
+        RegionBSPTree3D a = createCube(Vector3D.ZERO, 2);
+        RegionBSPTree3D b = createCube(Vector3D.of(1, 1, 0), 2);
+
+        RegionExpression3D expr = RegionExpression3D.of(a).union(RegionExpression3D.of(b));
+        RegionBSPTree3D expected = union(a, b);
+
+        // act/assert
+        Assert.assertFalse(expr.isFull());
+        Assert.assertFalse(expr.isEmpty());
+        Assert.assertEquals(expected.getSize(), expr.getSize(), TEST_EPS);
+        Assert.assertEquals(expected.getBoundarySize(), expr.getBoundarySize(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(expected.getCentroid(), expr.getCentroid(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(-1, 0, 0), expr.project(Vector3D.of(-3, 0, 0)),
+                TEST_EPS);
+
+        Assert.assertTrue(expr.isTreeComputed());
+    }
+
+    @Test
+    public void testToTree() {
+        // arrange
+        RegionBSPTree3D a = createCube(Vector3D.ZERO, 2);
+        RegionBSPTree3D b = createCube(Vector3D.of(1, 1, 0), 2);
+
+        RegionExpression3D expr = RegionExpression3D.of(a).difference(RegionExpression3D.of(b));
+
+        // act
+        RegionBSPTree3D first = expr.toTree();
+        first.setEmpty();
+
+        RegionBSPTree3D second = expr.toTree();
+
+        // assert
+        Assert.assertEquals(6.0, second.getSize(), TEST_EPS);
+        Assert.assertEquals(8.0, a.getSize(), TEST_EPS);
+        Assert.assertNotSame(a, RegionExpression3D.of(a).toTree());
+    }
+
+    @Test
+    public void testToString() {
+        // arrange
+        RegionExpression3D expr = RegionExpression3D.of(RegionBSPTree3D.full())
+                .union(RegionExpression3D.of(RegionBSPTree3D.empty()));
+
+        // act
+        String str = expr.toString();
+
+        // assert
+        GeometryTestUtils.assertContains("RegionExpression3D[operation= UNION, left= RegionExpression3D[operand= ",
+                str);
+    }
+
+    private static void checkClassify(final RegionExpression3D expr, final RegionBSPTree3D expected) {
+        for (double x = -2; x <= 5; x += 0.5) {
+            for (double y = -2; y <= 3; y += 0.5) {
+                for (double z = -1.5; z <= 1.5; z += 0.5) {
+                    Vector3D pt = Vector3D.of(x, y, z);
+                    Assert.assertEquals("Unexpected location for point " + pt, expected.classify(pt),
+                            expr.classify(pt));
+                }
+            }
+        }
+    }
+
+    private static void checkLinecast(final RegionExpression3D expr, final RegionBSPTree3D expected) {
+        UniformRandomProvider rand = RandomSource.create(RandomSource.XO_RO_SHI_RO_128_PP, 1L);
+
+        for (int i = 0; i < 50; ++i) {
+            Vector3D start = Vector3D.of(
+                    (4 * rand.nextDouble()) - 2,
+                    (4 * rand.nextDouble()) - 2,
+                    (4 * rand.nextDouble()) - 2);
+            Vector3D end = Vector3D.of(
+                    rand.nextDouble() - 0.5,
+                    rand.nextDouble() - 0.5,
+                    rand.nextDouble() - 0.5);
+
+            Line3D line = Lines3D.fromPoints(start, end, TEST_PRECISION);
+
+            List<LinecastPoint3D> expectedPts = expected.linecast(line);
+            List<LinecastPoint3D> actualPts = expr.linecast(line);
+
+            Assert.assertEquals(expectedPts.size(), actualPts.size());
+            for (int j = 0; j < expectedPts.size(); ++j) {
+                assertLinecastPointsEqual(expectedPts.get(j), actualPts.get(j));
+            }
+
+            LinecastPoint3D expectedFirst = expected.linecastFirst(line.rayFrom(start));
+            LinecastPoint3D actualFirst = expr.linecastFirst(line.rayFrom(start));
+            if (expectedFirst == null) {
+                Assert.assertNull(actualFirst);
+            } else {
+                assertLinecastPointsEqual(expectedFirst, actualFirst);
+            }
+        }
+    }
+
+    private static void checkBounds(final Bounds3D bounds, final Vector3D min, final Vector3D max) {
+        EuclideanTestUtils.assertCoordinatesEqual(min, bounds.getMin(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(max, bounds.getMax(), TEST_EPS);
+    }
+
+    private static void assertLinecastPointsEqual(final LinecastPoint3D expected, final LinecastPoint3D actual) {
+        Assert.assertEquals(expected.getAbscissa(), actual.getAbscissa(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(expected.getPoint(), actual.getPoint(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(expected.getNormal(), actual.getNormal(), TEST_EPS);
+    }
+
+    private static RegionBSPTree3D union(final RegionBSPTree3D a, final RegionBSPTree3D b) {
+        RegionBSPTree3D result = RegionBSPTree3D.empty();
+        result.union(a, b);
+        return result;
+    }
+
+    private static RegionBSPTree3D intersection(final RegionBSPTree3D a, final RegionBSPTree3D b) {
+        RegionBSPTree3D result = RegionBSPTree3D.empty();
+        result.intersection(a, b);
+        return result;
+    }
+
+    private static RegionBSPTree3D difference(final RegionBSPTree3D a, final RegionBSPTree3D b) {
+        RegionBSPTree3D result = RegionBSPTree3D.empty();
+        result.difference(a, b);
+        return result;
+    }
+
+    private static RegionBSPTree3D xor(final RegionBSPTree3D a, final RegionBSPTree3D b) {
+        RegionBSPTree3D result = RegionBSPTree3D.empty();
+        result.xor(a, b);
+        return result;
+    }
+
+    private static RegionBSPTree3D createCube(final Vector3D center, final double size) {
+        return Parallelepiped.builder(TEST_PRECISION)
+                .setPosition(center)
+                .setScale(size)
+                .build()
+                .toTree();
+    }
+}
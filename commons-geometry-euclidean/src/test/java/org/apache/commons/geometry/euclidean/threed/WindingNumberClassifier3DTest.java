@@ -0,0 +1,324 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.threed;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.apache.commons.geometry.core.GeometryTestUtils;
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
+import org.apache.commons.geometry.core.precision.EpsilonDoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.threed.mesh.SimpleTriangleMesh;
+import org.apache.commons.geometry.euclidean.threed.mesh.TriangleMesh;
+import org.apache.commons.geometry.euclidean.threed.shape.Parallelepiped;
+import org.apache.commons.geometry.euclidean.threed.shape.Sphere;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.simple.RandomSource;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class WindingNumberClassifier3DTest {
+
+    private static final double TEST_EPS = 1e-10;
+
+    private static final DoublePrecisionContext TEST_PRECISION =
+            new EpsilonDoublePrecisionContext(TEST_EPS);
+
+    private static final double APPROX_EPS = 1e-3;
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    private static final BoundarySource3D UNIT_CUBE = Parallelepiped.builder(TEST_PRECISION)
+            .setPosition(Vector3D.of(0.5, 0.5, 0.5))
+            .build();
+
+    @Test
+    public void testFrom_empty() {
+        // act
+        WindingNumberClassifier3D classifier = WindingNumberClassifier3D.from(BoundarySource3D.from());
+
+        // assert
+        Assert.assertEquals(0, classifier.getTriangleCount());
+        Assert.assertEquals(0, classifier.getNodeCount());
+        Assert.assertEquals(0, classifier.getHeight());
+        Assert.assertEquals(WindingNumberClassifier3D.DEFAULT_ACCURACY, classifier.getAccuracy(), 0);
+
+        Assert.assertEquals(0, classifier.windingNumber(Vector3D.ZERO), 0);
+        Assert.assertFalse(classifier.contains(Vector3D.ZERO));
+    }
+
+    @Test
+    public void testFrom_largeMesh() {
+        // arrange
+        TriangleMesh mesh = Sphere.from(Vector3D.ZERO, 1, TEST_PRECISION).toTriangleMesh(4);
+
+        // act
+        WindingNumberClassifier3D classifier = WindingNumberClassifier3D.from(mesh, 3);
+
+        // assert
+        Assert.assertEquals(mesh.getFaceCount(), classifier.getTriangleCount());
+        Assert.assertEquals(3, classifier.getAccuracy(), 0);
+
+        // the tree is split at the median, so the height is logarithmic in the triangle count
+        Assert.assertTrue(classifier.getHeight() <= 2 + (Math.log(mesh.getFaceCount()) / Math.log(2)));
+    }
+
+    @Test
+    public void testFrom_invalidArgs() {
+        // arrange
+        Plane plane = Planes.fromNormal(Vector3D.Unit.PLUS_Z, TEST_PRECISION);
+
+        // act/assert
+        GeometryTestUtils.assertThrows(() -> {
+            WindingNumberClassifier3D.from(UNIT_CUBE, 0.5);
+        }, IllegalArgumentException.class, "Invalid winding number accuracy: 0.5");
+        GeometryTestUtils.assertThrows(() -> {
+            WindingNumberClassifier3D.from(UNIT_CUBE, Double.NaN);
+        }, IllegalArgumentException.class, "Invalid winding number accuracy: NaN");
+
+        GeometryTestUtils.assertThrows(() -> {
+            WindingNumberClassifier3D.from(BoundarySource3D.from(plane.span()));
+        }, IllegalStateException.class);
+    }
+
+    @Test
+    public void testWindingNumber_unitCube() {
+        // arrange
+        WindingNumberClassifier3D classifier = WindingNumberClassifier3D.from(UNIT_CUBE);
+
+        // act/assert
+        Assert.assertEquals(1, classifier.windingNumber(Vector3D.of(0.5, 0.5, 0.5)), TEST_EPS);
+        Assert.assertEquals(1, classifier.windingNumber(0.1, 0.9, 0.2), TEST_EPS);
+
+        Assert.assertEquals(0, classifier.windingNumber(Vector3D.of(1.5, 0.5, 0.5)), APPROX_EPS);
+        Assert.assertEquals(0, classifier.windingNumber(-1, -1, -1), APPROX_EPS);
+        Assert.assertEquals(0, classifier.windingNumber(1e10, 0, 0), APPROX_EPS);
+
+        Assert.assertTrue(classifier.contains(Vector3D.of(0.5, 0.5, 0.5)));
+        Assert.assertTrue(classifier.contains(0.99, 0.01, 0.5));
+        Assert.assertFalse(classifier.contains(Vector3D.of(1.01, 0.5, 0.5)));
+        Assert.assertFalse(classifier.contains(0.5, -0.01, 0.5));
+    }
+
+    @Test
+    public void testWindingNumber_reversedBoundaries() {
+        // arrange
+        RegionBSPTree3D tree = UNIT_CUBE.toTree();
+        tree.complement();
+
+        WindingNumberClassifier3D classifier = WindingNumberClassifier3D.from(tree);
+
+        // act/assert
+        Assert.assertEquals(-1, classifier.windingNumber(Vector3D.of(0.5, 0.5, 0.5)), TEST_EPS);
+        Assert.assertEquals(0, classifier.windingNumber(Vector3D.of(1.5, 0.5, 0.5)), APPROX_EPS);
+
+        Assert.assertFalse(classifier.contains(Vector3D.of(0.5, 0.5, 0.5)));
+        Assert.assertFalse(classifier.contains(Vector3D.of(1.5, 0.5, 0.5)));
+    }
+
+    @Test
+    public void testWindingNumber_nestedBoundaries() {
+        // arrange
+        BoundarySource3D inner = Parallelepiped.builder(TEST_PRECISION)
+                .setPosition(Vector3D.of(0.5, 0.5, 0.5))
+                .setScale(0.5)
+                .build();
+
+        List<PlaneConvexSubset> boundaries = UNIT_CUBE.boundaryStream().collect(Collectors.toList());
+        inner.boundaryStream().forEach(boundaries::add);
+
+        WindingNumberClassifier3D classifier = WindingNumberClassifier3D.from(BoundarySource3D.from(boundaries));
+
+        // act/assert
+        Assert.assertEquals(2, classifier.windingNumber(Vector3D.of(0.5, 0.5, 0.5)), TEST_EPS);
+        Assert.assertEquals(1, classifier.windingNumber(Vector3D.of(0.1, 0.1, 0.1)), TEST_EPS);
+        Assert.assertEquals(0, classifier.windingNumber(Vector3D.of(-0.1, 0.1, 0.1)), APPROX_EPS);
+    }
+
+    @Test
+    public void testWindingNumber_approximationMatchesExact() {
+        // arrange
+        TriangleMesh mesh = Sphere.from(Vector3D.ZERO, 1, TEST_PRECISION).toTriangleMesh(4);
+
+        WindingNumberClassifier3D approx = WindingNumberClassifier3D.from(mesh);
+        WindingNumberClassifier3D exact = WindingNumberClassifier3D.from(mesh, Double.POSITIVE_INFINITY);
+
+        UniformRandomProvider rand = RandomSource.create(RandomSource.XO_RO_SHI_RO_128_PP, 1L);
+
+        int n = 1000;
+        double errorSum = 0;
+
+        // act
+        for (int i = 0; i < n; ++i) {
+            Vector3D pt = randomPoint(rand, 3);
+
+            double error = Math.abs(exact.windingNumber(pt) - approx.windingNumber(pt));
+            Assert.assertTrue(error < 0.05);
+
+            errorSum += error;
+        }
+
+        // assert
+        Assert.assertTrue(errorSum / n < APPROX_EPS);
+    }
+
+    @Test
+    public void testContains_matchesTree() {
+        // arrange
+        Sphere sphere = Sphere.from(Vector3D.of(1, 2, 3), 2, TEST_PRECISION);
+
+        RegionBSPTree3D tree = sphere.toTree(3);
+        WindingNumberClassifier3D classifier = WindingNumberClassifier3D.from(tree);
+
+        UniformRandomProvider rand = RandomSource.create(RandomSource.XO_RO_SHI_RO_128_PP, 2L);
+
+        // act/assert
+        for (int i = 0; i < 1000; ++i) {
+            Vector3D pt = randomPoint(rand, 3).add(sphere.getCenter());
+
+            Assert.assertEquals(tree.classify(pt) == RegionLocation.INSIDE, classifier.contains(pt));
+        }
+    }
+
+    @Test
+    public void testContains_meshWithHoles() {
+        // arrange
+        TriangleMesh mesh = Sphere.from(Vector3D.ZERO, 1, TEST_PRECISION).toTriangleMesh(3);
+
+        List<PlaneConvexSubset> triangles = mesh.boundaryStream().collect(Collectors.toList());
+        for (int i = triangles.size() - 1; i >= 0; i -= 97) {
+            triangles.remove(i);
+        }
+
+        WindingNumberClassifier3D classifier = WindingNumberClassifier3D.from(BoundarySource3D.from(triangles));
+
+        // act/assert
+        Assert.assertTrue(classifier.getTriangleCount() < mesh.getFaceCount());
+
+        Assert.assertTrue(classifier.contains(Vector3D.ZERO));
+        Assert.assertTrue(classifier.contains(Vector3D.of(0.5, -0.5, 0.5)));
+        Assert.assertTrue(classifier.contains(Vector3D.of(0, 0, -0.9)));
+
+        Assert.assertFalse(classifier.contains(Vector3D.of(1.1, 0, 0)));
+        Assert.assertFalse(classifier.contains(Vector3D.of(2, 2, 2)));
+        Assert.assertFalse(classifier.contains(Vector3D.of(0, -1.2, 0)));
+    }
+
+    @Test
+    public void testContains_degenerateMeshFaces() {
+        // arrange
+        Vector3D[] vertices = {
+            Vector3D.ZERO,
+            Vector3D.of(1, 0, 0),
+            Vector3D.of(0, 1, 0),
+            Vector3D.of(0, 0, 1),
+            Vector3D.of(2, 0, 0)
+        };
+        int[][] faces = {
+            {0, 2, 1},
+            {0, 1, 3},
+            {0, 3, 2},
+            {1, 2, 3},
+            {0, 1, 4}
+        };
+        TriangleMesh mesh = SimpleTriangleMesh.from(vertices, faces, TEST_PRECISION);
+
+        // act
+        WindingNumberClassifier3D classifier = WindingNumberClassifier3D.from(mesh);
+
+        // assert
+        Assert.assertEquals(5, classifier.getTriangleCount());
+
+        Assert.assertEquals(1, classifier.windingNumber(Vector3D.of(0.1, 0.1, 0.1)), TEST_EPS);
+        Assert.assertEquals(0, classifier.windingNumber(Vector3D.of(1, 1, 1)), TEST_EPS);
+    }
+
+    @Test
+    public void testContains_batch() {
+        // arrange
+        WindingNumberClassifier3D classifier = WindingNumberClassifier3D.from(
+                Sphere.from(Vector3D.ZERO, 1, TEST_PRECISION).toTriangleMesh(3));
+
+        UniformRandomProvider rand = RandomSource.create(RandomSource.XO_RO_SHI_RO_128_PP, 3L);
+
+        int n = 5_000;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        double[] zs = new double[n];
+        for (int i = 0; i < n; ++i) {
+            Vector3D pt = randomPoint(rand, 1.5);
+            xs[i] = pt.getX();
+            ys[i] = pt.getY();
+            zs[i] = pt.getZ();
+        }
+
+        boolean[] expected = new boolean[n];
+        for (int i = 0; i < n; ++i) {
+            expected[i] = classifier.contains(xs[i], ys[i], zs[i]);
+        }
+
+        boolean[] out = new boolean[n];
+        boolean[] parallelOut = new boolean[n];
+
+        // act
+        classifier.contains(xs, ys, zs, out);
+        classifier.contains(xs, ys, zs, parallelOut, POOL);
+
+        // assert
+        Assert.assertTrue(Arrays.equals(expected, out));
+        Assert.assertTrue(Arrays.equals(expected, parallelOut));
+    }
+
+    @Test
+    public void testContains_batch_invalidArgs() {
+        // arrange
+        WindingNumberClassifier3D classifier = WindingNumberClassifier3D.from(UNIT_CUBE);
+
+        // act/assert
+        GeometryTestUtils.assertThrows(() -> {
+            classifier.contains(new double[2], new double[2], new double[1], new boolean[2]);
+        }, IllegalArgumentException.class,
+                "Coordinate and output arrays must have the same length; found [2, 2, 1, 2]");
+        GeometryTestUtils.assertThrows(() -> {
+            classifier.contains(new double[2], new double[2], new double[2], new boolean[3], POOL);
+        }, IllegalArgumentException.class,
+                "Coordinate and output arrays must have the same length; found [2, 2, 2, 3]");
+    }
+
+    @Test
+    public void testToString() {
+        // arrange
+        WindingNumberClassifier3D classifier = WindingNumberClassifier3D.from(UNIT_CUBE);
+
+        // act
+        String str = classifier.toString();
+
+        // assert
+        GeometryTestUtils.assertContains("WindingNumberClassifier3D[triangleCount= 12, nodeCount= 3, height= 2, " +
+                "accuracy= 2.0]", str);
+    }
+
+    private static Vector3D randomPoint(final UniformRandomProvider rand, final double scale) {
+        return Vector3D.of(
+                scale * ((2 * rand.nextDouble()) - 1),
+                scale * ((2 * rand.nextDouble()) - 1),
+                scale * ((2 * rand.nextDouble()) - 1));
+    }
+}
@@ -0,0 +1,480 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.threed.mesh;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.apache.commons.geometry.core.GeometryTestUtils;
+import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
+import org.apache.commons.geometry.core.precision.EpsilonDoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.EuclideanTestUtils;
+import org.apache.commons.geometry.euclidean.threed.AffineTransformMatrix3D;
+import org.apache.commons.geometry.euclidean.threed.Bounds3D;
+import org.apache.commons.geometry.euclidean.threed.PlaneConvexSubset;
+import org.apache.commons.geometry.euclidean.threed.Triangle3D;
+import org.apache.commons.geometry.euclidean.threed.Vector3D;
+import org.apache.commons.geometry.euclidean.threed.rotation.QuaternionRotation;
+import org.apache.commons.geometry.euclidean.threed.shape.Parallelepiped;
+import org.apache.commons.numbers.angle.PlaneAngleRadians;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PackedTriangleMeshTest {
+
+    private static final double TEST_EPS = 1e-10;
+
+    private static final DoublePrecisionContext TEST_PRECISION =
+            new EpsilonDoublePrecisionContext(TEST_EPS);
+
+    private static final double[] COORDINATES = {
+        0, 0, 0,
+        1, 1, 0,
+        1, 1, 1,
+        0, 0, 1
+    };
+
+    private static final int[] FACE_INDICES = {
+        0, 1, 2,
+        0, 2, 3
+    };
+
+    @Test
+    public void testFrom_arrays() {
+        // arrange
+        double[] coordinates = COORDINATES.clone();
+        int[] faceIndices = FACE_INDICES.clone();
+
+        // act
+        PackedTriangleMesh mesh = PackedTriangleMesh.from(coordinates, faceIndices, TEST_PRECISION);
+
+        // assert
+        Assert.assertFalse(mesh.isDirect());
+        Assert.assertSame(TEST_PRECISION, mesh.getPrecision());
+
+        Assert.assertEquals(4, mesh.getVertexCount());
+        Assert.assertEquals(Arrays.asList(
+                Vector3D.ZERO, Vector3D.of(1, 1, 0), Vector3D.of(1, 1, 1), Vector3D.of(0, 0, 1)),
+                mesh.getVertices());
+
+        Assert.assertEquals(2, mesh.getFaceCount());
+
+        List<TriangleMesh.Face> faces = mesh.getFaces();
+        Assert.assertEquals(2, faces.size());
+
+        TriangleMesh.Face f1 = faces.get(0);
+        Assert.assertEquals(0, f1.getIndex());
+        Assert.assertArrayEquals(new int[] {0, 1, 2}, f1.getVertexIndices());
+        Assert.assertEquals(Vector3D.ZERO, f1.getPoint1());
+        Assert.assertEquals(Vector3D.of(1, 1, 0), f1.getPoint2());
+        Assert.assertEquals(Vector3D.of(1, 1, 1), f1.getPoint3());
+        Assert.assertEquals(Arrays.asList(Vector3D.ZERO, Vector3D.of(1, 1, 0), Vector3D.of(1, 1, 1)),
+                f1.getVertices());
+        Assert.assertTrue(f1.definesPolygon());
+
+        Triangle3D t1 = f1.getPolygon();
+        Assert.assertEquals(Arrays.asList(Vector3D.ZERO, Vector3D.of(1, 1, 0), Vector3D.of(1, 1, 1)),
+                t1.getVertices());
+
+        TriangleMesh.Face f2 = mesh.getFace(1);
+        Assert.assertEquals(1, f2.getIndex());
+        Assert.assertArrayEquals(new int[] {0, 2, 3}, f2.getVertexIndices());
+
+        Bounds3D bounds = mesh.getBounds();
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.ZERO, bounds.getMin(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(1, 1, 1), bounds.getMax(), TEST_EPS);
+
+        // input arrays are copied
+        coordinates[0] = 10;
+        faceIndices[0] = 3;
+
+        Assert.assertEquals(Vector3D.ZERO, mesh.getVertex(0));
+        Assert.assertArrayEquals(new int[] {0, 1, 2}, mesh.getFace(0).getVertexIndices());
+    }
+
+    @Test
+    public void testFrom_arrays_empty() {
+        // act
+        PackedTriangleMesh mesh = PackedTriangleMesh.from(new double[0], new int[0], TEST_PRECISION);
+
+        // assert
+        Assert.assertEquals(0, mesh.getVertexCount());
+        Assert.assertEquals(0, mesh.getVertices().size());
+
+        Assert.assertEquals(0, mesh.getFaceCount());
+        Assert.assertEquals(0, mesh.getFaces().size());
+
+        Assert.assertNull(mesh.getBounds());
+
+        Assert.assertEquals(0, mesh.triangleStream().count());
+    }
+
+    @Test
+    public void testFrom_arrays_invalidInput() {
+        // act/assert
+        GeometryTestUtils.assertThrows(() -> {
+            PackedTriangleMesh.from(new double[] {0, 0, 0, 1}, new int[0], TEST_PRECISION);
+        }, IllegalArgumentException.class, "Vertex coordinate count must be a multiple of 3; found 4");
+
+        GeometryTestUtils.assertThrows(() -> {
+            PackedTriangleMesh.from(COORDINATES, new int[] {0, 1}, TEST_PRECISION);
+        }, IllegalArgumentException.class, "Face index count must be a multiple of 3; found 2");
+
+        GeometryTestUtils.assertThrows(() -> {
+            PackedTriangleMesh.from(COORDINATES, new int[] {0, 1, 4}, TEST_PRECISION);
+        }, IllegalArgumentException.class, "Invalid vertex index: 4");
+
+        GeometryTestUtils.assertThrows(() -> {
+            PackedTriangleMesh.from(COORDINATES, new int[] {-1, 1, 2}, TEST_PRECISION);
+        }, IllegalArgumentException.class, "Invalid vertex index: -1");
+    }
+
+    @Test
+    public void testFrom_mesh() {
+        // arrange
+        SimpleTriangleMesh simple = SimpleTriangleMesh.from(Parallelepiped.unitCube(TEST_PRECISION), TEST_PRECISION);
+
+        // act
+        PackedTriangleMesh mesh = PackedTriangleMesh.from(simple, TEST_PRECISION);
+
+        // assert
+        Assert.assertEquals(simple.getVertices(), mesh.getVertices());
+        Assert.assertEquals(simple.getFaceCount(), mesh.getFaceCount());
+        for (int i = 0; i < simple.getFaceCount(); ++i) {
+            Assert.assertArrayEquals(simple.getFace(i).getVertexIndices(), mesh.getFace(i).getVertexIndices());
+        }
+
+        Assert.assertEquals(simple.getBounds().getMin(), mesh.getBounds().getMin());
+        Assert.assertEquals(simple.getBounds().getMax(), mesh.getBounds().getMax());
+
+        Assert.assertEquals(1, mesh.toTree().getSize(), TEST_EPS);
+    }
+
+    @Test
+    public void testFromBuffers() {
+        // arrange
+        DoubleBuffer coordinates = DoubleBuffer.wrap(new double[] {
+            -1, -1, -1,
+            0, 0, 0,
+            1, 0, 0,
+            0, 1, 0
+        });
+        coordinates.position(3);
+
+        IntBuffer faceIndices = IntBuffer.wrap(new int[] {0, 1, 2});
+
+        // act
+        PackedTriangleMesh mesh = PackedTriangleMesh.fromBuffers(coordinates, faceIndices, TEST_PRECISION);
+
+        // assert
+        Assert.assertEquals(3, mesh.getVertexCount());
+        Assert.assertEquals(Arrays.asList(Vector3D.ZERO, Vector3D.of(1, 0, 0), Vector3D.of(0, 1, 0)),
+                mesh.getVertices());
+
+        Assert.assertEquals(1, mesh.getFaceCount());
+
+        Bounds3D bounds = mesh.getBounds();
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.ZERO, bounds.getMin(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(1, 1, 0), bounds.getMax(), TEST_EPS);
+
+        Assert.assertTrue(mesh.getCoordinateBuffer().isReadOnly());
+        Assert.assertEquals(9, mesh.getCoordinateBuffer().remaining());
+        Assert.assertTrue(mesh.getFaceIndexBuffer().isReadOnly());
+        Assert.assertEquals(3, mesh.getFaceIndexBuffer().remaining());
+    }
+
+    @Test
+    public void testFromBuffers_direct() {
+        // arrange
+        DoubleBuffer coordinates = ByteBuffer.allocateDirect(COORDINATES.length * Double.BYTES)
+                .order(ByteOrder.nativeOrder())
+                .asDoubleBuffer();
+        coordinates.put(COORDINATES).rewind();
+
+        IntBuffer faceIndices = ByteBuffer.allocateDirect(FACE_INDICES.length * Integer.BYTES)
+                .order(ByteOrder.nativeOrder())
+                .asIntBuffer();
+        faceIndices.put(FACE_INDICES).rewind();
+
+        // act
+        PackedTriangleMesh mesh = PackedTriangleMesh.fromBuffers(coordinates, faceIndices, TEST_PRECISION);
+
+        // assert
+        Assert.assertTrue(mesh.isDirect());
+        Assert.assertSame(mesh, mesh.toDirect());
+
+        Assert.assertEquals(PackedTriangleMesh.from(COORDINATES, FACE_INDICES, TEST_PRECISION).getVertices(),
+                mesh.getVertices());
+        Assert.assertArrayEquals(new int[] {0, 2, 3}, mesh.getFace(1).getVertexIndices());
+    }
+
+    @Test
+    public void testFromBuffers_invalidInput() {
+        // act/assert
+        GeometryTestUtils.assertThrows(() -> {
+            PackedTriangleMesh.fromBuffers(DoubleBuffer.allocate(5), IntBuffer.allocate(0), TEST_PRECISION);
+        }, IllegalArgumentException.class, "Vertex coordinate count must be a multiple of 3; found 5");
+
+        GeometryTestUtils.assertThrows(() -> {
+            PackedTriangleMesh.fromBuffers(DoubleBuffer.allocate(3), IntBuffer.wrap(new int[] {0, 0, 1}),
+                    TEST_PRECISION);
+        }, IllegalArgumentException.class, "Invalid vertex index: 1");
+
+        GeometryTestUtils.assertThrows(() -> {
+            PackedTriangleMesh.fromBuffers(DoubleBuffer.allocate(3), IntBuffer.allocate(0), null);
+        }, NullPointerException.class);
+    }
+
+    @Test
+    public void testVerticesAndFaces_views() {
+        // arrange
+        PackedTriangleMesh mesh = PackedTriangleMesh.from(COORDINATES, FACE_INDICES, TEST_PRECISION);
+
+        // act
+        List<Vector3D> vertices = mesh.getVertices();
+        List<TriangleMesh.Face> faces = mesh.getFaces();
+
+        // assert
+        int v = 0;
+        for (Vector3D vertex : mesh.vertices()) {
+            Assert.assertEquals(vertices.get(v++), vertex);
+        }
+        Assert.assertEquals(4, v);
+
+        int i = 0;
+        for (TriangleMesh.Face face : mesh.faces()) {
+            Assert.assertEquals(i++, face.getIndex());
+        }
+        Assert.assertEquals(2, i);
+
+        GeometryTestUtils.assertThrows(() -> vertices.add(Vector3D.ZERO), UnsupportedOperationException.class);
+        GeometryTestUtils.assertThrows(() -> faces.remove(0), UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void testIndexOutOfBounds() {
+        // arrange
+        PackedTriangleMesh mesh = PackedTriangleMesh.from(COORDINATES, FACE_INDICES, TEST_PRECISION);
+
+        // act/assert
+        GeometryTestUtils.assertThrows(() -> mesh.getVertex(4), IndexOutOfBoundsException.class,
+                "Vertex index out of bounds: 4");
+        GeometryTestUtils.assertThrows(() -> mesh.getVertices().get(-1), IndexOutOfBoundsException.class,
+                "Vertex index out of bounds: -1");
+
+        GeometryTestUtils.assertThrows(() -> mesh.getFace(2), IndexOutOfBoundsException.class,
+                "Face index out of bounds: 2");
+        GeometryTestUtils.assertThrows(() -> mesh.getFaces().get(-1), IndexOutOfBoundsException.class,
+                "Face index out of bounds: -1");
+    }
+
+    @Test
+    public void testTriangleStream() {
+        // arrange
+        SimpleTriangleMesh simple = SimpleTriangleMesh.from(Parallelepiped.unitCube(TEST_PRECISION), TEST_PRECISION);
+        PackedTriangleMesh mesh = PackedTriangleMesh.from(simple, TEST_PRECISION);
+
+        // act
+        List<Triangle3D> tris = mesh.triangleStream().collect(Collectors.toList());
+
+        // assert
+        List<Triangle3D> expected = simple.triangleStream().collect(Collectors.toList());
+        Assert.assertEquals(expected.size(), tris.size());
+        for (int i = 0; i < expected.size(); ++i) {
+            Assert.assertEquals(expected.get(i).getVertices(), tris.get(i).getVertices());
+        }
+
+        Assert.assertEquals(12, mesh.triangleStream().parallel().count());
+    }
+
+    @Test
+    public void testBoundaryStream() {
+        // arrange
+        PackedTriangleMesh mesh = PackedTriangleMesh.from(COORDINATES, FACE_INDICES, TEST_PRECISION);
+
+        // act
+        List<PlaneConvexSubset> boundaries = mesh.boundaryStream().collect(Collectors.toList());
+
+        // assert
+        Assert.assertEquals(2, boundaries.size());
+        Assert.assertEquals(Arrays.asList(Vector3D.ZERO, Vector3D.of(1, 1, 1), Vector3D.of(0, 0, 1)),
+                boundaries.get(1).getVertices());
+    }
+
+    @Test
+    public void testFace_doesNotDefineTriangle() {
+        // arrange
+        DoublePrecisionContext precision = new EpsilonDoublePrecisionContext(1e-1);
+        double[] coordinates = {
+            0, 0, 0,
+            0.01, -0.01, 0.01,
+            0.01, 0.01, 0.01
+        };
+        PackedTriangleMesh mesh = PackedTriangleMesh.from(coordinates, new int[] {0, 1, 2}, precision);
+
+        // act/assert
+        Pattern msgPattern = Pattern.compile("^Points do not define a plane: .*");
+
+        Assert.assertFalse(mesh.getFace(0).definesPolygon());
+        GeometryTestUtils.assertThrows(() -> {
+            mesh.getFace(0).getPolygon();
+        }, IllegalArgumentException.class, msgPattern);
+    }
+
+    @Test
+    public void testTransform() {
+        // arrange
+        PackedTriangleMesh mesh = PackedTriangleMesh.from(
+                SimpleTriangleMesh.from(Parallelepiped.unitCube(TEST_PRECISION), TEST_PRECISION), TEST_PRECISION);
+
+        AffineTransformMatrix3D t = AffineTransformMatrix3D.createScale(1, 2, 3)
+                .translate(0.5, 1, 1.5);
+
+        // act
+        PackedTriangleMesh result = mesh.transform(t);
+
+        // assert
+        Assert.assertNotSame(mesh, result);
+        Assert.assertFalse(result.isDirect());
+
+        Assert.assertEquals(8, result.getVertexCount());
+        Assert.assertEquals(12, result.getFaceCount());
+
+        for (int i = 0; i < mesh.getVertexCount(); ++i) {
+            Assert.assertEquals(t.apply(mesh.getVertex(i)), result.getVertex(i));
+        }
+
+        Bounds3D resultBounds = result.getBounds();
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.ZERO, resultBounds.getMin(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(1, 2, 3), resultBounds.getMax(), TEST_EPS);
+
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(0.5, 1, 1.5), result.toTree().getCentroid(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.ZERO, mesh.toTree().getCentroid(), TEST_EPS);
+    }
+
+    @Test
+    public void testTransform_nonMatrixTransform() {
+        // arrange
+        PackedTriangleMesh mesh = PackedTriangleMesh.from(COORDINATES, FACE_INDICES, TEST_PRECISION)
+                .toDirect();
+
+        QuaternionRotation rot = QuaternionRotation.fromAxisAngle(Vector3D.Unit.PLUS_Z, PlaneAngleRadians.PI_OVER_TWO);
+
+        // act
+        PackedTriangleMesh result = mesh.transform(rot);
+
+        // assert
+        Assert.assertTrue(result.isDirect());
+
+        for (int i = 0; i < mesh.getVertexCount(); ++i) {
+            EuclideanTestUtils.assertCoordinatesEqual(rot.apply(mesh.getVertex(i)), result.getVertex(i), TEST_EPS);
+        }
+
+        Bounds3D resultBounds = result.getBounds();
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(-1, 0, 0), resultBounds.getMin(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector3D.of(0, 1, 1), resultBounds.getMax(), TEST_EPS);
+    }
+
+    @Test
+    public void testTransform_empty() {
+        // arrange
+        PackedTriangleMesh mesh = PackedTriangleMesh.from(new double[0], new int[0], TEST_PRECISION);
+
+        // act
+        PackedTriangleMesh result = mesh.transform(AffineTransformMatrix3D.createScale(1, 2, 3));
+
+        // assert
+        Assert.assertEquals(0, result.getVertexCount());
+        Assert.assertEquals(0, result.getFaceCount());
+
+        Assert.assertNull(result.getBounds());
+    }
+
+    @Test
+    public void testToDirect() {
+        // arrange
+        PackedTriangleMesh mesh = PackedTriangleMesh.from(COORDINATES, FACE_INDICES, TEST_PRECISION);
+
+        // act
+        PackedTriangleMesh direct = mesh.toDirect();
+
+        // assert
+        Assert.assertFalse(mesh.isDirect());
+        Assert.assertTrue(direct.isDirect());
+        Assert.assertTrue(direct.getCoordinateBuffer().isDirect());
+        Assert.assertTrue(direct.getFaceIndexBuffer().isDirect());
+
+        Assert.assertSame(mesh.getPrecision(), direct.getPrecision());
+        Assert.assertSame(mesh.getBounds(), direct.getBounds());
+        Assert.assertEquals(mesh.getVertices(), direct.getVertices());
+        for (int i = 0; i < mesh.getFaceCount(); ++i) {
+            Assert.assertArrayEquals(mesh.getFace(i).getVertexIndices(), direct.getFace(i).getVertexIndices());
+        }
+    }
+
+    @Test
+    public void testToTriangleMesh() {
+        // arrange
+        DoublePrecisionContext precision1 = new EpsilonDoublePrecisionContext(1e-1);
+        DoublePrecisionContext precision2 = new EpsilonDoublePrecisionContext(1e-2);
+        DoublePrecisionContext precision3 = new EpsilonDoublePrecisionContext(1e-1);
+
+        PackedTriangleMesh mesh = PackedTriangleMesh.from(COORDINATES, FACE_INDICES, precision1);
+
+        // act/assert
+        Assert.assertSame(mesh, mesh.toTriangleMesh(precision1));
+
+        PackedTriangleMesh other = mesh.toTriangleMesh(precision2);
+        Assert.assertSame(precision2, other.getPrecision());
+        Assert.assertEquals(mesh.getVertices(), other.getVertices());
+        Assert.assertEquals(2, other.getFaceCount());
+        Assert.assertSame(mesh.getBounds(), other.getBounds());
+
+        Assert.assertSame(mesh, mesh.toTriangleMesh(precision3));
+    }
+
+    @Test
+    public void testToString() {
+        // arrange
+        PackedTriangleMesh mesh = PackedTriangleMesh.from(COORDINATES, FACE_INDICES, TEST_PRECISION);
+
+        // act
+        String str = mesh.toString();
+
+        // assert
+        GeometryTestUtils.assertContains("PackedTriangleMesh[vertexCount= 4, faceCount= 2, bounds= Bounds3D[", str);
+        GeometryTestUtils.assertContains("direct= false]", str);
+    }
+
+    @Test
+    public void testFaceToString() {
+        // arrange
+        PackedTriangleMesh mesh = PackedTriangleMesh.from(COORDINATES, FACE_INDICES, TEST_PRECISION);
+
+        // act
+        String str = mesh.getFace(1).toString();
+
+        // assert
+        GeometryTestUtils.assertContains("PackedTriangleFace[index= 1, vertexIndices= [0, 2, 3], vertices= [(0", str);
+    }
+}
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -598,6 +599,225 @@ public class SimpleTriangleMeshTest {
         GeometryTestUtils.assertThrows(() -> {
             builder.addFaces(new int[][] {{0, 1, 2}});
         }, IllegalStateException.class, msg);
+
+        GeometryTestUtils.assertThrows(() -> {
+            builder.useVertexGrid(true);
+        }, IllegalStateException.class, msg);
+    }
+
+    @Test
+    public void testBuilder_useVertexGrid_mixedBuildMethods() {
+        // arrange
+        DoublePrecisionContext precision = new EpsilonDoublePrecisionContext(1e-1);
+        SimpleTriangleMesh.Builder builder = SimpleTriangleMesh.builder(precision)
+                .useVertexGrid(true);
+
+        // act
+        builder.addVertices(Arrays.asList(Vector3D.ZERO, Vector3D.of(1, 0, 0)));
+        builder.useVertex(Vector3D.of(0, 0, 1));
+        builder.addVertex(Vector3D.of(0, 1, 0));
+        builder.useVertex(Vector3D.of(1, 1, 1));
+
+        builder.addFace(0, 2, 1);
+        builder.addFaceUsingVertices(Vector3D.of(0.5, 0, 0), Vector3D.of(1.01, 0, 0), Vector3D.of(1, 1, 0.95));
+
+        SimpleTriangleMesh mesh = builder.build();
+
+        // assert
+        Assert.assertEquals(6, mesh.getVertexCount());
+        Assert.assertEquals(2, mesh.getFaceCount());
+
+        List<TriangleMesh.Face> faces = mesh.getFaces();
+        Assert.assertArrayEquals(new int[] {0, 2, 1},  faces.get(0).getVertexIndices());
+        Assert.assertArrayEquals(new int[] {5, 1, 4},  faces.get(1).getVertexIndices());
+    }
+
+    @Test
+    public void testBuilder_useVertexGrid_findsEquivalentVerticesMissedByOrdering() {
+        // arrange
+        DoublePrecisionContext precision = new EpsilonDoublePrecisionContext(1e-1);
+
+        Vector3D a = Vector3D.ZERO;
+        Vector3D b = Vector3D.of(0.15, -0.5, 0);
+
+        // equivalent to b but not to a; the fuzzy ordering places it before a and b after a
+        Vector3D c = Vector3D.of(0.08, -0.5, 0);
+
+        SimpleTriangleMesh.Builder mapBuilder = SimpleTriangleMesh.builder(precision);
+        SimpleTriangleMesh.Builder gridBuilder = SimpleTriangleMesh.builder(precision)
+                .useVertexGrid(true);
+
+        // act
+        mapBuilder.useVertex(a);
+        mapBuilder.useVertex(b);
+        int mapIdx = mapBuilder.useVertex(c);
+
+        gridBuilder.useVertex(a);
+        gridBuilder.useVertex(b);
+        int gridIdx = gridBuilder.useVertex(c);
+
+        // assert
+        Assert.assertEquals(2, mapIdx);
+        Assert.assertEquals(3, mapBuilder.getVertexCount());
+
+        Assert.assertEquals(1, gridIdx);
+        Assert.assertEquals(2, gridBuilder.getVertexCount());
+    }
+
+    @Test
+    public void testBuilder_useVertexGrid_matchesMap() {
+        // arrange
+        double eps = 1e-3;
+        DoublePrecisionContext precision = new EpsilonDoublePrecisionContext(eps);
+        Random rnd = new Random(2L);
+
+        SimpleTriangleMesh.Builder mapBuilder = SimpleTriangleMesh.builder(precision);
+        SimpleTriangleMesh.Builder gridBuilder = SimpleTriangleMesh.builder(precision)
+                .useVertexGrid(true);
+
+        // act/assert
+        for (int i = 0; i < 10000; ++i) {
+            // lattice points perturbed by less than half of the epsilon value, so that vertex
+            // equivalence is transitive and both methods must give the same result
+            Vector3D pt = Vector3D.of(
+                    (0.5 * rnd.nextInt(20)) - 5 + (0.49 * eps * ((2 * rnd.nextDouble()) - 1)),
+                    (0.5 * rnd.nextInt(20)) - 5 + (0.49 * eps * ((2 * rnd.nextDouble()) - 1)),
+                    (0.5 * rnd.nextInt(20)) - 5 + (0.49 * eps * ((2 * rnd.nextDouble()) - 1)));
+
+            Assert.assertEquals(mapBuilder.useVertex(pt), gridBuilder.useVertex(pt));
+        }
+
+        Assert.assertEquals(mapBuilder.getVertexCount(), gridBuilder.getVertexCount());
+    }
+
+    @Test
+    public void testBuilder_useVertexGrid_zeroEpsilon() {
+        // arrange
+        DoublePrecisionContext precision = new EpsilonDoublePrecisionContext(0);
+        SimpleTriangleMesh.Builder builder = SimpleTriangleMesh.builder(precision)
+                .useVertexGrid(true);
+
+        // act
+        int a = builder.useVertex(Vector3D.of(1, 2, 3));
+        int b = builder.useVertex(Vector3D.of(1, 2, Math.nextUp(3.0)));
+        int c = builder.useVertex(Vector3D.of(1, 2, Math.nextUp(Math.nextUp(3.0))));
+        int d = builder.useVertex(Vector3D.of(Math.nextDown(1.0), 2, 3));
+        int e = builder.useVertex(Vector3D.of(-0.0, 0.0, Double.MIN_VALUE));
+        int f = builder.useVertex(Vector3D.of(0.0, -Double.MIN_VALUE, 0.0));
+        int g = builder.useVertex(Vector3D.of(Double.POSITIVE_INFINITY, 2, 3));
+        int h = builder.useVertex(Vector3D.of(Double.POSITIVE_INFINITY, 2, 3));
+
+        // assert
+        // adjacent floating point values are equivalent
+        Assert.assertEquals(0, a);
+        Assert.assertEquals(0, b);
+        Assert.assertEquals(1, c);
+        Assert.assertEquals(0, d);
+        Assert.assertEquals(2, e);
+        Assert.assertEquals(2, f);
+        Assert.assertEquals(3, g);
+        Assert.assertEquals(3, h);
+        Assert.assertEquals(4, builder.getVertexCount());
+    }
+
+    @Test
+    public void testBuilder_useVertexGrid_largeCoordinates() {
+        // arrange
+        DoublePrecisionContext precision = new EpsilonDoublePrecisionContext(1e-10);
+        SimpleTriangleMesh.Builder builder = SimpleTriangleMesh.builder(precision)
+                .useVertexGrid(true);
+
+        double x = 1e10;
+        double y = -3e12;
+        double z = 0.5;
+
+        // act
+        int a = builder.useVertex(Vector3D.of(x, y, z));
+        int b = builder.useVertex(Vector3D.of(Math.nextUp(x), Math.nextDown(y), z));
+        int c = builder.useVertex(Vector3D.of(x + (2 * Math.ulp(x)), y, z));
+        int d = builder.useVertex(Vector3D.of(Math.nextDown(x), Math.nextUp(y), z + 0.5e-10));
+
+        // assert
+        Assert.assertEquals(0, a);
+        Assert.assertEquals(0, b);
+        Assert.assertEquals(1, c);
+        Assert.assertEquals(0, d);
+        Assert.assertEquals(2, builder.getVertexCount());
+    }
+
+    @Test
+    public void testBuilder_useVertexGrid_findsEquivalentVerticesAtAllMagnitudes() {
+        // arrange
+        Random rnd = new Random(3L);
+        double[] scales = {1e-12, 1, 1e6, 1e15, 1e300};
+
+        for (double eps : new double[] {0, 1e-10, 1e-3}) {
+            DoublePrecisionContext precision = new EpsilonDoublePrecisionContext(eps);
+            SimpleTriangleMesh.Builder builder = SimpleTriangleMesh.builder(precision)
+                    .useVertexGrid(true);
+
+            List<Vector3D> vertices = new ArrayList<>();
+
+            // act/assert
+            for (int i = 0; i < 2000; ++i) {
+                // points close together, differing by a few multiples of the epsilon value or of the ulp
+                // of their coordinates
+                Vector3D pt = Vector3D.of(
+                        perturb(scales[rnd.nextInt(scales.length)], eps, rnd),
+                        perturb(-scales[rnd.nextInt(scales.length)], eps, rnd),
+                        perturb(0, eps, rnd));
+
+                boolean hasEquivalent = vertices.stream().anyMatch(v -> v.eq(pt, precision));
+
+                int idx = builder.useVertex(pt);
+
+                if (hasEquivalent) {
+                    Assert.assertTrue("Expected an equivalent vertex for " + pt + " with epsilon " + eps,
+                            idx < vertices.size() && vertices.get(idx).eq(pt, precision));
+                } else {
+                    Assert.assertEquals(vertices.size(), idx);
+                    vertices.add(pt);
+                }
+            }
+
+            Assert.assertEquals(vertices.size(), builder.getVertexCount());
+        }
+    }
+
+    @Test
+    public void testBuilder_useVertexGrid_infiniteCoordinates() {
+        // arrange
+        DoublePrecisionContext precision = new EpsilonDoublePrecisionContext(1e-1);
+        SimpleTriangleMesh.Builder builder = SimpleTriangleMesh.builder(precision)
+                .useVertexGrid(true);
+
+        // act/assert
+        Assert.assertEquals(0, builder.useVertex(Vector3D.of(Double.POSITIVE_INFINITY, 0, 0)));
+        Assert.assertEquals(1, builder.useVertex(Vector3D.of(Double.NEGATIVE_INFINITY, 0, 1e300)));
+        Assert.assertEquals(0, builder.useVertex(Vector3D.of(Double.POSITIVE_INFINITY, 0, 0.05)));
+        Assert.assertEquals(1, builder.useVertex(Vector3D.of(Double.NEGATIVE_INFINITY, 0, 1e300)));
+    }
+
+    @Test
+    public void testBuilder_useVertexGrid_toggle() {
+        // arrange
+        DoublePrecisionContext precision = new EpsilonDoublePrecisionContext(1e-1);
+        SimpleTriangleMesh.Builder builder = SimpleTriangleMesh.builder(precision);
+
+        builder.useVertex(Vector3D.ZERO);
+        builder.addVertex(Vector3D.of(1, 0, 0));
+
+        // act/assert
+        builder.useVertexGrid(true);
+        Assert.assertEquals(0, builder.useVertex(Vector3D.of(0.05, 0, 0)));
+        Assert.assertEquals(1, builder.useVertex(Vector3D.of(1, 0.05, 0)));
+        Assert.assertEquals(2, builder.useVertex(Vector3D.of(0, 1, 0)));
+
+        builder.useVertexGrid(false);
+        Assert.assertEquals(2, builder.useVertex(Vector3D.of(0, 1, 0.05)));
+        Assert.assertEquals(3, builder.useVertex(Vector3D.of(0, 0, 1)));
+
+        Assert.assertEquals(4, builder.getVertexCount());
     }
 
     @Test
@@ -631,4 +851,10 @@ public class SimpleTriangleMeshTest {
         TriangleMesh.Face f3 = mesh.getFace(2);
         Assert.assertArrayEquals(new int[] {0, 1, 2}, f3.getVertexIndices());
     }
+
+    private static double perturb(final double value, final double eps, final Random rnd) {
+        return rnd.nextBoolean() ?
+                value + ((rnd.nextInt(5) - 2) * eps) :
+                value + ((rnd.nextInt(5) - 2) * Math.ulp(value));
+    }
 }
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.twod;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.geometry.core.GeometryTestUtils;
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
+import org.apache.commons.geometry.core.precision.EpsilonDoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.EuclideanTestUtils;
+import org.apache.commons.geometry.euclidean.twod.RegionBSPTree2D.BalancedRegionBuilder2D;
+import org.apache.commons.geometry.euclidean.twod.shape.Parallelogram;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BalancedRegionBuilder2DTest {
+
+    private static final double TEST_EPS = 1e-10;
+
+    private static final DoublePrecisionContext TEST_PRECISION =
+            new EpsilonDoublePrecisionContext(TEST_EPS);
+
+    @Test
+    public void testBalancedRegionBuilder_halfSpace() {
+        // act
+        RegionBSPTree2D tree = RegionBSPTree2D.balancedRegionBuilder()
+                .insertBoundary(
+                    Lines.fromPointAndDirection(Vector2D.ZERO, Vector2D.Unit.MINUS_X, TEST_PRECISION).span())
+                .build();
+
+        // assert
+        Assert.assertFalse(tree.isFull());
+        Assert.assertTrue(tree.isInfinite());
+        Assert.assertEquals(3, tree.count());
+
+        EuclideanTestUtils.assertRegionLocation(tree, RegionLocation.INSIDE, Vector2D.of(0, -1));
+        EuclideanTestUtils.assertRegionLocation(tree, RegionLocation.BOUNDARY, Vector2D.ZERO);
+        EuclideanTestUtils.assertRegionLocation(tree, RegionLocation.OUTSIDE, Vector2D.of(0, 1));
+    }
+
+    @Test
+    public void testBalancedRegionBuilder_nonConvex() {
+        // arrange
+        RegionBSPTree2D src = Parallelogram.unitSquare(TEST_PRECISION).toTree();
+        src.union(Parallelogram.axisAligned(Vector2D.ZERO, Vector2D.of(1, 1), TEST_PRECISION).toTree());
+        src.difference(Parallelogram.axisAligned(Vector2D.of(-0.25, -0.25), Vector2D.of(0.25, 0.25), TEST_PRECISION)
+                .toTree());
+        List<LineConvexSubset> boundaries = src.getBoundaries();
+        Collections.shuffle(boundaries, new Random(1L));
+
+        // act/assert
+        checkBalancedRegion(RegionBSPTree2D.balancedRegionBuilder().insertBoundaries(src), src);
+        checkBalancedRegion(RegionBSPTree2D.balancedRegionBuilder().insertBoundaries(boundaries), src);
+        checkBalancedRegion(RegionBSPTree2D.balancedRegionBuilder().candidateCount(1)
+                .insertBoundaries(boundaries), src);
+        checkBalancedRegion(RegionBSPTree2D.balancedRegionBuilder().candidateCount(100)
+                .insertBoundaries(boundaries), src);
+        checkBalancedRegion(RegionBSPTree2D.balancedRegionBuilder().splitWeight(0)
+                .insertBoundaries(boundaries), src);
+        checkBalancedRegion(RegionBSPTree2D.balancedRegionBuilder().splitWeight(100)
+                .insertBoundaries(boundaries), src);
+    }
+
+    @Test
+    public void testBalancedRegionBuilder_invalidArgs() {
+        // arrange
+        BalancedRegionBuilder2D builder = RegionBSPTree2D.balancedRegionBuilder();
+
+        // act/assert
+        GeometryTestUtils.assertThrows(() -> {
+            builder.candidateCount(0);
+        }, IllegalArgumentException.class, "Candidate count must be greater than zero; was 0");
+
+        GeometryTestUtils.assertThrows(() -> {
+            builder.splitWeight(-1);
+        }, IllegalArgumentException.class, "Split weight must be finite and non-negative; was -1.0");
+
+        GeometryTestUtils.assertThrows(() -> {
+            builder.splitWeight(Double.NaN);
+        }, IllegalArgumentException.class, "Split weight must be finite and non-negative; was NaN");
+    }
+
+    /** Check that a BSP tree constructed with the given balanced region builder represents the
+     * same region as the given tree.
+     * @param builder
+     * @param expected
+     */
+    private void checkBalancedRegion(BalancedRegionBuilder2D builder, RegionBSPTree2D expected) {
+        // act
+        RegionBSPTree2D tree = builder.build();
+
+        // assert
+        Assert.assertEquals(expected.getSize(), tree.getSize(), TEST_EPS);
+        Assert.assertEquals(expected.getBoundarySize(), tree.getBoundarySize(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(expected.getCentroid(), tree.getCentroid(), TEST_EPS);
+
+        RegionBSPTree2D diff = RegionBSPTree2D.empty();
+        diff.xor(tree, expected);
+        Assert.assertTrue(diff.isEmpty());
+    }
+}
@@ -283,6 +283,29 @@ public class Bounds2DTest {
                 setter.apply(min, maxValue + 1), setter.apply(max, maxValue + 2))));
     }
 
+    @Test
+    public void testIntersects_lineConvexSubset() {
+        // arrange
+        Bounds2D b = Bounds2D.from(Vector2D.ZERO, Vector2D.of(1, 1));
+
+        Line diagonal = Lines.fromPoints(Vector2D.of(-1, -1), Vector2D.of(2, 2), TEST_PRECISION);
+        Line parallel = Lines.fromPointAndDirection(Vector2D.of(0.5, 2), Vector2D.Unit.PLUS_X, TEST_PRECISION);
+
+        // act/assert
+        Assert.assertTrue(b.intersects(diagonal.span()));
+        Assert.assertTrue(b.intersects(diagonal.rayFrom(Vector2D.of(0.5, 0.5))));
+        Assert.assertTrue(b.intersects(diagonal.segment(Vector2D.of(-1, -1), Vector2D.ZERO)));
+        Assert.assertTrue(b.intersects(diagonal.segment(Vector2D.of(-1, -1), Vector2D.of(-1e-11, -1e-11))));
+        Assert.assertFalse(b.intersects(diagonal.segment(Vector2D.of(-1, -1), Vector2D.of(-0.1, -0.1))));
+        Assert.assertFalse(b.intersects(diagonal.reverseRayTo(Vector2D.of(-0.1, -0.1))));
+
+        Assert.assertFalse(b.intersects(parallel.span()));
+        Assert.assertTrue(b.intersects(Lines.fromPointAndDirection(Vector2D.of(0.5, 1 + 1e-11),
+                Vector2D.Unit.PLUS_X, TEST_PRECISION).span()));
+        Assert.assertTrue(b.intersects(Lines.fromPointAndDirection(Vector2D.of(0.5, 1),
+                Vector2D.Unit.PLUS_X, TEST_PRECISION).span()));
+    }
+
     @Test
     public void testIntersection() {
         // -- arrange
@@ -17,6 +17,7 @@
 package org.apache.commons.geometry.euclidean.twod;
 
 import org.apache.commons.geometry.core.GeometryTestUtils;
+import org.apache.commons.geometry.core.partitioning.HyperplaneLocation;
 import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
 import org.apache.commons.geometry.core.precision.EpsilonDoublePrecisionContext;
 import org.apache.commons.geometry.euclidean.EuclideanTestUtils;
@@ -669,6 +670,42 @@ public class LineTest {
         Assert.assertEquals(d, reversed.offset(Vector2D.of(-1, 2)), TEST_EPS);
     }
 
+    @Test
+    public void testClassify_exactPredicates() {
+        // arrange
+        DoublePrecisionContext exact = new EpsilonDoublePrecisionContext(0, true);
+        Line line = Lines.fromPoints(Vector2D.of(-1, 0), Vector2D.of(0, 2), exact);
+        Line approx = Lines.fromPoints(Vector2D.of(-1, 0), Vector2D.of(0, 2), TEST_PRECISION);
+
+        // act/assert
+        EuclideanTestUtils.permute(-10, 10, 0.75, (x, y) -> {
+            Vector2D pt = Vector2D.of(x, y);
+            Assert.assertEquals(approx.classify(pt), line.classify(pt));
+        });
+
+        Line xAxis = Lines.fromPointAndDirection(Vector2D.ZERO, Vector2D.Unit.PLUS_X, exact);
+
+        Assert.assertEquals(HyperplaneLocation.ON, xAxis.classify(Vector2D.of(1e10, 0)));
+        Assert.assertEquals(HyperplaneLocation.MINUS, xAxis.classify(Vector2D.of(1e10, Double.MIN_VALUE)));
+        Assert.assertEquals(HyperplaneLocation.PLUS, xAxis.classify(Vector2D.of(1e10, -Double.MIN_VALUE)));
+
+        Assert.assertTrue(xAxis.contains(Vector2D.of(1e10, 0)));
+        Assert.assertFalse(xAxis.contains(Vector2D.of(1e10, Double.MIN_VALUE)));
+    }
+
+    @Test
+    public void testClassify_exactPredicates_tolerance() {
+        // arrange
+        DoublePrecisionContext precision = new EpsilonDoublePrecisionContext(TEST_EPS, true);
+        Line line = Lines.fromPointAndDirection(Vector2D.ZERO, Vector2D.Unit.PLUS_X, precision);
+
+        // act/assert
+        Assert.assertEquals(HyperplaneLocation.ON, line.classify(Vector2D.of(5, 0.5 * TEST_EPS)));
+        Assert.assertEquals(HyperplaneLocation.ON, line.classify(Vector2D.of(5, -TEST_EPS)));
+        Assert.assertEquals(HyperplaneLocation.MINUS, line.classify(Vector2D.of(5, 2 * TEST_EPS)));
+        Assert.assertEquals(HyperplaneLocation.PLUS, line.classify(Vector2D.of(5, -2 * TEST_EPS)));
+    }
+
     @Test
     public void testOffset_point_permute() {
         // arrange
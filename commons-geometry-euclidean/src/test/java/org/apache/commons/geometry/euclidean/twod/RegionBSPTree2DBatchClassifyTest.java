@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.twod;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.commons.geometry.core.GeometryTestUtils;
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
+import org.apache.commons.geometry.core.precision.EpsilonDoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.twod.RegionBSPTree2D.RegionNode2D;
+import org.apache.commons.geometry.euclidean.twod.shape.Parallelogram;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RegionBSPTree2DBatchClassifyTest {
+
+    private static final double TEST_EPS = 1e-10;
+
+    private static final DoublePrecisionContext TEST_PRECISION =
+            new EpsilonDoublePrecisionContext(TEST_EPS);
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @Test
+    public void testClassify_batch() {
+        // arrange
+        RegionBSPTree2D tree = Parallelogram.axisAligned(Vector2D.ZERO, Vector2D.of(1, 1), TEST_PRECISION).toTree();
+        tree.union(Parallelogram.axisAligned(Vector2D.of(0.5, 0.5), Vector2D.of(2, 2), TEST_PRECISION).toTree());
+
+        double[] values = {-1, 0, 0.25, 0.5, 1, 1.5, 2, 3, Double.NaN, Double.NEGATIVE_INFINITY};
+        int n = values.length * values.length;
+
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        int i = 0;
+        for (double x : values) {
+            for (double y : values) {
+                xs[i] = x;
+                ys[i] = y;
+                ++i;
+            }
+        }
+
+        RegionLocation[] out = new RegionLocation[n];
+
+        // act
+        tree.classify(xs, ys, out);
+
+        // assert
+        for (i = 0; i < n; ++i) {
+            Assert.assertEquals(tree.classify(Vector2D.of(xs[i], ys[i])), out[i]);
+        }
+
+        List<RegionLocation> locations = Arrays.asList(out);
+        Assert.assertTrue(locations.contains(RegionLocation.INSIDE));
+        Assert.assertTrue(locations.contains(RegionLocation.BOUNDARY));
+        Assert.assertTrue(locations.contains(RegionLocation.OUTSIDE));
+    }
+
+    @Test
+    public void testClassify_batch_parallel() {
+        // arrange
+        RegionBSPTree2D tree = Parallelogram.axisAligned(Vector2D.ZERO, Vector2D.of(1, 1), TEST_PRECISION).toTree();
+        tree.difference(Parallelogram.axisAligned(Vector2D.of(0.25, 0.25), Vector2D.of(0.75, 0.75), TEST_PRECISION)
+                .toTree());
+
+        int n = 10_000;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+
+        Random rnd = new Random(2L);
+        for (int i = 0; i < n; ++i) {
+            // round to a grid so that many of the points lie on the region boundary
+            xs[i] = Math.round(rnd.nextDouble() * 12) * 0.125 - 0.25;
+            ys[i] = Math.round(rnd.nextDouble() * 12) * 0.125 - 0.25;
+        }
+
+        RegionLocation[] expected = new RegionLocation[n];
+        tree.classify(xs, ys, expected);
+
+        RegionLocation[] out = new RegionLocation[n];
+
+        // act
+        tree.classify(xs, ys, out, POOL);
+
+        // assert
+        Assert.assertArrayEquals(expected, out);
+        Assert.assertTrue(Arrays.asList(out).contains(RegionLocation.BOUNDARY));
+    }
+
+    @Test
+    public void testClassify_batch_invalidArgs() {
+        // arrange
+        RegionBSPTree2D tree = RegionBSPTree2D.full();
+
+        // act/assert
+        GeometryTestUtils.assertThrows(() -> {
+            tree.classify(new double[2], new double[1], new RegionLocation[2]);
+        }, IllegalArgumentException.class, "Coordinate and output arrays must have the same length; found [2, 1, 2]");
+        GeometryTestUtils.assertThrows(() -> {
+            tree.classify(new double[2], new double[2], new RegionLocation[1], POOL);
+        }, IllegalArgumentException.class, "Coordinate and output arrays must have the same length; found [2, 2, 1]");
+    }
+
+    @Test
+    public void testClassify_batch_exactPredicates() {
+        // arrange
+        DoublePrecisionContext exact = new EpsilonDoublePrecisionContext(0, true);
+        List<Line> lines = Arrays.asList(
+                Lines.fromPointAndDirection(Vector2D.of(0.1, 0.2), Vector2D.of(1, 3), exact),
+                Lines.fromPointAndDirection(Vector2D.of(-0.7, 0.3), Vector2D.of(-3, -2), exact),
+                Lines.fromPointAndDirection(Vector2D.of(0.2, -0.9), Vector2D.of(7, -0.5), exact));
+
+        RegionBSPTree2D tree = RegionBSPTree2D.full();
+        RegionNode2D node = tree.getRoot();
+        for (Line line : lines) {
+            node = node.cut(line).getMinus();
+        }
+
+        // points within a few ulps of the cut lines, where the exact and floating point offsets
+        // may have different signs
+        Random rnd = new Random(3L);
+        List<Vector2D> pts = new ArrayList<>();
+        for (int i = 0; i < 200; ++i) {
+            Vector2D pt = Vector2D.of(2 * rnd.nextDouble() - 1, 2 * rnd.nextDouble() - 1);
+            for (Line line : lines) {
+                Vector2D proj = line.project(pt);
+                for (int j = -2; j <= 2; ++j) {
+                    pts.add(Vector2D.of(proj.getX() + (j * Math.ulp(proj.getX())), proj.getY()));
+                    pts.add(Vector2D.of(proj.getX(), proj.getY() + (j * Math.ulp(proj.getY()))));
+                }
+            }
+        }
+
+        int n = pts.size();
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; ++i) {
+            xs[i] = pts.get(i).getX();
+            ys[i] = pts.get(i).getY();
+        }
+
+        RegionLocation[] out = new RegionLocation[n];
+        RegionLocation[] parallelOut = new RegionLocation[n];
+
+        // act
+        tree.classify(xs, ys, out);
+        tree.classify(xs, ys, parallelOut, POOL);
+
+        // assert
+        for (int i = 0; i < n; ++i) {
+            Assert.assertEquals("Unexpected location for point " + pts.get(i), tree.classify(pts.get(i)), out[i]);
+        }
+        Assert.assertArrayEquals(out, parallelOut);
+
+        List<RegionLocation> locations = Arrays.asList(out);
+        Assert.assertTrue(locations.contains(RegionLocation.INSIDE));
+        Assert.assertTrue(locations.contains(RegionLocation.OUTSIDE));
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.twod;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.geometry.core.GeometryTestUtils;
+import org.apache.commons.geometry.core.Region;
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
+import org.apache.commons.geometry.core.precision.EpsilonDoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.EuclideanTestUtils;
+import org.apache.commons.geometry.euclidean.oned.RegionBSPTree1D;
+import org.apache.commons.geometry.euclidean.twod.shape.Parallelogram;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RegionBSPTree2DBinaryFormatTest {
+
+    private static final double TEST_EPS = 1e-10;
+
+    private static final DoublePrecisionContext TEST_PRECISION =
+            new EpsilonDoublePrecisionContext(TEST_EPS);
+
+    @Test
+    public void testWriteRead() {
+        // arrange
+        RegionBSPTree2D tree = Parallelogram.axisAligned(Vector2D.of(-2, -2), Vector2D.of(2, 2), TEST_PRECISION)
+                .toTree();
+        tree.difference(Parallelogram.axisAligned(Vector2D.of(-1, -1), Vector2D.of(1, 1), TEST_PRECISION)
+                .toTree());
+
+        byte[] bytes = writeToBytes(tree);
+
+        // act
+        RegionBSPTree2D result = RegionBSPTree2D.read(
+                new DataInputStream(new ByteArrayInputStream(bytes)), TEST_PRECISION);
+
+        // assert
+        Assert.assertEquals(tree.count(), result.count());
+        Assert.assertEquals(tree.height(), result.height());
+
+        Assert.assertEquals(12, result.getSize(), TEST_EPS);
+        Assert.assertEquals(24, result.getBoundarySize(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector2D.ZERO, result.getCentroid(), TEST_EPS);
+
+        checkClassify(result, RegionLocation.INSIDE, Vector2D.of(1.5, 0), Vector2D.of(0, -1.5));
+        checkClassify(result, RegionLocation.BOUNDARY, Vector2D.of(2, 0), Vector2D.of(1, 0), Vector2D.of(-1, -1));
+        checkClassify(result, RegionLocation.OUTSIDE, Vector2D.ZERO, Vector2D.of(3, 0));
+    }
+
+    @Test
+    public void testWriteRead_infiniteCuts() {
+        // arrange
+        RegionBSPTree2D tree = RegionBSPTree2D.empty();
+        tree.insert(Lines.fromPointAndAngle(Vector2D.ZERO, 0, TEST_PRECISION).span());
+        tree.insert(Lines.rayFromPointAndDirection(Vector2D.of(1, 0), Vector2D.Unit.PLUS_Y, TEST_PRECISION));
+        tree.insert(Lines.segmentFromPoints(Vector2D.of(-1, 1), Vector2D.of(-1, 0), TEST_PRECISION));
+        tree.insert(Lines.rayFromPointAndDirection(Vector2D.of(-1, -1), Vector2D.Unit.MINUS_X, TEST_PRECISION)
+                .reverse());
+
+        ByteBuffer buffer = ByteBuffer.wrap(writeToBytes(tree));
+
+        // act
+        RegionBSPTree2D result = RegionBSPTree2D.read(buffer, TEST_PRECISION);
+
+        // assert
+        Assert.assertFalse(buffer.hasRemaining());
+        Assert.assertEquals(tree.count(), result.count());
+        Assert.assertEquals(tree.height(), result.height());
+
+        List<LineConvexSubset> expectedBoundaries = tree.getBoundaries();
+        List<LineConvexSubset> actualBoundaries = result.getBoundaries();
+        Assert.assertEquals(expectedBoundaries.size(), actualBoundaries.size());
+        for (int i = 0; i < expectedBoundaries.size(); ++i) {
+            LineConvexSubset expected = expectedBoundaries.get(i);
+            LineConvexSubset actual = actualBoundaries.get(i);
+
+            Assert.assertSame(expected.getClass(), actual.getClass());
+            Assert.assertTrue(expected.getLine().eq(actual.getLine(), TEST_PRECISION));
+            Assert.assertEquals(expected.getStartPoint(), actual.getStartPoint());
+            Assert.assertEquals(expected.getEndPoint(), actual.getEndPoint());
+        }
+
+        for (double x = -3; x <= 3; x += 0.5) {
+            for (double y = -3; y <= 3; y += 0.5) {
+                Vector2D pt = Vector2D.of(x, y);
+                Assert.assertEquals(tree.classify(pt), result.classify(pt));
+            }
+        }
+    }
+
+    @Test
+    public void testWriteRead_fullAndEmpty() {
+        // act
+        RegionBSPTree2D full = RegionBSPTree2D.read(ByteBuffer.wrap(writeToBytes(RegionBSPTree2D.full())),
+                TEST_PRECISION);
+        RegionBSPTree2D empty = RegionBSPTree2D.read(ByteBuffer.wrap(writeToBytes(RegionBSPTree2D.empty())),
+                TEST_PRECISION);
+
+        // assert
+        Assert.assertTrue(full.isFull());
+        Assert.assertEquals(1, full.count());
+
+        Assert.assertTrue(empty.isEmpty());
+        Assert.assertEquals(1, empty.count());
+    }
+
+    @Test
+    public void testRead_invalidInput() {
+        // arrange
+        byte[] rect = writeToBytes(Parallelogram.unitSquare(TEST_PRECISION).toTree());
+
+        ByteArrayOutputStream otherTypeBytes = new ByteArrayOutputStream();
+        RegionBSPTree1D.full().write(new DataOutputStream(otherTypeBytes));
+        byte[] otherType = otherTypeBytes.toByteArray();
+
+        byte[] invalidMagic = rect.clone();
+        invalidMagic[0] = 0;
+
+        byte[] truncated = Arrays.copyOf(rect, rect.length - 1);
+
+        // act/assert
+        GeometryTestUtils.assertThrows(() -> RegionBSPTree2D.read(ByteBuffer.wrap(invalidMagic), TEST_PRECISION),
+                IllegalArgumentException.class, "Input does not contain a binary BSP tree in a supported format");
+        GeometryTestUtils.assertThrows(() -> RegionBSPTree2D.read(ByteBuffer.wrap(otherType), TEST_PRECISION),
+                IllegalArgumentException.class, "Unexpected tree type in input: expected 2 but was 1");
+        GeometryTestUtils.assertThrows(() -> RegionBSPTree2D.read(ByteBuffer.wrap(truncated), TEST_PRECISION),
+                UncheckedIOException.class);
+    }
+
+    private static byte[] writeToBytes(RegionBSPTree2D tree) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        tree.write(new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    private static void checkClassify(Region<Vector2D> region, RegionLocation loc, Vector2D... points) {
+        for (Vector2D point : points) {
+            String msg = "Unexpected location for point " + point;
+
+            Assert.assertEquals(msg, loc, region.classify(point));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.twod;
+
+import org.apache.commons.geometry.core.Region;
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
+import org.apache.commons.geometry.core.precision.EpsilonDoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.EuclideanTestUtils;
+import org.apache.commons.geometry.euclidean.twod.shape.Parallelogram;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RegionBSPTree2DOptimizeTest {
+
+    private static final double TEST_EPS = 1e-10;
+
+    private static final DoublePrecisionContext TEST_PRECISION =
+            new EpsilonDoublePrecisionContext(TEST_EPS);
+
+    @Test
+    public void testOptimize() {
+        // arrange
+        RegionBSPTree2D tree = RegionBSPTree2D.empty();
+        for (int i = 0; i < 10; ++i) {
+            tree.union(Parallelogram.axisAligned(Vector2D.of(0.5 * i, 0), Vector2D.of((0.5 * i) + 1, 1), TEST_PRECISION)
+                    .toTree());
+        }
+
+        int count = tree.count();
+        int height = tree.height();
+
+        // act
+        RegionBSPTree2D.OptimizationResult result = tree.optimize();
+
+        // assert
+        Assert.assertTrue(result.isModified());
+        Assert.assertEquals(count, result.getCountBefore());
+        Assert.assertEquals(height, result.getHeightBefore());
+        Assert.assertEquals(9, result.getCountAfter());
+        Assert.assertEquals(4, result.getHeightAfter());
+
+        Assert.assertEquals(9, tree.count());
+        Assert.assertEquals(4, tree.height());
+
+        Assert.assertEquals(5.5, tree.getSize(), TEST_EPS);
+        Assert.assertEquals(13, tree.getBoundarySize(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector2D.of(2.75, 0.5), tree.getCentroid(), TEST_EPS);
+
+        checkClassify(tree, RegionLocation.INSIDE, Vector2D.of(0.25, 0.5), Vector2D.of(5.25, 0.5));
+        checkClassify(tree, RegionLocation.BOUNDARY, Vector2D.of(0, 0.5), Vector2D.of(5.5, 0.5),
+                Vector2D.of(2.75, 0), Vector2D.of(2.75, 1));
+        checkClassify(tree, RegionLocation.OUTSIDE, Vector2D.of(-1, 0.5), Vector2D.of(6, 0.5),
+                Vector2D.of(2.75, -1), Vector2D.of(2.75, 2));
+    }
+
+    @Test
+    public void testOptimize_fullAndEmpty() {
+        // arrange
+        RegionBSPTree2D full = RegionBSPTree2D.full();
+        full.getRoot().cut(Lines.fromPointAndAngle(Vector2D.ZERO, 0, TEST_PRECISION))
+            .getPlus().setLocation(RegionLocation.INSIDE);
+
+        RegionBSPTree2D empty = RegionBSPTree2D.empty();
+
+        // act
+        RegionBSPTree2D.OptimizationResult fullResult = full.optimize();
+        RegionBSPTree2D.OptimizationResult emptyResult = empty.optimize();
+
+        // assert
+        Assert.assertTrue(fullResult.isModified());
+        Assert.assertEquals(1, full.count());
+        Assert.assertTrue(full.isFull());
+
+        Assert.assertFalse(emptyResult.isModified());
+        Assert.assertEquals(1, empty.count());
+        Assert.assertTrue(empty.isEmpty());
+    }
+
+    private static void checkClassify(Region<Vector2D> region, RegionLocation loc, Vector2D... points) {
+        for (Vector2D point : points) {
+            String msg = "Unexpected location for point " + point;
+
+            Assert.assertEquals(msg, loc, region.classify(point));
+        }
+    }
+}
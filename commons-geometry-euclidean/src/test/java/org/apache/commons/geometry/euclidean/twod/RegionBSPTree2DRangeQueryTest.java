@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.twod;
+
+import java.util.List;
+
+import org.apache.commons.geometry.core.GeometryTestUtils;
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
+import org.apache.commons.geometry.core.precision.EpsilonDoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.EuclideanTestUtils;
+import org.apache.commons.geometry.euclidean.twod.RegionBSPTree2D.RegionNode2D;
+import org.apache.commons.geometry.euclidean.twod.shape.Circle;
+import org.apache.commons.geometry.euclidean.twod.shape.Parallelogram;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RegionBSPTree2DRangeQueryTest {
+
+    private static final double TEST_EPS = 1e-10;
+
+    private static final DoublePrecisionContext TEST_PRECISION =
+            new EpsilonDoublePrecisionContext(TEST_EPS);
+
+    @Test
+    public void testToConvex_bounds() {
+        // arrange
+        RegionBSPTree2D tree = boxes(0, 0, 2, 1, 4, 5, 5, 6);
+        Bounds2D bounds = bounds(1, -1, 3, 3);
+
+        // act
+        List<ConvexArea> result = tree.toConvex(bounds, TEST_PRECISION);
+
+        // assert
+        Assert.assertEquals(1, result.size());
+
+        ConvexArea area = result.get(0);
+        Assert.assertEquals(1, area.getSize(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector2D.of(1.5, 0.5), area.getCentroid(), TEST_EPS);
+    }
+
+    @Test
+    public void testToConvex_bounds_noIntersection() {
+        // arrange
+        RegionBSPTree2D tree = boxes(0, 0, 2, 1);
+
+        // act/assert
+        Assert.assertEquals(0, tree.toConvex(bounds(3, 0, 4, 1), TEST_PRECISION).size());
+        Assert.assertEquals(0, tree.toConvex(bounds(2, 0, 4, 1), TEST_PRECISION).size());
+        Assert.assertEquals(0, RegionBSPTree2D.empty().toConvex(bounds(0, 0, 1, 1), TEST_PRECISION).size());
+    }
+
+    @Test
+    public void testToConvex_bounds_matchesIntersection() {
+        // arrange
+        RegionBSPTree2D tree = RegionBSPTree2D.empty();
+        for (int x = 0; x < 4; ++x) {
+            for (int y = 0; y < 4; ++y) {
+                tree.union(boxes(2 * x, 2 * y, (2 * x) + 1, (2 * y) + 1));
+            }
+        }
+        tree.union(Circle.from(Vector2D.of(3.5, 3.5), 1.2, TEST_PRECISION).toTree(16));
+
+        Bounds2D bounds = bounds(0.5, 1.5, 4.25, 5.75);
+
+        RegionBSPTree2D expected = tree.copy();
+        expected.intersection(bounds.toRegion(TEST_PRECISION).toTree());
+
+        // act
+        List<ConvexArea> result = tree.toConvex(bounds, TEST_PRECISION);
+
+        // assert
+        Assert.assertEquals(expected.toConvex().size(), result.size());
+
+        RegionBSPTree2D actual = RegionBSPTree2D.empty();
+        for (ConvexArea area : result) {
+            Assert.assertTrue(bounds.contains(area.getCentroid()));
+            actual.union(area.toTree());
+        }
+
+        Assert.assertEquals(expected.getSize(), actual.getSize(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(expected.getCentroid(), actual.getCentroid(), TEST_EPS);
+    }
+
+    @Test
+    public void testGetInsideLeaves_bounds() {
+        // arrange
+        RegionBSPTree2D tree = boxes(0, 0, 2, 1, 0, 3, 1, 4, 4, 5, 5, 6);
+        Bounds2D bounds = bounds(-1, -1, 3, 3.5);
+
+        // act
+        List<RegionNode2D> result = tree.getInsideLeaves(bounds, TEST_PRECISION);
+
+        // assert
+        List<ConvexArea> areas = tree.toConvex(bounds, TEST_PRECISION);
+        Assert.assertEquals(areas.size(), result.size());
+
+        double size = 0;
+        for (int i = 0; i < result.size(); ++i) {
+            RegionNode2D node = result.get(i);
+
+            Assert.assertTrue(node.isLeaf());
+            Assert.assertTrue(node.isInside());
+
+            ConvexArea nodeRegion = node.getNodeRegion();
+            Assert.assertEquals(RegionLocation.INSIDE, nodeRegion.classify(areas.get(i).getCentroid()));
+
+            size += nodeRegion.getSize();
+        }
+
+        Assert.assertEquals(3, size, TEST_EPS);
+
+        GeometryTestUtils.assertThrows(() -> {
+            tree.getInsideLeaves(bounds(0, 0, 1, 0), TEST_PRECISION);
+        }, IllegalArgumentException.class);
+    }
+
+    /** Create a tree containing the union of axis-aligned boxes. Each box is specified by the coordinates
+     * of its minimum corner followed by the coordinates of its maximum corner.
+     * @param coordinates box corner coordinates
+     * @return the tree
+     */
+    private static RegionBSPTree2D boxes(final double... coordinates) {
+        final RegionBSPTree2D tree = RegionBSPTree2D.empty();
+        for (int i = 0; i < coordinates.length; i += 4) {
+            tree.union(Parallelogram.axisAligned(
+                    Vector2D.of(coordinates[i], coordinates[i + 1]),
+                    Vector2D.of(coordinates[i + 2], coordinates[i + 3]), TEST_PRECISION).toTree());
+        }
+        return tree;
+    }
+
+    private static Bounds2D bounds(final double minX, final double minY, final double maxX, final double maxY) {
+        return Bounds2D.from(Vector2D.of(minX, minY), Vector2D.of(maxX, maxY));
+    }
+}
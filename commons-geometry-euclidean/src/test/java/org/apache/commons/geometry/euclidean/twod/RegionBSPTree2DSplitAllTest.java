@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.twod;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.commons.geometry.core.GeometryTestUtils;
+import org.apache.commons.geometry.core.Region;
+import org.apache.commons.geometry.core.RegionLocation;
+import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
+import org.apache.commons.geometry.core.precision.EpsilonDoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.EuclideanTestUtils;
+import org.apache.commons.geometry.euclidean.twod.shape.Circle;
+import org.apache.commons.geometry.euclidean.twod.shape.Parallelogram;
+import org.apache.commons.numbers.angle.PlaneAngleRadians;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RegionBSPTree2DSplitAllTest {
+
+    private static final double TEST_EPS = 1e-10;
+
+    private static final DoublePrecisionContext TEST_PRECISION =
+            new EpsilonDoublePrecisionContext(TEST_EPS);
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @Test
+    public void testSplitAll_parallelLines() {
+        // arrange
+        RegionBSPTree2D tree = Parallelogram.axisAligned(Vector2D.ZERO, Vector2D.of(4, 1), TEST_PRECISION).toTree();
+
+        List<Line> splitters = new ArrayList<>();
+        for (int i = 1; i < 4; ++i) {
+            splitters.add(Lines.fromPointAndDirection(Vector2D.of(i, 0), Vector2D.Unit.PLUS_Y, TEST_PRECISION));
+        }
+
+        // act
+        List<RegionBSPTree2D> result = tree.splitAll(splitters);
+
+        // assert
+        Assert.assertEquals(4, result.size());
+        for (int i = 0; i < 4; ++i) {
+            RegionBSPTree2D strip = result.get(i);
+
+            Assert.assertEquals(1, strip.getSize(), TEST_EPS);
+            EuclideanTestUtils.assertCoordinatesEqual(Vector2D.of(i + 0.5, 0.5), strip.getCentroid(), TEST_EPS);
+            checkClassify(strip, RegionLocation.OUTSIDE, Vector2D.of(i - 0.5, 0.5), Vector2D.of(i + 1.5, 0.5));
+        }
+
+        Assert.assertEquals(4, tree.getSize(), TEST_EPS);
+    }
+
+    @Test
+    public void testSplitAll_pool() {
+        // arrange
+        RegionBSPTree2D tree = RegionBSPTree2D.empty();
+        for (int i = 0; i < 4; ++i) {
+            tree.union(Circle.from(Vector2D.of(1.5 * i, 0), 1, TEST_PRECISION).toTree(20));
+        }
+
+        List<Line> splitters = new ArrayList<>();
+        for (int i = -10; i < 30; ++i) {
+            splitters.add(Lines.fromPointAndAngle(Vector2D.of(0.25 * i, 0), 0.4 * PlaneAngleRadians.PI,
+                    TEST_PRECISION));
+        }
+
+        // act
+        List<RegionBSPTree2D> expected = tree.splitAll(splitters);
+        List<RegionBSPTree2D> result = tree.splitAll(splitters, POOL);
+
+        // assert
+        Assert.assertEquals(expected.size(), result.size());
+
+        double size = 0;
+        for (int i = 0; i < expected.size(); ++i) {
+            if (expected.get(i) == null) {
+                Assert.assertNull(result.get(i));
+            } else {
+                Assert.assertEquals(expected.get(i).getSize(), result.get(i).getSize(), TEST_EPS);
+                Assert.assertEquals(expected.get(i).getBoundaries().size(), result.get(i).getBoundaries().size());
+
+                size += result.get(i).getSize();
+            }
+        }
+
+        Assert.assertEquals(tree.getSize(), size, TEST_EPS);
+    }
+
+    private static void checkClassify(Region<Vector2D> region, RegionLocation loc, Vector2D... points) {
+        for (Vector2D point : points) {
+            String msg = "Unexpected location for point " + point;
+
+            Assert.assertEquals(msg, loc, region.classify(point));
+        }
+    }
+
+    @Test
+    public void testSplitAll_invalidSplitters() {
+        // arrange
+        RegionBSPTree2D tree = Parallelogram.axisAligned(Vector2D.of(-1, -1), Vector2D.of(1, 1), TEST_PRECISION)
+                .toTree();
+
+        Line x = Lines.fromPointAndDirection(Vector2D.ZERO, Vector2D.Unit.PLUS_Y, TEST_PRECISION);
+        Line y = Lines.fromPointAndDirection(Vector2D.ZERO, Vector2D.Unit.PLUS_X, TEST_PRECISION);
+        Line xRight = Lines.fromPointAndDirection(Vector2D.of(0.5, 0), Vector2D.Unit.PLUS_Y, TEST_PRECISION);
+
+        String msg = "Splitters must be parallel lines with the same orientation, each lying on the plus side " +
+                "of the previous one; invalid splitter at index ";
+
+        // act/assert
+        GeometryTestUtils.assertThrows(() -> tree.splitAll(Arrays.asList(x, y)),
+                IllegalArgumentException.class, msg + "1");
+        GeometryTestUtils.assertThrows(() -> tree.splitAll(Arrays.asList(x, xRight, y), POOL),
+                IllegalArgumentException.class, msg + "2");
+        GeometryTestUtils.assertThrows(() -> tree.splitAll(Arrays.asList(x, xRight.reverse())),
+                IllegalArgumentException.class, msg + "1");
+        GeometryTestUtils.assertThrows(() -> tree.splitAll(Arrays.asList(xRight, x)),
+                IllegalArgumentException.class, msg + "1");
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.euclidean.twod;
+
+import java.util.Random;
+
+import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
+import org.apache.commons.geometry.core.precision.EpsilonDoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.EuclideanTestUtils;
+import org.apache.commons.geometry.euclidean.twod.RegionBSPTree2D.RegionNode2D;
+import org.apache.commons.geometry.euclidean.twod.shape.Circle;
+import org.apache.commons.geometry.euclidean.twod.shape.Parallelogram;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RegionBSPTree2DSubtreeBoundsTest {
+
+    private static final double TEST_EPS = 1e-10;
+
+    private static final DoublePrecisionContext TEST_PRECISION =
+            new EpsilonDoublePrecisionContext(TEST_EPS);
+
+    @Test
+    public void testSubtreeBounds() {
+        // arrange
+        RegionBSPTree2D tree = Parallelogram.axisAligned(Vector2D.ZERO, Vector2D.of(1, 2), TEST_PRECISION).toTree();
+
+        RegionNode2D leaf = tree.getRoot();
+        while (!leaf.isLeaf()) {
+            leaf = leaf.getPlus();
+        }
+
+        // act/assert
+        Bounds2D bounds = tree.getRoot().getSubtreeBounds();
+        EuclideanTestUtils.assertCoordinatesEqual(Vector2D.ZERO, bounds.getMin(), 2 * TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector2D.of(1, 2), bounds.getMax(), 2 * TEST_EPS);
+
+        Assert.assertNull(leaf.getSubtreeBounds());
+
+        tree.union(Parallelogram.axisAligned(Vector2D.of(2, 2), Vector2D.of(4, 4), TEST_PRECISION).toTree());
+
+        bounds = tree.getRoot().getSubtreeBounds();
+        EuclideanTestUtils.assertCoordinatesEqual(Vector2D.ZERO, bounds.getMin(), 2 * TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector2D.of(4, 4), bounds.getMax(), 2 * TEST_EPS);
+
+        tree.insert(Lines.fromPointAndDirection(Vector2D.of(0, -1), Vector2D.Unit.PLUS_X, TEST_PRECISION).span());
+
+        Assert.assertNull(tree.getRoot().getSubtreeBounds());
+    }
+
+    @Test
+    public void testSubtreeBoundsPruning_sameResults() {
+        // arrange
+        RegionBSPTree2D tree = RegionBSPTree2D.empty();
+        for (int i = 0; i < 6; ++i) {
+            tree.union(Circle.from(Vector2D.of(10 * i, 5 * (i % 2)), 2, TEST_PRECISION).toTree(12));
+        }
+        tree.difference(Parallelogram.axisAligned(Vector2D.of(-1, -1), Vector2D.of(1, 1), TEST_PRECISION).toTree());
+
+        RegionBSPTree2D pruned = tree.copy();
+        pruned.setSubtreeBoundsPruning(true);
+
+        Random rnd = new Random(3L);
+
+        // act/assert
+        Assert.assertFalse(tree.isSubtreeBoundsPruning());
+        Assert.assertTrue(pruned.isSubtreeBoundsPruning());
+
+        for (int i = 0; i < 200; ++i) {
+            Vector2D pt = Vector2D.of(60 * rnd.nextDouble() - 5, 20 * rnd.nextDouble() - 10);
+            Vector2D dir = Vector2D.of(rnd.nextDouble() - 0.5, rnd.nextDouble() - 0.5);
+
+            Line line = Lines.fromPointAndDirection(pt, dir, TEST_PRECISION);
+
+            Assert.assertEquals(tree.linecast(line.span()), pruned.linecast(line.span()));
+            Assert.assertEquals(tree.linecastFirst(line.rayFrom(pt)), pruned.linecastFirst(line.rayFrom(pt)));
+            Assert.assertEquals(tree.project(pt), pruned.project(pt));
+        }
+    }
+}
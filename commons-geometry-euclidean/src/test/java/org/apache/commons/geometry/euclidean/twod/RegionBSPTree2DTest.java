@@ -21,7 +21,9 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.apache.commons.geometry.core.GeometryTestUtils;
 import org.apache.commons.geometry.core.Region;
@@ -32,9 +34,9 @@ import org.apache.commons.geometry.core.partitioning.bsp.RegionCutRule;
 import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
 import org.apache.commons.geometry.core.precision.EpsilonDoublePrecisionContext;
 import org.apache.commons.geometry.euclidean.EuclideanTestUtils;
-import org.apache.commons.geometry.euclidean.twod.RegionBSPTree2D.PartitionedRegionBuilder2D;
 import org.apache.commons.geometry.euclidean.twod.RegionBSPTree2D.RegionNode2D;
 import org.apache.commons.geometry.euclidean.twod.path.LinePath;
+import org.apache.commons.geometry.euclidean.twod.shape.Circle;
 import org.apache.commons.geometry.euclidean.twod.shape.Parallelogram;
 import org.apache.commons.numbers.angle.PlaneAngleRadians;
 import org.junit.Assert;
@@ -47,6 +49,8 @@ public class RegionBSPTree2DTest {
     private static final DoublePrecisionContext TEST_PRECISION =
             new EpsilonDoublePrecisionContext(TEST_EPS);
 
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
     private static final Comparator<LineConvexSubset> SEGMENT_COMPARATOR =
         (a, b) -> Vector2D.COORDINATE_ASCENDING_ORDER.compare(a.getStartPoint(), b.getStartPoint());
 
@@ -109,73 +113,6 @@ public class RegionBSPTree2DTest {
         Assert.assertEquals(1, tree.count());
     }
 
-    @Test
-    public void testPartitionedRegionBuilder_halfSpace() {
-        // act
-        RegionBSPTree2D tree = RegionBSPTree2D.partitionedRegionBuilder()
-                .insertPartition(
-                    Lines.fromPointAndDirection(Vector2D.ZERO, Vector2D.Unit.PLUS_X, TEST_PRECISION))
-                .insertBoundary(
-                    Lines.fromPointAndDirection(Vector2D.ZERO, Vector2D.Unit.MINUS_X, TEST_PRECISION).span())
-                .build();
-
-        // assert
-        Assert.assertFalse(tree.isFull());
-        Assert.assertTrue(tree.isInfinite());
-
-        EuclideanTestUtils.assertRegionLocation(tree, RegionLocation.INSIDE, Vector2D.of(0, -1));
-        EuclideanTestUtils.assertRegionLocation(tree, RegionLocation.BOUNDARY, Vector2D.ZERO);
-        EuclideanTestUtils.assertRegionLocation(tree, RegionLocation.OUTSIDE, Vector2D.of(0, 1));
-    }
-
-    @Test
-    public void testPartitionedRegionBuilder_square() {
-        // arrange
-        Parallelogram square = Parallelogram.unitSquare(TEST_PRECISION);
-        List<LineConvexSubset> boundaries = square.getBoundaries();
-
-        Vector2D lowerBound = Vector2D.of(-2, -2);
-
-        int maxUpper = 5;
-        int maxLevel = 4;
-
-        // act/assert
-        Bounds2D bounds;
-        for (int u = 0; u <= maxUpper; ++u) {
-            for (int level = 0; level <= maxLevel; ++level) {
-                bounds = Bounds2D.from(lowerBound, Vector2D.of(u, u));
-
-                checkFinitePartitionedRegion(bounds, level, square);
-                checkFinitePartitionedRegion(bounds, level, boundaries);
-            }
-        }
-    }
-
-    @Test
-    public void testPartitionedRegionBuilder_nonConvex() {
-        // arrange
-        RegionBSPTree2D src = Parallelogram.unitSquare(TEST_PRECISION).toTree();
-        src.union(Parallelogram.axisAligned(Vector2D.ZERO, Vector2D.of(1, 1), TEST_PRECISION).toTree());
-
-        List<LineConvexSubset> boundaries = src.getBoundaries();
-
-        Vector2D lowerBound = Vector2D.of(-2, -2);
-
-        int maxUpper = 5;
-        int maxLevel = 4;
-
-        // act/assert
-        Bounds2D bounds;
-        for (int u = 0; u <= maxUpper; ++u) {
-            for (int level = 0; level <= maxLevel; ++level) {
-                bounds = Bounds2D.from(lowerBound, Vector2D.of(u, u));
-
-                checkFinitePartitionedRegion(bounds, level, src);
-                checkFinitePartitionedRegion(bounds, level, boundaries);
-            }
-        }
-    }
-
     /** Check that a partitioned BSP tree behaves the same as a non-partitioned tree when
      * constructed with the given boundary source.
      * @param bounds
@@ -194,14 +131,14 @@ public class RegionBSPTree2DTest {
                 .insertBoundaries(src)
                 .build();
 
-        // assert
-        Assert.assertEquals(msg, standard.getSize(), partitioned.getSize(), TEST_EPS);
-        Assert.assertEquals(msg, standard.getBoundarySize(), partitioned.getBoundarySize(), TEST_EPS);
-        EuclideanTestUtils.assertCoordinatesEqual(standard.getCentroid(), partitioned.getCentroid(), TEST_EPS);
+        RegionBSPTree2D parallel = RegionBSPTree2D.partitionedRegionBuilder()
+                .insertAxisAlignedGrid(bounds, level, TEST_PRECISION)
+                .insertBoundaries(src)
+                .build(POOL);
 
-        RegionBSPTree2D diff = RegionBSPTree2D.empty();
-        diff.difference(partitioned, standard);
-        Assert.assertTrue(msg, diff.isEmpty());
+        // assert
+        checkSameRegion(msg, standard, partitioned);
+        checkSameRegion(msg + " (parallel)", standard, parallel);
     }
 
     /** Check that a partitioned BSP tree behaves the same as a non-partitioned tree when
@@ -223,42 +160,29 @@ public class RegionBSPTree2DTest {
                 .insertBoundaries(boundaries)
                 .build();
 
-        // assert
-        Assert.assertEquals(msg, standard.getSize(), partitioned.getSize(), TEST_EPS);
-        Assert.assertEquals(msg, standard.getBoundarySize(), partitioned.getBoundarySize(), TEST_EPS);
-        EuclideanTestUtils.assertCoordinatesEqual(standard.getCentroid(), partitioned.getCentroid(), TEST_EPS);
+        RegionBSPTree2D parallel = RegionBSPTree2D.partitionedRegionBuilder()
+                .insertAxisAlignedGrid(bounds, level, TEST_PRECISION)
+                .insertBoundaries(boundaries)
+                .build(POOL);
 
-        RegionBSPTree2D diff = RegionBSPTree2D.empty();
-        diff.difference(partitioned, standard);
-        Assert.assertTrue(msg, diff.isEmpty());
+        // assert
+        checkSameRegion(msg, standard, partitioned);
+        checkSameRegion(msg + " (parallel)", standard, parallel);
     }
 
-    @Test
-    public void testPartitionedRegionBuilder_insertPartitionAfterBoundary() {
-        // arrange
-        PartitionedRegionBuilder2D builder = RegionBSPTree2D.partitionedRegionBuilder();
-        builder.insertBoundary(Lines.segmentFromPoints(Vector2D.ZERO, Vector2D.of(1, 0), TEST_PRECISION));
-
-        Line partition = Lines.fromPointAndAngle(Vector2D.ZERO, 0, TEST_PRECISION);
-
-        String msg = "Cannot insert partitions after boundaries have been inserted";
-
-        // act/assert
-        GeometryTestUtils.assertThrows(() -> {
-            builder.insertPartition(partition);
-        }, IllegalStateException.class, msg);
-
-        GeometryTestUtils.assertThrows(() -> {
-            builder.insertPartition(partition.span());
-        }, IllegalStateException.class, msg);
-
-        GeometryTestUtils.assertThrows(() -> {
-            builder.insertAxisAlignedPartitions(Vector2D.ZERO, TEST_PRECISION);
-        }, IllegalStateException.class, msg);
+    /** Check that the given trees represent the same region.
+     * @param msg failure message
+     * @param expected expected region
+     * @param actual actual region
+     */
+    private void checkSameRegion(String msg, RegionBSPTree2D expected, RegionBSPTree2D actual) {
+        Assert.assertEquals(msg, expected.getSize(), actual.getSize(), TEST_EPS);
+        Assert.assertEquals(msg, expected.getBoundarySize(), actual.getBoundarySize(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(expected.getCentroid(), actual.getCentroid(), TEST_EPS);
 
-        GeometryTestUtils.assertThrows(() -> {
-            builder.insertAxisAlignedGrid(Bounds2D.from(Vector2D.ZERO, Vector2D.of(1, 1)), 1, TEST_PRECISION);
-        }, IllegalStateException.class, msg);
+        RegionBSPTree2D diff = RegionBSPTree2D.empty();
+        diff.difference(actual, expected);
+        Assert.assertTrue(msg, diff.isEmpty());
     }
 
     @Test
@@ -327,6 +251,49 @@ public class RegionBSPTree2DTest {
         Assert.assertEquals(0, segments.size());
     }
 
+    @Test
+    public void testBoundaryStream_parallel() {
+        // arrange
+        RegionBSPTree2D tree = RegionBSPTree2D.empty();
+        for (int i = 0; i < 10; ++i) {
+            tree.union(Circle.from(Vector2D.of(1.5 * i, 0), 1, TEST_PRECISION).toTree(20));
+        }
+
+        List<List<Vector2D>> expected = tree.getBoundaries().stream()
+                .map(seg -> Arrays.asList(seg.getStartPoint(), seg.getEndPoint()))
+                .collect(Collectors.toList());
+
+        // act
+        List<List<Vector2D>> result = tree.boundaryStream().parallel()
+                .map(seg -> Arrays.asList(seg.getStartPoint(), seg.getEndPoint()))
+                .collect(Collectors.toList());
+
+        // assert
+        Assert.assertEquals(expected, result);
+    }
+
+    @Test
+    public void testGetBoundaries_pool() {
+        // arrange
+        RegionBSPTree2D tree = RegionBSPTree2D.empty();
+        for (int i = 0; i < 10; ++i) {
+            tree.union(Circle.from(Vector2D.of(1.5 * i, 0), 1, TEST_PRECISION).toTree(20));
+        }
+
+        RegionBSPTree2D copy = tree.copy();
+
+        // act
+        List<LineConvexSubset> result = tree.getBoundaries(POOL);
+
+        // assert
+        List<LineConvexSubset> expected = copy.getBoundaries();
+        Assert.assertEquals(expected.size(), result.size());
+        for (int i = 0; i < expected.size(); ++i) {
+            Assert.assertEquals(expected.get(i).getStartPoint(), result.get(i).getStartPoint());
+            Assert.assertEquals(expected.get(i).getEndPoint(), result.get(i).getEndPoint());
+        }
+    }
+
     @Test
     public void testGetBounds_hasBounds() {
         // arrange
@@ -381,6 +348,31 @@ public class RegionBSPTree2DTest {
         Assert.assertNotSame(a, b);
     }
 
+    @Test
+    public void testGetBoundaryPaths_concurrentReadMode() {
+        // arrange
+        RegionBSPTree2D tree = Parallelogram.axisAligned(Vector2D.ZERO, Vector2D.of(2, 1), TEST_PRECISION)
+                .toTree();
+        tree.union(Parallelogram.axisAligned(Vector2D.of(1, 0), Vector2D.of(3, 2), TEST_PRECISION).toTree());
+
+        tree.setConcurrentReadMode(true);
+
+        // act
+        List<List<LinePath>> results = IntStream.range(0, 16)
+                .parallel()
+                .mapToObj(i -> tree.getBoundaryPaths())
+                .collect(Collectors.toList());
+
+        // assert
+        List<LinePath> first = results.get(0);
+        Assert.assertEquals(1, first.size());
+        Assert.assertEquals(5.0, tree.getSize(), TEST_EPS);
+
+        for (List<LinePath> result : results) {
+            Assert.assertSame(first, result);
+        }
+    }
+
     @Test
     public void testGetBoundaryPaths_isUnmodifiable() {
         // arrange
@@ -1034,6 +1026,40 @@ public class RegionBSPTree2DTest {
                 Vector2D.of(1, 2), Vector2D.of(1, 1));
     }
 
+    @Test
+    public void testGeometricProperties_recomputedAfterEdits() {
+        // arrange
+        RegionBSPTree2D tree = Parallelogram.axisAligned(Vector2D.ZERO, Vector2D.of(3, 3), TEST_PRECISION)
+                .toTree();
+
+        Assert.assertEquals(9, tree.getSize(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector2D.of(1.5, 1.5), tree.getCentroid(), TEST_EPS);
+
+        // act/assert
+        tree.difference(Parallelogram.axisAligned(Vector2D.of(1, 1), Vector2D.of(2, 2), TEST_PRECISION).toTree());
+
+        Assert.assertEquals(8, tree.getSize(), TEST_EPS);
+        Assert.assertEquals(16, tree.getBoundarySize(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector2D.of(1.5, 1.5), tree.getCentroid(), TEST_EPS);
+
+        tree.union(Parallelogram.axisAligned(Vector2D.of(3, 0), Vector2D.of(4, 1), TEST_PRECISION).toTree());
+
+        Assert.assertEquals(9, tree.getSize(), TEST_EPS);
+        Assert.assertEquals(18, tree.getBoundarySize(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(Vector2D.of(15.5 / 9, 12.5 / 9), tree.getCentroid(), TEST_EPS);
+
+        RegionBSPTree2D copy = tree.copy();
+        Assert.assertEquals(copy.getSize(), tree.getSize(), TEST_EPS);
+        Assert.assertEquals(copy.getBoundarySize(), tree.getBoundarySize(), TEST_EPS);
+        EuclideanTestUtils.assertCoordinatesEqual(copy.getCentroid(), tree.getCentroid(), TEST_EPS);
+
+        tree.complement();
+
+        GeometryTestUtils.assertPositiveInfinity(tree.getSize());
+        Assert.assertNull(tree.getCentroid());
+        Assert.assertEquals(18, tree.getBoundarySize(), TEST_EPS);
+    }
+
     @Test
     public void testFrom_boundaries() {
         // act
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.examples.jmh.euclidean;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
+import org.apache.commons.geometry.core.precision.EpsilonDoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.threed.BoundingVolumeHierarchy3D;
+import org.apache.commons.geometry.euclidean.threed.Vector3D;
+import org.apache.commons.geometry.euclidean.threed.line.Line3D;
+import org.apache.commons.geometry.euclidean.threed.line.Lines3D;
+import org.apache.commons.geometry.euclidean.threed.mesh.TriangleMesh;
+import org.apache.commons.geometry.euclidean.threed.shape.Sphere;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.simple.RandomSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Benchmarks for the {@link BoundingVolumeHierarchy3D} class.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class BoundingVolumeHierarchy3DPerformance {
+
+    /** Precision epsilon value. */
+    private static final double EPS = 1e-10;
+
+    /** Number of lines cast in each benchmark invocation. */
+    private static final int LINE_COUNT = 100;
+
+    /** Input class providing a triangle mesh approximating a sphere and a set of lines to cast against it.
+     */
+    @State(Scope.Thread)
+    public static class MeshInput {
+
+        /** The number of sphere subdivisions; each subdivision quadruples the number of triangles. */
+        @Param({"3", "5"})
+        private int subdivisions;
+
+        /** The mesh. */
+        private TriangleMesh mesh;
+
+        /** Bounding volume hierarchy over the mesh boundaries. */
+        private BoundingVolumeHierarchy3D bvh;
+
+        /** Lines to cast against the mesh. */
+        private Line3D[] lines;
+
+        /** Set up the instance for the benchmark. */
+        @Setup(Level.Iteration)
+        public void setup() {
+            final DoublePrecisionContext precision = new EpsilonDoublePrecisionContext(EPS);
+            final UniformRandomProvider rand = RandomSource.create(RandomSource.XO_RO_SHI_RO_128_PP, 1L);
+
+            mesh = Sphere.from(Vector3D.ZERO, 1, precision).toTriangleMesh(subdivisions);
+            bvh = BoundingVolumeHierarchy3D.from(mesh);
+
+            lines = new Line3D[LINE_COUNT];
+            for (int i = 0; i < LINE_COUNT; ++i) {
+                lines[i] = Lines3D.fromPointAndDirection(
+                        randomVector(rand, 0.5),
+                        randomVector(rand, 1),
+                        precision);
+            }
+        }
+
+        /** Get the mesh.
+         * @return the mesh
+         */
+        public TriangleMesh getMesh() {
+            return mesh;
+        }
+
+        /** Get the bounding volume hierarchy over the mesh.
+         * @return the bounding volume hierarchy over the mesh
+         */
+        public BoundingVolumeHierarchy3D getBvh() {
+            return bvh;
+        }
+
+        /** Get the lines to cast against the mesh.
+         * @return the lines to cast
+         */
+        public Line3D[] getLines() {
+            return lines;
+        }
+
+        /** Create a random vector with coordinates in the range {@code [-scale, scale)}.
+         * @param rand random provider
+         * @param scale coordinate scale
+         * @return a random vector
+         */
+        private static Vector3D randomVector(final UniformRandomProvider rand, final double scale) {
+            return Vector3D.of(
+                    scale * ((2 * rand.nextDouble()) - 1),
+                    scale * ((2 * rand.nextDouble()) - 1),
+                    scale * ((2 * rand.nextDouble()) - 1));
+        }
+    }
+
+    /** Benchmark testing the performance of brute-force linecasts against the mesh boundaries.
+     * @param input mesh input
+     * @param bh blackhole instance
+     */
+    @Benchmark
+    public void linecastFirstBruteForce(final MeshInput input, final Blackhole bh) {
+        for (final Line3D line : input.getLines()) {
+            bh.consume(input.getMesh().linecastFirst(line));
+        }
+    }
+
+    /** Benchmark testing the performance of linecasts against a bounding volume hierarchy.
+     * @param input mesh input
+     * @param bh blackhole instance
+     */
+    @Benchmark
+    public void linecastFirstBvh(final MeshInput input, final Blackhole bh) {
+        for (final Line3D line : input.getLines()) {
+            bh.consume(input.getBvh().linecastFirst(line));
+        }
+    }
+
+    /** Benchmark testing the performance of bounding volume hierarchy construction.
+     * @param input mesh input
+     * @return the constructed hierarchy
+     */
+    @Benchmark
+    public BoundingVolumeHierarchy3D build(final MeshInput input) {
+        return BoundingVolumeHierarchy3D.from(input.getMesh());
+    }
+}
@@ -16,6 +16,7 @@
  */
 package org.apache.commons.geometry.examples.jmh.euclidean;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -24,6 +25,11 @@ import org.apache.commons.geometry.euclidean.twod.LineConvexSubset;
 import org.apache.commons.geometry.euclidean.twod.RegionBSPTree2D;
 import org.apache.commons.geometry.euclidean.twod.Vector2D;
 import org.apache.commons.geometry.euclidean.twod.shape.Circle;
+import org.apache.commons.geometry.euclidean.twod.shape.Parallelogram;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.sampling.ListSampler;
+import org.apache.commons.rng.simple.RandomSource;
+import org.openjdk.jmh.annotations.AuxCounters;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
@@ -110,6 +116,81 @@ public class RegionBSPTree2DPerformance {
         }
     }
 
+    /** Class providing the boundaries of a non-convex region consisting of a square grid of disjoint
+     * squares. The boundaries are shuffled so that the insertion order has no spatial locality.
+     */
+    @State(Scope.Thread)
+    public static class ShuffledSquareGridBoundaryInput {
+
+        /** The number of squares along each side of the grid. */
+        @Param({"4", "8", "16"})
+        private int squares;
+
+        /** List containing the shuffled region boundaries. */
+        private List<LineConvexSubset> boundaries;
+
+        /** Set up the instance for the benchmark. */
+        @Setup(Level.Iteration)
+        public void setup() {
+            final EpsilonDoublePrecisionContext precision = new EpsilonDoublePrecisionContext(1e-10);
+
+            boundaries = new ArrayList<>();
+            for (int x = 0; x < squares; ++x) {
+                for (int y = 0; y < squares; ++y) {
+                    boundaries.addAll(Parallelogram.axisAligned(
+                            Vector2D.of(2 * x, 2 * y), Vector2D.of((2 * x) + 1, (2 * y) + 1), precision)
+                            .getBoundaries());
+                }
+            }
+
+            final UniformRandomProvider rand = RandomSource.create(RandomSource.XO_RO_SHI_RO_128_PP, 1L);
+            ListSampler.shuffle(rand, boundaries);
+        }
+
+        /** Get the shuffled region boundaries.
+         * @return the shuffled region boundaries
+         */
+        public List<LineConvexSubset> getBoundaries() {
+            return boundaries;
+        }
+    }
+
+    /** Class used to report the structure of the trees created by the benchmarks as
+     * auxiliary counters.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class TreeStatistics {
+
+        /** Height of the last created tree. */
+        private int height;
+
+        /** Number of nodes in the last created tree. */
+        private int nodeCount;
+
+        /** Record the structure of the given tree.
+         * @param tree tree to record
+         */
+        void record(final RegionBSPTree2D tree) {
+            height = tree.height();
+            nodeCount = tree.count();
+        }
+
+        /** Get the height of the last created tree.
+         * @return the height of the last created tree
+         */
+        public int height() {
+            return height;
+        }
+
+        /** Get the number of nodes in the last created tree.
+         * @return the number of nodes in the last created tree
+         */
+        public int nodeCount() {
+            return nodeCount;
+        }
+    }
+
     /** Benchmark testing the performance of tree creation for a convex region. The insertion
      * behavior is worst-case, meaning that the tree is unbalanced and degenerates into a simple
      * list of nodes.
@@ -136,4 +217,39 @@ public class RegionBSPTree2DPerformance {
     public List<LineConvexSubset> boundaryConvexWorstCase(final WorstCaseCircularRegionInput input) {
         return input.getTree().getBoundaries();
     }
+
+    /** Benchmark testing the performance of tree creation for a non-convex region by inserting
+     * the boundaries directly into the tree in the order given.
+     * @param input benchmark boundary input
+     * @param stats tree structure statistics
+     * @return created BSP tree
+     */
+    @Benchmark
+    public RegionBSPTree2D insertNonConvexShuffled(final ShuffledSquareGridBoundaryInput input,
+            final TreeStatistics stats) {
+        final RegionBSPTree2D tree = RegionBSPTree2D.empty();
+        tree.insert(input.getBoundaries());
+
+        stats.record(tree);
+
+        return tree;
+    }
+
+    /** Benchmark testing the performance of tree creation for a non-convex region using the
+     * balanced region builder.
+     * @param input benchmark boundary input
+     * @param stats tree structure statistics
+     * @return created BSP tree
+     */
+    @Benchmark
+    public RegionBSPTree2D balancedBuildNonConvexShuffled(final ShuffledSquareGridBoundaryInput input,
+            final TreeStatistics stats) {
+        final RegionBSPTree2D tree = RegionBSPTree2D.balancedRegionBuilder()
+                .insertBoundaries(input.getBoundaries())
+                .build();
+
+        stats.record(tree);
+
+        return tree;
+    }
 }
@@ -16,14 +16,28 @@
  */
 package org.apache.commons.geometry.examples.jmh.euclidean;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.commons.geometry.core.RegionLocation;
 import org.apache.commons.geometry.core.precision.EpsilonDoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.threed.Bounds3D;
+import org.apache.commons.geometry.euclidean.threed.FrozenRegionBSPTree3D;
+import org.apache.commons.geometry.euclidean.threed.Plane;
 import org.apache.commons.geometry.euclidean.threed.PlaneConvexSubset;
+import org.apache.commons.geometry.euclidean.threed.Planes;
 import org.apache.commons.geometry.euclidean.threed.RegionBSPTree3D;
 import org.apache.commons.geometry.euclidean.threed.Vector3D;
+import org.apache.commons.geometry.euclidean.threed.line.Lines3D;
+import org.apache.commons.geometry.euclidean.threed.line.Ray3D;
+import org.apache.commons.geometry.euclidean.threed.shape.Parallelepiped;
 import org.apache.commons.geometry.euclidean.threed.shape.Sphere;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.sampling.ListSampler;
+import org.apache.commons.rng.simple.RandomSource;
+import org.openjdk.jmh.annotations.AuxCounters;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
@@ -36,6 +50,7 @@ import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
 
 /** Benchmarks for the {@link RegionBSPTree3D} class.
  */
@@ -46,6 +61,10 @@ import org.openjdk.jmh.annotations.Warmup;
 @Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
 public class RegionBSPTree3DPerformance {
 
+    /** Precision context used for the partitions of the partitioned region builder benchmarks. */
+    private static final EpsilonDoublePrecisionContext PARTITION_PRECISION =
+            new EpsilonDoublePrecisionContext(1e-10);
+
     /** Base class for inputs that use sphere approximation boundaries.
      */
     @State(Scope.Thread)
@@ -112,6 +131,414 @@ public class RegionBSPTree3DPerformance {
         }
     }
 
+    /** Class providing a sphere approximation region and a list of parallel planes slicing it
+     * into slabs.
+     */
+    @State(Scope.Thread)
+    public static class SliceInput extends SphericalBoundaryInputBase {
+
+        /** The number of slicing planes. */
+        @Param({"16", "64"})
+        private int slices;
+
+        /** The sphere approximation region. */
+        private RegionBSPTree3D tree;
+
+        /** The slicing planes, ordered by increasing offset. */
+        private List<Plane> planes;
+
+        /** Set up the instance for the benchmark. */
+        @Setup(Level.Iteration)
+        public void setup() {
+            final EpsilonDoublePrecisionContext precision = new EpsilonDoublePrecisionContext(1e-10);
+
+            tree = RegionBSPTree3D.from(computeBoundaries());
+
+            planes = new ArrayList<>(slices);
+            final double spacing = 2.0 / (slices + 1);
+            for (int i = 1; i <= slices; ++i) {
+                planes.add(Planes.fromPointAndNormal(Vector3D.of(0, 0, (i * spacing) - 1),
+                        Vector3D.Unit.PLUS_Z, precision));
+            }
+        }
+
+        /** Get the tree for the instance.
+         * @return the tree for the instance
+         */
+        public RegionBSPTree3D getTree() {
+            return tree;
+        }
+
+        /** Get the slicing planes.
+         * @return the slicing planes
+         */
+        public List<Plane> getPlanes() {
+            return planes;
+        }
+    }
+
+    /** Class providing a sphere approximation region, a frozen snapshot of the region, and a set of
+     * random points to classify against them.
+     */
+    @State(Scope.Thread)
+    public static class ClassifyInput extends SphericalBoundaryInputBase {
+
+        /** The number of points to classify. */
+        private static final int POINT_COUNT = 1000;
+
+        /** The sphere approximation region. */
+        private RegionBSPTree3D tree;
+
+        /** Frozen snapshot of {@code tree}. */
+        private FrozenRegionBSPTree3D frozen;
+
+        /** Points to classify. */
+        private Vector3D[] points;
+
+        /** X coordinates of the points to classify. */
+        private double[] xs;
+
+        /** Y coordinates of the points to classify. */
+        private double[] ys;
+
+        /** Z coordinates of the points to classify. */
+        private double[] zs;
+
+        /** Array receiving batch classification results. */
+        private RegionLocation[] locations;
+
+        /** Set up the instance for the benchmark. */
+        @Setup(Level.Iteration)
+        public void setup() {
+            tree = RegionBSPTree3D.from(computeBoundaries());
+            frozen = tree.freeze();
+
+            final UniformRandomProvider rand = RandomSource.create(RandomSource.XO_RO_SHI_RO_128_PP, 1L);
+
+            points = new Vector3D[POINT_COUNT];
+            for (int i = 0; i < POINT_COUNT; ++i) {
+                points[i] = Vector3D.of(
+                        (3 * rand.nextDouble()) - 1.5,
+                        (3 * rand.nextDouble()) - 1.5,
+                        (3 * rand.nextDouble()) - 1.5);
+            }
+
+            xs = new double[POINT_COUNT];
+            ys = new double[POINT_COUNT];
+            zs = new double[POINT_COUNT];
+            for (int i = 0; i < POINT_COUNT; ++i) {
+                xs[i] = points[i].getX();
+                ys[i] = points[i].getY();
+                zs[i] = points[i].getZ();
+            }
+
+            locations = new RegionLocation[POINT_COUNT];
+        }
+
+        /** Get the tree for the instance.
+         * @return the tree for the instance
+         */
+        public RegionBSPTree3D getTree() {
+            return tree;
+        }
+
+        /** Get the frozen snapshot of the tree for the instance.
+         * @return the frozen snapshot of the tree
+         */
+        public FrozenRegionBSPTree3D getFrozen() {
+            return frozen;
+        }
+
+        /** Get the points to classify.
+         * @return the points to classify
+         */
+        public Vector3D[] getPoints() {
+            return points;
+        }
+
+        /** Get the x coordinates of the points to classify.
+         * @return the x coordinates of the points to classify
+         */
+        public double[] getXs() {
+            return xs;
+        }
+
+        /** Get the y coordinates of the points to classify.
+         * @return the y coordinates of the points to classify
+         */
+        public double[] getYs() {
+            return ys;
+        }
+
+        /** Get the z coordinates of the points to classify.
+         * @return the z coordinates of the points to classify
+         */
+        public double[] getZs() {
+            return zs;
+        }
+
+        /** Get the array receiving batch classification results.
+         * @return the array receiving batch classification results
+         */
+        public RegionLocation[] getLocations() {
+            return locations;
+        }
+    }
+
+    /** Class providing a frozen sphere approximation region and a grid of coherent rays sharing a
+     * single origin, as produced by a pinhole camera looking at the region.
+     */
+    @State(Scope.Thread)
+    public static class LinecastInput extends SphericalBoundaryInputBase {
+
+        /** The number of rays along each side of the ray grid. */
+        private static final int GRID_SIZE = 64;
+
+        /** The frozen sphere approximation region. */
+        private FrozenRegionBSPTree3D frozen;
+
+        /** Origin shared by all rays. */
+        private Vector3D origin;
+
+        /** Rays to cast. */
+        private Ray3D[] rays;
+
+        /** Ray direction coordinates. */
+        private double[] directions;
+
+        /** Array receiving the batch linecast abscissas. */
+        private double[] abscissas;
+
+        /** Array receiving the batch linecast normals. */
+        private double[] normals;
+
+        /** Array receiving the batch linecast hit flags. */
+        private boolean[] hits;
+
+        /** Set up the instance for the benchmark. */
+        @Setup(Level.Iteration)
+        public void setup() {
+            frozen = RegionBSPTree3D.from(computeBoundaries()).freeze();
+            origin = Vector3D.of(0, 0, -3);
+
+            final EpsilonDoublePrecisionContext precision = new EpsilonDoublePrecisionContext(1e-10);
+
+            final int count = GRID_SIZE * GRID_SIZE;
+            rays = new Ray3D[count];
+            directions = new double[3 * count];
+
+            int i = 0;
+            for (int y = 0; y < GRID_SIZE; ++y) {
+                for (int x = 0; x < GRID_SIZE; ++x) {
+                    final Vector3D dir = Vector3D.of(
+                            (x - (0.5 * GRID_SIZE)) / GRID_SIZE,
+                            (y - (0.5 * GRID_SIZE)) / GRID_SIZE,
+                            1);
+
+                    rays[i] = Lines3D.fromPointAndDirection(origin, dir, precision).rayFrom(origin);
+
+                    directions[3 * i] = dir.getX();
+                    directions[(3 * i) + 1] = dir.getY();
+                    directions[(3 * i) + 2] = dir.getZ();
+
+                    ++i;
+                }
+            }
+
+            abscissas = new double[count];
+            normals = new double[3 * count];
+            hits = new boolean[count];
+        }
+
+        /** Get the frozen region.
+         * @return the frozen region
+         */
+        public FrozenRegionBSPTree3D getFrozen() {
+            return frozen;
+        }
+
+        /** Get the origin shared by all rays.
+         * @return the origin shared by all rays
+         */
+        public Vector3D getOrigin() {
+            return origin;
+        }
+
+        /** Get the rays to cast.
+         * @return the rays to cast
+         */
+        public Ray3D[] getRays() {
+            return rays;
+        }
+
+        /** Get the ray direction coordinates.
+         * @return the ray direction coordinates
+         */
+        public double[] getDirections() {
+            return directions;
+        }
+
+        /** Get the array receiving the batch linecast abscissas.
+         * @return the array receiving the batch linecast abscissas
+         */
+        public double[] getAbscissas() {
+            return abscissas;
+        }
+
+        /** Get the array receiving the batch linecast normals.
+         * @return the array receiving the batch linecast normals
+         */
+        public double[] getNormals() {
+            return normals;
+        }
+
+        /** Get the array receiving the batch linecast hit flags.
+         * @return the array receiving the batch linecast hit flags
+         */
+        public boolean[] getHits() {
+            return hits;
+        }
+    }
+
+    /** Class providing the boundaries of a non-convex region consisting of a cubic grid of disjoint
+     * cubes. The boundaries are shuffled so that the insertion order has no spatial locality.
+     */
+    @State(Scope.Thread)
+    public static class ShuffledCubeGridBoundaryInput {
+
+        /** The number of cubes along each side of the grid. */
+        @Param({"2", "4", "6"})
+        private int cubes;
+
+        /** List containing the shuffled region boundaries. */
+        private List<PlaneConvexSubset> boundaries;
+
+        /** Bounds of the cube grid. */
+        private Bounds3D bounds;
+
+        /** Set up the instance for the benchmark. */
+        @Setup(Level.Iteration)
+        public void setup() {
+            final EpsilonDoublePrecisionContext precision = new EpsilonDoublePrecisionContext(1e-10);
+
+            boundaries = new ArrayList<>();
+            for (int x = 0; x < cubes; ++x) {
+                for (int y = 0; y < cubes; ++y) {
+                    for (int z = 0; z < cubes; ++z) {
+                        boundaries.addAll(Parallelepiped.axisAligned(
+                                Vector3D.of(2 * x, 2 * y, 2 * z),
+                                Vector3D.of((2 * x) + 1, (2 * y) + 1, (2 * z) + 1), precision)
+                                .getBoundaries());
+                    }
+                }
+            }
+
+            final UniformRandomProvider rand = RandomSource.create(RandomSource.XO_RO_SHI_RO_128_PP, 1L);
+            ListSampler.shuffle(rand, boundaries);
+
+            bounds = Bounds3D.from(Vector3D.ZERO, Vector3D.of((2 * cubes) - 1, (2 * cubes) - 1, (2 * cubes) - 1));
+        }
+
+        /** Get the shuffled region boundaries.
+         * @return the shuffled region boundaries
+         */
+        public List<PlaneConvexSubset> getBoundaries() {
+            return boundaries;
+        }
+
+        /** Get the bounds of the cube grid.
+         * @return the bounds of the cube grid
+         */
+        public Bounds3D getBounds() {
+            return bounds;
+        }
+    }
+
+    /** Class used to report the structure of the trees created by the benchmarks as
+     * auxiliary counters.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class TreeStatistics {
+
+        /** Height of the last created tree. */
+        private int height;
+
+        /** Number of nodes in the last created tree. */
+        private int nodeCount;
+
+        /** Record the structure of the given tree.
+         * @param tree tree to record
+         */
+        void record(final RegionBSPTree3D tree) {
+            height = tree.height();
+            nodeCount = tree.count();
+        }
+
+        /** Get the height of the last created tree.
+         * @return the height of the last created tree
+         */
+        public int height() {
+            return height;
+        }
+
+        /** Get the number of nodes in the last created tree.
+         * @return the number of nodes in the last created tree
+         */
+        public int nodeCount() {
+            return nodeCount;
+        }
+    }
+
+    /** Class used to report the heap memory retained by the trees created by the benchmarks as
+     * auxiliary counters.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class NodeMemoryStatistics {
+
+        /** If true, trees are placed in compact mode before being queried. */
+        @Param({"false", "true"})
+        private boolean compactMode;
+
+        /** Average number of bytes retained per node by the last measured tree. */
+        private long bytesPerNode;
+
+        /** Get the used heap memory after requesting a garbage collection.
+         * @return the used heap memory in bytes
+         */
+        long usedMemory() {
+            final Runtime runtime = Runtime.getRuntime();
+            for (int i = 0; i < 3; ++i) {
+                System.gc();
+            }
+            return runtime.totalMemory() - runtime.freeMemory();
+        }
+
+        /** Record the memory retained by the given tree.
+         * @param tree tree to record
+         * @param usedBefore used heap memory before the tree was created
+         */
+        void record(final RegionBSPTree3D tree, final long usedBefore) {
+            final long retained = usedMemory() - usedBefore;
+            bytesPerNode = retained / tree.count();
+        }
+
+        /** Return true if trees should be placed in compact mode.
+         * @return true if trees should be placed in compact mode
+         */
+        boolean isCompactMode() {
+            return compactMode;
+        }
+
+        /** Get the average number of bytes retained per node by the last measured tree.
+         * @return the average number of bytes retained per node by the last measured tree
+         */
+        public long bytesPerNode() {
+            return bytesPerNode;
+        }
+    }
+
     /** Benchmark testing the performance of tree creation for a convex region. The insertion
      * behavior is worst-case, meaning that the tree is unbalanced and degenerates into a simple
      * list of nodes.
@@ -138,4 +565,204 @@ public class RegionBSPTree3DPerformance {
     public List<PlaneConvexSubset> boundaryConvexWorstCase(final WorstCaseSphericalRegionInput input) {
         return input.getTree().getBoundaries();
     }
+
+    /** Benchmark testing the performance of tree creation for a non-convex region by inserting
+     * the boundaries directly into the tree in the order given.
+     * @param input benchmark boundary input
+     * @param stats tree structure statistics
+     * @return created BSP tree
+     */
+    @Benchmark
+    public RegionBSPTree3D insertNonConvexShuffled(final ShuffledCubeGridBoundaryInput input,
+            final TreeStatistics stats) {
+        final RegionBSPTree3D tree = RegionBSPTree3D.empty();
+        tree.insert(input.getBoundaries());
+
+        stats.record(tree);
+
+        return tree;
+    }
+
+    /** Benchmark testing the performance of tree creation for a non-convex region using the
+     * balanced region builder.
+     * @param input benchmark boundary input
+     * @param stats tree structure statistics
+     * @return created BSP tree
+     */
+    @Benchmark
+    public RegionBSPTree3D balancedBuildNonConvexShuffled(final ShuffledCubeGridBoundaryInput input,
+            final TreeStatistics stats) {
+        final RegionBSPTree3D tree = RegionBSPTree3D.balancedRegionBuilder()
+                .insertBoundaries(input.getBoundaries())
+                .build();
+
+        stats.record(tree);
+
+        return tree;
+    }
+
+    /** Benchmark testing the performance of tree creation for a non-convex region using the
+     * partitioned region builder with an axis-aligned partition grid.
+     * @param input benchmark boundary input
+     * @param stats tree structure statistics
+     * @return created BSP tree
+     */
+    @Benchmark
+    public RegionBSPTree3D partitionedBuildNonConvexShuffled(final ShuffledCubeGridBoundaryInput input,
+            final TreeStatistics stats) {
+        final RegionBSPTree3D tree = RegionBSPTree3D.partitionedRegionBuilder()
+                .insertAxisAlignedGrid(input.getBounds(), 2, PARTITION_PRECISION)
+                .insertBoundaries(input.getBoundaries())
+                .build();
+
+        stats.record(tree);
+
+        return tree;
+    }
+
+    /** Benchmark testing the performance of tree creation for a non-convex region using the
+     * partitioned region builder with an axis-aligned partition grid and the common fork-join pool.
+     * @param input benchmark boundary input
+     * @param stats tree structure statistics
+     * @return created BSP tree
+     */
+    @Benchmark
+    public RegionBSPTree3D partitionedParallelBuildNonConvexShuffled(final ShuffledCubeGridBoundaryInput input,
+            final TreeStatistics stats) {
+        final RegionBSPTree3D tree = RegionBSPTree3D.partitionedRegionBuilder()
+                .insertAxisAlignedGrid(input.getBounds(), 2, PARTITION_PRECISION)
+                .insertBoundaries(input.getBoundaries())
+                .build(ForkJoinPool.commonPool());
+
+        stats.record(tree);
+
+        return tree;
+    }
+
+    /** Benchmark measuring the heap memory retained per node by a tree for a non-convex region after its
+     * size and boundaries have been queried, which fills the lazily computed node caches. The result of
+     * interest is the {@code bytesPerNode} auxiliary counter; the measured time includes explicit garbage
+     * collections and is not meaningful.
+     * @param input benchmark boundary input
+     * @param stats tree memory statistics
+     * @return created BSP tree
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public RegionBSPTree3D nodeMemoryNonConvexShuffled(final ShuffledCubeGridBoundaryInput input,
+            final NodeMemoryStatistics stats) {
+        final long usedBefore = stats.usedMemory();
+
+        final RegionBSPTree3D tree = RegionBSPTree3D.balancedRegionBuilder()
+                .insertBoundaries(input.getBoundaries())
+                .build();
+        tree.setCompactMode(stats.isCompactMode());
+
+        tree.getSize();
+        tree.getBoundaries();
+
+        stats.record(tree, usedBefore);
+
+        return tree;
+    }
+
+    /** Benchmark testing the performance of slicing a region into slabs by splitting the full
+     * tree once for each slab.
+     * @param input benchmark input
+     * @param bh jmh blackhole for consuming output
+     */
+    @Benchmark
+    public void sliceRepeatedSplit(final SliceInput input, final Blackhole bh) {
+        final RegionBSPTree3D tree = input.getTree();
+        final List<Plane> planes = input.getPlanes();
+        for (int i = 0; i <= planes.size(); ++i) {
+            RegionBSPTree3D slab = tree;
+            if (i > 0) {
+                slab = slab.split(planes.get(i - 1)).getPlus();
+            }
+            if (i < planes.size() && slab != null) {
+                slab = slab.split(planes.get(i)).getMinus();
+            }
+            bh.consume(slab);
+        }
+    }
+
+    /** Benchmark testing the performance of slicing a region into slabs with a single multi-split.
+     * @param input benchmark input
+     * @return the slabs
+     */
+    @Benchmark
+    public List<RegionBSPTree3D> sliceSplitAll(final SliceInput input) {
+        return input.getTree().splitAll(input.getPlanes());
+    }
+
+    /** Benchmark testing the performance of slicing a region into slabs with a single multi-split
+     * using the common fork-join pool.
+     * @param input benchmark input
+     * @return the slabs
+     */
+    @Benchmark
+    public List<RegionBSPTree3D> sliceParallelSplitAll(final SliceInput input) {
+        return input.getTree().splitAll(input.getPlanes(), ForkJoinPool.commonPool());
+    }
+
+    /** Benchmark testing the performance of point classification using a tree.
+     * @param input benchmark input
+     * @param bh jmh blackhole for consuming output
+     */
+    @Benchmark
+    public void classifyTree(final ClassifyInput input, final Blackhole bh) {
+        final RegionBSPTree3D tree = input.getTree();
+        for (final Vector3D pt : input.getPoints()) {
+            bh.consume(tree.classify(pt));
+        }
+    }
+
+    /** Benchmark testing the performance of point classification using a frozen snapshot of a tree.
+     * @param input benchmark input
+     * @param bh jmh blackhole for consuming output
+     */
+    @Benchmark
+    public void classifyFrozen(final ClassifyInput input, final Blackhole bh) {
+        final FrozenRegionBSPTree3D frozen = input.getFrozen();
+        for (final Vector3D pt : input.getPoints()) {
+            bh.consume(frozen.classify(pt));
+        }
+    }
+
+    /** Benchmark testing the performance of batch point classification over coordinate arrays.
+     * @param input benchmark input
+     * @return the classification results
+     */
+    @Benchmark
+    public RegionLocation[] classifyBatch(final ClassifyInput input) {
+        final RegionLocation[] locations = input.getLocations();
+        input.getTree().classify(input.getXs(), input.getYs(), input.getZs(), locations);
+        return locations;
+    }
+
+    /** Benchmark testing the performance of casting rays one at a time against a frozen snapshot of a tree.
+     * @param input benchmark input
+     * @param bh jmh blackhole for consuming output
+     */
+    @Benchmark
+    public void linecastFrozen(final LinecastInput input, final Blackhole bh) {
+        final FrozenRegionBSPTree3D frozen = input.getFrozen();
+        for (final Ray3D ray : input.getRays()) {
+            bh.consume(frozen.linecastFirst(ray));
+        }
+    }
+
+    /** Benchmark testing the performance of casting packets of rays sharing an origin against a frozen
+     * snapshot of a tree.
+     * @param input benchmark input
+     * @return the hit flags
+     */
+    @Benchmark
+    public boolean[] linecastBatch(final LinecastInput input) {
+        final boolean[] hits = input.getHits();
+        input.getFrozen().linecastFirst(input.getOrigin(), input.getDirections(), input.getAbscissas(),
+                input.getNormals(), hits);
+        return hits;
+    }
 }
@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.examples.jmh.euclidean;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
+import org.apache.commons.geometry.core.precision.EpsilonDoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.threed.Vector3D;
+import org.apache.commons.geometry.euclidean.threed.mesh.SimpleTriangleMesh;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.simple.RandomSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmarks for the {@link SimpleTriangleMesh} class.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class SimpleTriangleMeshPerformance {
+
+    /** Precision epsilon value. */
+    private static final double EPS = 1e-6;
+
+    /** Input class providing the vertices of a triangle soup approximating a scanned height field. Each
+     * grid vertex is repeated for every triangle that uses it, with a small amount of noise so that
+     * repeated vertices are equivalent but not identical.
+     */
+    @State(Scope.Thread)
+    public static class TriangleSoupInput {
+
+        /** The number of grid cells along each side of the height field. */
+        @Param({"100", "300"})
+        private int size;
+
+        /** The triangle vertices; each group of three consecutive vertices forms a triangle. */
+        private Vector3D[] vertices;
+
+        /** Precision context used to combine equivalent vertices. */
+        private DoublePrecisionContext precision;
+
+        /** Set up the instance for the benchmark. */
+        @Setup(Level.Iteration)
+        public void setup() {
+            final UniformRandomProvider rand = RandomSource.create(RandomSource.XO_RO_SHI_RO_128_PP, 1L);
+
+            vertices = new Vector3D[size * size * 6];
+            int n = 0;
+            for (int i = 0; i < size; ++i) {
+                for (int j = 0; j < size; ++j) {
+                    vertices[n++] = gridVertex(i, j, rand);
+                    vertices[n++] = gridVertex(i + 1, j, rand);
+                    vertices[n++] = gridVertex(i + 1, j + 1, rand);
+
+                    vertices[n++] = gridVertex(i, j, rand);
+                    vertices[n++] = gridVertex(i + 1, j + 1, rand);
+                    vertices[n++] = gridVertex(i, j + 1, rand);
+                }
+            }
+
+            precision = new EpsilonDoublePrecisionContext(EPS);
+        }
+
+        /** Get the triangle vertices.
+         * @return the triangle vertices
+         */
+        public Vector3D[] getVertices() {
+            return vertices;
+        }
+
+        /** Get the precision context used to combine equivalent vertices.
+         * @return the precision context
+         */
+        public DoublePrecisionContext getPrecision() {
+            return precision;
+        }
+
+        /** Compute a noisy height field vertex for the given grid coordinates.
+         * @param i grid x index
+         * @param j grid y index
+         * @param rand random provider used to add noise
+         * @return the height field vertex
+         */
+        private static Vector3D gridVertex(final int i, final int j, final UniformRandomProvider rand) {
+            final double x = 1e-2 * i;
+            final double y = 1e-2 * j;
+            final double z = Math.sin(x) * Math.cos(y);
+
+            return Vector3D.of(
+                    x + noise(rand),
+                    y + noise(rand),
+                    z + noise(rand));
+        }
+
+        /** Get a random noise value smaller than half of the precision epsilon.
+         * @param rand random provider
+         * @return noise value
+         */
+        private static double noise(final UniformRandomProvider rand) {
+            return 0.49 * EPS * ((2 * rand.nextDouble()) - 1);
+        }
+    }
+
+    /** Build a mesh from the given input, combining equivalent vertices.
+     * @param input triangle soup input
+     * @param useVertexGrid if true, equivalent vertices are located with a hash grid
+     * @return the built mesh
+     */
+    private static SimpleTriangleMesh buildMesh(final TriangleSoupInput input, final boolean useVertexGrid) {
+        final Vector3D[] vertices = input.getVertices();
+
+        final SimpleTriangleMesh.Builder builder = SimpleTriangleMesh.builder(input.getPrecision())
+                .useVertexGrid(useVertexGrid)
+                .ensureFaceCapacity(vertices.length / 3);
+
+        for (int i = 0; i < vertices.length; i += 3) {
+            builder.addFaceUsingVertices(vertices[i], vertices[i + 1], vertices[i + 2]);
+        }
+
+        return builder.build();
+    }
+
+    /** Benchmark testing the performance of mesh construction when equivalent vertices are located
+     * with the default sorted map.
+     * @param input triangle soup input
+     * @return the built mesh
+     */
+    @Benchmark
+    public SimpleTriangleMesh buildUsingVertexMap(final TriangleSoupInput input) {
+        return buildMesh(input, false);
+    }
+
+    /** Benchmark testing the performance of mesh construction when equivalent vertices are located
+     * with a hash grid.
+     * @param input triangle soup input
+     * @return the built mesh
+     */
+    @Benchmark
+    public SimpleTriangleMesh buildUsingVertexGrid(final TriangleSoupInput input) {
+        return buildMesh(input, true);
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.geometry.examples.jmh.euclidean;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
+import org.apache.commons.geometry.core.precision.EpsilonDoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.threed.Vector3D;
+import org.apache.commons.geometry.euclidean.threed.WindingNumberClassifier3D;
+import org.apache.commons.geometry.euclidean.threed.mesh.TriangleMesh;
+import org.apache.commons.geometry.euclidean.threed.shape.Sphere;
+import org.apache.commons.rng.UniformRandomProvider;
+import org.apache.commons.rng.simple.RandomSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmarks for the {@link WindingNumberClassifier3D} class.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class WindingNumberClassifier3DPerformance {
+
+    /** Precision epsilon value. */
+    private static final double EPS = 1e-10;
+
+    /** Number of points classified in each benchmark invocation. */
+    private static final int POINT_COUNT = 1000;
+
+    /** Input class providing a triangle mesh approximating a sphere and a set of points to classify
+     * against it.
+     */
+    @State(Scope.Thread)
+    public static class MeshInput {
+
+        /** The number of sphere subdivisions; each subdivision quadruples the number of triangles. */
+        @Param({"3", "5"})
+        private int subdivisions;
+
+        /** The mesh. */
+        private TriangleMesh mesh;
+
+        /** Classifier for the mesh. */
+        private WindingNumberClassifier3D classifier;
+
+        /** X coordinates of the points to classify. */
+        private double[] xs;
+
+        /** Y coordinates of the points to classify. */
+        private double[] ys;
+
+        /** Z coordinates of the points to classify. */
+        private double[] zs;
+
+        /** Array receiving the classification results. */
+        private boolean[] results;
+
+        /** Set up the instance for the benchmark. */
+        @Setup(Level.Iteration)
+        public void setup() {
+            final DoublePrecisionContext precision = new EpsilonDoublePrecisionContext(EPS);
+            final UniformRandomProvider rand = RandomSource.create(RandomSource.XO_RO_SHI_RO_128_PP, 1L);
+
+            mesh = Sphere.from(Vector3D.ZERO, 1, precision).toTriangleMesh(subdivisions);
+            classifier = WindingNumberClassifier3D.from(mesh);
+
+            xs = new double[POINT_COUNT];
+            ys = new double[POINT_COUNT];
+            zs = new double[POINT_COUNT];
+            for (int i = 0; i < POINT_COUNT; ++i) {
+                xs[i] = (3 * rand.nextDouble()) - 1.5;
+                ys[i] = (3 * rand.nextDouble()) - 1.5;
+                zs[i] = (3 * rand.nextDouble()) - 1.5;
+            }
+
+            results = new boolean[POINT_COUNT];
+        }
+
+        /** Get the mesh.
+         * @return the mesh
+         */
+        public TriangleMesh getMesh() {
+            return mesh;
+        }
+
+        /** Get the classifier for the mesh.
+         * @return the classifier for the mesh
+         */
+        public WindingNumberClassifier3D getClassifier() {
+            return classifier;
+        }
+
+        /** Get the x coordinates of the points to classify.
+         * @return the x coordinates of the points to classify
+         */
+        public double[] getXs() {
+            return xs;
+        }
+
+        /** Get the y coordinates of the points to classify.
+         * @return the y coordinates of the points to classify
+         */
+        public double[] getYs() {
+            return ys;
+        }
+
+        /** Get the z coordinates of the points to classify.
+         * @return the z coordinates of the points to classify
+         */
+        public double[] getZs() {
+            return zs;
+        }
+
+        /** Get the array receiving the classification results.
+         * @return the array receiving the classification results
+         */
+        public boolean[] getResults() {
+            return results;
+        }
+    }
+
+    /** Benchmark testing the performance of batch point classification.
+     * @param input mesh input
+     * @return the classification results
+     */
+    @Benchmark
+    public boolean[] containsBatch(final MeshInput input) {
+        final boolean[] results = input.getResults();
+        input.getClassifier().contains(input.getXs(), input.getYs(), input.getZs(), results);
+        return results;
+    }
+
+    /** Benchmark testing the performance of classifier construction.
+     * @param input mesh input
+     * @return the constructed classifier
+     */
+    @Benchmark
+    public WindingNumberClassifier3D build(final MeshInput input) {
+        return WindingNumberClassifier3D.from(input.getMesh());
+    }
+}
@@ -22,6 +22,7 @@ import java.util.Collections;
 import java.util.List;
 
 import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
+import org.apache.commons.geometry.euclidean.internal.ExactPredicates;
 import org.apache.commons.geometry.euclidean.twod.Lines;
 import org.apache.commons.geometry.euclidean.twod.Vector2D;
 
@@ -131,8 +132,8 @@ public class MonotoneChain extends AbstractConvexHullGenerator2D {
             final Vector2D p1 = hull.get(size - 2);
             final Vector2D p2 = hull.get(size - 1);
 
-            final double offset = Lines.fromPoints(p1, p2, precision).offset(point);
-            if (precision.eqZero(offset)) {
+            final int side = getSide(p1, p2, point, precision);
+            if (side == 0) {
                 // the point is collinear to the line (p1, p2)
 
                 final double distanceToCurrent = p1.distance(point);
@@ -152,7 +153,7 @@ public class MonotoneChain extends AbstractConvexHullGenerator2D {
                     }
                 }
                 return;
-            } else if (offset > 0) {
+            } else if (side > 0) {
                 hull.remove(size - 1);
             } else {
                 break;
@@ -160,4 +161,34 @@ public class MonotoneChain extends AbstractConvexHullGenerator2D {
         }
         hull.add(point);
     }
+
+    /** Get the side of the line through {@code p1} and {@code p2} that the given point lies on. The
+     * returned value is positive if the point lies on the plus (right) side of the line, negative if it
+     * lies on the minus (left) side, and zero if it lies on the line as evaluated by the precision context.
+     * If the precision context {@link DoublePrecisionContext#useExactPredicates() uses exact predicates},
+     * the side is determined from the exact orientation of the three points, with the zero band scaled by
+     * the distance between {@code p1} and {@code p2} so that it corresponds to a maximum offset from the line.
+     * @param p1 first point on the line
+     * @param p2 second point on the line
+     * @param point point to test
+     * @param precision precision context used to compare floating point numbers
+     * @return the side of the line that the point lies on
+     */
+    private static int getSide(final Vector2D p1, final Vector2D p2, final Vector2D point,
+            final DoublePrecisionContext precision) {
+        if (precision.useExactPredicates()) {
+            // the orientation is positive when the point lies to the left of the line
+            return -ExactPredicates.orientation(
+                    p1.getX(), p1.getY(),
+                    p2.getX(), p2.getY(),
+                    point.getX(), point.getY(),
+                    precision.getMaxZero() * p1.distance(p2));
+        }
+
+        final double offset = Lines.fromPoints(p1, p2, precision).offset(point);
+        if (precision.eqZero(offset)) {
+            return 0;
+        }
+        return offset > 0 ? 1 : -1;
+    }
 }
@@ -16,6 +16,10 @@
  */
 package org.apache.commons.geometry.spherical.oned;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -24,6 +28,7 @@ import java.util.Objects;
 
 import org.apache.commons.geometry.core.Transform;
 import org.apache.commons.geometry.core.partitioning.Hyperplane;
+import org.apache.commons.geometry.core.partitioning.HyperplaneConvexSubset;
 import org.apache.commons.geometry.core.partitioning.HyperplaneLocation;
 import org.apache.commons.geometry.core.partitioning.HyperplaneSubset;
 import org.apache.commons.geometry.core.partitioning.Split;
@@ -36,6 +41,9 @@ import org.apache.commons.numbers.angle.PlaneAngleRadians;
 /** BSP tree representing regions in 1D spherical space.
  */
 public class RegionBSPTree1S extends AbstractRegionBSPTree<Point1S, RegionBSPTree1S.RegionNode1S> {
+
+    /** Value identifying this tree type in the binary tree format. */
+    private static final int BINARY_FORMAT_TYPE = 4;
     /** Comparator used to sort BoundaryPairs by ascending azimuth.  */
     private static final Comparator<BoundaryPair> BOUNDARY_PAIR_COMPARATOR =
         (a, b) -> Double.compare(a.getMinValue(), b.getMinValue());
@@ -333,6 +341,18 @@ public class RegionBSPTree1S extends AbstractRegionBSPTree<Point1S, RegionBSPTre
         return new BoundaryPair(min, max);
     }
 
+    /** Write this tree to the given output in a compact binary format. Each node cut is stored as the
+     * azimuth and orientation of its cut angle. The tree can be read back with
+     * {@link #read(DataInput, DoublePrecisionContext)} or, if the output is written to a file that is later
+     * memory-mapped, with {@link #read(ByteBuffer, DoublePrecisionContext)}. Precision contexts are not
+     * written.
+     * @param out output to write to
+     * @throws java.io.UncheckedIOException if an I/O error occurs
+     */
+    public void write(final DataOutput out) {
+        writeInternal(out, BINARY_FORMAT_TYPE, RegionBSPTree1S::writeCut);
+    }
+
     /** {@inheritDoc} */
     @Override
     protected RegionSizeProperties<Point1S> computeRegionSizeProperties() {
@@ -416,6 +436,65 @@ public class RegionBSPTree1S extends AbstractRegionBSPTree<Point1S, RegionBSPTre
         }
     }
 
+    /** Read a tree written by {@link #write(DataOutput)} from the given input. The node cuts are
+     * created directly from the stored data, so no hyperplanes are inserted or split.
+     * @param in input to read from
+     * @param precision precision context used for all hyperplanes in the tree
+     * @return the tree read from the input
+     * @throws IllegalArgumentException if the input does not contain a RegionBSPTree1S in the expected format
+     * @throws java.io.UncheckedIOException if an I/O error occurs
+     */
+    public static RegionBSPTree1S read(final DataInput in, final DoublePrecisionContext precision) {
+        final RegionBSPTree1S tree = empty();
+        tree.readInternal(in, BINARY_FORMAT_TYPE, input -> readCut(input, precision));
+
+        return tree;
+    }
+
+    /** Read a tree written by {@link #write(DataOutput)} from the given buffer, which may be a
+     * memory-mapped file. The data is read starting at the current position of the buffer and the
+     * position is advanced to the end of the tree data.
+     * @param buffer buffer to read from
+     * @param precision precision context used for all hyperplanes in the tree
+     * @return the tree read from the buffer
+     * @throws IllegalArgumentException if the buffer does not contain a RegionBSPTree1S in the expected format
+     * @throws java.io.UncheckedIOException if the end of the buffer is reached before the end of the tree data
+     * @see #read(DataInput, DoublePrecisionContext)
+     */
+    public static RegionBSPTree1S read(final ByteBuffer buffer, final DoublePrecisionContext precision) {
+        final RegionBSPTree1S tree = empty();
+        tree.readInternal(buffer, BINARY_FORMAT_TYPE, input -> readCut(input, precision));
+
+        return tree;
+    }
+
+    /** Write a node cut in the binary tree format.
+     * @param cut node cut to write
+     * @param out output to write to
+     * @throws IOException if an I/O error occurs
+     */
+    private static void writeCut(final HyperplaneConvexSubset<Point1S> cut, final DataOutput out)
+            throws IOException {
+        final CutAngle angle = (CutAngle) cut.getHyperplane();
+
+        out.writeDouble(angle.getAzimuth());
+        out.writeBoolean(angle.isPositiveFacing());
+    }
+
+    /** Read a node cut in the binary tree format.
+     * @param in input to read from
+     * @param precision precision context for the cut hyperplane
+     * @return the node cut
+     * @throws IOException if an I/O error occurs
+     */
+    private static HyperplaneConvexSubset<Point1S> readCut(final DataInput in,
+            final DoublePrecisionContext precision) throws IOException {
+        final double azimuth = in.readDouble();
+        final boolean positiveFacing = in.readBoolean();
+
+        return CutAngles.fromAzimuthAndDirection(azimuth, positiveFacing, precision).span();
+    }
+
     /** BSP tree node for one dimensional spherical space.
      */
     public static final class RegionNode1S extends AbstractRegionBSPTree.AbstractRegionNode<Point1S, RegionNode1S> {
@@ -16,29 +16,37 @@
  */
 package org.apache.commons.geometry.spherical.twod;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 import org.apache.commons.geometry.core.partitioning.Hyperplane;
+import org.apache.commons.geometry.core.partitioning.HyperplaneConvexSubset;
 import org.apache.commons.geometry.core.partitioning.Split;
 import org.apache.commons.geometry.core.partitioning.bsp.AbstractBSPTree;
 import org.apache.commons.geometry.core.partitioning.bsp.AbstractRegionBSPTree;
 import org.apache.commons.geometry.core.precision.DoublePrecisionContext;
 import org.apache.commons.geometry.euclidean.threed.Vector3D;
+import org.apache.commons.geometry.spherical.oned.AngularInterval;
 import org.apache.commons.numbers.angle.PlaneAngleRadians;
 
 /** BSP tree representing regions in 2D spherical space.
  */
 public class RegionBSPTree2S extends AbstractRegionBSPTree<Point2S, RegionBSPTree2S.RegionNode2S>
     implements BoundarySource2S {
+
+    /** Value identifying this tree type in the binary tree format. */
+    private static final int BINARY_FORMAT_TYPE = 5;
     /** Constant containing the area of the full spherical space. */
     private static final double FULL_SIZE = 4 * PlaneAngleRadians.PI;
 
     /** List of great arc path comprising the region boundary. */
-    private List<GreatArcPath> boundaryPaths;
+    private volatile List<GreatArcPath> boundaryPaths;
 
     /** Create a new, empty instance.
      */
@@ -75,7 +83,7 @@ public class RegionBSPTree2S extends AbstractRegionBSPTree<Point2S, RegionBSPTre
     /** {@inheritDoc} */
     @Override
     public Stream<GreatArc> boundaryStream() {
-        return StreamSupport.stream(boundaries().spliterator(), false);
+        return createBoundaryStream(b -> (GreatArc) b, false);
     }
 
     /** {@inheritDoc} */
@@ -91,7 +99,11 @@ public class RegionBSPTree2S extends AbstractRegionBSPTree<Point2S, RegionBSPTre
      */
     public List<GreatArcPath> getBoundaryPaths() {
         if (boundaryPaths == null) {
-            boundaryPaths = Collections.unmodifiableList(computeBoundaryPaths());
+            updateCache(() -> {
+                if (boundaryPaths == null) {
+                    boundaryPaths = Collections.unmodifiableList(computeBoundaryPaths());
+                }
+            });
         }
         return boundaryPaths;
     }
@@ -157,6 +169,18 @@ public class RegionBSPTree2S extends AbstractRegionBSPTree<Point2S, RegionBSPTre
         return this;
     }
 
+    /** Write this tree to the given output in a compact binary format. Each node cut is stored as the pole
+     * and reference vectors of its great circle followed by its angular interval. The tree can be read back
+     * with {@link #read(DataInput, DoublePrecisionContext)} or, if the output is written to a file that is
+     * later memory-mapped, with {@link #read(ByteBuffer, DoublePrecisionContext)}. Precision contexts are
+     * not written.
+     * @param out output to write to
+     * @throws java.io.UncheckedIOException if an I/O error occurs
+     */
+    public void write(final DataOutput out) {
+        writeInternal(out, BINARY_FORMAT_TYPE, RegionBSPTree2S::writeCut);
+    }
+
     /** {@inheritDoc} */
     @Override
     protected RegionSizeProperties<Point2S> computeRegionSizeProperties() {
@@ -246,6 +270,102 @@ public class RegionBSPTree2S extends AbstractRegionBSPTree<Point2S, RegionBSPTre
         return tree;
     }
 
+    /** Read a tree written by {@link #write(DataOutput)} from the given input. The node cuts are
+     * created directly from the stored data, so no hyperplanes are inserted or split.
+     * @param in input to read from
+     * @param precision precision context used for all hyperplanes in the tree
+     * @return the tree read from the input
+     * @throws IllegalArgumentException if the input does not contain a RegionBSPTree2S in the expected format
+     * @throws java.io.UncheckedIOException if an I/O error occurs
+     */
+    public static RegionBSPTree2S read(final DataInput in, final DoublePrecisionContext precision) {
+        final RegionBSPTree2S tree = empty();
+        tree.readInternal(in, BINARY_FORMAT_TYPE, input -> readCut(input, precision));
+
+        return tree;
+    }
+
+    /** Read a tree written by {@link #write(DataOutput)} from the given buffer, which may be a
+     * memory-mapped file. The data is read starting at the current position of the buffer and the
+     * position is advanced to the end of the tree data.
+     * @param buffer buffer to read from
+     * @param precision precision context used for all hyperplanes in the tree
+     * @return the tree read from the buffer
+     * @throws IllegalArgumentException if the buffer does not contain a RegionBSPTree2S in the expected format
+     * @throws java.io.UncheckedIOException if the end of the buffer is reached before the end of the tree data
+     * @see #read(DataInput, DoublePrecisionContext)
+     */
+    public static RegionBSPTree2S read(final ByteBuffer buffer, final DoublePrecisionContext precision) {
+        final RegionBSPTree2S tree = empty();
+        tree.readInternal(buffer, BINARY_FORMAT_TYPE, input -> readCut(input, precision));
+
+        return tree;
+    }
+
+    /** Write a node cut in the binary tree format.
+     * @param cut node cut to write
+     * @param out output to write to
+     * @throws IOException if an I/O error occurs
+     */
+    private static void writeCut(final HyperplaneConvexSubset<Point2S> cut, final DataOutput out)
+            throws IOException {
+        final GreatArc arc = (GreatArc) cut;
+        final GreatCircle circle = arc.getCircle();
+        final AngularInterval.Convex interval = arc.getInterval();
+
+        writeVector(circle.getPole(), out);
+        writeVector(circle.getU(), out);
+        writeVector(circle.getV(), out);
+
+        out.writeBoolean(interval.isFull());
+        if (!interval.isFull()) {
+            out.writeDouble(interval.getMin());
+            out.writeDouble(interval.getMax());
+        }
+    }
+
+    /** Write the coordinates of a vector in the binary tree format.
+     * @param vec vector to write
+     * @param out output to write to
+     * @throws IOException if an I/O error occurs
+     */
+    private static void writeVector(final Vector3D vec, final DataOutput out) throws IOException {
+        out.writeDouble(vec.getX());
+        out.writeDouble(vec.getY());
+        out.writeDouble(vec.getZ());
+    }
+
+    /** Read a node cut in the binary tree format.
+     * @param in input to read from
+     * @param precision precision context for the cut hyperplane
+     * @return the node cut
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if the input contains an invalid value
+     */
+    private static HyperplaneConvexSubset<Point2S> readCut(final DataInput in,
+            final DoublePrecisionContext precision) throws IOException {
+        final Vector3D.Unit pole = readUnitVector(in);
+        final Vector3D.Unit u = readUnitVector(in);
+        final Vector3D.Unit v = readUnitVector(in);
+        final GreatCircle circle = new GreatCircle(pole, u, v, precision);
+
+        final AngularInterval.Convex interval = in.readBoolean() ?
+                AngularInterval.full() :
+                AngularInterval.Convex.of(in.readDouble(), in.readDouble(), precision);
+
+        return GreatCircles.arcFromInterval(circle, interval);
+    }
+
+    /** Read a unit vector in the binary tree format.
+     * @param in input to read from
+     * @return the unit vector
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if the stored vector cannot be normalized
+     */
+    private static Vector3D.Unit readUnitVector(final DataInput in) throws IOException {
+        return Vector3D.Unit.from(in.readDouble(), in.readDouble(), in.readDouble());
+    }
+
     /** BSP tree node for two dimensional spherical space.
      */
     public static final class RegionNode2S extends AbstractRegionBSPTree.AbstractRegionNode<Point2S, RegionNode2S> {
@@ -16,6 +16,11 @@
  */
 package org.apache.commons.geometry.spherical.oned;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
 import java.util.List;
 
 import org.apache.commons.geometry.core.Region;
@@ -886,6 +891,58 @@ public class RegionBSPTree1STest {
         Assert.assertEquals(end, tree.project(Point1S.of(0.75)).getAzimuth(), TEST_EPS);
     }
 
+    @Test
+    public void testWriteRead() {
+        // arrange
+        RegionBSPTree1S tree = RegionBSPTree1S.empty();
+        tree.add(AngularInterval.of(0, 1, TEST_PRECISION));
+        tree.add(AngularInterval.of(2, 3, TEST_PRECISION));
+        tree.add(AngularInterval.of(-1, -0.5, TEST_PRECISION));
+
+        byte[] bytes = writeToBytes(tree);
+
+        // act
+        RegionBSPTree1S result = RegionBSPTree1S.read(
+                new DataInputStream(new ByteArrayInputStream(bytes)), TEST_PRECISION);
+
+        // assert
+        Assert.assertEquals(tree.count(), result.count());
+        Assert.assertEquals(tree.height(), result.height());
+        Assert.assertEquals(2.5, result.getSize(), TEST_EPS);
+
+        List<AngularInterval> intervals = result.toIntervals();
+        Assert.assertEquals(3, intervals.size());
+        checkInterval(intervals.get(0), 0, 1);
+        checkInterval(intervals.get(1), 2, 3);
+        checkInterval(intervals.get(2), PlaneAngleRadians.TWO_PI - 1, PlaneAngleRadians.TWO_PI - 0.5);
+
+        checkClassify(result, RegionLocation.INSIDE, 0.5, 2.5, -0.75);
+        checkClassify(result, RegionLocation.BOUNDARY, 0, 1, 2, 3, -1, -0.5);
+        checkClassify(result, RegionLocation.OUTSIDE, 1.5, 4, -0.25);
+    }
+
+    @Test
+    public void testWriteRead_fullAndEmpty() {
+        // act
+        RegionBSPTree1S full = RegionBSPTree1S.read(ByteBuffer.wrap(writeToBytes(RegionBSPTree1S.full())),
+                TEST_PRECISION);
+        RegionBSPTree1S empty = RegionBSPTree1S.read(ByteBuffer.wrap(writeToBytes(RegionBSPTree1S.empty())),
+                TEST_PRECISION);
+
+        // assert
+        Assert.assertTrue(full.isFull());
+        Assert.assertEquals(1, full.count());
+
+        Assert.assertTrue(empty.isEmpty());
+        Assert.assertEquals(1, empty.count());
+    }
+
+    private static byte[] writeToBytes(RegionBSPTree1S tree) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        tree.write(new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
     private static void checkSimpleSplit(Split<RegionBSPTree1S> split, AngularInterval minusInterval,
             AngularInterval plusInterval) {
 
@@ -16,6 +16,11 @@
  */
 package org.apache.commons.geometry.spherical.twod;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -837,6 +842,59 @@ public class RegionBSPTree2STest {
         Assert.assertEquals("Clockwise boundary size", boundary, cw.getBoundarySize(), 1.0e-7);
     }
 
+    @Test
+    public void testWriteRead() {
+        // arrange
+        RegionBSPTree2S tree = RegionBSPTree2S.empty();
+        insertPositiveQuadrant(tree);
+        tree.union(ConvexArea2S.fromVertexLoop(
+                Arrays.asList(Point2S.MINUS_I, Point2S.MINUS_K, Point2S.MINUS_J), TEST_PRECISION).toTree());
+
+        byte[] bytes = writeToBytes(tree);
+
+        // act
+        RegionBSPTree2S result = RegionBSPTree2S.read(
+                new DataInputStream(new ByteArrayInputStream(bytes)), TEST_PRECISION);
+
+        // assert
+        Assert.assertEquals(tree.count(), result.count());
+        Assert.assertEquals(tree.height(), result.height());
+
+        Assert.assertEquals(PlaneAngleRadians.PI, result.getSize(), TEST_EPS);
+        Assert.assertEquals(3 * PlaneAngleRadians.PI, result.getBoundarySize(), TEST_EPS);
+
+        SphericalTestUtils.checkClassify(result, RegionLocation.INSIDE,
+                Point2S.of(0.25 * PlaneAngleRadians.PI, 0.25 * PlaneAngleRadians.PI),
+                Point2S.of(1.25 * PlaneAngleRadians.PI, 0.75 * PlaneAngleRadians.PI));
+        SphericalTestUtils.checkClassify(result, RegionLocation.BOUNDARY,
+                Point2S.PLUS_I, Point2S.PLUS_J, Point2S.PLUS_K, Point2S.MINUS_I, Point2S.MINUS_J, Point2S.MINUS_K);
+        SphericalTestUtils.checkClassify(result, RegionLocation.OUTSIDE,
+                Point2S.of(0.75 * PlaneAngleRadians.PI, 0.25 * PlaneAngleRadians.PI),
+                Point2S.of(0.25 * PlaneAngleRadians.PI, 0.75 * PlaneAngleRadians.PI));
+    }
+
+    @Test
+    public void testWriteRead_fullAndEmpty() {
+        // act
+        RegionBSPTree2S full = RegionBSPTree2S.read(ByteBuffer.wrap(writeToBytes(RegionBSPTree2S.full())),
+                TEST_PRECISION);
+        RegionBSPTree2S empty = RegionBSPTree2S.read(ByteBuffer.wrap(writeToBytes(RegionBSPTree2S.empty())),
+                TEST_PRECISION);
+
+        // assert
+        Assert.assertTrue(full.isFull());
+        Assert.assertEquals(1, full.count());
+
+        Assert.assertTrue(empty.isEmpty());
+        Assert.assertEquals(1, empty.count());
+    }
+
+    private static byte[] writeToBytes(RegionBSPTree2S tree) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        tree.write(new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
     /**
      * Insert hyperplane convex subsets defining the positive quadrant area.
      * @param tree